@@ -51,4 +51,12 @@ public class ClientConnectorConfigurationSchema {
     /** Server exception stack trace visibility. */
     @Value(hasDefault = true)
     public final boolean sendServerExceptionStackTraceToClient = false;
+
+    /**
+     * Maximum number of requests per connection that are being processed concurrently. Reading from the connection is suspended
+     * when the limit is reached, and resumed when some of the requests are completed.
+     */
+    @Range(min = 1)
+    @Value(hasDefault = true)
+    public final int maxInFlightRequests = 1024;
 }
@@ -39,4 +39,9 @@ public class ComputeConfigurationSchema {
     @Range(min = 1)
     @Value(hasDefault = true)
     public final long threadPoolStopTimeoutMillis = 10_000;
+
+    /** Maximum number of jobs waiting for a thread of the job thread pool, further jobs are rejected. */
+    @Range(min = 1)
+    @Value(hasDefault = true)
+    public final int queueMaxSize = Integer.MAX_VALUE;
 }
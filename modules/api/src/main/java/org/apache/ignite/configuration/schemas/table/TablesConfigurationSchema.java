@@ -22,6 +22,7 @@ import org.apache.ignite.configuration.annotation.ConfigurationType;
 import org.apache.ignite.configuration.annotation.NamedConfigValue;
 import org.apache.ignite.configuration.annotation.Value;
 import org.apache.ignite.configuration.schemas.store.ExistingDataStorage;
+import org.apache.ignite.configuration.validation.Range;
 
 /**
  * Tables configuration schema.
@@ -48,4 +49,26 @@ public class TablesConfigurationSchema {
     @Value(hasDefault = true)
     // TODO: IGNITE-17197 Set "aimem" after the ticket is resolved.
     public String defaultDataStorage = "rocksdb";
+
+    /**
+     * Maximum number of row versions indexed per second by the build of an index in a single partition, {@code 0} disables the
+     * throttling. Every local partition is built at this rate, so the node-wide rate grows with the number of partitions.
+     */
+    @Range(min = 0)
+    @Value(hasDefault = true)
+    public long indexBuildRowsPerSecond = 100_000;
+
+    /**
+     * Retention period of the cleaned up transaction states in milliseconds. The state of a transaction, whose write intents have been
+     * resolved on all the enlisted partitions, is kept for this time since the cleanup, so the readers, that have seen a write intent
+     * before the cleanup, are still able to resolve it.
+     */
+    @Range(min = 0)
+    @Value(hasDefault = true)
+    public long txStateRetentionMillis = 60 * 60 * 1000;
+
+    /** Interval between the compactions of the transaction state storages in milliseconds. */
+    @Range(min = 1)
+    @Value(hasDefault = true)
+    public long txStateCompactionIntervalMillis = 60 * 1000;
 }
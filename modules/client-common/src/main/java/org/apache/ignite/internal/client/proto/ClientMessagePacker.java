@@ -616,6 +616,16 @@ public class ClientMessagePacker implements AutoCloseable {
         writePayload(buf);
     }
 
+    /**
+     * Packs binary tuple.
+     *
+     * @param buf Buffer with binary tuple.
+     */
+    public void packBinaryTuple(ByteBuffer buf) {
+        packBinaryHeader(buf.limit() - buf.position());
+        writePayload(buf);
+    }
+
     /**
      * {@inheritDoc}
      */
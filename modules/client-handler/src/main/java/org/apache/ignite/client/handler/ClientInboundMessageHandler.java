@@ -134,6 +134,9 @@ public class ClientInboundMessageHandler extends ChannelInboundHandlerAdapter {
     /** Whether the partition assignment has changed since the last server response. */
     private final AtomicBoolean partitionAssignmentChanged = new AtomicBoolean();
 
+    /** Number of requests that are being processed asynchronously, accessed from the channel event loop only. */
+    private int inFlightRequests;
+
     /**
      * Constructor.
      *
@@ -341,14 +344,20 @@ public class ClientInboundMessageHandler extends ChannelInboundHandlerAdapter {
             } else {
                 final var reqId = requestId;
 
-                fut.whenComplete((Object res, Object err) -> {
+                onRequestStarted(ctx);
+
+                // Responses are written from the event loop, so that they are coalesced into fewer flushes
+                // and the in-flight counter doesn't need synchronization.
+                fut.whenComplete((Object res, Object err) -> runInEventLoop(ctx, () -> {
                     if (err != null) {
                         out.close();
                         writeError(reqId, (Throwable) err, ctx);
                     } else {
                         write(out, ctx);
                     }
-                });
+
+                    onRequestCompleted(ctx);
+                }));
             }
         } catch (Throwable t) {
             out.close();
@@ -357,6 +366,40 @@ public class ClientInboundMessageHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * Suspends reading from the connection when the number of requests in progress reaches the limit.
+     *
+     * @param ctx Channel handler context.
+     */
+    private void onRequestStarted(ChannelHandlerContext ctx) {
+        inFlightRequests++;
+
+        if (inFlightRequests >= configuration.maxInFlightRequests() && ctx.channel().config().isAutoRead()) {
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * Resumes reading from the connection when the number of requests in progress drops below the limit.
+     *
+     * @param ctx Channel handler context.
+     */
+    private void onRequestCompleted(ChannelHandlerContext ctx) {
+        inFlightRequests--;
+
+        if (inFlightRequests < configuration.maxInFlightRequests() && !ctx.channel().config().isAutoRead()) {
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private static void runInEventLoop(ChannelHandlerContext ctx, Runnable task) {
+        if (ctx.executor().inEventLoop()) {
+            task.run();
+        } else {
+            ctx.executor().execute(task);
+        }
+    }
+
     private CompletableFuture processOperation(
             ClientMessageUnpacker in,
             ClientMessagePacker out,
@@ -22,6 +22,7 @@ import static org.apache.ignite.lang.ErrorGroups.Client.TABLE_ID_NOT_FOUND_ERR;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -39,6 +40,9 @@ import org.apache.ignite.internal.client.proto.ClientDataType;
 import org.apache.ignite.internal.client.proto.ClientMessagePacker;
 import org.apache.ignite.internal.client.proto.ClientMessageUnpacker;
 import org.apache.ignite.internal.client.proto.TuplePart;
+import org.apache.ignite.internal.schema.BinaryConverter;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryTupleSchema;
 import org.apache.ignite.internal.schema.Column;
 import org.apache.ignite.internal.schema.DecimalNativeType;
 import org.apache.ignite.internal.schema.NativeType;
@@ -46,8 +50,10 @@ import org.apache.ignite.internal.schema.NativeTypeSpec;
 import org.apache.ignite.internal.schema.SchemaAware;
 import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.schema.SchemaRegistry;
+import org.apache.ignite.internal.schema.row.Row;
 import org.apache.ignite.internal.table.IgniteTablesInternal;
 import org.apache.ignite.internal.table.TableImpl;
+import org.apache.ignite.internal.table.TableRow;
 import org.apache.ignite.lang.IgniteException;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
 import org.apache.ignite.lang.NodeStoppingException;
@@ -113,6 +119,35 @@ public class ClientTableCommon {
         writeTuple(packer, tuple, schema, false, part);
     }
 
+    /**
+     * Writes the value part of a table row.
+     *
+     * <p>When the row has the latest schema version, the row columns are copied to the binary tuple directly, otherwise the row
+     * is upgraded to the latest schema first.
+     *
+     * @param packer         Packer.
+     * @param row            Table row.
+     * @param schemaRegistry Table schema registry.
+     */
+    public static void writeValueOrNil(ClientMessagePacker packer, @Nullable BinaryRow row, SchemaRegistry schemaRegistry) {
+        if (row == null) {
+            packer.packNil();
+
+            return;
+        }
+
+        if (row.schemaVersion() != schemaRegistry.lastSchemaVersion()) {
+            writeTupleOrNil(packer, TableRow.tuple(schemaRegistry.resolve(row)), TuplePart.VAL);
+
+            return;
+        }
+
+        SchemaDescriptor schema = schemaRegistry.schema(row.schemaVersion());
+
+        packer.packInt(schema.version());
+        packer.packBinaryTuple(new BinaryConverter(schema, BinaryTupleSchema.createValueSchema(schema)).toTuple(row));
+    }
+
     /**
      * Writes a tuple.
      *
@@ -275,14 +310,28 @@ public class ClientTableCommon {
             boolean keyOnly,
             SchemaDescriptor schema
     ) {
-        var cnt = keyOnly ? schema.keyColumns().length() : schema.length();
-
         // NOTE: noValueSet is only present for client -> server communication.
         // It helps disambiguate two cases: 1 - column value is not set, 2 - column value is set to null explicitly.
         // If the column has a default value, it should be applied only in case 1.
         // https://cwiki.apache.org/confluence/display/IGNITE/IEP-76+Thin+Client+Protocol+for+Ignite+3.0#IEP76ThinClientProtocolforIgnite3.0-NullvsNoValue
         var noValueSet = unpacker.unpackBitSet();
-        var binaryTupleReader = new BinaryTupleReader(cnt, unpacker.readBinaryUnsafe());
+
+        return readTuple(noValueSet, unpacker.readBinaryUnsafe(), keyOnly, schema);
+    }
+
+    /**
+     * Reads a tuple from a binary tuple that has already been unpacked.
+     *
+     * @param noValueSet No-value bit set.
+     * @param tupleBuf   Binary tuple.
+     * @param keyOnly    Whether only key fields are expected.
+     * @param schema     Tuple schema.
+     * @return Tuple.
+     */
+    public static Tuple readTuple(BitSet noValueSet, ByteBuffer tupleBuf, boolean keyOnly, SchemaDescriptor schema) {
+        var cnt = keyOnly ? schema.keyColumns().length() : schema.length();
+
+        var binaryTupleReader = new BinaryTupleReader(cnt, tupleBuf);
         var tuple = Tuple.create(cnt);
 
         for (int i = 0; i < cnt; i++) {
@@ -298,6 +347,17 @@ public class ClientTableCommon {
         return tuple;
     }
 
+    /**
+     * Converts a binary tuple with all key columns to a key row, without building an intermediate {@link Tuple}.
+     *
+     * @param schema   Key schema, must be the latest table schema.
+     * @param tupleBuf Binary tuple with key columns.
+     * @return Key row.
+     */
+    public static Row readKeyRow(SchemaDescriptor schema, ByteBuffer tupleBuf) {
+        return new Row(schema, BinaryConverter.forKey(schema).fromTuple(tupleBuf));
+    }
+
     /**
      * Reads multiple tuples.
      *
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.client.handler.requests.table;
 
+import static org.apache.ignite.client.handler.requests.table.ClientTableCommon.readKeyRow;
+import static org.apache.ignite.client.handler.requests.table.ClientTableCommon.readSchema;
 import static org.apache.ignite.client.handler.requests.table.ClientTableCommon.readTable;
 import static org.apache.ignite.client.handler.requests.table.ClientTableCommon.readTuple;
 import static org.apache.ignite.client.handler.requests.table.ClientTableCommon.readTx;
@@ -26,6 +28,9 @@ import org.apache.ignite.client.handler.ClientResourceRegistry;
 import org.apache.ignite.internal.client.proto.ClientMessagePacker;
 import org.apache.ignite.internal.client.proto.ClientMessageUnpacker;
 import org.apache.ignite.internal.client.proto.TuplePart;
+import org.apache.ignite.internal.schema.SchemaRegistry;
+import org.apache.ignite.internal.schema.row.Row;
+import org.apache.ignite.internal.tx.InternalTransaction;
 import org.apache.ignite.table.manager.IgniteTables;
 
 /**
@@ -49,7 +54,22 @@ public class ClientTupleGetRequest {
     ) {
         var table = readTable(in, tables);
         var tx = readTx(in, resources);
-        var keyTuple = readTuple(in, table, true);
+        var schema = readSchema(in, table);
+        var noValueSet = in.unpackBitSet();
+        var keyBuf = in.readBinaryUnsafe();
+
+        SchemaRegistry schemaRegistry = table.schemaView();
+
+        if (noValueSet.isEmpty() && schema.version() == schemaRegistry.lastSchemaVersion()) {
+            // Fast path: the client key matches the latest schema, so the binary tuple is converted to a row directly,
+            // and the stored row is copied to the response without intermediate tuples.
+            Row keyRow = readKeyRow(schema, keyBuf);
+
+            return table.internalTable().get(keyRow, (InternalTransaction) tx)
+                    .thenAccept(row -> ClientTableCommon.writeValueOrNil(out, row, schemaRegistry));
+        }
+
+        var keyTuple = readTuple(noValueSet, keyBuf, true, schema);
 
         return table.recordView().getAsync(tx, keyTuple).thenAccept(t -> ClientTableCommon.writeTupleOrNil(out, t, TuplePart.VAL));
     }
@@ -20,9 +20,14 @@ package org.apache.ignite.internal.client.io.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
 import io.netty.util.AttributeKey;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.ignite.internal.client.io.ClientConnection;
 import org.apache.ignite.internal.client.io.ClientConnectionStateHandler;
 import org.apache.ignite.internal.client.io.ClientMessageHandler;
@@ -44,6 +49,12 @@ public class NettyClientConnection implements ClientConnection {
     /** State handler. */
     private final ClientConnectionStateHandler stateHnd;
 
+    /** Messages waiting to be written by the event loop. */
+    private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    /** Whether a write of the pending messages is scheduled. */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
     /**
      * Constructor.
      *
@@ -59,11 +70,29 @@ public class NettyClientConnection implements ClientConnection {
         channel.attr(ATTR_CONN).set(this);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Requests are pipelined: messages sent by concurrent callers are queued and written by the event loop in one pass,
+     * followed by a single flush.
+     */
     @Override
     public ChannelFuture send(ByteBuf msg) throws IgniteException {
-        // writeAndFlush releases pooled buffer.
-        return channel.writeAndFlush(msg);
+        ChannelPromise promise = channel.newPromise();
+
+        pendingWrites.add(new PendingWrite(msg, promise));
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(this::writePendingMessages);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+
+                failPendingWrites(e);
+            }
+        }
+
+        return promise;
     }
 
     /** {@inheritDoc} */
@@ -84,6 +113,32 @@ public class NettyClientConnection implements ClientConnection {
         channel.close();
     }
 
+    /**
+     * Writes the queued messages and flushes the channel. Runs in the event loop.
+     */
+    private void writePendingMessages() {
+        // Reset the flag before draining the queue, so that a message added after this point schedules a new flush.
+        flushScheduled.set(false);
+
+        PendingWrite write;
+
+        while ((write = pendingWrites.poll()) != null) {
+            // Write releases pooled buffer.
+            channel.write(write.msg, write.promise);
+        }
+
+        channel.flush();
+    }
+
+    private void failPendingWrites(Throwable cause) {
+        PendingWrite write;
+
+        while ((write = pendingWrites.poll()) != null) {
+            write.msg.release();
+            write.promise.setFailure(cause);
+        }
+    }
+
     /**
      * Handles incoming message.
      *
@@ -102,4 +157,20 @@ public class NettyClientConnection implements ClientConnection {
     void onDisconnected(Exception e) {
         stateHnd.onDisconnected(e);
     }
+
+    /**
+     * Message waiting to be written.
+     */
+    private static class PendingWrite {
+        /** Message buffer. */
+        private final ByteBuf msg;
+
+        /** Write promise. */
+        private final ChannelPromise promise;
+
+        PendingWrite(ByteBuf msg, ChannelPromise promise) {
+            this.msg = msg;
+            this.promise = promise;
+        }
+    }
 }
@@ -27,10 +27,16 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.apache.ignite.client.fakes.FakeIgniteTables;
 import org.apache.ignite.client.fakes.FakeSchemaRegistry;
+import org.apache.ignite.internal.client.proto.ClientOp;
+import org.apache.ignite.internal.client.table.ClientTable;
+import org.apache.ignite.internal.client.table.ClientTupleSerializer;
 import org.apache.ignite.lang.IgniteException;
 import org.apache.ignite.table.RecordView;
 import org.apache.ignite.table.Table;
@@ -103,6 +109,31 @@ public class ClientTableTest extends AbstractClientTableTest {
         assertTupleEquals(tuple, resTuple);
     }
 
+    @Test
+    public void testPipelinedRequests() {
+        var table = defaultTable().recordView();
+
+        int count = 1000;
+
+        List<CompletableFuture<Void>> upsertFuts = new ArrayList<>(count);
+
+        for (long i = 0; i < count; i++) {
+            upsertFuts.add(table.upsertAsync(null, tuple(i, "name-" + i)));
+        }
+
+        CompletableFuture.allOf(upsertFuts.toArray(new CompletableFuture[0])).join();
+
+        List<CompletableFuture<Tuple>> getFuts = new ArrayList<>(count);
+
+        for (long i = 0; i < count; i++) {
+            getFuts.add(table.getAsync(null, tupleKey(i)));
+        }
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("name-" + i, getFuts.get(i).join().stringValue("name"));
+        }
+    }
+
     @Test
     public void testGetReturningTupleWithUnknownSchemaRequestsNewSchema() throws Exception {
         FakeSchemaRegistry.setLastVer(2);
@@ -129,6 +160,69 @@ public class ClientTableTest extends AbstractClientTableTest {
         }
     }
 
+    @Test
+    public void testGetWithLatestSchemaKey() {
+        var table = defaultTable().recordView();
+
+        table.upsert(null, tuple());
+        table.upsert(null, tuple(1L, null));
+
+        // Key schema matches the latest server schema: the row is read without intermediate tuples.
+        Tuple resTuple = table.get(null, defaultTupleKey());
+        assertTupleEquals(tuple(), resTuple);
+
+        Tuple nullValTuple = table.get(null, tupleKey(1L));
+        assertEquals(2, nullValTuple.columnCount());
+        assertNull(nullValTuple.stringValue("name"));
+
+        assertNull(table.get(null, tupleKey(-1L)));
+    }
+
+    @Test
+    public void testGetWithStaleSchemaKey() {
+        Table table = defaultTable();
+        RecordView<Tuple> recView = table.recordView();
+
+        // Load schema version 1 on the client.
+        recView.upsert(null, tuple());
+
+        FakeSchemaRegistry.setLastVer(2);
+
+        try {
+            // The client still sends the key with schema version 1, the server upgrades it through the tuple path.
+            Tuple resTuple = recView.get(null, defaultTupleKey());
+
+            assertEquals(3, resTuple.columnCount());
+            assertEquals(DEFAULT_NAME, resTuple.stringValue("name"));
+            assertNull(resTuple.stringValue("xyz"));
+
+            assertNull(recView.get(null, tupleKey(-1L)));
+        } finally {
+            FakeSchemaRegistry.setLastVer(1);
+        }
+    }
+
+    @Test
+    public void testGetWithAbsentKeyValueUsesTuplePath() {
+        var table = (ClientTable) defaultTable();
+
+        // Non-empty "no value" set: the fast path is bypassed, so the missing key column is reported.
+        CompletableFuture<Object> fut = table.doSchemaOutOpAsync(
+                ClientOp.TUPLE_GET,
+                (schema, out) -> {
+                    out.out().packUuid(table.tableId());
+                    ClientTable.writeTx(null, out);
+                    out.out().packInt(schema.version());
+
+                    ClientTupleSerializer.writeTupleRaw(Tuple.create(), schema, out, true);
+                },
+                in -> null);
+
+        var ex = assertThrows(CompletionException.class, fut::join);
+
+        assertThat(ex.getCause().getMessage(), containsString("Missed key column: ID"));
+    }
+
     @Test
     public void testInsert() {
         var table = defaultTable().recordView();
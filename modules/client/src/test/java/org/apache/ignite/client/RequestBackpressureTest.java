@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.ignite.client.fakes.FakeIgnite;
+import org.apache.ignite.compute.IgniteCompute;
+import org.apache.ignite.network.ClusterNode;
+import org.apache.ignite.network.NetworkAddress;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the server stops reading requests from a connection when the number of in-flight requests reaches
+ * {@code clientConnector.maxInFlightRequests}.
+ */
+public class RequestBackpressureTest {
+    private static final int MAX_IN_FLIGHT_REQUESTS = 2;
+
+    /** Futures of the compute jobs started on the server, completed by the test. */
+    private final List<CompletableFuture<Object>> jobFuts = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testReadingIsSuspendedWhenMaxInFlightRequestsIsReached() throws Exception {
+        IgniteCompute compute = mock(IgniteCompute.class);
+
+        when(compute.execute(any(), anyString(), any())).thenAnswer(invocation -> {
+            var fut = new CompletableFuture<>();
+
+            jobFuts.add(fut);
+
+            return fut;
+        });
+
+        try (
+                var server = new TestServer(10800, 10, 0, new FakeIgnite(), null, null, compute, MAX_IN_FLIGHT_REQUESTS);
+                var client = IgniteClient.builder().addresses("127.0.0.1:" + server.port()).build()
+        ) {
+            Set<ClusterNode> nodes = Set.of(new ClusterNode("id", server.nodeName(), new NetworkAddress("127.0.0.1", 8080)));
+
+            CompletableFuture<String> res1 = client.compute().execute(nodes, "job1");
+            CompletableFuture<String> res2 = client.compute().execute(nodes, "job2");
+
+            assertTrue(waitForCondition(() -> jobFuts.size() == MAX_IN_FLIGHT_REQUESTS, 3_000));
+
+            // The limit is reached: the next request stays in the socket until one of the jobs completes.
+            CompletableFuture<String> res3 = client.compute().execute(nodes, "job3");
+
+            assertFalse(waitForCondition(() -> jobFuts.size() > MAX_IN_FLIGHT_REQUESTS, 500));
+            assertFalse(res3.isDone());
+
+            jobFuts.get(0).complete("res1");
+
+            assertEquals("res1", res1.join());
+
+            // Reading is resumed.
+            assertTrue(waitForCondition(() -> jobFuts.size() == MAX_IN_FLIGHT_REQUESTS + 1, 3_000));
+
+            jobFuts.get(1).complete("res2");
+            jobFuts.get(2).complete("res3");
+
+            assertEquals("res2", res2.join());
+            assertEquals("res3", res3.join());
+
+            // All requests are completed, so the connection is not throttled anymore.
+            assertTrue(client.tables().tables().isEmpty());
+        }
+    }
+}
@@ -44,6 +44,7 @@ import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.ClusterService;
 import org.apache.ignite.network.NettyBootstrapFactory;
 import org.apache.ignite.network.NetworkAddress;
+import org.jetbrains.annotations.Nullable;
 import org.mockito.Mockito;
 
 /**
@@ -90,6 +91,31 @@ public class TestServer implements AutoCloseable {
             Ignite ignite,
             Function<Integer, Boolean> shouldDropConnection,
             String nodeName
+    ) {
+        this(port, portRange, idleTimeout, ignite, shouldDropConnection, nodeName, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param port Port.
+     * @param portRange Port range.
+     * @param idleTimeout Idle timeout.
+     * @param ignite Ignite.
+     * @param shouldDropConnection Connection drop predicate, {@code null} to use the real client handler module.
+     * @param nodeName Node name.
+     * @param compute Compute, {@code null} to use a mock that returns the node name.
+     * @param maxInFlightRequests Max number of in-flight requests per connection, {@code null} to use the default.
+     */
+    public TestServer(
+            int port,
+            int portRange,
+            long idleTimeout,
+            Ignite ignite,
+            @Nullable Function<Integer, Boolean> shouldDropConnection,
+            @Nullable String nodeName,
+            @Nullable IgniteCompute compute,
+            @Nullable Integer maxInFlightRequests
     ) {
         cfg = new ConfigurationRegistry(
                 List.of(ClientConnectorConfiguration.KEY, NetworkConfiguration.KEY),
@@ -101,9 +127,13 @@ public class TestServer implements AutoCloseable {
 
         cfg.start();
 
-        cfg.getConfiguration(ClientConnectorConfiguration.KEY).change(
-                local -> local.changePort(port).changePortRange(portRange).changeIdleTimeout(idleTimeout)
-        ).join();
+        cfg.getConfiguration(ClientConnectorConfiguration.KEY).change(local -> {
+            local.changePort(port).changePortRange(portRange).changeIdleTimeout(idleTimeout);
+
+            if (maxInFlightRequests != null) {
+                local.changeMaxInFlightRequests(maxInFlightRequests);
+            }
+        }).join();
 
         bootstrapFactory = new NettyBootstrapFactory(cfg.getConfiguration(NetworkConfiguration.KEY), "TestServer-");
 
@@ -122,10 +152,12 @@ public class TestServer implements AutoCloseable {
         Mockito.when(clusterService.topologyService().getByConsistentId(anyString())).thenAnswer(
                 i -> getClusterNode(i.getArgument(0, String.class)));
 
-        IgniteCompute compute = mock(IgniteCompute.class);
-        Mockito.when(compute.execute(any(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(nodeName));
-        Mockito.when(
-                compute.executeColocated(anyString(), any(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(nodeName));
+        if (compute == null) {
+            compute = mock(IgniteCompute.class);
+            Mockito.when(compute.execute(any(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(nodeName));
+            Mockito.when(compute.executeColocated(anyString(), any(), anyString(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(nodeName));
+        }
 
         module = shouldDropConnection != null
                 ? new TestClientHandlerModule(ignite, cfg, bootstrapFactory, shouldDropConnection, clusterService, compute)
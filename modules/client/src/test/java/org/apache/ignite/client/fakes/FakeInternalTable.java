@@ -29,6 +29,7 @@ import java.util.function.BiConsumer;
 import javax.naming.OperationNotSupportedException;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.BinaryRowEx;
+import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.tx.InternalTransaction;
@@ -302,6 +303,25 @@ public class FakeInternalTable implements InternalTable {
         throw new IgniteInternalException(new OperationNotSupportedException());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Publisher<BinaryRow> scan(
+            int p,
+            @Nullable InternalTransaction tx,
+            UUID indexId,
+            @Nullable BinaryTuple lowerBound,
+            @Nullable BinaryTuple upperBound,
+            int flags
+    ) {
+        throw new IgniteInternalException(new OperationNotSupportedException());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Publisher<BinaryRow> lookup(int p, @Nullable InternalTransaction tx, UUID indexId, BinaryTuple key) {
+        throw new IgniteInternalException(new OperationNotSupportedException());
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<String> assignments() {
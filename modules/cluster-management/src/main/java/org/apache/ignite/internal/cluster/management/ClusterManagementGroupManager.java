@@ -478,7 +478,7 @@ public class ClusterManagementGroupManager implements IgniteComponent {
                                 return new CmgRaftGroupListener(clusterStateStorage);
                             },
                             this::createCmgRaftGroupEventsListener,
-                            RaftGroupOptions.defaults()
+                            RaftGroupOptions.defaults().leaseBasedReads(true)
                     )
                     .thenApply(service -> new CmgRaftService(service, clusterService));
         } catch (Exception e) {
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.compute;
 
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import org.apache.ignite.compute.ComputeJob;
 import org.apache.ignite.internal.manager.IgniteComponent;
@@ -34,7 +35,20 @@ public interface ComputeComponent extends IgniteComponent {
      * @param <R>      result type
      * @return future execution result
      */
-    <R> CompletableFuture<R> executeLocally(Class<? extends ComputeJob<R>> jobClass, Object... args);
+    default <R> CompletableFuture<R> executeLocally(Class<? extends ComputeJob<R>> jobClass, Object... args) {
+        return executeLocally(JobPriority.NORMAL, jobClass, args);
+    }
+
+    /**
+     * Executes a job of the given class on the current node.
+     *
+     * @param priority job priority
+     * @param jobClass job class
+     * @param args     job args
+     * @param <R>      result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executeLocally(JobPriority priority, Class<? extends ComputeJob<R>> jobClass, Object... args);
 
     /**
      * Executes a job of the given class on the current node.
@@ -44,7 +58,20 @@ public interface ComputeComponent extends IgniteComponent {
      * @param <R>      result type
      * @return future execution result
      */
-    <R> CompletableFuture<R> executeLocally(String jobClassName, Object... args);
+    default <R> CompletableFuture<R> executeLocally(String jobClassName, Object... args) {
+        return executeLocally(JobPriority.NORMAL, jobClassName, args);
+    }
+
+    /**
+     * Executes a job of the given class on the current node.
+     *
+     * @param priority     job priority
+     * @param jobClassName name of the job class
+     * @param args     job args
+     * @param <R>      result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executeLocally(JobPriority priority, String jobClassName, Object... args);
 
     /**
      * Executes a job of the given class on a remote node.
@@ -55,7 +82,26 @@ public interface ComputeComponent extends IgniteComponent {
      * @param <R>      result type
      * @return future execution result
      */
-    <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, Class<? extends ComputeJob<R>> jobClass, Object... args);
+    default <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, Class<? extends ComputeJob<R>> jobClass, Object... args) {
+        return executeRemotely(JobPriority.NORMAL, remoteNode, jobClass, args);
+    }
+
+    /**
+     * Executes a job of the given class on a remote node.
+     *
+     * @param priority   job priority
+     * @param remoteNode remote node
+     * @param jobClass   job class
+     * @param args       job args
+     * @param <R>        result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executeRemotely(
+            JobPriority priority,
+            ClusterNode remoteNode,
+            Class<? extends ComputeJob<R>> jobClass,
+            Object... args
+    );
 
     /**
      * Executes a job of the given class on a remote node.
@@ -66,5 +112,56 @@ public interface ComputeComponent extends IgniteComponent {
      * @param <R>      result type
      * @return future execution result
      */
-    <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, String jobClassName, Object... args);
+    default <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, String jobClassName, Object... args) {
+        return executeRemotely(JobPriority.NORMAL, remoteNode, jobClassName, args);
+    }
+
+    /**
+     * Executes a job of the given class on a remote node.
+     *
+     * @param priority     job priority
+     * @param remoteNode   remote node
+     * @param jobClassName name of the job class
+     * @param args         job args
+     * @param <R>          result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executeRemotely(JobPriority priority, ClusterNode remoteNode, String jobClassName, Object... args);
+
+    /**
+     * Executes a partition job of the given class on the current node. Partition jobs are batch jobs, so they are executed
+     * with the {@link JobPriority#LOW low} priority.
+     *
+     * @param jobClass  job class
+     * @param tableId   ID of the table the job is executed against
+     * @param partition partition the job is executed against
+     * @param args      job args
+     * @param <R>       result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executePartitionJobLocally(
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            UUID tableId,
+            int partition,
+            Object... args
+    );
+
+    /**
+     * Executes a partition job of the given class on a remote node.
+     *
+     * @param remoteNode remote node
+     * @param jobClass   job class
+     * @param tableId    ID of the table the job is executed against
+     * @param partition  partition the job is executed against
+     * @param args       job args
+     * @param <R>        result type
+     * @return future execution result
+     */
+    <R> CompletableFuture<R> executePartitionJobRemotely(
+            ClusterNode remoteNode,
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            UUID tableId,
+            int partition,
+            Object... args
+    );
 }
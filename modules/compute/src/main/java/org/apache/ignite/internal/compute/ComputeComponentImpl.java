@@ -19,24 +19,31 @@ package org.apache.ignite.internal.compute;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
-import java.lang.reflect.Constructor;
+import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.compute.ComputeJob;
 import org.apache.ignite.compute.JobExecutionContext;
 import org.apache.ignite.configuration.schemas.compute.ComputeConfiguration;
+import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.internal.compute.message.ExecutePartitionJobRequest;
 import org.apache.ignite.internal.compute.message.ExecuteRequest;
 import org.apache.ignite.internal.compute.message.ExecuteResponse;
 import org.apache.ignite.internal.future.InFlightFutures;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.table.IgniteTablesInternal;
+import org.apache.ignite.internal.table.TableImpl;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
 import org.apache.ignite.internal.util.IgniteSpinBusyLock;
 import org.apache.ignite.internal.util.IgniteUtils;
@@ -57,13 +64,18 @@ public class ComputeComponentImpl implements ComputeComponent {
 
     private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
 
+    /** Waiting time that is worth one priority level. */
+    private static final long PRIORITY_AGING_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final Ignite ignite;
     private final MessagingService messagingService;
     private final ComputeConfiguration configuration;
+    private final IgniteTablesInternal tables;
+    private final HybridClock clock;
 
     private ExecutorService jobExecutorService;
 
-    private final ClassLoader jobClassLoader = Thread.currentThread().getContextClassLoader();
+    private final JobFactoryCache jobFactories = new JobFactoryCache(Thread.currentThread().getContextClassLoader());
 
     private final ComputeMessagesFactory messagesFactory = new ComputeMessagesFactory();
 
@@ -75,24 +87,52 @@ public class ComputeComponentImpl implements ComputeComponent {
 
     private final InFlightFutures inFlightFutures = new InFlightFutures();
 
+    /** Sequence of the submitted jobs, keeps the submission order among the jobs of the same priority. */
+    private final AtomicLong jobSequence = new AtomicLong();
+
+    private final ComputeMetricSource metricSource = new ComputeMetricSource(this::queuedJobs);
+
+    /** Jobs waiting for an executor thread. */
+    private volatile BlockingQueue<Runnable> jobQueue;
+
+    /** Maximum number of jobs waiting for an executor thread. */
+    private int queueMaxSize;
+
     /**
      * Creates a new instance.
      */
-    public ComputeComponentImpl(Ignite ignite, MessagingService messagingService, ComputeConfiguration configuration) {
+    public ComputeComponentImpl(
+            Ignite ignite,
+            MessagingService messagingService,
+            ComputeConfiguration configuration,
+            IgniteTablesInternal tables,
+            HybridClock clock
+    ) {
         this.ignite = ignite;
         this.messagingService = messagingService;
         this.configuration = configuration;
+        this.tables = tables;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the metric source of the component.
+     *
+     * @return Metric source.
+     */
+    public ComputeMetricSource metricSource() {
+        return metricSource;
     }
 
     /** {@inheritDoc} */
     @Override
-    public <R> CompletableFuture<R> executeLocally(Class<? extends ComputeJob<R>> jobClass, Object... args) {
+    public <R> CompletableFuture<R> executeLocally(JobPriority priority, Class<? extends ComputeJob<R>> jobClass, Object... args) {
         if (!busyLock.enterBusy()) {
             return CompletableFuture.failedFuture(new NodeStoppingException());
         }
 
         try {
-            return doExecuteLocally(jobClass, args);
+            return doExecuteLocally(priority, jobClass, args);
         } finally {
             busyLock.leaveBusy();
         }
@@ -100,25 +140,39 @@ public class ComputeComponentImpl implements ComputeComponent {
 
     /** {@inheritDoc} */
     @Override
-    public <R> CompletableFuture<R> executeLocally(String jobClassName, Object... args) {
-        return completedFuture(null).thenCompose(ignore -> executeLocally(jobClass(jobClassName), args));
+    public <R> CompletableFuture<R> executeLocally(JobPriority priority, String jobClassName, Object... args) {
+        return completedFuture(null).thenCompose(ignore -> executeLocally(priority, jobClass(jobClassName), args));
     }
 
-    private <R> CompletableFuture<R> doExecuteLocally(Class<? extends ComputeJob<R>> jobClass, Object[] args) {
+    private <R> CompletableFuture<R> doExecuteLocally(JobPriority priority, Class<? extends ComputeJob<R>> jobClass, Object[] args) {
         assert jobExecutorService != null : "Not started yet!";
 
-        CompletableFuture<R> future = startLocalExecution(jobClass, args);
+        CompletableFuture<R> future = startLocalExecution(priority, () -> executeJob(jobClass, args));
         inFlightFutures.registerFuture(future);
 
         return future;
     }
 
-    private <R> CompletableFuture<R> startLocalExecution(Class<? extends ComputeJob<R>> jobClass, Object[] args) {
+    private <R> CompletableFuture<R> startLocalExecution(JobPriority priority, Supplier<R> job) {
+        QueuedJob<R> queuedJob = new QueuedJob<>(priority, jobSequence.getAndIncrement(), job);
+
         try {
-            return CompletableFuture.supplyAsync(() -> executeJob(jobClass, args), jobExecutorService);
+            // The job is either handed to a new executor thread or put to the queue, which rejects it when it is full.
+            jobExecutorService.execute(queuedJob);
         } catch (RejectedExecutionException e) {
-            return CompletableFuture.failedFuture(e);
+            metricSource.onJobRejected();
+
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Compute job queue is full [maxSize=" + queueMaxSize + ']', e));
         }
+
+        return queuedJob.future;
+    }
+
+    private int queuedJobs() {
+        BlockingQueue<Runnable> jobQueue = this.jobQueue;
+
+        return jobQueue == null ? 0 : jobQueue.size();
     }
 
     private <R> R executeJob(Class<? extends ComputeJob<R>> jobClass, Object[] args) {
@@ -129,32 +183,110 @@ public class ComputeComponentImpl implements ComputeComponent {
     }
 
     private <R> ComputeJob<R> instantiateJob(Class<? extends ComputeJob<R>> jobClass) {
-        if (!(ComputeJob.class.isAssignableFrom(jobClass))) {
-            throw new IgniteInternalException("'" + jobClass.getName() + "' does not implement ComputeJob interface");
+        return jobFactories.newInstance(jobClass, ComputeJob.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <R> CompletableFuture<R> executePartitionJobLocally(
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            UUID tableId,
+            int partition,
+            Object... args
+    ) {
+        if (!busyLock.enterBusy()) {
+            return CompletableFuture.failedFuture(new NodeStoppingException());
         }
 
         try {
-            Constructor<? extends ComputeJob<R>> constructor = jobClass.getDeclaredConstructor();
+            return doExecutePartitionJobLocally(jobClass, tableId, partition, args);
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    private <R> CompletableFuture<R> doExecutePartitionJobLocally(
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            UUID tableId,
+            int partition,
+            Object[] args
+    ) {
+        assert jobExecutorService != null : "Not started yet!";
+
+        CompletableFuture<R> future = startLocalExecution(
+                JobPriority.LOW,
+                () -> executePartitionJob(jobClass, tableId, partition, args)
+        );
+        inFlightFutures.registerFuture(future);
+
+        return future;
+    }
+
+    private <R> R executePartitionJob(Class<? extends PartitionComputeJob<R>> jobClass, UUID tableId, int partition, Object[] args) {
+        PartitionComputeJob<R> job = jobFactories.newInstance(jobClass, PartitionComputeJob.class);
+        PartitionJobExecutionContext context = new PartitionJobExecutionContextImpl(ignite, requiredTable(tableId), partition, clock.now());
+
+        return job.execute(context, args);
+    }
+
+    private TableImpl requiredTable(UUID tableId) {
+        try {
+            TableImpl table = tables.table(tableId);
 
-            if (!constructor.canAccess(null)) {
-                constructor.setAccessible(true);
+            if (table == null) {
+                throw new IgniteInternalException("Table not found [tableId=" + tableId + ']');
             }
 
-            return constructor.newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new IgniteInternalException("Cannot instantiate job", e);
+            return table;
+        } catch (NodeStoppingException e) {
+            throw new IgniteInternalException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <R> CompletableFuture<R> executePartitionJobRemotely(
+            ClusterNode remoteNode,
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            UUID tableId,
+            int partition,
+            Object... args
+    ) {
+        if (!busyLock.enterBusy()) {
+            return CompletableFuture.failedFuture(new NodeStoppingException());
+        }
+
+        try {
+            ExecutePartitionJobRequest executeRequest = messagesFactory.executePartitionJobRequest()
+                    .jobClassName(jobClass.getName())
+                    .tableId(tableId)
+                    .partition(partition)
+                    .args(args)
+                    .build();
+
+            CompletableFuture<R> future = messagingService.invoke(remoteNode, executeRequest, NETWORK_TIMEOUT_MILLIS)
+                    .thenCompose(message -> resultFromExecuteResponse((ExecuteResponse) message));
+            inFlightFutures.registerFuture(future);
+            return future;
+        } finally {
+            busyLock.leaveBusy();
         }
     }
 
     /** {@inheritDoc} */
     @Override
-    public <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, Class<? extends ComputeJob<R>> jobClass, Object... args) {
+    public <R> CompletableFuture<R> executeRemotely(
+            JobPriority priority,
+            ClusterNode remoteNode,
+            Class<? extends ComputeJob<R>> jobClass,
+            Object... args
+    ) {
         if (!busyLock.enterBusy()) {
             return CompletableFuture.failedFuture(new NodeStoppingException());
         }
 
         try {
-            return doExecuteRemotely(remoteNode, jobClass, args);
+            return doExecuteRemotely(priority, remoteNode, jobClass, args);
         } finally {
             busyLock.leaveBusy();
         }
@@ -162,13 +294,19 @@ public class ComputeComponentImpl implements ComputeComponent {
 
     /** {@inheritDoc} */
     @Override
-    public <R> CompletableFuture<R> executeRemotely(ClusterNode remoteNode, String jobClassName, Object... args) {
-        return completedFuture(null).thenCompose(ignored -> executeRemotely(remoteNode, jobClass(jobClassName), args));
+    public <R> CompletableFuture<R> executeRemotely(JobPriority priority, ClusterNode remoteNode, String jobClassName, Object... args) {
+        return completedFuture(null).thenCompose(ignored -> executeRemotely(priority, remoteNode, jobClass(jobClassName), args));
     }
 
-    private <R> CompletableFuture<R> doExecuteRemotely(ClusterNode remoteNode, Class<? extends ComputeJob<R>> jobClass, Object[] args) {
+    private <R> CompletableFuture<R> doExecuteRemotely(
+            JobPriority priority,
+            ClusterNode remoteNode,
+            Class<? extends ComputeJob<R>> jobClass,
+            Object[] args
+    ) {
         ExecuteRequest executeRequest = messagesFactory.executeRequest()
                 .jobClassName(jobClass.getName())
+                .priority(priority.ordinal())
                 .args(args)
                 .build();
 
@@ -190,12 +328,16 @@ public class ComputeComponentImpl implements ComputeComponent {
     /** {@inheritDoc} */
     @Override
     public synchronized void start() {
+        queueMaxSize = configuration.queueMaxSize().value();
+
+        jobQueue = newExecutorServiceTaskQueue();
+
         jobExecutorService = new ThreadPoolExecutor(
                 configuration.threadPoolSize().value(),
                 configuration.threadPoolSize().value(),
                 THREAD_KEEP_ALIVE_SECONDS,
                 TimeUnit.SECONDS,
-                newExecutorServiceTaskQueue(),
+                jobQueue,
                 new NamedThreadFactory(NamedThreadFactory.threadPrefix(ignite.name(), "compute"), LOG)
         );
 
@@ -208,12 +350,26 @@ public class ComputeComponentImpl implements ComputeComponent {
                 return;
             }
 
+            if (message instanceof ExecutePartitionJobRequest) {
+                processExecutePartitionJobRequest((ExecutePartitionJobRequest) message, senderAddr, correlationId);
+
+                return;
+            }
+
             throw new IgniteInternalException("Unexpected message type " + message.getClass());
         });
     }
 
     BlockingQueue<Runnable> newExecutorServiceTaskQueue() {
-        return new LinkedBlockingQueue<>();
+        // Executor only submits QueuedJob instances, so they are ordered by priority and submission order.
+        return new JobQueue(queueMaxSize);
+    }
+
+    /**
+     * Returns the waiting time after which a queued job is taken before the jobs of the next higher priority.
+     */
+    long priorityAgingNanos() {
+        return PRIORITY_AGING_NANOS;
     }
 
     private void processExecuteRequest(ExecuteRequest executeRequest, NetworkAddress senderAddr, long correlationId) {
@@ -225,8 +381,30 @@ public class ComputeComponentImpl implements ComputeComponent {
         try {
             Class<ComputeJob<Object>> jobClass = jobClass(executeRequest.jobClassName());
 
-            doExecuteLocally(jobClass, executeRequest.args())
+            JobPriority priority = JobPriority.fromOrdinal(executeRequest.priority());
+
+            doExecuteLocally(priority, jobClass, executeRequest.args())
+                    .handle((result, ex) -> sendExecuteResponse(result, ex, senderAddr, correlationId));
+        } catch (Throwable e) {
+            sendExecuteResponse(null, e, senderAddr, correlationId);
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    private void processExecutePartitionJobRequest(ExecutePartitionJobRequest request, NetworkAddress senderAddr, long correlationId) {
+        if (!busyLock.enterBusy()) {
+            sendExecuteResponse(null, new NodeStoppingException(), senderAddr, correlationId);
+            return;
+        }
+
+        try {
+            Class<PartitionComputeJob<Object>> jobClass = partitionJobClass(request.jobClassName());
+
+            doExecutePartitionJobLocally(jobClass, request.tableId(), request.partition(), request.args())
                     .handle((result, ex) -> sendExecuteResponse(result, ex, senderAddr, correlationId));
+        } catch (Throwable e) {
+            sendExecuteResponse(null, e, senderAddr, correlationId);
         } finally {
             busyLock.leaveBusy();
         }
@@ -246,11 +424,12 @@ public class ComputeComponentImpl implements ComputeComponent {
 
     @SuppressWarnings("unchecked")
     private <R, J extends ComputeJob<R>> Class<J> jobClass(String jobClassName) {
-        try {
-            return (Class<J>) Class.forName(jobClassName, true, jobClassLoader);
-        } catch (ClassNotFoundException e) {
-            throw new IgniteInternalException("Cannot load job class by name '" + jobClassName + "'", e);
-        }
+        return (Class<J>) jobFactories.jobClass(jobClassName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R, J extends PartitionComputeJob<R>> Class<J> partitionJobClass(String jobClassName) {
+        return (Class<J>) jobFactories.jobClass(jobClassName);
     }
 
     /** {@inheritDoc} */
@@ -270,4 +449,80 @@ public class ComputeComponentImpl implements ComputeComponent {
     long stopTimeoutMillis() {
         return configuration.threadPoolStopTimeoutMillis().value();
     }
+
+    /**
+     * Queue of the jobs waiting for an executor thread, bounded by the maximum number of waiting jobs. Jobs that are handed to
+     * a new executor thread directly never get to the queue, so only the waiting jobs are counted.
+     */
+    private static class JobQueue extends PriorityBlockingQueue<Runnable> {
+        private static final long serialVersionUID = 0L;
+
+        private final int capacity;
+
+        JobQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean offer(Runnable job) {
+            return size() < capacity && super.offer(job);
+        }
+    }
+
+    /**
+     * Job waiting for an executor thread. Jobs are ordered by priority, and by submission order within the same priority.
+     * Priorities age: each priority level is worth {@link #priorityAgingNanos()} of waiting time, so a job that waits
+     * longer than that is taken before the jobs of the next higher priority submitted after it.
+     */
+    private class QueuedJob<R> implements Runnable, Comparable<QueuedJob<?>> {
+        private final long sequence;
+
+        private final Supplier<R> job;
+
+        private final long enqueueNanos = System.nanoTime();
+
+        /** Waiting time mark the job competes with, less is taken first. */
+        private final long rank;
+
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        QueuedJob(JobPriority priority, long sequence, Supplier<R> job) {
+            this.sequence = sequence;
+            this.job = job;
+
+            rank = enqueueNanos + priority.ordinal() * priorityAgingNanos();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void run() {
+            // The future is cancelled if the component has been stopped while the job was waiting in the queue.
+            if (future.isDone()) {
+                return;
+            }
+
+            long startNanos = System.nanoTime();
+
+            metricSource.onJobStarted(TimeUnit.NANOSECONDS.toMillis(startNanos - enqueueNanos));
+
+            try {
+                future.complete(job.get());
+            } catch (Throwable e) {
+                // Same as CompletableFuture.supplyAsync() does.
+                future.completeExceptionally(e instanceof CompletionException ? e : new CompletionException(e));
+            } finally {
+                metricSource.onJobFinished(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int compareTo(QueuedJob<?> o) {
+            // Nano time may overflow, so the ranks are compared by their difference.
+            long diff = rank - o.rank;
+
+            return diff != 0 ? Long.signum(diff) : Long.compare(sequence, o.sequence);
+        }
+    }
 }
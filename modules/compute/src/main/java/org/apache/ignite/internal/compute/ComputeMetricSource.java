@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import java.util.function.IntSupplier;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link ComputeComponentImpl}.
+ */
+public class ComputeMetricSource extends AbstractMetricSource<ComputeMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "compute";
+
+    /** Bounds of the time distributions, in milliseconds. */
+    private static final long[] TIME_BOUNDS = {1, 10, 100, 1_000, 10_000, 60_000};
+
+    /** Supplier of the number of jobs waiting for an executor thread. */
+    private final IntSupplier queuedJobs;
+
+    /**
+     * Constructor.
+     *
+     * @param queuedJobs Supplier of the number of jobs waiting for an executor thread.
+     */
+    ComputeMetricSource(IntSupplier queuedJobs) {
+        super(SOURCE_NAME);
+
+        this.queuedJobs = queuedJobs;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.intGauge("QueuedJobs", "Number of jobs waiting for an executor thread.", queuedJobs);
+
+        bldr.register(holder.rejectedJobs);
+        bldr.register(holder.completedJobs);
+        bldr.register(holder.queueTime);
+        bldr.register(holder.executionTime);
+    }
+
+    /**
+     * Called when a job is rejected.
+     */
+    void onJobRejected() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.rejectedJobs.increment();
+        }
+    }
+
+    /**
+     * Called when a job is taken by an executor thread.
+     *
+     * @param queueTimeMillis Time the job has been waiting for an executor thread, in milliseconds.
+     */
+    void onJobStarted(long queueTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.queueTime.add(queueTimeMillis);
+        }
+    }
+
+    /**
+     * Called when a job is finished, either successfully or not.
+     *
+     * @param executionTimeMillis Job execution time in milliseconds.
+     */
+    void onJobFinished(long executionTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.completedJobs.increment();
+            holder.executionTime.add(executionTimeMillis);
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric rejectedJobs = new LongAdderMetric(
+                "RejectedJobs",
+                "Number of jobs rejected because the job queue is full or the executor is stopped."
+        );
+
+        private final LongAdderMetric completedJobs = new LongAdderMetric(
+                "CompletedJobs",
+                "Number of jobs executed on the node, either successfully or not."
+        );
+
+        private final DistributionMetric queueTime = new DistributionMetric(
+                "QueueTime",
+                "Distribution of the time in milliseconds the jobs have been waiting for an executor thread.",
+                TIME_BOUNDS
+        );
+
+        private final DistributionMetric executionTime = new DistributionMetric(
+                "ExecutionTime",
+                "Distribution of the job execution time in milliseconds.",
+                TIME_BOUNDS
+        );
+    }
+}
@@ -25,8 +25,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collector;
 import org.apache.ignite.compute.ComputeJob;
-import org.apache.ignite.compute.IgniteCompute;
 import org.apache.ignite.internal.table.IgniteTablesInternal;
 import org.apache.ignite.internal.table.TableImpl;
 import org.apache.ignite.internal.util.IgniteNameUtils;
@@ -38,9 +38,9 @@ import org.apache.ignite.table.Tuple;
 import org.apache.ignite.table.mapper.Mapper;
 
 /**
- * Implementation of {@link IgniteCompute}.
+ * Implementation of {@link IgniteComputeInternal}.
  */
-public class IgniteComputeImpl implements IgniteCompute {
+public class IgniteComputeImpl implements IgniteComputeInternal {
     private static final String DEFAULT_SCHEMA_NAME = "PUBLIC";
 
     private final TopologyService topologyService;
@@ -96,18 +96,31 @@ public class IgniteComputeImpl implements IgniteCompute {
     }
 
     private <R> CompletableFuture<R> executeOnOneNode(ClusterNode targetNode, Class<? extends ComputeJob<R>> jobClass, Object[] args) {
+        return executeOnOneNode(JobPriority.NORMAL, targetNode, jobClass, args);
+    }
+
+    private <R> CompletableFuture<R> executeOnOneNode(
+            JobPriority priority,
+            ClusterNode targetNode,
+            Class<? extends ComputeJob<R>> jobClass,
+            Object[] args
+    ) {
         if (isLocal(targetNode)) {
-            return computeComponent.executeLocally(jobClass, args);
+            return computeComponent.executeLocally(priority, jobClass, args);
         } else {
-            return computeComponent.executeRemotely(targetNode, jobClass, args);
+            return computeComponent.executeRemotely(priority, targetNode, jobClass, args);
         }
     }
 
     private <R> CompletableFuture<R> executeOnOneNode(ClusterNode targetNode, String jobClassName, Object[] args) {
+        return executeOnOneNode(JobPriority.NORMAL, targetNode, jobClassName, args);
+    }
+
+    private <R> CompletableFuture<R> executeOnOneNode(JobPriority priority, ClusterNode targetNode, String jobClassName, Object[] args) {
         if (isLocal(targetNode)) {
-            return computeComponent.executeLocally(jobClassName, args);
+            return computeComponent.executeLocally(priority, jobClassName, args);
         } else {
-            return computeComponent.executeRemotely(targetNode, jobClassName, args);
+            return computeComponent.executeRemotely(priority, targetNode, jobClassName, args);
         }
     }
 
@@ -124,7 +137,7 @@ public class IgniteComputeImpl implements IgniteCompute {
 
         return requiredTable(tableName)
                 .thenApply(table -> leaderOfTablePartitionByTupleKey(table, key))
-                .thenCompose(primaryNode -> executeOnOneNode(primaryNode, jobClass, args));
+                .thenCompose(primaryNode -> executeOnOneNode(JobPriority.HIGH, primaryNode, jobClass, args));
     }
 
     /** {@inheritDoc} */
@@ -143,7 +156,7 @@ public class IgniteComputeImpl implements IgniteCompute {
 
         return requiredTable(tableName)
                 .thenApply(table -> leaderOfTablePartitionByMappedKey(table, key, keyMapper))
-                .thenCompose(primaryNode -> executeOnOneNode(primaryNode, jobClass, args));
+                .thenCompose(primaryNode -> executeOnOneNode(JobPriority.HIGH, primaryNode, jobClass, args));
     }
 
     /** {@inheritDoc} */
@@ -155,7 +168,7 @@ public class IgniteComputeImpl implements IgniteCompute {
 
         return requiredTable(tableName)
                 .thenApply(table -> leaderOfTablePartitionByTupleKey(table, key))
-                .thenCompose(primaryNode -> executeOnOneNode(primaryNode, jobClassName, args));
+                .thenCompose(primaryNode -> executeOnOneNode(JobPriority.HIGH, primaryNode, jobClassName, args));
     }
 
     /** {@inheritDoc} */
@@ -168,7 +181,60 @@ public class IgniteComputeImpl implements IgniteCompute {
 
         return requiredTable(tableName)
                 .thenApply(table -> leaderOfTablePartitionByMappedKey(table, key, keyMapper))
-                .thenCompose(primaryNode -> executeOnOneNode(primaryNode, jobClassName, args));
+                .thenCompose(primaryNode -> executeOnOneNode(JobPriority.HIGH, primaryNode, jobClassName, args));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <R, A, T> CompletableFuture<T> executeMapReduce(
+            String tableName,
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            Collector<? super R, A, T> reducer,
+            Object... args
+    ) {
+        Objects.requireNonNull(tableName);
+        Objects.requireNonNull(jobClass);
+        Objects.requireNonNull(reducer);
+
+        return requiredTable(tableName).thenCompose(table -> {
+            int partitions = table.internalTable().partitions();
+
+            A container = reducer.supplier().get();
+
+            CompletableFuture<?>[] partitionFutures = new CompletableFuture[partitions];
+
+            for (int partition = 0; partition < partitions; partition++) {
+                ClusterNode primaryNode = requiredLeaderByPartition(table, partition);
+
+                // Results are accumulated as soon as they arrive, the reducer container is not thread-safe though.
+                partitionFutures[partition] = executePartitionJob(primaryNode, jobClass, table, partition, args)
+                        .thenAccept(result -> {
+                            synchronized (container) {
+                                reducer.accumulator().accept(container, result);
+                            }
+                        });
+            }
+
+            return CompletableFuture.allOf(partitionFutures).thenApply(ignored -> {
+                synchronized (container) {
+                    return reducer.finisher().apply(container);
+                }
+            });
+        });
+    }
+
+    private <R> CompletableFuture<R> executePartitionJob(
+            ClusterNode targetNode,
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            TableImpl table,
+            int partition,
+            Object[] args
+    ) {
+        if (isLocal(targetNode)) {
+            return computeComponent.executePartitionJobLocally(jobClass, table.tableId(), partition, args);
+        } else {
+            return computeComponent.executePartitionJobRemotely(targetNode, jobClass, table.tableId(), partition, args);
+        }
     }
 
     private CompletableFuture<TableImpl> requiredTable(String tableName) {
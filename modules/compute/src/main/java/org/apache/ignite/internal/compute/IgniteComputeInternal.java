@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collector;
+import org.apache.ignite.compute.IgniteCompute;
+
+/**
+ * Internal compute facade, provides the operations that are available on server nodes only.
+ */
+public interface IgniteComputeInternal extends IgniteCompute {
+    /**
+     * Executes a {@link PartitionComputeJob} represented by the given class against every partition of the table, and reduces
+     * the results. Each partition job is executed on the node that holds the primary replica of the partition, so it reads
+     * the partition data locally. Partition jobs are executed in parallel, and their results are passed to the reducer
+     * as they arrive.
+     *
+     * @param tableName name of the table whose partitions are processed
+     * @param jobClass class of the job to execute against every partition
+     * @param reducer collector that reduces the partition job results
+     * @param args arguments of the job
+     * @param <R> partition job result type
+     * @param <A> intermediate accumulation type of the reducer
+     * @param <T> reduction result type
+     * @return future reduction result
+     */
+    <R, A, T> CompletableFuture<T> executeMapReduce(
+            String tableName,
+            Class<? extends PartitionComputeJob<R>> jobClass,
+            Collector<? super R, A, T> reducer,
+            Object... args
+    );
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.lang.IgniteInternalException;
+
+/**
+ * Loads job classes and creates job instances. Class lookups by name and job constructors are cached, so the reflective
+ * lookups are only done once per job class.
+ */
+class JobFactoryCache {
+    /** Class loader of the job classes. */
+    private final ClassLoader jobClassLoader;
+
+    /** Job classes by names. */
+    private final Map<String, Class<?>> jobClasses = new ConcurrentHashMap<>();
+
+    /** No-arg constructors of the job classes, adapted to the {@code () -> Object} type. */
+    private final ClassValue<MethodHandle> constructors = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findConstructor(type);
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param jobClassLoader Class loader of the job classes.
+     */
+    JobFactoryCache(ClassLoader jobClassLoader) {
+        this.jobClassLoader = jobClassLoader;
+    }
+
+    /**
+     * Returns a job class by its name.
+     *
+     * @param jobClassName Job class name.
+     * @return Job class.
+     * @throws IgniteInternalException If the class can't be loaded.
+     */
+    Class<?> jobClass(String jobClassName) {
+        Class<?> jobClass = jobClasses.get(jobClassName);
+
+        if (jobClass == null) {
+            jobClass = jobClasses.computeIfAbsent(jobClassName, this::loadJobClass);
+        }
+
+        return jobClass;
+    }
+
+    private Class<?> loadJobClass(String jobClassName) {
+        try {
+            return Class.forName(jobClassName, true, jobClassLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IgniteInternalException("Cannot load job class by name '" + jobClassName + "'", e);
+        }
+    }
+
+    /**
+     * Creates a new instance of a job class.
+     *
+     * @param jobClass Job class.
+     * @param jobInterface Interface the job class must implement.
+     * @param <J> Job type.
+     * @return Job instance.
+     * @throws IgniteInternalException If the class doesn't implement the interface or can't be instantiated.
+     */
+    @SuppressWarnings("unchecked")
+    <J> J newInstance(Class<? extends J> jobClass, Class<?> jobInterface) {
+        if (!(jobInterface.isAssignableFrom(jobClass))) {
+            throw new IgniteInternalException("'" + jobClass.getName() + "' does not implement " + jobInterface.getSimpleName()
+                    + " interface");
+        }
+
+        MethodHandle constructor = constructors.get(jobClass);
+
+        try {
+            return (J) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new IgniteInternalException("Cannot instantiate job", e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> jobClass) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(jobClass, MethodHandles.lookup());
+
+            return lookup.findConstructor(jobClass, methodType(void.class)).asType(methodType(Object.class));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new IgniteInternalException("Cannot instantiate job", e);
+        }
+    }
+}
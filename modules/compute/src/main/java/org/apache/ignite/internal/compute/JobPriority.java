@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+/**
+ * Priority of a compute job. Jobs waiting for an executor thread are taken in the priority order, and in the submission
+ * order within the same priority. A job that waits long enough is taken before the jobs of a higher priority submitted
+ * after it, so that a stream of high priority jobs doesn't starve the others.
+ */
+public enum JobPriority {
+    /** Latency-sensitive jobs, e.g. jobs colocated with a key. */
+    HIGH,
+
+    /** Regular jobs. */
+    NORMAL,
+
+    /** Batch jobs, e.g. partition jobs of a map/reduce task. */
+    LOW;
+
+    /** Cached values. */
+    private static final JobPriority[] VALUES = values();
+
+    /**
+     * Returns a priority by its ordinal.
+     *
+     * @param ordinal Ordinal.
+     * @return Priority.
+     * @throws IllegalArgumentException If there is no priority with the given ordinal.
+     */
+    public static JobPriority fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown job priority [ordinal=" + ordinal + ']');
+        }
+
+        return VALUES[ordinal];
+    }
+}
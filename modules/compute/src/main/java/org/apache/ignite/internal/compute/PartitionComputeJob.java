@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+/**
+ * A Compute job that is executed against a single partition of a table, on the node that holds the primary replica
+ * of the partition.
+ *
+ * @param <R> job result type
+ * @see IgniteComputeInternal#executeMapReduce(String, Class, java.util.stream.Collector, Object...)
+ */
+public interface PartitionComputeJob<R> {
+    /**
+     * Executes the job on the partition.
+     *
+     * @param context  context with the access to the partition data
+     * @param args     job arguments
+     * @return job result
+     */
+    R execute(PartitionJobExecutionContext context, Object... args);
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import java.util.function.Consumer;
+import org.apache.ignite.compute.JobExecutionContext;
+import org.apache.ignite.table.Tuple;
+
+/**
+ * Context of {@link PartitionComputeJob} execution.
+ */
+public interface PartitionJobExecutionContext extends JobExecutionContext {
+    /**
+     * Returns the name of the table the job is executed against.
+     *
+     * @return table name
+     */
+    String tableName();
+
+    /**
+     * Returns the partition the job is executed against.
+     *
+     * @return partition number
+     */
+    int partition();
+
+    /**
+     * Iterates over the rows of the partition that are stored on the current node, as they were committed at the moment the job
+     * started. Rows are read from the local storage directly, without any network communication.
+     *
+     * @param action action to apply to each row
+     */
+    void forEachLocalRow(Consumer<Tuple> action);
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import java.util.function.Consumer;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.PartitionTimestampCursor;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.table.TableImpl;
+import org.apache.ignite.internal.table.TableRow;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.table.Tuple;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implementation of {@link PartitionJobExecutionContext}.
+ */
+public class PartitionJobExecutionContextImpl extends JobExecutionContextImpl implements PartitionJobExecutionContext {
+    private final TableImpl table;
+
+    private final int partition;
+
+    /** Timestamp the partition data is read at, the same for all the reads of the job. */
+    private final HybridTimestamp readTimestamp;
+
+    /**
+     * Constructor.
+     *
+     * @param ignite Ignite instance.
+     * @param table Table the job is executed against.
+     * @param partition Partition the job is executed against.
+     * @param readTimestamp Timestamp the partition data is read at.
+     */
+    public PartitionJobExecutionContextImpl(Ignite ignite, TableImpl table, int partition, HybridTimestamp readTimestamp) {
+        super(ignite);
+
+        this.table = table;
+        this.partition = partition;
+        this.readTimestamp = readTimestamp;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String tableName() {
+        return table.name();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int partition() {
+        return partition;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void forEachLocalRow(Consumer<Tuple> action) {
+        MvPartitionStorage partitionStorage = table.internalTable().storage().getMvPartition(partition);
+
+        if (partitionStorage == null) {
+            throw new IgniteInternalException("Partition is not stored on the local node [table=" + table.name()
+                    + ", partition=" + partition + ']');
+        }
+
+        try (PartitionTimestampCursor cursor = partitionStorage.scan(readTimestamp)) {
+            while (cursor.hasNext()) {
+                BinaryRow row = committedRow(cursor, cursor.next());
+
+                if (row != null) {
+                    action.accept(TableRow.tuple(table.schemaView().resolve(row)));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IgniteInternalException("Failed to scan the partition [table=" + table.name() + ", partition=" + partition + ']', e);
+        }
+    }
+
+    private static @Nullable BinaryRow committedRow(PartitionTimestampCursor cursor, ReadResult readResult) {
+        if (!readResult.isWriteIntent()) {
+            return readResult.binaryRow();
+        }
+
+        HybridTimestamp newestCommitTs = readResult.newestCommitTimestamp();
+
+        return newestCommitTs == null ? null : cursor.committed(newestCommitTs);
+    }
+}
@@ -35,6 +35,13 @@ public interface ExecuteRequest extends NetworkMessage {
      */
     String jobClassName();
 
+    /**
+     * Returns job priority, the ordinal of {@link org.apache.ignite.internal.compute.JobPriority}.
+     *
+     * @return job priority
+     */
+    int priority();
+
     /**
      * Returns job arguments.
      *
@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
@@ -41,6 +42,7 @@ import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
@@ -52,8 +54,11 @@ import org.apache.ignite.compute.ComputeJob;
 import org.apache.ignite.compute.JobExecutionContext;
 import org.apache.ignite.configuration.ConfigurationValue;
 import org.apache.ignite.configuration.schemas.compute.ComputeConfiguration;
+import org.apache.ignite.hlc.HybridClock;
 import org.apache.ignite.internal.compute.message.ExecuteRequest;
 import org.apache.ignite.internal.compute.message.ExecuteResponse;
+import org.apache.ignite.internal.metrics.IntGauge;
+import org.apache.ignite.internal.table.IgniteTablesInternal;
 import org.apache.ignite.internal.testframework.IgniteTestUtils;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
 import org.apache.ignite.lang.NodeStoppingException;
@@ -86,10 +91,15 @@ class ComputeComponentImplTest {
     @Mock
     private ComputeConfiguration computeConfiguration;
 
+    @Mock
+    private IgniteTablesInternal tables;
+
     @Mock
     private ConfigurationValue<Integer> threadPoolSizeValue;
     @Mock
     private ConfigurationValue<Long> threadPoolStopTimeoutMillisValue;
+    @Mock
+    private ConfigurationValue<Integer> queueMaxSizeValue;
 
     @InjectMocks
     private ComputeComponentImpl computeComponent;
@@ -111,6 +121,8 @@ class ComputeComponentImplTest {
         lenient().when(threadPoolSizeValue.value()).thenReturn(8);
         lenient().when(computeConfiguration.threadPoolStopTimeoutMillis()).thenReturn(threadPoolStopTimeoutMillisValue);
         lenient().when(threadPoolStopTimeoutMillisValue.value()).thenReturn(10_000L);
+        lenient().when(computeConfiguration.queueMaxSize()).thenReturn(queueMaxSizeValue);
+        lenient().when(queueMaxSizeValue.value()).thenReturn(Integer.MAX_VALUE);
 
         lenient().when(ignite.name()).thenReturn(INSTANCE_NAME);
 
@@ -250,6 +262,29 @@ class ComputeComponentImplTest {
         assertThat(response.throwable(), is(nullValue()));
     }
 
+    @Test
+    void respondsWithExceptionWhenGetsExecuteRequestWithUnknownPriority() throws Exception {
+        markResponseSentOnResponseSend();
+        assertThat(computeMessageHandlerRef.get(), is(notNullValue()));
+
+        NetworkAddress senderAddress = new NetworkAddress("some-host", 1);
+
+        ExecuteRequest request = new ComputeMessagesFactory().executeRequest()
+                .jobClassName(SimpleJob.class.getName())
+                .priority(JobPriority.values().length)
+                .args(new Object[]{"a", 42})
+                .build();
+        computeMessageHandlerRef.get().onReceived(request, senderAddress, 123L);
+
+        assertTrue(IgniteTestUtils.waitForCondition(responseSent::get, 1000), "No response sent");
+
+        verify(messagingService).respond(eq(senderAddress), executeResponseCaptor.capture(), eq(123L));
+        ExecuteResponse response = executeResponseCaptor.getValue();
+
+        assertThat(response.result(), is(nullValue()));
+        assertThat(response.throwable(), is(instanceOf(IllegalArgumentException.class)));
+    }
+
     @Test
     void stoppedComponentReturnsExceptionOnLocalExecutionAttempt() throws Exception {
         computeComponent.stop();
@@ -327,7 +362,7 @@ class ComputeComponentImplTest {
     void executionRejectionCausesExceptionToBeReturnedViaFuture() throws Exception {
         restrictPoolSizeTo1();
 
-        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration) {
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
             @Override
             BlockingQueue<Runnable> newExecutorServiceTaskQueue() {
                 return new SynchronousQueue<>();
@@ -354,11 +389,131 @@ class ComputeComponentImplTest {
         when(threadPoolSizeValue.value()).thenReturn(1);
     }
 
+    @Test
+    void queueOverflowCausesRejectedExecutionException() throws Exception {
+        restrictPoolSizeTo1();
+        when(queueMaxSizeValue.value()).thenReturn(1);
+
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
+            @Override
+            long stopTimeoutMillis() {
+                return 100;
+            }
+        };
+        computeComponent.start();
+
+        // take the only executor thread and the only place in the queue
+        computeComponent.executeLocally(LongJob.class);
+        computeComponent.executeLocally(LongJob.class);
+
+        Object result = computeComponent.executeLocally(SimpleJob.class)
+                .handle((res, ex) -> ex != null ? ex : res)
+                .get();
+
+        assertThat(result, is(instanceOf(RejectedExecutionException.class)));
+    }
+
+    @Test
+    void queuedJobsAreExecutedInPriorityOrder() throws Exception {
+        restrictPoolSizeTo1();
+
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
+            @Override
+            long stopTimeoutMillis() {
+                return 100;
+            }
+        };
+        computeComponent.start();
+
+        // take the only executor thread, so the following jobs are queued
+        CompletableFuture<String> blockingFuture = computeComponent.executeLocally(BlockingJob.class);
+
+        CompletableFuture<Long> lowFuture = computeComponent.executeLocally(JobPriority.LOW, NanoTimeJob.class);
+        CompletableFuture<Long> normalFuture = computeComponent.executeLocally(JobPriority.NORMAL, NanoTimeJob.class);
+        CompletableFuture<Long> highFuture = computeComponent.executeLocally(JobPriority.HIGH, NanoTimeJob.class);
+
+        BlockingJob.RELEASE_LATCH.countDown();
+
+        blockingFuture.get();
+
+        assertThat(highFuture.get(), is(lessThan(normalFuture.get())));
+        assertThat(normalFuture.get(), is(lessThan(lowFuture.get())));
+    }
+
+    @Test
+    void queuedJobsOfLowerPriorityAreNotStarved() throws Exception {
+        restrictPoolSizeTo1();
+
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
+            @Override
+            long stopTimeoutMillis() {
+                return 100;
+            }
+
+            @Override
+            long priorityAgingNanos() {
+                return TimeUnit.MILLISECONDS.toNanos(10);
+            }
+        };
+        computeComponent.start();
+
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        // take the only executor thread, so the following jobs are queued
+        CompletableFuture<String> blockingFuture = computeComponent.executeLocally(JobPriority.NORMAL, LatchJob.class, releaseLatch);
+
+        CompletableFuture<Long> lowFuture = computeComponent.executeLocally(JobPriority.LOW, NanoTimeJob.class);
+
+        // the low priority job waits longer than two aging intervals, so it outruns a high priority job submitted later
+        Thread.sleep(50);
+
+        CompletableFuture<Long> highFuture = computeComponent.executeLocally(JobPriority.HIGH, NanoTimeJob.class);
+
+        releaseLatch.countDown();
+
+        blockingFuture.get();
+
+        assertThat(lowFuture.get(), is(lessThan(highFuture.get())));
+    }
+
+    @Test
+    void queuedJobsMetricCountsOnlyWaitingJobs() throws Exception {
+        restrictPoolSizeTo1();
+
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
+            @Override
+            long stopTimeoutMillis() {
+                return 100;
+            }
+        };
+        computeComponent.start();
+
+        IntGauge queuedJobs = computeComponent.metricSource().enable().get("QueuedJobs");
+
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        // the job is handed to a new executor thread, it never waits in the queue
+        CompletableFuture<String> blockingFuture = computeComponent.executeLocally(JobPriority.NORMAL, LatchJob.class, releaseLatch);
+
+        assertThat(queuedJobs.value(), is(0));
+
+        CompletableFuture<Long> future1 = computeComponent.executeLocally(NanoTimeJob.class);
+        CompletableFuture<Long> future2 = computeComponent.executeLocally(NanoTimeJob.class);
+
+        assertThat(queuedJobs.value(), is(2));
+
+        releaseLatch.countDown();
+
+        CompletableFuture.allOf(blockingFuture, future1, future2).get();
+
+        assertThat(queuedJobs.value(), is(0));
+    }
+
     @Test
     void stopCausesCancellationExceptionOnLocalExecution() throws Exception {
         restrictPoolSizeTo1();
 
-        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration) {
+        computeComponent = new ComputeComponentImpl(ignite, messagingService, computeConfiguration, tables, new HybridClock()) {
             @Override
             long stopTimeoutMillis() {
                 return 100;
@@ -451,6 +606,44 @@ class ComputeComponentImplTest {
         }
     }
 
+    private static class BlockingJob implements ComputeJob<String> {
+        private static final CountDownLatch RELEASE_LATCH = new CountDownLatch(1);
+
+        /** {@inheritDoc} */
+        @Override
+        public String execute(JobExecutionContext context, Object... args) {
+            try {
+                RELEASE_LATCH.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return null;
+        }
+    }
+
+    private static class LatchJob implements ComputeJob<String> {
+        /** {@inheritDoc} */
+        @Override
+        public String execute(JobExecutionContext context, Object... args) {
+            try {
+                ((CountDownLatch) args[0]).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return null;
+        }
+    }
+
+    private static class NanoTimeJob implements ComputeJob<Long> {
+        /** {@inheritDoc} */
+        @Override
+        public Long execute(JobExecutionContext context, Object... args) {
+            return System.nanoTime();
+        }
+    }
+
     private static class LongJob implements ComputeJob<String> {
         /** {@inheritDoc} */
         @Override
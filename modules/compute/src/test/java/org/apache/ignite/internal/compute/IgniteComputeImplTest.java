@@ -27,10 +27,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import org.apache.ignite.compute.ComputeJob;
 import org.apache.ignite.compute.JobExecutionContext;
 import org.apache.ignite.internal.table.IgniteTablesInternal;
+import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.table.TableImpl;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.NetworkAddress;
@@ -61,6 +64,9 @@ class IgniteComputeImplTest {
     @Mock
     private TableImpl table;
 
+    @Mock
+    private InternalTable internalTable;
+
     private final ClusterNode localNode = new ClusterNode("local", "local", new NetworkAddress("local-host", 1, "local"));
     private final ClusterNode remoteNode = new ClusterNode("remote", "remote", new NetworkAddress("remote-host", 1, "remote"));
 
@@ -71,7 +77,7 @@ class IgniteComputeImplTest {
 
     @Test
     void whenNodeIsLocalThenExecutesLocally() throws Exception {
-        when(computeComponent.executeLocally(SimpleJob.class, "a", 42))
+        when(computeComponent.executeLocally(JobPriority.NORMAL, SimpleJob.class, "a", 42))
                 .thenReturn(CompletableFuture.completedFuture("jobResponse"));
 
         String result = compute.execute(singleton(localNode), SimpleJob.class, "a", 42).get();
@@ -89,17 +95,21 @@ class IgniteComputeImplTest {
 
         assertThat(result, is("remoteResponse"));
 
-        verify(computeComponent).executeRemotely(remoteNode, SimpleJob.class, "a", 42);
+        verify(computeComponent).executeRemotely(JobPriority.NORMAL, remoteNode, SimpleJob.class, "a", 42);
     }
 
     private void respondWhenExecutingSimpleJobRemotely() {
-        when(computeComponent.executeRemotely(remoteNode, SimpleJob.class, "a", 42))
+        respondWhenExecutingSimpleJobRemotely(JobPriority.NORMAL);
+    }
+
+    private void respondWhenExecutingSimpleJobRemotely(JobPriority priority) {
+        when(computeComponent.executeRemotely(priority, remoteNode, SimpleJob.class, "a", 42))
                 .thenReturn(CompletableFuture.completedFuture("remoteResponse"));
     }
 
     @Test
     void executesColocatedOnLeaderNodeOfPartitionCorrespondingToTupleKey() throws Exception {
-        respondWhenExecutingSimpleJobRemotely();
+        respondWhenExecutingSimpleJobRemotely(JobPriority.HIGH);
 
         when(igniteTables.tableImplAsync("TEST")).thenReturn(CompletableFuture.completedFuture(table));
         doReturn(42).when(table).partition(any());
@@ -112,7 +122,7 @@ class IgniteComputeImplTest {
 
     @Test
     void executesColocatedOnLeaderNodeOfPartitionCorrespondingToMappedKey() throws Exception {
-        respondWhenExecutingSimpleJobRemotely();
+        respondWhenExecutingSimpleJobRemotely(JobPriority.HIGH);
 
         when(igniteTables.tableImplAsync("TEST")).thenReturn(CompletableFuture.completedFuture(table));
         doReturn(42).when(table).partition(any(), any());
@@ -123,6 +133,27 @@ class IgniteComputeImplTest {
         assertThat(result, is("remoteResponse"));
     }
 
+    @Test
+    void executesMapReduceOnLeaderNodesOfAllPartitions() throws Exception {
+        UUID tableId = UUID.randomUUID();
+
+        when(igniteTables.tableImplAsync("TEST")).thenReturn(CompletableFuture.completedFuture(table));
+        doReturn(internalTable).when(table).internalTable();
+        doReturn(tableId).when(table).tableId();
+        doReturn(2).when(internalTable).partitions();
+        doReturn(localNode).when(table).leaderAssignment(0);
+        doReturn(remoteNode).when(table).leaderAssignment(1);
+
+        when(computeComponent.executePartitionJobLocally(PartitionJob.class, tableId, 0, "a"))
+                .thenReturn(CompletableFuture.completedFuture(3));
+        when(computeComponent.executePartitionJobRemotely(remoteNode, PartitionJob.class, tableId, 1, "a"))
+                .thenReturn(CompletableFuture.completedFuture(4));
+
+        int result = compute.executeMapReduce("test", PartitionJob.class, Collectors.summingInt((Integer i) -> i), "a").get();
+
+        assertThat(result, is(7));
+    }
+
     private static class SimpleJob implements ComputeJob<String> {
         /** {@inheritDoc} */
         @Override
@@ -130,4 +161,12 @@ class IgniteComputeImplTest {
             return "jobResponse";
         }
     }
+
+    private static class PartitionJob implements PartitionComputeJob<Integer> {
+        /** {@inheritDoc} */
+        @Override
+        public Integer execute(PartitionJobExecutionContext context, Object... args) {
+            return context.partition();
+        }
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.JobExecutionContext;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * For {@link JobFactoryCache} testing.
+ */
+class JobFactoryCacheTest {
+    private final JobFactoryCache jobFactories = new JobFactoryCache(Thread.currentThread().getContextClassLoader());
+
+    @Test
+    void loadsJobClassByName() {
+        assertThat(jobFactories.jobClass(SimpleJob.class.getName()), is(sameInstance(SimpleJob.class)));
+        assertThat(jobFactories.jobClass(SimpleJob.class.getName()), is(sameInstance(SimpleJob.class)));
+    }
+
+    @Test
+    void failsToLoadNonExistentClass() {
+        IgniteInternalException ex = assertThrows(IgniteInternalException.class, () -> jobFactories.jobClass("no-such-class"));
+
+        assertThat(ex.getMessage(), containsString("Cannot load job class by name 'no-such-class'"));
+    }
+
+    @Test
+    void createsNewInstanceOnEveryCall() {
+        ComputeJob<String> job1 = jobFactories.newInstance(SimpleJob.class, ComputeJob.class);
+        ComputeJob<String> job2 = jobFactories.newInstance(SimpleJob.class, ComputeJob.class);
+
+        assertThat(job1, is(instanceOf(SimpleJob.class)));
+        assertThat(job2, is(not(sameInstance(job1))));
+    }
+
+    @Test
+    void wrapsConstructorException() {
+        IgniteInternalException ex = assertThrows(
+                IgniteInternalException.class,
+                () -> jobFactories.newInstance(FailingConstructorJob.class, ComputeJob.class)
+        );
+
+        assertThat(ex.getMessage(), containsString("Cannot instantiate job"));
+        assertThat(ex.getCause(), is(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    void rejectsClassWithoutNoArgConstructor() {
+        IgniteInternalException ex = assertThrows(
+                IgniteInternalException.class,
+                () -> jobFactories.newInstance(NoDefaultConstructorJob.class, ComputeJob.class)
+        );
+
+        assertThat(ex.getMessage(), containsString("Cannot instantiate job"));
+    }
+
+    private static class SimpleJob implements ComputeJob<String> {
+        /** {@inheritDoc} */
+        @Override
+        public String execute(JobExecutionContext context, Object... args) {
+            return "jobResponse";
+        }
+    }
+
+    private static class FailingConstructorJob implements ComputeJob<String> {
+        FailingConstructorJob() {
+            throw new IllegalStateException("Oops");
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String execute(JobExecutionContext context, Object... args) {
+            return null;
+        }
+    }
+
+    private static class NoDefaultConstructorJob implements ComputeJob<String> {
+        NoDefaultConstructorJob(String ignored) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String execute(JobExecutionContext context, Object... args) {
+            return null;
+        }
+    }
+}
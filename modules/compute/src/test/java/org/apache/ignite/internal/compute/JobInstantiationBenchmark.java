@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.compute;
+
+import java.lang.reflect.Constructor;
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.JobExecutionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Benchmark of the per-execution overhead of resolving a job class by name and instantiating the job, which is done by
+ * {@link ComputeComponentImpl#executeLocally(String, Object...)} before the job is run.
+ */
+@State(Scope.Benchmark)
+public class JobInstantiationBenchmark {
+    private static final String JOB_CLASS_NAME = NoOpJob.class.getName();
+
+    private final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    private final JobFactoryCache jobFactories = new JobFactoryCache(classLoader);
+
+    /**
+     * Class lookup and reflective instantiation on every execution.
+     */
+    @Benchmark
+    public Object reflective() throws Exception {
+        Class<?> jobClass = Class.forName(JOB_CLASS_NAME, true, classLoader);
+
+        Constructor<?> constructor = jobClass.getDeclaredConstructor();
+
+        if (!constructor.canAccess(null)) {
+            constructor.setAccessible(true);
+        }
+
+        return constructor.newInstance();
+    }
+
+    /**
+     * Cached class lookup and constructor.
+     */
+    @Benchmark
+    public Object cached() {
+        Class<? extends ComputeJob<?>> jobClass = jobClass();
+
+        return jobFactories.newInstance(jobClass, ComputeJob.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends ComputeJob<?>> jobClass() {
+        return (Class<? extends ComputeJob<?>>) jobFactories.jobClass(JOB_CLASS_NAME);
+    }
+
+    /**
+     * Runner.
+     *
+     * @param args Arguments.
+     * @throws RunnerException Exception.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JobInstantiationBenchmark.class.getSimpleName())
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(10))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(10))
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static class NoOpJob implements ComputeJob<Object> {
+        /** {@inheritDoc} */
+        @Override
+        public Object execute(JobExecutionContext context, Object... args) {
+            return null;
+        }
+    }
+}
@@ -182,7 +182,7 @@ public class MetaStorageManager implements IgniteComponent {
                     METASTORAGE_RAFT_GROUP_NAME,
                     metastorageNodes,
                     () -> new MetaStorageListener(storage),
-                    RaftGroupOptions.defaults()
+                    RaftGroupOptions.defaults().leaseBasedReads(true)
             );
 
             return raftServiceFuture.thenApply(service -> new MetaStorageServiceImpl(service, thisNode.id(), thisNode.name()));
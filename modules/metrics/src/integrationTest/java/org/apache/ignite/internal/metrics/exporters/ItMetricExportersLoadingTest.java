@@ -49,7 +49,7 @@ public class ItMetricExportersLoadingTest {
 
     @Test
     public void test() throws Exception {
-        MetricManager metricManager = new MetricManager();
+        MetricManager metricManager = new MetricManager("test");
 
         metricManager.configure(metricConfiguration);
 
@@ -35,8 +35,8 @@ public class TestPushMetricExporter extends PushMetricExporter<TestPushMetricsEx
     private long period;
 
     @Override
-    public void init(MetricProvider metricsProvider, TestPushMetricsExporterView configuration) {
-        super.init(metricsProvider, configuration);
+    public void init(MetricProvider metricsProvider, TestPushMetricsExporterView configuration, String nodeName) {
+        super.init(metricsProvider, configuration, nodeName);
 
         period = configuration.period();
     }
@@ -156,6 +156,16 @@ public class DistributionMetric extends AbstractMetric implements CompositeMetri
         return sb.toString();
     }
 
+    /**
+     * Returns the number of measurements in the bucket with the given index, without copying the whole distribution.
+     *
+     * @param bucketIdx Bucket index, from {@code 0} to {@code bounds().length} inclusive.
+     * @return Number of measurements in the bucket.
+     */
+    public long value(int bucketIdx) {
+        return measurements.get(bucketIdx);
+    }
+
     /**
      * Bounds of the buckets of distribution.
      *
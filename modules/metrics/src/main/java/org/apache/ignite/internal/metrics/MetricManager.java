@@ -36,6 +36,7 @@ import org.apache.ignite.internal.metrics.exporters.MetricExporter;
 import org.apache.ignite.internal.metrics.exporters.configuration.ExporterView;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 
@@ -58,10 +59,17 @@ public class MetricManager implements IgniteComponent {
 
     private MetricConfiguration metricConfiguration;
 
+    /** Consistent id of the node. */
+    private final String nodeName;
+
     /**
      * Constructor.
+     *
+     * @param nodeName Consistent id of the node.
      */
-    public MetricManager() {
+    public MetricManager(String nodeName) {
+        this.nodeName = nodeName;
+
         registry = new MetricRegistry();
         metricsProvider = new MetricProvider(registry);
     }
@@ -143,7 +151,7 @@ public class MetricManager implements IgniteComponent {
      * @return Metric set, or {@code null} if already enabled.
      */
     public MetricSet enable(MetricSource src) {
-        return registry.enable(src);
+        return onEnabled(registry.enable(src));
     }
 
     /**
@@ -153,7 +161,23 @@ public class MetricManager implements IgniteComponent {
      * @return Metric set, or {@code null} if already enabled.
      */
     public MetricSet enable(final String srcName) {
-        return registry.enable(srcName);
+        return onEnabled(registry.enable(srcName));
+    }
+
+    private MetricSet onEnabled(MetricSet metricSet) {
+        if (metricSet != null) {
+            for (MetricExporter exporter : enabledMetricExporters.values()) {
+                exporter.addMetricSet(metricSet);
+            }
+        }
+
+        return metricSet;
+    }
+
+    private void onDisabled(String srcName) {
+        for (MetricExporter exporter : enabledMetricExporters.values()) {
+            exporter.removeMetricSet(srcName);
+        }
     }
 
     /**
@@ -178,6 +202,8 @@ public class MetricManager implements IgniteComponent {
      */
     public void disable(MetricSource src) {
         registry.disable(src);
+
+        onDisabled(src.name());
     }
 
     /**
@@ -187,6 +213,8 @@ public class MetricManager implements IgniteComponent {
      */
     public void disable(final String srcName) {
         registry.disable(srcName);
+
+        onDisabled(srcName);
     }
 
     /**
@@ -200,6 +228,16 @@ public class MetricManager implements IgniteComponent {
         return registry.metricSnapshot();
     }
 
+    /**
+     * Returns an enabled exporter by its name.
+     *
+     * @param exporterName Name of the exporter.
+     * @return Exporter, or {@code null} if there is no enabled exporter with the given name.
+     */
+    public @Nullable MetricExporter enabledExporter(String exporterName) {
+        return enabledMetricExporters.get(exporterName);
+    }
+
     /**
      * Gets a collection of metric sources.
      *
@@ -215,7 +253,7 @@ public class MetricManager implements IgniteComponent {
         MetricExporter<T> exporter = availableExporters.get(exporterName);
 
         if (exporter != null) {
-            exporter.init(metricsProvider, exporterConfiguration);
+            exporter.init(metricsProvider, exporterConfiguration, nodeName);
 
             exporter.start();
 
@@ -28,6 +28,7 @@ import org.apache.ignite.configuration.annotation.ConfigurationType;
 import org.apache.ignite.configuration.validation.Validator;
 import org.apache.ignite.internal.configuration.ConfigurationModule;
 import org.apache.ignite.internal.metrics.exporters.configuration.JmxExporterConfigurationSchema;
+import org.apache.ignite.internal.metrics.exporters.configuration.PrometheusExporterConfigurationSchema;
 
 /**
  * Configuration module for metrics' configs.
@@ -48,7 +49,7 @@ public class MetricConfigurationModule implements ConfigurationModule {
     /** {@inheritDoc} */
     @Override
     public Collection<Class<?>> polymorphicSchemaExtensions() {
-        return List.of(JmxExporterConfigurationSchema.class);
+        return List.of(JmxExporterConfigurationSchema.class, PrometheusExporterConfigurationSchema.class);
     }
 
     /** {@inheritDoc} */
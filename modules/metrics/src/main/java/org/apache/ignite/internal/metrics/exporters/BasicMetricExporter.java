@@ -33,11 +33,15 @@ public abstract class BasicMetricExporter<CfgT extends ExporterView> implements
 
     protected CfgT configuration;
 
+    /** Consistent id of the node. */
+    private String nodeName;
+
     /** {@inheritDoc} */
     @Override
-    public void init(MetricProvider metricsProvider, CfgT configuration) {
+    public void init(MetricProvider metricsProvider, CfgT configuration, String nodeName) {
         this.metricsProvider = metricsProvider;
         this.configuration = configuration;
+        this.nodeName = nodeName;
     }
 
     /** {@inheritDoc} */
@@ -54,4 +58,11 @@ public abstract class BasicMetricExporter<CfgT extends ExporterView> implements
     protected final IgniteBiTuple<Map<String, MetricSet>, Long> metrics() {
         return metricsProvider.metrics();
     }
+
+    /**
+     * Returns the consistent id of the node, which metrics are exported.
+     */
+    protected final String nodeName() {
+        return nodeName;
+    }
 }
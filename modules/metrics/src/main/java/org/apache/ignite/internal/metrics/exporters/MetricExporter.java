@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.metrics.exporters;
 
 import org.apache.ignite.internal.metrics.MetricProvider;
+import org.apache.ignite.internal.metrics.MetricSet;
 import org.apache.ignite.internal.metrics.exporters.configuration.ExporterConfiguration;
 import org.apache.ignite.internal.metrics.exporters.configuration.ExporterView;
 
@@ -37,8 +38,9 @@ public interface MetricExporter<CfgT extends ExporterView> {
      *
      * @param metricProvider Metrics provider
      * @param configuration CfgT
+     * @param nodeName Consistent id of the node, which metrics are exported.
      */
-    void init(MetricProvider metricProvider, CfgT configuration);
+    void init(MetricProvider metricProvider, CfgT configuration, String nodeName);
 
     /**
      * Start metrics exporter. Here all needed listeners, schedulers etc. should be started.
@@ -63,4 +65,22 @@ public interface MetricExporter<CfgT extends ExporterView> {
      * @param newValue new configuration.
      */
     void reconfigure(CfgT newValue);
+
+    /**
+     * Invokes, when a metric source is enabled and its metric set becomes available.
+     *
+     * @param metricSet Metric set.
+     */
+    default void addMetricSet(MetricSet metricSet) {
+        // No-op.
+    }
+
+    /**
+     * Invokes, when a metric source is disabled and its metric set is not available anymore.
+     *
+     * @param metricSetName Name of the metric set.
+     */
+    default void removeMetricSet(String metricSetName) {
+        // No-op.
+    }
 }
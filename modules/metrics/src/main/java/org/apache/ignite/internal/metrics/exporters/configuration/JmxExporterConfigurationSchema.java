@@ -18,12 +18,11 @@
 package org.apache.ignite.internal.metrics.exporters.configuration;
 
 import org.apache.ignite.configuration.annotation.PolymorphicConfigInstance;
+import org.apache.ignite.internal.metrics.exporters.jmx.JmxExporter;
 
 /**
  * Jmx exporter configuration.
  */
-// TODO: Should be clarified under IGNITE-17357.
-// TODO: Now it is needed to satisfy configuration framework, we can't have polymorphic config with 0 instances
-@PolymorphicConfigInstance("jmx")
+@PolymorphicConfigInstance(JmxExporter.EXPORTER_NAME)
 public class JmxExporterConfigurationSchema extends ExporterConfigurationSchema {
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.metrics.exporters.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.apache.ignite.internal.metrics.exporters.BasicMetricExporter;
+import org.apache.ignite.internal.metrics.exporters.configuration.JmxExporterView;
+
+/**
+ * Pull exporter, which registers an MBean per enabled {@link MetricSet} in the platform MBean server. MBeans are registered
+ * under the {@code org.apache.ignite:group=metrics,node=<node consistent id>,name=<metric set name>} names, so the metrics of
+ * several nodes started in the same JVM don't clash.
+ */
+public class JmxExporter extends BasicMetricExporter<JmxExporterView> {
+    /** Exporter name. */
+    public static final String EXPORTER_NAME = "jmx";
+
+    /** Logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(JmxExporter.class);
+
+    /** MBean server. */
+    private final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    /** Names of the registered MBeans by metric set names. */
+    private final Map<String, ObjectName> mbeans = new ConcurrentHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        for (MetricSet metricSet : metrics().get1().values()) {
+            addMetricSet(metricSet);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void stop() {
+        mbeans.keySet().forEach(this::removeMetricSet);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String name() {
+        return EXPORTER_NAME;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void addMetricSet(MetricSet metricSet) {
+        try {
+            ObjectName name = objectName(metricSet.name());
+
+            // Metric set is re-created when a source is re-enabled, so the previous MBean must be replaced.
+            if (mbeanServer.isRegistered(name)) {
+                mbeanServer.unregisterMBean(name);
+            }
+
+            mbeanServer.registerMBean(new MetricSetMbean(metricSet), name);
+
+            mbeans.put(metricSet.name(), name);
+        } catch (JMException e) {
+            LOG.warn("Failed to register MBean for metric set [name={}]", e, metricSet.name());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void removeMetricSet(String metricSetName) {
+        ObjectName name = mbeans.remove(metricSetName);
+
+        if (name == null) {
+            return;
+        }
+
+        try {
+            if (mbeanServer.isRegistered(name)) {
+                mbeanServer.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOG.warn("Failed to unregister MBean for metric set [name={}]", e, metricSetName);
+        }
+    }
+
+    /**
+     * Returns the name of the MBean of the metric set.
+     *
+     * @param metricSetName Metric set name.
+     * @return MBean name.
+     * @throws MalformedObjectNameException If the name is malformed.
+     */
+    ObjectName objectName(String metricSetName) throws MalformedObjectNameException {
+        return new ObjectName(
+                "org.apache.ignite:group=metrics,node=" + ObjectName.quote(nodeName()) + ",name=" + ObjectName.quote(metricSetName)
+        );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.metrics.exporters.jmx;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.DoubleMetric;
+import org.apache.ignite.internal.metrics.IntMetric;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.Metric;
+import org.apache.ignite.internal.metrics.MetricSet;
+
+/**
+ * Read-only MBean, which exposes the metrics of a {@link MetricSet} as attributes. Attribute values are read from the metrics
+ * on every request, nothing is cached.
+ */
+public class MetricSetMbean implements DynamicMBean {
+    /** Metric set. */
+    private final MetricSet metricSet;
+
+    /** MBean info, the set of metrics doesn't change, so it is built once. */
+    private final MBeanInfo info;
+
+    /**
+     * Constructor.
+     *
+     * @param metricSet Metric set.
+     */
+    public MetricSetMbean(MetricSet metricSet) {
+        this.metricSet = metricSet;
+
+        info = createInfo(metricSet);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Metric metric = metricSet.get(attribute);
+
+        if (metric == null) {
+            throw new AttributeNotFoundException("Unknown metric: " + attribute);
+        }
+
+        if (metric instanceof IntMetric) {
+            return ((IntMetric) metric).value();
+        } else if (metric instanceof LongMetric) {
+            return ((LongMetric) metric).value();
+        } else if (metric instanceof DoubleMetric) {
+            return ((DoubleMetric) metric).value();
+        } else if (metric instanceof DistributionMetric) {
+            return ((DistributionMetric) metric).value();
+        }
+
+        return metric.getValueAsString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList(attributes.length);
+
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+                // Unknown attributes are skipped, as the contract of the method allows.
+            }
+        }
+
+        return list;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Metrics are read-only.");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        throw new UnsupportedOperationException("Metrics are read-only.");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException, ReflectionException {
+        throw new UnsupportedOperationException("Operations are not supported: " + actionName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return info;
+    }
+
+    private static MBeanInfo createInfo(MetricSet metricSet) {
+        int size = 0;
+
+        for (Metric ignored : metricSet) {
+            size++;
+        }
+
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[size];
+
+        int i = 0;
+
+        for (Metric metric : metricSet) {
+            attributes[i++] = new MBeanAttributeInfo(
+                    metric.name(),
+                    attributeType(metric),
+                    metric.description(),
+                    true,
+                    false,
+                    false
+            );
+        }
+
+        return new MBeanInfo(
+                MetricSetMbean.class.getName(),
+                "Metric set " + metricSet.name(),
+                attributes,
+                null,
+                null,
+                null
+        );
+    }
+
+    private static String attributeType(Metric metric) {
+        if (metric instanceof IntMetric) {
+            return Integer.class.getName();
+        } else if (metric instanceof LongMetric) {
+            return Long.class.getName();
+        } else if (metric instanceof DoubleMetric) {
+            return Double.class.getName();
+        } else if (metric instanceof DistributionMetric) {
+            return long[].class.getName();
+        }
+
+        return String.class.getName();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.metrics.exporters.prometheus;
+
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.DoubleMetric;
+import org.apache.ignite.internal.metrics.IntMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.Metric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.apache.ignite.internal.metrics.exporters.BasicMetricExporter;
+import org.apache.ignite.internal.metrics.exporters.configuration.PrometheusExporterView;
+
+/**
+ * Pull exporter, which renders the enabled metrics in the Prometheus text exposition format. The metrics are served by the node
+ * REST endpoint {@code /management/v1/metric/node/prometheus}.
+ *
+ * <p>Scalar metrics are exported as gauges named {@code ignite_<metric set name>_<metric name>}, with all the characters that
+ * are not allowed in Prometheus metric names replaced by underscores. {@link LongAdderMetric}s only grow, so they are exported as
+ * counters, and {@link DistributionMetric}s are exported as histograms.
+ * Metric values are written to a reusable buffer, so a scrape doesn't allocate anything but the response itself.
+ */
+public class PrometheusExporter extends BasicMetricExporter<PrometheusExporterView> {
+    /** Exporter name. */
+    public static final String EXPORTER_NAME = "prometheus";
+
+    /** Prefix of the exported metric names. */
+    private static final String NAME_PREFIX = "ignite_";
+
+    /** Reusable buffer, guarded by {@code this}. */
+    private final StringBuilder buf = new StringBuilder(4096);
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void stop() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String name() {
+        return EXPORTER_NAME;
+    }
+
+    /**
+     * Renders the enabled metrics in the Prometheus text format.
+     *
+     * @return Metrics in the Prometheus text format.
+     */
+    public synchronized String render() {
+        buf.setLength(0);
+
+        for (MetricSet metricSet : metrics().get1().values()) {
+            for (Metric metric : metricSet) {
+                if (metric instanceof DistributionMetric) {
+                    appendHistogram(metricSet.name(), (DistributionMetric) metric);
+                } else {
+                    appendScalar(metricSet.name(), metric);
+                }
+            }
+        }
+
+        return buf.toString();
+    }
+
+    private void appendScalar(String metricSetName, Metric metric) {
+        if (metric instanceof IntMetric) {
+            appendType(metricSetName, metric, "gauge");
+            appendName(metricSetName, metric).append(' ').append(((IntMetric) metric).value()).append('\n');
+        } else if (metric instanceof LongMetric) {
+            appendType(metricSetName, metric, metric instanceof LongAdderMetric ? "counter" : "gauge");
+            appendName(metricSetName, metric).append(' ').append(((LongMetric) metric).value()).append('\n');
+        } else if (metric instanceof DoubleMetric) {
+            appendType(metricSetName, metric, "gauge");
+            appendDouble(appendName(metricSetName, metric).append(' '), ((DoubleMetric) metric).value()).append('\n');
+        }
+
+        // Other metric types have no numeric representation and are not exported.
+    }
+
+    private void appendHistogram(String metricSetName, DistributionMetric metric) {
+        appendType(metricSetName, metric, "histogram");
+
+        long[] bounds = metric.bounds();
+
+        long count = 0;
+
+        for (int i = 0; i <= bounds.length; i++) {
+            count += metric.value(i);
+
+            appendName(metricSetName, metric).append("_bucket{le=\"");
+
+            if (i < bounds.length) {
+                buf.append(bounds[i]);
+            } else {
+                buf.append("+Inf");
+            }
+
+            buf.append("\"} ").append(count).append('\n');
+        }
+
+        appendName(metricSetName, metric).append("_count ").append(count).append('\n');
+    }
+
+    private void appendType(String metricSetName, Metric metric, String type) {
+        buf.append("# TYPE ");
+
+        appendName(metricSetName, metric).append(' ').append(type).append('\n');
+    }
+
+    private StringBuilder appendName(String metricSetName, Metric metric) {
+        buf.append(NAME_PREFIX);
+
+        appendSanitized(metricSetName);
+
+        buf.append('_');
+
+        appendSanitized(metric.name());
+
+        return buf;
+    }
+
+    private void appendSanitized(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+
+            buf.append(allowed ? c : '_');
+        }
+    }
+
+    private static StringBuilder appendDouble(StringBuilder sb, double val) {
+        if (val == Double.POSITIVE_INFINITY) {
+            return sb.append("+Inf");
+        } else if (val == Double.NEGATIVE_INFINITY) {
+            return sb.append("-Inf");
+        }
+
+        return sb.append(val);
+    }
+}
@@ -21,6 +21,8 @@ import io.micronaut.http.annotation.Controller;
 import java.util.Collection;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.metrics.MetricManager;
+import org.apache.ignite.internal.metrics.exporters.MetricExporter;
+import org.apache.ignite.internal.metrics.exporters.prometheus.PrometheusExporter;
 import org.apache.ignite.internal.metrics.rest.exception.MetricNotFoundException;
 import org.apache.ignite.internal.rest.api.metric.MetricSourceDto;
 import org.apache.ignite.internal.rest.api.metric.NodeMetricApi;
@@ -58,4 +60,15 @@ public class NodeMetricController implements NodeMetricApi {
                 .map(source -> new MetricSourceDto(source.name(), source.enabled()))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public String prometheus() {
+        MetricExporter<?> exporter = metricManager.enabledExporter(PrometheusExporter.EXPORTER_NAME);
+
+        if (!(exporter instanceof PrometheusExporter)) {
+            throw new MetricNotFoundException(new IllegalStateException("Prometheus metric exporter is not enabled"));
+        }
+
+        return ((PrometheusExporter) exporter).render();
+    }
 }
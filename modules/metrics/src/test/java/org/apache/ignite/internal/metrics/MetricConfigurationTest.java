@@ -52,7 +52,7 @@ public class MetricConfigurationTest {
 
     @BeforeEach
     public void setUp() {
-        metricManager = new MetricManager();
+        metricManager = new MetricManager("test");
 
         Map<String, MetricExporter> availableExporters = new HashMap<>();
 
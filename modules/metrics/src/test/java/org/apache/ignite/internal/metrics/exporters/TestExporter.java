@@ -30,8 +30,8 @@ public class TestExporter extends BasicMetricExporter<TestExporterView> {
     private volatile int port;
 
     @Override
-    public void init(MetricProvider metricsProvider, TestExporterView configuration) {
-        super.init(metricsProvider, configuration);
+    public void init(MetricProvider metricsProvider, TestExporterView configuration, String nodeName) {
+        super.init(metricsProvider, configuration, nodeName);
 
         port = configuration.port();
     }
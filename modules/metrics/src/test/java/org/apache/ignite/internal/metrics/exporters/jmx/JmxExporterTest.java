@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.metrics.exporters.jmx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricProvider;
+import org.apache.ignite.internal.metrics.MetricRegistry;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JmxExporter}.
+ */
+public class JmxExporterTest {
+    private final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    public void testMbeansOfDifferentNodesDoNotClash() throws Exception {
+        JmxExporter exporter1 = startExporter("node1", 1);
+        JmxExporter exporter2 = startExporter("node2", 2);
+
+        ObjectName name1 = new ObjectName("org.apache.ignite:group=metrics,node=\"node1\",name=\"test.source\"");
+        ObjectName name2 = new ObjectName("org.apache.ignite:group=metrics,node=\"node2\",name=\"test.source\"");
+
+        try {
+            assertEquals(name1, exporter1.objectName("test.source"));
+
+            assertEquals(1L, mbeanServer.getAttribute(name1, "Counter"));
+            assertEquals(2L, mbeanServer.getAttribute(name2, "Counter"));
+        } finally {
+            exporter1.stop();
+            exporter2.stop();
+        }
+
+        assertFalse(mbeanServer.isRegistered(name1));
+        assertFalse(mbeanServer.isRegistered(name2));
+    }
+
+    private static JmxExporter startExporter(String nodeName, long counter) {
+        MetricRegistry registry = new MetricRegistry();
+
+        TestMetricSource source = new TestMetricSource();
+
+        registry.registerSource(source);
+        registry.enable(source);
+
+        source.holder().counter.add(counter);
+
+        JmxExporter exporter = new JmxExporter();
+
+        exporter.init(new MetricProvider(registry), null, nodeName);
+
+        exporter.start();
+
+        return exporter;
+    }
+
+    private static class TestMetricSource extends AbstractMetricSource<TestMetricSource.Holder> {
+        TestMetricSource() {
+            super("test.source");
+        }
+
+        @Override
+        protected Holder createHolder() {
+            return new Holder();
+        }
+
+        @Override
+        protected void init(MetricSetBuilder bldr, Holder holder) {
+            bldr.register(holder.counter);
+        }
+
+        private static class Holder implements AbstractMetricSource.Holder<Holder> {
+            private final LongAdderMetric counter = new LongAdderMetric("Counter", null);
+        }
+    }
+}
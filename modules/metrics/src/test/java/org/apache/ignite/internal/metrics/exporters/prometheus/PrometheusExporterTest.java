@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.metrics.exporters.prometheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.AtomicLongMetric;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricProvider;
+import org.apache.ignite.internal.metrics.MetricRegistry;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PrometheusExporter}.
+ */
+public class PrometheusExporterTest {
+    @Test
+    public void testRender() {
+        MetricRegistry registry = new MetricRegistry();
+
+        TestMetricSource source = new TestMetricSource();
+
+        registry.registerSource(source);
+        registry.enable(source);
+
+        source.holder().counter.add(42);
+        source.holder().adder.add(7);
+
+        source.holder().distribution.add(5);
+        source.holder().distribution.add(50);
+        source.holder().distribution.add(500);
+        source.holder().distribution.add(5000);
+        source.holder().distribution.add(50000);
+
+        PrometheusExporter exporter = new PrometheusExporter();
+
+        exporter.init(new MetricProvider(registry), null, "test");
+
+        String expected = "# TYPE ignite_test_source_Counter gauge\n"
+                + "ignite_test_source_Counter 42\n"
+                + "# TYPE ignite_test_source_Adder counter\n"
+                + "ignite_test_source_Adder 7\n"
+                + "# TYPE ignite_test_source_Distribution histogram\n"
+                + "ignite_test_source_Distribution_bucket{le=\"10\"} 1\n"
+                + "ignite_test_source_Distribution_bucket{le=\"100\"} 2\n"
+                + "ignite_test_source_Distribution_bucket{le=\"1000\"} 3\n"
+                + "ignite_test_source_Distribution_bucket{le=\"+Inf\"} 5\n"
+                + "ignite_test_source_Distribution_count 5\n";
+
+        assertEquals(expected, exporter.render());
+
+        // The buffer is reused between the scrapes.
+        assertEquals(expected, exporter.render());
+    }
+
+    private static class TestMetricSource extends AbstractMetricSource<TestMetricSource.Holder> {
+        TestMetricSource() {
+            super("test.source");
+        }
+
+        @Override
+        protected Holder createHolder() {
+            return new Holder();
+        }
+
+        @Override
+        protected void init(MetricSetBuilder bldr, Holder holder) {
+            bldr.register(holder.counter);
+            bldr.register(holder.adder);
+            bldr.register(holder.distribution);
+        }
+
+        private static class Holder implements AbstractMetricSource.Holder<Holder> {
+            private final AtomicLongMetric counter = new AtomicLongMetric("Counter", null);
+
+            private final LongAdderMetric adder = new LongAdderMetric("Adder", null);
+
+            private final DistributionMetric distribution = new DistributionMetric("Distribution", null, new long[] {10, 100, 1000});
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -97,6 +98,9 @@ public class ConnectionManager {
     /** Recovery descriptor provider. */
     private final RecoveryDescriptorProvider descriptorProvider = new DefaultRecoveryDescriptorProvider();
 
+    /** Metric source. */
+    private final NetworkMetricSource metricSource;
+
     /**
      * Constructor.
      *
@@ -123,6 +127,35 @@ public class ConnectionManager {
         );
     }
 
+    /**
+     * Constructor.
+     *
+     * @param networkConfiguration          Network configuration.
+     * @param serializationService          Serialization service.
+     * @param launchId                      Launch id of this node.
+     * @param consistentId                  Consistent id of this node.
+     * @param bootstrapFactory              Bootstrap factory.
+     * @param metricSource                  Metric source.
+     */
+    public ConnectionManager(
+            NetworkView networkConfiguration,
+            SerializationService serializationService,
+            UUID launchId,
+            String consistentId,
+            NettyBootstrapFactory bootstrapFactory,
+            NetworkMetricSource metricSource
+    ) {
+        this(
+                networkConfiguration,
+                serializationService,
+                launchId,
+                consistentId,
+                bootstrapFactory,
+                new DefaultRecoveryClientHandhakeManagerFactory(),
+                metricSource
+        );
+    }
+
     /**
      * Constructor.
      *
@@ -140,11 +173,43 @@ public class ConnectionManager {
             String consistentId,
             NettyBootstrapFactory bootstrapFactory,
             RecoveryClientHandhakeManagerFactory clientHandhakeManagerFactory
+    ) {
+        this(
+                networkConfiguration,
+                serializationService,
+                launchId,
+                consistentId,
+                bootstrapFactory,
+                clientHandhakeManagerFactory,
+                new NetworkMetricSource()
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param networkConfiguration          Network configuration.
+     * @param serializationService          Serialization service.
+     * @param launchId                      Launch id of this node.
+     * @param consistentId                  Consistent id of this node.
+     * @param bootstrapFactory              Bootstrap factory.
+     * @param clientHandhakeManagerFactory  Factory for {@link RecoveryClientHandshakeManager} instances.
+     * @param metricSource                  Metric source.
+     */
+    public ConnectionManager(
+            NetworkView networkConfiguration,
+            SerializationService serializationService,
+            UUID launchId,
+            String consistentId,
+            NettyBootstrapFactory bootstrapFactory,
+            RecoveryClientHandhakeManagerFactory clientHandhakeManagerFactory,
+            NetworkMetricSource metricSource
     ) {
         this.serializationService = serializationService;
         this.launchId = launchId;
         this.consistentId = consistentId;
         this.clientHandhakeManagerFactory = clientHandhakeManagerFactory;
+        this.metricSource = metricSource;
 
         this.server = new NettyServer(
                 networkConfiguration,
@@ -236,6 +301,8 @@ public class ConnectionManager {
      * @param message New message.
      */
     private void onMessage(InNetworkObject message) {
+        metricSource.onMessageReceived();
+
         listeners.forEach(consumer -> consumer.accept(message));
     }
 
@@ -245,6 +312,8 @@ public class ConnectionManager {
      * @param channel Channel from client to this {@link #server}.
      */
     private void onNewIncomingChannel(NettySender channel) {
+        metricSource.onChannelOpened(channel);
+
         NettySender oldChannel = channels.put(channel.consistentId(), channel);
 
         if (oldChannel != null) {
@@ -266,10 +335,17 @@ public class ConnectionManager {
                 this::onMessage
         );
 
+        long startNanos = System.nanoTime();
+
         client.start(clientBootstrap).whenComplete((sender, throwable) -> {
             if (throwable == null) {
+                metricSource.onConnected(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                metricSource.onChannelOpened(sender);
+
                 channels.put(sender.consistentId(), sender);
             } else {
+                metricSource.onConnectFailed();
+
                 clients.remove(address);
             }
         });
@@ -312,6 +388,13 @@ public class ConnectionManager {
         }
     }
 
+    /**
+     * Returns the metric source of the connection manager.
+     */
+    public NetworkMetricSource metricSource() {
+        return metricSource;
+    }
+
     /**
      * Returns {@code true} if the connection manager is stopped or is being stopped, {@code false} otherwise.
      *
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.network.netty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link ConnectionManager}.
+ */
+public class NetworkMetricSource extends AbstractMetricSource<NetworkMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "network";
+
+    /**
+     * Number of open channels. Unlike the metrics of the holder, it is maintained regardless of whether the source is enabled, otherwise
+     * the gauge would be wrong for the channels opened before enabling. Channels are opened rarely, so it costs nothing.
+     */
+    private final AtomicInteger openChannels = new AtomicInteger();
+
+    /**
+     * Constructor.
+     */
+    public NetworkMetricSource() {
+        super(SOURCE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.intGauge("Channels", "Number of open inbound and outbound channels.", openChannels::get);
+
+        bldr.register(holder.receivedMessages);
+        bldr.register(holder.openedChannels);
+        bldr.register(holder.failedConnects);
+        bldr.register(holder.connectTime);
+    }
+
+    /**
+     * Called when a message is received from any channel.
+     */
+    void onMessageReceived() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.receivedMessages.increment();
+        }
+    }
+
+    /**
+     * Called when a channel has completed the handshake, either inbound or outbound.
+     *
+     * @param channel Channel.
+     */
+    void onChannelOpened(NettySender channel) {
+        openChannels.incrementAndGet();
+
+        channel.channel().closeFuture().addListener(future -> openChannels.decrementAndGet());
+
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.openedChannels.increment();
+        }
+    }
+
+    /**
+     * Called when an outbound connection is established and the handshake is completed.
+     *
+     * @param connectTimeMillis Time in milliseconds spent to connect and perform the handshake.
+     */
+    void onConnected(long connectTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.connectTime.add(connectTimeMillis);
+        }
+    }
+
+    /**
+     * Called when an outbound connection has failed to be established.
+     */
+    void onConnectFailed() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.failedConnects.increment();
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric receivedMessages = new LongAdderMetric(
+                "ReceivedMessages",
+                "Number of network messages received by the node."
+        );
+
+        private final LongAdderMetric openedChannels = new LongAdderMetric(
+                "OpenedChannels",
+                "Number of inbound and outbound channels opened by the node."
+        );
+
+        private final LongAdderMetric failedConnects = new LongAdderMetric(
+                "FailedConnects",
+                "Number of outbound connections that have failed to be established."
+        );
+
+        private final DistributionMetric connectTime = new DistributionMetric(
+                "ConnectTime",
+                "Distribution of the time in milliseconds spent to establish an outbound connection including the handshake.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000, 5_000}
+        );
+    }
+}
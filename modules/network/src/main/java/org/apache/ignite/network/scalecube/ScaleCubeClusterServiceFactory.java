@@ -37,6 +37,7 @@ import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.network.NetworkMessagesFactory;
 import org.apache.ignite.internal.network.netty.ConnectionManager;
+import org.apache.ignite.internal.network.netty.NetworkMetricSource;
 import org.apache.ignite.internal.network.serialization.ClassDescriptorFactory;
 import org.apache.ignite.internal.network.serialization.ClassDescriptorRegistry;
 import org.apache.ignite.internal.network.serialization.SerializationService;
@@ -71,6 +72,24 @@ public class ScaleCubeClusterServiceFactory {
             ClusterLocalConfiguration context,
             NetworkConfiguration networkConfiguration,
             NettyBootstrapFactory nettyBootstrapFactory
+    ) {
+        return createClusterService(context, networkConfiguration, nettyBootstrapFactory, new NetworkMetricSource());
+    }
+
+    /**
+     * Creates a new {@link ClusterService} using the provided context. The created network will not be in the "started" state.
+     *
+     * @param context               Cluster context.
+     * @param networkConfiguration  Network configuration.
+     * @param nettyBootstrapFactory Bootstrap factory.
+     * @param metricSource          Metric source updated by the connection manager of the service.
+     * @return New cluster service.
+     */
+    public ClusterService createClusterService(
+            ClusterLocalConfiguration context,
+            NetworkConfiguration networkConfiguration,
+            NettyBootstrapFactory nettyBootstrapFactory,
+            NetworkMetricSource metricSource
     ) {
         var messageFactory = new NetworkMessagesFactory();
 
@@ -109,7 +128,8 @@ public class ScaleCubeClusterServiceFactory {
                         serializationService,
                         launchId,
                         consistentId,
-                        nettyBootstrapFactory
+                        nettyBootstrapFactory,
+                        metricSource
                 );
 
                 connectionMgr.start();
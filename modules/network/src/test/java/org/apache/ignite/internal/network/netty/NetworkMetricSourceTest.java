@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.network.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.stream.LongStream;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.IntGauge;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NetworkMetricSource}.
+ */
+public class NetworkMetricSourceTest {
+    @Test
+    public void testChannelsGauge() {
+        NetworkMetricSource metricSource = new NetworkMetricSource();
+
+        EmbeddedChannel channel1 = new EmbeddedChannel();
+        EmbeddedChannel channel2 = new EmbeddedChannel();
+
+        // Channels opened while the source is disabled are counted by the gauge as well.
+        metricSource.onChannelOpened(new NettySender(channel1, "launch1", "node1"));
+
+        MetricSet metrics = metricSource.enable();
+
+        metricSource.onChannelOpened(new NettySender(channel2, "launch2", "node2"));
+
+        assertEquals(2, metrics.<IntGauge>get("Channels").value());
+        assertEquals(1, metrics.<LongMetric>get("OpenedChannels").value());
+
+        channel1.close().syncUninterruptibly();
+
+        assertEquals(1, metrics.<IntGauge>get("Channels").value());
+
+        channel2.close().syncUninterruptibly();
+
+        assertEquals(0, metrics.<IntGauge>get("Channels").value());
+    }
+
+    @Test
+    public void testMessageAndConnectMetrics() {
+        NetworkMetricSource metricSource = new NetworkMetricSource();
+
+        metricSource.onMessageReceived();
+
+        MetricSet metrics = metricSource.enable();
+
+        metricSource.onMessageReceived();
+        metricSource.onMessageReceived();
+        metricSource.onConnected(3);
+        metricSource.onConnectFailed();
+
+        assertEquals(2, metrics.<LongMetric>get("ReceivedMessages").value());
+        assertEquals(1, metrics.<LongMetric>get("FailedConnects").value());
+        assertEquals(1, LongStream.of(metrics.<DistributionMetric>get("ConnectTime").value()).sum());
+    }
+}
@@ -63,6 +63,7 @@ public class ItBplusTreePersistentPageMemoryTest extends AbstractBplusTreePageMe
                 (fullPageId, buf, tag) -> {
                 },
                 mockCheckpointTimeoutLock(log, true),
+                () -> null,
                 PAGE_SIZE
         );
     }
@@ -60,6 +60,7 @@ public class ItBplusTreeReuseListPersistentPageMemoryTest extends AbstractBplusT
                 (fullPageId, buf, tag) -> {
                 },
                 mockCheckpointTimeoutLock(log, true),
+                () -> null,
                 PAGE_SIZE
         );
     }
@@ -22,6 +22,7 @@ import static org.apache.ignite.internal.util.Constants.MiB;
 import org.apache.ignite.configuration.annotation.Config;
 import org.apache.ignite.configuration.annotation.Value;
 import org.apache.ignite.configuration.validation.OneOf;
+import org.apache.ignite.configuration.validation.Range;
 
 /**
  * Persistent data region configuration schema.
@@ -40,6 +41,12 @@ public class PersistentPageMemoryDataRegionConfigurationSchema extends BasePageM
     /** CLOCK page replacement algorithm. */
     public static final String CLOCK_REPLACEMENT_MODE = "CLOCK";
 
+    /** Pages are written to the page stores uncompressed. */
+    public static final String DISABLED_PAGE_COMPRESSION = "DISABLED";
+
+    /** Pages are compressed with the DEFLATE algorithm before they are written to the page stores. */
+    public static final String DEFLATE_PAGE_COMPRESSION = "DEFLATE";
+
     /** Memory region size in bytes. */
     @Value(hasDefault = true)
     public long size = DFLT_DATA_REGION_SIZE;
@@ -48,4 +55,18 @@ public class PersistentPageMemoryDataRegionConfigurationSchema extends BasePageM
     @OneOf({RANDOM_LRU_REPLACEMENT_MODE, SEGMENTED_LRU_REPLACEMENT_MODE, CLOCK_REPLACEMENT_MODE})
     @Value(hasDefault = true)
     public String replacementMode = CLOCK_REPLACEMENT_MODE;
+
+    /** Enables throttling of the threads that make pages dirty, when the checkpoint is not able to keep up with them. */
+    @Value(hasDefault = true)
+    public boolean writeThrottlingEnabled = true;
+
+    /** Compression of the pages written to the page stores by checkpoints. */
+    @OneOf({DISABLED_PAGE_COMPRESSION, DEFLATE_PAGE_COMPRESSION})
+    @Value(hasDefault = true)
+    public String pageCompression = DISABLED_PAGE_COMPRESSION;
+
+    /** Page compression level, from 1 (fastest) to 9 (best compression). */
+    @Range(min = 1, max = 9)
+    @Value(hasDefault = true)
+    public int pageCompressionLevel = 1;
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.evict;
+
+import java.util.List;
+import org.apache.ignite.internal.pagememory.io.DataPagePayload;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Removes the rows stored in a data page chosen for eviction by a {@link PageEvictionTracker}.
+ *
+ * @param <T> Type of the row descriptors, by which the rows are found in their storages.
+ */
+public interface DataPageEvictionHandler<T> {
+    /**
+     * Reads the descriptor of the row, stored in an item of the data page, by which the row can be found in its storage.
+     *
+     * <p>Invoked under the read lock of the data page, so the item can't be concurrently removed.
+     *
+     * @param link Link of the item.
+     * @param pageAddr Page address.
+     * @param payload Payload of the item.
+     * @return Row descriptor, {@code null} if the item can't be the first fragment of a row.
+     * @throws IgniteInternalCheckedException If failed.
+     */
+    @Nullable T readRow(long link, long pageAddr, DataPagePayload payload) throws IgniteInternalCheckedException;
+
+    /**
+     * Removes the rows, stored in the data page, from their storages. Rows that don't belong to the data page anymore, as well as
+     * rows that can't be removed at the moment (for example, used by active transactions), are expected to be skipped.
+     *
+     * <p>Invoked without any page locks held.
+     *
+     * @param rows Descriptors of the rows, read by {@link #readRow}.
+     * @return {@code True} if at least one row has been removed.
+     * @throws IgniteInternalCheckedException If failed.
+     */
+    boolean evictRows(List<T> rows) throws IgniteInternalCheckedException;
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.evict;
+
+import static org.apache.ignite.internal.util.FastTimestamps.coarseCurrentTimeMillis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfiguration;
+import org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionView;
+import org.apache.ignite.internal.pagememory.inmemory.VolatilePageMemory;
+import org.apache.ignite.internal.pagememory.io.AbstractDataPageIo;
+import org.apache.ignite.internal.pagememory.io.DataPagePayload;
+import org.apache.ignite.internal.pagememory.io.PageIo;
+import org.apache.ignite.internal.pagememory.util.PageIdUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base class for the eviction trackers of {@link VolatilePageMemory}, that keep the access timestamps of data pages in an off-heap
+ * tracking array indexed by the page sequence number.
+ */
+public abstract class PageAbstractEvictionTracker implements PageEvictionTracker {
+    /** Logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(PageAbstractEvictionTracker.class);
+
+    /** Number of bits to drop from a timestamp to fit it into an {@code int}: 256 ms resolution, enough for years of uptime. */
+    private static final int COMPACT_TS_SHIFT = 8;
+
+    /** Number of data pages to choose an eviction victim from. */
+    protected static final int SAMPLE_SIZE = 5;
+
+    /** Max number of attempts to find {@link #SAMPLE_SIZE} data pages. */
+    protected static final int SAMPLE_SPIN_LIMIT = SAMPLE_SIZE * 1000;
+
+    /** Max number of attempts to evict a data page. */
+    protected static final int EVICT_ATTEMPTS_LIMIT = 30;
+
+    /** Min interval between two warnings about failed evictions. */
+    private static final long WARN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /** Page memory. */
+    protected final VolatilePageMemory pageMem;
+
+    /** Number of elements in the tracking array, equal to the max number of pages in the page memory. */
+    protected final int trackingSize;
+
+    /** Data region configuration view. */
+    private final VolatilePageMemoryDataRegionView dataRegionConfigView;
+
+    /** Number of empty data pages in the free list of the region. */
+    private final IntSupplier emptyDataPages;
+
+    /** Handler that removes the rows of the evicted data pages. */
+    private final DataPageEvictionHandler<?> evictionHandler;
+
+    /** Base timestamp for {@link #compactTimestamp}. */
+    private final long baseCompactTs = (coarseCurrentTimeMillis() >> COMPACT_TS_SHIFT) - 1;
+
+    /** Time of the last warning about failed evictions. */
+    private volatile long lastWarnTime;
+
+    /**
+     * Constructor.
+     *
+     * @param pageMem Page memory.
+     * @param dataRegionConfig Data region configuration.
+     * @param emptyDataPages Number of empty data pages in the free list of the region.
+     * @param evictionHandler Handler that removes the rows of the evicted data pages.
+     */
+    protected PageAbstractEvictionTracker(
+            VolatilePageMemory pageMem,
+            VolatilePageMemoryDataRegionConfiguration dataRegionConfig,
+            IntSupplier emptyDataPages,
+            DataPageEvictionHandler<?> evictionHandler
+    ) {
+        this.pageMem = pageMem;
+        this.dataRegionConfigView = dataRegionConfig.value();
+        this.emptyDataPages = emptyDataPages;
+        this.evictionHandler = evictionHandler;
+
+        trackingSize = pageMem.totalPages();
+    }
+
+    /**
+     * Allocates the tracking array.
+     */
+    public abstract void start();
+
+    /**
+     * Releases the tracking array.
+     */
+    public abstract void stop();
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean evictionRequired() {
+        return pageMem.loadedPages() > trackingSize * dataRegionConfigView.evictionThreshold()
+                && emptyDataPages.getAsInt() < dataRegionConfigView.emptyPagesPoolSize();
+    }
+
+    /**
+     * Returns {@code true} if the data page is being tracked, i.e. it hasn't been {@link #forgetPage forgotten} since its last touch.
+     *
+     * @param pageId Page ID.
+     */
+    protected abstract boolean checkTouch(long pageId);
+
+    /**
+     * Evicts the rows of the data page with the given index.
+     *
+     * @param pageIdx Page index.
+     * @return {@code True} if at least one row has been evicted.
+     * @throws IgniteInternalCheckedException If failed.
+     */
+    protected final boolean evictDataPage(int pageIdx) throws IgniteInternalCheckedException {
+        return evictDataPage(pageIdx, evictionHandler);
+    }
+
+    private <T> boolean evictDataPage(int pageIdx, DataPageEvictionHandler<T> evictionHandler) throws IgniteInternalCheckedException {
+        long fakePageId = PageIdUtils.pageId(0, (byte) 0, pageIdx);
+
+        long page = pageMem.acquirePage(0, fakePageId);
+
+        List<T> rows = new ArrayList<>();
+
+        try {
+            long pageAddr = pageMem.readLockForce(0, fakePageId, page);
+
+            if (pageAddr == 0L) {
+                return false;
+            }
+
+            try {
+                long realPageId = PageIo.getPageId(pageAddr);
+
+                if (!checkTouch(realPageId)) {
+                    // The page has been concurrently emptied and recycled.
+                    return false;
+                }
+
+                PageIo io = resolveIo(pageAddr);
+
+                if (!(io instanceof AbstractDataPageIo)) {
+                    // The page has been reused for something other than data after its last touch.
+                    forgetPage(realPageId);
+
+                    return false;
+                }
+
+                AbstractDataPageIo<?> dataIo = (AbstractDataPageIo<?>) io;
+
+                int pageSize = pageMem.realPageSize(0);
+
+                List<Long> links = dataIo.forAllItems(pageAddr, link -> link);
+
+                for (long link : links) {
+                    int itemId = PageIdUtils.itemId(link);
+
+                    if (!dataIo.itemExists(pageAddr, itemId, pageSize)) {
+                        continue;
+                    }
+
+                    DataPagePayload payload = dataIo.readPayload(pageAddr, itemId, pageSize);
+
+                    T row = evictionHandler.readRow(link, pageAddr, payload);
+
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+            } finally {
+                pageMem.readUnlock(0, fakePageId, page);
+            }
+        } finally {
+            pageMem.releasePage(0, fakePageId, page);
+        }
+
+        return !rows.isEmpty() && evictionHandler.evictRows(rows);
+    }
+
+    /**
+     * Resolves the IO of the page.
+     *
+     * @param pageAddr Page address.
+     * @return Page IO or {@code null} if the page has no known IO.
+     */
+    private @Nullable PageIo resolveIo(long pageAddr) {
+        try {
+            return pageMem.ioRegistry().resolve(pageAddr);
+        } catch (IgniteInternalCheckedException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the index of the page in the tracking array.
+     *
+     * @param pageIdx Page index.
+     */
+    protected final int trackingIdx(int pageIdx) {
+        return pageMem.pageSequenceNumber(pageIdx);
+    }
+
+    /**
+     * Returns the page index by the index in the tracking array.
+     *
+     * @param trackingIdx Index in the tracking array.
+     */
+    protected final int pageIdx(int trackingIdx) {
+        return pageMem.pageIndex(trackingIdx);
+    }
+
+    /**
+     * Converts a timestamp to a positive {@code int} value, {@code 0} is reserved for pages that are not tracked.
+     *
+     * @param epochMilli Timestamp in milliseconds.
+     */
+    protected final int compactTimestamp(long epochMilli) {
+        return (int) ((epochMilli >> COMPACT_TS_SHIFT) - baseCompactTs);
+    }
+
+    /**
+     * Allocates an off-heap tracking array.
+     *
+     * @param bytes Size in bytes.
+     * @return Address of the array.
+     */
+    protected static long allocateTrackingArray(long bytes) {
+        long ptr = GridUnsafe.allocateMemory(bytes);
+
+        GridUnsafe.zeroMemory(ptr, bytes);
+
+        return ptr;
+    }
+
+    /**
+     * Logs a warning about failed eviction, at most once per {@link #WARN_INTERVAL_MILLIS}.
+     *
+     * @param msg Message.
+     */
+    protected final void warnEvictionFailed(String msg) {
+        long now = coarseCurrentTimeMillis();
+
+        if (now - lastWarnTime >= WARN_INTERVAL_MILLIS) {
+            lastWarnTime = now;
+
+            LOG.warn(msg + " [region={}]", dataRegionConfigView.name());
+        }
+    }
+}
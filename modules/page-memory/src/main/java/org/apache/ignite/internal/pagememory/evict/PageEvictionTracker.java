@@ -41,11 +41,13 @@ public interface PageEvictionTracker {
 
     /**
      * Evicts one data page. In most cases, all entries will be removed from the page. Method guarantees removing at least one entry from
-     * "evicted" data page. Removing all entries may be not possible, as some of them can be used by active transactions.
+     * "evicted" data page, unless it returns {@code false}. Removing all entries may be not possible, as some of them can be used by
+     * active transactions.
      *
+     * @return {@code False} if no page could be evicted.
      * @throws IgniteInternalCheckedException In case of page memory error.
      */
-    void evictDataPage() throws IgniteInternalCheckedException;
+    boolean evictDataPage() throws IgniteInternalCheckedException;
 
     /**
      * Call this method when last entry is removed from data page.
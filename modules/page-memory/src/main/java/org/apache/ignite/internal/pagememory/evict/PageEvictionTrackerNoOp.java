@@ -39,8 +39,8 @@ public class PageEvictionTrackerNoOp implements PageEvictionTracker {
 
     /** {@inheritDoc} */
     @Override
-    public void evictDataPage() {
-        // No-op.
+    public boolean evictDataPage() {
+        return false;
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.evict;
+
+import static org.apache.ignite.internal.util.FastTimestamps.coarseCurrentTimeMillis;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+import org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfiguration;
+import org.apache.ignite.internal.pagememory.inmemory.VolatilePageMemory;
+import org.apache.ignite.internal.pagememory.util.PageIdUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+
+/**
+ * Random-LRU eviction tracker: keeps the last access timestamp of every data page and evicts the least recently used page out of
+ * {@link #SAMPLE_SIZE} randomly chosen ones.
+ */
+public class RandomLruPageEvictionTracker extends PageAbstractEvictionTracker {
+    /** Tracking array address, {@code 0} if not started. */
+    private volatile long trackingArrPtr;
+
+    /**
+     * Constructor.
+     *
+     * @param pageMem Page memory.
+     * @param dataRegionConfig Data region configuration.
+     * @param emptyDataPages Number of empty data pages in the free list of the region.
+     * @param evictionHandler Handler that removes the rows of the evicted data pages.
+     */
+    public RandomLruPageEvictionTracker(
+            VolatilePageMemory pageMem,
+            VolatilePageMemoryDataRegionConfiguration dataRegionConfig,
+            IntSupplier emptyDataPages,
+            DataPageEvictionHandler<?> evictionHandler
+    ) {
+        super(pageMem, dataRegionConfig, emptyDataPages, evictionHandler);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        trackingArrPtr = allocateTrackingArray(trackingSize * 4L);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void stop() {
+        long ptr = trackingArrPtr;
+
+        if (ptr != 0L) {
+            trackingArrPtr = 0L;
+
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void touchPage(long pageId) {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        GridUnsafe.putIntVolatile(null, trackingArrPtr + trackingIdx * 4L, compactTimestamp(coarseCurrentTimeMillis()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean evictDataPage() throws IgniteInternalCheckedException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int attempt = 0; attempt < EVICT_ATTEMPTS_LIMIT; attempt++) {
+            int lruTrackingIdx = -1;
+            int lruCompactTs = Integer.MAX_VALUE;
+
+            int dataPagesCnt = 0;
+            int sampleSpinCnt = 0;
+
+            while (dataPagesCnt < SAMPLE_SIZE) {
+                int sampleTrackingIdx = rnd.nextInt(trackingSize);
+
+                int compactTs = GridUnsafe.getIntVolatile(null, trackingArrPtr + sampleTrackingIdx * 4L);
+
+                if (compactTs != 0) {
+                    // A data page with at least one touch has been chosen.
+                    if (compactTs < lruCompactTs) {
+                        lruTrackingIdx = sampleTrackingIdx;
+                        lruCompactTs = compactTs;
+                    }
+
+                    dataPagesCnt++;
+                }
+
+                if (++sampleSpinCnt > SAMPLE_SPIN_LIMIT) {
+                    warnEvictionFailed("Too many attempts to choose a data page for eviction: " + SAMPLE_SPIN_LIMIT);
+
+                    return false;
+                }
+            }
+
+            if (evictDataPage(pageIdx(lruTrackingIdx))) {
+                return true;
+            }
+        }
+
+        warnEvictionFailed("Too many failed attempts to evict a data page: " + EVICT_ATTEMPTS_LIMIT);
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean checkTouch(long pageId) {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        return GridUnsafe.getIntVolatile(null, trackingArrPtr + trackingIdx * 4L) != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void forgetPage(long pageId) {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        GridUnsafe.putIntVolatile(null, trackingArrPtr + trackingIdx * 4L, 0);
+    }
+}
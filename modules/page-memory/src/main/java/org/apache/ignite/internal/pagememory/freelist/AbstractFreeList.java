@@ -540,7 +540,9 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
             while (written != COMPLETE || it.hasNext()) {
                 // If eviction is required - free up memory before locking the next page.
                 while (evictionTracker.evictionRequired()) {
-                    evictionTracker.evictDataPage();
+                    if (!evictionTracker.evictDataPage()) {
+                        break;
+                    }
                 }
 
                 if (written == COMPLETE) {
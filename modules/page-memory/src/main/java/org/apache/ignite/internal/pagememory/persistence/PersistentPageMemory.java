@@ -20,6 +20,8 @@ package org.apache.ignite.internal.pagememory.persistence;
 import static java.lang.System.lineSeparator;
 import static org.apache.ignite.internal.pagememory.FullPageId.NULL_PAGE;
 import static org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfigurationSchema.CLOCK_REPLACEMENT_MODE;
+import static org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfigurationSchema.DEFLATE_PAGE_COMPRESSION;
+import static org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfigurationSchema.DISABLED_PAGE_COMPRESSION;
 import static org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfigurationSchema.RANDOM_LRU_REPLACEMENT_MODE;
 import static org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfigurationSchema.SEGMENTED_LRU_REPLACEMENT_MODE;
 import static org.apache.ignite.internal.pagememory.io.PageIo.getCrc;
@@ -72,6 +74,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.pagememory.FullPageId;
@@ -88,13 +91,17 @@ import org.apache.ignite.internal.pagememory.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagememory.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointMetricsTracker;
 import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointPages;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointProgress;
 import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointTimeoutLock;
+import org.apache.ignite.internal.pagememory.persistence.compression.PageCompressor;
 import org.apache.ignite.internal.pagememory.persistence.replacement.ClockPageReplacementPolicyFactory;
 import org.apache.ignite.internal.pagememory.persistence.replacement.DelayedPageReplacementTracker;
 import org.apache.ignite.internal.pagememory.persistence.replacement.PageReplacementPolicy;
 import org.apache.ignite.internal.pagememory.persistence.replacement.PageReplacementPolicyFactory;
 import org.apache.ignite.internal.pagememory.persistence.replacement.RandomLruPageReplacementPolicyFactory;
 import org.apache.ignite.internal.pagememory.persistence.replacement.SegmentedLruPageReplacementPolicyFactory;
+import org.apache.ignite.internal.pagememory.persistence.throttling.PagesWriteSpeedBasedThrottle;
+import org.apache.ignite.internal.pagememory.persistence.throttling.PagesWriteThrottlePolicy;
 import org.apache.ignite.internal.util.CollectionUtils;
 import org.apache.ignite.internal.util.OffheapReadWriteLock;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
@@ -213,6 +220,14 @@ public class PersistentPageMemory implements PageMemory {
     /** Checkpoint timeout lock. */
     private final CheckpointTimeoutLock checkpointTimeoutLock;
 
+    /** Throttling policy of the page modifications, {@code null} if throttling is disabled. */
+    @Nullable
+    private final PagesWriteThrottlePolicy writeThrottle;
+
+    /** Compressor of the pages written to the page stores, {@code null} if the page compression is disabled. */
+    @Nullable
+    private final PageCompressor pageCompressor;
+
     /**
      * Constructor.
      *
@@ -224,6 +239,7 @@ public class PersistentPageMemory implements PageMemory {
      * @param changeTracker Callback invoked to track changes in pages.
      * @param flushDirtyPageForReplacement Write callback invoked when a dirty page is removed for replacement.
      * @param checkpointTimeoutLock Checkpoint timeout lock.
+     * @param checkpointProgressProvider Provider of the progress of the last checkpoint, used to throttle page modifications.
      * @param pageSize Page size in bytes.
      */
     public PersistentPageMemory(
@@ -235,6 +251,7 @@ public class PersistentPageMemory implements PageMemory {
             @Nullable PageChangeTracker changeTracker,
             WriteDirtyPage flushDirtyPageForReplacement,
             CheckpointTimeoutLock checkpointTimeoutLock,
+            Supplier<@Nullable CheckpointProgress> checkpointProgressProvider,
             // TODO: IGNITE-17017 Move to common config
             int pageSize
     ) {
@@ -275,6 +292,25 @@ public class PersistentPageMemory implements PageMemory {
         }
 
         delayedPageReplacementTracker = new DelayedPageReplacementTracker(pageSize, flushDirtyPageForReplacement, LOG, sizes.length - 1);
+
+        writeThrottle = dataRegionConfigView.writeThrottlingEnabled()
+                ? new PagesWriteSpeedBasedThrottle(this, checkpointProgressProvider)
+                : null;
+
+        String pageCompression = dataRegionConfigView.pageCompression();
+
+        switch (pageCompression) {
+            case DISABLED_PAGE_COMPRESSION:
+                pageCompressor = null;
+
+                break;
+            case DEFLATE_PAGE_COMPRESSION:
+                pageCompressor = new PageCompressor(pageSize, dataRegionConfigView.pageCompressionLevel());
+
+                break;
+            default:
+                throw new IgniteInternalException("Unexpected page compression: " + pageCompression);
+        }
     }
 
     /** {@inheritDoc} */
@@ -1137,6 +1173,8 @@ public class PersistentPageMemory implements PageMemory {
     ) {
         boolean wasDirty = isDirty(page);
 
+        boolean markedDirty = false;
+
         try {
             // If page is for restore, we shouldn't mark it as changed.
             if (!restore && markDirty && !wasDirty && changeTracker != null) {
@@ -1147,6 +1185,8 @@ public class PersistentPageMemory implements PageMemory {
 
             if (markDirty) {
                 setDirty(fullId, page, true, false);
+
+                markedDirty = true;
             }
         } finally { // Always release the lock.
             long pageId = getPageId(page + PAGE_OVERHEAD);
@@ -1164,6 +1204,10 @@ public class PersistentPageMemory implements PageMemory {
                 throw ex;
             }
         }
+
+        if (writeThrottle != null && markedDirty && !restore && !wasDirty) {
+            writeThrottle.onMarkDirty(isInCheckpoint(fullId));
+        }
     }
 
     /**
@@ -1751,6 +1795,49 @@ public class PersistentPageMemory implements PageMemory {
         return true;
     }
 
+    /**
+     * Returns the highest ratio of dirty pages to the max number of dirty pages among the segments. A ratio of {@code 1} or greater means
+     * that a checkpoint has to be started, see {@link #safeToUpdate()}.
+     */
+    public double dirtyPagesRatio() {
+        Segment[] segments = this.segments;
+
+        if (segments == null) {
+            return 0;
+        }
+
+        double ratio = 0;
+
+        for (Segment seg : segments) {
+            if (seg.maxDirtyPages > 0) {
+                ratio = Math.max(ratio, (double) seg.dirtyPagesCntr.get() / seg.maxDirtyPages);
+            }
+        }
+
+        return ratio;
+    }
+
+    /**
+     * Returns total time in nanoseconds the threads have been parked by the write throttling, {@code 0} if it's disabled.
+     */
+    public long writeThrottleParkTimeNanos() {
+        return writeThrottle == null ? 0 : writeThrottle.throttleParkTimeNanos();
+    }
+
+    /**
+     * Returns total number of page modifications delayed by the write throttling, {@code 0} if it's disabled.
+     */
+    public long writeThrottledOperationsCount() {
+        return writeThrottle == null ? 0 : writeThrottle.throttledOperationsCount();
+    }
+
+    /**
+     * Returns the compressor of the pages written to the page stores, {@code null} if the page compression is disabled.
+     */
+    public @Nullable PageCompressor pageCompressor() {
+        return pageCompressor;
+    }
+
     /**
      * Returns number of pages used in checkpoint buffer.
      */
@@ -2055,6 +2142,10 @@ public class PersistentPageMemory implements PageMemory {
 
         safeToUpdate.set(true);
 
+        if (writeThrottle != null) {
+            writeThrottle.onBeginCheckpoint();
+        }
+
         return CollectionUtils.concat(dirtyPageIds);
     }
 
@@ -2071,5 +2162,9 @@ public class PersistentPageMemory implements PageMemory {
                 seg.checkpointPages = null;
             }
         }
+
+        if (writeThrottle != null) {
+            writeThrottle.onFinishCheckpoint();
+        }
     }
 }
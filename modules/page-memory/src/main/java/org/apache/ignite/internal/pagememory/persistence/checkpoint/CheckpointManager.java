@@ -32,6 +32,7 @@ import org.apache.ignite.internal.pagememory.persistence.PartitionMetaManager;
 import org.apache.ignite.internal.pagememory.persistence.PersistentPageMemory;
 import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointDirtyPages.CheckpointDirtyPagesView;
 import org.apache.ignite.internal.pagememory.persistence.compaction.Compactor;
+import org.apache.ignite.internal.pagememory.persistence.compression.PageCompressor;
 import org.apache.ignite.internal.pagememory.persistence.store.DeltaFilePageStoreIo;
 import org.apache.ignite.internal.pagememory.persistence.store.FilePageStore;
 import org.apache.ignite.internal.pagememory.persistence.store.FilePageStoreManager;
@@ -238,6 +239,13 @@ public class CheckpointManager {
         return checkpointer.lastCheckpointProgress();
     }
 
+    /**
+     * Returns the metrics of the last finished checkpoint, {@code null} if no checkpoint has finished yet.
+     */
+    public @Nullable CheckpointMetricsTracker lastCheckpointMetrics() {
+        return checkpointer.lastCheckpointMetrics();
+    }
+
     /**
      * Returns {@link true} if it is safe for all {@link DataRegion data regions} to update their {@link PageMemory}.
      *
@@ -287,7 +295,11 @@ public class CheckpointManager {
                 () -> pageIndexesForDeltaFilePageStore(pagesToWrite.getPartitionView(pageMemory, pageId.groupId(), pageId.partitionId()))
         );
 
-        deltaFilePageStoreFuture.join().write(pageId.pageId(), pageBuf, calculateCrc);
+        PageCompressor pageCompressor = pageMemory.pageCompressor();
+
+        ByteBuffer bufToWrite = pageCompressor == null ? pageBuf : pageCompressor.compressPage(pageBuf);
+
+        deltaFilePageStoreFuture.join().write(pageId.pageId(), bufToWrite, calculateCrc);
     }
 
     /**
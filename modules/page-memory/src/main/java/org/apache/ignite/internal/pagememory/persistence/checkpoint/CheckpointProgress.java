@@ -50,6 +50,11 @@ public interface CheckpointProgress {
      */
     int currentCheckpointPagesCount();
 
+    /**
+     * Returns number of pages already written by the current checkpoint.
+     */
+    int writtenPagesCount();
+
     /**
      * Returns the sorted dirty pages to be written on the checkpoint, {@code null} if there were no dirty pages, or they have already been
      * written.
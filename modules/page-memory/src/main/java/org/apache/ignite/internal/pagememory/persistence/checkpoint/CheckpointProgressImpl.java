@@ -131,6 +131,12 @@ class CheckpointProgressImpl implements CheckpointProgress {
         currCheckpointPagesCnt = num;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int writtenPagesCount() {
+        return writtenPagesCntr.get();
+    }
+
     /**
      * Returns counter for written checkpoint pages.
      */
@@ -124,6 +124,9 @@ public class Checkpointer extends IgniteWorker {
     /** Checkpoint progress after releasing write lock. */
     private volatile @Nullable CheckpointProgressImpl afterReleaseWriteLockCheckpointProgress;
 
+    /** Metrics of the last finished checkpoint, {@code null} if no checkpoint has finished yet. */
+    private volatile @Nullable CheckpointMetricsTracker lastCheckpointMetrics;
+
     /** Shutdown now. */
     private volatile boolean shutdownNow;
 
@@ -342,6 +345,9 @@ public class Checkpointer extends IgniteWorker {
 
             tracker.onCheckpointEnd();
 
+            // The tracker is not changed after the end of the checkpoint, so it is safe to publish it.
+            lastCheckpointMetrics = tracker;
+
             if (chp.hasDelta()) {
                 if (log.isInfoEnabled()) {
                     log.info(String.format(
@@ -681,6 +687,13 @@ public class Checkpointer extends IgniteWorker {
         return afterReleaseWriteLockCheckpointProgress;
     }
 
+    /**
+     * Returns the metrics of the last finished checkpoint, {@code null} if no checkpoint has finished yet.
+     */
+    public @Nullable CheckpointMetricsTracker lastCheckpointMetrics() {
+        return lastCheckpointMetrics;
+    }
+
     /**
      * Returns progress of scheduled checkpoint.
      */
@@ -324,7 +324,8 @@ public class Compactor extends IgniteWorker {
 
             // pageIndex instead of pageId, only for debugging in case of errors
             // since we do not know the pageId until we read it from the pageOffset.
-            boolean read = deltaFilePageStore.readWithMergedToFilePageStoreCheck(pageIndex, pageOffset, buffer.rewind(), false);
+            // Compressed pages are copied as is.
+            boolean read = deltaFilePageStore.readRawWithMergedToFilePageStoreCheck(pageIndex, pageOffset, buffer.rewind());
 
             assert read : deltaFilePageStore.filePath();
 
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.persistence.compression;
+
+import static java.nio.ByteOrder.nativeOrder;
+import static org.apache.ignite.internal.pagememory.io.PageIo.COMMON_HEADER_END;
+import static org.apache.ignite.internal.util.IgniteUtils.hexLong;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.ignite.internal.pagememory.io.PageIo;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+
+/**
+ * Compresses pages before they are written to the page stores, and decompresses them after reading.
+ *
+ * <p>The common page header ({@link PageIo#COMMON_HEADER_END} bytes) of a compressed page is kept uncompressed, so that the page ID,
+ * the CRC, the {@link PageIo#getCompressionType(ByteBuffer) compression type} and the {@link PageIo#getCompressedSize(ByteBuffer)
+ * compressed size} (including the header) can be read without decompression. The rest of the page is compressed with the DEFLATE
+ * algorithm of the JDK.
+ */
+public class PageCompressor {
+    /** Compression type of an uncompressed page. */
+    public static final byte UNCOMPRESSED_PAGE = 0;
+
+    /** Compression type of a page compressed with {@link Deflater}. */
+    public static final byte DEFLATE_COMPRESSED_PAGE = 1;
+
+    /** Thread local inflater. */
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    /** Thread local buffer for the compressed content of a page being decompressed. */
+    private static final ThreadLocal<ByteBuffer> DECOMPRESS_BUF = new ThreadLocal<>();
+
+    /** Page size in bytes. */
+    private final int pageSize;
+
+    /** Thread local deflater. */
+    private final ThreadLocal<Deflater> deflater;
+
+    /** Thread local buffer for compressed pages. */
+    private final ThreadLocal<ByteBuffer> compressBuf;
+
+    /**
+     * Constructor.
+     *
+     * @param pageSize Page size in bytes.
+     * @param compressionLevel Compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     */
+    public PageCompressor(int pageSize, int compressionLevel) {
+        assert pageSize <= Short.MAX_VALUE : pageSize;
+
+        this.pageSize = pageSize;
+
+        deflater = ThreadLocal.withInitial(() -> new Deflater(compressionLevel));
+        compressBuf = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(pageSize).order(nativeOrder()));
+    }
+
+    /**
+     * Compresses the page.
+     *
+     * @param page Page buffer, its position must be {@code 0}.
+     * @return Thread local buffer with the compressed page, the limit of which is the compressed size, or the passed buffer if the page
+     *      can't be compressed to less than the page size.
+     */
+    public ByteBuffer compressPage(ByteBuffer page) {
+        assert page.position() == 0 : page.position();
+        assert PageIo.getCompressionType(page) == UNCOMPRESSED_PAGE : "Page is already compressed: " + hexLong(PageIo.getPageId(page));
+
+        ByteBuffer compressed = compressBuf.get().clear();
+
+        Deflater deflater = this.deflater.get();
+
+        deflater.reset();
+
+        int pageLimit = page.limit();
+
+        try {
+            // Copy the header as is.
+            page.limit(COMMON_HEADER_END);
+
+            compressed.put(page);
+
+            page.limit(pageSize);
+
+            deflater.setInput(page);
+            deflater.finish();
+
+            while (!deflater.finished() && compressed.hasRemaining()) {
+                deflater.deflate(compressed);
+            }
+        } finally {
+            page.position(0);
+            page.limit(pageLimit);
+        }
+
+        if (!deflater.finished() || compressed.position() >= pageSize) {
+            return page;
+        }
+
+        int compressedSize = compressed.position();
+
+        compressed.flip();
+
+        PageIo.setCompressionType(compressed, DEFLATE_COMPRESSED_PAGE);
+        PageIo.setCompressedSize(compressed, (short) compressedSize);
+
+        return compressed;
+    }
+
+    /**
+     * Returns {@code true} if the page is compressed.
+     *
+     * @param page Page buffer.
+     */
+    public static boolean isCompressed(ByteBuffer page) {
+        return PageIo.getCompressionType(page) != UNCOMPRESSED_PAGE;
+    }
+
+    /**
+     * Returns the size of the compressed page in bytes, including the header.
+     *
+     * @param page Compressed page buffer.
+     */
+    public static int compressedSize(ByteBuffer page) {
+        assert isCompressed(page);
+
+        return PageIo.getCompressedSize(page);
+    }
+
+    /**
+     * Decompresses the page in place, does nothing if the page is not compressed.
+     *
+     * @param page Page buffer, its position must be {@code 0} and capacity must be at least the page size.
+     * @param pageSize Page size in bytes.
+     * @throws IgniteInternalCheckedException If the page has an unknown compression type or its content is corrupted.
+     */
+    public static void decompressPage(ByteBuffer page, int pageSize) throws IgniteInternalCheckedException {
+        assert page.position() == 0 : page.position();
+
+        byte compressionType = PageIo.getCompressionType(page);
+
+        if (compressionType == UNCOMPRESSED_PAGE) {
+            return;
+        }
+
+        if (compressionType != DEFLATE_COMPRESSED_PAGE) {
+            throw new IgniteInternalCheckedException(
+                    "Unknown page compression type [pageId=" + hexLong(PageIo.getPageId(page)) + ", type=" + compressionType + "]"
+            );
+        }
+
+        int compressedSize = compressedSize(page);
+
+        ByteBuffer src = decompressBuffer(pageSize);
+
+        int pageLimit = page.limit();
+
+        try {
+            // Copy the compressed content aside, since it's decompressed into the same buffer.
+            page.limit(compressedSize).position(COMMON_HEADER_END);
+
+            src.put(page).flip();
+
+            page.limit(pageSize).position(COMMON_HEADER_END);
+
+            Inflater inflater = INFLATER.get();
+
+            inflater.reset();
+            inflater.setInput(src);
+
+            while (!inflater.finished() && page.hasRemaining()) {
+                if (inflater.inflate(page) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+
+            if (!inflater.finished() || page.hasRemaining()) {
+                throw new IgniteInternalCheckedException("Failed to decompress page, unexpected decompressed size [pageId="
+                        + hexLong(PageIo.getPageId(page)) + ", compressedSize=" + compressedSize + "]");
+            }
+        } catch (DataFormatException e) {
+            throw new IgniteInternalCheckedException("Failed to decompress page: " + hexLong(PageIo.getPageId(page)), e);
+        } finally {
+            page.position(0);
+            page.limit(pageLimit);
+        }
+
+        PageIo.setCompressionType(page, UNCOMPRESSED_PAGE);
+        PageIo.setCompressedSize(page, (short) 0);
+    }
+
+    private static ByteBuffer decompressBuffer(int pageSize) {
+        ByteBuffer buf = DECOMPRESS_BUF.get();
+
+        if (buf == null || buf.capacity() < pageSize) {
+            DECOMPRESS_BUF.set(buf = ByteBuffer.allocateDirect(pageSize));
+        }
+
+        return buf.clear();
+    }
+}
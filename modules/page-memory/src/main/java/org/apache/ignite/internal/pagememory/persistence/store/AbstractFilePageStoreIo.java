@@ -41,6 +41,7 @@ import org.apache.ignite.internal.fileio.FileIoFactory;
 import org.apache.ignite.internal.pagememory.io.PageIo;
 import org.apache.ignite.internal.pagememory.persistence.FastCrc;
 import org.apache.ignite.internal.pagememory.persistence.IgniteInternalDataIntegrityViolationException;
+import org.apache.ignite.internal.pagememory.persistence.compression.PageCompressor;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +49,9 @@ import org.jetbrains.annotations.Nullable;
  * Abstract class for performing IO operations on file page storage.
  */
 public abstract class AbstractFilePageStoreIo implements Closeable {
+    /** File system block size, used if the actual one can't be determined. */
+    private static final int DFLT_FILE_SYSTEM_BLOCK_SIZE = 4096;
+
     /** {@link FileIo} factory. */
     protected final FileIoFactory ioFactory;
 
@@ -64,6 +68,9 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
     /** Initialized file page store IO. */
     private volatile boolean initialized;
 
+    /** Block size of the file system the file page store is located on, compressed pages are written aligned to it. */
+    private volatile int fileSystemBlockSize = DFLT_FILE_SYSTEM_BLOCK_SIZE;
+
     /**
      * Caches the existence state of file. After it is initialized, it will be not {@code null} during lifecycle.
      *
@@ -142,14 +149,28 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
      * @param pageOff Page offset in the file.
      * @param pageBuf Page buffer to read into.
      * @param keepCrc By default, reading zeroes CRC which was on page store, but you can keep it in {@code pageBuf} if set {@code true}.
+     *      The CRC of a compressed page is not kept, since it is calculated over the compressed content.
      * @throws IgniteInternalCheckedException If reading failed (IO error occurred).
      */
     protected void read(long pageId, long pageOff, ByteBuffer pageBuf, boolean keepCrc) throws IgniteInternalCheckedException {
-        read0(pageId, pageOff, pageBuf, !skipCrc, keepCrc);
+        read0(pageId, pageOff, pageBuf, !skipCrc, keepCrc, true);
+    }
+
+    /**
+     * Reads a page as it is stored, without decompressing it.
+     *
+     * @param pageId Page ID.
+     * @param pageOff Page offset in the file.
+     * @param pageBuf Page buffer to read into.
+     * @throws IgniteInternalCheckedException If reading failed (IO error occurred).
+     */
+    protected void readRaw(long pageId, long pageOff, ByteBuffer pageBuf) throws IgniteInternalCheckedException {
+        read0(pageId, pageOff, pageBuf, !skipCrc, false, false);
     }
 
     /**
-     * Writes a page.
+     * Writes a page. A {@link PageCompressor compressed} page is written aligned to the file system block size, the rest of its slot in
+     * the file is left untouched.
      *
      * @param pageId Page ID.
      * @param pageBuf Page buffer to write from.
@@ -174,21 +195,31 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
                     assert PageIo.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + hexLong(pageId);
                     assert PageIo.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + hexLong(pageId);
 
+                    int crcSize = crcSize(pageBuf);
+
                     if (calculateCrc && !skipCrc) {
                         assert PageIo.getCrc(pageBuf) == 0 : hexLong(pageId);
 
-                        PageIo.setCrc(pageBuf, calcCrc32(pageBuf, pageSize()));
+                        PageIo.setCrc(pageBuf, calcCrc32(pageBuf, crcSize));
                     }
 
                     // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
                     assert skipCrc || PageIo.getCrc(pageBuf) != 0
-                            || calcCrc32(pageBuf, pageSize()) == 0 : "CRC hasn't been calculated, crc=0";
+                            || calcCrc32(pageBuf, crcSize) == 0 : "CRC hasn't been calculated, crc=0";
 
                     assert pageBuf.position() == 0 : pageBuf.position();
 
                     long pageOff = pageOffset(pageId);
 
-                    fileIo.writeFully(pageBuf, pageOff);
+                    int limit = pageBuf.limit();
+
+                    try {
+                        pageBuf.limit(writeSize(pageBuf));
+
+                        fileIo.writeFully(pageBuf, pageOff);
+                    } finally {
+                        pageBuf.limit(limit);
+                    }
 
                     PageIo.setCrc(pageBuf, 0);
 
@@ -301,6 +332,8 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
                                     checkHeader(fileIo);
                                 }
 
+                                fileSystemBlockSize = fileSystemBlockSize(filePath);
+
                                 if (interrupted) {
                                     Thread.currentThread().interrupt();
                                 }
@@ -388,6 +421,44 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
         }
     }
 
+    /**
+     * Returns the number of bytes of the page the CRC is calculated over: the compressed size for a compressed page, the page size
+     * otherwise.
+     *
+     * @param pageBuf Page buffer.
+     */
+    private int crcSize(ByteBuffer pageBuf) {
+        return PageCompressor.isCompressed(pageBuf) ? PageCompressor.compressedSize(pageBuf) : pageSize();
+    }
+
+    /**
+     * Returns the number of bytes of the page to write: the compressed size aligned to the file system block size for a compressed page,
+     * the page size otherwise.
+     *
+     * @param pageBuf Page buffer.
+     */
+    private int writeSize(ByteBuffer pageBuf) {
+        if (!PageCompressor.isCompressed(pageBuf)) {
+            return pageSize();
+        }
+
+        int blockSize = fileSystemBlockSize;
+
+        int alignedSize = (PageCompressor.compressedSize(pageBuf) + blockSize - 1) / blockSize * blockSize;
+
+        return Math.min(alignedSize, pageSize());
+    }
+
+    private static int fileSystemBlockSize(Path filePath) {
+        try {
+            long blockSize = Files.getFileStore(filePath).getBlockSize();
+
+            return blockSize > 0 && blockSize <= Integer.MAX_VALUE ? (int) blockSize : DFLT_FILE_SYSTEM_BLOCK_SIZE;
+        } catch (IOException | UnsupportedOperationException e) {
+            return DFLT_FILE_SYSTEM_BLOCK_SIZE;
+        }
+    }
+
     private static int calcCrc32(ByteBuffer pageBuf, int pageSize) {
         try {
             pageBuf.position(0);
@@ -465,6 +536,7 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
      * @param pageBuf Page buffer to read into.
      * @param checkCrc Check CRC on page.
      * @param keepCrc By default reading zeroes CRC which was on file, but you can keep it in pageBuf if set keepCrc.
+     * @param decompress Decompress the page if it is compressed.
      * @throws IgniteInternalCheckedException If reading failed (IO error occurred).
      */
     private void read0(
@@ -472,7 +544,8 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
             long pageOff,
             ByteBuffer pageBuf,
             boolean checkCrc,
-            boolean keepCrc
+            boolean keepCrc,
+            boolean decompress
     ) throws IgniteInternalCheckedException {
         assert pageOff >= headerSize() : "pageOff=" + pageOff + ", headerSize=" + headerSize();
 
@@ -494,6 +567,11 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
                 return;
             }
 
+            // A compressed page at the end of the file may be shorter than the page size.
+            if (pageBuf.hasRemaining()) {
+                pageBuf.put(new byte[pageBuf.remaining()]);
+            }
+
             int savedCrc32 = PageIo.getCrc(pageBuf);
 
             PageIo.setCrc(pageBuf, 0);
@@ -501,7 +579,7 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
             pageBuf.position(0);
 
             if (checkCrc) {
-                int curCrc32 = FastCrc.calcCrc(pageBuf, pageSize());
+                int curCrc32 = FastCrc.calcCrc(pageBuf, crcSize(pageBuf));
 
                 if ((savedCrc32 ^ curCrc32) != 0) {
                     throw new IgniteInternalDataIntegrityViolationException("Failed to read page (CRC validation failed) "
@@ -514,7 +592,11 @@ public abstract class AbstractFilePageStoreIo implements Closeable {
 
             assert PageIo.getCrc(pageBuf) == 0;
 
-            if (keepCrc) {
+            pageBuf.position(0);
+
+            if (decompress && PageCompressor.isCompressed(pageBuf)) {
+                PageCompressor.decompressPage(pageBuf, pageSize());
+            } else if (keepCrc) {
                 PageIo.setCrc(pageBuf, savedCrc32);
             }
         } catch (IOException e) {
@@ -147,6 +147,34 @@ public class DeltaFilePageStoreIo extends AbstractFilePageStoreIo {
         }
     }
 
+    /**
+     * Reads a page as it is stored, without decompressing it, for copying it to the file page store.
+     *
+     * @param pageId Page ID.
+     * @param pageOff Page offset in the file.
+     * @param pageBuf Page buffer to read into.
+     * @return {@code True} if the page was successfully read, otherwise the delta file page store is {@link #markMergedToFilePageStore()
+     * merged} with the file page store (must be read from file page store).
+     * @throws IgniteInternalCheckedException If reading failed (IO error occurred).
+     */
+    public boolean readRawWithMergedToFilePageStoreCheck(
+            long pageId,
+            long pageOff,
+            ByteBuffer pageBuf
+    ) throws IgniteInternalCheckedException {
+        if (!mergedBusyLock.enterBusy()) {
+            return false;
+        }
+
+        try {
+            super.readRaw(pageId, pageOff, pageBuf);
+
+            return true;
+        } finally {
+            mergedBusyLock.leaveBusy();
+        }
+    }
+
     /**
      * Returns the index of the delta file page store.
      */
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.persistence.throttling;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.pagememory.persistence.PersistentPageMemory;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointProgress;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Speed-based throttling policy.
+ *
+ * <p>While a checkpoint is running, the throttle compares the growth of the dirty pages ratio with the progress of the checkpoint
+ * writer. If the dirty pages are projected to exceed the {@link #TARGET_DIRTY_PAGES_RATIO target ratio} by the end of the checkpoint,
+ * every thread that makes a page dirty is parked for a time proportional to the excess, so that the write rate is smoothly reduced to
+ * the one the checkpoint is able to keep up with.
+ *
+ * <p>When a hard limit is about to be reached (the dirty pages ratio approaches the limit that triggers the next checkpoint, or the
+ * checkpoint buffer is mostly full while pages of the running checkpoint are modified), the throttle switches to an exponential backoff
+ * until the pressure is relieved.
+ */
+public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
+    /** Logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(PagesWriteSpeedBasedThrottle.class);
+
+    /** Dirty pages ratio, below which the speed-based throttling is not applied. */
+    static final double MIN_DIRTY_PAGES_RATIO_TO_THROTTLE = 0.1;
+
+    /** Dirty pages ratio the speed-based throttling aims to have by the end of a checkpoint. */
+    static final double TARGET_DIRTY_PAGES_RATIO = 0.8;
+
+    /** Dirty pages ratio, starting from which the exponential backoff is applied. */
+    static final double MAX_DIRTY_PAGES_RATIO = 0.9;
+
+    /** Checkpoint buffer fill ratio, starting from which the exponential backoff is applied to modifications of checkpoint pages. */
+    static final double CHECKPOINT_BUFFER_THROTTLING_THRESHOLD = 2.0 / 3;
+
+    /** Starting park time of the exponential backoff. */
+    static final long STARTING_BACKOFF_PARK_NANOS = MICROSECONDS.toNanos(10);
+
+    /** Growth ratio of the exponential backoff park time. */
+    static final double BACKOFF_RATIO = 1.05;
+
+    /** Max park time of a single page modification. */
+    static final long MAX_PARK_NANOS = MILLISECONDS.toNanos(100);
+
+    /** Page memory. */
+    private final PersistentPageMemory pageMemory;
+
+    /** Provider of the progress of the last checkpoint. */
+    private final Supplier<@Nullable CheckpointProgress> checkpointProgressProvider;
+
+    /** Exponent of the exponential backoff, {@code 0} if the backoff is not applied. */
+    private final AtomicInteger backoffExponent = new AtomicInteger();
+
+    /** Start time of the current checkpoint. */
+    private volatile long checkpointStartNanos = System.nanoTime();
+
+    /** Number of pages made dirty since the start of the current checkpoint. */
+    private final LongAdder markedDirtyPages = new LongAdder();
+
+    /** Sequence number of the current checkpoint, incremented on every checkpoint start. */
+    private volatile long checkpointSequence;
+
+    /** Sequence number of the last checkpoint during which the current thread has made a page dirty. */
+    private final ThreadLocal<long[]> lastMarkingCheckpointSequence = ThreadLocal.withInitial(() -> new long[] {-1});
+
+    /** Number of the threads that have made pages dirty since the start of the current checkpoint. */
+    private final AtomicInteger markingThreads = new AtomicInteger();
+
+    /** Whether throttling has been reported to the log for the current checkpoint. */
+    private final AtomicBoolean throttlingLogged = new AtomicBoolean();
+
+    /** Total park time. */
+    private final LongAdder parkTimeNanos = new LongAdder();
+
+    /** Total number of throttled operations. */
+    private final LongAdder throttledOperations = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param pageMemory Page memory.
+     * @param checkpointProgressProvider Provider of the progress of the last checkpoint, the provided value is {@code null} if no
+     *      checkpoint has occurred yet.
+     */
+    public PagesWriteSpeedBasedThrottle(
+            PersistentPageMemory pageMemory,
+            Supplier<@Nullable CheckpointProgress> checkpointProgressProvider
+    ) {
+        this.pageMemory = pageMemory;
+        this.checkpointProgressProvider = checkpointProgressProvider;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onMarkDirty(boolean isPageInCheckpoint) {
+        CheckpointProgress progress = checkpointProgressProvider.get();
+
+        if (progress == null || !progress.inProgress()) {
+            return;
+        }
+
+        markedDirtyPages.increment();
+
+        long[] lastSequence = lastMarkingCheckpointSequence.get();
+
+        long sequence = checkpointSequence;
+
+        if (lastSequence[0] != sequence) {
+            lastSequence[0] = sequence;
+
+            markingThreads.incrementAndGet();
+        }
+
+        double dirtyPagesRatio = pageMemory.dirtyPagesRatio();
+
+        long parkNanos;
+
+        if (dirtyPagesRatio >= MAX_DIRTY_PAGES_RATIO || (isPageInCheckpoint && isCheckpointBufferOverflowThreatened())) {
+            int exponent = backoffExponent.getAndIncrement();
+
+            parkNanos = (long) (STARTING_BACKOFF_PARK_NANOS * Math.pow(BACKOFF_RATIO, exponent));
+        } else {
+            if (backoffExponent.get() != 0) {
+                backoffExponent.set(0);
+            }
+
+            parkNanos = speedBasedParkNanos(progress, dirtyPagesRatio);
+        }
+
+        if (parkNanos > 0) {
+            park(Math.min(parkNanos, MAX_PARK_NANOS), dirtyPagesRatio);
+        }
+    }
+
+    /**
+     * Calculates the park time needed to keep the dirty pages ratio below the target until the end of the checkpoint.
+     *
+     * @param progress Progress of the running checkpoint.
+     * @param dirtyPagesRatio Current dirty pages ratio.
+     */
+    private long speedBasedParkNanos(CheckpointProgress progress, double dirtyPagesRatio) {
+        if (dirtyPagesRatio < MIN_DIRTY_PAGES_RATIO_TO_THROTTLE) {
+            return 0;
+        }
+
+        int checkpointPages = progress.currentCheckpointPagesCount();
+        int writtenPages = progress.writtenPagesCount();
+
+        if (writtenPages == 0 || writtenPages >= checkpointPages) {
+            // Either the checkpoint write speed is not known yet, or there is nothing left to write.
+            return 0;
+        }
+
+        // Both the dirty pages and the written pages grow since the start of the checkpoint, so the dirty pages ratio expected by the
+        // end of the checkpoint is the current ratio scaled by the remaining part of the checkpoint.
+        double projectedDirtyPagesRatio = dirtyPagesRatio * checkpointPages / writtenPages;
+
+        if (projectedDirtyPagesRatio <= TARGET_DIRTY_PAGES_RATIO) {
+            return 0;
+        }
+
+        long markedPages = markedDirtyPages.sum();
+
+        if (markedPages == 0) {
+            return 0;
+        }
+
+        // Average time between two page modifications of a single thread.
+        double threadIntervalNanos = (double) (System.nanoTime() - checkpointStartNanos) * Math.max(1, markingThreads.get()) / markedPages;
+
+        double slowdown = projectedDirtyPagesRatio / TARGET_DIRTY_PAGES_RATIO;
+
+        return (long) ((slowdown - 1) * threadIntervalNanos);
+    }
+
+    /**
+     * Returns {@code true} if the checkpoint buffer is close to overflow.
+     */
+    private boolean isCheckpointBufferOverflowThreatened() {
+        int maxPages = pageMemory.maxCheckpointBufferPages();
+
+        return maxPages > 0 && pageMemory.usedCheckpointBufferPages() > maxPages * CHECKPOINT_BUFFER_THROTTLING_THRESHOLD;
+    }
+
+    private void park(long nanos, double dirtyPagesRatio) {
+        if (throttlingLogged.compareAndSet(false, true)) {
+            LOG.warn(
+                    "Throttling is applied to page modifications [dirtyPagesRatio={}, usedCheckpointBufferPages={}, "
+                            + "maxCheckpointBufferPages={}]",
+                    dirtyPagesRatio,
+                    pageMemory.usedCheckpointBufferPages(),
+                    pageMemory.maxCheckpointBufferPages()
+            );
+        }
+
+        long start = System.nanoTime();
+
+        LockSupport.parkNanos(nanos);
+
+        parkTimeNanos.add(System.nanoTime() - start);
+        throttledOperations.increment();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onBeginCheckpoint() {
+        checkpointStartNanos = System.nanoTime();
+
+        markedDirtyPages.reset();
+        markingThreads.set(0);
+
+        checkpointSequence++;
+
+        throttlingLogged.set(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onFinishCheckpoint() {
+        backoffExponent.set(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long throttleParkTimeNanos() {
+        return parkTimeNanos.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long throttledOperationsCount() {
+        return throttledOperations.sum();
+    }
+}
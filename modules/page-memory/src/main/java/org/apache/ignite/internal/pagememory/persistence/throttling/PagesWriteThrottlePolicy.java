@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.persistence.throttling;
+
+/**
+ * Throttling policy, that slows down threads which mark pages dirty, so that the checkpoint is able to keep up with them.
+ */
+public interface PagesWriteThrottlePolicy {
+    /**
+     * Callback to apply throttling delay, invoked after a clean page has become dirty. Must be called without any page locks held.
+     *
+     * @param isPageInCheckpoint {@code True} if the page belongs to the currently running checkpoint, i.e. its previous content is
+     *      copied to the checkpoint buffer.
+     */
+    void onMarkDirty(boolean isPageInCheckpoint);
+
+    /**
+     * Callback to notify the throttle that a checkpoint has begun.
+     */
+    void onBeginCheckpoint();
+
+    /**
+     * Callback to notify the throttle that a checkpoint has finished.
+     */
+    void onFinishCheckpoint();
+
+    /**
+     * Returns total time in nanoseconds the threads have been parked by the throttle.
+     */
+    long throttleParkTimeNanos();
+
+    /**
+     * Returns total number of page modifications that have been throttled.
+     */
+    long throttledOperationsCount();
+}
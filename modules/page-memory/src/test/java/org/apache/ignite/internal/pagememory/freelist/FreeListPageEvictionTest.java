@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.freelist;
+
+import static org.apache.ignite.internal.pagememory.PageIdAllocator.FLAG_DATA;
+import static org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfigurationSchema.RANDOM_2_LRU_EVICTION_MODE;
+import static org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfigurationSchema.RANDOM_LRU_EVICTION_MODE;
+import static org.apache.ignite.internal.util.Constants.MiB;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.configuration.testframework.ConfigurationExtension;
+import org.apache.ignite.internal.configuration.testframework.InjectConfiguration;
+import org.apache.ignite.internal.pagememory.TestPageIoRegistry;
+import org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfiguration;
+import org.apache.ignite.internal.pagememory.evict.DataPageEvictionHandler;
+import org.apache.ignite.internal.pagememory.evict.PageAbstractEvictionTracker;
+import org.apache.ignite.internal.pagememory.evict.Random2LruPageEvictionTracker;
+import org.apache.ignite.internal.pagememory.evict.RandomLruPageEvictionTracker;
+import org.apache.ignite.internal.pagememory.inmemory.VolatilePageMemory;
+import org.apache.ignite.internal.pagememory.io.DataPagePayload;
+import org.apache.ignite.internal.pagememory.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagememory.util.PageLockListenerNoOp;
+import org.apache.ignite.internal.testframework.BaseIgniteAbstractTest;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * For testing the page eviction of {@link VolatilePageMemory} through an {@link AbstractFreeList}.
+ */
+@ExtendWith(ConfigurationExtension.class)
+public class FreeListPageEvictionTest extends BaseIgniteAbstractTest {
+    private static final long MAX_SIZE = 16 * MiB;
+
+    private static final int PAGE_SIZE = 1024;
+
+    private static final int ROW_SIZE = 200;
+
+    @InjectConfiguration
+    private VolatilePageMemoryDataRegionConfiguration dataRegionCfg;
+
+    @Nullable
+    private VolatilePageMemory pageMemory;
+
+    @Nullable
+    private PageAbstractEvictionTracker evictionTracker;
+
+    @Nullable
+    private AbstractFreeList<TestDataRow> freeList;
+
+    /** Links of the stored rows. */
+    private final Set<Long> storedLinks = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void afterEach() {
+        if (pageMemory != null) {
+            pageMemory.stop(true);
+        }
+
+        if (evictionTracker != null) {
+            evictionTracker.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {RANDOM_LRU_EVICTION_MODE, RANDOM_2_LRU_EVICTION_MODE})
+    void testInsertMoreThanRegionSize(String evictionMode) throws Exception {
+        start(evictionMode);
+
+        int rowsCount = (int) (4 * MAX_SIZE / ROW_SIZE);
+
+        for (int i = 0; i < rowsCount; i++) {
+            while (evictionTracker.evictionRequired()) {
+                if (!evictionTracker.evictDataPage()) {
+                    break;
+                }
+            }
+
+            TestDataRow row = new TestDataRow(ROW_SIZE);
+
+            freeList.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+            storedLinks.add(row.link());
+        }
+
+        assertThat(storedLinks.size(), greaterThan(0));
+        assertThat(storedLinks.size(), lessThan(rowsCount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {RANDOM_LRU_EVICTION_MODE, RANDOM_2_LRU_EVICTION_MODE})
+    void testBatchInsertMoreThanRegionSize(String evictionMode) throws Exception {
+        start(evictionMode);
+
+        int rowsCount = (int) (4 * MAX_SIZE / ROW_SIZE);
+
+        int batchSize = 100;
+
+        for (int i = 0; i < rowsCount; i += batchSize) {
+            List<TestDataRow> rows = new ArrayList<>(batchSize);
+
+            for (int j = 0; j < batchSize; j++) {
+                rows.add(new TestDataRow(ROW_SIZE));
+            }
+
+            freeList.insertDataRows(rows, IoStatisticsHolderNoOp.INSTANCE);
+
+            rows.forEach(row -> storedLinks.add(row.link()));
+        }
+
+        assertThat(storedLinks.size(), greaterThan(0));
+        assertThat(storedLinks.size(), lessThan(rowsCount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {RANDOM_LRU_EVICTION_MODE, RANDOM_2_LRU_EVICTION_MODE})
+    void testNothingToEvict(String evictionMode) throws Exception {
+        start(evictionMode);
+
+        // No data pages have been touched yet.
+        assertFalse(evictionTracker.evictDataPage());
+    }
+
+    private void start(String evictionMode) throws Exception {
+        dataRegionCfg.change(c -> c.changeInitSize(MAX_SIZE).changeMaxSize(MAX_SIZE).changeEvictionMode(evictionMode))
+                .get(1, TimeUnit.SECONDS);
+
+        TestPageIoRegistry ioRegistry = new TestPageIoRegistry();
+
+        ioRegistry.loadFromServiceLoader();
+
+        ioRegistry.load(TestDataPageIo.VERSIONS);
+
+        pageMemory = new VolatilePageMemory(dataRegionCfg, ioRegistry, PAGE_SIZE);
+
+        pageMemory.start();
+
+        evictionTracker = RANDOM_LRU_EVICTION_MODE.equals(evictionMode)
+                ? new RandomLruPageEvictionTracker(pageMemory, dataRegionCfg, () -> freeList.emptyDataPages(), new EvictionHandler())
+                : new Random2LruPageEvictionTracker(pageMemory, dataRegionCfg, () -> freeList.emptyDataPages(), new EvictionHandler());
+
+        evictionTracker.start();
+
+        long metaPageId = pageMemory.allocatePage(1, 1, FLAG_DATA);
+
+        freeList = new AbstractFreeList<>(
+                0,
+                1,
+                "freelist",
+                pageMemory,
+                null,
+                PageLockListenerNoOp.INSTANCE,
+                log,
+                metaPageId,
+                true,
+                null,
+                evictionTracker
+        ) {
+        };
+    }
+
+    /**
+     * Eviction handler that removes the stored rows by their links.
+     */
+    private class EvictionHandler implements DataPageEvictionHandler<Long> {
+        /** {@inheritDoc} */
+        @Override
+        public Long readRow(long link, long pageAddr, DataPagePayload payload) {
+            return link;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean evictRows(List<Long> links) throws IgniteInternalCheckedException {
+            boolean evicted = false;
+
+            for (long link : links) {
+                if (storedLinks.remove(link)) {
+                    freeList.removeDataRowByLink(link, IoStatisticsHolderNoOp.INSTANCE);
+
+                    evicted = true;
+                }
+            }
+
+            return evicted;
+        }
+    }
+}
@@ -436,6 +436,7 @@ public class PersistentPageMemoryNoLoadTest extends AbstractPageMemoryNoLoadSelf
                 null,
                 flushDirtyPageForReplacement,
                 checkpointManager == null ? mockCheckpointTimeoutLock(log, true) : checkpointManager.checkpointTimeoutLock(),
+                checkpointManager == null ? () -> null : checkpointManager::lastCheckpointProgress,
                 PAGE_SIZE
         );
     }
@@ -95,7 +95,7 @@ public class CompactorTest {
 
         when(deltaFilePageStoreIo.pageIndexes()).thenReturn(new int[]{0});
 
-        when(deltaFilePageStoreIo.readWithMergedToFilePageStoreCheck(anyLong(), anyLong(), any(ByteBuffer.class), anyBoolean()))
+        when(deltaFilePageStoreIo.readRawWithMergedToFilePageStoreCheck(anyLong(), anyLong(), any(ByteBuffer.class)))
                 .then(answer -> {
                     ByteBuffer buffer = answer.getArgument(2);
 
@@ -106,7 +106,7 @@ public class CompactorTest {
 
         compactor.mergeDeltaFileToMainFile(filePageStore, deltaFilePageStoreIo);
 
-        verify(deltaFilePageStoreIo, times(1)).readWithMergedToFilePageStoreCheck(eq(0L), eq(0L), any(ByteBuffer.class), anyBoolean());
+        verify(deltaFilePageStoreIo, times(1)).readRawWithMergedToFilePageStoreCheck(eq(0L), eq(0L), any(ByteBuffer.class));
         verify(filePageStore, times(1)).write(eq(1L), any(ByteBuffer.class), anyBoolean());
 
         verify(filePageStore, times(1)).sync();
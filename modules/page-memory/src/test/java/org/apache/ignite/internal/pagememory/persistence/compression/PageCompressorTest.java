@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.persistence.compression;
+
+import static java.nio.ByteOrder.nativeOrder;
+import static org.apache.ignite.internal.pagememory.io.PageIo.COMMON_HEADER_END;
+import static org.apache.ignite.internal.pagememory.persistence.compression.PageCompressor.DEFLATE_COMPRESSED_PAGE;
+import static org.apache.ignite.internal.util.GridUnsafe.bufferAddress;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.internal.pagememory.TestPageIoModule.TestPageIo;
+import org.apache.ignite.internal.pagememory.io.PageIo;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * For {@link PageCompressor} testing.
+ */
+public class PageCompressorTest {
+    private static final int PAGE_SIZE = 4096;
+
+    private final PageCompressor compressor = new PageCompressor(PAGE_SIZE, 1);
+
+    @Test
+    void testCompressDecompress() throws Exception {
+        ByteBuffer page = createPage(128);
+
+        ByteBuffer compressed = compressor.compressPage(page);
+
+        assertTrue(PageCompressor.isCompressed(compressed));
+        assertEquals(DEFLATE_COMPRESSED_PAGE, PageIo.getCompressionType(compressed));
+
+        assertThat(PageCompressor.compressedSize(compressed), lessThan(PAGE_SIZE / 4));
+        assertEquals(PageCompressor.compressedSize(compressed), compressed.limit());
+
+        assertEquals(PageIo.getPageId(page), PageIo.getPageId(compressed));
+
+        // Source page is untouched.
+        assertFalse(PageCompressor.isCompressed(page));
+        assertEquals(0, page.position());
+        assertEquals(PAGE_SIZE, page.limit());
+
+        ByteBuffer decompressed = ByteBuffer.allocateDirect(PAGE_SIZE).order(nativeOrder());
+
+        decompressed.put(compressed).clear();
+
+        PageCompressor.decompressPage(decompressed, PAGE_SIZE);
+
+        assertFalse(PageCompressor.isCompressed(decompressed));
+        assertEquals(page, decompressed);
+    }
+
+    @Test
+    void testIncompressiblePage() {
+        ByteBuffer page = createPage(PAGE_SIZE - COMMON_HEADER_END);
+
+        assertSame(page, compressor.compressPage(page));
+
+        assertFalse(PageCompressor.isCompressed(page));
+    }
+
+    @Test
+    void testDecompressUncompressedPage() throws Exception {
+        ByteBuffer page = createPage(128);
+
+        ByteBuffer copy = ByteBuffer.allocateDirect(PAGE_SIZE).order(nativeOrder());
+
+        copy.put(page).clear();
+        page.rewind();
+
+        PageCompressor.decompressPage(copy, PAGE_SIZE);
+
+        assertEquals(page, copy);
+    }
+
+    @Test
+    void testDecompressUnknownCompressionType() {
+        ByteBuffer page = createPage(128);
+
+        PageIo.setCompressionType(page, (byte) 100);
+
+        assertThrows(IgniteInternalCheckedException.class, () -> PageCompressor.decompressPage(page, PAGE_SIZE));
+    }
+
+    private static ByteBuffer createPage(int randomBytes) {
+        ByteBuffer page = ByteBuffer.allocateDirect(PAGE_SIZE).order(nativeOrder());
+
+        new TestPageIo().initNewPage(bufferAddress(page), 42, PAGE_SIZE);
+
+        byte[] bytes = new byte[randomBytes];
+
+        ThreadLocalRandom.current().nextBytes(bytes);
+
+        page.position(COMMON_HEADER_END).put(bytes).rewind();
+
+        return page;
+    }
+}
@@ -31,6 +31,7 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.apache.ignite.internal.pagememory.io.PageIo;
+import org.apache.ignite.internal.pagememory.persistence.compression.PageCompressor;
 import org.apache.ignite.internal.testframework.WorkDirectory;
 import org.apache.ignite.internal.testframework.WorkDirectoryExtension;
 import org.junit.jupiter.api.Test;
@@ -256,6 +257,45 @@ public abstract class AbstractFilePageStoreIoTest {
         }
     }
 
+    @Test
+    void testReadCompressedPage() throws Exception {
+        Path testFilePath = workDir.resolve("test");
+
+        try (AbstractFilePageStoreIo filePageStoreIo = createFilePageStoreIo(testFilePath)) {
+            filePageStoreIo.ensure();
+
+            long expPageId = createDataPageId(() -> 0);
+
+            ByteBuffer pageByteBuffer = createPageByteBuffer(expPageId, PAGE_SIZE);
+
+            pageByteBuffer.position(PageIo.COMMON_HEADER_END).put(randomBytes(128));
+
+            ByteBuffer compressed = new PageCompressor(PAGE_SIZE, 1).compressPage(pageByteBuffer.rewind());
+
+            assertTrue(PageCompressor.isCompressed(compressed));
+
+            filePageStoreIo.write(expPageId, compressed, true);
+
+            assertEquals(0, getCrc(compressed));
+
+            long pageOff = filePageStoreIo.pageOffset(expPageId);
+
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(PAGE_SIZE).order(pageByteBuffer.order());
+
+            filePageStoreIo.readRaw(expPageId, pageOff, readBuffer);
+
+            assertTrue(PageCompressor.isCompressed(readBuffer));
+            assertEquals(PageCompressor.compressedSize(compressed), PageCompressor.compressedSize(readBuffer));
+
+            readBuffer.rewind();
+
+            filePageStoreIo.read(expPageId, pageOff, readBuffer, false);
+
+            assertEquals(pageByteBuffer.rewind(), readBuffer.rewind());
+            assertEquals(0, getCrc(readBuffer));
+        }
+    }
+
     @Test
     void testFilePath() throws Exception {
         Path testFilePath = workDir.resolve("test");
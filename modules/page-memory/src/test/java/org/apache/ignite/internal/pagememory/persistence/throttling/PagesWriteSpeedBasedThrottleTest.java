@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagememory.persistence.throttling;
+
+import static org.apache.ignite.internal.pagememory.persistence.throttling.PagesWriteSpeedBasedThrottle.MAX_PARK_NANOS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.ignite.internal.pagememory.persistence.PersistentPageMemory;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointProgress;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * For {@link PagesWriteSpeedBasedThrottle} testing.
+ */
+public class PagesWriteSpeedBasedThrottleTest {
+    private final PersistentPageMemory pageMemory = mock(PersistentPageMemory.class);
+
+    private final CheckpointProgress progress = mock(CheckpointProgress.class);
+
+    @Nullable
+    private CheckpointProgress lastProgress;
+
+    private PagesWriteSpeedBasedThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        when(pageMemory.maxCheckpointBufferPages()).thenReturn(100);
+
+        when(progress.inProgress()).thenReturn(true);
+        when(progress.currentCheckpointPagesCount()).thenReturn(1000);
+
+        lastProgress = progress;
+
+        throttle = new PagesWriteSpeedBasedThrottle(pageMemory, () -> lastProgress);
+
+        throttle.onBeginCheckpoint();
+    }
+
+    @Test
+    void testNoThrottlingWithoutCheckpoint() {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.95);
+
+        lastProgress = null;
+
+        throttle.onMarkDirty(false);
+
+        when(progress.inProgress()).thenReturn(false);
+
+        lastProgress = progress;
+
+        throttle.onMarkDirty(false);
+
+        assertEquals(0, throttle.throttledOperationsCount());
+        assertEquals(0, throttle.throttleParkTimeNanos());
+    }
+
+    @Test
+    void testNoThrottlingWhenCheckpointKeepsUp() {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.5);
+        when(progress.writtenPagesCount()).thenReturn(900);
+
+        throttle.onMarkDirty(false);
+
+        // Too few dirty pages to throttle.
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.05);
+        when(progress.writtenPagesCount()).thenReturn(1);
+
+        throttle.onMarkDirty(false);
+
+        assertEquals(0, throttle.throttledOperationsCount());
+    }
+
+    @Test
+    void testSpeedBasedThrottling() throws Exception {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.5);
+        when(progress.writtenPagesCount()).thenReturn(100);
+
+        Thread.sleep(10);
+
+        long start = System.nanoTime();
+
+        throttle.onMarkDirty(false);
+
+        long duration = System.nanoTime() - start;
+
+        assertEquals(1, throttle.throttledOperationsCount());
+
+        assertThat(throttle.throttleParkTimeNanos(), greaterThan(0L));
+        assertThat(throttle.throttleParkTimeNanos(), lessThan(duration + 1));
+    }
+
+    @Test
+    void testParkTimeIsLimited() throws Exception {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.7);
+        when(progress.writtenPagesCount()).thenReturn(1);
+
+        Thread.sleep(100);
+
+        throttle.onMarkDirty(false);
+
+        assertEquals(1, throttle.throttledOperationsCount());
+
+        // Allow some slack for the imprecise parking.
+        assertThat(throttle.throttleParkTimeNanos(), lessThan(MAX_PARK_NANOS * 10));
+    }
+
+    @Test
+    void testBackoffOnCheckpointBufferOverflow() {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.0);
+        when(pageMemory.usedCheckpointBufferPages()).thenReturn(90);
+
+        throttle.onMarkDirty(false);
+
+        assertEquals(0, throttle.throttledOperationsCount());
+
+        throttle.onMarkDirty(true);
+        throttle.onMarkDirty(true);
+
+        assertEquals(2, throttle.throttledOperationsCount());
+
+        when(pageMemory.usedCheckpointBufferPages()).thenReturn(10);
+
+        throttle.onMarkDirty(true);
+
+        assertEquals(2, throttle.throttledOperationsCount());
+    }
+
+    @Test
+    void testBackoffOnTooManyDirtyPages() {
+        when(pageMemory.dirtyPagesRatio()).thenReturn(0.95);
+
+        throttle.onMarkDirty(false);
+
+        assertEquals(1, throttle.throttledOperationsCount());
+    }
+}
@@ -36,6 +36,14 @@ public interface CommandClosure<R extends Command> {
         return 0;
     }
 
+    /**
+     * Corresponding log term of the command. Present for write commands only.
+     * Returns {@code 0} for read commands.
+     */
+    default long term() {
+        return 0;
+    }
+
     /**
      * Returns command.
      */
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.raft.client.service;
+
+import java.util.List;
+import org.apache.ignite.internal.tostring.S;
+
+/**
+ * Configuration of a replication group committed to its log.
+ *
+ * @see RaftGroupListener#onConfigurationCommitted(CommittedConfiguration)
+ */
+public class CommittedConfiguration {
+    /** Index of the log entry the configuration has been committed at. */
+    private final long index;
+
+    /** Term of the log entry the configuration has been committed at. */
+    private final long term;
+
+    /** Consistent IDs of the peers. */
+    private final List<String> peers;
+
+    /** Consistent IDs of the learners. */
+    private final List<String> learners;
+
+    /**
+     * Constructor.
+     *
+     * @param index Index of the log entry the configuration has been committed at.
+     * @param term Term of the log entry the configuration has been committed at.
+     * @param peers Peers.
+     * @param learners Learners.
+     */
+    public CommittedConfiguration(long index, long term, List<String> peers, List<String> learners) {
+        this.index = index;
+        this.term = term;
+        this.peers = List.copyOf(peers);
+        this.learners = List.copyOf(learners);
+    }
+
+    /**
+     * Returns the index of the log entry the configuration has been committed at.
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Returns the term of the log entry the configuration has been committed at.
+     */
+    public long term() {
+        return term;
+    }
+
+    /**
+     * Returns the peers.
+     */
+    public List<String> peers() {
+        return peers;
+    }
+
+    /**
+     * Returns the learners.
+     */
+    public List<String> learners() {
+        return learners;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return S.toString(CommittedConfiguration.class, this);
+    }
+}
@@ -68,6 +68,16 @@ public interface RaftGroupListener {
      */
     boolean onSnapshotLoad(Path path);
 
+    /**
+     * Invoked when a configuration has been committed to the group, including the configuration of a loaded snapshot. The
+     * configuration is applied in the log order with the write commands.
+     *
+     * @param config Committed configuration.
+     */
+    default void onConfigurationCommitted(CommittedConfiguration config) {
+        // No-op.
+    }
+
     /**
      * Invoked once after a raft node has been shut down.
      */
@@ -3767,6 +3767,45 @@ public class ItNodeTest {
         assertTrue(res.get().isOk());
     }
 
+    /**
+     * Tests that only the leader holding a valid lease can serve reads locally, and only after applying the committed entries.
+     */
+    @Test
+    public void testLeaseReadIndex() throws Exception {
+        List<PeerId> peers = TestUtils.generatePeers(3);
+        cluster = new TestCluster("unittest", dataPath, peers, 3_000, testInfo);
+
+        for (PeerId peer : peers) {
+            RaftOptions opts = new RaftOptions();
+            opts.setElectionHeartbeatFactor(2); // Election timeout divisor.
+            opts.setReadOnlyOptions(ReadOnlyOption.ReadOnlyLeaseBased);
+            assertTrue(cluster.start(peer.getEndpoint(), false, 300, false, null, opts));
+        }
+
+        cluster.waitLeader();
+
+        NodeImpl leader = (NodeImpl) cluster.getLeader();
+        assertNotNull(leader);
+        cluster.ensureLeader(leader);
+
+        sendTestTaskAndWait(leader);
+
+        assertTrue(waitForCondition(() -> leader.leaseReadIndex() >= 0, 3_000));
+
+        for (Node follower : cluster.getFollowers()) {
+            assertEquals(-1, follower.leaseReadIndex());
+        }
+
+        // Lease expires once the leader can't reach the followers.
+        RpcClientEx rpcClientEx = sender(leader);
+
+        rpcClientEx.blockMessages((msg, nodeId) -> msg instanceof RpcRequests.AppendEntriesRequest);
+
+        assertTrue(waitForCondition(() -> leader.leaseReadIndex() < 0, 10_000));
+
+        rpcClientEx.stopBlock();
+    }
+
     /**
      * Tests propagation of HLC on heartbeat request and response.
      */
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.server;
+
+import static org.apache.ignite.internal.raft.server.RaftGroupOptions.defaults;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.raft.Loza;
+import org.apache.ignite.internal.raft.server.impl.JraftServerImpl;
+import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.network.ClusterService;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.network.StaticNodeFinder;
+import org.apache.ignite.raft.client.Peer;
+import org.apache.ignite.raft.client.service.RaftGroupService;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.option.NodeOptions;
+import org.apache.ignite.raft.jraft.rpc.impl.RaftGroupServiceImpl;
+import org.apache.ignite.raft.server.counter.CounterListener;
+import org.apache.ignite.raft.server.counter.IncrementAndGetCommand;
+import org.apache.ignite.utils.ClusterServiceTestUtils;
+import org.junit.jupiter.api.TestInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares the write latency of raft groups with and without the group affinity mode, see {@link NodeOptions#isGroupAffinity()}.
+ * Every benchmark thread writes to its own raft group, replicated to all the server nodes, from a client node.
+ */
+@State(Scope.Benchmark)
+public class RaftGroupAffinityBenchmark {
+    private static final IgniteLogger LOG = Loggers.forClass(RaftGroupAffinityBenchmark.class);
+
+    private static final int PORT = 20010;
+
+    /** Number of server nodes, every raft group has a peer on each of them. */
+    private static final int NODES = 3;
+
+    private static final RaftMessagesFactory FACTORY = new RaftMessagesFactory();
+
+    /** Group affinity mode. */
+    @Param({"false", "true"})
+    private boolean groupAffinity;
+
+    private Path dataPath;
+
+    private final List<ClusterService> serverServices = new ArrayList<>();
+
+    private final List<JraftServerImpl> servers = new ArrayList<>();
+
+    private final List<Peer> peers = new ArrayList<>();
+
+    private ClusterService clientService;
+
+    private ScheduledExecutorService executor;
+
+    private final List<String> groupIds = new ArrayList<>();
+
+    private final List<RaftGroupService> clients = new ArrayList<>();
+
+    private final AtomicInteger groupCounter = new AtomicInteger();
+
+    /**
+     * Per thread state: a client of the thread raft group.
+     */
+    @State(Scope.Thread)
+    public static class GroupState {
+        private RaftGroupService client;
+
+        /** Starts the group and its client. */
+        @Setup
+        public void setup(RaftGroupAffinityBenchmark benchmark) throws Exception {
+            client = benchmark.startGroup("counter-" + benchmark.groupCounter.incrementAndGet());
+        }
+    }
+
+    /** Starts the server and the client nodes. */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataPath = Files.createTempDirectory("raft_affinity_benchmark");
+
+        var seedAddr = new NetworkAddress("localhost", PORT);
+
+        for (int i = 0; i < NODES; i++) {
+            ClusterService service = clusterService(PORT + i, seedAddr);
+
+            var opts = new NodeOptions();
+
+            opts.setGroupAffinity(groupAffinity);
+
+            JraftServerImpl server = new JraftServerImpl(service, dataPath.resolve("node" + i), opts);
+
+            server.start();
+
+            serverServices.add(service);
+            servers.add(server);
+            peers.add(new Peer(service.topologyService().localMember().address()));
+        }
+
+        clientService = clusterService(PORT + NODES, seedAddr);
+
+        executor = new ScheduledThreadPoolExecutor(20, new NamedThreadFactory(Loza.CLIENT_POOL_NAME, LOG));
+    }
+
+    /** Stops the groups and the nodes, removes the data. */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        clients.forEach(RaftGroupService::shutdown);
+
+        for (JraftServerImpl server : servers) {
+            for (String groupId : groupIds) {
+                server.stopRaftGroup(groupId);
+            }
+
+            server.stop();
+        }
+
+        IgniteUtils.shutdownAndAwaitTermination(executor, 10, TimeUnit.SECONDS);
+
+        clientService.stop();
+
+        serverServices.forEach(ClusterService::stop);
+
+        IgniteUtils.deleteIfExists(dataPath);
+    }
+
+    private synchronized RaftGroupService startGroup(String groupId) throws Exception {
+        for (JraftServerImpl server : servers) {
+            server.startRaftGroup(groupId, new CounterListener(), peers, defaults());
+        }
+
+        groupIds.add(groupId);
+
+        // Waits for the leader election, so the writes are sent directly to the leader.
+        RaftGroupService client = RaftGroupServiceImpl.start(groupId, clientService, FACTORY, 3000, peers, true, 200,
+                executor).get(10, TimeUnit.SECONDS);
+
+        clients.add(client);
+
+        return client;
+    }
+
+    /** Applies a write command and waits for the result. */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object write(GroupState state) {
+        return state.client.run(new IncrementAndGetCommand(1)).join();
+    }
+
+    private static ClusterService clusterService(int port, NetworkAddress seedAddr) {
+        var nodeFinder = new StaticNodeFinder(List.of(seedAddr));
+
+        ClusterService service = ClusterServiceTestUtils.clusterService(new BenchmarkInfo(), port, nodeFinder);
+
+        service.start();
+
+        return service;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args args
+     * @throws RunnerException If failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RaftGroupAffinityBenchmark.class.getSimpleName())
+                .warmupIterations(1)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(10))
+                .threads(8)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Test info to name the nodes of the benchmark.
+     */
+    private static class BenchmarkInfo implements TestInfo {
+        /** {@inheritDoc} */
+        @Override
+        public String getDisplayName() {
+            return RaftGroupAffinityBenchmark.class.getSimpleName();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Set<String> getTags() {
+            return Set.of();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Optional<Class<?>> getTestClass() {
+            return Optional.of(RaftGroupAffinityBenchmark.class);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Optional<Method> getTestMethod() {
+            return Optional.empty();
+        }
+    }
+}
@@ -34,10 +34,13 @@ import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.manager.IgniteComponent;
 import org.apache.ignite.internal.raft.configuration.RaftConfiguration;
+import org.apache.ignite.internal.raft.configuration.RaftConfigurationSchema;
 import org.apache.ignite.internal.raft.server.RaftGroupEventsListener;
 import org.apache.ignite.internal.raft.server.RaftGroupOptions;
 import org.apache.ignite.internal.raft.server.RaftServer;
 import org.apache.ignite.internal.raft.server.impl.JraftServerImpl;
+import org.apache.ignite.internal.raft.server.impl.RaftMetricSource;
+import org.apache.ignite.internal.raft.storage.impl.SegmentedLogStorageFactory;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
 import org.apache.ignite.internal.util.IgniteSpinBusyLock;
 import org.apache.ignite.internal.util.IgniteUtils;
@@ -54,6 +57,7 @@ import org.apache.ignite.raft.client.service.RaftGroupService;
 import org.apache.ignite.raft.jraft.RaftMessagesFactory;
 import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.rpc.impl.RaftGroupServiceImpl;
+import org.apache.ignite.raft.jraft.storage.snapshot.ThroughputSnapshotThrottle;
 import org.apache.ignite.raft.jraft.util.Utils;
 import org.jetbrains.annotations.TestOnly;
 
@@ -79,6 +83,9 @@ public class Loza implements IgniteComponent {
     /** Retry delay. */
     private static final int DELAY = 200;
 
+    /** Number of the snapshot throughput checks per second, more frequent checks smooth out the bursts. */
+    private static final int SNAPSHOT_THROTTLE_CHECK_CYCLES = 10;
+
     /** Logger. */
     private static final IgniteLogger LOG = Loggers.forClass(Loza.class);
 
@@ -86,7 +93,10 @@ public class Loza implements IgniteComponent {
     private final ClusterService clusterNetSvc;
 
     /** Raft server. */
-    private final RaftServer raftServer;
+    private final JraftServerImpl raftServer;
+
+    /** Default options of the raft groups. */
+    private final NodeOptions opts;
 
     /** Executor for raft group services. */
     private final ScheduledExecutorService executor;
@@ -100,6 +110,9 @@ public class Loza implements IgniteComponent {
     /** Raft configuration. */
     private final RaftConfiguration raftConfiguration;
 
+    /** Data path. */
+    private final Path dataPath;
+
     /**
      * The constructor.
      *
@@ -110,12 +123,13 @@ public class Loza implements IgniteComponent {
     public Loza(ClusterService clusterNetSvc, RaftConfiguration raftConfiguration, Path dataPath, HybridClock clock) {
         this.clusterNetSvc = clusterNetSvc;
         this.raftConfiguration = raftConfiguration;
+        this.dataPath = dataPath;
 
-        NodeOptions options = new NodeOptions();
+        this.opts = new NodeOptions();
 
-        options.setClock(clock);
+        opts.setClock(clock);
 
-        this.raftServer = new JraftServerImpl(clusterNetSvc, dataPath, options);
+        this.raftServer = new JraftServerImpl(clusterNetSvc, dataPath, opts);
 
         this.executor = new ScheduledThreadPoolExecutor(CLIENT_POOL_SIZE,
                 new NamedThreadFactory(NamedThreadFactory.threadPrefix(clusterNetSvc.localConfiguration().getName(),
@@ -127,6 +141,19 @@ public class Loza implements IgniteComponent {
     /** {@inheritDoc} */
     @Override
     public void start() {
+        long snapshotThroughput = raftConfiguration.snapshotThroughput().value();
+
+        if (snapshotThroughput > 0) {
+            // The throttle is shared by all the raft groups, so the limit applies to the node as a whole.
+            opts.setSnapshotThrottle(new ThroughputSnapshotThrottle(snapshotThroughput, SNAPSHOT_THROTTLE_CHECK_CYCLES));
+        }
+
+        opts.setGroupAffinity(raftConfiguration.groupAffinity().value());
+
+        if (RaftConfigurationSchema.SEGMENTED_LOG_STORAGE.equals(raftConfiguration.logStorage().value())) {
+            raftServer.logStorageFactory(new SegmentedLogStorageFactory(dataPath.resolve("log-segments")));
+        }
+
         raftServer.start();
     }
 
@@ -144,6 +171,15 @@ public class Loza implements IgniteComponent {
         raftServer.stop();
     }
 
+    /**
+     * Returns the metric source of the Raft server.
+     *
+     * @return Metric source.
+     */
+    public RaftMetricSource metricSource() {
+        return raftServer.metricSource();
+    }
+
     /**
      * Determines whether a RAFT group should be started locally according to a collection of nodes that should have a RAFT group.
      */
@@ -344,6 +380,26 @@ public class Loza implements IgniteComponent {
         }
     }
 
+    /**
+     * Stops a raft group on the current node and destroys its log. Must be used for the groups that are no longer hosted by the node.
+     *
+     * @param groupId Raft group id.
+     * @throws NodeStoppingException If node stopping intention was detected.
+     */
+    public void destroyRaftGroup(String groupId) throws NodeStoppingException {
+        if (!busyLock.enterBusy()) {
+            throw new NodeStoppingException();
+        }
+
+        try {
+            LOG.info("Destroy raft group={}", groupId);
+
+            raftServer.destroyRaftGroup(groupId);
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /**
      * Returns messaging service.
      *
@@ -20,7 +20,10 @@ package org.apache.ignite.internal.raft.configuration;
 import org.apache.ignite.configuration.annotation.ConfigValue;
 import org.apache.ignite.configuration.annotation.ConfigurationRoot;
 import org.apache.ignite.configuration.annotation.ConfigurationType;
+import org.apache.ignite.configuration.annotation.Value;
 import org.apache.ignite.configuration.schemas.table.VolatileRaftConfigurationSchema;
+import org.apache.ignite.configuration.validation.OneOf;
+import org.apache.ignite.configuration.validation.Range;
 
 /**
  * Raft configuration schema.
@@ -28,8 +31,35 @@ import org.apache.ignite.configuration.schemas.table.VolatileRaftConfigurationSc
 @SuppressWarnings("PMD.UnusedPrivateField")
 @ConfigurationRoot(rootName = "raft", type = ConfigurationType.LOCAL)
 public class RaftConfigurationSchema {
+    /** Log storage that keeps the logs of all the persistent groups in a shared RocksDB instance. */
+    public static final String ROCKSDB_LOG_STORAGE = "rocksdb";
+
+    /** Log storage that appends the log entries of all the persistent groups to shared memory-mapped segment files. */
+    public static final String SEGMENTED_LOG_STORAGE = "segmented";
+
     /** Configuration for Raft groups corresponding to table partitions. */
     // TODO: IGNITE-16647 - Volatile RAFT configuration should be moved elsewhere
     @ConfigValue
     public VolatileRaftConfigurationSchema volatileRaft;
+
+    /**
+     * Maximum throughput of the snapshots that are sent and received by the node, in bytes per second. Limits the rebalance traffic,
+     * so it doesn't starve the foreground one. {@code 0} means unlimited.
+     */
+    @Range(min = 0)
+    @Value(hasDefault = true)
+    public long snapshotThroughput = 0;
+
+    /**
+     * Enables the group affinity mode: append entries and client write commands of a Raft group are always processed by the same
+     * thread, chosen by the same stripe index as the group disruptors, instead of any thread of the shared request pool. Read commands
+     * are still processed by the shared request pool.
+     */
+    @Value(hasDefault = true)
+    public boolean groupAffinity = false;
+
+    /** Log storage of the persistent Raft groups, either {@link #ROCKSDB_LOG_STORAGE} or {@link #SEGMENTED_LOG_STORAGE}. */
+    @OneOf({ROCKSDB_LOG_STORAGE, SEGMENTED_LOG_STORAGE})
+    @Value(hasDefault = true)
+    public String logStorage = ROCKSDB_LOG_STORAGE;
 }
@@ -37,6 +37,9 @@ public class RaftGroupOptions {
     /** Raft meta storage factory. */
     private RaftMetaStorageFactory raftMetaStorageFactory;
 
+    /** Whether linearizable reads should rely on the leader lease instead of a ReadIndex heartbeat round. */
+    private boolean leaseBasedReads;
+
     /**
      * Returns default options as defined by classic Raft (so stores are persistent).
      *
@@ -126,4 +129,22 @@ public class RaftGroupOptions {
 
         return this;
     }
+
+    /**
+     * Returns {@code true} if linearizable reads should be served by a leader holding a valid lease without a ReadIndex heartbeat
+     * round. The lease is bounded by the election timeout, so this relies on the clock drift between the nodes being small compared
+     * to it.
+     */
+    public boolean leaseBasedReads() {
+        return leaseBasedReads;
+    }
+
+    /**
+     * Sets whether linearizable reads should be served by a leader holding a valid lease without a ReadIndex heartbeat round.
+     */
+    public RaftGroupOptions leaseBasedReads(boolean leaseBasedReads) {
+        this.leaseBasedReads = leaseBasedReads;
+
+        return this;
+    }
 }
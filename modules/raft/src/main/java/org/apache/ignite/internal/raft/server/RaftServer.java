@@ -74,6 +74,14 @@ public interface RaftServer extends IgniteComponent {
      */
     boolean stopRaftGroup(String groupId);
 
+    /**
+     * Synchronously stops a raft group if any and destroys its log, for the groups that are no longer hosted by the node.
+     *
+     * @param groupId Group id.
+     * @return {@code True} if a group was successfully stopped.
+     */
+    boolean destroyRaftGroup(String groupId);
+
     /**
      * Returns a local peer.
      *
@@ -26,12 +26,14 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.raft.server.RaftGroupEventsListener;
@@ -50,6 +52,7 @@ import org.apache.ignite.raft.client.ElectionPriority;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.service.CommandClosure;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
 import org.apache.ignite.raft.client.service.RaftGroupListener;
 import org.apache.ignite.raft.jraft.Closure;
 import org.apache.ignite.raft.jraft.Iterator;
@@ -58,16 +61,22 @@ import org.apache.ignite.raft.jraft.NodeManager;
 import org.apache.ignite.raft.jraft.RaftGroupService;
 import org.apache.ignite.raft.jraft.Status;
 import org.apache.ignite.raft.jraft.conf.Configuration;
+import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
 import org.apache.ignite.raft.jraft.core.FSMCallerImpl;
 import org.apache.ignite.raft.jraft.core.NodeImpl;
 import org.apache.ignite.raft.jraft.core.ReadOnlyServiceImpl;
 import org.apache.ignite.raft.jraft.core.StateMachineAdapter;
 import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
+import org.apache.ignite.raft.jraft.entity.LogId;
 import org.apache.ignite.raft.jraft.entity.PeerId;
 import org.apache.ignite.raft.jraft.error.RaftError;
 import org.apache.ignite.raft.jraft.option.NodeOptions;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
 import org.apache.ignite.raft.jraft.rpc.impl.IgniteRpcClient;
 import org.apache.ignite.raft.jraft.rpc.impl.IgniteRpcServer;
+import org.apache.ignite.raft.jraft.rpc.impl.core.HeartbeatCoalescer;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
 import org.apache.ignite.raft.jraft.storage.impl.LogManagerImpl;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotReader;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotWriter;
@@ -89,7 +98,7 @@ public class JraftServerImpl implements RaftServer {
     private final Path dataPath;
 
     /** Log storage provider. */
-    private final LogStorageFactory logStorageFactory;
+    private LogStorageFactory logStorageFactory;
 
     /** Server instance. */
     private IgniteRpcServer rpcServer;
@@ -110,6 +119,9 @@ public class JraftServerImpl implements RaftServer {
     /** Request executor. */
     private ExecutorService requestExecutor;
 
+    /** Metric source. */
+    private final RaftMetricSource metricSource = new RaftMetricSource(groups::values);
+
     /** The number of parallel raft groups starts. */
     private static final int SIMULTANEOUS_GROUP_START_PARALLELISM = Math.min(Utils.cpus() * 3, 25);
 
@@ -134,7 +146,6 @@ public class JraftServerImpl implements RaftServer {
         this.service = service;
         this.dataPath = dataPath;
         this.nodeManager = new NodeManager();
-        this.logStorageFactory = new DefaultLogStorageFactory(dataPath.resolve("log"));
         this.opts = opts;
 
         // Auto-adjust options.
@@ -167,6 +178,15 @@ public class JraftServerImpl implements RaftServer {
         startGroupInProgressMonitors = Collections.unmodifiableList(monitors);
     }
 
+    /**
+     * Sets the log storage provider for the groups that don't have their own one. Must be called before {@link #start()}.
+     *
+     * @param logStorageFactory Log storage provider.
+     */
+    public void logStorageFactory(LogStorageFactory logStorageFactory) {
+        this.logStorageFactory = logStorageFactory;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void start() {
@@ -189,6 +209,18 @@ public class JraftServerImpl implements RaftServer {
             opts.setClientExecutor(JRaftUtils.createClientExecutor(opts, opts.getServerName()));
         }
 
+        if (opts.getHeartbeatCoalescer() == null) {
+            opts.setHeartbeatCoalescer(new HeartbeatCoalescer(
+                    new IgniteRpcClient(service),
+                    opts.getRaftMessagesFactory(),
+                    opts.getScheduler(),
+                    opts.getClientExecutor(),
+                    HeartbeatCoalescer.DEFAULT_FLUSH_INTERVAL_MS
+            ));
+        }
+
+        opts.getHeartbeatCoalescer().start();
+
         if (opts.getVoteTimer() == null) {
             opts.setVoteTimer(JRaftUtils.createTimer(opts, "JRaft-VoteTimer"));
         }
@@ -246,6 +278,11 @@ public class JraftServerImpl implements RaftServer {
                     opts.getStripes()));
         }
 
+        // The default storage is created only when it is used, so that a replaced one doesn't hold any threads.
+        if (logStorageFactory == null) {
+            logStorageFactory = new DefaultLogStorageFactory(dataPath.resolve("log"));
+        }
+
         logStorageFactory.start();
 
         rpcServer.init(null);
@@ -259,6 +296,10 @@ public class JraftServerImpl implements RaftServer {
 
         rpcServer.shutdown();
 
+        if (opts.getHeartbeatCoalescer() != null) {
+            opts.getHeartbeatCoalescer().stop();
+        }
+
         if (opts.getfSMCallerExecutorDisruptor() != null) {
             opts.getfSMCallerExecutorDisruptor().shutdown();
         }
@@ -381,14 +422,24 @@ public class JraftServerImpl implements RaftServer {
 
             nodeOptions.setSnapshotUri(serverDataPath.resolve("snapshot").toString());
 
-            nodeOptions.setFsm(new DelegatingStateMachine(lsnr));
+            nodeOptions.setFsm(new DelegatingStateMachine(lsnr, metricSource));
 
             nodeOptions.setRaftGrpEvtsLsnr(evLsnr);
 
+            if (groupOptions.leaseBasedReads()) {
+                nodeOptions.getRaftOptions().setReadOnlyOptions(ReadOnlyOption.ReadOnlyLeaseBased);
+            }
+
             LogStorageFactory logStorageFactory = groupOptions.getLogStorageFactory() == null
                     ? this.logStorageFactory : groupOptions.getLogStorageFactory();
 
-            IgniteJraftServiceFactory serviceFactory = new IgniteJraftServiceFactory(logStorageFactory);
+            IgniteJraftServiceFactory serviceFactory = new IgniteJraftServiceFactory(logStorageFactory) {
+                /** {@inheritDoc} */
+                @Override
+                public LogStorage createLogStorage(String groupId, RaftOptions raftOptions) {
+                    return new MeteredLogStorage(super.createLogStorage(groupId, raftOptions), metricSource);
+                }
+            };
 
             if (groupOptions.snapshotStorageFactory() != null) {
                 serviceFactory.setSnapshotStorageFactory(groupOptions.snapshotStorageFactory());
@@ -438,6 +489,21 @@ public class JraftServerImpl implements RaftServer {
         return stopped;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the log of the shared log storage is destroyed, groups that have their own log storage factory manage its lifecycle
+     * themselves.
+     */
+    @Override
+    public boolean destroyRaftGroup(String grpId) {
+        boolean stopped = stopRaftGroup(grpId);
+
+        logStorageFactory.destroyLogStorage(grpId);
+
+        return stopped;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Peer localPeer(String groupId) {
@@ -493,6 +559,15 @@ public class JraftServerImpl implements RaftServer {
         client.stopBlock();
     }
 
+    /**
+     * Returns the metric source of the Raft server.
+     *
+     * @return Metric source.
+     */
+    public RaftMetricSource metricSource() {
+        return metricSource;
+    }
+
     /**
      * Returns the monitor object, which can be used to synchronize start operation by group id.
      *
@@ -509,13 +584,17 @@ public class JraftServerImpl implements RaftServer {
     public static class DelegatingStateMachine extends StateMachineAdapter {
         private final RaftGroupListener listener;
 
+        private final RaftMetricSource metricSource;
+
         /**
          * Constructor.
          *
          * @param listener The listener.
+         * @param metricSource Metric source.
          */
-        DelegatingStateMachine(RaftGroupListener listener) {
+        DelegatingStateMachine(RaftGroupListener listener, RaftMetricSource metricSource) {
             this.listener = listener;
+            this.metricSource = metricSource;
         }
 
         public RaftGroupListener getListener() {
@@ -525,21 +604,52 @@ public class JraftServerImpl implements RaftServer {
         /** {@inheritDoc} */
         @Override
         public void onApply(Iterator iter) {
+            long startNanos = System.nanoTime();
+
+            int[] commands = new int[1];
+
+            // The raft iterator is advanced lazily, when the listener asks for the next command, so the listener is free to
+            // fetch several commands before completing them, e.g. to apply them to the storage in a single batch.
+            boolean[] returned = new boolean[1];
+
+            // Index of the first command returned to the listener.
+            long[] firstIndex = {-1};
+
+            // Offsets from the first index of the commands returned to the listener and not completed yet.
+            BitSet pending = new BitSet();
+
             try {
                 listener.onWrite(new java.util.Iterator<>() {
                     @Override
                     public boolean hasNext() {
+                        skipReturned();
+
                         return iter.hasNext();
                     }
 
                     @Override
                     public CommandClosure<WriteCommand> next() {
+                        skipReturned();
+
+                        returned[0] = true;
+
                         @Nullable CommandClosure<WriteCommand> done = (CommandClosure<WriteCommand>) iter.done();
                         ByteBuffer data = iter.getData();
 
                         WriteCommand command = done == null ? JDKMarshaller.DEFAULT.unmarshall(data.array()) : done.command();
 
                         long commandIndex = iter.getIndex();
+                        long commandTerm = iter.getTerm();
+
+                        if (firstIndex[0] < 0) {
+                            firstIndex[0] = commandIndex;
+                        }
+
+                        int offset = (int) (commandIndex - firstIndex[0]);
+
+                        pending.set(offset);
+
+                        commands[0]++;
 
                         return new CommandClosure<>() {
                             /** {@inheritDoc} */
@@ -548,6 +658,12 @@ public class JraftServerImpl implements RaftServer {
                                 return commandIndex;
                             }
 
+                            /** {@inheritDoc} */
+                            @Override
+                            public long term() {
+                                return commandTerm;
+                            }
+
                             /** {@inheritDoc} */
                             @Override
                             public WriteCommand command() {
@@ -557,15 +673,27 @@ public class JraftServerImpl implements RaftServer {
                             /** {@inheritDoc} */
                             @Override
                             public void result(Serializable res) {
+                                pending.clear(offset);
+
                                 if (done != null) {
                                     done.result(res);
                                 }
-
-                                iter.next();
                             }
                         };
                     }
+
+                    private void skipReturned() {
+                        if (returned[0]) {
+                            returned[0] = false;
+
+                            iter.next();
+                        }
+                    }
                 });
+
+                if (returned[0]) {
+                    iter.next();
+                }
             } catch (Exception err) {
                 Status st;
 
@@ -575,11 +703,18 @@ public class JraftServerImpl implements RaftServer {
                     st = new Status(RaftError.ESTATEMACHINE, "Unknown state machine error.");
                 }
 
-                if (iter.done() != null) {
-                    iter.done().run(st);
-                }
+                // The iterator is past the last command if the listener failed after iterating all of them.
+                long lastIndex = iter.hasNext() ? iter.getIndex() : iter.getIndex() - 1;
 
-                iter.setErrorAndRollback(1, st);
+                // The commands, starting from the first one that the listener hasn't completed, are considered as not applied, jraft
+                // fails their closures with the error.
+                int firstFailedOffset = pending.nextSetBit(0);
+
+                long firstFailedIndex = firstFailedOffset < 0 ? lastIndex : firstIndex[0] + firstFailedOffset;
+
+                iter.setErrorAndRollback(lastIndex - firstFailedIndex + 1, st);
+            } finally {
+                metricSource.onBatchApplied(commands[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
             }
         }
 
@@ -619,6 +754,17 @@ public class JraftServerImpl implements RaftServer {
             return listener.onSnapshotLoad(Path.of(reader.getPath()));
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public void onRawConfigurationCommitted(ConfigurationEntry entry) {
+            List<String> peers = entry.getConf().getPeers().stream().map(PeerId::toString).collect(Collectors.toList());
+            List<String> learners = entry.getConf().getLearners().stream().map(PeerId::toString).collect(Collectors.toList());
+
+            LogId id = entry.getId();
+
+            listener.onConfigurationCommitted(new CommittedConfiguration(id.getIndex(), id.getTerm(), peers, learners));
+        }
+
         /** {@inheritDoc} */
         @Override
         public void onShutdown() {
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.server.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+
+/**
+ * Log storage that delegates to another log storage and reports the appended entries to the {@link RaftMetricSource}.
+ */
+class MeteredLogStorage implements LogStorage {
+    /** Log storage to delegate to. */
+    private final LogStorage delegate;
+
+    /** Metric source. */
+    private final RaftMetricSource metricSource;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate Log storage to delegate to.
+     * @param metricSource Metric source.
+     */
+    MeteredLogStorage(LogStorage delegate, RaftMetricSource metricSource) {
+        this.delegate = delegate;
+        this.metricSource = metricSource;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean init(LogStorageOptions opts) {
+        return delegate.init(opts);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFirstLogIndex() {
+        return delegate.getFirstLogIndex();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getLastLogIndex() {
+        return delegate.getLastLogIndex();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LogEntry getEntry(long index) {
+        return delegate.getEntry(index);
+    }
+
+    /** {@inheritDoc} */
+    @Deprecated
+    @Override
+    public long getTerm(long index) {
+        return delegate.getTerm(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean appendEntry(LogEntry entry) {
+        if (!metricSource.enabled()) {
+            return delegate.appendEntry(entry);
+        }
+
+        long startNanos = System.nanoTime();
+
+        boolean res = delegate.appendEntry(entry);
+
+        metricSource.onLogAppended(res ? 1 : 0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int appendEntries(List<LogEntry> entries) {
+        if (!metricSource.enabled()) {
+            return delegate.appendEntries(entries);
+        }
+
+        long startNanos = System.nanoTime();
+
+        int res = delegate.appendEntries(entries);
+
+        metricSource.onLogAppended(res, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean truncatePrefix(long firstIndexKept) {
+        return delegate.truncatePrefix(firstIndexKept);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean truncateSuffix(long lastIndexKept) {
+        return delegate.truncateSuffix(lastIndexKept);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean reset(long nextLogIndex) {
+        return delegate.reset(nextLogIndex);
+    }
+}
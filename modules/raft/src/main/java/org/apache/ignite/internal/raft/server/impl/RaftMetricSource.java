@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.server.impl;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.RaftGroupService;
+
+/**
+ * Metric source of the {@link JraftServerImpl}.
+ */
+public class RaftMetricSource extends AbstractMetricSource<RaftMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "raft";
+
+    /** Supplier of the started Raft groups. */
+    private final Supplier<Collection<RaftGroupService>> groups;
+
+    /**
+     * Constructor.
+     *
+     * @param groups Supplier of the started Raft groups.
+     */
+    RaftMetricSource(Supplier<Collection<RaftGroupService>> groups) {
+        super(SOURCE_NAME);
+
+        this.groups = groups;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.intGauge("Groups", "Number of Raft groups started on the node.", () -> groups.get().size());
+        bldr.longGauge(
+                "MaxApplyLag",
+                "Maximum number of log entries written to the local log but not applied to the state machine yet, over all groups.",
+                this::maxApplyLag
+        );
+
+        bldr.register(holder.appliedCommands);
+        bldr.register(holder.applyTime);
+        bldr.register(holder.logAppendedEntries);
+        bldr.register(holder.logAppendTime);
+    }
+
+    private long maxApplyLag() {
+        long res = 0;
+
+        for (RaftGroupService group : groups.get()) {
+            Node node = group.getRaftNode();
+
+            if (node != null) {
+                res = Math.max(res, node.getApplyLag());
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Called when a batch of commands is applied to a state machine.
+     *
+     * @param commands Number of applied commands.
+     * @param applyTimeMillis Batch apply time in milliseconds.
+     */
+    void onBatchApplied(int commands, long applyTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.appliedCommands.add(commands);
+            holder.applyTime.add(applyTimeMillis);
+        }
+    }
+
+    /**
+     * Called when a batch of entries is appended to a local Raft log.
+     *
+     * @param entries Number of appended entries.
+     * @param appendTimeMillis Append time in milliseconds.
+     */
+    void onLogAppended(int entries, long appendTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.logAppendedEntries.add(entries);
+            holder.logAppendTime.add(appendTimeMillis);
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric appliedCommands = new LongAdderMetric(
+                "AppliedCommands",
+                "Number of write commands applied to the state machines of the node."
+        );
+
+        private final DistributionMetric applyTime = new DistributionMetric(
+                "ApplyTime",
+                "Distribution of the time in milliseconds spent to apply a batch of commands to a state machine.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000}
+        );
+
+        private final LongAdderMetric logAppendedEntries = new LongAdderMetric(
+                "LogAppendedEntries",
+                "Number of entries appended to the local Raft logs of the node."
+        );
+
+        private final DistributionMetric logAppendTime = new DistributionMetric(
+                "LogAppendTime",
+                "Distribution of the time in milliseconds spent to append a batch of entries to a local Raft log.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000}
+        );
+    }
+}
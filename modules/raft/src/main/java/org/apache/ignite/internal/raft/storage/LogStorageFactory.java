@@ -35,4 +35,14 @@ public interface LogStorageFactory extends AutoCloseable {
      * @return Log storage.
      */
     LogStorage createLogStorage(String uri, RaftOptions raftOptions);
+
+    /**
+     * Destroys the log storage of a group that is no longer hosted by the node, releasing the resources that are held for it. The
+     * storage must be shut down beforehand. Does nothing by default.
+     *
+     * @param uri Log storage URI.
+     */
+    default void destroyLogStorage(String uri) {
+        // No-op.
+    }
 }
@@ -54,8 +54,8 @@ public class DefaultLogStorageFactory implements LogStorageFactory {
     /** Database path. */
     private final Path path;
 
-    /** Executor for shared storages. */
-    private final ExecutorService executorService;
+    /** Executor for shared storages, created on start. */
+    private ExecutorService executorService;
 
     /** Database instance shared across log storages. */
     private RocksDB db;
@@ -76,16 +76,16 @@ public class DefaultLogStorageFactory implements LogStorageFactory {
      */
     public DefaultLogStorageFactory(Path path) {
         this.path = path;
+    }
 
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
         executorService = Executors.newFixedThreadPool(
                 Runtime.getRuntime().availableProcessors() * 2,
                 new NamedThreadFactory("raft-shared-log-storage-pool", LOG)
         );
-    }
 
-    /** {@inheritDoc} */
-    @Override
-    public void start() {
         try {
             Files.createDirectories(path);
         } catch (IOException e) {
@@ -128,7 +128,9 @@ public class DefaultLogStorageFactory implements LogStorageFactory {
     /** {@inheritDoc} */
     @Override
     public void close() throws Exception {
-        ExecutorServiceHelper.shutdownAndAwaitTermination(executorService);
+        if (executorService != null) {
+            ExecutorServiceHelper.shutdownAndAwaitTermination(executorService);
+        }
 
         IgniteUtils.closeAll(confHandle, dataHandle, db, dbOptions);
     }
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Preallocated, memory-mapped file that holds a sequence of log records of one or more raft groups.
+ *
+ * <p>Segment layout: {@code [magic: int][record]*[zeroes]}. Each record is laid out as
+ * {@code [length: int][crc: int][type: byte][group id length: short][group id][log index: long][payload]}, where {@code length}
+ * covers everything after the {@code crc} field, and {@code crc} is computed over the same bytes. A zero {@code length} marks the
+ * end of the written part of the segment.
+ *
+ * <p>Records are only appended by a single writer at a time (see {@link SegmentedLogStorageFactory}), while reads may happen
+ * concurrently from any thread.
+ */
+class SegmentFile implements AutoCloseable {
+    /** Segment file header. */
+    static final int MAGIC = 0x53454731;
+
+    /** Size of the segment header. */
+    static final int HEADER_SIZE = Integer.BYTES;
+
+    /** Size of the fixed part of a record: length, crc, type, group id length, log index. */
+    static final int RECORD_OVERHEAD = Integer.BYTES + Integer.BYTES + Byte.BYTES + Short.BYTES + Long.BYTES;
+
+    /** Offset of the payload relative to the {@code type} field, without the group id. */
+    private static final int FIXED_BODY_SIZE = Byte.BYTES + Short.BYTES + Long.BYTES;
+
+    /** {@code MappedByteBuffer#force(int, int)}, available since Java 13, {@code null} on older runtimes. */
+    @Nullable
+    private static final MethodHandle FORCE_RANGE = forceRangeHandle();
+
+    /** Segment id. */
+    private final int id;
+
+    /** Path to the segment file. */
+    private final Path path;
+
+    /** Mapped segment content. */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Position at which the next record will be written. Written under the owning factory's append lock, volatile because it is read
+     * by {@link #force()}.
+     */
+    private volatile int writePosition;
+
+    /** Position up to which the content has been flushed to the disk. Guarded by {@code this}. */
+    private int forcedPosition;
+
+    /**
+     * Constructor.
+     *
+     * @param id Segment id.
+     * @param path Path to the segment file.
+     * @param buffer Mapped segment content.
+     * @param writePosition Position at which the next record will be written.
+     */
+    private SegmentFile(int id, Path path, MappedByteBuffer buffer, int writePosition) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates and preallocates a new segment file.
+     *
+     * @param id Segment id.
+     * @param path Path to the segment file.
+     * @param size Segment size in bytes.
+     * @return New segment.
+     * @throws IOException If failed to create the file.
+     */
+    static SegmentFile create(int id, Path path, int size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+
+            MappedByteBuffer buffer = file.getChannel().map(MapMode.READ_WRITE, 0, size);
+
+            SegmentFile segment = new SegmentFile(id, path, buffer, HEADER_SIZE);
+
+            segment.buffer.putInt(0, MAGIC);
+
+            return segment;
+        }
+    }
+
+    /**
+     * Opens an existing segment file.
+     *
+     * @param id Segment id.
+     * @param path Path to the segment file.
+     * @return Opened segment, or {@code null} if the file does not contain a valid segment header.
+     * @throws IOException If failed to open the file.
+     */
+    static SegmentFile open(int id, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+
+            SegmentFile segment = new SegmentFile(id, path, buffer, HEADER_SIZE);
+
+            if (segment.buffer.getInt(0) != MAGIC) {
+                segment.close();
+
+                return null;
+            }
+
+            return segment;
+        }
+    }
+
+    /**
+     * Returns the segment id.
+     */
+    int id() {
+        return id;
+    }
+
+    /**
+     * Returns the path to the segment file.
+     */
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the number of bytes a record with the given group id and payload occupies in a segment.
+     *
+     * @param groupId Group id bytes.
+     * @param payloadSize Payload size.
+     */
+    static int recordSize(byte[] groupId, int payloadSize) {
+        return RECORD_OVERHEAD + groupId.length + payloadSize;
+    }
+
+    /**
+     * Checks whether a record of the given size fits into the remaining space of the segment.
+     *
+     * @param recordSize Record size, see {@link #recordSize(byte[], int)}.
+     */
+    boolean hasSpace(int recordSize) {
+        // Keep space for the zero length terminator, so that readers always see the end of the written data.
+        return writePosition + recordSize + Integer.BYTES <= buffer.capacity();
+    }
+
+    /**
+     * Appends a record. The caller must make sure that the record fits via {@link #hasSpace(int)}.
+     *
+     * @param type Record type.
+     * @param groupId Group id bytes.
+     * @param logIndex Log index.
+     * @param payload Record payload.
+     * @return Offset of the record in the segment.
+     */
+    int append(byte type, byte[] groupId, long logIndex, byte[] payload) {
+        int offset = writePosition;
+
+        int bodyLength = FIXED_BODY_SIZE + groupId.length + payload.length;
+
+        ByteBuffer buf = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        buf.position(offset + 2 * Integer.BYTES);
+
+        buf.put(type);
+        buf.putShort((short) groupId.length);
+        buf.put(groupId);
+        buf.putLong(logIndex);
+        buf.put(payload);
+
+        buf.position(offset + 2 * Integer.BYTES).limit(offset + 2 * Integer.BYTES + bodyLength);
+
+        CRC32 crc = new CRC32();
+
+        crc.update(buf);
+
+        buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+
+        // Length goes last: a non-zero length means that the record is complete.
+        buffer.putInt(offset, bodyLength);
+
+        writePosition = offset + 2 * Integer.BYTES + bodyLength;
+
+        return offset;
+    }
+
+    /**
+     * Reads the payload of a record. The caller must guarantee that the segment is not deleted concurrently, which is the case as
+     * long as the record is referenced by a group index and the read happens under the group lock.
+     *
+     * @param offset Record offset.
+     * @return Payload bytes.
+     */
+    byte[] readPayload(int offset) {
+        int bodyLength = buffer.getInt(offset);
+
+        int groupIdLength = buffer.getShort(offset + 2 * Integer.BYTES + Byte.BYTES);
+
+        int payloadOffset = offset + 2 * Integer.BYTES + FIXED_BODY_SIZE + groupIdLength;
+
+        byte[] payload = new byte[bodyLength - FIXED_BODY_SIZE - groupIdLength];
+
+        ByteBuffer buf = buffer.duplicate();
+
+        buf.position(payloadOffset);
+        buf.get(payload);
+
+        return payload;
+    }
+
+    /**
+     * Iterates over all complete records of the segment, stopping at the first missing or corrupted one. Sets the write position
+     * after the last valid record.
+     *
+     * @param visitor Record visitor.
+     * @return {@code true} if the segment ended cleanly, {@code false} if a corrupted record was found.
+     */
+    boolean replay(RecordVisitor visitor) {
+        ByteBuffer buf = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        int pos = HEADER_SIZE;
+
+        CRC32 crc = new CRC32();
+
+        while (pos + RECORD_OVERHEAD <= buf.capacity()) {
+            int bodyLength = buf.getInt(pos);
+
+            if (bodyLength == 0) {
+                writePosition = pos;
+
+                return true;
+            }
+
+            int bodyStart = pos + 2 * Integer.BYTES;
+
+            if (bodyLength < FIXED_BODY_SIZE || bodyStart + bodyLength > buf.capacity()) {
+                writePosition = pos;
+
+                return false;
+            }
+
+            crc.reset();
+
+            buf.limit(bodyStart + bodyLength).position(bodyStart);
+
+            crc.update(buf);
+
+            buf.limit(buf.capacity());
+
+            if ((int) crc.getValue() != buf.getInt(pos + Integer.BYTES)) {
+                writePosition = pos;
+
+                return false;
+            }
+
+            byte type = buf.get(bodyStart);
+
+            int groupIdLength = buf.getShort(bodyStart + Byte.BYTES);
+
+            byte[] groupId = new byte[groupIdLength];
+
+            buf.position(bodyStart + Byte.BYTES + Short.BYTES);
+            buf.get(groupId);
+
+            long logIndex = buf.getLong(bodyStart + Byte.BYTES + Short.BYTES + groupIdLength);
+
+            visitor.visit(type, groupId, logIndex, pos);
+
+            pos = bodyStart + bodyLength;
+        }
+
+        writePosition = pos;
+
+        return true;
+    }
+
+    /**
+     * Flushes the content of the segment written since the previous call to the disk.
+     */
+    synchronized void force() {
+        int end = writePosition;
+
+        if (end <= forcedPosition) {
+            return;
+        }
+
+        if (FORCE_RANGE == null) {
+            buffer.force();
+        } else {
+            try {
+                FORCE_RANGE.invoke(buffer, forcedPosition, end - forcedPosition);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to flush segment " + path, e);
+            }
+        }
+
+        forcedPosition = end;
+    }
+
+    /**
+     * Unmaps the segment and deletes its file.
+     *
+     * @throws IOException If failed to delete the file.
+     */
+    void delete() throws IOException {
+        close();
+
+        Files.deleteIfExists(path);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        GridUnsafe.cleanDirectBuffer(buffer);
+    }
+
+    @Nullable
+    private static MethodHandle forceRangeHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(
+                    MappedByteBuffer.class,
+                    "force",
+                    MethodType.methodType(MappedByteBuffer.class, int.class, int.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Visitor of the segment records during replay.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Visits a record.
+         *
+         * @param type Record type.
+         * @param groupId Group id bytes.
+         * @param logIndex Log index.
+         * @param offset Record offset in the segment.
+         */
+        void visit(byte type, byte[] groupId, long logIndex, int offset);
+    }
+}
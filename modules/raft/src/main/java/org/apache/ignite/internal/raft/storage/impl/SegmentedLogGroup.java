@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of the log of a single raft group stored in shared segment files.
+ *
+ * <p>Log entries of a group are kept as a sequence of runs of consecutive log indexes, every run storing a packed
+ * {@code (segment id, offset)} position per entry. Raft logs are contiguous, so a group normally has a single run, and the index
+ * costs one {@code long} per live entry. All methods are synchronized on the group instance, which also serializes reads of the
+ * segment content against the removal of segments that are no longer referenced.
+ */
+class SegmentedLogGroup {
+    /** Record type of a regular log entry. */
+    static final byte ENTRY_DATA = 1;
+
+    /** Record type of a configuration log entry. */
+    static final byte ENTRY_CONF = 2;
+
+    /** Record type of a prefix truncation, log index is the first index kept. */
+    static final byte TRUNCATE_PREFIX = 3;
+
+    /** Record type of a suffix truncation, log index is the last index kept. */
+    static final byte TRUNCATE_SUFFIX = 4;
+
+    /** Record type of a log reset, log index is the next log index. */
+    static final byte RESET = 5;
+
+    /** Record type of a group destruction, log index is not used. */
+    static final byte DESTROY = 6;
+
+    /** Initial capacity of a run. */
+    private static final int INITIAL_RUN_CAPACITY = 64;
+
+    /** Group id. */
+    private final String groupId;
+
+    /** Group id bytes, as written to the segments. */
+    private final byte[] groupIdBytes;
+
+    /** Runs of consecutive log indexes, ordered by log index. */
+    private final ArrayDeque<Run> runs = new ArrayDeque<>();
+
+    /** Indexes of the live configuration entries. */
+    private final NavigableSet<Long> confIndexes = new TreeSet<>();
+
+    /** First log index kept after the last prefix truncation or reset, {@code 0} if there were none. */
+    private long firstIndexKept;
+
+    /**
+     * Constructor.
+     *
+     * @param groupId Group id.
+     */
+    SegmentedLogGroup(String groupId) {
+        this.groupId = groupId;
+        this.groupIdBytes = groupId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the group id.
+     */
+    String groupId() {
+        return groupId;
+    }
+
+    /**
+     * Returns the group id bytes, as written to the segments.
+     */
+    byte[] groupIdBytes() {
+        return groupIdBytes;
+    }
+
+    /**
+     * Packs a segment id and an offset into a position.
+     */
+    static long position(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts a segment id from a position.
+     */
+    static int segmentId(long position) {
+        return (int) (position >>> 32);
+    }
+
+    /**
+     * Extracts an offset from a position.
+     */
+    static int offset(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Applies a record to the index. Used both when writing new records and when replaying existing segments on start.
+     *
+     * @param type Record type.
+     * @param logIndex Log index of the record.
+     * @param position Position of the record.
+     */
+    synchronized void apply(byte type, long logIndex, long position) {
+        switch (type) {
+            case ENTRY_DATA:
+            case ENTRY_CONF:
+                appendEntry(logIndex, position, type == ENTRY_CONF);
+
+                break;
+
+            case TRUNCATE_PREFIX:
+                truncatePrefix(logIndex);
+
+                break;
+
+            case TRUNCATE_SUFFIX:
+                truncateSuffix(logIndex);
+
+                break;
+
+            case RESET:
+                runs.clear();
+                confIndexes.clear();
+
+                firstIndexKept = logIndex;
+
+                break;
+
+            case DESTROY:
+                runs.clear();
+                confIndexes.clear();
+
+                firstIndexKept = 0;
+
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    private void appendEntry(long logIndex, long position, boolean conf) {
+        Run last = runs.peekLast();
+
+        if (last != null && logIndex <= last.lastIndex()) {
+            // Overwrite of the uncommitted tail.
+            truncateSuffix(logIndex - 1);
+
+            last = runs.peekLast();
+        }
+
+        if (last == null || logIndex != last.lastIndex() + 1) {
+            last = new Run(logIndex);
+
+            runs.addLast(last);
+        }
+
+        last.add(position);
+
+        if (conf) {
+            confIndexes.add(logIndex);
+        }
+    }
+
+    private void truncatePrefix(long firstIndexKept) {
+        this.firstIndexKept = Math.max(this.firstIndexKept, firstIndexKept);
+
+        while (!runs.isEmpty()) {
+            Run first = runs.peekFirst();
+
+            if (first.lastIndex() < firstIndexKept) {
+                runs.removeFirst();
+            } else {
+                first.truncatePrefix(firstIndexKept);
+
+                break;
+            }
+        }
+
+        confIndexes.headSet(firstIndexKept, false).clear();
+    }
+
+    private void truncateSuffix(long lastIndexKept) {
+        while (!runs.isEmpty()) {
+            Run last = runs.peekLast();
+
+            if (last.firstIndex() > lastIndexKept) {
+                runs.removeLast();
+            } else {
+                last.truncateSuffix(lastIndexKept);
+
+                break;
+            }
+        }
+
+        confIndexes.tailSet(lastIndexKept, false).clear();
+    }
+
+    /**
+     * Returns the first log index, following the semantics of {@link org.apache.ignite.raft.jraft.storage.LogStorage}.
+     */
+    synchronized long firstLogIndex() {
+        if (firstIndexKept != 0) {
+            return firstIndexKept;
+        }
+
+        Run first = runs.peekFirst();
+
+        return first == null ? 1 : first.firstIndex();
+    }
+
+    /**
+     * Returns the last log index, following the semantics of {@link org.apache.ignite.raft.jraft.storage.LogStorage}.
+     */
+    synchronized long lastLogIndex() {
+        Run last = runs.peekLast();
+
+        return last == null ? 0 : last.lastIndex();
+    }
+
+    /**
+     * Returns the first index kept after the last prefix truncation or reset, {@code 0} if there were none.
+     */
+    synchronized long firstIndexKept() {
+        return firstIndexKept;
+    }
+
+    /**
+     * Returns the id of the oldest segment that contains live entries of the group, or {@link Integer#MAX_VALUE} if there are none.
+     */
+    synchronized int minSegmentId() {
+        Run first = runs.peekFirst();
+
+        return first == null ? Integer.MAX_VALUE : segmentId(first.positions[first.head]);
+    }
+
+    /**
+     * Returns indexes of the live configuration entries.
+     */
+    synchronized long[] confIndexes() {
+        return confIndexes.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Reads the payload of a log entry.
+     *
+     * @param logIndex Log index.
+     * @param segments Segment lookup.
+     * @return Payload or {@code null} if there's no such entry.
+     */
+    synchronized byte[] read(long logIndex, SegmentLookup segments) {
+        if (logIndex < firstIndexKept) {
+            return null;
+        }
+
+        for (Iterator<Run> it = runs.descendingIterator(); it.hasNext(); ) {
+            Run run = it.next();
+
+            if (logIndex > run.lastIndex()) {
+                return null;
+            }
+
+            if (logIndex >= run.firstIndex()) {
+                long position = run.positions[run.head + (int) (logIndex - run.firstIndex())];
+
+                SegmentFile segment = segments.segment(segmentId(position));
+
+                assert segment != null : "Segment is missing [group=" + groupId + ", index=" + logIndex + ']';
+
+                return segment.readPayload(offset(position));
+            }
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "SegmentedLogGroup [groupId=" + groupId + ']';
+    }
+
+    /**
+     * Lookup of a segment by its id.
+     */
+    @FunctionalInterface
+    interface SegmentLookup {
+        /**
+         * Returns the segment with the given id, {@code null} if it doesn't exist.
+         */
+        SegmentFile segment(int segmentId);
+    }
+
+    /**
+     * Run of consecutive log indexes.
+     */
+    private static class Run {
+        /** Log index of the element {@code positions[0]}. */
+        private long baseIndex;
+
+        /** Packed entry positions. */
+        private long[] positions = new long[INITIAL_RUN_CAPACITY];
+
+        /** Index of the first live element in {@link #positions}. */
+        private int head;
+
+        /** Index after the last live element in {@link #positions}. */
+        private int tail;
+
+        Run(long firstIndex) {
+            this.baseIndex = firstIndex;
+        }
+
+        long firstIndex() {
+            return baseIndex + head;
+        }
+
+        long lastIndex() {
+            return baseIndex + tail - 1;
+        }
+
+        void add(long position) {
+            if (tail == positions.length) {
+                if (head >= positions.length / 2) {
+                    // Reclaim the space freed by prefix truncations before growing.
+                    System.arraycopy(positions, head, positions, 0, tail - head);
+
+                    baseIndex += head;
+                    tail -= head;
+                    head = 0;
+                } else {
+                    positions = Arrays.copyOf(positions, positions.length * 2);
+                }
+            }
+
+            positions[tail++] = position;
+        }
+
+        void truncatePrefix(long firstIndexKept) {
+            if (firstIndexKept > firstIndex()) {
+                head = (int) (firstIndexKept - baseIndex);
+            }
+        }
+
+        void truncateSuffix(long lastIndexKept) {
+            if (lastIndexKept < lastIndex()) {
+                tail = (int) (lastIndexKept - baseIndex + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.raft.jraft.conf.Configuration;
+import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
+import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.entity.EnumOutter;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.entity.LogId;
+import org.apache.ignite.raft.jraft.entity.codec.LogEntryDecoder;
+import org.apache.ignite.raft.jraft.entity.codec.LogEntryEncoder;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.util.BytesUtil;
+import org.apache.ignite.raft.jraft.util.Describer;
+import org.apache.ignite.raft.jraft.util.Requires;
+
+/**
+ * Log storage that keeps entries in segment files shared with other log storages, see {@link SegmentedLogStorageFactory}.
+ */
+public class SegmentedLogStorage implements LogStorage, Describer {
+    /** Logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(SegmentedLogStorage.class);
+
+    /** Factory that owns the segments. */
+    private final SegmentedLogStorageFactory factory;
+
+    /** Index of the group. */
+    private final SegmentedLogGroup group;
+
+    /** Whether to flush every write to the disk. */
+    private final boolean sync;
+
+    /** RW lock. */
+    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+    /** Storage use lock. Non-exclusive. */
+    private final Lock useLock = readWriteLock.readLock();
+
+    /** Storage manage lock. Exclusive. */
+    private final Lock manageLock = readWriteLock.writeLock();
+
+    /** Flag indicating whether storage is stopped. Guarded by readWriteLock. */
+    private boolean stopped;
+
+    /** Log entry encoder. */
+    private LogEntryEncoder logEntryEncoder;
+
+    /** Log entry decoder. */
+    private LogEntryDecoder logEntryDecoder;
+
+    /** Constructor. */
+    SegmentedLogStorage(SegmentedLogStorageFactory factory, SegmentedLogGroup group, RaftOptions raftOptions) {
+        Requires.requireNonNull(factory);
+        Requires.requireNonNull(group);
+
+        Requires.requireTrue(
+                group.groupIdBytes().length <= Short.MAX_VALUE,
+                "Raft group id " + group.groupId() + " is too long"
+        );
+
+        this.factory = factory;
+        this.group = group;
+        this.sync = raftOptions.isSync();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean init(LogStorageOptions opts) {
+        Requires.requireNonNull(opts.getConfigurationManager(), "Null conf manager");
+        Requires.requireNonNull(opts.getLogEntryCodecFactory(), "Null log entry codec factory");
+
+        manageLock.lock();
+
+        try {
+            logEntryDecoder = opts.getLogEntryCodecFactory().decoder();
+            logEntryEncoder = opts.getLogEntryCodecFactory().encoder();
+
+            Requires.requireNonNull(logEntryDecoder, "Null log entry decoder");
+            Requires.requireNonNull(logEntryEncoder, "Null log entry encoder");
+
+            stopped = false;
+
+            loadConfiguration(opts.getConfigurationManager());
+
+            return true;
+        } finally {
+            manageLock.unlock();
+        }
+    }
+
+    private void loadConfiguration(ConfigurationManager confManager) {
+        for (long index : group.confIndexes()) {
+            LogEntry entry = readEntry(index);
+
+            if (entry == null) {
+                continue;
+            }
+
+            ConfigurationEntry confEntry = new ConfigurationEntry();
+            confEntry.setId(new LogId(entry.getId().getIndex(), entry.getId().getTerm()));
+            confEntry.setConf(new Configuration(entry.getPeers(), entry.getLearners()));
+
+            if (entry.getOldPeers() != null) {
+                confEntry.setOldConf(new Configuration(entry.getOldPeers(), entry.getOldLearners()));
+            }
+
+            confManager.add(confEntry);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void shutdown() {
+        manageLock.lock();
+
+        try {
+            stopped = true;
+        } finally {
+            manageLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFirstLogIndex() {
+        return group.firstLogIndex();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getLastLogIndex() {
+        return group.lastLogIndex();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LogEntry getEntry(long index) {
+        useLock.lock();
+
+        try {
+            return readEntry(index);
+        } finally {
+            useLock.unlock();
+        }
+    }
+
+    private LogEntry readEntry(long index) {
+        byte[] bs = group.read(index, factory::segment);
+
+        if (bs == null) {
+            return null;
+        }
+
+        LogEntry entry = logEntryDecoder.decode(bs);
+
+        if (entry == null) {
+            LOG.error("Bad log entry format for index={}, the log data is: {}.", index, BytesUtil.toHex(bs));
+        }
+
+        return entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getTerm(long index) {
+        LogEntry entry = getEntry(index);
+
+        if (entry != null) {
+            return entry.getId().getTerm();
+        }
+
+        return 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean appendEntry(LogEntry entry) {
+        return appendEntries(List.of(entry)) == 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int appendEntries(List<LogEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+
+        int count = entries.size();
+
+        byte[] types = new byte[count];
+        long[] logIndexes = new long[count];
+        byte[][] payloads = new byte[count][];
+
+        for (int i = 0; i < count; i++) {
+            LogEntry entry = entries.get(i);
+
+            types[i] = recordType(entry);
+            logIndexes[i] = entry.getId().getIndex();
+            payloads[i] = logEntryEncoder.encode(entry);
+        }
+
+        useLock.lock();
+
+        try {
+            if (stopped) {
+                LOG.warn("Storage stopped.");
+
+                return 0;
+            }
+
+            factory.appendEntries(group, types, logIndexes, payloads, sync);
+
+            return count;
+        } catch (Exception e) {
+            LOG.error("Fail to append entries.", e);
+
+            return 0;
+        } finally {
+            useLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean truncatePrefix(long firstIndexKept) {
+        return appendCommand(SegmentedLogGroup.TRUNCATE_PREFIX, firstIndexKept);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean truncateSuffix(long lastIndexKept) {
+        return appendCommand(SegmentedLogGroup.TRUNCATE_SUFFIX, lastIndexKept);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean reset(long nextLogIndex) {
+        if (nextLogIndex <= 0) {
+            throw new IllegalArgumentException("Invalid next log index.");
+        }
+
+        manageLock.lock();
+
+        try {
+            LogEntry entry = readEntry(nextLogIndex);
+
+            factory.appendCommand(group, SegmentedLogGroup.RESET, nextLogIndex, sync);
+
+            if (entry == null) {
+                entry = new LogEntry();
+                entry.setType(EnumOutter.EntryType.ENTRY_TYPE_NO_OP);
+                entry.setId(new LogId(nextLogIndex, 0));
+
+                LOG.warn("Entry not found for nextLogIndex {} when reset.", nextLogIndex);
+            }
+
+            factory.appendEntries(
+                    group,
+                    new byte[] {recordType(entry)},
+                    new long[] {nextLogIndex},
+                    new byte[][] {logEntryEncoder.encode(entry)},
+                    sync
+            );
+
+            return true;
+        } catch (Exception e) {
+            LOG.error("Fail to reset next log index.", e);
+
+            return false;
+        } finally {
+            manageLock.unlock();
+        }
+    }
+
+    private static byte recordType(LogEntry entry) {
+        return entry.getType() == EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION
+                ? SegmentedLogGroup.ENTRY_CONF
+                : SegmentedLogGroup.ENTRY_DATA;
+    }
+
+    private boolean appendCommand(byte type, long logIndex) {
+        useLock.lock();
+
+        try {
+            if (stopped) {
+                LOG.warn("Storage stopped.");
+
+                return false;
+            }
+
+            factory.appendCommand(group, type, logIndex, sync);
+
+            return true;
+        } catch (Exception e) {
+            LOG.error("Fail to truncate log [type={}, index={}].", e, type, logIndex);
+
+            return false;
+        } finally {
+            useLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void describe(Printer out) {
+        out.print("  firstLogIndex: ")
+                .println(getFirstLogIndex())
+                .print("  lastLogIndex: ")
+                .println(getLastLogIndex())
+                .print("  segments: ")
+                .println(factory.segmentCount());
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.raft.storage.LogStorageFactory;
+import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.util.ExecutorServiceHelper;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implementation of the {@link LogStorageFactory} that creates {@link SegmentedLogStorage}s.
+ *
+ * <p>Log entries of all raft groups are appended to a shared sequence of preallocated, memory-mapped segment files, see
+ * {@link SegmentFile}. Every group keeps an in-memory index of its entries ({@link SegmentedLogGroup}), which is rebuilt by
+ * replaying the segments on start. Truncations and resets are written as records too, so that the replay reproduces the state of
+ * every group.
+ *
+ * <p>There's no compaction: a segment is deleted as a whole once it is older than the segment being written to, and no group
+ * references live entries in it. To make older segments unnecessary for the replay, every new segment starts with a prefix
+ * truncation record for each group that has been truncated or reset. A destroyed group is removed by a destruction record, after which
+ * it doesn't hold any segments.
+ */
+public class SegmentedLogStorageFactory implements LogStorageFactory {
+    private static final IgniteLogger LOG = Loggers.forClass(SegmentedLogStorageFactory.class);
+
+    /** Default segment size in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /** Segment file name suffix. */
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+
+    /** Storage path. */
+    private final Path path;
+
+    /** Segment size in bytes. */
+    private final int segmentSize;
+
+    /** Executor for segment preallocation and removal. */
+    private final ExecutorService executorService;
+
+    /** Segments by id. */
+    private final ConcurrentSkipListMap<Integer, SegmentFile> segments = new ConcurrentSkipListMap<>();
+
+    /** Groups by id, including the groups that have only been recovered from the segments and have no storage yet. */
+    private final ConcurrentMap<String, SegmentedLogGroup> groups = new ConcurrentHashMap<>();
+
+    /** Lock that serializes appends to the current segment. */
+    private final Lock appendLock = new ReentrantLock();
+
+    /** Lock that prevents segments from being unmapped while they are flushed. */
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+
+    /** Segment being written to. Guarded by {@link #appendLock}. */
+    private SegmentFile currentSegment;
+
+    /** Preallocated next segment. Guarded by {@link #appendLock}. */
+    private CompletableFuture<SegmentFile> nextSegmentFuture;
+
+    /**
+     * Constructor.
+     *
+     * @param path Path to the storage.
+     */
+    public SegmentedLogStorageFactory(Path path) {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param path Path to the storage.
+     * @param segmentSize Segment size in bytes.
+     */
+    public SegmentedLogStorageFactory(Path path, int segmentSize) {
+        this.path = path;
+        this.segmentSize = segmentSize;
+
+        executorService = Executors.newSingleThreadExecutor(new NamedThreadFactory("raft-segmented-log-storage-pool", LOG));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(path);
+
+            recover();
+
+            int nextId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+            appendLock.lock();
+
+            try {
+                switchSegment(createSegment(nextId, segmentSize));
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new IgniteInternalException("Failed to start segmented log storage: " + path, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws Exception {
+        ExecutorServiceHelper.shutdownAndAwaitTermination(executorService);
+
+        segmentsLock.writeLock().lock();
+
+        try {
+            if (nextSegmentFuture != null && nextSegmentFuture.isDone() && !nextSegmentFuture.isCompletedExceptionally()) {
+                nextSegmentFuture.join().delete();
+            }
+
+            for (SegmentFile segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+
+            segments.clear();
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LogStorage createLogStorage(String groupId, RaftOptions raftOptions) {
+        return new SegmentedLogStorage(this, groups.computeIfAbsent(groupId, SegmentedLogGroup::new), raftOptions);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void destroyLogStorage(String uri) {
+        SegmentedLogGroup group = groups.get(uri);
+
+        if (group == null) {
+            return;
+        }
+
+        SegmentFile segment;
+
+        appendLock.lock();
+
+        try {
+            segment = write(group, SegmentedLogGroup.DESTROY, 0, new byte[0]);
+
+            // Removed under the lock, so that the state of the group is not written to the next segments.
+            groups.remove(uri);
+        } finally {
+            appendLock.unlock();
+        }
+
+        // A lost destruction record would bring the stale entries back to a group that is created again under the same id.
+        force(List.of(segment));
+
+        executorService.execute(this::removeUnusedSegments);
+    }
+
+    /**
+     * Replays the existing segments, rebuilding the group indexes.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+
+        try (Stream<Path> stream = Files.list(path)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(SEGMENT_FILE_SUFFIX)).sorted().collect(toList());
+        }
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+
+            int id;
+
+            try {
+                id = Integer.parseInt(fileName.substring(0, fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                LOG.warn("Unexpected file in the log storage directory, skipping: {}", file);
+
+                continue;
+            }
+
+            SegmentFile segment = SegmentFile.open(id, file);
+
+            if (segment == null) {
+                // Segment creation has been interrupted before the header was written.
+                Files.delete(file);
+            } else {
+                segments.put(id, segment);
+            }
+        }
+
+        for (SegmentFile segment : segments.values()) {
+            boolean clean = segment.replay((type, groupIdBytes, logIndex, offset) -> {
+                String groupId = new String(groupIdBytes, UTF_8);
+
+                if (type == SegmentedLogGroup.DESTROY) {
+                    groups.remove(groupId);
+
+                    return;
+                }
+
+                SegmentedLogGroup group = groups.computeIfAbsent(groupId, SegmentedLogGroup::new);
+
+                group.apply(type, logIndex, SegmentedLogGroup.position(segment.id(), offset));
+            });
+
+            if (!clean) {
+                LOG.warn("Corrupted record found, the rest of the segment is ignored [segment={}]", segment.path());
+            }
+        }
+    }
+
+    /**
+     * Appends log entries of a group.
+     *
+     * @param group Group.
+     * @param types Record types.
+     * @param logIndexes Log indexes.
+     * @param payloads Encoded entries.
+     * @param sync Whether to flush the written data to the disk.
+     */
+    void appendEntries(SegmentedLogGroup group, byte[] types, long[] logIndexes, byte[][] payloads, boolean sync) {
+        List<SegmentFile> written = new ArrayList<>(1);
+
+        appendLock.lock();
+
+        try {
+            for (int i = 0; i < payloads.length; i++) {
+                SegmentFile segment = write(group, types[i], logIndexes[i], payloads[i]);
+
+                if (written.isEmpty() || written.get(written.size() - 1) != segment) {
+                    written.add(segment);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (sync) {
+            force(written);
+        }
+    }
+
+    /**
+     * Appends a truncation or reset record of a group.
+     *
+     * @param group Group.
+     * @param type Record type.
+     * @param logIndex Log index.
+     * @param sync Whether to flush the written data to the disk.
+     */
+    void appendCommand(SegmentedLogGroup group, byte type, long logIndex, boolean sync) {
+        SegmentFile segment;
+
+        appendLock.lock();
+
+        try {
+            segment = write(group, type, logIndex, new byte[0]);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (sync) {
+            force(List.of(segment));
+        }
+
+        if (type != SegmentedLogGroup.TRUNCATE_SUFFIX) {
+            executorService.execute(this::removeUnusedSegments);
+        }
+    }
+
+    /**
+     * Writes a record and applies it to the group index. Must be called under the {@link #appendLock}.
+     *
+     * @return Segment the record has been written to.
+     */
+    private SegmentFile write(SegmentedLogGroup group, byte type, long logIndex, byte[] payload) {
+        int recordSize = SegmentFile.recordSize(group.groupIdBytes(), payload.length);
+
+        if (!currentSegment.hasSpace(recordSize)) {
+            rollOver(recordSize);
+        }
+
+        int offset = currentSegment.append(type, group.groupIdBytes(), logIndex, payload);
+
+        group.apply(type, logIndex, SegmentedLogGroup.position(currentSegment.id(), offset));
+
+        return currentSegment;
+    }
+
+    /**
+     * Switches to the next segment. Must be called under the {@link #appendLock}.
+     *
+     * @param recordSize Size of the record that must fit into the next segment.
+     */
+    private void rollOver(int recordSize) {
+        int minSize = SegmentFile.HEADER_SIZE + statesSize() + recordSize + Integer.BYTES;
+
+        try {
+            SegmentFile nextSegment = nextSegmentFuture.join();
+
+            if (!nextSegment.hasSpace(statesSize() + recordSize)) {
+                // Record is too large for a regular segment, allocate a dedicated one under the same id.
+                nextSegment.delete();
+
+                nextSegment = createSegment(nextSegment.id(), Math.max(segmentSize, minSize));
+            }
+
+            switchSegment(nextSegment);
+        } catch (IOException e) {
+            throw new IgniteInternalException("Failed to allocate a new log segment", e);
+        }
+
+        executorService.execute(this::removeUnusedSegments);
+    }
+
+    /**
+     * Makes the segment current, writes the group states to it and starts preallocation of the next one. Must be called under the
+     * {@link #appendLock}.
+     */
+    private void switchSegment(SegmentFile segment) {
+        if (!segment.hasSpace(statesSize())) {
+            throw new IgniteInternalException("Log segment is too small to fit the states of all groups: " + segmentSize);
+        }
+
+        segments.put(segment.id(), segment);
+
+        currentSegment = segment;
+
+        for (SegmentedLogGroup group : groups.values()) {
+            long firstIndexKept = group.firstIndexKept();
+
+            if (firstIndexKept != 0) {
+                write(group, SegmentedLogGroup.TRUNCATE_PREFIX, firstIndexKept, new byte[0]);
+            }
+        }
+
+        int nextId = segment.id() + 1;
+
+        nextSegmentFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return createSegment(nextId, segmentSize);
+            } catch (IOException e) {
+                throw new IgniteInternalException("Failed to preallocate a log segment", e);
+            }
+        }, executorService);
+    }
+
+    /**
+     * Returns the total size of the group state records written at the start of every segment.
+     */
+    private int statesSize() {
+        int size = 0;
+
+        for (SegmentedLogGroup group : groups.values()) {
+            size += SegmentFile.recordSize(group.groupIdBytes(), 0);
+        }
+
+        return size;
+    }
+
+    private SegmentFile createSegment(int id, int size) throws IOException {
+        return SegmentFile.create(id, path.resolve(String.format("%010d", id) + SEGMENT_FILE_SUFFIX), size);
+    }
+
+    private void force(List<SegmentFile> written) {
+        segmentsLock.readLock().lock();
+
+        try {
+            for (SegmentFile segment : written) {
+                // Segment may have been removed concurrently, in which case there's nothing to flush.
+                if (segments.get(segment.id()) == segment) {
+                    segment.force();
+                }
+            }
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments that precede the current one and don't contain live entries of any group.
+     */
+    private void removeUnusedSegments() {
+        int minSegmentId;
+
+        appendLock.lock();
+
+        try {
+            minSegmentId = currentSegment.id();
+        } finally {
+            appendLock.unlock();
+        }
+
+        for (SegmentedLogGroup group : groups.values()) {
+            minSegmentId = Math.min(minSegmentId, group.minSegmentId());
+        }
+
+        Map<Integer, SegmentFile> unused = segments.headMap(minSegmentId);
+
+        if (unused.isEmpty()) {
+            return;
+        }
+
+        segmentsLock.writeLock().lock();
+
+        try {
+            for (SegmentFile segment : new ArrayList<>(unused.values())) {
+                segments.remove(segment.id());
+
+                segment.delete();
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to delete a log segment.", e);
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the segment with the given id, {@code null} if it doesn't exist.
+     */
+    @Nullable SegmentFile segment(int segmentId) {
+        return segments.get(segmentId);
+    }
+
+    /**
+     * Returns the number of segment files, including the current one.
+     */
+    int segmentCount() {
+        return segments.size();
+    }
+}
@@ -39,6 +39,7 @@ import org.apache.ignite.raft.jraft.util.ThreadPoolUtil;
 import org.apache.ignite.raft.jraft.util.Utils;
 import org.apache.ignite.raft.jraft.util.concurrent.DefaultFixedThreadsExecutorGroupFactory;
 import org.apache.ignite.raft.jraft.util.concurrent.FixedThreadsExecutorGroup;
+import org.apache.ignite.raft.jraft.util.concurrent.SingleThreadExecutor;
 import org.apache.ignite.raft.jraft.util.timer.DefaultTimer;
 import org.apache.ignite.raft.jraft.util.timer.Timer;
 
@@ -107,12 +108,29 @@ public final class JRaftUtils {
      * @return The executor.
      */
     public static FixedThreadsExecutorGroup createAppendEntriesExecutor(NodeOptions opts) {
+        // In the group affinity mode a raft group is served by the executor with the same index as its disruptor stripes.
+        int threads = opts.isGroupAffinity() ? opts.getStripes() : Utils.APPEND_ENTRIES_THREADS_POOL_SIZE;
+
         return createStripedExecutor(
             NamedThreadFactory.threadPrefix(opts.getServerName(), "JRaft-AppendEntries-Processor"),
-            Utils.APPEND_ENTRIES_THREADS_POOL_SIZE, Utils.MAX_APPEND_ENTRIES_TASKS_PER_THREAD
+            threads, Utils.MAX_APPEND_ENTRIES_TASKS_PER_THREAD
         );
     }
 
+    /**
+     * Returns the executor of the striped executor group that serves a raft group in the group affinity mode.
+     *
+     * @param opts Node options.
+     * @param groupId Group id.
+     * @return The executor.
+     * @see NodeOptions#isGroupAffinity()
+     */
+    public static SingleThreadExecutor groupAffinityExecutor(NodeOptions opts, String groupId) {
+        assert opts.isGroupAffinity();
+
+        return opts.getStripedExecutor().select(Utils.stripe(groupId, opts.getStripes()));
+    }
+
     /**
      * @param opts Node options.
      * @return The executor.
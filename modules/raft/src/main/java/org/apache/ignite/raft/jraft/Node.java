@@ -316,4 +316,20 @@ public interface Node extends Lifecycle<NodeOptions>, Describer {
      * @return node's current term.
      */
     long getCurrentTerm();
+
+    /**
+     * Returns the index at which a linearizable read can be served locally, without a ReadIndex heartbeat round. This is only
+     * possible if the node uses {@link org.apache.ignite.raft.jraft.option.ReadOnlyOption#ReadOnlyLeaseBased} reads, is the
+     * leader holding a valid lease, has committed an entry in its term, and has applied all the committed entries.
+     *
+     * @return The last committed index, or {@code -1} if a local read is not possible and {@link #readIndex} must be used.
+     */
+    long leaseReadIndex();
+
+    /**
+     * Returns the number of log entries that have been written to the local log but not applied to the state machine yet.
+     *
+     * @return Apply lag.
+     */
+    long getApplyLag();
 }
@@ -17,6 +17,7 @@
 package org.apache.ignite.raft.jraft;
 
 import org.apache.ignite.raft.jraft.conf.Configuration;
+import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
 import org.apache.ignite.raft.jraft.entity.LeaderChangeContext;
 import org.apache.ignite.raft.jraft.error.RaftException;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotReader;
@@ -96,6 +97,16 @@ public interface StateMachine {
      */
     void onConfigurationCommitted(final Configuration conf);
 
+    /**
+     * Invoked when a configuration has been committed to the group, along with the id of the log entry the configuration has been
+     * committed at. Calls {@link #onConfigurationCommitted(Configuration)} by default.
+     *
+     * @param entry committed configuration entry, its old configuration is always empty
+     */
+    default void onRawConfigurationCommitted(final ConfigurationEntry entry) {
+        onConfigurationCommitted(entry.getConf());
+    }
+
     /**
      * This method is called when a follower stops following a leader and its leaderId becomes null, situations
      * including: 1. handle election timeout and start preVote 2. receive requests with higher term such as VoteRequest
@@ -496,7 +496,11 @@ public class FSMCallerImpl implements FSMCaller {
                     if (logEntry.getType() == EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION) {
                         if (logEntry.getOldPeers() != null && !logEntry.getOldPeers().isEmpty()) {
                             // Joint stage is not supposed to be noticeable by end users.
-                            this.fsm.onConfigurationCommitted(new Configuration(iterImpl.entry().getPeers()));
+                            this.fsm.onRawConfigurationCommitted(new ConfigurationEntry(
+                                logEntry.getId().copy(),
+                                new Configuration(logEntry.getPeers(), logEntry.getLearners()),
+                                new Configuration()
+                            ));
                         }
                     }
                     if (iterImpl.done() != null) {
@@ -669,7 +673,18 @@ public class FSMCallerImpl implements FSMCaller {
                     conf.addPeer(peer);
                 }
             }
-            this.fsm.onConfigurationCommitted(conf);
+            if (meta.learnersList() != null) {
+                for (String metaLearner : meta.learnersList()) {
+                    final PeerId learner = new PeerId();
+                    Requires.requireTrue(learner.parse(metaLearner), "Parse learner failed");
+                    conf.addLearner(learner);
+                }
+            }
+            this.fsm.onRawConfigurationCommitted(new ConfigurationEntry(
+                new LogId(meta.lastIncludedIndex(), meta.lastIncludedTerm()),
+                conf,
+                new Configuration()
+            ));
         }
         this.lastAppliedIndex.set(meta.lastIncludedIndex());
         this.lastAppliedTerm = meta.lastIncludedTerm();
@@ -1898,6 +1898,36 @@ public class NodeImpl implements Node, RaftServerService {
         }
     }
 
+    @Override
+    public long leaseReadIndex() {
+        if (this.raftOptions.getReadOnlyOptions() != ReadOnlyOption.ReadOnlyLeaseBased) {
+            return -1;
+        }
+
+        this.readLock.lock();
+        try {
+            if (this.state != State.STATE_LEADER || !isLeaderLeaseValid()) {
+                return -1;
+            }
+
+            final long lastCommittedIndex = this.ballotBox.getLastCommittedIndex();
+
+            // Same as in readLeader: entries committed by the previous leaders may not be known as committed yet.
+            if (this.logManager.getTerm(lastCommittedIndex) != this.currTerm) {
+                return -1;
+            }
+
+            if (this.fsmCaller.getLastAppliedIndex() < lastCommittedIndex) {
+                return -1;
+            }
+
+            return lastCommittedIndex;
+        }
+        finally {
+            this.readLock.unlock();
+        }
+    }
+
     // in read_lock
     private boolean isLeaderLeaseValid() {
         final long monotonicNowMs = Utils.monotonicMs();
@@ -2651,6 +2681,18 @@ public class NodeImpl implements Node, RaftServerService {
         return this.raftOptions;
     }
 
+    @Override
+    public long getApplyLag() {
+        final LogManager logManager = this.logManager;
+        final FSMCaller fsmCaller = this.fsmCaller;
+
+        if (logManager == null || fsmCaller == null) {
+            return 0;
+        }
+
+        return Math.max(0, logManager.getLastLogIndex() - fsmCaller.getLastAppliedIndex());
+    }
+
     @Override
     public long getCurrentTerm() {
         this.readLock.lock();
@@ -31,6 +31,7 @@ import java.util.function.BiConsumer;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.raft.jraft.util.Utils;
 
 /**
  * Stripe Disruptor is a set of queues which process several independent groups in one queue (in the stripe).
@@ -160,7 +161,7 @@ public class StripedDisruptor<T extends GroupAware> {
      * @return Stripe of the Striped disruptor.
      */
     private int getStripe(String group) {
-        return Math.abs(group.hashCode() % stripes);
+        return Utils.stripe(group, stripes);
     }
 
     /**
@@ -30,6 +30,7 @@ import org.apache.ignite.raft.jraft.core.ReadOnlyServiceImpl;
 import org.apache.ignite.raft.jraft.core.Replicator;
 import org.apache.ignite.raft.jraft.core.Scheduler;
 import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
+import org.apache.ignite.raft.jraft.rpc.impl.core.HeartbeatCoalescer;
 import org.apache.ignite.raft.jraft.storage.SnapshotThrottle;
 import org.apache.ignite.raft.jraft.storage.impl.LogManagerImpl;
 import org.apache.ignite.raft.jraft.util.Copiable;
@@ -236,11 +237,24 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
     /** A hybrid clock */
     private HybridClock clock = new HybridClock();
 
+    /**
+     * Coalescer of the heartbeats of the raft groups, which are sent to the same node, {@code null} to send every heartbeat
+     * in its own request.
+     */
+    private HeartbeatCoalescer heartbeatCoalescer;
+
     /**
      * Amount of Disruptors that will handle the RAFT server.
      */
     private int stripes = DEFAULT_STRIPES;
 
+    /**
+     * Group affinity mode. If enabled, the append entries and action requests of a raft group are processed by the executor of the
+     * striped executor group, that has the same stripe index as the group stripe in the disruptors. So the requests of a group always
+     * run on the same thread instead of any thread of a shared pool.
+     */
+    private boolean groupAffinity = false;
+
     /** */
     private boolean sharedPools = false;
 
@@ -262,6 +276,20 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         this.stripes = stripes;
     }
 
+    /**
+     * @return {@code true} if the group affinity mode is enabled.
+     */
+    public boolean isGroupAffinity() {
+        return groupAffinity;
+    }
+
+    /**
+     * @param groupAffinity {@code true} to enable the group affinity mode.
+     */
+    public void setGroupAffinity(boolean groupAffinity) {
+        this.groupAffinity = groupAffinity;
+    }
+
     /**
      * Returns {@code true} if shared pools mode is in use.
      *
@@ -597,6 +625,14 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         this.clock = clock;
     }
 
+    public HeartbeatCoalescer getHeartbeatCoalescer() {
+        return heartbeatCoalescer;
+    }
+
+    public void setHeartbeatCoalescer(HeartbeatCoalescer heartbeatCoalescer) {
+        this.heartbeatCoalescer = heartbeatCoalescer;
+    }
+
     @Override
     public NodeOptions copy() {
         final NodeOptions nodeOptions = new NodeOptions();
@@ -613,6 +649,7 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         nodeOptions.setRaftRpcThreadPoolSize(this.raftRpcThreadPoolSize);
         nodeOptions.setCommonThreadPollSize(this.commonThreadPollSize);
         nodeOptions.setEnableMetrics(this.enableMetrics);
+        nodeOptions.setSnapshotThrottle(this.snapshotThrottle);
         nodeOptions.setRaftOptions(this.raftOptions.copy());
         nodeOptions.setReplicationStateListeners(this.replicationStateListeners);
         nodeOptions.setCommonExecutor(this.getCommonExecutor());
@@ -633,6 +670,9 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         nodeOptions.setRpcConnectTimeoutMs(this.getRpcConnectTimeoutMs());
         nodeOptions.setElectionTimeoutStrategy(this.getElectionTimeoutStrategy());
         nodeOptions.setClock(this.getClock());
+        nodeOptions.setHeartbeatCoalescer(this.getHeartbeatCoalescer());
+        nodeOptions.setStripes(this.getStripes());
+        nodeOptions.setGroupAffinity(this.isGroupAffinity());
 
         return nodeOptions;
     }
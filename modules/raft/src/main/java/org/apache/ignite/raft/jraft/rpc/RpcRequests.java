@@ -192,6 +192,27 @@ public final class RpcRequests {
         HybridTimestamp timestamp();
     }
 
+    /**
+     * Heartbeats of all the raft groups, which have a leader on the sending node and a follower on the receiving one, sent as
+     * a single message.
+     */
+    @Transferable(value = RaftMessageGroup.RpcRequestsMessageGroup.COALESCED_HEARTBEAT_REQUEST)
+    public interface CoalescedHeartbeatRequest extends Message {
+        /**
+         * @return Heartbeat requests, i.e. {@link AppendEntriesRequest}s without entries and data.
+         */
+        Collection<AppendEntriesRequest> requestsList();
+    }
+
+    @Transferable(value = RaftMessageGroup.RpcRequestsMessageGroup.COALESCED_HEARTBEAT_RESPONSE)
+    public interface CoalescedHeartbeatResponse extends Message {
+        /**
+         * @return Responses to the heartbeats in the order of the requests: either {@link AppendEntriesResponse}
+         *     or {@link ErrorResponse}.
+         */
+        Collection<Message> responsesList();
+    }
+
     @Transferable(value = RaftMessageGroup.RpcRequestsMessageGroup.GET_FILE_REQUEST)
     public interface GetFileRequest extends Message {
         long readerId();
@@ -28,6 +28,7 @@ import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.service.CommandClosure;
 import org.apache.ignite.raft.jraft.Closure;
+import org.apache.ignite.raft.jraft.JRaftUtils;
 import org.apache.ignite.raft.jraft.Node;
 import org.apache.ignite.raft.jraft.RaftMessagesFactory;
 import org.apache.ignite.raft.jraft.Status;
@@ -35,6 +36,7 @@ import org.apache.ignite.raft.jraft.closure.ReadIndexClosure;
 import org.apache.ignite.raft.jraft.entity.PeerId;
 import org.apache.ignite.raft.jraft.entity.Task;
 import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.rpc.ActionRequest;
 import org.apache.ignite.raft.jraft.rpc.Message;
 import org.apache.ignite.raft.jraft.rpc.RaftRpcFactory;
@@ -54,6 +56,37 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
 
     private final RaftMessagesFactory factory;
 
+    /**
+     * Selects the executor of the raft group in the group affinity mode. Only write commands are processed there: reads are executed
+     * by the state machine listener right away when the leader holds a lease, and a long scan on the group executor would delay the
+     * replication of the group and of all the other groups of the stripe.
+     */
+    private final ExecutorSelector executorSelector = (reqClass, req, nodeManager) -> {
+        ActionRequest request = (ActionRequest) req;
+
+        if (!(request.command() instanceof WriteCommand)) {
+            return null;
+        }
+
+        String groupId = request.groupId();
+
+        List<Node> nodes = nodeManager.getNodesByGroupId(groupId);
+
+        if (nodes == null) {
+            return null;
+        }
+
+        for (Node node : nodes) {
+            NodeOptions opts = node.getOptions();
+
+            if (opts.isGroupAffinity()) {
+                return JRaftUtils.groupAffinityExecutor(opts, groupId);
+            }
+        }
+
+        return null;
+    };
+
     public ActionRequestProcessor(Executor executor, RaftMessagesFactory factory) {
         this.executor = executor;
         this.factory = factory;
@@ -112,62 +145,51 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
      * @param rpcCtx  The context.
      */
     private void applyRead(Node node, ActionRequest request, RpcContext rpcCtx) {
-        if (request.readOnlySafe()) {
+        // A leader holding a valid lease serves linearizable reads locally, without a heartbeat round.
+        if (request.readOnlySafe() && node.leaseReadIndex() < 0) {
             node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
                 @Override public void run(Status status, long index, byte[] reqCtx) {
-                    if (status.isOk()) {
-                        JraftServerImpl.DelegatingStateMachine fsm =
-                                (JraftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
-
-                        try {
-                            fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>of(new CommandClosure<>() {
-                                @Override public ReadCommand command() {
-                                    return (ReadCommand)request.command();
-                                }
-
-                                @Override public void result(Serializable res) {
-                                    if (res instanceof Throwable) {
-                                        sendSMError(rpcCtx, (Throwable)res, true);
-
-                                        return;
-                                    }
-
-                                    rpcCtx.sendResponse(factory.actionResponse().result(res).build());
-                                }
-                            }).iterator());
-                        }
-                        catch (Exception e) {
-                            sendRaftError(rpcCtx, RaftError.ESTATEMACHINE, e.getMessage());
-                        }
-                    }
+                    if (status.isOk())
+                        onRead(node, request, rpcCtx);
                     else
                         sendRaftError(rpcCtx, status, node);
                 }
             });
         } else {
-            // TODO asch remove copy paste, batching https://issues.apache.org/jira/browse/IGNITE-14832
-            JraftServerImpl.DelegatingStateMachine fsm =
-                    (JraftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
-
-            try {
-                fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>of(new CommandClosure<>() {
-                    @Override public ReadCommand command() {
-                        return (ReadCommand)request.command();
-                    }
+            onRead(node, request, rpcCtx);
+        }
+    }
 
-                    @Override public void result(Serializable res) {
-                        if (res instanceof Throwable) {
-                            sendSMError(rpcCtx, (Throwable)res, true);
+    /**
+     * Executes a read command on the state machine.
+     *
+     * @param node    The node.
+     * @param request The request.
+     * @param rpcCtx  The context.
+     */
+    private void onRead(Node node, ActionRequest request, RpcContext rpcCtx) {
+        JraftServerImpl.DelegatingStateMachine fsm =
+                (JraftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
+
+        try {
+            fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>of(new CommandClosure<>() {
+                @Override public ReadCommand command() {
+                    return (ReadCommand)request.command();
+                }
 
-                            return;
-                        }
-                        rpcCtx.sendResponse(factory.actionResponse().result(res).build());
+                @Override public void result(Serializable res) {
+                    if (res instanceof Throwable) {
+                        sendSMError(rpcCtx, (Throwable)res, true);
+
+                        return;
                     }
-                }).iterator());
-            }
-            catch (Exception e) {
-                sendRaftError(rpcCtx, RaftError.ESTATEMACHINE, e.getMessage());
-            }
+
+                    rpcCtx.sendResponse(factory.actionResponse().result(res).build());
+                }
+            }).iterator());
+        }
+        catch (Exception e) {
+            sendRaftError(rpcCtx, RaftError.ESTATEMACHINE, e.getMessage());
         }
     }
 
@@ -181,6 +203,11 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
         return executor;
     }
 
+    /** {@inheritDoc} */
+    @Override public ExecutorSelector executorSelector() {
+        return executorSelector;
+    }
+
     /**
      * Sends raft error response with raft error code and message.
      *
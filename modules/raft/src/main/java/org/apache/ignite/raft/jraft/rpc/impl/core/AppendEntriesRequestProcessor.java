@@ -22,10 +22,12 @@ import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import org.apache.ignite.raft.jraft.JRaftUtils;
 import org.apache.ignite.raft.jraft.Node;
 import org.apache.ignite.raft.jraft.NodeManager;
 import org.apache.ignite.raft.jraft.RaftMessagesFactory;
 import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.rpc.Message;
 import org.apache.ignite.raft.jraft.rpc.RaftServerService;
 import org.apache.ignite.raft.jraft.rpc.RpcContext;
@@ -348,7 +350,11 @@ public class AppendEntriesRequestProcessor extends NodeRequestProcessor<AppendEn
                     assert (node != null);
                     peerCtx = new PeerRequestContext(groupId, pair, node.getRaftOptions().getMaxReplicatorInflightMsgs());
 
-                    peerCtx.executor = node.getOptions().getStripedExecutor().next();
+                    NodeOptions opts = node.getOptions();
+
+                    peerCtx.executor = opts.isGroupAffinity()
+                        ? JRaftUtils.groupAffinityExecutor(opts, groupId)
+                        : opts.getStripedExecutor().next();
 
                     groupContexts.put(pair, peerCtx);
                 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.NodeManager;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftRpcFactory;
+import org.apache.ignite.raft.jraft.rpc.RaftServerService;
+import org.apache.ignite.raft.jraft.rpc.RpcRequestClosure;
+import org.apache.ignite.raft.jraft.rpc.RpcRequestProcessor;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+
+/**
+ * Coalesced heartbeat request processor. Dispatches the heartbeats to the followers and replies with a single
+ * response, which holds the responses of all the followers in the order of the requests.
+ *
+ * <p>Every heartbeat is processed by the executor, which would process it if it was sent alone, i.e. by the executor of the
+ * follower-leader pair for the pipelined replication. So the heartbeats of the different groups are processed in parallel and
+ * a heartbeat is never reordered with the append entries requests of its group.
+ */
+public class CoalescedHeartbeatRequestProcessor extends RpcRequestProcessor<CoalescedHeartbeatRequest> {
+    /** Selector of the executors to process the heartbeats, {@code null} to process them in the calling thread. */
+    private final ExecutorSelector heartbeatExecutorSelector;
+
+    public CoalescedHeartbeatRequestProcessor(Executor executor, RaftMessagesFactory msgFactory) {
+        this(executor, msgFactory, null);
+    }
+
+    /**
+     * @param executor Executor to process the coalesced requests.
+     * @param msgFactory Message factory.
+     * @param heartbeatExecutorSelector Selector of the executors to process the heartbeats, usually the one of the
+     * {@link AppendEntriesRequestProcessor}. {@code null} to process the heartbeats in the calling thread.
+     */
+    public CoalescedHeartbeatRequestProcessor(Executor executor, RaftMessagesFactory msgFactory,
+        ExecutorSelector heartbeatExecutorSelector) {
+        super(executor, msgFactory);
+
+        this.heartbeatExecutorSelector = heartbeatExecutorSelector;
+    }
+
+    @Override
+    public Message processRequest(final CoalescedHeartbeatRequest request, final RpcRequestClosure done) {
+        final Collection<AppendEntriesRequest> requests = request.requestsList();
+
+        final Message[] responses = new Message[requests.size()];
+
+        if (responses.length == 0) {
+            return msgFactory().coalescedHeartbeatResponse().responsesList(Arrays.asList(responses)).build();
+        }
+
+        // The single response is sent by the last processed heartbeat.
+        final AtomicInteger remaining = new AtomicInteger(responses.length);
+
+        int idx = 0;
+
+        for (AppendEntriesRequest req : requests) {
+            final int reqIdx = idx++;
+
+            final RpcRequestClosure reqDone = new RpcRequestClosure(done.getRpcCtx(), msgFactory()) {
+                @Override
+                public void sendResponse(final Message msg) {
+                    onResponse(responses, remaining, reqIdx, msg, done);
+                }
+            };
+
+            try {
+                heartbeatExecutor(req, done.getRpcCtx().getNodeManager()).execute(() -> {
+                    final Message response = processHeartbeat(req, reqDone);
+
+                    if (response != null) {
+                        reqDone.sendResponse(response);
+                    }
+                });
+            }
+            catch (final RejectedExecutionException e) {
+                reqDone.sendResponse(RaftRpcFactory.DEFAULT //
+                    .newResponse(msgFactory(), RaftError.EBUSY, "Fail to process heartbeat, group: %s", req.groupId()));
+            }
+        }
+
+        return null;
+    }
+
+    private Executor heartbeatExecutor(final AppendEntriesRequest request, final NodeManager nodeManager) {
+        if (this.heartbeatExecutorSelector == null) {
+            return Runnable::run;
+        }
+
+        final Executor executor = this.heartbeatExecutorSelector.select(AppendEntriesRequest.class.getName(), request,
+            nodeManager);
+
+        return executor == null ? Runnable::run : executor;
+    }
+
+    private Message processHeartbeat(final AppendEntriesRequest request, final RpcRequestClosure done) {
+        final PeerId peer = new PeerId();
+
+        if (!peer.parse(request.peerId())) {
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(msgFactory(), RaftError.EINVAL, "Fail to parse peerId: %s", request.peerId());
+        }
+
+        final Node node = done.getRpcCtx().getNodeManager().get(request.groupId(), peer);
+
+        if (node == null) {
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(msgFactory(), RaftError.ENOENT, "Peer id not found: %s, group: %s", request.peerId(),
+                    request.groupId());
+        }
+
+        try {
+            return ((RaftServerService) node).handleAppendEntriesRequest(request, done);
+        }
+        catch (final Throwable t) {
+            LOG.error("handleRequest {} failed", t, request);
+
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(msgFactory(), -1, "handleRequest internal error");
+        }
+    }
+
+    private void onResponse(final Message[] responses, final AtomicInteger remaining, final int idx, final Message msg,
+        final RpcRequestClosure done) {
+        responses[idx] = msg;
+
+        if (remaining.decrementAndGet() == 0) {
+            done.sendResponse(msgFactory().coalescedHeartbeatResponse().responsesList(Arrays.asList(responses)).build());
+        }
+    }
+
+    @Override
+    public String interest() {
+        return CoalescedHeartbeatRequest.class.getName();
+    }
+}
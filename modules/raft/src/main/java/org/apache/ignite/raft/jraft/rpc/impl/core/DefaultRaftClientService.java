@@ -85,6 +85,12 @@ public class DefaultRaftClientService extends AbstractClientService implements R
             k -> nodeOptions.getStripedExecutor().next());
 
         if (connect(endpoint)) { // Replicator should be started asynchronously by node joined event.
+            final HeartbeatCoalescer coalescer = this.nodeOptions.getHeartbeatCoalescer();
+
+            if (coalescer != null && HeartbeatCoalescer.isHeartbeat(request)) {
+                return coalescer.send(endpoint, request, timeoutMs, done, executor);
+            }
+
             return invokeWithDone(endpoint, request, done, timeoutMs, executor);
         }
 
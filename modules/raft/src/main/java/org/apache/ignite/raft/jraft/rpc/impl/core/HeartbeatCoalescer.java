@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.core.Scheduler;
+import org.apache.ignite.raft.jraft.error.InvokeTimeoutException;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.InvokeCallback;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RpcClient;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.ErrorResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosure;
+import org.apache.ignite.raft.jraft.util.Endpoint;
+
+/**
+ * Coalesces the heartbeats of all the raft groups, which are sent to the same node, into a single
+ * {@link CoalescedHeartbeatRequest} per tick. The heartbeats are dispatched to the followers by
+ * {@link CoalescedHeartbeatRequestProcessor} on the receiving side, so the idle overhead of the replication scales with the number
+ * of nodes rather than the number of raft groups.
+ *
+ * <p>Every heartbeat is delayed by at most one tick, which is supposed to be much shorter than the heartbeat timeout.
+ */
+public class HeartbeatCoalescer {
+    private static final IgniteLogger LOG = Loggers.forClass(HeartbeatCoalescer.class);
+
+    /** Default interval between the flushes of the pending heartbeats in milliseconds. */
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 10;
+
+    private final RpcClient rpcClient;
+
+    private final RaftMessagesFactory msgFactory;
+
+    private final Scheduler scheduler;
+
+    /** Executor to process the responses to the coalesced requests. */
+    private final Executor responseExecutor;
+
+    private final long flushIntervalMs;
+
+    /** Heartbeats waiting for the next flush by the target endpoints. */
+    private final ConcurrentMap<Endpoint, Queue<PendingHeartbeat>> pending = new ConcurrentHashMap<>();
+
+    private volatile ScheduledFuture<?> flushTask;
+
+    /**
+     * @param rpcClient RPC client to send the coalesced requests.
+     * @param msgFactory Message factory.
+     * @param scheduler Scheduler to run the flushes.
+     * @param responseExecutor Executor to process the responses to the coalesced requests.
+     * @param flushIntervalMs Interval between the flushes of the pending heartbeats in milliseconds.
+     */
+    public HeartbeatCoalescer(RpcClient rpcClient, RaftMessagesFactory msgFactory, Scheduler scheduler,
+        Executor responseExecutor, long flushIntervalMs) {
+        this.rpcClient = rpcClient;
+        this.msgFactory = msgFactory;
+        this.scheduler = scheduler;
+        this.responseExecutor = responseExecutor;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    /**
+     * Starts the periodic flushes.
+     */
+    public void start() {
+        flushTask = scheduler.scheduleAtFixedRate(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flushes and fails the heartbeats, which haven't been sent yet.
+     */
+    public void stop() {
+        ScheduledFuture<?> task = flushTask;
+
+        if (task != null) {
+            task.cancel(false);
+        }
+
+        Status status = new Status(RaftError.ESHUTDOWN, "Heartbeat coalescer is stopped");
+
+        for (Queue<PendingHeartbeat> queue : pending.values()) {
+            for (PendingHeartbeat hb; (hb = queue.poll()) != null; ) {
+                hb.fail(status);
+            }
+        }
+    }
+
+    /**
+     * @param request Append entries request.
+     * @return {@code true} if the request is a heartbeat, i.e. it has neither entries nor data.
+     */
+    public static boolean isHeartbeat(AppendEntriesRequest request) {
+        return request.entriesList() == null && request.data() == null;
+    }
+
+    /**
+     * Enqueues a heartbeat to be sent with the next flush.
+     *
+     * @param endpoint Target endpoint.
+     * @param request Heartbeat request.
+     * @param timeoutMs Heartbeat timeout.
+     * @param done Heartbeat callback.
+     * @param executor Executor to run the callback.
+     * @return The future, which is completed with the response to the heartbeat.
+     */
+    public Future<Message> send(Endpoint endpoint, AppendEntriesRequest request, int timeoutMs,
+        RpcResponseClosure<AppendEntriesResponse> done, Executor executor) {
+        assert isHeartbeat(request) : request;
+
+        PendingHeartbeat hb = new PendingHeartbeat(request, timeoutMs, done, executor);
+
+        pending.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(hb);
+
+        return hb.future;
+    }
+
+    /**
+     * Sends the pending heartbeats, one coalesced request per endpoint.
+     */
+    void flush() {
+        // An exception would cancel the periodic flushes, so it must not be thrown out of here.
+        try {
+            for (Map.Entry<Endpoint, Queue<PendingHeartbeat>> e : pending.entrySet()) {
+                List<PendingHeartbeat> batch = new ArrayList<>();
+
+                for (PendingHeartbeat hb; (hb = e.getValue().poll()) != null; ) {
+                    batch.add(hb);
+                }
+
+                if (!batch.isEmpty()) {
+                    sendBatch(e.getKey(), batch);
+                }
+            }
+        }
+        catch (Throwable t) {
+            LOG.error("Fail to send coalesced heartbeats.", t);
+        }
+    }
+
+    private void sendBatch(Endpoint endpoint, List<PendingHeartbeat> batch) {
+        List<AppendEntriesRequest> requests = new ArrayList<>(batch.size());
+
+        int timeoutMs = Integer.MAX_VALUE;
+
+        for (PendingHeartbeat hb : batch) {
+            requests.add(hb.request);
+
+            timeoutMs = Math.min(timeoutMs, hb.timeoutMs);
+        }
+
+        CoalescedHeartbeatRequest request = msgFactory.coalescedHeartbeatRequest()
+            .requestsList(requests)
+            .build();
+
+        try {
+            rpcClient.invokeAsync(endpoint, request, null, new InvokeCallback() {
+                @Override
+                public void complete(Object result, Throwable err) {
+                    onBatchResponse(batch, result, err);
+                }
+
+                @Override
+                public Executor executor() {
+                    return responseExecutor;
+                }
+            }, timeoutMs);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            onBatchResponse(batch, null, e);
+        }
+        catch (Exception e) {
+            onBatchResponse(batch, null, e);
+        }
+    }
+
+    private static void onBatchResponse(List<PendingHeartbeat> batch, Object result, Throwable err) {
+        if (err == null && result instanceof CoalescedHeartbeatResponse) {
+            List<Message> responses = new ArrayList<>(((CoalescedHeartbeatResponse) result).responsesList());
+
+            assert responses.size() == batch.size() : "requests=" + batch.size() + ", responses=" + responses.size();
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(responses.get(i));
+            }
+
+            return;
+        }
+
+        Status status;
+
+        if (err != null) {
+            status = new Status(err instanceof InvokeTimeoutException ? RaftError.ETIMEDOUT : RaftError.EINTERNAL,
+                "RPC exception:" + err.getMessage());
+        }
+        else if (result instanceof ErrorResponse) {
+            status = new Status(((ErrorResponse) result).errorCode(), ((ErrorResponse) result).errorMsg());
+        }
+        else {
+            status = new Status(RaftError.EINTERNAL, "Unexpected response to coalesced heartbeats: %s", result);
+        }
+
+        for (PendingHeartbeat hb : batch) {
+            hb.fail(status);
+        }
+    }
+
+    /**
+     * Heartbeat waiting for the flush.
+     */
+    private static class PendingHeartbeat {
+        private final AppendEntriesRequest request;
+
+        private final int timeoutMs;
+
+        private final RpcResponseClosure<AppendEntriesResponse> done;
+
+        private final Executor executor;
+
+        private final CompletableFuture<Message> future = new CompletableFuture<>();
+
+        PendingHeartbeat(AppendEntriesRequest request, int timeoutMs, RpcResponseClosure<AppendEntriesResponse> done,
+            Executor executor) {
+            this.request = request;
+            this.timeoutMs = timeoutMs;
+            this.done = done;
+            this.executor = executor;
+        }
+
+        void complete(Message msg) {
+            executor.execute(() -> {
+                Status status = Status.OK();
+
+                if (msg instanceof ErrorResponse) {
+                    status = new Status(((ErrorResponse) msg).errorCode(), ((ErrorResponse) msg).errorMsg());
+                }
+                else {
+                    done.setResponse((AppendEntriesResponse) msg);
+                }
+
+                run(status);
+
+                future.complete(msg);
+            });
+        }
+
+        void fail(Status status) {
+            executor.execute(() -> {
+                run(status);
+
+                future.completeExceptionally(new IllegalStateException(status.getErrorMsg()));
+            });
+        }
+
+        private void run(Status status) {
+            try {
+                done.run(status);
+            }
+            catch (Throwable t) {
+                LOG.error("Fail to run RpcResponseClosure, the request is {}.", t, request);
+            }
+        }
+    }
+}
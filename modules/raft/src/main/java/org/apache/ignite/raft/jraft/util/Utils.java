@@ -218,6 +218,18 @@ public final class Utils {
         return CPUS;
     }
 
+    /**
+     * Determines a stripe of a raft group. Striped components of a node use the same function, so a group gets the stripes with the
+     * same index in all of them.
+     *
+     * @param groupId Group id.
+     * @param stripes Amount of stripes.
+     * @return Stripe index.
+     */
+    public static int stripe(final String groupId, final int stripes) {
+        return Math.abs(groupId.hashCode() % stripes);
+    }
+
     /**
      * Get java process id.
      */
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.service.CommandClosure;
+import org.apache.ignite.raft.client.service.RaftGroupListener;
+import org.apache.ignite.raft.jraft.Closure;
+import org.apache.ignite.raft.jraft.Status;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the iteration over the write commands in {@link JraftServerImpl.DelegatingStateMachine}.
+ */
+public class DelegatingStateMachineTest {
+    /** Number of the commands applied at once. */
+    private static final int COMMANDS = 3;
+
+    @Test
+    public void testCommandsCompletedAfterFetching() {
+        TestIterator iter = new TestIterator(COMMANDS);
+
+        apply(iter, it -> {
+            List<CommandClosure<WriteCommand>> closures = new ArrayList<>();
+
+            while (it.hasNext()) {
+                CommandClosure<WriteCommand> clo = it.next();
+
+                // The raft iterator is not advanced until the listener asks for the next command.
+                assertEquals(clo.index(), iter.index);
+                assertEquals(iter.closures.get(closures.size()).command, clo.command());
+
+                closures.add(clo);
+            }
+
+            closures.forEach(clo -> clo.result(clo.index()));
+        });
+
+        assertNull(iter.error);
+
+        // All the commands are applied.
+        assertEquals(COMMANDS + 1, iter.index);
+
+        for (TestClosure done : iter.closures) {
+            assertEquals(done.index, done.result);
+            assertNull(done.status);
+        }
+    }
+
+    @Test
+    public void testFetchedCommandsNotAppliedOnError() {
+        TestIterator iter = new TestIterator(COMMANDS);
+
+        apply(iter, it -> {
+            List<CommandClosure<WriteCommand>> closures = new ArrayList<>();
+
+            it.forEachRemaining(closures::add);
+
+            closures.get(0).result(null);
+
+            throw new IllegalStateException("Test error");
+        });
+
+        assertNotNull(iter.error);
+
+        // The commands after the completed one are considered as not applied, jraft fails their closures.
+        assertEquals(2, iter.index);
+
+        assertTrue(iter.closures.get(0).completed());
+        assertFalse(iter.closures.get(1).completed());
+        assertFalse(iter.closures.get(2).completed());
+    }
+
+    @Test
+    public void testCurrentCommandNotAppliedOnError() {
+        TestIterator iter = new TestIterator(COMMANDS);
+
+        apply(iter, it -> {
+            it.next().result(null);
+
+            it.next();
+
+            throw new IllegalStateException("Test error");
+        });
+
+        assertNotNull(iter.error);
+
+        // The second command and the command that hasn't been fetched are considered as not applied.
+        assertEquals(2, iter.index);
+
+        assertTrue(iter.closures.get(0).completed());
+        assertFalse(iter.closures.get(1).completed());
+        assertFalse(iter.closures.get(2).completed());
+    }
+
+    @Test
+    public void testNotFetchedCommandNotAppliedOnError() {
+        TestIterator iter = new TestIterator(COMMANDS);
+
+        apply(iter, it -> {
+            it.next().result(null);
+
+            assertTrue(it.hasNext());
+
+            throw new IllegalStateException("Test error");
+        });
+
+        assertNotNull(iter.error);
+
+        assertEquals(2, iter.index);
+
+        assertTrue(iter.closures.get(0).completed());
+        assertFalse(iter.closures.get(1).completed());
+    }
+
+    /**
+     * Applies the commands of the iterator with the given {@link RaftGroupListener#onWrite} implementation.
+     *
+     * @param iter Raft iterator.
+     * @param onWrite Listener write handler.
+     */
+    private static void apply(TestIterator iter, Consumer<Iterator<CommandClosure<WriteCommand>>> onWrite) {
+        RaftGroupListener listener = mock(RaftGroupListener.class);
+
+        doAnswer(invocation -> {
+            onWrite.accept(invocation.getArgument(0));
+
+            return null;
+        }).when(listener).onWrite(any());
+
+        new JraftServerImpl.DelegatingStateMachine(listener, new RaftMetricSource(List::of)).onApply(iter);
+    }
+
+    /**
+     * Raft iterator over the commands proposed by the local node, follows the index arithmetic of the jraft iterator.
+     */
+    private static class TestIterator implements org.apache.ignite.raft.jraft.Iterator {
+        /** Closures of the commands, the first command has index {@code 1}. */
+        private final List<TestClosure> closures;
+
+        /** Index of the current command. */
+        private long index = 1;
+
+        /** Error status. */
+        private Status error;
+
+        TestIterator(int commands) {
+            closures = LongStream.rangeClosed(1, commands).mapToObj(TestClosure::new).collect(Collectors.toList());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer getData() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getTerm() {
+            return 1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Closure done() {
+            return hasNext() ? closures.get((int) index - 1) : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setErrorAndRollback(long ntail, Status st) {
+            assertTrue(ntail > 0);
+
+            // After the rollback the index points at the first command that is not applied.
+            index -= hasNext() ? ntail - 1 : ntail;
+
+            error = st;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return error == null && index <= closures.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer next() {
+            index++;
+
+            return null;
+        }
+    }
+
+    /**
+     * Closure of a command proposed by the local node.
+     */
+    private static class TestClosure implements Closure, CommandClosure<WriteCommand> {
+        private final long index;
+
+        private final WriteCommand command = mock(WriteCommand.class);
+
+        private Serializable result;
+
+        private Status status;
+
+        private boolean resultSet;
+
+        TestClosure(long index) {
+            this.index = index;
+        }
+
+        boolean completed() {
+            return resultSet || status != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public WriteCommand command() {
+            return command;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void result(Serializable res) {
+            result = res;
+            resultSet = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void run(Status status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.IntGauge;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.RaftGroupService;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RaftMetricSource} and {@link MeteredLogStorage}.
+ */
+public class RaftMetricSourceTest {
+    @Test
+    public void testGroupMetrics() {
+        RaftGroupService group1 = groupWithApplyLag(3);
+        RaftGroupService group2 = groupWithApplyLag(7);
+
+        MetricSet metrics = new RaftMetricSource(() -> List.of(group1, group2)).enable();
+
+        assertEquals(2, metrics.<IntGauge>get("Groups").value());
+        assertEquals(7, metrics.<LongMetric>get("MaxApplyLag").value());
+    }
+
+    @Test
+    public void testApplyMetrics() {
+        RaftMetricSource metricSource = new RaftMetricSource(List::of);
+
+        MetricSet metrics = metricSource.enable();
+
+        metricSource.onBatchApplied(5, 1);
+        metricSource.onBatchApplied(3, 20);
+
+        assertEquals(8, metrics.<LongMetric>get("AppliedCommands").value());
+        assertEquals(2, LongStream.of(metrics.<DistributionMetric>get("ApplyTime").value()).sum());
+    }
+
+    @Test
+    public void testLogAppendMetrics() {
+        RaftMetricSource metricSource = new RaftMetricSource(List::of);
+
+        LogStorage delegate = mock(LogStorage.class);
+
+        when(delegate.appendEntries(anyList())).thenReturn(2);
+        when(delegate.appendEntry(any(LogEntry.class))).thenReturn(true);
+
+        LogStorage logStorage = new MeteredLogStorage(delegate, metricSource);
+
+        // Appends are not measured while the source is disabled.
+        assertEquals(2, logStorage.appendEntries(List.of(new LogEntry(), new LogEntry())));
+
+        MetricSet metrics = metricSource.enable();
+
+        assertEquals(2, logStorage.appendEntries(List.of(new LogEntry(), new LogEntry())));
+        assertTrue(logStorage.appendEntry(new LogEntry()));
+
+        assertEquals(3, metrics.<LongMetric>get("LogAppendedEntries").value());
+        assertEquals(2, LongStream.of(metrics.<DistributionMetric>get("LogAppendTime").value()).sum());
+    }
+
+    private static RaftGroupService groupWithApplyLag(long applyLag) {
+        Node node = mock(Node.class);
+
+        when(node.getApplyLag()).thenReturn(applyLag);
+
+        RaftGroupService group = mock(RaftGroupService.class);
+
+        when(group.getRaftNode()).thenReturn(node);
+
+        return group;
+    }
+}
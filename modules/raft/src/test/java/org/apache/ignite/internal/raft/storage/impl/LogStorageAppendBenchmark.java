@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.raft.storage.LogStorageFactory;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.entity.codec.v1.LogEntryV1CodecFactory;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.storage.impl.RocksDBLogStorage;
+import org.apache.ignite.raft.jraft.test.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares append and prefix truncation throughput of {@link SegmentedLogStorage} against the RocksDB based log storages. Every
+ * benchmark thread writes to its own raft group, truncating the log prefix periodically as a raft node would do after a snapshot.
+ */
+@State(Scope.Benchmark)
+public class LogStorageAppendBenchmark {
+    /** Entries to keep in a group log after a prefix truncation. */
+    private static final int ENTRIES_TO_KEEP = 1_000;
+
+    /** Storage type. */
+    @Param({"SEGMENTED", "ROCKSDB_SHARED", "ROCKSDB"})
+    private String storageType;
+
+    /** Log entry size. */
+    @Param({"128", "1024"})
+    private int entrySize;
+
+    /** Entries per append. */
+    @Param({"1", "16"})
+    private int batchSize;
+
+    private Path path;
+
+    private LogStorageFactory factory;
+
+    private final List<LogStorage> storages = new ArrayList<>();
+
+    private final AtomicInteger groupCounter = new AtomicInteger();
+
+    /**
+     * Per thread state: a group log storage.
+     */
+    @State(Scope.Thread)
+    public static class GroupState {
+        private LogStorage storage;
+
+        private long nextIndex = 1;
+
+        private List<LogEntry> batch;
+
+        /** Creates a group storage. */
+        @Setup
+        public void setup(LogStorageAppendBenchmark benchmark) {
+            storage = benchmark.createStorage("group-" + benchmark.groupCounter.incrementAndGet());
+
+            batch = new ArrayList<>(benchmark.batchSize);
+
+            for (int i = 0; i < benchmark.batchSize; i++) {
+                batch.add(TestUtils.mockEntry(0, 1, benchmark.entrySize));
+            }
+        }
+    }
+
+    /** Creates the storage factory. */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        path = Files.createTempDirectory("log_storage_benchmark");
+
+        switch (storageType) {
+            case "SEGMENTED":
+                factory = new SegmentedLogStorageFactory(path);
+
+                break;
+
+            case "ROCKSDB_SHARED":
+                factory = new DefaultLogStorageFactory(path);
+
+                break;
+
+            default:
+                factory = null;
+        }
+
+        if (factory != null) {
+            factory.start();
+        }
+    }
+
+    /** Stops the storages and removes the data. */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        storages.forEach(LogStorage::shutdown);
+
+        if (factory != null) {
+            factory.close();
+        }
+
+        IgniteUtils.deleteIfExists(path);
+    }
+
+    private synchronized LogStorage createStorage(String groupId) {
+        LogStorage storage = factory == null
+                ? new RocksDBLogStorage(path.resolve(groupId).toString(), new RaftOptions())
+                : factory.createLogStorage(groupId, new RaftOptions());
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        storage.init(opts);
+
+        storages.add(storage);
+
+        return storage;
+    }
+
+    /** Appends a batch of entries to the group log. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int append(GroupState state) {
+        for (LogEntry entry : state.batch) {
+            entry.getId().setIndex(state.nextIndex++);
+        }
+
+        int appended = state.storage.appendEntries(state.batch);
+
+        if (state.nextIndex % (ENTRIES_TO_KEEP * 10) < state.batch.size()) {
+            state.storage.truncatePrefix(state.nextIndex - ENTRIES_TO_KEEP);
+        }
+
+        return appended;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args args
+     * @throws RunnerException If failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(LogStorageAppendBenchmark.class.getSimpleName())
+                .warmupIterations(1)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(10))
+                .threads(8)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft.storage.impl;
+
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.testframework.WorkDirectory;
+import org.apache.ignite.internal.testframework.WorkDirectoryExtension;
+import org.apache.ignite.raft.jraft.JRaftUtils;
+import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
+import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.entity.EnumOutter;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.entity.LogId;
+import org.apache.ignite.raft.jraft.entity.codec.v1.LogEntryV1CodecFactory;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.test.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Tests for implementation specifics of the segmented storage.
+ */
+@ExtendWith(WorkDirectoryExtension.class)
+public class SegmentedLogStorageAdvancedTest {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private static final int ENTRY_SIZE = 1024;
+
+    @WorkDirectory
+    private Path path;
+
+    private SegmentedLogStorageFactory logStorageProvider;
+
+    private ConfigurationManager confManager;
+
+    @BeforeEach
+    public void setUp() {
+        logStorageProvider = new SegmentedLogStorageFactory(path, SEGMENT_SIZE);
+
+        logStorageProvider.start();
+
+        confManager = new ConfigurationManager();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        logStorageProvider.close();
+    }
+
+    @Test
+    public void testGroupsShareSegments() {
+        LogStorage storage1 = createStorage("group1");
+        LogStorage storage2 = createStorage("group2");
+
+        int count = 100;
+
+        for (int i = 0; i < count; i++) {
+            assertTrue(storage1.appendEntry(TestUtils.mockEntry(i, i, ENTRY_SIZE)));
+            assertTrue(storage2.appendEntry(TestUtils.mockEntry(i, i + 1000, ENTRY_SIZE)));
+        }
+
+        storage2.reset(1);
+
+        assertEquals(0, storage1.getFirstLogIndex());
+        assertEquals(count - 1, storage1.getLastLogIndex());
+
+        assertEquals(1, storage2.getFirstLogIndex());
+        assertEquals(1, storage2.getLastLogIndex());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(new LogId(i, i), storage1.getEntry(i).getId());
+        }
+
+        storage1.shutdown();
+        storage2.shutdown();
+    }
+
+    @Test
+    public void testRecovery() throws Exception {
+        LogStorage storage = createStorage("group");
+
+        LogEntry confEntry = new LogEntry(EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION);
+        confEntry.setId(new LogId(1, 1));
+        confEntry.setPeers(JRaftUtils.getConfiguration("localhost:8081,localhost:8082").listPeers());
+
+        assertTrue(storage.appendEntry(confEntry));
+
+        for (int i = 2; i < 200; i++) {
+            assertTrue(storage.appendEntry(TestUtils.mockEntry(i, 1, ENTRY_SIZE)));
+        }
+
+        assertTrue(storage.truncateSuffix(150));
+
+        // Overwrites the truncated tail with the entries of a new term.
+        assertEquals(10, storage.appendEntries(entries(151, 10, 2)));
+
+        storage.shutdown();
+
+        restart();
+
+        storage = createStorage("group");
+
+        assertEquals(1, storage.getFirstLogIndex());
+        assertEquals(160, storage.getLastLogIndex());
+        assertEquals(1, storage.getEntry(150).getId().getTerm());
+        assertEquals(2, storage.getEntry(151).getId().getTerm());
+        assertNull(storage.getEntry(161));
+
+        ConfigurationEntry conf = confManager.get(1);
+        assertNotNull(conf);
+        assertEquals("localhost:8081,localhost:8082", conf.getConf().toString());
+
+        storage.shutdown();
+    }
+
+    @Test
+    public void testTruncatePrefixRemovesSegments() throws Exception {
+        LogStorage storage1 = createStorage("group1");
+        LogStorage storage2 = createStorage("group2");
+
+        int count = 500;
+
+        for (int i = 1; i <= count; i++) {
+            assertTrue(storage1.appendEntry(TestUtils.mockEntry(i, 1, ENTRY_SIZE)));
+            assertTrue(storage2.appendEntry(TestUtils.mockEntry(i, 1, ENTRY_SIZE)));
+        }
+
+        int segmentsBefore = logStorageProvider.segmentCount();
+
+        assertTrue(segmentsBefore > 10);
+
+        // Segments are shared, so truncation of a single group must not remove anything.
+        assertTrue(storage1.truncatePrefix(count));
+
+        Thread.sleep(100);
+
+        assertEquals(segmentsBefore, logStorageProvider.segmentCount());
+
+        assertTrue(storage2.truncatePrefix(count));
+
+        assertTrue(waitForCondition(() -> logStorageProvider.segmentCount() <= 2, 5_000));
+
+        assertEquals(count, storage1.getEntry(count).getId().getIndex());
+        assertEquals(count, storage2.getEntry(count).getId().getIndex());
+
+        storage1.shutdown();
+        storage2.shutdown();
+
+        restart();
+
+        storage1 = createStorage("group1");
+
+        assertEquals(count, storage1.getFirstLogIndex());
+        assertEquals(count, storage1.getLastLogIndex());
+        assertNull(storage1.getEntry(count - 1));
+        assertEquals(count, storage1.getEntry(count).getId().getIndex());
+
+        storage1.shutdown();
+    }
+
+    @Test
+    public void testDestroyReleasesSegments() throws Exception {
+        LogStorage storage1 = createStorage("group1");
+        LogStorage storage2 = createStorage("group2");
+
+        int count = 500;
+
+        for (int i = 1; i <= count; i++) {
+            assertTrue(storage1.appendEntry(TestUtils.mockEntry(i, 1, ENTRY_SIZE)));
+            assertTrue(storage2.appendEntry(TestUtils.mockEntry(i, 1, ENTRY_SIZE)));
+        }
+
+        assertTrue(storage1.truncatePrefix(count));
+
+        storage2.shutdown();
+
+        // The destroyed group must not pin the segments, even though its log has never been truncated.
+        logStorageProvider.destroyLogStorage("group2");
+
+        assertTrue(waitForCondition(() -> logStorageProvider.segmentCount() <= 2, 5_000));
+
+        storage1.shutdown();
+
+        restart();
+
+        storage1 = createStorage("group1");
+        storage2 = createStorage("group2");
+
+        assertEquals(count, storage1.getFirstLogIndex());
+        assertEquals(count, storage1.getEntry(count).getId().getIndex());
+
+        // Group created again under the same id starts with an empty log.
+        assertEquals(1, storage2.getFirstLogIndex());
+        assertEquals(0, storage2.getLastLogIndex());
+        assertNull(storage2.getEntry(count));
+
+        storage1.shutdown();
+        storage2.shutdown();
+    }
+
+    @Test
+    public void testEntryLargerThanSegment() throws Exception {
+        LogStorage storage = createStorage("group");
+
+        assertTrue(storage.appendEntry(TestUtils.mockEntry(1, 1, SEGMENT_SIZE * 2)));
+        assertTrue(storage.appendEntry(TestUtils.mockEntry(2, 1, ENTRY_SIZE)));
+
+        assertEquals(SEGMENT_SIZE * 2, storage.getEntry(1).getData().remaining());
+
+        storage.shutdown();
+
+        restart();
+
+        storage = createStorage("group");
+
+        assertEquals(SEGMENT_SIZE * 2, storage.getEntry(1).getData().remaining());
+        assertEquals(ENTRY_SIZE, storage.getEntry(2).getData().remaining());
+
+        storage.shutdown();
+    }
+
+    private void restart() throws Exception {
+        logStorageProvider.close();
+
+        logStorageProvider = new SegmentedLogStorageFactory(path, SEGMENT_SIZE);
+
+        logStorageProvider.start();
+
+        confManager = new ConfigurationManager();
+    }
+
+    private LogStorage createStorage(String groupId) {
+        LogStorage storage = logStorageProvider.createLogStorage(groupId, new RaftOptions());
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(confManager);
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        storage.init(opts);
+
+        return storage;
+    }
+
+    private static List<LogEntry> entries(int from, int count, int term) {
+        List<LogEntry> entries = new ArrayList<>(count);
+
+        for (int i = from; i < from + count; i++) {
+            entries.add(TestUtils.mockEntry(i, term, ENTRY_SIZE));
+        }
+
+        return entries;
+    }
+}
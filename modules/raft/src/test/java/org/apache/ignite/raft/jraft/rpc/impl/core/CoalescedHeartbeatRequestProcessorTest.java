@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.entity.NodeId;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftServerService;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.ErrorResponse;
+import org.apache.ignite.raft.jraft.test.MockAsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class CoalescedHeartbeatRequestProcessorTest {
+    private final String peerIdStr = "localhost:8081";
+
+    private final RaftMessagesFactory msgFactory = new RaftMessagesFactory();
+
+    private MockAsyncContext asyncContext;
+
+    private CoalescedHeartbeatRequestProcessor processor;
+
+    @BeforeEach
+    public void setup() {
+        this.asyncContext = new MockAsyncContext();
+        this.processor = new CoalescedHeartbeatRequestProcessor(Runnable::run, msgFactory);
+    }
+
+    @Test
+    public void testResponsesInRequestOrder() {
+        final AppendEntriesRequest req1 = createHeartbeat("group1");
+        final AppendEntriesRequest req2 = createHeartbeat("group2");
+
+        final AppendEntriesResponse resp1 = msgFactory.appendEntriesResponse().term(1).success(true).build();
+        final AppendEntriesResponse resp2 = msgFactory.appendEntriesResponse().term(2).success(false).build();
+
+        final RaftServerService node1 = mockNode("group1");
+        final RaftServerService node2 = mockNode("group2");
+
+        Mockito.when(node1.handleAppendEntriesRequest(eq(req1), Mockito.any())).thenReturn(resp1);
+        Mockito.when(node2.handleAppendEntriesRequest(eq(req2), Mockito.any())).thenReturn(resp2);
+
+        this.processor.handleRequest(this.asyncContext,
+            msgFactory.coalescedHeartbeatRequest().requestsList(List.of(req2, req1)).build());
+
+        final CoalescedHeartbeatResponse response = this.asyncContext.as(CoalescedHeartbeatResponse.class);
+
+        assertNotNull(response);
+
+        final List<Message> responses = List.copyOf(response.responsesList());
+
+        assertEquals(2, responses.size());
+        assertSame(resp2, responses.get(0));
+        assertSame(resp1, responses.get(1));
+    }
+
+    @Test
+    public void testUnknownGroup() {
+        final AppendEntriesResponse resp = msgFactory.appendEntriesResponse().term(1).success(true).build();
+
+        final RaftServerService node = mockNode("group1");
+
+        Mockito.when(node.handleAppendEntriesRequest(Mockito.any(), Mockito.any())).thenReturn(resp);
+
+        this.processor.handleRequest(this.asyncContext, msgFactory.coalescedHeartbeatRequest()
+            .requestsList(List.of(createHeartbeat("unknown"), createHeartbeat("group1")))
+            .build());
+
+        final List<Message> responses = List.copyOf(
+            this.asyncContext.as(CoalescedHeartbeatResponse.class).responsesList());
+
+        assertEquals(2, responses.size());
+        assertEquals(RaftError.ENOENT.getNumber(), ((ErrorResponse) responses.get(0)).errorCode());
+        assertSame(resp, responses.get(1));
+    }
+
+    @Test
+    public void testHeartbeatsAreProcessedBySelectedExecutors() {
+        final List<String> selectedGroups = new ArrayList<>();
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        this.processor = new CoalescedHeartbeatRequestProcessor(Runnable::run, msgFactory, (reqClass, req, nodeManager) -> {
+            assertEquals(AppendEntriesRequest.class.getName(), reqClass);
+
+            selectedGroups.add(((AppendEntriesRequest) req).groupId());
+
+            return tasks::add;
+        });
+
+        final AppendEntriesRequest req1 = createHeartbeat("group1");
+        final AppendEntriesRequest req2 = createHeartbeat("group2");
+
+        final AppendEntriesResponse resp1 = msgFactory.appendEntriesResponse().term(1).success(true).build();
+        final AppendEntriesResponse resp2 = msgFactory.appendEntriesResponse().term(2).success(true).build();
+
+        Mockito.when(mockNode("group1").handleAppendEntriesRequest(eq(req1), Mockito.any())).thenReturn(resp1);
+        Mockito.when(mockNode("group2").handleAppendEntriesRequest(eq(req2), Mockito.any())).thenReturn(resp2);
+
+        this.processor.handleRequest(this.asyncContext,
+            msgFactory.coalescedHeartbeatRequest().requestsList(List.of(req1, req2)).build());
+
+        assertEquals(List.of("group1", "group2"), selectedGroups);
+        assertEquals(2, tasks.size());
+
+        // The response is sent once all the heartbeats are processed, in any order.
+        tasks.remove().run();
+
+        assertNull(this.asyncContext.getResponseObject());
+
+        tasks.remove().run();
+
+        final List<Message> responses = List.copyOf(
+            this.asyncContext.as(CoalescedHeartbeatResponse.class).responsesList());
+
+        assertSame(resp1, responses.get(0));
+        assertSame(resp2, responses.get(1));
+    }
+
+    @Test
+    public void testRejectedHeartbeat() {
+        this.processor = new CoalescedHeartbeatRequestProcessor(Runnable::run, msgFactory, (reqClass, req, nodeManager) ->
+            "group1".equals(((AppendEntriesRequest) req).groupId())
+                ? task -> {
+                    throw new RejectedExecutionException();
+                }
+                : Runnable::run);
+
+        final AppendEntriesResponse resp = msgFactory.appendEntriesResponse().term(1).success(true).build();
+
+        Mockito.when(mockNode("group1").handleAppendEntriesRequest(Mockito.any(), Mockito.any())).thenReturn(resp);
+        Mockito.when(mockNode("group2").handleAppendEntriesRequest(Mockito.any(), Mockito.any())).thenReturn(resp);
+
+        this.processor.handleRequest(this.asyncContext, msgFactory.coalescedHeartbeatRequest()
+            .requestsList(List.of(createHeartbeat("group1"), createHeartbeat("group2")))
+            .build());
+
+        final List<Message> responses = List.copyOf(
+            this.asyncContext.as(CoalescedHeartbeatResponse.class).responsesList());
+
+        assertEquals(RaftError.EBUSY.getNumber(), ((ErrorResponse) responses.get(0)).errorCode());
+        assertSame(resp, responses.get(1));
+    }
+
+    @Test
+    public void testInterest() {
+        assertEquals(CoalescedHeartbeatRequest.class.getName(), this.processor.interest());
+    }
+
+    private AppendEntriesRequest createHeartbeat(final String groupId) {
+        return msgFactory.appendEntriesRequest()
+            .committedIndex(0)
+            .groupId(groupId)
+            .peerId(this.peerIdStr)
+            .serverId("localhost:8082")
+            .prevLogIndex(0)
+            .term(1)
+            .prevLogTerm(0)
+            .build();
+    }
+
+    private RaftServerService mockNode(final String groupId) {
+        final Node node = Mockito.mock(Node.class, Mockito.withSettings().extraInterfaces(RaftServerService.class));
+
+        final PeerId peerId = new PeerId();
+        peerId.parse(this.peerIdStr);
+
+        Mockito.when(node.getGroupId()).thenReturn(groupId);
+        Mockito.when(node.getNodeId()).thenReturn(new NodeId(groupId, peerId));
+
+        this.asyncContext.getNodeManager().add(node);
+
+        return (RaftServerService) node;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.core.Scheduler;
+import org.apache.ignite.raft.jraft.error.InvokeTimeoutException;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.error.RemotingException;
+import org.apache.ignite.raft.jraft.rpc.InvokeCallback;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RpcClient;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosureAdapter;
+import org.apache.ignite.raft.jraft.util.Endpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class HeartbeatCoalescerTest {
+    private final RaftMessagesFactory msgFactory = new RaftMessagesFactory();
+
+    private final Endpoint endpoint1 = new Endpoint("localhost", 8081);
+
+    private final Endpoint endpoint2 = new Endpoint("localhost", 8082);
+
+    /** Coalesced requests sent by the coalescer. */
+    private final List<Invocation> invocations = new ArrayList<>();
+
+    private RpcClient rpcClient;
+
+    private ScheduledFuture<?> flushTask;
+
+    private HeartbeatCoalescer coalescer;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        this.rpcClient = Mockito.mock(RpcClient.class);
+
+        Mockito.when(this.rpcClient.invokeAsync(any(), any(), any(), any(), anyLong())).thenAnswer(inv -> {
+            this.invocations.add(new Invocation(inv.getArgument(0), inv.getArgument(1), inv.getArgument(3),
+                inv.getArgument(4)));
+
+            return new CompletableFuture<>();
+        });
+
+        this.flushTask = Mockito.mock(ScheduledFuture.class);
+
+        final Scheduler scheduler = Mockito.mock(Scheduler.class);
+
+        Mockito.doReturn(this.flushTask).when(scheduler).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+
+        this.coalescer = new HeartbeatCoalescer(this.rpcClient, this.msgFactory, scheduler, Runnable::run,
+            HeartbeatCoalescer.DEFAULT_FLUSH_INTERVAL_MS);
+
+        this.coalescer.start();
+    }
+
+    @Test
+    public void testBatchPerEndpoint() throws Exception {
+        final AppendEntriesRequest req1 = createHeartbeat("group1");
+        final AppendEntriesRequest req2 = createHeartbeat("group2");
+        final AppendEntriesRequest req3 = createHeartbeat("group3");
+
+        final HeartbeatClosure done1 = new HeartbeatClosure();
+        final HeartbeatClosure done2 = new HeartbeatClosure();
+        final HeartbeatClosure done3 = new HeartbeatClosure();
+
+        final Future<Message> fut1 = this.coalescer.send(this.endpoint1, req1, 300, done1, Runnable::run);
+        final Future<Message> fut2 = this.coalescer.send(this.endpoint1, req2, 200, done2, Runnable::run);
+        this.coalescer.send(this.endpoint2, req3, 300, done3, Runnable::run);
+
+        this.coalescer.flush();
+
+        assertEquals(2, this.invocations.size());
+
+        final Invocation inv1 = invocation(this.endpoint1);
+        final Invocation inv2 = invocation(this.endpoint2);
+
+        assertEquals(List.of(req1, req2), List.copyOf(inv1.request.requestsList()));
+        assertEquals(List.of(req3), List.copyOf(inv2.request.requestsList()));
+
+        // The batch is timed out by the shortest timeout of its heartbeats.
+        assertEquals(200, inv1.timeoutMs);
+        assertEquals(300, inv2.timeoutMs);
+
+        final AppendEntriesResponse resp1 = this.msgFactory.appendEntriesResponse().term(1).success(true).build();
+        final Message resp2 = this.msgFactory.errorResponse()
+            .errorCode(RaftError.ENOENT.getNumber())
+            .errorMsg("Peer id not found")
+            .build();
+
+        inv1.callback.complete(this.msgFactory.coalescedHeartbeatResponse().responsesList(List.of(resp1, resp2)).build(),
+            null);
+
+        assertTrue(done1.status.isOk());
+        assertSame(resp1, done1.getResponse());
+        assertSame(resp1, fut1.get());
+
+        assertEquals(RaftError.ENOENT.getNumber(), done2.status.getCode());
+        assertSame(resp2, fut2.get());
+
+        // The heartbeat to the other endpoint is still in flight.
+        assertNull(done3.status);
+
+        // Nothing is sent while there are no new heartbeats.
+        this.coalescer.flush();
+
+        assertEquals(2, this.invocations.size());
+    }
+
+    @Test
+    public void testFailureIsFannedOut() {
+        final HeartbeatClosure done1 = new HeartbeatClosure();
+        final HeartbeatClosure done2 = new HeartbeatClosure();
+
+        final Future<Message> fut1 = this.coalescer.send(this.endpoint1, createHeartbeat("group1"), 300, done1, Runnable::run);
+        this.coalescer.send(this.endpoint1, createHeartbeat("group2"), 300, done2, Runnable::run);
+
+        this.coalescer.flush();
+
+        this.invocations.get(0).callback.complete(null, new RemotingException("Connection refused"));
+
+        assertEquals(RaftError.EINTERNAL.getNumber(), done1.status.getCode());
+        assertEquals(RaftError.EINTERNAL.getNumber(), done2.status.getCode());
+        assertTrue(fut1.isDone());
+    }
+
+    @Test
+    public void testTimeoutIsFannedOut() {
+        final HeartbeatClosure done1 = new HeartbeatClosure();
+        final HeartbeatClosure done2 = new HeartbeatClosure();
+
+        this.coalescer.send(this.endpoint1, createHeartbeat("group1"), 300, done1, Runnable::run);
+        this.coalescer.send(this.endpoint1, createHeartbeat("group2"), 300, done2, Runnable::run);
+
+        this.coalescer.flush();
+
+        this.invocations.get(0).callback.complete(null, new InvokeTimeoutException());
+
+        assertEquals(RaftError.ETIMEDOUT.getNumber(), done1.status.getCode());
+        assertEquals(RaftError.ETIMEDOUT.getNumber(), done2.status.getCode());
+    }
+
+    @Test
+    public void testErrorResponseIsFannedOut() {
+        final HeartbeatClosure done1 = new HeartbeatClosure();
+        final HeartbeatClosure done2 = new HeartbeatClosure();
+
+        this.coalescer.send(this.endpoint1, createHeartbeat("group1"), 300, done1, Runnable::run);
+        this.coalescer.send(this.endpoint1, createHeartbeat("group2"), 300, done2, Runnable::run);
+
+        this.coalescer.flush();
+
+        this.invocations.get(0).callback.complete(this.msgFactory.errorResponse()
+            .errorCode(RaftError.EBUSY.getNumber())
+            .errorMsg("Busy")
+            .build(), null);
+
+        assertEquals(RaftError.EBUSY.getNumber(), done1.status.getCode());
+        assertEquals(RaftError.EBUSY.getNumber(), done2.status.getCode());
+    }
+
+    @Test
+    public void testSendFailure() throws Exception {
+        Mockito.doThrow(new RemotingException("Connection refused"))
+            .when(this.rpcClient).invokeAsync(eq(this.endpoint2), any(), any(), any(), anyLong());
+
+        final HeartbeatClosure done1 = new HeartbeatClosure();
+        final HeartbeatClosure done2 = new HeartbeatClosure();
+
+        this.coalescer.send(this.endpoint1, createHeartbeat("group1"), 300, done1, Runnable::run);
+        this.coalescer.send(this.endpoint2, createHeartbeat("group2"), 300, done2, Runnable::run);
+
+        this.coalescer.flush();
+
+        // The failure of one endpoint doesn't prevent the heartbeats to the others from being sent.
+        assertEquals(RaftError.EINTERNAL.getNumber(), done2.status.getCode());
+        assertNull(done1.status);
+        assertEquals(1, this.invocations.size());
+    }
+
+    @Test
+    public void testStop() {
+        final HeartbeatClosure done = new HeartbeatClosure();
+
+        final Future<Message> fut = this.coalescer.send(this.endpoint1, createHeartbeat("group1"), 300, done, Runnable::run);
+
+        this.coalescer.stop();
+
+        Mockito.verify(this.flushTask).cancel(false);
+
+        assertEquals(RaftError.ESHUTDOWN.getNumber(), done.status.getCode());
+        assertTrue(fut.isDone());
+
+        this.coalescer.flush();
+
+        assertTrue(this.invocations.isEmpty());
+    }
+
+    private Invocation invocation(final Endpoint endpoint) {
+        return this.invocations.stream().filter(inv -> inv.endpoint.equals(endpoint)).findFirst().orElseThrow();
+    }
+
+    private AppendEntriesRequest createHeartbeat(final String groupId) {
+        return this.msgFactory.appendEntriesRequest()
+            .committedIndex(0)
+            .groupId(groupId)
+            .peerId("localhost:8081")
+            .serverId("localhost:8082")
+            .prevLogIndex(0)
+            .term(1)
+            .prevLogTerm(0)
+            .build();
+    }
+
+    private static class Invocation {
+        final Endpoint endpoint;
+
+        final CoalescedHeartbeatRequest request;
+
+        final InvokeCallback callback;
+
+        final long timeoutMs;
+
+        Invocation(final Endpoint endpoint, final CoalescedHeartbeatRequest request, final InvokeCallback callback,
+            final long timeoutMs) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.callback = callback;
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    private static class HeartbeatClosure extends RpcResponseClosureAdapter<AppendEntriesResponse> {
+        private Status status;
+
+        @Override
+        public void run(final Status status) {
+            this.status = status;
+        }
+    }
+}
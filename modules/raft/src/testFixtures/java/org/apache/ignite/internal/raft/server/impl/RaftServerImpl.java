@@ -206,6 +206,12 @@ public class RaftServerImpl implements RaftServer {
         return listeners.remove(groupId) != null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean destroyRaftGroup(String groupId) {
+        return stopRaftGroup(groupId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public @Nullable Peer localPeer(String groupId) {
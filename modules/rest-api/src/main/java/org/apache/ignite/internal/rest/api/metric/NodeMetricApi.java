@@ -69,4 +69,15 @@ public interface NodeMetricApi {
     @Produces(MediaType.APPLICATION_JSON)
     @Get()
     Collection<MetricSourceDto> list();
+
+    /** Enabled metrics in the Prometheus text format. */
+    @Operation(operationId = "nodeMetricsPrometheus")
+    @ApiResponse(responseCode = "200", description = "Metrics returned")
+    @ApiResponse(responseCode = "500", description = "Internal error",
+            content = @Content(mediaType = MediaType.PROBLEM_JSON, schema = @Schema(implementation = Problem.class)))
+    @ApiResponse(responseCode = "404", description = "Prometheus metric exporter is not enabled",
+            content = @Content(mediaType = MediaType.PROBLEM_JSON, schema = @Schema(implementation = Problem.class)))
+    @Produces({MediaType.TEXT_PLAIN, MediaType.PROBLEM_JSON})
+    @Get("prometheus")
+    String prometheus();
 }
@@ -21,11 +21,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.ignite.internal.rocksdb.ColumnFamily;
 import org.apache.ignite.internal.rocksdb.RocksUtils;
 import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.lang.IgniteInternalException;
@@ -42,6 +47,10 @@ import org.rocksdb.SstFileWriter;
 
 /**
  * Class for creating and restoring RocksDB snapshots.
+ *
+ * <p>A snapshot consists of one SST file per Column Family, named after the Column Family. Several ranges of the same Column Family
+ * are written into the same file, so they must not overlap. A Column Family without keys in the snapshot ranges has no file, because
+ * RocksDB can't create an empty SST file.
  */
 public class RocksSnapshotManager {
     /** Suffix for the temporary snapshot folder. */
@@ -49,7 +58,8 @@ public class RocksSnapshotManager {
 
     private final RocksDB db;
 
-    private final Collection<ColumnFamilyRange> ranges;
+    /** Key ranges grouped by Column Family names, ranges of a Column Family are sorted by their lower bounds. */
+    private final Map<String, List<ColumnFamilyRange>> rangesByCf;
 
     private final Executor executor;
 
@@ -65,8 +75,18 @@ public class RocksSnapshotManager {
         assert !ranges.isEmpty();
 
         this.db = db;
-        this.ranges = List.copyOf(ranges);
         this.executor = executor;
+
+        rangesByCf = ranges.stream()
+                .collect(Collectors.groupingBy(range -> range.columnFamily().name(), LinkedHashMap::new, Collectors.toList()));
+
+        for (List<ColumnFamilyRange> cfRanges : rangesByCf.values()) {
+            assert cfRanges.size() == 1 || cfRanges.stream().noneMatch(ColumnFamilyRange::isFullRange)
+                    : "A full range can't be combined with other ranges of the same Column Family";
+
+            // SST file keys must be written in the ascending order.
+            cfRanges.sort((r1, r2) -> Arrays.compareUnsigned(r1.lowerBound(), r2.lowerBound()));
+        }
     }
 
     /**
@@ -86,8 +106,8 @@ public class RocksSnapshotManager {
                     createTmpSnapshotDir(tmpPath);
 
                     // Create futures for capturing SST snapshots of the column families
-                    CompletableFuture<?>[] sstFutures = ranges.stream()
-                            .map(cf -> createSstFileAsync(cf, snapshot, tmpPath))
+                    CompletableFuture<?>[] sstFutures = rangesByCf.values().stream()
+                            .map(cfRanges -> createSstFileAsync(cfRanges, snapshot, tmpPath))
                             .toArray(CompletableFuture[]::new);
 
                     return CompletableFuture.allOf(sstFutures);
@@ -135,35 +155,52 @@ public class RocksSnapshotManager {
     /**
      * Creates an SST file for the column family (async version).
      *
-     * @param range Column family range.
+     * @param ranges Sorted ranges of the column family.
      * @param snapshot Point-in-time snapshot.
      * @param snapshotDir Directory to put the SST file in.
      */
-    private CompletableFuture<Void> createSstFileAsync(ColumnFamilyRange range, Snapshot snapshot, Path snapshotDir) {
-        return CompletableFuture.runAsync(() -> createSstFile(range, snapshot, snapshotDir), executor);
+    private CompletableFuture<Void> createSstFileAsync(List<ColumnFamilyRange> ranges, Snapshot snapshot, Path snapshotDir) {
+        return CompletableFuture.runAsync(() -> createSstFile(ranges, snapshot, snapshotDir), executor);
     }
 
     /**
-     * Creates an SST file for the column family.
+     * Creates an SST file for the column family. The file is not created if there are no keys in the ranges.
      *
-     * @param range Column family range.
+     * @param ranges Sorted ranges of the column family.
      * @param snapshot Point-in-time snapshot.
      * @param snapshotDir Directory to put the SST file in.
      */
-    private static void createSstFile(ColumnFamilyRange range, Snapshot snapshot, Path snapshotDir) {
+    private static void createSstFile(List<ColumnFamilyRange> ranges, Snapshot snapshot, Path snapshotDir) {
+        ColumnFamily columnFamily = ranges.get(0).columnFamily();
+
         try (
                 EnvOptions envOptions = new EnvOptions();
                 Options options = new Options();
-                SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options);
-                RocksIterator it = snapshotIterator(range, snapshot)
+                SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)
         ) {
-            Path sstFile = snapshotDir.resolve(range.columnFamily().name());
+            Path sstFile = snapshotDir.resolve(columnFamily.name());
+
+            boolean empty = true;
 
-            sstFileWriter.open(sstFile.toString());
+            for (ColumnFamilyRange range : ranges) {
+                try (RocksIterator it = snapshotIterator(range, snapshot)) {
+                    for (; it.isValid(); it.next()) {
+                        if (empty) {
+                            sstFileWriter.open(sstFile.toString());
 
-            RocksUtils.forEach(it, sstFileWriter::put);
+                            empty = false;
+                        }
+
+                        sstFileWriter.put(it.key(), it.value());
+                    }
 
-            sstFileWriter.finish();
+                    RocksUtils.checkIterator(it);
+                }
+            }
+
+            if (!empty) {
+                sstFileWriter.finish();
+            }
         } catch (RocksDBException e) {
             throw new IgniteInternalException("Failed to write snapshot", e);
         }
@@ -196,20 +233,25 @@ public class RocksSnapshotManager {
      * Restores the snapshot that was created by {@link #createSnapshot}.
      *
      * <p>This method loads the snapshot as-is, overwriting the existing keys if necessary. Most of the times storage implementations
-     * should manually remove all data before restoring a snapshot.
+     * should manually remove all data before restoring a snapshot. Column Families that have no file in the snapshot had no keys in
+     * the snapshot ranges and are skipped.
      *
      * @param snapshotDir Path to the directory where a snapshot was created.
      */
     public void restoreSnapshot(Path snapshotDir) {
         try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
-            for (ColumnFamilyRange range : ranges) {
-                Path snapshotPath = snapshotDir.resolve(range.columnFamily().name());
+            if (!Files.isDirectory(snapshotDir)) {
+                throw new IgniteInternalException("Snapshot not found: " + snapshotDir);
+            }
 
-                if (!Files.exists(snapshotPath)) {
-                    throw new IgniteInternalException("Snapshot not found: " + snapshotPath);
-                }
+            for (List<ColumnFamilyRange> cfRanges : rangesByCf.values()) {
+                ColumnFamily columnFamily = cfRanges.get(0).columnFamily();
 
-                range.columnFamily().ingestExternalFile(List.of(snapshotPath.toString()), ingestOptions);
+                Path snapshotPath = snapshotDir.resolve(columnFamily.name());
+
+                if (Files.exists(snapshotPath)) {
+                    columnFamily.ingestExternalFile(List.of(snapshotPath.toString()), ingestOptions);
+                }
             }
         } catch (RocksDBException e) {
             throw new IgniteInternalException("Fail to ingest sst file at path: " + snapshotDir, e);
@@ -18,7 +18,9 @@
 package org.apache.ignite.internal.compute;
 
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.summingLong;
 import static java.util.stream.Collectors.toList;
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
 import static org.apache.ignite.internal.testframework.matchers.CompletableFutureMatcher.willBe;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -30,6 +32,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -293,6 +296,35 @@ class ItComputeTest extends AbstractClusterIntegrationTest {
         assertThat(actualNodeName, in(allNodeNames()));
     }
 
+    @Test
+    void executesMapReduceOverLocalPartitionData() throws Exception {
+        executeSql("CREATE TABLE test (k int, v int, CONSTRAINT PK PRIMARY KEY (k))");
+
+        for (int i = 1; i <= 10; i++) {
+            executeSql("INSERT INTO test(k, v) VALUES (" + i + ", " + i + ")");
+        }
+
+        IgniteComputeInternal compute = (IgniteComputeInternal) node(0).compute();
+
+        // Write intents of the committed transactions are resolved asynchronously, so wait for all the rows to be visible.
+        assertTrue(waitForCondition(
+                () -> compute.executeMapReduce("test", SumValuesJob.class, summingLong(Long::longValue)).join() == 55L,
+                10_000
+        ));
+    }
+
+    private static class SumValuesJob implements PartitionComputeJob<Long> {
+        /** {@inheritDoc} */
+        @Override
+        public Long execute(PartitionJobExecutionContext context, Object... args) {
+            long[] sum = {0};
+
+            context.forEachLocalRow(row -> sum[0] += row.intValue("v"));
+
+            return sum[0];
+        }
+    }
+
     private static class ConcatJob implements ComputeJob<String> {
         /** {@inheritDoc} */
         @Override
@@ -300,7 +300,8 @@ public class ItIgniteNodeRestartTest extends IgniteAbstractTest {
                 metaStorageMgr,
                 schemaManager,
                 view -> new LocalLogStorageFactory(),
-                null
+                null,
+                vault
         );
 
         // Preparing the result map.
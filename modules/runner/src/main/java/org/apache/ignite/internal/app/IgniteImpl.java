@@ -64,6 +64,7 @@ import org.apache.ignite.internal.metastorage.server.persistence.RocksDbKeyValue
 import org.apache.ignite.internal.metrics.MetricManager;
 import org.apache.ignite.internal.metrics.configuration.MetricConfiguration;
 import org.apache.ignite.internal.metrics.rest.MetricRestFactory;
+import org.apache.ignite.internal.network.netty.NetworkMetricSource;
 import org.apache.ignite.internal.raft.Loza;
 import org.apache.ignite.internal.raft.configuration.RaftConfiguration;
 import org.apache.ignite.internal.raft.storage.impl.VolatileLogStorageFactoryCreator;
@@ -87,7 +88,6 @@ import org.apache.ignite.internal.storage.DataStorageModules;
 import org.apache.ignite.internal.table.distributed.TableManager;
 import org.apache.ignite.internal.table.distributed.TableMessageGroup;
 import org.apache.ignite.internal.table.distributed.TableMessagesSerializationRegistryInitializer;
-import org.apache.ignite.internal.tx.LockManager;
 import org.apache.ignite.internal.tx.TxManager;
 import org.apache.ignite.internal.tx.impl.HeapLockManager;
 import org.apache.ignite.internal.tx.impl.IgniteTransactionsImpl;
@@ -241,7 +241,7 @@ public class IgniteImpl implements Ignite {
 
         vaultMgr = createVault(workDir);
 
-        metricManager = new MetricManager();
+        metricManager = new MetricManager(name);
 
         ConfigurationModules modules = loadConfigurationModules(serviceProviderClassLoader);
 
@@ -269,17 +269,16 @@ public class IgniteImpl implements Ignite {
 
         nettyBootstrapFactory = new NettyBootstrapFactory(networkConfiguration, clusterLocalConfiguration.getName());
 
+        NetworkMetricSource networkMetricSource = new NetworkMetricSource();
+
         clusterSvc = new ScaleCubeClusterServiceFactory().createClusterService(
                 clusterLocalConfiguration,
                 networkConfiguration,
-                nettyBootstrapFactory
+                nettyBootstrapFactory,
+                networkMetricSource
         );
 
-        computeComponent = new ComputeComponentImpl(
-                this,
-                clusterSvc.messagingService(),
-                nodeCfgMgr.configurationRegistry().getConfiguration(ComputeConfiguration.KEY)
-        );
+        metricManager.registerSource(networkMetricSource);
 
         clock = new HybridClock();
 
@@ -290,7 +289,11 @@ public class IgniteImpl implements Ignite {
                 clock
         );
 
-        LockManager lockMgr = new HeapLockManager();
+        metricManager.registerSource(raftMgr.metricSource());
+
+        HeapLockManager lockMgr = new HeapLockManager();
+
+        metricManager.registerSource(lockMgr.metricSource());
 
         replicaMgr = new ReplicaManager(
                 clusterSvc,
@@ -300,7 +303,11 @@ public class IgniteImpl implements Ignite {
 
         ReplicaService replicaSvc = new ReplicaService(clusterSvc.messagingService(), clock);
 
-        txManager = new TxManagerImpl(replicaSvc, lockMgr, clock);
+        TxManagerImpl txManagerImpl = new TxManagerImpl(replicaSvc, lockMgr, clock);
+
+        metricManager.registerSource(txManagerImpl.metricSource());
+
+        txManager = txManagerImpl;
 
         cmgMgr = new ClusterManagementGroupManager(
                 vaultMgr,
@@ -358,6 +365,8 @@ public class IgniteImpl implements Ignite {
                 )
         );
 
+        dataStorageMgr.metricSources().forEach(metricManager::registerSource);
+
         schemaManager = new SchemaManager(registry, tablesConfiguration);
 
         volatileLogStorageFactoryCreator = new VolatileLogStorageFactoryCreator(workDir.resolve("volatile-log-spillout"));
@@ -378,9 +387,13 @@ public class IgniteImpl implements Ignite {
                 metaStorageMgr,
                 schemaManager,
                 volatileLogStorageFactoryCreator,
-                clock
+                clock,
+                vaultMgr
         );
 
+        metricManager.registerSource(distributedTblMgr.indexBuilderMetricSource());
+        metricManager.registerSource(distributedTblMgr.txStateStorageMetricSource());
+
         indexManager = new IndexManager(tablesConfiguration);
 
         qryEngine = new SqlQueryProcessor(
@@ -394,8 +407,23 @@ public class IgniteImpl implements Ignite {
                 () -> dataStorageModules.collectSchemasFields(modules.distributed().polymorphicSchemaExtensions())
         );
 
+        metricManager.registerSource(qryEngine.metricSource());
+        metricManager.registerSource(qryEngine.planCacheMetricSource());
+
         sql = new IgniteSqlImpl(qryEngine);
 
+        ComputeComponentImpl computeComponentImpl = new ComputeComponentImpl(
+                this,
+                clusterSvc.messagingService(),
+                nodeCfgMgr.configurationRegistry().getConfiguration(ComputeConfiguration.KEY),
+                distributedTblMgr,
+                clock
+        );
+
+        metricManager.registerSource(computeComponentImpl.metricSource());
+
+        computeComponent = computeComponentImpl;
+
         compute = new IgniteComputeImpl(clusterSvc.topologyService(), distributedTblMgr, computeComponent);
 
         clientHandlerModule = new ClientHandlerModule(
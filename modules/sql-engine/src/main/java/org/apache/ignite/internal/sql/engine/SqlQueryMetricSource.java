@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link SqlQueryProcessor}.
+ */
+public class SqlQueryMetricSource extends AbstractMetricSource<SqlQueryMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "sql.query";
+
+    /**
+     * Constructor.
+     */
+    SqlQueryMetricSource() {
+        super(SOURCE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.register(holder.startedQueries);
+        bldr.register(holder.failedQueries);
+        bldr.register(holder.cancelledQueries);
+        bldr.register(holder.startTime);
+    }
+
+    /**
+     * Tracks a query until its cursor is opened.
+     *
+     * @param cursorFuture Future of the query cursor.
+     */
+    void trackQuery(CompletableFuture<?> cursorFuture) {
+        Holder holder = holder();
+
+        if (holder == null) {
+            return;
+        }
+
+        holder.startedQueries.increment();
+
+        long startNanos = System.nanoTime();
+
+        cursorFuture.whenComplete((cur, ex) -> {
+            if (ex == null) {
+                holder.startTime.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+                return;
+            }
+
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+
+            if (cause instanceof CancellationException) {
+                holder.cancelledQueries.increment();
+            } else {
+                holder.failedQueries.increment();
+            }
+        });
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric startedQueries = new LongAdderMetric(
+                "StartedQueries",
+                "Number of queries submitted on the node."
+        );
+
+        private final LongAdderMetric failedQueries = new LongAdderMetric(
+                "FailedQueries",
+                "Number of queries failed before the cursor was opened, e.g. on parsing, validation or planning."
+        );
+
+        private final LongAdderMetric cancelledQueries = new LongAdderMetric(
+                "CancelledQueries",
+                "Number of queries cancelled before the cursor was opened."
+        );
+
+        private final DistributionMetric startTime = new DistributionMetric(
+                "StartTime",
+                "Distribution of the time in milliseconds from the query submission to the cursor opening, "
+                        + "including parsing and planning.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000}
+        );
+    }
+}
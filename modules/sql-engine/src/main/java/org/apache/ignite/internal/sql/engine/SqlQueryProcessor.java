@@ -19,7 +19,6 @@ package org.apache.ignite.internal.sql.engine;
 
 import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
 import static org.apache.ignite.lang.ErrorGroups.Sql.OPERATION_INTERRUPTED_ERR;
-import static org.apache.ignite.lang.ErrorGroups.Sql.QUERY_INVALID_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.SCHEMA_NOT_FOUND_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.SESSION_EXPIRED_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.SESSION_NOT_FOUND_ERR;
@@ -59,6 +58,7 @@ import org.apache.ignite.internal.sql.engine.exec.MailboxRegistryImpl;
 import org.apache.ignite.internal.sql.engine.exec.QueryTaskExecutor;
 import org.apache.ignite.internal.sql.engine.exec.QueryTaskExecutorImpl;
 import org.apache.ignite.internal.sql.engine.message.MessageServiceImpl;
+import org.apache.ignite.internal.sql.engine.prepare.PlanCacheMetricSource;
 import org.apache.ignite.internal.sql.engine.prepare.PrepareService;
 import org.apache.ignite.internal.sql.engine.prepare.PrepareServiceImpl;
 import org.apache.ignite.internal.sql.engine.prepare.QueryPlan.Type;
@@ -136,6 +136,10 @@ public class SqlQueryProcessor implements QueryProcessor {
     /** Transaction manager. */
     private final TxManager txManager;
 
+    private final SqlQueryMetricSource metricSource = new SqlQueryMetricSource();
+
+    private final PlanCacheMetricSource planCacheMetricSource = new PlanCacheMetricSource();
+
     /** Constructor. */
     public SqlQueryProcessor(
             Consumer<Function<Long, CompletableFuture<?>>> registry,
@@ -157,6 +161,24 @@ public class SqlQueryProcessor implements QueryProcessor {
         this.dataStorageFieldsSupplier = dataStorageFieldsSupplier;
     }
 
+    /**
+     * Returns the metric source of the query processor.
+     *
+     * @return Metric source.
+     */
+    public SqlQueryMetricSource metricSource() {
+        return metricSource;
+    }
+
+    /**
+     * Returns the metric source of the query plan cache.
+     *
+     * @return Metric source.
+     */
+    public PlanCacheMetricSource planCacheMetricSource() {
+        return planCacheMetricSource;
+    }
+
     /** {@inheritDoc} */
     @Override
     public synchronized void start() {
@@ -171,7 +193,8 @@ public class SqlQueryProcessor implements QueryProcessor {
                 nodeName,
                 PLAN_CACHE_SIZE,
                 dataStorageManager,
-                dataStorageFieldsSupplier.get()
+                dataStorageFieldsSupplier.get(),
+                planCacheMetricSource
         ));
 
         var msgSrvc = registerService(new MessageServiceImpl(
@@ -190,8 +213,6 @@ public class SqlQueryProcessor implements QueryProcessor {
 
         SqlSchemaManagerImpl sqlSchemaManager = new SqlSchemaManagerImpl(tableManager, schemaManager, registry, busyLock);
 
-        sqlSchemaManager.registerListener(prepareSvc);
-
         this.prepareSvc = prepareSvc;
 
         var executionSrvc = registerService(ExecutionServiceImpl.create(
@@ -207,6 +228,8 @@ public class SqlQueryProcessor implements QueryProcessor {
                 dataStorageManager
         ));
 
+        sqlSchemaManager.registerListener(executionSrvc);
+
         clusterSrvc.topologyService().addEventHandler(executionSrvc);
         clusterSrvc.topologyService().addEventHandler(mailboxRegistry);
 
@@ -374,16 +397,7 @@ public class SqlQueryProcessor implements QueryProcessor {
         CompletableFuture<Void> start = new CompletableFuture<>();
 
         CompletableFuture<AsyncSqlCursor<List<Object>>> stage = start
-                .thenApply(v -> {
-                    var nodes = Commons.parse(sql, Commons.PARSER_CONFIG);
-
-                    if (nodes.size() > 1) {
-                        throw new SqlException(QUERY_INVALID_ERR, "Multiple statements aren't allowed.");
-                    }
-
-                    return nodes.get(0);
-                })
-                .thenCompose(sqlNode -> {
+                .thenCompose(v -> {
                     BaseQueryContext ctx = BaseQueryContext.builder()
                             .frameworkConfig(
                                     Frameworks.newConfigBuilder(FRAMEWORK_CONFIG)
@@ -397,7 +411,8 @@ public class SqlQueryProcessor implements QueryProcessor {
                             .transaction(outerTx)
                             .build();
 
-                    return prepareSvc.prepareAsync(sqlNode, ctx)
+                    // The query text is parsed only if its plan isn't cached yet.
+                    return prepareSvc.prepareAsync(sql, ctx)
                             .thenApply(plan -> {
                                 context.maybeUnwrap(QueryValidator.class)
                                         .ifPresent(queryValidator -> queryValidator.validatePlan(plan));
@@ -441,6 +456,8 @@ public class SqlQueryProcessor implements QueryProcessor {
             }
         });
 
+        metricSource.trackQuery(stage);
+
         start.completeAsync(() -> null, taskExecutor);
 
         return stage;
@@ -496,6 +513,8 @@ public class SqlQueryProcessor implements QueryProcessor {
                 }
             });
 
+            metricSource.trackQuery(stage);
+
             res.add(stage);
         }
 
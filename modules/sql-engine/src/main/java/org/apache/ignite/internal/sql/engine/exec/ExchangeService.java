@@ -36,9 +36,10 @@ public interface ExchangeService extends LifecycleAware {
      * @param batchId    Batch ID.
      * @param last       Last batch flag.
      * @param rows       Data rows.
+     * @param handler    Row handler.
      */
     <RowT> void sendBatch(String nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId, boolean last,
-            List<RowT> rows) throws IgniteInternalCheckedException;
+            List<RowT> rows, RowHandler<RowT> handler) throws IgniteInternalCheckedException;
 
     /**
      * Acknowledges a batch with given ID is processed.
@@ -21,6 +21,7 @@ import static org.apache.ignite.internal.util.CollectionUtils.nullOrEmpty;
 import static org.apache.ignite.lang.ErrorGroups.Common.UNEXPECTED_ERR;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -83,7 +84,10 @@ public class ExchangeServiceImpl implements ExchangeService {
     /** {@inheritDoc} */
     @Override
     public <RowT> void sendBatch(String nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId,
-            boolean last, List<RowT> rows) throws IgniteInternalCheckedException {
+            boolean last, List<RowT> rows, RowHandler<RowT> handler) throws IgniteInternalCheckedException {
+        // Local batches are passed as is, the remote ones are encoded as binary tuples whenever possible.
+        ByteBuffer encodedRows = localNodeId.equals(nodeId) ? null : RowBatchCodec.encode(handler, rows);
+
         msgSrvc.send(
                 nodeId,
                 FACTORY.queryBatchMessage()
@@ -92,7 +96,8 @@ public class ExchangeServiceImpl implements ExchangeService {
                         .exchangeId(exchangeId)
                         .batchId(batchId)
                         .last(last)
-                        .rows(Commons.cast(rows))
+                        .rows(encodedRows == null ? Commons.cast(rows) : null)
+                        .encodedRows(encodedRows)
                         .build()
         );
     }
@@ -199,7 +204,7 @@ public class ExchangeServiceImpl implements ExchangeService {
 
         if (inbox != null) {
             try {
-                inbox.onBatchReceived(nodeId, msg.batchId(), msg.last(), Commons.cast(msg.rows()));
+                onBatchReceived(inbox, nodeId, msg);
             } catch (Throwable e) {
                 inbox.onError(e);
 
@@ -211,6 +216,14 @@ public class ExchangeServiceImpl implements ExchangeService {
         }
     }
 
+    private static <RowT> void onBatchReceived(Inbox<RowT> inbox, String nodeId, QueryBatchMessage msg) throws Exception {
+        List<RowT> rows = msg.encodedRows() != null
+                ? RowBatchCodec.decode(inbox.context().rowHandler(), msg.encodedRows())
+                : Commons.cast(msg.rows());
+
+        inbox.onBatchReceived(nodeId, msg.batchId(), msg.last(), rows);
+    }
+
     /**
      * Get minimal execution context to meet Inbox needs.
      */
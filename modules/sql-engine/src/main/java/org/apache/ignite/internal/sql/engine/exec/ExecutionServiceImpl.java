@@ -21,10 +21,14 @@ import static org.apache.ignite.internal.sql.engine.externalize.RelJsonReader.fr
 import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
 import static org.apache.ignite.internal.util.CollectionUtils.nullOrEmpty;
 import static org.apache.ignite.lang.ErrorGroups.Sql.DDL_EXEC_ERR;
+import static org.apache.ignite.lang.ErrorGroups.Sql.DUPLICATE_KEYS_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.MESSAGE_SEND_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.NODE_LEFT_ERR;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -35,14 +39,23 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import org.apache.calcite.rel.core.TableModify;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.tools.Frameworks;
+import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.configuration.ConfigurationChangeException;
 import org.apache.ignite.internal.index.IndexManager;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.schema.BinaryRowEx;
+import org.apache.ignite.internal.schema.NativeTypeSpec;
 import org.apache.ignite.internal.sql.engine.AsyncCursor;
 import org.apache.ignite.internal.sql.engine.exec.ddl.DdlCommandHandler;
 import org.apache.ignite.internal.sql.engine.exec.rel.AbstractNode;
@@ -63,16 +76,25 @@ import org.apache.ignite.internal.sql.engine.prepare.DdlPlan;
 import org.apache.ignite.internal.sql.engine.prepare.ExplainPlan;
 import org.apache.ignite.internal.sql.engine.prepare.Fragment;
 import org.apache.ignite.internal.sql.engine.prepare.FragmentPlan;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueGetPlan;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueInsertPlan;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueUpdatePlan;
 import org.apache.ignite.internal.sql.engine.prepare.MappingQueryContext;
 import org.apache.ignite.internal.sql.engine.prepare.MultiStepPlan;
 import org.apache.ignite.internal.sql.engine.prepare.QueryPlan;
+import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
+import org.apache.ignite.internal.sql.engine.schema.InternalIgniteTable;
+import org.apache.ignite.internal.sql.engine.schema.SchemaUpdateListener;
 import org.apache.ignite.internal.sql.engine.schema.SqlSchemaManager;
+import org.apache.ignite.internal.sql.engine.schema.TableDescriptor;
+import org.apache.ignite.internal.sql.engine.type.IgniteTypeFactory;
 import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
 import org.apache.ignite.internal.sql.engine.util.Commons;
 import org.apache.ignite.internal.sql.engine.util.TypeUtils;
 import org.apache.ignite.internal.storage.DataStorageManager;
 import org.apache.ignite.internal.table.distributed.TableManager;
 import org.apache.ignite.internal.tx.InternalTransaction;
+import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.network.ClusterNode;
@@ -84,11 +106,14 @@ import org.jetbrains.annotations.Nullable;
 /**
  * ExecutionServiceImpl. TODO Documentation https://issues.apache.org/jira/browse/IGNITE-15859
  */
-public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEventHandler {
+public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEventHandler, SchemaUpdateListener {
     private static final IgniteLogger LOG = Loggers.forClass(ExecutionServiceImpl.class);
 
     private static final SqlQueryMessagesFactory FACTORY = new SqlQueryMessagesFactory();
 
+    /** Maximum number of the deserialized fragment plans cached by the node. */
+    private static final int FRAGMENT_CACHE_SIZE = 1024;
+
     private final MessageService msgSrvc;
 
     private final String locNodeId;
@@ -109,6 +134,21 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
 
     private final Map<UUID, DistributedQueryManager> queryManagerMap = new ConcurrentHashMap<>();
 
+    /** Deserialized fragment plans by the {@link Fragment#serializedId() identifiers} of their serialized forms. */
+    private final ConcurrentMap<UUID, IgniteRel> fragmentCache = Caffeine.newBuilder()
+            .maximumSize(FRAGMENT_CACHE_SIZE)
+            .<UUID, IgniteRel>build()
+            .asMap();
+
+    /**
+     * Pairs of node ID and fragment plan identifier for the plans, which have been sent to the nodes, and therefore are supposed to
+     * be cached by them. A plan evicted from the node cache is requested by the node again.
+     */
+    private final ConcurrentMap<IgniteBiTuple<String, UUID>, Boolean> remoteCachedFragments = Caffeine.newBuilder()
+            .maximumSize(FRAGMENT_CACHE_SIZE)
+            .<IgniteBiTuple<String, UUID>, Boolean>build()
+            .asMap();
+
     /**
      * Creates the execution services.
      *
@@ -214,8 +254,13 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
                 .build();
     }
 
-    private QueryPlan prepareFragment(String jsonFragment) {
-        return new FragmentPlan(fromJson(sqlSchemaManager, jsonFragment));
+    private @Nullable FragmentPlan prepareFragment(UUID rootId, @Nullable String jsonFragment) {
+        IgniteRel root = jsonFragment == null
+                ? fragmentCache.get(rootId)
+                : fragmentCache.computeIfAbsent(rootId, id -> fromJson(sqlSchemaManager, jsonFragment));
+
+        // The plan is cloned, so the cached one is never shared by the running fragments.
+        return root == null ? null : new FragmentPlan(root);
     }
 
     /** {@inheritDoc} */
@@ -226,7 +271,23 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
         switch (plan.type()) {
             case DML:
                 // TODO a barrier between previous operation and this one
+                if (plan instanceof KeyValueInsertPlan) {
+                    return executeKeyValueInsert(ctx, (KeyValueInsertPlan) plan);
+                }
+
+                if (plan instanceof KeyValueUpdatePlan) {
+                    return executeKeyValueUpdate(ctx, (KeyValueUpdatePlan) plan);
+                }
+
+                return executeQuery(
+                        ctx,
+                        (MultiStepPlan) plan
+                );
             case QUERY:
+                if (plan instanceof KeyValueGetPlan) {
+                    return executeKeyValueGet(ctx, (KeyValueGetPlan) plan);
+                }
+
                 return executeQuery(
                         ctx,
                         (MultiStepPlan) plan
@@ -252,6 +313,241 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
         return mgr.close(true);
     }
 
+    /**
+     * Reads the single row by its primary key directly from the table, bypassing the fragments mapping and the exchange.
+     * Falls back to the distributed plan if a key parameter requires a conversion to the column type.
+     */
+    private AsyncCursor<List<Object>> executeKeyValueGet(BaseQueryContext ctx, KeyValueGetPlan plan) {
+        InternalIgniteTable table = plan.table();
+
+        if (!keyParametersMatchColumnTypes(table.descriptor(), plan::keyParameter, ctx.parameters())) {
+            return executeQuery(ctx, plan.distributedPlan());
+        }
+
+        ExecutionContext<RowT> ectx = keyValueContext(ctx);
+
+        BinaryRowEx keyRow = keyRow(ectx, table, plan::keyParameter, ctx.parameters());
+
+        // Key columns are not nullable, so nothing matches the NULL key.
+        if (keyRow == null) {
+            return new AsyncWrapper<>(Collections.emptyIterator());
+        }
+
+        Function<RowT, RowT> converter = TypeUtils.resultTypeConverter(ectx, plan.rowType());
+
+        CompletableFuture<Iterator<List<Object>>> ret = lookup(ectx, table, keyRow, plan.requiredColumns(), plan.condition(),
+                plan.projects())
+                .thenApply(row -> {
+                    if (row == null) {
+                        return Collections.emptyIterator();
+                    }
+
+                    row = converter.apply(row);
+
+                    List<Object> res = new ArrayList<>(handler.columnCount(row));
+
+                    for (int i = 0; i < handler.columnCount(row); i++) {
+                        res.add(handler.get(i, row));
+                    }
+
+                    return List.of(res).iterator();
+                });
+
+        return new AsyncWrapper<>(ret, Runnable::run);
+    }
+
+    /**
+     * Inserts the single row, which is computed from the query parameters, directly into the table, bypassing the fragments
+     * mapping and the exchange.
+     */
+    private AsyncCursor<List<Object>> executeKeyValueInsert(BaseQueryContext ctx, KeyValueInsertPlan plan) {
+        InternalIgniteTable table = plan.table();
+
+        ExecutionContext<RowT> ectx = keyValueContext(ctx);
+
+        RowT row = ectx.expressionFactory().values(plan.values(), plan.valuesRowType()).iterator().next();
+
+        if (plan.projects() != null) {
+            row = ectx.expressionFactory().project(plan.projects(), plan.valuesRowType()).apply(row);
+        }
+
+        BinaryRowEx binRow = table.toModifyRow(ectx, row, TableModify.Operation.INSERT, null).getRow();
+
+        CompletableFuture<Iterator<List<Object>>> ret = table.table().insert(binRow, ctx.transaction())
+                .thenApply(inserted -> {
+                    if (!inserted) {
+                        throw new SqlException(DUPLICATE_KEYS_ERR, "PK unique constraint is violated");
+                    }
+
+                    return List.of(List.<Object>of(1L)).iterator();
+                });
+
+        return new AsyncWrapper<>(ret, Runnable::run);
+    }
+
+    /**
+     * Updates the single row, which is found by its primary key, directly in the table, bypassing the fragments mapping and
+     * the exchange. The row is read and written back in the transaction of the query. Falls back to the distributed plan if
+     * a key parameter requires a conversion to the column type.
+     */
+    private AsyncCursor<List<Object>> executeKeyValueUpdate(BaseQueryContext ctx, KeyValueUpdatePlan plan) {
+        InternalIgniteTable table = plan.table();
+
+        if (!keyParametersMatchColumnTypes(table.descriptor(), plan::keyParameter, ctx.parameters())) {
+            return executeQuery(ctx, plan.distributedPlan());
+        }
+
+        ExecutionContext<RowT> ectx = keyValueContext(ctx);
+
+        BinaryRowEx keyRow = keyRow(ectx, table, plan::keyParameter, ctx.parameters());
+
+        if (keyRow == null) {
+            return new AsyncWrapper<>(List.of(List.<Object>of(0L)).iterator());
+        }
+
+        InternalTransaction tx = ctx.transaction();
+
+        CompletableFuture<Iterator<List<Object>>> ret = lookup(ectx, table, keyRow, plan.requiredColumns(), plan.condition(),
+                plan.projects())
+                .thenCompose(row -> {
+                    if (row == null) {
+                        return CompletableFuture.completedFuture(0L);
+                    }
+
+                    BinaryRowEx binRow = table.toModifyRow(ectx, row, TableModify.Operation.UPDATE, plan.updateColumns()).getRow();
+
+                    return table.table().upsert(binRow, tx).thenApply(ignored -> 1L);
+                })
+                .thenApply(cnt -> List.of(List.<Object>of(cnt)).iterator());
+
+        return new AsyncWrapper<>(ret, Runnable::run);
+    }
+
+    /** Creates the context of a key-value plan, which is executed by the local node without the query fragments. */
+    private ExecutionContext<RowT> keyValueContext(BaseQueryContext ctx) {
+        return new ExecutionContext<>(
+                ctx,
+                taskExecutor,
+                ctx.queryId(),
+                locNodeId,
+                locNodeId,
+                new FragmentDescription(0, null, null, Long2ObjectMaps.emptyMap()),
+                handler,
+                Commons.parametersMap(ctx.parameters()),
+                ctx.transaction()
+        );
+    }
+
+    /**
+     * Checks whether the values of the key parameters can be used for a key-value lookup as is. A value of another type
+     * requires a conversion to the column type, which is only done by the distributed plan.
+     *
+     * @param desc Table descriptor.
+     * @param keyParam Dynamic parameter index by the table column index, {@code -1} for the non-key columns.
+     * @param params Query parameters.
+     * @return {@code true} if every non-null key parameter has the type of its column.
+     */
+    private static boolean keyParametersMatchColumnTypes(TableDescriptor desc, IntUnaryOperator keyParam, Object[] params) {
+        for (int i = 0; i < desc.columnsCount(); i++) {
+            int paramIdx = keyParam.applyAsInt(i);
+
+            if (paramIdx < 0 || params[paramIdx] == null) {
+                continue;
+            }
+
+            if (!NativeTypeSpec.toClass(desc.columnDescriptor(i).physicalType().spec(), true).isInstance(params[paramIdx])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds the key row of the table from the key parameters.
+     *
+     * @param ectx Execution context.
+     * @param table Table.
+     * @param keyParam Dynamic parameter index by the table column index, {@code -1} for the non-key columns.
+     * @param params Query parameters.
+     * @return Key row or {@code null} if a key parameter is {@code NULL}.
+     */
+    private @Nullable BinaryRowEx keyRow(
+            ExecutionContext<RowT> ectx,
+            InternalIgniteTable table,
+            IntUnaryOperator keyParam,
+            Object[] params
+    ) {
+        TableDescriptor desc = table.descriptor();
+
+        IgniteTypeFactory typeFactory = ectx.getTypeFactory();
+
+        RowT keyRow = handler.factory(typeFactory, desc.rowType(typeFactory, null)).create();
+
+        for (int i = 0; i < desc.columnsCount(); i++) {
+            int paramIdx = keyParam.applyAsInt(i);
+
+            if (paramIdx < 0) {
+                continue;
+            }
+
+            Object val = params[paramIdx];
+
+            if (val == null) {
+                return null;
+            }
+
+            handler.set(i, keyRow, TypeUtils.toInternal(ectx, val));
+        }
+
+        return table.toKeyRow(ectx, keyRow);
+    }
+
+    /**
+     * Reads the row by its key from the table and transforms it the way the scan of the distributed plan does.
+     *
+     * @param ectx Execution context.
+     * @param table Table.
+     * @param keyRow Key row.
+     * @param requiredColumns Columns to read from the found row, {@code null} means all the columns.
+     * @param condition Condition to check the found row against.
+     * @param projects Projection of the found row.
+     * @return Future of the transformed row, completed with {@code null} if there is no row or it doesn't match the condition.
+     */
+    private CompletableFuture<RowT> lookup(
+            ExecutionContext<RowT> ectx,
+            InternalIgniteTable table,
+            BinaryRowEx keyRow,
+            @Nullable ImmutableBitSet requiredColumns,
+            @Nullable RexNode condition,
+            @Nullable List<RexNode> projects
+    ) {
+        IgniteTypeFactory typeFactory = ectx.getTypeFactory();
+
+        RelDataType rowType = table.getRowType(typeFactory, requiredColumns);
+
+        RowHandler.RowFactory<RowT> factory = handler.factory(typeFactory, rowType);
+
+        Predicate<RowT> filter = condition == null ? null : ectx.expressionFactory().predicate(condition, rowType);
+
+        Function<RowT, RowT> prj = projects == null ? null : ectx.expressionFactory().project(projects, rowType);
+
+        return table.table().get(keyRow, ectx.transaction())
+                .thenApply(binRow -> {
+                    if (binRow == null) {
+                        return null;
+                    }
+
+                    RowT row = table.toRow(ectx, binRow, factory, requiredColumns);
+
+                    if (filter != null && !filter.test(row)) {
+                        return null;
+                    }
+
+                    return prj == null ? row : prj.apply(row);
+                });
+    }
+
     private AsyncCursor<List<Object>> executeDdl(DdlPlan plan) {
         CompletableFuture<Iterator<List<Object>>> ret = ddlCmdHnd.handle(plan.command())
                 .thenApply(applied -> List.of(List.<Object>of(applied)).iterator())
@@ -296,7 +592,7 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
             return new DistributedQueryManager(ctx);
         });
 
-        queryManager.submitFragment(nodeId, msg.root(), msg.fragmentDescription());
+        queryManager.submitFragment(nodeId, msg.rootId(), msg.root(), msg.fragmentDescription());
     }
 
     private void onMessage(String nodeId, QueryStartResponse msg) {
@@ -305,7 +601,7 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
         DistributedQueryManager dqm = queryManagerMap.get(msg.queryId());
 
         if (dqm != null) {
-            dqm.acknowledgeFragment(nodeId, msg.fragmentId(), msg.error());
+            dqm.acknowledgeFragment(nodeId, msg.fragmentId(), msg.error(), msg.rootNotCached());
         }
     }
 
@@ -351,6 +647,15 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
     @Override
     public void onDisappeared(ClusterNode member) {
         queryManagerMap.values().forEach(qm -> qm.onNodeLeft(member.id()));
+
+        remoteCachedFragments.keySet().removeIf(key -> member.id().equals(key.get1()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSchemaUpdated() {
+        fragmentCache.clear();
+        remoteCachedFragments.clear();
     }
 
     /** Returns local fragments for the query with given id. */
@@ -376,6 +681,9 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
 
         private final Map<RemoteFragmentKey, CompletableFuture<Void>> remoteFragmentInitCompletion = new ConcurrentHashMap<>();
 
+        /** Fragments sent to the remote nodes, kept to resend a fragment to a node, which doesn't have its plan cached. */
+        private final Map<Long, IgniteBiTuple<Fragment, FragmentDescription>> sentFragments = new ConcurrentHashMap<>();
+
         private final Queue<AbstractNode<RowT>> localFragments = new LinkedBlockingQueue<>();
 
         private final CompletableFuture<AsyncRootNode<RowT, List<Object>>> root;
@@ -412,18 +720,35 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
         }
 
         private void sendFragment(String targetNodeId, Fragment fragment, FragmentDescription desc) throws IgniteInternalCheckedException {
+            sentFragments.put(fragment.fragmentId(), new IgniteBiTuple<>(fragment, desc));
+
+            var fut = new CompletableFuture<Void>();
+            remoteFragmentInitCompletion.put(new RemoteFragmentKey(targetNodeId, fragment.fragmentId()), fut);
+
+            sendStartRequest(targetNodeId, fragment, desc, fut, false);
+        }
+
+        private void sendStartRequest(
+                String targetNodeId,
+                Fragment fragment,
+                FragmentDescription desc,
+                CompletableFuture<Void> fut,
+                boolean forcePlan
+        ) throws IgniteInternalCheckedException {
+            IgniteBiTuple<String, UUID> planKey = new IgniteBiTuple<>(targetNodeId, fragment.serializedId());
+
+            boolean sendPlan = forcePlan || !remoteCachedFragments.containsKey(planKey);
+
             QueryStartRequest req = FACTORY.queryStartRequest()
                     .queryId(ctx.queryId())
                     .fragmentId(fragment.fragmentId())
                     .schema(ctx.schemaName())
-                    .root(fragment.serialized())
+                    .root(sendPlan ? fragment.serialized() : null)
+                    .rootId(fragment.serializedId())
                     .fragmentDescription(desc)
                     .parameters(ctx.parameters())
                     .build();
 
-            var fut = new CompletableFuture<Void>();
-            remoteFragmentInitCompletion.put(new RemoteFragmentKey(targetNodeId, fragment.fragmentId()), fut);
-
             try {
                 msgSrvc.send(targetNodeId, req);
             } catch (Exception ex) {
@@ -435,9 +760,33 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
 
                 throw ex;
             }
+
+            if (sendPlan) {
+                remoteCachedFragments.put(planKey, Boolean.TRUE);
+            }
         }
 
-        private void acknowledgeFragment(String nodeId, long fragmentId, @Nullable Throwable ex) {
+        private void resendFragment(String nodeId, long fragmentId) {
+            IgniteBiTuple<Fragment, FragmentDescription> sent = sentFragments.get(fragmentId);
+
+            assert sent != null : fragmentId;
+
+            try {
+                CompletableFuture<Void> fut = remoteFragmentInitCompletion.get(new RemoteFragmentKey(nodeId, fragmentId));
+
+                sendStartRequest(nodeId, sent.get1(), sent.get2(), fut, true);
+            } catch (Throwable e) {
+                root.thenAccept(root -> root.onError(e));
+            }
+        }
+
+        private void acknowledgeFragment(String nodeId, long fragmentId, @Nullable Throwable ex, boolean rootNotCached) {
+            if (rootNotCached) {
+                resendFragment(nodeId, fragmentId);
+
+                return;
+            }
+
             if (ex != null) {
                 Long rootFragmentId0 = rootFragmentId;
 
@@ -529,11 +878,22 @@ public class ExecutionServiceImpl<RowT> implements ExecutionService, TopologyEve
             );
         }
 
-        private void submitFragment(String initiatorNode, String fragmentString, FragmentDescription desc) {
+        private void submitFragment(String initiatorNode, UUID rootId, @Nullable String fragmentString, FragmentDescription desc) {
             try {
-                QueryPlan qryPlan = prepareFragment(fragmentString);
+                FragmentPlan plan = prepareFragment(rootId, fragmentString);
 
-                FragmentPlan plan = (FragmentPlan) qryPlan;
+                if (plan == null) {
+                    msgSrvc.send(
+                            initiatorNode,
+                            FACTORY.queryStartResponse()
+                                    .queryId(ctx.queryId())
+                                    .fragmentId(desc.fragmentId())
+                                    .rootNotCached(true)
+                                    .build()
+                    );
+
+                    return;
+                }
 
                 executeFragment(plan, createContext(initiatorNode, desc));
             } catch (Throwable ex) {
@@ -304,7 +304,19 @@ public class LogicalRelImplementor<RowT> implements IgniteRelVisitor<Node<RowT>>
         ColocationGroup group = ctx.group(rel.sourceId());
         int[] parts = group.partitions(ctx.localNodeId());
 
-        return new IndexScanNode<>(ctx, rowType, idx, tbl, parts, lower, upper, filters, prj, requiredColumns.toBitSet());
+        Comparator<RowT> comp = null;
+
+        if (idx.type() == IgniteIndex.Type.SORTED) {
+            // Index collation in terms of the scanned row. Columns that are not required cut it down to a prefix.
+            RelCollation collation = TraitUtils.createCollation(idx.columns(), idx.collations(), tbl.descriptor())
+                    .apply(Commons.mapping(requiredColumns, tbl.getRowType(typeFactory).getFieldCount()));
+
+            if (!collation.getFieldCollations().isEmpty()) {
+                comp = expressionFactory.comparator(collation);
+            }
+        }
+
+        return new IndexScanNode<>(ctx, rowType, idx, tbl, parts, comp, lower, upper, filters, prj, requiredColumns);
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine.exec;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.apache.calcite.avatica.util.ByteString;
+import org.apache.ignite.internal.binarytuple.BinaryTupleBuilder;
+import org.apache.ignite.internal.binarytuple.BinaryTupleParser;
+import org.apache.ignite.internal.binarytuple.BinaryTupleReader;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes batches of rows sent between query fragments as binary tuples.
+ *
+ * <p>The encoded batch has the following layout (little-endian):
+ * <pre>
+ * int columnCount | byte[columnCount] columnTypes | int rowCount | rowCount * (int tupleSize | byte[tupleSize] tuple)
+ * </pre>
+ * Column types are resolved from the values of the batch, because the internal representation of a value is defined by the
+ * expressions producing it rather than by the row type. A batch, which has a column with values of different or unsupported
+ * classes (aggregate accumulators, for example), can't be encoded and has to be sent as a list of objects.
+ */
+public final class RowBatchCodec {
+    /** Column with {@code null} values only. */
+    private static final byte NULL = 0;
+
+    private static final byte BOOLEAN = 1;
+
+    private static final byte INT8 = 2;
+
+    private static final byte INT16 = 3;
+
+    private static final byte INT32 = 4;
+
+    private static final byte INT64 = 5;
+
+    private static final byte FLOAT = 6;
+
+    private static final byte DOUBLE = 7;
+
+    /** Decimal value occupies two tuple elements: the scale and the value itself. */
+    private static final byte DECIMAL = 8;
+
+    private static final byte NUMBER = 9;
+
+    private static final byte STRING = 10;
+
+    private static final byte BYTES = 11;
+
+    private static final byte BYTE_STRING = 12;
+
+    private static final byte UUID_TYPE = 13;
+
+    /** Marker of a value, which can't be encoded. */
+    private static final byte UNSUPPORTED = -1;
+
+    private RowBatchCodec() {
+    }
+
+    /**
+     * Encodes a batch of rows.
+     *
+     * @param handler Row handler.
+     * @param rows Rows to encode.
+     * @param <RowT> Row type.
+     * @return Encoded batch or {@code null} if the rows can't be encoded.
+     */
+    public static <RowT> @Nullable ByteBuffer encode(RowHandler<RowT> handler, List<RowT> rows) {
+        int columnCount = rows.isEmpty() ? 0 : handler.columnCount(rows.get(0));
+
+        byte[] columnTypes = new byte[columnCount];
+
+        for (RowT row : rows) {
+            if (handler.columnCount(row) != columnCount) {
+                return null;
+            }
+
+            for (int i = 0; i < columnCount; i++) {
+                Object val = handler.get(i, row);
+
+                if (val == null) {
+                    continue;
+                }
+
+                byte type = typeOf(val);
+
+                if (type == UNSUPPORTED || (columnTypes[i] != NULL && columnTypes[i] != type)) {
+                    return null;
+                }
+
+                columnTypes[i] = type;
+            }
+        }
+
+        int numElements = numElements(columnTypes);
+
+        ByteBuffer[] tuples = new ByteBuffer[rows.size()];
+
+        int size = Integer.BYTES + columnCount + Integer.BYTES;
+
+        for (int r = 0; r < tuples.length; r++) {
+            BinaryTupleBuilder builder = new BinaryTupleBuilder(numElements, true);
+
+            RowT row = rows.get(r);
+
+            for (int i = 0; i < columnCount; i++) {
+                appendValue(builder, columnTypes[i], handler.get(i, row));
+            }
+
+            tuples[r] = builder.build();
+
+            size += Integer.BYTES + tuples[r].remaining();
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        buf.putInt(columnCount);
+        buf.put(columnTypes);
+        buf.putInt(tuples.length);
+
+        for (ByteBuffer tuple : tuples) {
+            buf.putInt(tuple.remaining());
+            buf.put(tuple);
+        }
+
+        return buf.flip();
+    }
+
+    /**
+     * Returns a list, which lazily decodes the rows of the encoded batch. The list supports {@link List#set} to release a row,
+     * which has been consumed, but doesn't store the rows passed to it.
+     *
+     * @param handler Row handler.
+     * @param buf Encoded batch.
+     * @param <RowT> Row type.
+     * @return Decoded rows.
+     */
+    public static <RowT> List<RowT> decode(RowHandler<RowT> handler, ByteBuffer buf) {
+        return new DecodedRows<>(handler, buf.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    private static byte typeOf(Object val) {
+        if (val instanceof Boolean) {
+            return BOOLEAN;
+        } else if (val instanceof Byte) {
+            return INT8;
+        } else if (val instanceof Short) {
+            return INT16;
+        } else if (val instanceof Integer) {
+            return INT32;
+        } else if (val instanceof Long) {
+            return INT64;
+        } else if (val instanceof Float) {
+            return FLOAT;
+        } else if (val instanceof Double) {
+            return DOUBLE;
+        } else if (val instanceof BigDecimal) {
+            return DECIMAL;
+        } else if (val instanceof BigInteger) {
+            return NUMBER;
+        } else if (val instanceof String) {
+            return STRING;
+        } else if (val instanceof byte[]) {
+            return BYTES;
+        } else if (val instanceof ByteString) {
+            return BYTE_STRING;
+        } else if (val instanceof UUID) {
+            return UUID_TYPE;
+        }
+
+        return UNSUPPORTED;
+    }
+
+    private static int numElements(byte[] columnTypes) {
+        int res = columnTypes.length;
+
+        for (byte type : columnTypes) {
+            if (type == DECIMAL) {
+                res++;
+            }
+        }
+
+        return res;
+    }
+
+    private static void appendValue(BinaryTupleBuilder builder, byte type, @Nullable Object val) {
+        if (val == null) {
+            builder.appendNull();
+
+            if (type == DECIMAL) {
+                builder.appendNull();
+            }
+
+            return;
+        }
+
+        switch (type) {
+            case BOOLEAN:
+                builder.appendByte((byte) ((Boolean) val ? 1 : 0));
+                break;
+            case INT8:
+                builder.appendByte((Byte) val);
+                break;
+            case INT16:
+                builder.appendShort((Short) val);
+                break;
+            case INT32:
+                builder.appendInt((Integer) val);
+                break;
+            case INT64:
+                builder.appendLong((Long) val);
+                break;
+            case FLOAT:
+                builder.appendFloat((Float) val);
+                break;
+            case DOUBLE:
+                builder.appendDouble((Double) val);
+                break;
+            case DECIMAL:
+                BigDecimal decimal = (BigDecimal) val;
+
+                builder.appendInt(decimal.scale());
+                builder.appendDecimalNotNull(decimal, decimal.scale());
+                break;
+            case NUMBER:
+                builder.appendNumberNotNull((BigInteger) val);
+                break;
+            case STRING:
+                builder.appendStringNotNull((String) val);
+                break;
+            case BYTES:
+                builder.appendBytesNotNull((byte[]) val);
+                break;
+            case BYTE_STRING:
+                builder.appendBytesNotNull(((ByteString) val).getBytes());
+                break;
+            case UUID_TYPE:
+                builder.appendUuidNotNull((UUID) val);
+                break;
+            default:
+                throw new AssertionError("Unexpected column type: " + type);
+        }
+    }
+
+    /**
+     * Rows of an encoded batch, which are decoded on demand.
+     */
+    private static final class DecodedRows<RowT> extends AbstractList<RowT> {
+        private final RowHandler.RowFactory<RowT> factory;
+
+        private final ByteBuffer buf;
+
+        private final byte[] columnTypes;
+
+        private final int numElements;
+
+        /** Offsets of the row tuples in the buffer. */
+        private final int[] offsets;
+
+        /** Index of the last decoded row, rows are usually peeked and then removed, so the last one is cached. */
+        private int lastIdx = -1;
+
+        private RowT lastRow;
+
+        private DecodedRows(RowHandler<RowT> handler, ByteBuffer buf) {
+            this.buf = buf;
+
+            int pos = buf.position();
+
+            columnTypes = new byte[buf.getInt(pos)];
+
+            pos += Integer.BYTES;
+
+            for (int i = 0; i < columnTypes.length; i++) {
+                columnTypes[i] = buf.get(pos++);
+            }
+
+            numElements = numElements(columnTypes);
+
+            offsets = new int[buf.getInt(pos)];
+
+            pos += Integer.BYTES;
+
+            for (int r = 0; r < offsets.length; r++) {
+                offsets[r] = pos;
+
+                pos += Integer.BYTES + buf.getInt(pos);
+            }
+
+            Type[] types = new Type[columnTypes.length];
+
+            Arrays.fill(types, Object.class);
+
+            factory = handler.factory(types);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RowT get(int index) {
+            if (index != lastIdx) {
+                lastRow = decodeRow(index);
+                lastIdx = index;
+            }
+
+            return lastRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RowT set(int index, RowT element) {
+            assert element == null : "Decoded rows can't be replaced";
+
+            RowT row = get(index);
+
+            lastRow = null;
+            lastIdx = -1;
+
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+
+        private RowT decodeRow(int index) {
+            int offset = offsets[index];
+
+            ByteBuffer tuple = buf.duplicate()
+                    .position(offset + Integer.BYTES)
+                    .limit(offset + Integer.BYTES + buf.getInt(offset))
+                    .slice()
+                    .order(BinaryTupleParser.ORDER);
+
+            BinaryTupleReader reader = new BinaryTupleReader(numElements, tuple);
+
+            RowHandler<RowT> handler = factory.handler();
+
+            RowT row = factory.create();
+
+            int elementIdx = 0;
+
+            for (int i = 0; i < columnTypes.length; i++) {
+                byte type = columnTypes[i];
+
+                if (reader.hasNullValue(elementIdx)) {
+                    elementIdx += type == DECIMAL ? 2 : 1;
+
+                    continue;
+                }
+
+                Object val;
+
+                switch (type) {
+                    case BOOLEAN:
+                        val = reader.byteValue(elementIdx) != 0;
+                        break;
+                    case INT8:
+                        val = reader.byteValue(elementIdx);
+                        break;
+                    case INT16:
+                        val = reader.shortValue(elementIdx);
+                        break;
+                    case INT32:
+                        val = reader.intValue(elementIdx);
+                        break;
+                    case INT64:
+                        val = reader.longValue(elementIdx);
+                        break;
+                    case FLOAT:
+                        val = reader.floatValue(elementIdx);
+                        break;
+                    case DOUBLE:
+                        val = reader.doubleValue(elementIdx);
+                        break;
+                    case DECIMAL:
+                        val = reader.decimalValue(elementIdx + 1, reader.intValue(elementIdx));
+
+                        elementIdx++;
+                        break;
+                    case NUMBER:
+                        val = reader.numberValue(elementIdx);
+                        break;
+                    case STRING:
+                        val = reader.stringValue(elementIdx);
+                        break;
+                    case BYTES:
+                        val = reader.bytesValue(elementIdx);
+                        break;
+                    case BYTE_STRING:
+                        val = new ByteString(reader.bytesValue(elementIdx));
+                        break;
+                    case UUID_TYPE:
+                        val = reader.uuidValue(elementIdx);
+                        break;
+                    default:
+                        throw new AssertionError("Unexpected column type: " + type);
+                }
+
+                handler.set(i, row, val);
+
+                elementIdx++;
+            }
+
+            return row;
+        }
+    }
+}
@@ -19,17 +19,22 @@ package org.apache.ignite.internal.sql.engine.exec.rel;
 
 import static org.apache.ignite.internal.util.ArrayUtils.nullOrEmpty;
 
-import java.util.BitSet;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Flow;
+import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscription;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.internal.index.SortedIndex;
+import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.schema.BinaryTupleSchema;
 import org.apache.ignite.internal.sql.engine.exec.ExecutionContext;
@@ -38,20 +43,27 @@ import org.apache.ignite.internal.sql.engine.exec.RowHandler;
 import org.apache.ignite.internal.sql.engine.schema.IgniteIndex;
 import org.apache.ignite.internal.sql.engine.schema.IgniteIndex.Type;
 import org.apache.ignite.internal.sql.engine.schema.InternalIgniteTable;
+import org.apache.ignite.internal.table.InternalTable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Scan node.
+ * Index scan node.
+ *
+ * <p>Scans the index partitions in parallel. Rows of a sorted index are merged from the partition streams by the given comparator,
+ * so the index order is preserved.
  * TODO: merge with {@link TableScanNode}
  */
 public class IndexScanNode<RowT> extends AbstractNode<RowT> {
-    /** Special value to highlights that all row were received and we are not waiting any more. */
-    private static final int NOT_WAITING = -1;
-
     /** Schema index. */
     private final IgniteIndex schemaIndex;
 
+    /** Schema table. */
+    private final InternalIgniteTable schemaTable;
+
+    /** Table to scan. */
+    private final InternalTable physTable;
+
     /** Index row layout. */
     private final BinaryTupleSchema indexRowSchema;
 
@@ -59,14 +71,15 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
 
     private final int[] parts;
 
-    private final Queue<RowT> inBuff = new LinkedBlockingQueue<>(inBufSize);
+    /** Comparator to merge the partition streams, {@code null} if the order doesn't matter. */
+    private final @Nullable Comparator<RowT> comp;
 
     private final @Nullable Predicate<RowT> filters;
 
     private final @Nullable Function<RowT, RowT> rowTransformer;
 
     /** Participating columns. */
-    private final @Nullable BitSet requiredColumns;
+    private final @Nullable ImmutableBitSet requiredColumns;
 
     private final @Nullable Supplier<RowT> lowerCond;
 
@@ -76,25 +89,22 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
 
     private int requested;
 
-    private int waiting;
-
     private boolean inLoop;
 
-    private Subscription activeSubscription;
-
-    private int curPartIdx;
-
-    private @Nullable BinaryTuple lowerBound;
-
-    private @Nullable BinaryTuple upperBound;
+    /** Partition subscribers, {@code null} until the scan is started. */
+    private @Nullable List<PartitionSubscriber> subscribers;
 
     /**
      * Constructor.
      *
      * @param ctx Execution context.
      * @param rowType Output type of the current node.
+     * @param schemaIndex The index to use.
      * @param schemaTable The table this node should scan.
      * @param parts Partition numbers to scan.
+     * @param comp Optional comparator to merge the partition streams in the index order.
+     * @param lowerCond Optional lower bound of the scan.
+     * @param upperCond Optional upper bound of the scan.
      * @param filters Optional filter to filter out rows.
      * @param rowTransformer Optional projection function.
      * @param requiredColumns Optional set of column of interest.
@@ -105,17 +115,21 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
             IgniteIndex schemaIndex,
             InternalIgniteTable schemaTable,
             int[] parts,
+            @Nullable Comparator<RowT> comp,
             @Nullable Supplier<RowT> lowerCond,
             @Nullable Supplier<RowT> upperCond,
             @Nullable Predicate<RowT> filters,
             @Nullable Function<RowT, RowT> rowTransformer,
-            @Nullable BitSet requiredColumns
+            @Nullable ImmutableBitSet requiredColumns
     ) {
         super(ctx, rowType);
         assert !nullOrEmpty(parts);
 
         this.schemaIndex = schemaIndex;
+        this.schemaTable = schemaTable;
+        this.physTable = schemaTable.table();
         this.parts = parts;
+        this.comp = comp;
         this.lowerCond = lowerCond;
         this.upperCond = upperCond;
         this.filters = filters;
@@ -127,7 +141,7 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
         indexRowSchema = RowConverter.createIndexRowSchema(schemaTable.descriptor(), schemaIndex.index().descriptor());
 
         // TODO: create ticket to add flags support
-        flags = SortedIndex.INCLUDE_LEFT & SortedIndex.INCLUDE_RIGHT;
+        flags = SortedIndex.INCLUDE_LEFT | SortedIndex.INCLUDE_RIGHT;
     }
 
     /** {@inheritDoc} */
@@ -149,27 +163,15 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
     public void closeInternal() {
         super.closeInternal();
 
-        if (activeSubscription != null) {
-            activeSubscription.cancel();
-
-            activeSubscription = null;
-        }
+        cancelSubscriptions();
     }
 
     /** {@inheritDoc} */
     @Override
     protected void rewindInternal() {
         requested = 0;
-        waiting = 0;
-        curPartIdx = 0;
-        lowerBound = null;
-        upperBound = null;
 
-        if (activeSubscription != null) {
-            activeSubscription.cancel();
-
-            activeSubscription = null;
-        }
+        cancelSubscriptions();
     }
 
     /** {@inheritDoc} */
@@ -191,119 +193,174 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
 
         checkState();
 
-        if (requested > 0 && !inBuff.isEmpty()) {
-            inLoop = true;
-            try {
-                while (requested > 0 && !inBuff.isEmpty()) {
-                    checkState();
+        if (subscribers == null) {
+            startScan();
+
+            return;
+        }
+
+        inLoop = true;
+        try {
+            while (requested > 0) {
+                PartitionSubscriber src = nextSource();
 
-                    RowT row = inBuff.poll();
+                if (src == null) {
+                    break;
+                }
 
-                    if (filters != null && !filters.test(row)) {
-                        continue;
-                    }
+                checkState();
 
-                    if (rowTransformer != null) {
-                        row = rowTransformer.apply(row);
-                    }
+                RowT row = src.buff.poll();
 
-                    requested--;
-                    downstream().push(row);
+                if (filters != null && !filters.test(row)) {
+                    continue;
                 }
-            } finally {
-                inLoop = false;
-            }
-        }
 
-        if (waiting == 0 || activeSubscription == null) {
-            requestNextBatch();
-        }
+                if (rowTransformer != null) {
+                    row = rowTransformer.apply(row);
+                }
 
-        if (requested > 0 && waiting == NOT_WAITING) {
-            if (inBuff.isEmpty()) {
-                requested = 0;
-                downstream().end();
-            } else {
-                context().execute(this::push, this::onError);
+                requested--;
+                downstream().push(row);
             }
+        } finally {
+            inLoop = false;
         }
-    }
 
-    private void requestNextBatch() {
-        if (waiting == NOT_WAITING) {
+        // Subscribers could be reset by the downstream.
+        if (subscribers == null) {
             return;
         }
 
-        if (waiting == 0) {
-            // we must not request rows more than inBufSize
-            waiting = inBufSize - inBuff.size();
+        boolean finished = true;
+
+        for (PartitionSubscriber subscriber : subscribers) {
+            finished &= subscriber.finished();
+
+            subscriber.requestNextBatch();
         }
 
-        Subscription subscription = this.activeSubscription;
-        if (subscription != null) {
-            subscription.request(waiting);
-        } else if (curPartIdx < parts.length) {
-            if (schemaIndex.type() == Type.SORTED) {
-                //TODO: https://issues.apache.org/jira/browse/IGNITE-17813
-                // Introduce new publisher using merge-sort algo to merge partition index publishers.
-                if (lowerBound == null && upperBound == null) {
-                    lowerBound = toBinaryTuplePrefix(lowerCond);
-                    upperBound = toBinaryTuplePrefix(upperCond);
-                }
+        if (finished && requested > 0) {
+            requested = 0;
+            downstream().end();
+        }
+    }
+
+    /**
+     * Returns a partition to take the next row from or {@code null} if more rows need to be received first.
+     */
+    private @Nullable PartitionSubscriber nextSource() {
+        PartitionSubscriber res = null;
+
+        for (PartitionSubscriber subscriber : subscribers) {
+            RowT head = subscriber.buff.peek();
 
-                ((SortedIndex) schemaIndex.index()).scan(
-                        parts[curPartIdx++],
-                        context().transaction(),
-                        lowerBound,
-                        upperBound,
-                        flags,
-                        requiredColumns
-                ).subscribe(new SubscriberImpl());
-            } else {
-                assert schemaIndex.type() == Type.HASH;
-                assert lowerCond == upperCond;
-
-                if (lowerBound == null) {
-                    lowerBound = toBinaryTuple(lowerCond);
+            if (head == null) {
+                // Partition streams can't be merged until every partition has either provided a row or finished.
+                if (comp != null && !subscriber.completed) {
+                    return null;
                 }
 
-                schemaIndex.index().scan(
-                        parts[curPartIdx++],
-                        context().transaction(),
-                        lowerBound,
-                        requiredColumns
-                ).subscribe(new SubscriberImpl());
+                continue;
+            }
+
+            if (comp == null) {
+                return subscriber;
+            }
+
+            if (res == null || comp.compare(head, res.buff.peek()) < 0) {
+                res = subscriber;
+            }
+        }
+
+        return res;
+    }
+
+    private void startScan() {
+        subscribers = new ArrayList<>(parts.length);
+
+        UUID indexId = schemaIndex.index().id();
+
+        if (schemaIndex.type() == Type.SORTED) {
+            BinaryTuple lowerBound = toBinaryTuplePrefix(lowerCond);
+            BinaryTuple upperBound = toBinaryTuplePrefix(upperCond);
+
+            for (int part : parts) {
+                subscribe(physTable.scan(part, context().transaction(), indexId, lowerBound, upperBound, flags));
             }
         } else {
-            waiting = NOT_WAITING;
+            assert schemaIndex.type() == Type.HASH;
+            assert lowerCond == upperCond;
+
+            BinaryTuple key = toBinaryTuple(lowerCond);
+
+            for (int part : parts) {
+                // Hash index doesn't provide any order, so the unconditional scan is served by the table rows.
+                subscribe(key == null
+                        ? physTable.scan(part, context().transaction())
+                        : physTable.lookup(part, context().transaction(), indexId, key));
+            }
+        }
+    }
+
+    private void subscribe(Publisher<BinaryRow> publisher) {
+        PartitionSubscriber subscriber = new PartitionSubscriber();
+
+        subscribers.add(subscriber);
+
+        publisher.subscribe(subscriber);
+    }
+
+    private void cancelSubscriptions() {
+        if (subscribers != null) {
+            subscribers.forEach(PartitionSubscriber::cancel);
+
+            subscribers = null;
         }
     }
 
-    private class SubscriberImpl implements Flow.Subscriber<BinaryTuple> {
+    private class PartitionSubscriber implements Flow.Subscriber<BinaryRow> {
+        /** Received rows, filled by the publisher and drained by the execution thread. */
+        private final Queue<RowT> buff = new ConcurrentLinkedQueue<>();
 
         private int received = 0; // HB guarded here.
 
+        /** The fields below are accessed from the execution thread only. */
+        private Subscription subscription;
+
+        private int waiting;
+
+        private boolean completed;
+
+        private boolean cancelled;
+
         /** {@inheritDoc} */
         @Override
         public void onSubscribe(Subscription subscription) {
-            assert IndexScanNode.this.activeSubscription == null;
+            context().execute(() -> {
+                if (cancelled) {
+                    subscription.cancel();
 
-            IndexScanNode.this.activeSubscription = subscription;
-            subscription.request(waiting);
+                    return;
+                }
+
+                this.subscription = subscription;
+
+                push();
+            }, IndexScanNode.this::onError);
         }
 
         /** {@inheritDoc} */
         @Override
-        public void onNext(BinaryTuple binRow) {
-            RowT row = convert(binRow);
-
-            inBuff.add(row);
+        public void onNext(BinaryRow binRow) {
+            buff.add(convert(binRow));
 
             if (++received == inBufSize) {
                 received = 0;
 
                 context().execute(() -> {
                     waiting = 0;
+
                     push();
                 }, IndexScanNode.this::onError);
             }
@@ -321,12 +378,35 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
         @Override
         public void onComplete() {
             context().execute(() -> {
-                activeSubscription = null;
+                completed = true;
                 waiting = 0;
 
                 push();
             }, IndexScanNode.this::onError);
         }
+
+        /** Requests the next batch if all the received rows are consumed. */
+        void requestNextBatch() {
+            if (subscription == null || completed || cancelled || waiting > 0 || !buff.isEmpty()) {
+                return;
+            }
+
+            waiting = inBufSize;
+
+            subscription.request(waiting);
+        }
+
+        boolean finished() {
+            return completed && buff.isEmpty();
+        }
+
+        void cancel() {
+            cancelled = true;
+
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
     }
 
     @Contract("null -> null")
@@ -347,7 +427,7 @@ public class IndexScanNode<RowT> extends AbstractNode<RowT> {
         return RowConverter.toBinaryTuple(context(), indexRowSchema, factory, conditionSupplier.get());
     }
 
-    private RowT convert(BinaryTuple binaryTuple) {
-        return RowConverter.toRow(context(), binaryTuple, factory);
+    private RowT convert(BinaryRow binRow) {
+        return schemaTable.toRow(context(), binRow, factory, requiredColumns);
     }
 }
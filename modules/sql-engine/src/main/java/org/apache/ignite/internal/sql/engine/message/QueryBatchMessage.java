@@ -17,9 +17,12 @@
 
 package org.apache.ignite.internal.sql.engine.message;
 
+import java.nio.ByteBuffer;
 import java.util.List;
+import org.apache.ignite.internal.sql.engine.exec.RowBatchCodec;
 import org.apache.ignite.network.annotations.Marshallable;
 import org.apache.ignite.network.annotations.Transferable;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * QueryBatchMessage interface.
@@ -43,8 +46,13 @@ public interface QueryBatchMessage extends ExecutionContextAwareMessage {
     boolean last();
 
     /**
-     * Get rows.
+     * Get rows, {@code null} if the rows are sent {@link #encodedRows() encoded}.
      */
     @Marshallable
-    List<Object> rows();
+    @Nullable List<Object> rows();
+
+    /**
+     * Get rows encoded by the {@link RowBatchCodec}, {@code null} if the batch can't be encoded.
+     */
+    @Nullable ByteBuffer encodedRows();
 }
@@ -17,9 +17,11 @@
 
 package org.apache.ignite.internal.sql.engine.message;
 
+import java.util.UUID;
 import org.apache.ignite.internal.sql.engine.metadata.FragmentDescription;
 import org.apache.ignite.network.annotations.Marshallable;
 import org.apache.ignite.network.annotations.Transferable;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * QueryStartRequest interface.
@@ -38,9 +40,14 @@ public interface QueryStartRequest extends ExecutionContextAwareMessage {
     FragmentDescription fragmentDescription();
 
     /**
-     * Get fragment plan.
+     * Get fragment plan, {@code null} if the target node is expected to have the plan cached by its {@link #rootId() identifier}.
      */
-    String root();
+    @Nullable String root();
+
+    /**
+     * Get identifier of the fragment plan.
+     */
+    UUID rootId();
 
     /**
      * Get query parameters.
@@ -44,4 +44,10 @@ public interface QueryStartResponse extends NetworkMessage, Serializable {
      */
     @Marshallable
     Throwable error();
+
+    /**
+     * Get flag indicating that the fragment plan was requested by its identifier, but isn't cached by the node, so the fragment
+     * has to be sent again along with the plan.
+     */
+    boolean rootNotCached();
 }
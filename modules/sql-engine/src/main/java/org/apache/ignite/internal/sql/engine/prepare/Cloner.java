@@ -49,7 +49,7 @@ public class Cloner {
 
             IgniteRel newRoot = visit(src.root());
 
-            return new Fragment(src.fragmentId(), newRoot, List.copyOf(remotes), src.serialized(), src.mapping());
+            return new Fragment(src.fragmentId(), newRoot, List.copyOf(remotes), src.serialized(), src.serializedId(), src.mapping());
         } finally {
             remotes = null;
         }
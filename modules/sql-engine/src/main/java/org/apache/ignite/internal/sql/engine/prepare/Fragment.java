@@ -19,7 +19,9 @@ package org.apache.ignite.internal.sql.engine.prepare;
 
 import static org.apache.ignite.internal.sql.engine.externalize.RelJsonWriter.toJson;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 import org.apache.calcite.plan.RelOptCluster;
@@ -52,6 +54,9 @@ public class Fragment {
     @IgniteToStringExclude
     private final String rootSer;
 
+    /** Identifier of the serialized root representation, equal for the fragments with equal serialized forms. */
+    private final UUID rootSerId;
+
     private final FragmentMapping mapping;
 
     private final List<IgniteReceiver> remotes;
@@ -64,18 +69,28 @@ public class Fragment {
      * @param remotes Remote sources of the fragment.
      */
     public Fragment(long id, IgniteRel root, List<IgniteReceiver> remotes) {
-        this(id, root, remotes, null, null);
+        this(id, root, remotes, null, null, null);
     }
 
     /**
      * Constructor.
      * TODO Documentation https://issues.apache.org/jira/browse/IGNITE-15859
      */
-    Fragment(long id, IgniteRel root, List<IgniteReceiver> remotes, @Nullable String rootSer, @Nullable FragmentMapping mapping) {
+    Fragment(
+            long id,
+            IgniteRel root,
+            List<IgniteReceiver> remotes,
+            @Nullable String rootSer,
+            @Nullable UUID rootSerId,
+            @Nullable FragmentMapping mapping
+    ) {
+        assert (rootSer == null) == (rootSerId == null);
+
         this.id = id;
         this.root = root;
         this.remotes = List.copyOf(remotes);
         this.rootSer = rootSer != null ? rootSer : toJson(root);
+        this.rootSerId = rootSerId != null ? rootSerId : UUID.nameUUIDFromBytes(this.rootSer.getBytes(StandardCharsets.UTF_8));
         this.mapping = mapping;
     }
 
@@ -102,6 +117,15 @@ public class Fragment {
         return rootSer;
     }
 
+    /**
+     * Get identifier of the serialized root representation.
+     *
+     * @return Identifier, which is equal for the fragments with equal {@link #serialized() serialized forms}.
+     */
+    public UUID serializedId() {
+        return rootSerId;
+    }
+
     public FragmentMapping mapping() {
         return mapping;
     }
@@ -156,7 +180,7 @@ public class Fragment {
             return this;
         }
 
-        return new Fragment(id, root, remotes, rootSer, mapping(ctx, mq, nodesSource(mappingSrvc, ctx)));
+        return new Fragment(id, root, remotes, rootSer, rootSerId, mapping(ctx, mq, nodesSource(mappingSrvc, ctx)));
     }
 
     @NotNull
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.internal.sql.engine.rel.IgniteExchange;
+import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
+import org.apache.ignite.internal.sql.engine.rel.IgniteTableScan;
+import org.apache.ignite.internal.sql.engine.schema.ColumnDescriptor;
+import org.apache.ignite.internal.sql.engine.schema.InternalIgniteTable;
+import org.apache.ignite.internal.sql.engine.schema.TableDescriptor;
+import org.apache.ignite.sql.ResultSetMetadata;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Plan of a query, which reads a single row by its primary key: {@code SELECT ... FROM t WHERE pk = ?}.
+ *
+ * <p>The row is read by a key-value lookup in the table, without mapping and starting the query fragments. The distributed
+ * plan of the same query is kept to execute the query with the parameters, which can't be used for the lookup as is.
+ */
+public class KeyValueGetPlan implements QueryPlan {
+    private final InternalIgniteTable table;
+
+    /** Dynamic parameter indexes by the table column indexes, {@code -1} for the non-key columns. */
+    private final int[] keyParams;
+
+    private final @Nullable RexNode condition;
+
+    private final @Nullable List<RexNode> projects;
+
+    private final @Nullable ImmutableBitSet requiredColumns;
+
+    private final RelDataType rowType;
+
+    private final MultiStepPlan distributedPlan;
+
+    private KeyValueGetPlan(
+            InternalIgniteTable table,
+            int[] keyParams,
+            @Nullable RexNode condition,
+            @Nullable List<RexNode> projects,
+            @Nullable ImmutableBitSet requiredColumns,
+            RelDataType rowType,
+            MultiStepPlan distributedPlan
+    ) {
+        this.table = table;
+        this.keyParams = keyParams;
+        this.condition = condition;
+        this.projects = projects;
+        this.requiredColumns = requiredColumns;
+        this.rowType = rowType;
+        this.distributedPlan = distributedPlan;
+    }
+
+    /**
+     * Creates a plan if the query reads a row by its primary key.
+     *
+     * @param root Optimized query plan.
+     * @param distributedPlan Distributed plan of the query.
+     * @return Key-value plan or {@code null} if the query can't be executed by a key-value lookup.
+     */
+    public static @Nullable KeyValueGetPlan create(IgniteRel root, MultiStepPlan distributedPlan) {
+        RelNode rel = withoutExchange(root);
+
+        if (!(rel instanceof IgniteTableScan)) {
+            return null;
+        }
+
+        IgniteTableScan scan = (IgniteTableScan) rel;
+
+        InternalIgniteTable table = scan.getTable().unwrap(InternalIgniteTable.class);
+
+        int[] keyParams = table == null ? null : keyParameters(table, scan);
+
+        if (keyParams == null) {
+            return null;
+        }
+
+        return new KeyValueGetPlan(
+                table,
+                keyParams,
+                scan.condition(),
+                scan.projects(),
+                scan.requiredColumns(),
+                root.getRowType(),
+                distributedPlan
+        );
+    }
+
+    /**
+     * Maps the key columns of the table to the dynamic parameters, which the scan condition compares them with.
+     *
+     * @param table Scanned table.
+     * @param scan Table scan.
+     * @return Dynamic parameter indexes by the table column indexes, {@code -1} for the non-key columns, or {@code null}
+     *      if the condition doesn't bind every key column to a parameter.
+     */
+    static @Nullable int[] keyParameters(InternalIgniteTable table, IgniteTableScan scan) {
+        if (scan.condition() == null) {
+            return null;
+        }
+
+        TableDescriptor desc = table.descriptor();
+
+        ImmutableBitSet requiredColumns = scan.requiredColumns();
+
+        int[] keyParams = new int[desc.columnsCount()];
+
+        Arrays.fill(keyParams, -1);
+
+        // Extra conjuncts are allowed, the whole condition is checked against the found row anyway.
+        for (RexNode conjunction : RelOptUtil.conjunctions(scan.condition())) {
+            if (!conjunction.isA(SqlKind.EQUALS)) {
+                continue;
+            }
+
+            List<RexNode> operands = ((RexCall) conjunction).getOperands();
+
+            RexNode left = operands.get(0);
+            RexNode right = operands.get(1);
+
+            if (right instanceof RexInputRef) {
+                RexNode tmp = left;
+
+                left = right;
+                right = tmp;
+            }
+
+            if (!(left instanceof RexInputRef) || !(right instanceof RexDynamicParam)) {
+                continue;
+            }
+
+            int colIdx = ((RexInputRef) left).getIndex();
+
+            if (requiredColumns != null) {
+                colIdx = requiredColumns.nth(colIdx);
+            }
+
+            ColumnDescriptor colDesc = desc.columnDescriptor(colIdx);
+
+            if (colDesc.key()) {
+                keyParams[colIdx] = ((RexDynamicParam) right).getIndex();
+            }
+        }
+
+        for (int i = 0; i < desc.columnsCount(); i++) {
+            if (desc.columnDescriptor(i).key() && keyParams[i] < 0) {
+                return null;
+            }
+        }
+
+        return keyParams;
+    }
+
+    /**
+     * Skips the exchanges, which are meaningless for the plans executed on the local node.
+     *
+     * @param rel Relational node.
+     * @return First node below the exchanges.
+     */
+    static RelNode withoutExchange(RelNode rel) {
+        while (rel instanceof IgniteExchange) {
+            rel = ((IgniteExchange) rel).getInput();
+        }
+
+        return rel;
+    }
+
+    /** Returns the table to read the row from. */
+    public InternalIgniteTable table() {
+        return table;
+    }
+
+    /**
+     * Returns the index of the dynamic parameter, which holds the value of the given key column.
+     *
+     * @param colIdx Table column index.
+     * @return Parameter index or {@code -1} if the column isn't a key one.
+     */
+    public int keyParameter(int colIdx) {
+        return keyParams[colIdx];
+    }
+
+    /** Returns the condition to check the found row against. */
+    public @Nullable RexNode condition() {
+        return condition;
+    }
+
+    /** Returns the projection of the found row. */
+    public @Nullable List<RexNode> projects() {
+        return projects;
+    }
+
+    /** Returns the columns to read from the found row, {@code null} means all the columns. */
+    public @Nullable ImmutableBitSet requiredColumns() {
+        return requiredColumns;
+    }
+
+    /** Returns the type of the result row. */
+    public RelDataType rowType() {
+        return rowType;
+    }
+
+    /** Returns the distributed plan of the same query. */
+    public MultiStepPlan distributedPlan() {
+        return distributedPlan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Type type() {
+        return Type.QUERY;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ResultSetMetadata metadata() {
+        return distributedPlan.metadata();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public QueryPlan copy() {
+        return new KeyValueGetPlan(table, keyParams, condition, projects, requiredColumns, rowType,
+                (MultiStepPlan) distributedPlan.copy());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import static org.apache.ignite.internal.sql.engine.prepare.KeyValueGetPlan.withoutExchange;
+
+import java.util.List;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableModify;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.ignite.internal.sql.engine.rel.IgniteProject;
+import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
+import org.apache.ignite.internal.sql.engine.rel.IgniteTableModify;
+import org.apache.ignite.internal.sql.engine.rel.IgniteValues;
+import org.apache.ignite.internal.sql.engine.schema.InternalIgniteTable;
+import org.apache.ignite.sql.ResultSetMetadata;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Plan of a query, which inserts a single row: {@code INSERT INTO t VALUES (?, ?)}.
+ *
+ * <p>The row is computed from the parameters on the local node and is inserted by a key-value operation of the table, without
+ * mapping and starting the query fragments.
+ */
+public class KeyValueInsertPlan implements QueryPlan {
+    private final InternalIgniteTable table;
+
+    /** Literals of the only tuple of the source values. */
+    private final List<RexLiteral> values;
+
+    private final RelDataType valuesRowType;
+
+    private final @Nullable List<RexNode> projects;
+
+    private final MultiStepPlan distributedPlan;
+
+    private KeyValueInsertPlan(
+            InternalIgniteTable table,
+            List<RexLiteral> values,
+            RelDataType valuesRowType,
+            @Nullable List<RexNode> projects,
+            MultiStepPlan distributedPlan
+    ) {
+        this.table = table;
+        this.values = values;
+        this.valuesRowType = valuesRowType;
+        this.projects = projects;
+        this.distributedPlan = distributedPlan;
+    }
+
+    /**
+     * Creates a plan if the query inserts a single row of values.
+     *
+     * @param root Optimized query plan.
+     * @param distributedPlan Distributed plan of the query.
+     * @return Key-value plan or {@code null} if the query can't be executed by a key-value insert.
+     */
+    public static @Nullable KeyValueInsertPlan create(IgniteRel root, MultiStepPlan distributedPlan) {
+        RelNode rel = withoutExchange(root);
+
+        if (!(rel instanceof IgniteTableModify) || ((IgniteTableModify) rel).getOperation() != TableModify.Operation.INSERT) {
+            return null;
+        }
+
+        IgniteTableModify modify = (IgniteTableModify) rel;
+
+        InternalIgniteTable table = modify.getTable().unwrap(InternalIgniteTable.class);
+
+        if (table == null) {
+            return null;
+        }
+
+        RelNode input = withoutExchange(modify.getInput());
+
+        List<RexNode> projects = null;
+
+        // Values with the dynamic parameters are converted to the projection of a dummy row.
+        if (input instanceof IgniteProject) {
+            projects = ((IgniteProject) input).getProjects();
+
+            input = withoutExchange(((IgniteProject) input).getInput());
+        }
+
+        if (!(input instanceof IgniteValues) || ((IgniteValues) input).getTuples().size() != 1) {
+            return null;
+        }
+
+        IgniteValues values = (IgniteValues) input;
+
+        return new KeyValueInsertPlan(table, values.getTuples().get(0), values.getRowType(), projects, distributedPlan);
+    }
+
+    /** Returns the table to insert the row to. */
+    public InternalIgniteTable table() {
+        return table;
+    }
+
+    /** Returns the literals of the source values row. */
+    public List<RexLiteral> values() {
+        return values;
+    }
+
+    /** Returns the type of the source values row. */
+    public RelDataType valuesRowType() {
+        return valuesRowType;
+    }
+
+    /** Returns the projection, which computes the inserted row from the source values row. */
+    public @Nullable List<RexNode> projects() {
+        return projects;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Type type() {
+        return Type.DML;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ResultSetMetadata metadata() {
+        return distributedPlan.metadata();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public QueryPlan copy() {
+        return new KeyValueInsertPlan(table, values, valuesRowType, projects, (MultiStepPlan) distributedPlan.copy());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import static org.apache.ignite.internal.sql.engine.prepare.KeyValueGetPlan.keyParameters;
+import static org.apache.ignite.internal.sql.engine.prepare.KeyValueGetPlan.withoutExchange;
+
+import java.util.List;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableModify;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
+import org.apache.ignite.internal.sql.engine.rel.IgniteTableModify;
+import org.apache.ignite.internal.sql.engine.rel.IgniteTableScan;
+import org.apache.ignite.internal.sql.engine.schema.InternalIgniteTable;
+import org.apache.ignite.sql.ResultSetMetadata;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Plan of a query, which updates a single row by its primary key: {@code UPDATE t SET val = ? WHERE pk = ?}.
+ *
+ * <p>The row is read by a key-value lookup and written back by a key-value upsert in the same transaction, without mapping
+ * and starting the query fragments. The distributed plan of the same query is kept to execute the query with the parameters,
+ * which can't be used for the lookup as is.
+ */
+public class KeyValueUpdatePlan implements QueryPlan {
+    private final InternalIgniteTable table;
+
+    /** Dynamic parameter indexes by the table column indexes, {@code -1} for the non-key columns. */
+    private final int[] keyParams;
+
+    private final RexNode condition;
+
+    private final @Nullable List<RexNode> projects;
+
+    private final @Nullable ImmutableBitSet requiredColumns;
+
+    private final List<String> updateColumns;
+
+    private final MultiStepPlan distributedPlan;
+
+    private KeyValueUpdatePlan(
+            InternalIgniteTable table,
+            int[] keyParams,
+            RexNode condition,
+            @Nullable List<RexNode> projects,
+            @Nullable ImmutableBitSet requiredColumns,
+            List<String> updateColumns,
+            MultiStepPlan distributedPlan
+    ) {
+        this.table = table;
+        this.keyParams = keyParams;
+        this.condition = condition;
+        this.projects = projects;
+        this.requiredColumns = requiredColumns;
+        this.updateColumns = updateColumns;
+        this.distributedPlan = distributedPlan;
+    }
+
+    /**
+     * Creates a plan if the query updates a row by its primary key.
+     *
+     * @param root Optimized query plan.
+     * @param distributedPlan Distributed plan of the query.
+     * @return Key-value plan or {@code null} if the query can't be executed by a key-value lookup and upsert.
+     */
+    public static @Nullable KeyValueUpdatePlan create(IgniteRel root, MultiStepPlan distributedPlan) {
+        RelNode rel = withoutExchange(root);
+
+        if (!(rel instanceof IgniteTableModify) || ((IgniteTableModify) rel).getOperation() != TableModify.Operation.UPDATE) {
+            return null;
+        }
+
+        IgniteTableModify modify = (IgniteTableModify) rel;
+
+        RelNode input = withoutExchange(modify.getInput());
+
+        // The projection of the new values is merged into the scan, otherwise the regular plan is used.
+        if (!(input instanceof IgniteTableScan)) {
+            return null;
+        }
+
+        IgniteTableScan scan = (IgniteTableScan) input;
+
+        InternalIgniteTable table = modify.getTable().unwrap(InternalIgniteTable.class);
+
+        int[] keyParams = table == null ? null : keyParameters(table, scan);
+
+        if (keyParams == null) {
+            return null;
+        }
+
+        return new KeyValueUpdatePlan(
+                table,
+                keyParams,
+                scan.condition(),
+                scan.projects(),
+                scan.requiredColumns(),
+                modify.getUpdateColumnList(),
+                distributedPlan
+        );
+    }
+
+    /** Returns the table to update the row in. */
+    public InternalIgniteTable table() {
+        return table;
+    }
+
+    /**
+     * Returns the index of the dynamic parameter, which holds the value of the given key column.
+     *
+     * @param colIdx Table column index.
+     * @return Parameter index or {@code -1} if the column isn't a key one.
+     */
+    public int keyParameter(int colIdx) {
+        return keyParams[colIdx];
+    }
+
+    /** Returns the condition to check the found row against. */
+    public RexNode condition() {
+        return condition;
+    }
+
+    /** Returns the projection of the found row, which appends the new values of the updated columns. */
+    public @Nullable List<RexNode> projects() {
+        return projects;
+    }
+
+    /** Returns the columns to read from the found row, {@code null} means all the columns. */
+    public @Nullable ImmutableBitSet requiredColumns() {
+        return requiredColumns;
+    }
+
+    /** Returns the names of the updated columns. */
+    public List<String> updateColumns() {
+        return updateColumns;
+    }
+
+    /** Returns the distributed plan of the same query. */
+    public MultiStepPlan distributedPlan() {
+        return distributedPlan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Type type() {
+        return Type.DML;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ResultSetMetadata metadata() {
+        return distributedPlan.metadata();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public QueryPlan copy() {
+        return new KeyValueUpdatePlan(table, keyParams, condition, projects, requiredColumns, updateColumns,
+                (MultiStepPlan) distributedPlan.copy());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the query plan cache of the {@link PrepareServiceImpl}.
+ */
+public class PlanCacheMetricSource extends AbstractMetricSource<PlanCacheMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "sql.plan.cache";
+
+    /**
+     * Constructor.
+     */
+    public PlanCacheMetricSource() {
+        super(SOURCE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.register(holder.hits);
+        bldr.register(holder.misses);
+        bldr.register(holder.invalidations);
+    }
+
+    /**
+     * Called when a query is served by a cached plan.
+     */
+    void onHit() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.hits.increment();
+        }
+    }
+
+    /**
+     * Called when a query has to be planned.
+     */
+    void onMiss() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.misses.increment();
+        }
+    }
+
+    /**
+     * Called when a cached plan is evicted, because a table it has been built against has changed.
+     */
+    void onInvalidated() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.invalidations.increment();
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric hits = new LongAdderMetric(
+                "Hits",
+                "Number of queries served by a cached plan."
+        );
+
+        private final LongAdderMetric misses = new LongAdderMetric(
+                "Misses",
+                "Number of queries, which had to be planned, because there was no cached plan."
+        );
+
+        private final LongAdderMetric invalidations = new LongAdderMetric(
+                "Invalidations",
+                "Number of cached plans dropped, because a table or an index they depend on has been changed."
+        );
+    }
+}
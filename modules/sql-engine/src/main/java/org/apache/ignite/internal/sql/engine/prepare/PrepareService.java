@@ -30,4 +30,9 @@ public interface PrepareService extends LifecycleAware {
      * Prepare query plan.
      */
     CompletableFuture<QueryPlan> prepareAsync(SqlNode sqlNode, BaseQueryContext ctx);
+
+    /**
+     * Prepare query plan of a single statement query.
+     */
+    CompletableFuture<QueryPlan> prepareAsync(String sql, BaseQueryContext ctx);
 }
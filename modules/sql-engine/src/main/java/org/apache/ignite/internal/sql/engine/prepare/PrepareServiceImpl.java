@@ -18,11 +18,13 @@
 package org.apache.ignite.internal.sql.engine.prepare;
 
 import static org.apache.ignite.internal.sql.engine.prepare.PlannerHelper.optimize;
+import static org.apache.ignite.lang.ErrorGroups.Sql.QUERY_INVALID_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.QUERY_VALIDATION_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.USUPPORTED_SQL_OPERATION_KIND_ERR;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -30,10 +32,16 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.runtime.CalciteContextException;
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.schema.Table;
 import org.apache.calcite.sql.SqlDdl;
 import org.apache.calcite.sql.SqlExplain;
 import org.apache.calcite.sql.SqlExplainLevel;
@@ -46,20 +54,22 @@ import org.apache.ignite.internal.sql.api.ColumnMetadataImpl;
 import org.apache.ignite.internal.sql.api.ResultSetMetadataImpl;
 import org.apache.ignite.internal.sql.engine.prepare.ddl.DdlSqlToCommandConverter;
 import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
-import org.apache.ignite.internal.sql.engine.schema.SchemaUpdateListener;
 import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
+import org.apache.ignite.internal.sql.engine.util.Commons;
 import org.apache.ignite.internal.sql.engine.util.TypeUtils;
 import org.apache.ignite.internal.storage.DataStorageManager;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.sql.ColumnMetadata;
 import org.apache.ignite.sql.ResultSetMetadata;
+import org.apache.ignite.sql.SqlException;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
 
 /**
  * An implementation of the {@link PrepareService} that uses a Calcite-based query planner to validate and optimize a given query.
  */
-public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener {
+public class PrepareServiceImpl implements PrepareService {
     private static final IgniteLogger LOG = Loggers.forClass(PrepareServiceImpl.class);
 
     private static final long THREAD_TIMEOUT_MS = 60_000;
@@ -68,10 +78,19 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
 
     private final DdlSqlToCommandConverter ddlConverter;
 
-    private final ConcurrentMap<CacheKey, CompletableFuture<QueryPlan>> cache;
+    /**
+     * Plans by the normalized query text. The plans aren't dropped on a schema change, but are validated against the current schema
+     * on every access instead, so a DDL on one table doesn't invalidate the plans, which don't use it.
+     */
+    private final ConcurrentMap<CacheKey, CompletableFuture<CachedPlan>> cache;
+
+    /** Plans by the raw query text, used to skip parsing of the queries, which have been prepared before. */
+    private final ConcurrentMap<CacheKey, CompletableFuture<CachedPlan>> sqlCache;
 
     private final String nodeName;
 
+    private final PlanCacheMetricSource metricSource;
+
     private volatile ThreadPoolExecutor planningPool;
 
     /**
@@ -81,17 +100,20 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
      * @param cacheSize Size of the cache of query plans. Should be non negative.
      * @param dataStorageManager Data storage manager.
      * @param dataStorageFields Data storage fields. Mapping: Data storage name -> field name -> field type.
+     * @param metricSource Metric source of the plan cache.
      */
     public static PrepareServiceImpl create(
             String nodeName,
             int cacheSize,
             DataStorageManager dataStorageManager,
-            Map<String, Map<String, Class<?>>> dataStorageFields
+            Map<String, Map<String, Class<?>>> dataStorageFields,
+            PlanCacheMetricSource metricSource
     ) {
         return new PrepareServiceImpl(
                 nodeName,
                 cacheSize,
-                new DdlSqlToCommandConverter(dataStorageFields, dataStorageManager::defaultDataStorage)
+                new DdlSqlToCommandConverter(dataStorageFields, dataStorageManager::defaultDataStorage),
+                metricSource
         );
     }
 
@@ -106,13 +128,36 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
             String nodeName,
             int cacheSize,
             DdlSqlToCommandConverter ddlConverter
+    ) {
+        this(nodeName, cacheSize, ddlConverter, new PlanCacheMetricSource());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param nodeName Name of the current Ignite node. Will be used in thread factory as part of the thread name.
+     * @param cacheSize Size of the cache of query plans. Should be non negative.
+     * @param ddlConverter A converter of the DDL-related AST to the actual command.
+     * @param metricSource Metric source of the plan cache.
+     */
+    public PrepareServiceImpl(
+            String nodeName,
+            int cacheSize,
+            DdlSqlToCommandConverter ddlConverter,
+            PlanCacheMetricSource metricSource
     ) {
         this.nodeName = nodeName;
         this.ddlConverter = ddlConverter;
+        this.metricSource = metricSource;
 
         cache = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
-                .<CacheKey, CompletableFuture<QueryPlan>>build()
+                .<CacheKey, CompletableFuture<CachedPlan>>build()
+                .asMap();
+
+        sqlCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .<CacheKey, CompletableFuture<CachedPlan>>build()
                 .asMap();
     }
 
@@ -137,6 +182,12 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
         planningPool.shutdownNow();
     }
 
+    /** Returns the number of the plans cached by the query text. */
+    @TestOnly
+    int sqlCacheSize() {
+        return sqlCache.size();
+    }
+
     /** {@inheritDoc} */
     @Override
     public CompletableFuture<QueryPlan> prepareAsync(SqlNode sqlNode, BaseQueryContext ctx) {
@@ -159,13 +210,13 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
                 case UNION:
                 case EXCEPT:
                 case INTERSECT:
-                    return prepareQuery(sqlNode, planningContext);
+                    return prepareQuery(sqlNode, planningContext).thenApply(CachedPlan::copyPlan);
 
                 case INSERT:
                 case DELETE:
                 case UPDATE:
                 case MERGE:
-                    return prepareDml(sqlNode, planningContext);
+                    return prepareDml(sqlNode, planningContext).thenApply(CachedPlan::copyPlan);
 
                 case EXPLAIN:
                     return prepareExplain(sqlNode, planningContext);
@@ -182,8 +233,85 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
 
     /** {@inheritDoc} */
     @Override
-    public void onSchemaUpdated() {
-        cache.clear();
+    public CompletableFuture<QueryPlan> prepareAsync(String sql, BaseQueryContext ctx) {
+        CacheKey key = new CacheKey(ctx.schemaName(), sql);
+
+        CompletableFuture<CachedPlan> planFut = cachedPlan(sqlCache, key, ctx.schema());
+
+        if (planFut != null) {
+            metricSource.onHit();
+        } else {
+            SqlNodeList nodes = Commons.parse(sql, Commons.PARSER_CONFIG);
+
+            if (nodes.size() > 1) {
+                throw new SqlException(QUERY_INVALID_ERR, "Multiple statements aren't allowed.");
+            }
+
+            SqlNode sqlNode = nodes.get(0);
+
+            var planningContext = PlanningContext.builder()
+                    .parentContext(ctx)
+                    .build();
+
+            // Only the plans, which are cached by the AST, are cached by the query text.
+            if (sqlNode.isA(SqlKind.QUERY)) {
+                planFut = cachePlan(sqlCache, key, () -> prepareQuery(sqlNode, planningContext));
+            } else if (sqlNode.isA(SqlKind.DML)) {
+                planFut = cachePlan(sqlCache, key, () -> prepareDml(sqlNode, planningContext));
+            } else {
+                return prepareAsync(sqlNode, ctx);
+            }
+        }
+
+        return planFut.thenApply(CachedPlan::copyPlan);
+    }
+
+    /**
+     * Returns the cached plan if it's still valid for the given schema, evicts it from the cache otherwise.
+     *
+     * @param cache Plan cache.
+     * @param key Cache key.
+     * @param schema Default schema of the query.
+     * @return Cached plan future or {@code null} if there is no valid plan in the cache.
+     */
+    private @Nullable CompletableFuture<CachedPlan> cachedPlan(
+            ConcurrentMap<CacheKey, CompletableFuture<CachedPlan>> cache,
+            CacheKey key,
+            SchemaPlus schema
+    ) {
+        CompletableFuture<CachedPlan> planFut = cache.get(key);
+
+        // The plans, which are still being prepared, are considered valid. Such a plan is checked on the next access.
+        if (planFut == null || !planFut.isDone() || planFut.isCompletedExceptionally() || planFut.join().valid(schema)) {
+            return planFut;
+        }
+
+        // The plans cached by the query text are cached by the AST as well, so every invalidation is counted once.
+        if (cache.remove(key, planFut) && cache == this.cache) {
+            metricSource.onInvalidated();
+        }
+
+        return null;
+    }
+
+    /**
+     * Caches the plan, which is prepared by the given supplier, unless there is a plan in the cache already.
+     * The plan is removed from the cache if the preparation fails, so the query is planned again on the next attempt.
+     */
+    private static CompletableFuture<CachedPlan> cachePlan(
+            ConcurrentMap<CacheKey, CompletableFuture<CachedPlan>> cache,
+            CacheKey key,
+            Supplier<CompletableFuture<CachedPlan>> planSupplier
+    ) {
+        CompletableFuture<CachedPlan> planFut = cache.computeIfAbsent(key, k -> planSupplier.get());
+
+        planFut.whenComplete((plan, ex) -> {
+            if (ex != null) {
+                cache.remove(key, planFut);
+            }
+        });
+
+        return planFut;
     }
 
     private CompletableFuture<QueryPlan> prepareDdl(SqlNode sqlNode, PlanningContext ctx) {
@@ -214,10 +342,20 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
         return !(sqlNode instanceof SqlNodeList);
     }
 
-    private CompletableFuture<QueryPlan> prepareQuery(SqlNode sqlNode, PlanningContext ctx) {
+    private CompletableFuture<CachedPlan> prepareQuery(SqlNode sqlNode, PlanningContext ctx) {
         var key = new CacheKey(ctx.schemaName(), sqlNode.toString());
 
-        var planFut = cache.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<CachedPlan> cachedFut = cachedPlan(cache, key, ctx.schema());
+
+        if (cachedFut != null) {
+            metricSource.onHit();
+
+            return cachedFut;
+        }
+
+        metricSource.onMiss();
+
+        return cachePlan(cache, key, () -> CompletableFuture.supplyAsync(() -> {
             IgnitePlanner planner = ctx.planner();
 
             // Validate
@@ -232,16 +370,28 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
 
             QueryTemplate template = new QueryTemplate(fragments);
 
-            return new MultiStepQueryPlan(template, resultSetMetadata(validated.dataType(), validated.origins()));
-        }, planningPool));
+            var plan = new MultiStepQueryPlan(template, resultSetMetadata(validated.dataType(), validated.origins()));
+
+            KeyValueGetPlan kvPlan = KeyValueGetPlan.create(igniteRel, plan);
 
-        return planFut.thenApply(QueryPlan::copy);
+            return new CachedPlan(kvPlan != null ? kvPlan : plan, igniteRel);
+        }, planningPool));
     }
 
-    private CompletableFuture<QueryPlan> prepareDml(SqlNode sqlNode, PlanningContext ctx) {
+    private CompletableFuture<CachedPlan> prepareDml(SqlNode sqlNode, PlanningContext ctx) {
         var key = new CacheKey(ctx.schemaName(), sqlNode.toString());
 
-        var planFut = cache.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<CachedPlan> cachedFut = cachedPlan(cache, key, ctx.schema());
+
+        if (cachedFut != null) {
+            metricSource.onHit();
+
+            return cachedFut;
+        }
+
+        metricSource.onMiss();
+
+        return cachePlan(cache, key, () -> CompletableFuture.supplyAsync(() -> {
             IgnitePlanner planner = ctx.planner();
 
             // Validate
@@ -255,10 +405,16 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
 
             QueryTemplate template = new QueryTemplate(fragments);
 
-            return new MultiStepDmlPlan(template);
-        }, planningPool));
+            MultiStepDmlPlan plan = new MultiStepDmlPlan(template);
 
-        return planFut.thenApply(QueryPlan::copy);
+            QueryPlan kvPlan = KeyValueInsertPlan.create(igniteRel, plan);
+
+            if (kvPlan == null) {
+                kvPlan = KeyValueUpdatePlan.create(igniteRel, plan);
+            }
+
+            return new CachedPlan(kvPlan != null ? kvPlan : plan, igniteRel);
+        }, planningPool));
     }
 
     private ResultSetMetadata resultSetMetadata(
@@ -288,4 +444,68 @@ public class PrepareServiceImpl implements PrepareService, SchemaUpdateListener
                 }
         );
     }
+
+    /**
+     * A cached plan along with the tables it has been built against.
+     */
+    private static class CachedPlan {
+        private final QueryPlan plan;
+
+        /** Tables by their qualified names. */
+        private final Map<List<String>, Table> tables = new HashMap<>();
+
+        CachedPlan(QueryPlan plan, IgniteRel root) {
+            this.plan = plan;
+
+            new RelVisitor() {
+                @Override
+                public void visit(RelNode node, int ordinal, @Nullable RelNode parent) {
+                    RelOptTable table = node.getTable();
+
+                    Table schemaTable = table == null ? null : table.unwrap(Table.class);
+
+                    if (schemaTable != null) {
+                        tables.put(table.getQualifiedName(), schemaTable);
+                    }
+
+                    super.visit(node, ordinal, parent);
+                }
+            }.go(root);
+        }
+
+        QueryPlan copyPlan() {
+            return plan.copy();
+        }
+
+        /**
+         * Checks whether the plan can be used with the given schema. Any change of a table or its indexes replaces the table
+         * instance in the schema, so the plan is valid as long as every table it uses is still registered under the same name.
+         *
+         * @param schema Default schema of the query.
+         * @return {@code true} if none of the tables used by the plan has been changed.
+         */
+        boolean valid(SchemaPlus schema) {
+            SchemaPlus root = schema;
+
+            while (root.getParentSchema() != null) {
+                root = root.getParentSchema();
+            }
+
+            for (Map.Entry<List<String>, Table> e : tables.entrySet()) {
+                List<String> names = e.getKey();
+
+                SchemaPlus tableSchema = root;
+
+                for (int i = 0; i < names.size() - 1 && tableSchema != null; i++) {
+                    tableSchema = tableSchema.getSubSchema(names.get(i));
+                }
+
+                if (tableSchema == null || tableSchema.getTable(names.get(names.size() - 1)) != e.getValue()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
 }
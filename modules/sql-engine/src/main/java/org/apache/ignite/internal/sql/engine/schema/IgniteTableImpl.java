@@ -44,6 +44,7 @@ import org.apache.calcite.schema.Statistic;
 import org.apache.calcite.schema.impl.AbstractTable;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryRowEx;
 import org.apache.ignite.internal.schema.NativeTypeSpec;
 import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.schema.SchemaRegistry;
@@ -310,6 +311,45 @@ public class IgniteTableImpl extends AbstractTable implements InternalIgniteTabl
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public <RowT> BinaryRowEx toKeyRow(ExecutionContext<RowT> ectx, RowT row) {
+        int nonNullVarlenKeyCols = 0;
+
+        RowHandler<RowT> hnd = ectx.rowHandler();
+
+        for (ColumnDescriptor colDesc : columnsOrderedByPhysSchema) {
+            if (!colDesc.key()) {
+                break;
+            }
+
+            if (colDesc.physicalType().spec().fixedLength()) {
+                continue;
+            }
+
+            Object val = hnd.get(colDesc.logicalIndex(), row);
+
+            if (val != null) {
+                nonNullVarlenKeyCols++;
+            }
+        }
+
+        RowAssembler rowAssembler = new RowAssembler(schemaDescriptor, nonNullVarlenKeyCols, 0);
+
+        for (ColumnDescriptor colDesc : columnsOrderedByPhysSchema) {
+            if (!colDesc.key()) {
+                break;
+            }
+
+            Object val = TypeUtils.fromInternal(ectx, hnd.get(colDesc.logicalIndex(), row),
+                    NativeTypeSpec.toClass(colDesc.physicalType().spec(), colDesc.nullable()));
+
+            RowAssembler.writeValue(rowAssembler, colDesc.physicalType(), val);
+        }
+
+        return new Row(schemaDescriptor, rowAssembler.build());
+    }
+
     private <RowT> ModifyRow insertTuple(RowT row, ExecutionContext<RowT> ectx) {
         int nonNullVarlenKeyCols = 0;
         int nonNullVarlenValCols = 0;
@@ -435,40 +475,7 @@ public class IgniteTableImpl extends AbstractTable implements InternalIgniteTabl
     }
 
     private <RowT> ModifyRow deleteTuple(RowT row, ExecutionContext<RowT> ectx) {
-        int nonNullVarlenKeyCols = 0;
-
-        RowHandler<RowT> hnd = ectx.rowHandler();
-
-        for (ColumnDescriptor colDesc : columnsOrderedByPhysSchema) {
-            if (!colDesc.key()) {
-                break;
-            }
-
-            if (colDesc.physicalType().spec().fixedLength()) {
-                continue;
-            }
-
-            Object val = hnd.get(colDesc.logicalIndex(), row);
-
-            if (val != null) {
-                nonNullVarlenKeyCols++;
-            }
-        }
-
-        RowAssembler rowAssembler = new RowAssembler(schemaDescriptor, nonNullVarlenKeyCols, 0);
-
-        for (ColumnDescriptor colDesc : columnsOrderedByPhysSchema) {
-            if (!colDesc.key()) {
-                break;
-            }
-
-            Object val = TypeUtils.fromInternal(ectx, hnd.get(colDesc.logicalIndex(), row),
-                    NativeTypeSpec.toClass(colDesc.physicalType().spec(), colDesc.nullable()));
-
-            RowAssembler.writeValue(rowAssembler, colDesc.physicalType(), val);
-        }
-
-        return new ModifyRow(new Row(schemaDescriptor, rowAssembler.build()), Operation.DELETE_ROW);
+        return new ModifyRow(toKeyRow(ectx, row), Operation.DELETE_ROW);
     }
 
     private ColocationGroup partitionedGroup() {
@@ -26,6 +26,7 @@ import org.apache.calcite.rel.hint.RelHint;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryRowEx;
 import org.apache.ignite.internal.sql.engine.exec.ExecutionContext;
 import org.apache.ignite.internal.sql.engine.exec.RowHandler;
 import org.apache.ignite.internal.sql.engine.metadata.ColocationGroup;
@@ -115,6 +116,15 @@ public interface InternalIgniteTable extends IgniteTable {
             @Nullable List<String> arg
     );
 
+    /**
+     * Converts the key columns of a relational node row to internal key tuple.
+     *
+     * @param ectx Execution context.
+     * @param row  Relational node row with the values of all the table columns, only the key ones are used.
+     * @return Key tuple.
+     */
+    <RowT> BinaryRowEx toKeyRow(ExecutionContext<RowT> ectx, RowT row);
+
     /**
      * Returns nodes mapping.
      *
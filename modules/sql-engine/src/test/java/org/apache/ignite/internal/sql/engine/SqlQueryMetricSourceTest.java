@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SqlQueryMetricSource}.
+ */
+public class SqlQueryMetricSourceTest {
+    @Test
+    public void testQueryMetrics() {
+        SqlQueryMetricSource metricSource = new SqlQueryMetricSource();
+
+        // Queries are not tracked while the source is disabled.
+        metricSource.trackQuery(new CompletableFuture<>());
+
+        MetricSet metrics = metricSource.enable();
+
+        CompletableFuture<Object> opened = new CompletableFuture<>();
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        CompletableFuture<Object> cancelled = new CompletableFuture<>();
+        CompletableFuture<Object> running = new CompletableFuture<>();
+
+        metricSource.trackQuery(opened);
+        metricSource.trackQuery(failed);
+        metricSource.trackQuery(cancelled);
+        metricSource.trackQuery(running);
+
+        opened.complete(new Object());
+        failed.completeExceptionally(new IllegalStateException("Test"));
+        cancelled.cancel(true);
+
+        assertEquals(4, metrics.<LongMetric>get("StartedQueries").value());
+        assertEquals(1, metrics.<LongMetric>get("FailedQueries").value());
+        assertEquals(1, metrics.<LongMetric>get("CancelledQueries").value());
+        assertEquals(1, LongStream.of(metrics.<DistributionMetric>get("StartTime").value()).sum());
+
+        // A cancellation wrapped by the cursor future chain is still counted as a cancellation.
+        CompletableFuture<Object> wrapped = new CompletableFuture<>();
+
+        metricSource.trackQuery(wrapped.thenApply(cur -> cur));
+
+        wrapped.completeExceptionally(new CancellationException());
+
+        assertEquals(2, metrics.<LongMetric>get("CancelledQueries").value());
+    }
+}
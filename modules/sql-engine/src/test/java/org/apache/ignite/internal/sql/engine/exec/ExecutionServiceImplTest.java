@@ -17,22 +17,29 @@
 
 package org.apache.ignite.internal.sql.engine.exec;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.ignite.internal.sql.engine.util.BaseQueryContext.CLUSTER;
 import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
 import static org.apache.ignite.internal.testframework.IgniteTestUtils.await;
 import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.apache.ignite.lang.ErrorGroups.Sql.DUPLICATE_KEYS_ERR;
 import static org.apache.ignite.lang.ErrorGroups.Sql.OPERATION_INTERRUPTED_ERR;
 import static org.apache.ignite.lang.IgniteStringFormatter.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -44,17 +51,23 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import org.apache.calcite.rel.core.TableModify.Operation;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.tools.Frameworks;
+import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryRowEx;
 import org.apache.ignite.internal.sql.engine.AsyncCursor.BatchedResult;
 import org.apache.ignite.internal.sql.engine.QueryCancel;
 import org.apache.ignite.internal.sql.engine.exec.ExecutionServiceImplTest.TestCluster.TestNode;
+import org.apache.ignite.internal.sql.engine.exec.RowHandler.RowFactory;
 import org.apache.ignite.internal.sql.engine.exec.ddl.DdlCommandHandler;
 import org.apache.ignite.internal.sql.engine.exec.rel.Node;
 import org.apache.ignite.internal.sql.engine.exec.rel.ScanNode;
@@ -66,26 +79,33 @@ import org.apache.ignite.internal.sql.engine.message.SqlQueryMessagesFactory;
 import org.apache.ignite.internal.sql.engine.metadata.ColocationGroup;
 import org.apache.ignite.internal.sql.engine.metadata.RemoteException;
 import org.apache.ignite.internal.sql.engine.planner.AbstractPlannerTest.TestTable;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueGetPlan;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueInsertPlan;
+import org.apache.ignite.internal.sql.engine.prepare.KeyValueUpdatePlan;
 import org.apache.ignite.internal.sql.engine.prepare.MappingQueryContext;
 import org.apache.ignite.internal.sql.engine.prepare.PrepareService;
 import org.apache.ignite.internal.sql.engine.prepare.PrepareServiceImpl;
 import org.apache.ignite.internal.sql.engine.prepare.QueryPlan;
 import org.apache.ignite.internal.sql.engine.rel.IgniteTableScan;
 import org.apache.ignite.internal.sql.engine.schema.IgniteSchema;
+import org.apache.ignite.internal.sql.engine.schema.ModifyRow;
 import org.apache.ignite.internal.sql.engine.schema.SqlSchemaManager;
 import org.apache.ignite.internal.sql.engine.trait.IgniteDistribution;
 import org.apache.ignite.internal.sql.engine.trait.IgniteDistributions;
 import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
 import org.apache.ignite.internal.sql.engine.util.Commons;
+import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.testframework.IgniteTestUtils.RunnableX;
 import org.apache.ignite.internal.util.ArrayUtils;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.network.NetworkMessage;
+import org.apache.ignite.sql.SqlException;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  * Test class to verify {@link ExecutionServiceImplTest}.
@@ -107,7 +127,20 @@ public class ExecutionServiceImplTest {
     private final TestTable table = createTable("TEST_TBL", 1_000_000, IgniteDistributions.random(),
             "ID", Integer.class, "VAL", Integer.class);
 
-    private final IgniteSchema schema = new IgniteSchema("PUBLIC", Map.of(table.name(), table), null);
+    /** Rows of the key-value table by the binary rows, which are returned by the mocked internal table. */
+    private final Map<BinaryRow, Object[]> kvRows = new ConcurrentHashMap<>();
+
+    /** Key values by the binary key rows, which are built by the key-value table. */
+    private final Map<BinaryRowEx, Integer> kvKeys = new ConcurrentHashMap<>();
+
+    /** Rows by the binary rows, which are built by the key-value table to insert or update. */
+    private final Map<BinaryRowEx, Object[]> kvModifyRows = new ConcurrentHashMap<>();
+
+    private final InternalTable kvInternalTable = mock(InternalTable.class);
+
+    private final TestTable kvTable = createKeyValueTable("KV_TBL");
+
+    private final IgniteSchema schema = new IgniteSchema("PUBLIC", Map.of(table.name(), table, kvTable.name(), kvTable), null);
 
     private TestCluster testCluster;
     private List<ExecutionServiceImpl<?>> executionServices;
@@ -115,6 +148,20 @@ public class ExecutionServiceImplTest {
 
     @BeforeEach
     public void init() {
+        Map<Integer, BinaryRow> kvRowsById = new ConcurrentHashMap<>();
+
+        dataPerNode.values().stream().flatMap(List::stream).forEach(row -> {
+            BinaryRow binRow = mock(BinaryRow.class);
+
+            kvRows.put(binRow, row);
+            kvRowsById.put((Integer) row[0], binRow);
+        });
+
+        when(kvInternalTable.get(any(), any())).thenAnswer(inv -> completedFuture(kvRowsById.get(kvKeys.get(inv.getArgument(0)))));
+        when(kvInternalTable.insert(any(), any()))
+                .thenAnswer(inv -> completedFuture(!kvRowsById.containsKey(kvModifyRows.get(inv.getArgument(0))[0])));
+        when(kvInternalTable.upsert(any(), any())).thenReturn(completedFuture(null));
+
         testCluster = new TestCluster();
         executionServices = nodeIds.stream().map(this::create).collect(Collectors.toList());
         prepareService = new PrepareServiceImpl("test", 0, null);
@@ -326,6 +373,150 @@ public class ExecutionServiceImplTest {
                         .mapToInt(i -> i).sum() == 0, TIMEOUT_IN_MS));
     }
 
+    /**
+     * The fragment plan is sent to a node only once, the subsequent executions refer the plan cached by the node.
+     */
+    @Test
+    public void testFragmentPlanIsCachedByRemoteNode() throws InterruptedException {
+        var execService = executionServices.get(0);
+        var plan = prepare("SELECT *  FROM test_tbl", createContext());
+
+        var withPlan = new AtomicInteger();
+        var withoutPlan = new AtomicInteger();
+
+        testCluster.node(nodeIds.get(2)).interceptor((nodeId, msg, original) -> {
+            if (msg instanceof QueryStartRequest) {
+                (((QueryStartRequest) msg).root() != null ? withPlan : withoutPlan).incrementAndGet();
+            }
+
+            original.onMessage(nodeId, msg);
+        });
+
+        for (int i = 0; i < 3; i++) {
+            if (i == 2) {
+                // Remote node loses its cache, the plan must be requested again.
+                executionServices.get(2).onSchemaUpdated();
+            }
+
+            var ctx = createContext();
+
+            BatchedResult<?> res = await(execService.executePlan(plan.copy(), ctx).requestNextAsync(9));
+
+            assertNotNull(res);
+            assertEquals(9, res.items().size());
+
+            assertTrue(waitForCondition(
+                    () -> executionServices.stream().map(es -> es.localFragments(ctx.queryId()).size())
+                            .mapToInt(i0 -> i0).sum() == 0, TIMEOUT_IN_MS));
+        }
+
+        assertEquals(2, withPlan.get());
+        assertEquals(2, withoutPlan.get());
+    }
+
+    /**
+     * The query, which reads a row by its primary key, is executed by a lookup in the table.
+     */
+    @Test
+    public void testKeyValueGet() {
+        var execService = executionServices.get(0);
+        var plan = prepare("SELECT * FROM kv_tbl WHERE id = ?", createContext(1));
+
+        assertInstanceOf(KeyValueGetPlan.class, plan);
+
+        assertEquals(List.of(List.of(4, 4)), fetchAll(execService, plan, createContext(4)));
+        assertEquals(List.of(), fetchAll(execService, plan, createContext(42)));
+
+        verify(kvInternalTable, times(2)).get(any(), any());
+
+        // The key columns aren't nullable, so the NULL key matches nothing and the table isn't requested.
+        assertEquals(List.of(), fetchAll(execService, plan, createContext((Object) null)));
+
+        verify(kvInternalTable, times(2)).get(any(), any());
+    }
+
+    /**
+     * The row, which is found by the key, is checked against the rest of the condition.
+     */
+    @Test
+    public void testKeyValueGetWithExtraCondition() {
+        var execService = executionServices.get(0);
+        var plan = prepare("SELECT val FROM kv_tbl WHERE id = ? AND val > ?", createContext(1, 1));
+
+        assertInstanceOf(KeyValueGetPlan.class, plan);
+
+        assertEquals(List.of(List.of(7)), fetchAll(execService, plan, createContext(7, 5)));
+        assertEquals(List.of(), fetchAll(execService, plan, createContext(3, 5)));
+
+        verify(kvInternalTable, times(2)).get(any(), any());
+    }
+
+    /**
+     * The key parameter, which requires a conversion to the column type, makes the query to be executed by the distributed plan.
+     */
+    @Test
+    public void testKeyValueGetFallsBackToDistributedPlan() {
+        var execService = executionServices.get(0);
+        var plan = prepare("SELECT * FROM kv_tbl WHERE id = ?", createContext(1));
+
+        assertInstanceOf(KeyValueGetPlan.class, plan);
+
+        // The scan of the test cluster ignores the condition, so all the rows of all the nodes are returned.
+        assertEquals(9, fetchAll(execService, plan, createContext(4L)).size());
+
+        verify(kvInternalTable, never()).get(any(), any());
+    }
+
+    /**
+     * The query, which inserts a single row of parameters, is executed by an insert into the table.
+     */
+    @Test
+    public void testKeyValueInsert() {
+        var execService = executionServices.get(0);
+        var plan = prepare("INSERT INTO kv_tbl VALUES (?, ?)", createContext(1, 1));
+
+        assertInstanceOf(KeyValueInsertPlan.class, plan);
+
+        assertEquals(List.of(List.of(1L)), fetchAll(execService, plan, createContext(42, 43)));
+
+        ArgumentCaptor<BinaryRowEx> rowCaptor = ArgumentCaptor.forClass(BinaryRowEx.class);
+
+        verify(kvInternalTable).insert(rowCaptor.capture(), any());
+
+        assertArrayEquals(new Object[]{42, 43}, kvModifyRows.get(rowCaptor.getValue()));
+
+        // The row with the same key exists already.
+        SqlException err = assertThrows(SqlException.class, () -> fetchAll(execService, plan, createContext(4, 43)));
+
+        assertEquals(DUPLICATE_KEYS_ERR, err.code());
+    }
+
+    /**
+     * The query, which updates a row by its primary key, is executed by a lookup and an upsert in the table.
+     */
+    @Test
+    public void testKeyValueUpdate() {
+        var execService = executionServices.get(0);
+        var plan = prepare("UPDATE kv_tbl SET val = ? WHERE id = ?", createContext(1, 1));
+
+        assertInstanceOf(KeyValueUpdatePlan.class, plan);
+
+        assertEquals(List.of(List.of(1L)), fetchAll(execService, plan, createContext(40, 4)));
+
+        ArgumentCaptor<BinaryRowEx> rowCaptor = ArgumentCaptor.forClass(BinaryRowEx.class);
+
+        verify(kvInternalTable).get(any(), any());
+        verify(kvInternalTable).upsert(rowCaptor.capture(), any());
+
+        assertArrayEquals(new Object[]{4, 40}, kvModifyRows.get(rowCaptor.getValue()));
+
+        // Nothing is written if there is no row with the key.
+        assertEquals(List.of(List.of(0L)), fetchAll(execService, plan, createContext(40, 42)));
+
+        verify(kvInternalTable, times(2)).get(any(), any());
+        verify(kvInternalTable, times(1)).upsert(any(), any());
+    }
+
     /** Creates an execution service instance for the node with given id. */
     public ExecutionServiceImpl<Object[]> create(String nodeId) {
         if (!nodeIds.contains(nodeId)) {
@@ -350,7 +541,7 @@ public class ExecutionServiceImplTest {
 
         var schemaManagerMock = mock(SqlSchemaManager.class);
 
-        when(schemaManagerMock.tableById(any(), anyInt())).thenReturn(table);
+        when(schemaManagerMock.tableById(any(), anyInt())).thenAnswer(inv -> kvTable.id().equals(inv.getArgument(0)) ? kvTable : table);
 
         var executionService = new ExecutionServiceImpl<>(
                 nodeId,
@@ -371,9 +562,10 @@ public class ExecutionServiceImplTest {
         return executionService;
     }
 
-    private BaseQueryContext createContext() {
+    private BaseQueryContext createContext(Object... params) {
         return BaseQueryContext.builder()
                 .cancel(new QueryCancel())
+                .parameters(params)
                 .frameworkConfig(
                         Frameworks.newConfigBuilder(FRAMEWORK_CONFIG)
                                 .defaultSchema(wrap(schema))
@@ -399,6 +591,15 @@ public class ExecutionServiceImplTest {
         return prepareService.prepareAsync(nodes.get(0), ctx).join();
     }
 
+    private static List<List<Object>> fetchAll(ExecutionServiceImpl<?> execService, QueryPlan plan, BaseQueryContext ctx) {
+        BatchedResult<List<Object>> res = await(execService.executePlan(plan.copy(), ctx).requestNextAsync(100));
+
+        assertNotNull(res);
+        assertFalse(res.hasMore());
+
+        return res.items();
+    }
+
     static class TestCluster {
         private final Map<String, TestNode> nodes = new ConcurrentHashMap<>();
 
@@ -607,4 +808,74 @@ public class ExecutionServiceImplTest {
             }
         };
     }
+
+    /**
+     * Creates the table with the primary key {@code ID} and the value {@code VAL} columns. The table is read by the key through
+     * the mocked internal table, which returns the rows of all the nodes.
+     *
+     * @param name Name of the table.
+     * @return Instance of the {@link TestTable}.
+     */
+    private TestTable createKeyValueTable(String name) {
+        RelDataType rowType = new RelDataTypeFactory.Builder(CLUSTER.getTypeFactory())
+                .add("ID", CLUSTER.getTypeFactory().createJavaType(Integer.class))
+                .add("VAL", CLUSTER.getTypeFactory().createJavaType(Integer.class))
+                .build();
+
+        return new TestTable(name, rowType, 1_000_000) {
+            @Override
+            public IgniteDistribution distribution() {
+                return IgniteDistributions.random();
+            }
+
+            @Override
+            public ColocationGroup colocationGroup(MappingQueryContext ctx) {
+                return ColocationGroup.forNodes(nodeIds);
+            }
+
+            @Override
+            public InternalTable table() {
+                return kvInternalTable;
+            }
+
+            @Override
+            public <RowT> RowT toRow(ExecutionContext<RowT> ectx, BinaryRow row, RowFactory<RowT> factory,
+                    @Nullable ImmutableBitSet requiredColumns) {
+                Object[] vals = kvRows.get(row);
+
+                return requiredColumns == null
+                        ? factory.create(vals)
+                        : factory.create(requiredColumns.toList().stream().map(i -> vals[i]).toArray());
+            }
+
+            @Override
+            public <RowT> ModifyRow toModifyRow(ExecutionContext<RowT> ectx, RowT row, Operation op, @Nullable List<String> arg) {
+                RowHandler<RowT> hnd = ectx.rowHandler();
+
+                Object[] vals = {hnd.get(0, row), hnd.get(1, row)};
+
+                // The new value of the updated column follows the values of all the table columns.
+                if (op == Operation.UPDATE) {
+                    assertEquals(List.of("VAL"), arg);
+
+                    vals[1] = hnd.get(2, row);
+                }
+
+                BinaryRowEx binRow = mock(BinaryRowEx.class);
+
+                kvModifyRows.put(binRow, vals);
+
+                return new ModifyRow(binRow, op == Operation.INSERT ? ModifyRow.Operation.INSERT_ROW : ModifyRow.Operation.UPDATE_ROW);
+            }
+
+            @Override
+            public <RowT> BinaryRowEx toKeyRow(ExecutionContext<RowT> ectx, RowT row) {
+                BinaryRowEx keyRow = mock(BinaryRowEx.class);
+
+                kvKeys.put(keyRow, (Integer) ectx.rowHandler().get(0, row));
+
+                return keyRow;
+            }
+        }.keyColumns(0);
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine.exec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.calcite.avatica.util.ByteString;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RowBatchCodec}.
+ */
+public class RowBatchCodecTest {
+    private static final RowHandler<Object[]> HANDLER = ArrayRowHandler.INSTANCE;
+
+    @Test
+    public void testEncodeDecode() {
+        List<Object[]> rows = List.of(
+                new Object[]{true, (byte) 1, (short) 2, 3, 4L, 5.0f, 6.0d, new BigDecimal("7.50"), BigInteger.TEN, "8",
+                        new ByteString(new byte[]{9}), UUID.randomUUID(), null},
+                new Object[]{false, null, (short) -2, 0, Long.MIN_VALUE, null, -6.5d, null, null, "", null, null, null},
+                new Object[]{null, (byte) 0, null, null, null, 0.0f, null, new BigDecimal("-1E+3"), BigInteger.ZERO, null,
+                        new ByteString(new byte[0]), null, null}
+        );
+
+        ByteBuffer encoded = RowBatchCodec.encode(HANDLER, rows);
+
+        assertNotNull(encoded);
+
+        List<Object[]> decoded = RowBatchCodec.decode(HANDLER, encoded);
+
+        assertEquals(rows.size(), decoded.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            assertArrayEquals(rows.get(i), decoded.get(i));
+        }
+
+        // Consumed rows are released, but still returned.
+        assertArrayEquals(rows.get(0), decoded.set(0, null));
+    }
+
+    @Test
+    public void testEncodeEmptyBatch() {
+        ByteBuffer encoded = RowBatchCodec.encode(HANDLER, List.of());
+
+        assertNotNull(encoded);
+
+        assertEquals(0, RowBatchCodec.decode(HANDLER, encoded).size());
+    }
+
+    @Test
+    public void testUnsupportedValues() {
+        List<Object[]> rows = new ArrayList<>();
+
+        rows.add(new Object[]{1, new Object()});
+
+        assertNull(RowBatchCodec.encode(HANDLER, rows));
+
+        rows.clear();
+
+        rows.add(new Object[]{1});
+        rows.add(new Object[]{1L});
+
+        assertNull(RowBatchCodec.encode(HANDLER, rows), "Column values of different classes");
+    }
+}
@@ -22,25 +22,34 @@ import static org.hamcrest.core.IsEqual.equalTo;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscription;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.calcite.rel.RelFieldCollation.NullDirection;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory.Builder;
-import org.apache.ignite.internal.binarytuple.BinaryTupleBuilder;
+import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.ignite.internal.index.ColumnCollation;
 import org.apache.ignite.internal.index.Index;
 import org.apache.ignite.internal.index.IndexDescriptor;
 import org.apache.ignite.internal.index.SortedIndex;
 import org.apache.ignite.internal.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.BinaryTuple;
-import org.apache.ignite.internal.schema.BinaryTupleSchema;
 import org.apache.ignite.internal.schema.Column;
 import org.apache.ignite.internal.schema.NativeTypes;
 import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.row.Row;
+import org.apache.ignite.internal.schema.row.RowAssembler;
 import org.apache.ignite.internal.sql.engine.exec.ExecutionContext;
+import org.apache.ignite.internal.sql.engine.exec.RowHandler.RowFactory;
 import org.apache.ignite.internal.sql.engine.planner.AbstractPlannerTest;
 import org.apache.ignite.internal.sql.engine.schema.IgniteIndex;
 import org.apache.ignite.internal.sql.engine.schema.IgniteIndex.Type;
@@ -48,6 +57,7 @@ import org.apache.ignite.internal.sql.engine.trait.IgniteDistribution;
 import org.apache.ignite.internal.sql.engine.trait.IgniteDistributions;
 import org.apache.ignite.internal.sql.engine.type.IgniteTypeFactory;
 import org.apache.ignite.internal.sql.engine.util.TypeUtils;
+import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.testframework.IgniteTestUtils;
 import org.hamcrest.Matchers;
 import org.jetbrains.annotations.Nullable;
@@ -78,8 +88,15 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
                 {6L, 2, 1, "Andrey"}
         };
 
-        // TODO: sort data, once IndexScanNode will support merging.
-        Object[][] result = tableData;
+        // Sorted by (idxCol2 ASC NULLS FIRST, idxCol1 ASC NULLS LAST).
+        Object[][] result = {
+                {4L, 2, null, "Alexey"},
+                {6L, 2, 1, "Andrey"},
+                {3L, 3, 1, "Taras"},
+                {5L, 4, 1, "Ivan"},
+                {1L, null, 1, "Roman"},
+                {2L, 4, 2, "Igor"}
+        };
 
         // Validate sort order.
         validateSortedIndexScan(
@@ -118,7 +135,6 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
                         tableData,
                         () -> new Object[]{2, "Brutus"},
                         () -> new Object[]{3.9, 0},
-                        // TODO: sort data, once IndexScanNode will support merging.
                         EMPTY
                 ), ClassCastException.class);
 
@@ -194,22 +210,27 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
         Index<IndexDescriptor> hashIndexMock = Mockito.mock(Index.class);
 
         Mockito.doReturn(indexDescriptor).when(hashIndexMock).descriptor();
+
+        InternalTable tableMock = Mockito.mock(InternalTable.class);
+
         //CHECKSTYLE:OFF:Indentation
         Mockito.doAnswer(invocation -> {
-                    if (key != null) {
-                        validateBound(indexDescriptor, schemaDescriptor, invocation.getArgument(2));
-                    }
+                    validateBound(indexDescriptor, schemaDescriptor, invocation.getArgument(3));
 
-                    return dummyPublisher(partitionData(tableData, schemaDescriptor, invocation.getArgument(0)));
+                    return dummyPublisher(partitionData(tableData, schemaDescriptor, invocation.getArgument(0), null));
                 })
-                .when(hashIndexMock)
-                .scan(Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+                .when(tableMock)
+                .lookup(Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        Mockito.doAnswer(invocation -> dummyPublisher(partitionData(tableData, schemaDescriptor, invocation.getArgument(0), null)))
+                .when(tableMock)
+                .scan(Mockito.anyInt(), Mockito.any());
         //CHECKSTYLE:ON:Indentation
 
         Mockito.doReturn(IgniteIndex.Type.HASH).when(indexMock).type();
         Mockito.doReturn(hashIndexMock).when(indexMock).index();
 
-        validateIndexScan(tableData, schemaDescriptor, indexMock, key, key, expRes);
+        validateIndexScan(tableData, schemaDescriptor, indexMock, tableMock, null, key, key, expRes);
     }
 
     private void validateSortedIndexScan(
@@ -240,30 +261,43 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
         SortedIndex sortedIndexMock = Mockito.mock(SortedIndex.class);
 
         Mockito.doReturn(indexDescriptor).when(sortedIndexMock).descriptor();
+
+        // Index order: idxCol2 ASC NULLS FIRST, idxCol1 ASC NULLS LAST.
+        Comparator<Object[]> comp = executionContext(true).expressionFactory().comparator(RelCollations.of(
+                new RelFieldCollation(2, Direction.ASCENDING, NullDirection.FIRST),
+                new RelFieldCollation(1, Direction.ASCENDING, NullDirection.LAST)
+        ));
+
+        InternalTable tableMock = Mockito.mock(InternalTable.class);
+
         //CHECKSTYLE:OFF:Indentation
         Mockito.doAnswer(invocation -> {
                     if (lowerBound != null) {
-                        validateBoundPrefix(indexDescriptor, schemaDescriptor, invocation.getArgument(2));
+                        validateBoundPrefix(indexDescriptor, schemaDescriptor, invocation.getArgument(3));
                     }
                     if (upperBound != null) {
-                        validateBoundPrefix(indexDescriptor, schemaDescriptor, invocation.getArgument(3));
+                        validateBoundPrefix(indexDescriptor, schemaDescriptor, invocation.getArgument(4));
                     }
 
-                    return dummyPublisher(partitionData(tableData, schemaDescriptor, invocation.getArgument(0)));
-                }).when(sortedIndexMock)
-                .scan(Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any());
+                    assertThat(invocation.getArgument(5), equalTo(SortedIndex.INCLUDE_LEFT | SortedIndex.INCLUDE_RIGHT));
+
+                    return dummyPublisher(partitionData(tableData, schemaDescriptor, invocation.getArgument(0), comp));
+                }).when(tableMock)
+                .scan(Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
         //CHECKSTYLE:ON:Indentation
 
         Mockito.doReturn(Type.SORTED).when(indexMock).type();
         Mockito.doReturn(sortedIndexMock).when(indexMock).index();
 
-        validateIndexScan(tableData, schemaDescriptor, indexMock, lowerBound, upperBound, expectedData);
+        validateIndexScan(tableData, schemaDescriptor, indexMock, tableMock, comp, lowerBound, upperBound, expectedData);
     }
 
     private void validateIndexScan(
             Object[][] tableData,
             SchemaDescriptor schemaDescriptor,
             IgniteIndex index,
+            InternalTable table,
+            @Nullable Comparator<Object[]> comp,
             Supplier<Object[]> lowerBound,
             Supplier<Object[]> upperBound,
             Object[][] expectedData
@@ -276,8 +310,9 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
                 ectx,
                 rowType,
                 index,
-                new TestTable(rowType),
+                new TestTable(rowType, table, schemaDescriptor),
                 new int[]{0, 2},
+                comp,
                 lowerBound,
                 upperBound,
                 null,
@@ -308,36 +343,63 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
     }
 
 
-    private BinaryTuple[] partitionData(Object[][] tableData, SchemaDescriptor schemaDescriptor, int partition) {
-        BinaryTupleSchema binaryTupleSchema = BinaryTupleSchema.createRowSchema(schemaDescriptor);
+    /**
+     * Returns the rows of the partition, sorted by the given comparator to imitate the index order.
+     */
+    private static BinaryRow[] partitionData(
+            Object[][] tableData,
+            SchemaDescriptor schemaDescriptor,
+            int partition,
+            @Nullable Comparator<Object[]> comp
+    ) {
+        Stream<Object[]> partitionRows;
 
         switch (partition) {
             case 0: {
-                return Arrays.stream(tableData).limit(tableData.length / 2)
-                        .map(r -> convertToTuple(binaryTupleSchema, r))
-                        .toArray(BinaryTuple[]::new);
+                partitionRows = Arrays.stream(tableData).limit(tableData.length / 2);
+
+                break;
             }
             case 2: {
-                return Arrays.stream(tableData).skip(tableData.length / 2)
-                        .map(r -> convertToTuple(binaryTupleSchema, r))
-                        .toArray(BinaryTuple[]::new);
+                partitionRows = Arrays.stream(tableData).skip(tableData.length / 2);
+
+                break;
             }
             default: {
                 throw new AssertionError("Undefined partition");
             }
         }
+
+        if (comp != null) {
+            partitionRows = partitionRows.sorted(comp);
+        }
+
+        return partitionRows.map(r -> convertToRow(schemaDescriptor, r)).toArray(BinaryRow[]::new);
     }
 
-    private BinaryTuple convertToTuple(BinaryTupleSchema binaryTupleSchema, Object[] row) {
-        return new BinaryTuple(binaryTupleSchema, new BinaryTupleBuilder(4, true)
-                .appendLong((long) row[0])
-                .appendInt((Integer) row[1])
-                .appendInt((Integer) row[2])
-                .appendString((String) row[3])
-                .build());
+    private static BinaryRow convertToRow(SchemaDescriptor schemaDescriptor, Object[] row) {
+        RowAssembler asm = new RowAssembler(schemaDescriptor, 0, row[3] == null ? 0 : 1);
+
+        asm.appendLong((long) row[0]);
+
+        for (int i = 1; i < 3; i++) {
+            if (row[i] == null) {
+                asm.appendNull();
+            } else {
+                asm.appendInt((Integer) row[i]);
+            }
+        }
+
+        if (row[3] == null) {
+            asm.appendNull();
+        } else {
+            asm.appendString((String) row[3]);
+        }
+
+        return asm.build();
     }
 
-    private static Publisher<BinaryTuple> dummyPublisher(BinaryTuple[] rows) {
+    private static Publisher<BinaryRow> dummyPublisher(BinaryRow[] rows) {
         return s -> {
             s.onSubscribe(new Subscription() {
                 @Override
@@ -394,8 +456,34 @@ public class IndexScanNodeExecutionTest extends AbstractExecutionTest {
     }
 
     private static class TestTable extends AbstractPlannerTest.TestTable {
-        public TestTable(RelDataType rowType) {
+        private final InternalTable table;
+
+        private final SchemaDescriptor schemaDescriptor;
+
+        public TestTable(RelDataType rowType, InternalTable table, SchemaDescriptor schemaDescriptor) {
             super(rowType);
+
+            this.table = table;
+            this.schemaDescriptor = schemaDescriptor;
+        }
+
+        @Override
+        public InternalTable table() {
+            return table;
+        }
+
+        @Override
+        public <RowT> RowT toRow(ExecutionContext<RowT> ectx, BinaryRow binRow, RowFactory<RowT> factory,
+                @Nullable ImmutableBitSet requiredColumns) {
+            Row row = new Row(schemaDescriptor, binRow);
+
+            Object[] values = new Object[schemaDescriptor.length()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.value(i);
+            }
+
+            return factory.create(values);
         }
 
         @Override
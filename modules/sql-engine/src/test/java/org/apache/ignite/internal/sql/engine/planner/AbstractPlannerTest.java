@@ -88,6 +88,7 @@ import org.apache.ignite.internal.index.IndexDescriptor;
 import org.apache.ignite.internal.index.SortedIndex;
 import org.apache.ignite.internal.index.SortedIndexDescriptor;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryRowEx;
 import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.schema.NativeType;
 import org.apache.ignite.internal.sql.engine.exec.ExecutionContext;
@@ -922,6 +923,18 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
             indexes.put(idxTbl.name(), idxTbl);
         }
 
+        /**
+         * Marks the given columns as the primary key columns of the table.
+         *
+         * @param cols Column indexes.
+         * @return {@code this} for chaining.
+         */
+        public TestTable keyColumns(int... cols) {
+            ((TestTableDescriptor) desc).keyColumns = ImmutableBitSet.of(cols);
+
+            return this;
+        }
+
         /**
          * AddIndex.
          * TODO Documentation https://issues.apache.org/jira/browse/IGNITE-15859
@@ -979,6 +992,12 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
         public <RowT> ModifyRow toModifyRow(ExecutionContext<RowT> ectx, RowT row, Operation op, @Nullable List<String> arg) {
             throw new AssertionError();
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public <RowT> BinaryRowEx toKeyRow(ExecutionContext<RowT> ectx, RowT row) {
+            throw new AssertionError();
+        }
     }
 
     /**
@@ -990,6 +1009,9 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
 
         private final RelDataType rowType;
 
+        /** Primary key columns. */
+        private volatile ImmutableBitSet keyColumns = ImmutableBitSet.of();
+
         /**
          * Constructor.
          * TODO Documentation https://issues.apache.org/jira/browse/IGNITE-15859
@@ -1024,7 +1046,7 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
 
             NativeType nativeType = field.getType() instanceof BasicSqlType ? IgniteTypeFactory.relDataTypeToNative(field.getType()) : null;
 
-            return new TestColumnDescriptor(field.getIndex(), fieldName, nativeType);
+            return new TestColumnDescriptor(field.getIndex(), fieldName, nativeType, keyColumns.get(field.getIndex()));
         }
 
         /** {@inheritDoc} */
@@ -1034,7 +1056,7 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
 
             NativeType nativeType = field.getType() instanceof BasicSqlType ? IgniteTypeFactory.relDataTypeToNative(field.getType()) : null;
 
-            return new TestColumnDescriptor(field.getIndex(), field.getName(), nativeType);
+            return new TestColumnDescriptor(field.getIndex(), field.getName(), nativeType, keyColumns.get(idx));
         }
 
         /** {@inheritDoc} */
@@ -1082,22 +1104,25 @@ public abstract class AbstractPlannerTest extends IgniteAbstractTest {
 
         private final NativeType physicalType;
 
-        TestColumnDescriptor(int idx, String name, NativeType physicalType) {
+        private final boolean key;
+
+        TestColumnDescriptor(int idx, String name, NativeType physicalType, boolean key) {
             this.idx = idx;
             this.name = name;
             this.physicalType = physicalType;
+            this.key = key;
         }
 
         /** {@inheritDoc} */
         @Override
         public boolean nullable() {
-            return true;
+            return !key;
         }
 
         /** {@inheritDoc} */
         @Override
         public boolean key() {
-            return false;
+            return key;
         }
 
         /** {@inheritDoc} */
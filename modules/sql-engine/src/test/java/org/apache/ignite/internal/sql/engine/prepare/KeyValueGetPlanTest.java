@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import static org.apache.calcite.tools.Frameworks.createRootSchema;
+import static org.apache.calcite.tools.Frameworks.newConfigBuilder;
+import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.ignite.internal.sql.engine.planner.AbstractPlannerTest;
+import org.apache.ignite.internal.sql.engine.schema.IgniteSchema;
+import org.apache.ignite.internal.sql.engine.trait.IgniteDistributions;
+import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the recognition of the primary key lookups by {@link KeyValueGetPlan#create}.
+ */
+public class KeyValueGetPlanTest extends AbstractPlannerTest {
+    private final IgniteSchema schema = createSchema(
+            createTable("T1", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class)
+                    .keyColumns(0),
+            createTable("T2", IgniteDistributions.random(), "ID1", Integer.class, "ID2", Integer.class, "VAL", Integer.class)
+                    .keyColumns(0, 1)
+    );
+
+    @Test
+    public void testSingleColumnKey() throws Exception {
+        KeyValueGetPlan plan = keyValuePlan("SELECT * FROM t1 WHERE id = ?", 1);
+
+        assertNotNull(plan);
+        assertEquals(0, plan.keyParameter(0));
+        assertEquals(-1, plan.keyParameter(1));
+
+        plan = keyValuePlan("SELECT val FROM t1 WHERE ? = id", 1);
+
+        assertNotNull(plan);
+        assertEquals(0, plan.keyParameter(0));
+    }
+
+    @Test
+    public void testCompositeKey() throws Exception {
+        KeyValueGetPlan plan = keyValuePlan("SELECT * FROM t2 WHERE id2 = ? AND id1 = ?", 1, 2);
+
+        assertNotNull(plan);
+        assertEquals(1, plan.keyParameter(0));
+        assertEquals(0, plan.keyParameter(1));
+        assertEquals(-1, plan.keyParameter(2));
+    }
+
+    @Test
+    public void testExtraConjunctsAreKeptInCondition() throws Exception {
+        KeyValueGetPlan plan = keyValuePlan("SELECT * FROM t1 WHERE id = ? AND val > ?", 1, 2);
+
+        assertNotNull(plan);
+        assertEquals(0, plan.keyParameter(0));
+        assertNotNull(plan.condition());
+        assertEquals(2, RelOptUtil.conjunctions(plan.condition()).size());
+    }
+
+    @Test
+    public void testNotKeyLookup() throws Exception {
+        // Partial key.
+        assertNull(keyValuePlan("SELECT * FROM t2 WHERE id1 = ?", 1));
+        assertNull(keyValuePlan("SELECT * FROM t2 WHERE id1 = ? AND val = ?", 1, 2));
+
+        // Disjunction.
+        assertNull(keyValuePlan("SELECT * FROM t1 WHERE id = ? OR id = ?", 1, 2));
+
+        // Non-key column.
+        assertNull(keyValuePlan("SELECT * FROM t1 WHERE val = ?", 1));
+
+        // Literal instead of the parameter.
+        assertNull(keyValuePlan("SELECT * FROM t1 WHERE id = 1"));
+
+        // Range.
+        assertNull(keyValuePlan("SELECT * FROM t1 WHERE id > ?", 1));
+
+        // No condition.
+        assertNull(keyValuePlan("SELECT * FROM t1"));
+    }
+
+    private @Nullable KeyValueGetPlan keyValuePlan(String sql, Object... params) throws Exception {
+        SchemaPlus rootSchema = createRootSchema(false);
+
+        rootSchema.add(schema.getName(), schema);
+
+        PlanningContext ctx = PlanningContext.builder()
+                .parentContext(BaseQueryContext.builder()
+                        .logger(log)
+                        .parameters(params)
+                        .frameworkConfig(newConfigBuilder(FRAMEWORK_CONFIG)
+                                .defaultSchema(rootSchema.getSubSchema(schema.getName()))
+                                .build())
+                        .build())
+                .query(sql)
+                .build();
+
+        return KeyValueGetPlan.create(physicalPlan(sql, ctx), mock(MultiStepPlan.class));
+    }
+}
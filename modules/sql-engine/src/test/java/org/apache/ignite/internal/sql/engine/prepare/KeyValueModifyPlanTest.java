@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import static org.apache.calcite.tools.Frameworks.createRootSchema;
+import static org.apache.calcite.tools.Frameworks.newConfigBuilder;
+import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.ignite.internal.sql.engine.planner.AbstractPlannerTest;
+import org.apache.ignite.internal.sql.engine.rel.IgniteRel;
+import org.apache.ignite.internal.sql.engine.schema.IgniteSchema;
+import org.apache.ignite.internal.sql.engine.trait.IgniteDistributions;
+import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the recognition of the single row modifications by {@link KeyValueInsertPlan#create} and
+ * {@link KeyValueUpdatePlan#create}.
+ */
+public class KeyValueModifyPlanTest extends AbstractPlannerTest {
+    private final IgniteSchema schema = createSchema(
+            createTable("T1", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class)
+                    .keyColumns(0),
+            createTable("T2", IgniteDistributions.random(), "ID1", Integer.class, "ID2", Integer.class, "VAL", Integer.class)
+                    .keyColumns(0, 1)
+    );
+
+    @Test
+    public void testInsertValues() throws Exception {
+        KeyValueInsertPlan plan = KeyValueInsertPlan.create(optimize("INSERT INTO t1 VALUES (?, ?)", 1, 2), mock(MultiStepPlan.class));
+
+        assertNotNull(plan);
+        assertEquals(1, plan.values().size());
+        assertNotNull(plan.projects());
+        assertEquals(2, plan.projects().size());
+
+        // Literals don't need the projection of a dummy row.
+        assertNotNull(KeyValueInsertPlan.create(optimize("INSERT INTO t1 VALUES (1, 2)"), mock(MultiStepPlan.class)));
+    }
+
+    @Test
+    public void testNotSingleRowInsert() throws Exception {
+        assertNull(KeyValueInsertPlan.create(optimize("INSERT INTO t1 VALUES (?, ?), (?, ?)", 1, 2, 3, 4),
+                mock(MultiStepPlan.class)));
+
+        assertNull(KeyValueInsertPlan.create(optimize("INSERT INTO t1 SELECT id1, val FROM t2"), mock(MultiStepPlan.class)));
+
+        assertNull(KeyValueInsertPlan.create(optimize("UPDATE t1 SET val = ? WHERE id = ?", 1, 2), mock(MultiStepPlan.class)));
+    }
+
+    @Test
+    public void testUpdateByKey() throws Exception {
+        KeyValueUpdatePlan plan = KeyValueUpdatePlan.create(optimize("UPDATE t1 SET val = ? WHERE id = ?", 1, 2),
+                mock(MultiStepPlan.class));
+
+        assertNotNull(plan);
+        assertEquals(1, plan.keyParameter(0));
+        assertEquals(-1, plan.keyParameter(1));
+        assertEquals(List.of("VAL"), plan.updateColumns());
+
+        plan = KeyValueUpdatePlan.create(optimize("UPDATE t2 SET val = val + ? WHERE id2 = ? AND id1 = ?", 1, 2, 3),
+                mock(MultiStepPlan.class));
+
+        assertNotNull(plan);
+        assertEquals(2, plan.keyParameter(0));
+        assertEquals(1, plan.keyParameter(1));
+    }
+
+    @Test
+    public void testNotKeyUpdate() throws Exception {
+        // Partial key.
+        assertNull(KeyValueUpdatePlan.create(optimize("UPDATE t2 SET val = ? WHERE id1 = ?", 1, 2), mock(MultiStepPlan.class)));
+
+        // Non-key column.
+        assertNull(KeyValueUpdatePlan.create(optimize("UPDATE t1 SET val = ? WHERE val = ?", 1, 2), mock(MultiStepPlan.class)));
+
+        // No condition.
+        assertNull(KeyValueUpdatePlan.create(optimize("UPDATE t1 SET val = ?", 1), mock(MultiStepPlan.class)));
+
+        assertNull(KeyValueUpdatePlan.create(optimize("DELETE FROM t1 WHERE id = ?", 1), mock(MultiStepPlan.class)));
+    }
+
+    private IgniteRel optimize(String sql, Object... params) throws Exception {
+        SchemaPlus rootSchema = createRootSchema(false);
+
+        rootSchema.add(schema.getName(), schema);
+
+        PlanningContext ctx = PlanningContext.builder()
+                .parentContext(BaseQueryContext.builder()
+                        .logger(log)
+                        .parameters(params)
+                        .frameworkConfig(newConfigBuilder(FRAMEWORK_CONFIG)
+                                .defaultSchema(rootSchema.getSubSchema(schema.getName()))
+                                .build())
+                        .build())
+                .query(sql)
+                .build();
+
+        return physicalPlan(sql, ctx);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.sql.engine.prepare;
+
+import static org.apache.ignite.internal.sql.engine.util.Commons.FRAMEWORK_CONFIG;
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.tools.Frameworks;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.apache.ignite.internal.sql.engine.planner.AbstractPlannerTest;
+import org.apache.ignite.internal.sql.engine.schema.IgniteSchema;
+import org.apache.ignite.internal.sql.engine.trait.IgniteDistributions;
+import org.apache.ignite.internal.sql.engine.util.BaseQueryContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the plan cache of the {@link PrepareServiceImpl}.
+ */
+public class PrepareServiceImplTest extends AbstractPlannerTest {
+    private final PlanCacheMetricSource metricSource = new PlanCacheMetricSource();
+
+    private final IgniteSchema schema = new IgniteSchema("PUBLIC");
+
+    private PrepareServiceImpl prepareService;
+
+    private MetricSet metricSet;
+
+    @BeforeEach
+    public void init() {
+        prepareService = new PrepareServiceImpl("test", 100, null, metricSource);
+
+        prepareService.start();
+
+        metricSet = metricSource.enable();
+
+        createTable(schema, "T1", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class);
+        createTable(schema, "T2", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        prepareService.stop();
+    }
+
+    @Test
+    public void testPlanIsInvalidatedByChangeOfUsedTableOnly() {
+        prepare("SELECT * FROM t1");
+        prepare("SELECT * FROM t1");
+
+        assertMetrics(1, 1, 0);
+
+        // Neither the change of an unrelated table nor a new table invalidates the plan.
+        createTable(schema, "T2", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class, "VAL2", Integer.class);
+        createTable(schema, "T3", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class);
+
+        prepare("SELECT * FROM t1");
+
+        assertMetrics(2, 1, 0);
+
+        createTable(schema, "T1", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class, "VAL2", Integer.class);
+
+        QueryPlan plan = prepare("SELECT * FROM t1");
+
+        assertMetrics(2, 2, 1);
+        assertEquals(3, plan.metadata().columns().size());
+
+        prepare("SELECT * FROM t1");
+
+        assertMetrics(3, 2, 1);
+    }
+
+    @Test
+    public void testPlanIsCachedByQueryText() {
+        prepare("SELECT * FROM t1");
+        prepare("SELECT * FROM t1");
+
+        assertMetrics(1, 1, 0);
+        assertEquals(1, prepareService.sqlCacheSize());
+
+        // A different text of the same query misses the text cache, but the plan is found by the AST.
+        prepare("SELECT *  FROM t1");
+        prepare("select * from T1");
+
+        assertMetrics(3, 1, 0);
+        assertEquals(3, prepareService.sqlCacheSize());
+
+        prepare("SELECT *  FROM t1");
+
+        assertMetrics(4, 1, 0);
+        assertEquals(3, prepareService.sqlCacheSize());
+    }
+
+    @Test
+    public void testPlanIsCachedPerSchema() {
+        IgniteSchema otherSchema = new IgniteSchema("OTHER");
+
+        createTable(otherSchema, "T1", IgniteDistributions.random(), "ID", Integer.class, "VAL", Integer.class);
+
+        prepare("SELECT * FROM t1");
+        prepare("SELECT * FROM t1", otherSchema);
+
+        assertMetrics(0, 2, 0);
+        assertEquals(2, prepareService.sqlCacheSize());
+
+        prepare("SELECT * FROM t1", otherSchema);
+
+        assertMetrics(1, 2, 0);
+    }
+
+    private QueryPlan prepare(String sql) {
+        return prepare(sql, schema);
+    }
+
+    private QueryPlan prepare(String sql, IgniteSchema schema) {
+        SchemaPlus rootSchema = Frameworks.createRootSchema(false);
+
+        rootSchema.add(schema.getName(), schema);
+
+        BaseQueryContext ctx = BaseQueryContext.builder()
+                .frameworkConfig(
+                        Frameworks.newConfigBuilder(FRAMEWORK_CONFIG)
+                                .defaultSchema(rootSchema.getSubSchema(schema.getName()))
+                                .build()
+                )
+                .build();
+
+        return await(prepareService.prepareAsync(sql, ctx));
+    }
+
+    private void assertMetrics(long hits, long misses, long invalidations) {
+        assertEquals(hits, metricSet.<LongMetric>get("Hits").value());
+        assertEquals(misses, metricSet.<LongMetric>get("Misses").value());
+        assertEquals(invalidations, metricSet.<LongMetric>get("Invalidations").value());
+    }
+}
@@ -17,9 +17,11 @@
 
 package org.apache.ignite.internal.storage;
 
+import static java.util.stream.Collectors.toList;
 import static org.apache.ignite.configuration.schemas.store.UnknownDataStorageConfigurationSchema.UNKNOWN_DATA_STORAGE;
 import static org.apache.ignite.internal.util.CollectionUtils.first;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Consumer;
@@ -35,6 +37,7 @@ import org.apache.ignite.configuration.schemas.table.TablesConfigurationSchema;
 import org.apache.ignite.internal.configuration.tree.ConfigurationSource;
 import org.apache.ignite.internal.configuration.tree.ConstructableTreeNode;
 import org.apache.ignite.internal.manager.IgniteComponent;
+import org.apache.ignite.internal.metrics.MetricSource;
 import org.apache.ignite.internal.storage.engine.StorageEngine;
 import org.apache.ignite.internal.tostring.S;
 import org.apache.ignite.internal.util.IgniteUtils;
@@ -87,6 +90,13 @@ public class DataStorageManager implements IgniteComponent {
         return engines.get(config.value().name());
     }
 
+    /**
+     * Returns the metric sources of all storage engines.
+     */
+    public List<MetricSource> metricSources() {
+        return engines.values().stream().flatMap(engine -> engine.metricSources().stream()).collect(toList());
+    }
+
     /**
      * Returns a consumer that will set the default {@link TableConfigurationSchema#dataStorage table data storage} depending on the {@link
      * StorageEngine engine}.
@@ -61,6 +61,15 @@ public interface MvPartitionStorage extends AutoCloseable {
      */
     <V> V runConsistently(WriteClosure<V> closure) throws StorageException;
 
+    /**
+     * Returns {@code true} if the writes of a {@link #runConsistently} closure that has thrown an exception are discarded, including the
+     * writes to the secondary indexes of the partition, so a closure is applied either completely or not at all. Otherwise the writes
+     * made by a failed closure before the failure remain in the storage.
+     */
+    default boolean supportsAtomicRollback() {
+        return false;
+    }
+
     /**
      * Flushes current state of the data or <i>the state from the nearest future</i> to the storage. It means that the future can be
      * completed when {@link #persistedIndex()} is higher than {@link #lastAppliedIndex()} at the moment of the method's call. This feature
@@ -187,6 +196,14 @@ public interface MvPartitionStorage extends AutoCloseable {
      */
     @Nullable RowId closestRowId(RowId lowerBound) throws StorageException;
 
+    /**
+     * Removes all versions of all rows from the partition. Must be called inside of {@link #runConsistently(WriteClosure)} closure.
+     * Doesn't change {@link #lastAppliedIndex()}.
+     *
+     * @throws StorageException If failed to write data to the storage.
+     */
+    void clear() throws StorageException;
+
     /**
      * Returns rows count belongs to current storage.
      *
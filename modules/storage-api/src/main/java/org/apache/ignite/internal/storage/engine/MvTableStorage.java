@@ -20,6 +20,7 @@ package org.apache.ignite.internal.storage.engine;
 import static org.apache.ignite.configuration.schemas.table.TableIndexConfigurationSchema.HASH_INDEX_TYPE;
 import static org.apache.ignite.configuration.schemas.table.TableIndexConfigurationSchema.SORTED_INDEX_TYPE;
 
+import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
@@ -65,6 +66,43 @@ public interface MvTableStorage {
      */
     CompletableFuture<Void> destroyPartition(int partitionId) throws StorageException;
 
+    /**
+     * Returns {@code true} if this storage can create and restore physical partition snapshots, see
+     * {@link #createPartitionSnapshot(int, Path)}.
+     */
+    default boolean supportsPartitionSnapshots() {
+        return false;
+    }
+
+    /**
+     * Creates a physical snapshot of a partition: a consistent point-in-time copy of the partition data and its indexes in the storage
+     * native file format. Files of the snapshot can be shipped to another node as-is and restored there with
+     * {@link #restorePartitionSnapshot(int, Path)}, which is much cheaper than transferring and inserting the partition row by row.
+     *
+     * @param partitionId Partition ID.
+     * @param snapshotDir Directory to put the snapshot files into, it's replaced if it already exists.
+     * @return Future that completes when the snapshot files are written.
+     * @throws StorageException If the given partition does not exist.
+     * @throws UnsupportedOperationException If the storage doesn't support physical partition snapshots.
+     */
+    default CompletableFuture<Void> createPartitionSnapshot(int partitionId, Path snapshotDir) throws StorageException {
+        throw new UnsupportedOperationException("Physical partition snapshots are not supported by the storage");
+    }
+
+    /**
+     * Replaces the data of a partition and its indexes with a snapshot created by {@link #createPartitionSnapshot(int, Path)} on this or
+     * another node. The partition is created if it does not exist. Must not be called concurrently with updates of the partition.
+     *
+     * @param partitionId Partition ID.
+     * @param snapshotDir Directory with the snapshot files.
+     * @throws StorageException If an error has occurred during the restoration, or if the indexes of the snapshot don't match the indexes
+     *      of the table, in the latter case the partition is left intact.
+     * @throws UnsupportedOperationException If the storage doesn't support physical partition snapshots.
+     */
+    default void restorePartitionSnapshot(int partitionId, Path snapshotDir) throws StorageException {
+        throw new UnsupportedOperationException("Physical partition snapshots are not supported by the storage");
+    }
+
     /**
      * Returns an already created Index (either Sorted or Hash) with the given name or creates a new one if it does not exist.
      *
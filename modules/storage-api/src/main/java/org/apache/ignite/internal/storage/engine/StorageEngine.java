@@ -17,8 +17,11 @@
 
 package org.apache.ignite.internal.storage.engine;
 
+import java.util.Collection;
+import java.util.List;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
+import org.apache.ignite.internal.metrics.MetricSource;
 import org.apache.ignite.internal.storage.StorageException;
 
 /**
@@ -60,4 +63,11 @@ public interface StorageEngine {
      * @throws StorageException If an error has occurs while creating the table.
      */
     MvTableStorage createMvTable(TableConfiguration tableCfg, TablesConfiguration tablesCfg) throws StorageException;
+
+    /**
+     * Returns the metric sources of the engine, they are registered by the node before the engine start.
+     */
+    default Collection<MetricSource> metricSources() {
+        return List.of();
+    }
 }
@@ -32,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -160,6 +161,30 @@ public abstract class AbstractMvPartitionStorageTest extends BaseMvStoragesTest
         assertEquals(List.of(), convert(scan(clock.now())));
     }
 
+    /**
+     * Tests that the writes of a failed closure are discarded by a storage that supports the atomic rollback.
+     */
+    @Test
+    public void testFailedClosureIsDiscarded() {
+        assumeTrue(storage.supportsAtomicRollback());
+
+        RowId rowId = new RowId(PARTITION_ID);
+
+        long appliedIndex = storage.lastAppliedIndex();
+
+        assertThrows(StorageException.class, () -> storage.runConsistently(() -> {
+            storage.addWrite(rowId, binaryRow, txId, COMMIT_TABLE_ID, PARTITION_ID);
+
+            storage.lastAppliedIndex(appliedIndex + 1);
+
+            throw new StorageException("Test error");
+        }));
+
+        assertNull(read(rowId, HybridTimestamp.MAX_VALUE));
+
+        assertEquals(appliedIndex, storage.lastAppliedIndex());
+    }
+
     /**
      * Tests basic invariants of {@link MvPartitionStorage#addWrite(RowId, BinaryRow, UUID, UUID, int)}.
      */
@@ -1169,6 +1194,38 @@ public abstract class AbstractMvPartitionStorageTest extends BaseMvStoragesTest
         assertNull(storage.closestRowId(rowId2.increment()));
     }
 
+    /**
+     * Tests that {@link MvPartitionStorage#clear()} removes both committed versions and write intents, keeping the last applied index.
+     */
+    @Test
+    void testClear() {
+        RowId rowId1 = insert(binaryRow, txId);
+        commitWrite(rowId1, clock.now());
+        addWrite(rowId1, binaryRow2, newTransactionId());
+
+        RowId rowId2 = insert(binaryRow3, txId);
+
+        storage.runConsistently(() -> {
+            storage.lastAppliedIndex(10);
+
+            storage.clear();
+
+            return null;
+        });
+
+        assertEquals(10, storage.lastAppliedIndex());
+
+        assertNull(storage.closestRowId(RowId.lowestRowId(PARTITION_ID)));
+
+        assertNull(read(rowId1, HybridTimestamp.MAX_VALUE));
+        assertNull(read(rowId2, HybridTimestamp.MAX_VALUE));
+
+        // The storage stays usable after clearing.
+        addWrite(rowId1, binaryRow, txId);
+
+        assertEquals(rowId1, storage.closestRowId(RowId.lowestRowId(PARTITION_ID)));
+    }
+
     @Test
     public void addWriteCommittedAddsCommittedVersion() {
         RowId rowId = new RowId(PARTITION_ID);
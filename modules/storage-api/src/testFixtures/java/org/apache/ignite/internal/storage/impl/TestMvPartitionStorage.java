@@ -382,6 +382,12 @@ public class TestMvPartitionStorage implements MvPartitionStorage {
         return map.ceilingKey(lowerBound);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void clear() throws StorageException {
+        map.clear();
+    }
+
     /** {@inheritDoc} */
     @Override
     public long rowsCount() {
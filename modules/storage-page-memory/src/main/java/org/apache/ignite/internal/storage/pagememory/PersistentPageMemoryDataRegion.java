@@ -109,6 +109,7 @@ class PersistentPageMemoryDataRegion implements DataRegion<PersistentPageMemory>
                 null,
                 (pageMemory0, fullPageId, buf) -> checkpointManager.writePageToDeltaFilePageStore(pageMemory0, fullPageId, buf, true),
                 checkpointManager.checkpointTimeoutLock(),
+                checkpointManager::lastCheckpointProgress,
                 pageSize
         );
 
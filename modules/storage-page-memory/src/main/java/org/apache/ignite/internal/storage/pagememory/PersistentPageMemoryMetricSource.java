@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.pagememory;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointMetricsTracker;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Metric source of the {@link PersistentPageMemoryStorageEngine}, aggregated over all of its data regions.
+ */
+public class PersistentPageMemoryMetricSource extends AbstractMetricSource<PersistentPageMemoryMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "storage." + PersistentPageMemoryStorageEngine.ENGINE_NAME;
+
+    /** Supplier of the total time the page modifications were parked by the write throttling, in nanoseconds. */
+    private final LongSupplier throttleParkTimeNanosSupplier;
+
+    /** Supplier of the total number of the page modifications delayed by the write throttling. */
+    private final LongSupplier throttledOperationsSupplier;
+
+    /** Supplier of the highest dirty pages ratio among the data regions. */
+    private final DoubleSupplier dirtyPagesRatioSupplier;
+
+    /** Supplier of the metrics of the last finished checkpoint. */
+    private final Supplier<@Nullable CheckpointMetricsTracker> lastCheckpointMetricsSupplier;
+
+    /**
+     * Constructor.
+     *
+     * @param throttleParkTimeNanosSupplier Supplier of the total time the page modifications were parked by the write throttling,
+     *      in nanoseconds.
+     * @param throttledOperationsSupplier Supplier of the total number of the page modifications delayed by the write throttling.
+     * @param dirtyPagesRatioSupplier Supplier of the highest dirty pages ratio among the data regions.
+     * @param lastCheckpointMetricsSupplier Supplier of the metrics of the last finished checkpoint, {@code null} if no checkpoint has
+     *      finished yet.
+     */
+    public PersistentPageMemoryMetricSource(
+            LongSupplier throttleParkTimeNanosSupplier,
+            LongSupplier throttledOperationsSupplier,
+            DoubleSupplier dirtyPagesRatioSupplier,
+            Supplier<@Nullable CheckpointMetricsTracker> lastCheckpointMetricsSupplier
+    ) {
+        super(SOURCE_NAME);
+
+        this.throttleParkTimeNanosSupplier = throttleParkTimeNanosSupplier;
+        this.throttledOperationsSupplier = throttledOperationsSupplier;
+        this.dirtyPagesRatioSupplier = dirtyPagesRatioSupplier;
+        this.lastCheckpointMetricsSupplier = lastCheckpointMetricsSupplier;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.longGauge(
+                "WriteThrottleParkTime",
+                "Total time the page modifications were parked by the write throttling, in milliseconds.",
+                () -> throttleParkTimeNanosSupplier.getAsLong() / 1_000_000
+        );
+
+        bldr.longGauge(
+                "WriteThrottledOperations",
+                "Total number of the page modifications delayed by the write throttling.",
+                throttledOperationsSupplier
+        );
+
+        bldr.doubleGauge("DirtyPagesRatio", "Highest ratio of the dirty pages among the data regions.", dirtyPagesRatioSupplier);
+
+        bldr.longGauge(
+                "LastCheckpointTotalDuration",
+                "Total duration of the last checkpoint in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::totalDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointBeforeWriteLockDuration",
+                "Duration of the last checkpoint phase before taking the checkpoint write lock in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::beforeWriteLockDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointWriteLockWaitDuration",
+                "Time in milliseconds the last checkpoint waited for the checkpoint write lock.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::writeLockWaitDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointMarkBeginDuration",
+                "Duration of the checkpoint listeners execution on the begin of the last checkpoint in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::onMarkCheckpointBeginDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointWriteLockHoldDuration",
+                "Time in milliseconds the last checkpoint held the checkpoint write lock.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::writeLockHoldDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointSplitAndSortPagesDuration",
+                "Duration of splitting and sorting of the dirty pages of the last checkpoint in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::splitAndSortCheckpointPagesDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointPagesWriteDuration",
+                "Duration of writing the dirty pages of the last checkpoint in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::pagesWriteDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointFsyncDuration",
+                "Duration of the fsync of the last checkpoint in milliseconds.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::fsyncDuration)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointDataPagesWritten",
+                "Number of the data pages written by the last checkpoint.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::dataPagesWritten)
+        );
+
+        bldr.longGauge(
+                "LastCheckpointCopyOnWritePagesWritten",
+                "Number of the copy-on-write pages written by the last checkpoint.",
+                () -> lastCheckpoint(CheckpointMetricsTracker::copyOnWritePagesWritten)
+        );
+    }
+
+    private long lastCheckpoint(ToLongFunction<CheckpointMetricsTracker> metric) {
+        CheckpointMetricsTracker tracker = lastCheckpointMetricsSupplier.get();
+
+        return tracker == null ? 0 : metric.applyAsLong(tracker);
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+    }
+}
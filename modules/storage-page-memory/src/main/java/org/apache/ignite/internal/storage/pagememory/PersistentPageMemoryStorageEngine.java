@@ -21,6 +21,8 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.ignite.internal.util.IgniteUtils.closeAll;
 
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,6 +36,7 @@ import org.apache.ignite.internal.fileio.AsyncFileIoFactory;
 import org.apache.ignite.internal.fileio.FileIoFactory;
 import org.apache.ignite.internal.fileio.RandomAccessFileIoFactory;
 import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.metrics.MetricSource;
 import org.apache.ignite.internal.pagememory.PageMemory;
 import org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionConfiguration;
 import org.apache.ignite.internal.pagememory.configuration.schema.PersistentPageMemoryDataRegionView;
@@ -77,6 +80,8 @@ public class PersistentPageMemoryStorageEngine implements StorageEngine {
     @Nullable
     private volatile CheckpointManager checkpointManager;
 
+    private final PersistentPageMemoryMetricSource metricSource;
+
     /**
      * Constructor.
      *
@@ -98,6 +103,17 @@ public class PersistentPageMemoryStorageEngine implements StorageEngine {
         this.ioRegistry = ioRegistry;
         this.storagePath = storagePath;
         this.longJvmPauseDetector = longJvmPauseDetector;
+
+        metricSource = new PersistentPageMemoryMetricSource(
+                () -> regions.values().stream().mapToLong(region -> region.pageMemory().writeThrottleParkTimeNanos()).sum(),
+                () -> regions.values().stream().mapToLong(region -> region.pageMemory().writeThrottledOperationsCount()).sum(),
+                () -> regions.values().stream().mapToDouble(region -> region.pageMemory().dirtyPagesRatio()).max().orElse(0),
+                () -> {
+                    CheckpointManager checkpointManager = this.checkpointManager;
+
+                    return checkpointManager == null ? null : checkpointManager.lastCheckpointMetrics();
+                }
+        );
     }
 
     /**
@@ -190,6 +206,12 @@ public class PersistentPageMemoryStorageEngine implements StorageEngine {
         return new PersistentPageMemoryTableStorage(this, tableCfg, regions.get(dataStorageView.dataRegion()), tablesCfg);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Collection<MetricSource> metricSources() {
+        return List.of(metricSource);
+    }
+
     /**
      * Returns checkpoint manager, {@code null} if engine not started.
      */
@@ -18,21 +18,38 @@
 package org.apache.ignite.internal.storage.pagememory;
 
 import static org.apache.ignite.internal.pagememory.PageIdAllocator.FLAG_AUX;
+import static org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfigurationSchema.DISABLED_EVICTION_MODE;
+import static org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfigurationSchema.RANDOM_2_LRU_EVICTION_MODE;
+import static org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfigurationSchema.RANDOM_LRU_EVICTION_MODE;
 import static org.apache.ignite.internal.util.IgniteUtils.closeAll;
 
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.ignite.internal.pagememory.DataRegion;
 import org.apache.ignite.internal.pagememory.PageMemory;
 import org.apache.ignite.internal.pagememory.configuration.schema.VolatilePageMemoryDataRegionConfiguration;
+import org.apache.ignite.internal.pagememory.evict.DataPageEvictionHandler;
+import org.apache.ignite.internal.pagememory.evict.PageAbstractEvictionTracker;
+import org.apache.ignite.internal.pagememory.evict.PageEvictionTracker;
 import org.apache.ignite.internal.pagememory.evict.PageEvictionTrackerNoOp;
+import org.apache.ignite.internal.pagememory.evict.Random2LruPageEvictionTracker;
+import org.apache.ignite.internal.pagememory.evict.RandomLruPageEvictionTracker;
 import org.apache.ignite.internal.pagememory.inmemory.VolatilePageMemory;
+import org.apache.ignite.internal.pagememory.io.DataPagePayload;
+import org.apache.ignite.internal.pagememory.io.PageIo;
 import org.apache.ignite.internal.pagememory.io.PageIoRegistry;
 import org.apache.ignite.internal.pagememory.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagememory.reuse.ReuseList;
 import org.apache.ignite.internal.pagememory.util.PageLockListenerNoOp;
 import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.pagememory.index.freelist.IndexColumnsFreeList;
+import org.apache.ignite.internal.storage.pagememory.mv.RowVersion;
 import org.apache.ignite.internal.storage.pagememory.mv.RowVersionFreeList;
+import org.apache.ignite.internal.storage.pagememory.mv.VolatilePageMemoryMvPartitionStorage;
+import org.apache.ignite.internal.storage.pagememory.mv.io.EvictableRowVersionDataIo;
 import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Implementation of {@link DataRegion} for in-memory case.
@@ -54,6 +71,12 @@ public class VolatilePageMemoryDataRegion implements DataRegion<VolatilePageMemo
 
     private volatile IndexColumnsFreeList indexColumnsFreeList;
 
+    /** Page eviction tracker, {@code null} if the page eviction is disabled. */
+    private volatile @Nullable PageAbstractEvictionTracker evictionTracker;
+
+    /** Partition storages the rows of which are stored in the region and can be evicted, by {@link #partitionKey}. */
+    private final ConcurrentMap<Long, VolatilePageMemoryMvPartitionStorage> partitionStorages = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -80,19 +103,54 @@ public class VolatilePageMemoryDataRegion implements DataRegion<VolatilePageMemo
 
         pageMemory.start();
 
+        PageAbstractEvictionTracker evictionTracker = createEvictionTracker(pageMemory);
+
+        if (evictionTracker != null) {
+            evictionTracker.start();
+        }
+
         try {
-            rowVersionFreeList = createRowVersionFreeList(pageMemory);
+            rowVersionFreeList = createRowVersionFreeList(
+                    pageMemory,
+                    evictionTracker == null ? PageEvictionTrackerNoOp.INSTANCE : evictionTracker
+            );
 
             indexColumnsFreeList = createIndexColumnsFreeList(pageMemory, rowVersionFreeList);
         } catch (IgniteInternalCheckedException e) {
             throw new StorageException("Error creating a RowVersionFreeList", e);
         }
 
+        this.evictionTracker = evictionTracker;
         this.pageMemory = pageMemory;
     }
 
+    private @Nullable PageAbstractEvictionTracker createEvictionTracker(VolatilePageMemory pageMemory) {
+        String evictionMode = cfg.evictionMode().value();
+
+        switch (evictionMode) {
+            case DISABLED_EVICTION_MODE:
+                return null;
+
+            case RANDOM_LRU_EVICTION_MODE:
+                return new RandomLruPageEvictionTracker(pageMemory, cfg, this::emptyDataPages, new RowVersionEvictionHandler());
+
+            case RANDOM_2_LRU_EVICTION_MODE:
+                return new Random2LruPageEvictionTracker(pageMemory, cfg, this::emptyDataPages, new RowVersionEvictionHandler());
+
+            default:
+                throw new StorageException("Unexpected page eviction mode: " + evictionMode);
+        }
+    }
+
+    private int emptyDataPages() {
+        RowVersionFreeList freeList = rowVersionFreeList;
+
+        return freeList == null ? 0 : freeList.emptyDataPages();
+    }
+
     private static RowVersionFreeList createRowVersionFreeList(
-            PageMemory pageMemory
+            PageMemory pageMemory,
+            PageEvictionTracker evictionTracker
     ) throws IgniteInternalCheckedException {
         long metaPageId = pageMemory.allocatePage(FREE_LIST_GROUP_ID, FREE_LIST_PARTITION_ID, FLAG_AUX);
 
@@ -106,7 +164,7 @@ public class VolatilePageMemoryDataRegion implements DataRegion<VolatilePageMemo
                 true,
                 // Because in memory.
                 null,
-                PageEvictionTrackerNoOp.INSTANCE,
+                evictionTracker,
                 IoStatisticsHolderNoOp.INSTANCE
         );
     }
@@ -134,12 +192,88 @@ public class VolatilePageMemoryDataRegion implements DataRegion<VolatilePageMemo
      * Starts the in-memory data region.
      */
     public void stop() throws Exception {
+        PageAbstractEvictionTracker evictionTracker = this.evictionTracker;
+
+        partitionStorages.clear();
+
         closeAll(
                 pageMemory != null ? () -> pageMemory.stop(true) : null,
-                rowVersionFreeList != null ? rowVersionFreeList::close : null
+                rowVersionFreeList != null ? rowVersionFreeList::close : null,
+                evictionTracker != null ? evictionTracker::stop : null
         );
     }
 
+    /**
+     * Evicts data pages, until the page eviction is no longer required by the configured eviction policy. Must be invoked before
+     * taking any locks of the partition storages, so that rows of the writing partition can be evicted as well.
+     *
+     * @throws StorageException If failed.
+     */
+    public void ensureFreeSpace() throws StorageException {
+        PageAbstractEvictionTracker evictionTracker = this.evictionTracker;
+
+        if (evictionTracker == null) {
+            return;
+        }
+
+        try {
+            while (evictionTracker.evictionRequired()) {
+                if (!evictionTracker.evictDataPage()) {
+                    break;
+                }
+            }
+        } catch (IgniteInternalCheckedException e) {
+            throw new StorageException("Failed to evict a data page", e);
+        }
+    }
+
+    /**
+     * Notifies the page eviction tracker that a data page has been accessed.
+     *
+     * @param pageId Data page ID.
+     */
+    public void touchDataPage(long pageId) {
+        PageAbstractEvictionTracker evictionTracker = this.evictionTracker;
+
+        if (evictionTracker != null) {
+            evictionTracker.touchPage(pageId);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the page eviction is enabled for the region, in which case the partitions store their rows as
+     * {@link RowVersion#evictable evictable} row versions.
+     */
+    public boolean evictionEnabled() {
+        return evictionTracker != null;
+    }
+
+    /**
+     * Registers a partition storage, the rows of which are stored in the region and can be evicted.
+     *
+     * @param groupId Group ID.
+     * @param partitionId Partition ID.
+     * @param partitionStorage Partition storage.
+     */
+    public void registerPartitionStorage(int groupId, int partitionId, VolatilePageMemoryMvPartitionStorage partitionStorage) {
+        partitionStorages.put(partitionKey(groupId, partitionId), partitionStorage);
+    }
+
+    /**
+     * Unregisters a partition storage, registered by {@link #registerPartitionStorage}.
+     *
+     * @param groupId Group ID.
+     * @param partitionId Partition ID.
+     * @param partitionStorage Partition storage.
+     */
+    public void unregisterPartitionStorage(int groupId, int partitionId, VolatilePageMemoryMvPartitionStorage partitionStorage) {
+        partitionStorages.remove(partitionKey(groupId, partitionId), partitionStorage);
+    }
+
+    private static long partitionKey(int groupId, int partitionId) {
+        return ((long) groupId << 32) | (partitionId & 0xFFFFFFFFL);
+    }
+
     /** {@inheritDoc} */
     @Override
     public VolatilePageMemory pageMemory() {
@@ -177,4 +311,72 @@ public class VolatilePageMemoryDataRegion implements DataRegion<VolatilePageMemo
             throw new StorageException("Data region not started");
         }
     }
+
+    /**
+     * Link of a row version, stored in a data page chosen for eviction, with the partition and the row ID bits read from the row version
+     * header. The partition can't be taken from the link: data pages of the region are shared by all partitions.
+     */
+    private static class EvictionCandidate {
+        final long link;
+
+        final long partitionKey;
+
+        final long rowIdMsb;
+
+        final long rowIdLsb;
+
+        EvictionCandidate(long link, long partitionKey, long rowIdMsb, long rowIdLsb) {
+            this.link = link;
+            this.partitionKey = partitionKey;
+            this.rowIdMsb = rowIdMsb;
+            this.rowIdLsb = rowIdLsb;
+        }
+    }
+
+    /**
+     * Removes the rows, stored in a data page chosen for eviction, from the partition storages they belong to. The partitions and the
+     * row IDs are read from the headers of the {@link EvictableRowVersionDataIo evictable} row versions, so no on-heap mapping from links
+     * to rows is needed.
+     */
+    private class RowVersionEvictionHandler implements DataPageEvictionHandler<EvictionCandidate> {
+        /** {@inheritDoc} */
+        @Override
+        public @Nullable EvictionCandidate readRow(long link, long pageAddr, DataPagePayload payload) {
+            if (PageIo.getType(pageAddr) != EvictableRowVersionDataIo.T_EVICTABLE_ROW_VERSION_DATA_IO
+                    || payload.payloadSize() < RowVersion.VALUE_OFFSET + EvictableRowVersionDataIo.HEADER_EXTENSION_SIZE) {
+                return null;
+            }
+
+            int offset = payload.offset();
+
+            // The item may also be a non-first fragment of a row: the read header is then garbage, and the partition storages reject it,
+            // since the version chain of such a row doesn't contain the link.
+            return new EvictionCandidate(
+                    link,
+                    partitionKey(
+                            EvictableRowVersionDataIo.readGroupId(pageAddr, offset),
+                            EvictableRowVersionDataIo.readPartitionId(pageAddr, offset)
+                    ),
+                    EvictableRowVersionDataIo.readRowIdMsb(pageAddr, offset),
+                    EvictableRowVersionDataIo.readRowIdLsb(pageAddr, offset)
+            );
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean evictRows(List<EvictionCandidate> rows) {
+            boolean evicted = false;
+
+            for (EvictionCandidate row : rows) {
+                VolatilePageMemoryMvPartitionStorage partitionStorage = partitionStorages.get(row.partitionKey);
+
+                // The partition storage skips the row without waiting, if the partition is being read or written at the moment.
+                if (partitionStorage != null && partitionStorage.evictRowVersion(row.link, row.rowIdMsb, row.rowIdLsb)) {
+                    evicted = true;
+                }
+            }
+
+            return evicted;
+        }
+    }
 }
@@ -21,6 +21,8 @@ import static org.apache.ignite.internal.configuration.util.ConfigurationUtil.ge
 import static org.apache.ignite.internal.pagememory.util.PageIdUtils.NULL_LINK;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
@@ -40,6 +42,7 @@ import org.apache.ignite.internal.pagememory.PageIdAllocator;
 import org.apache.ignite.internal.pagememory.PageMemory;
 import org.apache.ignite.internal.pagememory.datapage.DataPageReader;
 import org.apache.ignite.internal.pagememory.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagememory.util.PageIdUtils;
 import org.apache.ignite.internal.pagememory.util.PageLockListenerNoOp;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.ByteBufferRow;
@@ -333,10 +336,22 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
     }
 
     private RowVersion readRowVersion(long nextLink, Predicate<HybridTimestamp> loadValue) {
+        RowVersion rowVersion = readRowVersionWithoutNotification(nextLink, loadValue);
+
+        onRowVersionRead(nextLink);
+
+        return rowVersion;
+    }
+
+    private RowVersion readRowVersionHeader(long link) {
+        return readRowVersionWithoutNotification(link, rowTimestamp -> false);
+    }
+
+    private RowVersion readRowVersionWithoutNotification(long link, Predicate<HybridTimestamp> loadValue) {
         ReadRowVersion read = new ReadRowVersion(partitionId);
 
         try {
-            rowVersionDataPageReader.traverse(nextLink, read, loadValue);
+            rowVersionDataPageReader.traverse(link, read, loadValue);
         } catch (IgniteInternalCheckedException e) {
             throw new StorageException("Row version lookup failed");
         }
@@ -459,16 +474,28 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
         return ReadResult.createFromWriteIntent(row, transactionId, commitTableId, commitPartitionId, lastCommittedTimestamp);
     }
 
-    private RowVersion insertRowVersion(@Nullable BinaryRow row, long nextPartitionlessLink) {
+    private RowVersion insertRowVersion(RowId rowId, @Nullable BinaryRow row, long nextPartitionlessLink) {
         byte[] rowBytes = rowBytes(row);
 
-        RowVersion rowVersion = new RowVersion(partitionId, nextPartitionlessLink, ByteBuffer.wrap(rowBytes));
+        RowVersion rowVersion = createRowVersion(rowId, null, nextPartitionlessLink, ByteBuffer.wrap(rowBytes));
 
         insertRowVersion(rowVersion);
 
         return rowVersion;
     }
 
+    /**
+     * Creates a row version to be inserted into the partition.
+     *
+     * @param rowId Row ID.
+     * @param timestamp Commit timestamp, {@code null} for a write intent.
+     * @param nextPartitionlessLink Partitionless link of the next version.
+     * @param value Value.
+     */
+    protected RowVersion createRowVersion(RowId rowId, @Nullable HybridTimestamp timestamp, long nextPartitionlessLink, ByteBuffer value) {
+        return new RowVersion(partitionId, 0, timestamp, nextPartitionlessLink, value);
+    }
+
     private void insertRowVersion(RowVersion rowVersion) {
         try {
             rowVersionFreeList.insertDataRow(rowVersion);
@@ -490,7 +517,7 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
         VersionChain currentChain = findVersionChain(rowId);
 
         if (currentChain == null) {
-            RowVersion newVersion = insertRowVersion(row, NULL_LINK);
+            RowVersion newVersion = insertRowVersion(rowId, row, NULL_LINK);
 
             VersionChain versionChain = VersionChain.createUncommitted(rowId, txId, commitTableId, commitPartitionId, newVersion.link(),
                     NULL_LINK);
@@ -504,7 +531,7 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
             throwIfChainBelongsToAnotherTx(currentChain, txId);
         }
 
-        RowVersion newVersion = insertRowVersion(row, currentChain.newestCommittedLink());
+        RowVersion newVersion = insertRowVersion(rowId, row, currentChain.newestCommittedLink());
 
         BinaryRow res = null;
 
@@ -605,6 +632,65 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
         }
     }
 
+    /**
+     * Removes the version chain of the row together with all its row versions, if the chain has no write intent and contains the row
+     * version with the given link.
+     *
+     * <p>Index entries that refer to the row are not removed: they are resolved to missing rows, the same way as index entries
+     * that refer to garbage versions.
+     *
+     * @param rowId Row ID.
+     * @param link Link of the row version.
+     * @return {@code True} if the chain has been removed, {@code false} if it doesn't exist, contains a write intent or doesn't contain
+     *      the row version.
+     * @throws StorageException If failed.
+     */
+    protected boolean removeCommittedVersionChain(RowId rowId, long link) throws StorageException {
+        VersionChain versionChain = findVersionChain(rowId);
+
+        if (versionChain == null || versionChain.isUncommitted()) {
+            return false;
+        }
+
+        List<RowVersion> rowVersions = new ArrayList<>();
+
+        boolean containsLink = false;
+
+        long nextLink = versionChain.headLink();
+
+        while (nextLink != NULL_LINK) {
+            // Only the header of the row version is needed.
+            RowVersion rowVersion = readRowVersionHeader(nextLink);
+
+            rowVersions.add(rowVersion);
+
+            // Data pages are shared by the partitions, so the partition ID of the link may differ from the partition ID of its page.
+            containsLink |= PageIdUtils.maskPartitionId(nextLink) == PageIdUtils.maskPartitionId(link);
+
+            nextLink = rowVersion.nextLink();
+        }
+
+        if (!containsLink) {
+            // The row version has been removed from the chain and its slot has been reused by another row.
+            return false;
+        }
+
+        removeVersionChain(versionChain);
+
+        rowVersions.forEach(this::removeRowVersion);
+
+        return true;
+    }
+
+    /**
+     * Callback invoked after a row version has been read.
+     *
+     * @param link Link of the row version.
+     */
+    protected void onRowVersionRead(long link) {
+        // No-op.
+    }
+
     private void updateVersionChain(VersionChain newVersionChain) {
         try {
             versionChainTree.putx(newVersionChain);
@@ -626,17 +712,22 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
         }
 
         long nextLink = currentChain == null ? NULL_LINK : currentChain.newestCommittedLink();
-        RowVersion newVersion = insertCommittedRowVersion(row, commitTimestamp, nextLink);
+        RowVersion newVersion = insertCommittedRowVersion(rowId, row, commitTimestamp, nextLink);
 
         VersionChain chainReplacement = VersionChain.createCommitted(rowId, newVersion.link(), newVersion.nextLink());
 
         updateVersionChain(chainReplacement);
     }
 
-    private RowVersion insertCommittedRowVersion(BinaryRow row, HybridTimestamp commitTimestamp, long nextPartitionlessLink) {
+    private RowVersion insertCommittedRowVersion(
+            RowId rowId,
+            BinaryRow row,
+            HybridTimestamp commitTimestamp,
+            long nextPartitionlessLink
+    ) {
         byte[] rowBytes = rowBytes(row);
 
-        RowVersion rowVersion = new RowVersion(partitionId, commitTimestamp, nextPartitionlessLink, ByteBuffer.wrap(rowBytes));
+        RowVersion rowVersion = createRowVersion(rowId, commitTimestamp, nextPartitionlessLink, ByteBuffer.wrap(rowBytes));
 
         insertRowVersion(rowVersion);
 
@@ -735,6 +826,34 @@ public abstract class AbstractPageMemoryMvPartitionStorage implements MvPartitio
         }
     }
 
+    @Override
+    public void clear() throws StorageException {
+        try {
+            VersionChain versionChain;
+
+            while ((versionChain = versionChainTree.findFirst()) != null) {
+                List<RowVersion> rowVersions = new ArrayList<>();
+
+                long nextLink = versionChain.headLink();
+
+                while (nextLink != NULL_LINK) {
+                    // Only the header of the row version is needed.
+                    RowVersion rowVersion = readRowVersionHeader(nextLink);
+
+                    rowVersions.add(rowVersion);
+
+                    nextLink = rowVersion.nextLink();
+                }
+
+                removeVersionChain(versionChain);
+
+                rowVersions.forEach(this::removeRowVersion);
+            }
+        } catch (IgniteInternalCheckedException e) {
+            throw new StorageException("Error occurred while clearing the partition: " + partitionId, e);
+        }
+    }
+
     @Override
     public long rowsCount() {
         try {
@@ -24,8 +24,10 @@ import java.util.function.Predicate;
 import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.pagememory.datapage.PageMemoryTraversal;
 import org.apache.ignite.internal.pagememory.io.DataPagePayload;
+import org.apache.ignite.internal.pagememory.io.PageIo;
 import org.apache.ignite.internal.pagememory.util.PageIdUtils;
 import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.storage.pagememory.mv.io.EvictableRowVersionDataIo;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -74,6 +76,11 @@ class ReadRowVersion implements PageMemoryTraversal<Predicate<HybridTimestamp>>
             return STOP_TRAVERSAL;
         }
 
+        // Row versions of the evictable partitions have a longer header, the rest of the header is the same.
+        boolean evictable = PageIo.getType(pageAddr) == EvictableRowVersionDataIo.T_EVICTABLE_ROW_VERSION_DATA_IO;
+
+        readRowVersionValue.headerExtensionSize(evictable ? EvictableRowVersionDataIo.HEADER_EXTENSION_SIZE : 0);
+
         return readRowVersionValue.consumePagePayload(link, pageAddr, payload, null);
     }
 
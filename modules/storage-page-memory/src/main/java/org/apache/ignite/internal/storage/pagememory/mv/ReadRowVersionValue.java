@@ -23,15 +23,27 @@ import org.apache.ignite.internal.pagememory.datapage.ReadPageMemoryRowValue;
  * Reads {@link RowVersion#value()} from page-memory.
  */
 class ReadRowVersionValue extends ReadPageMemoryRowValue {
+    /** Size of the header part that follows the next link, depends on the data page IO of the row version. */
+    private int headerExtensionSize;
+
+    /**
+     * Sets the size of the header part that follows the next link, must be called before reading the first slot.
+     *
+     * @param headerExtensionSize Size in bytes.
+     */
+    void headerExtensionSize(int headerExtensionSize) {
+        this.headerExtensionSize = headerExtensionSize;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int valueSizeOffsetInFirstSlot() {
-        return RowVersion.VALUE_SIZE_OFFSET;
+        return RowVersion.VALUE_SIZE_OFFSET + headerExtensionSize;
     }
 
     /** {@inheritDoc} */
     @Override
     protected int valueOffsetInFirstSlot() {
-        return RowVersion.VALUE_OFFSET;
+        return RowVersion.VALUE_OFFSET + headerExtensionSize;
     }
 }
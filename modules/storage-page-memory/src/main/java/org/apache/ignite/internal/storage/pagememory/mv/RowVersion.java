@@ -27,6 +27,8 @@ import org.apache.ignite.internal.pagememory.Storable;
 import org.apache.ignite.internal.pagememory.io.AbstractDataPageIo;
 import org.apache.ignite.internal.pagememory.io.IoVersions;
 import org.apache.ignite.internal.pagememory.util.PartitionlessLinks;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.pagememory.mv.io.EvictableRowVersionDataIo;
 import org.apache.ignite.internal.storage.pagememory.mv.io.RowVersionDataIo;
 import org.apache.ignite.internal.tostring.IgniteToStringExclude;
 import org.apache.ignite.internal.tostring.S;
@@ -48,6 +50,12 @@ public final class RowVersion implements Storable {
 
     private long link;
 
+    /** ID of the group of the row, only written for the evictable row versions. */
+    private final int groupId;
+
+    /** ID of the row, {@code null} if the row version is not evictable. */
+    private final @Nullable RowId rowId;
+
     private final @Nullable HybridTimestamp timestamp;
 
     private final long nextLink;
@@ -75,7 +83,21 @@ public final class RowVersion implements Storable {
      * Constructor.
      */
     public RowVersion(int partitionId, long link, @Nullable HybridTimestamp timestamp, long nextLink, @Nullable ByteBuffer value) {
+        this(partitionId, 0, null, link, timestamp, nextLink, value);
+    }
+
+    private RowVersion(
+            int partitionId,
+            int groupId,
+            @Nullable RowId rowId,
+            long link,
+            @Nullable HybridTimestamp timestamp,
+            long nextLink,
+            @Nullable ByteBuffer value
+    ) {
         this.partitionId = partitionId;
+        this.groupId = groupId;
+        this.rowId = rowId;
         link(link);
 
         this.timestamp = timestamp;
@@ -84,6 +106,41 @@ public final class RowVersion implements Storable {
         this.value = value;
     }
 
+    /**
+     * Creates a row version of a partition the rows of which can be evicted from a volatile data region. Unlike other row versions, it
+     * stores the group ID and the row ID in its header, see {@link EvictableRowVersionDataIo}.
+     *
+     * @param groupId Group ID.
+     * @param rowId Row ID.
+     * @param timestamp Commit timestamp, {@code null} for a write intent.
+     * @param nextLink Partitionless link of the next version.
+     * @param value Value.
+     */
+    public static RowVersion evictable(int groupId, RowId rowId, @Nullable HybridTimestamp timestamp, long nextLink, ByteBuffer value) {
+        return new RowVersion(rowId.partitionId(), groupId, rowId, 0, timestamp, nextLink, value);
+    }
+
+    /**
+     * Returns ID of the group of the row, only defined for the evictable row versions.
+     */
+    public int groupId() {
+        return groupId;
+    }
+
+    /**
+     * Returns ID of the row, {@code null} if the row version is not evictable.
+     */
+    public @Nullable RowId rowId() {
+        return rowId;
+    }
+
+    /**
+     * Returns {@code true} if the row version is stored in the format of the evictable row versions.
+     */
+    public boolean evictable() {
+        return rowId != null;
+    }
+
     public @Nullable HybridTimestamp timestamp() {
         return timestamp;
     }
@@ -156,13 +213,15 @@ public final class RowVersion implements Storable {
     /** {@inheritDoc} */
     @Override
     public int headerSize() {
-        return HYBRID_TIMESTAMP_SIZE + NEXT_LINK_STORE_SIZE_BYTES + VALUE_SIZE_STORE_SIZE_BYTES;
+        int headerSize = HYBRID_TIMESTAMP_SIZE + NEXT_LINK_STORE_SIZE_BYTES + VALUE_SIZE_STORE_SIZE_BYTES;
+
+        return evictable() ? headerSize + EvictableRowVersionDataIo.HEADER_EXTENSION_SIZE : headerSize;
     }
 
     /** {@inheritDoc} */
     @Override
     public IoVersions<? extends AbstractDataPageIo<?>> ioVersions() {
-        return RowVersionDataIo.VERSIONS;
+        return evictable() ? EvictableRowVersionDataIo.VERSIONS : RowVersionDataIo.VERSIONS;
     }
 
     /** {@inheritDoc} */
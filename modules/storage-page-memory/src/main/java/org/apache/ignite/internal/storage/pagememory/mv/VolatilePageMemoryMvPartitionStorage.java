@@ -17,21 +17,55 @@
 
 package org.apache.ignite.internal.storage.pagememory.mv;
 
+import java.nio.ByteBuffer;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.pagememory.tree.BplusTree;
+import org.apache.ignite.internal.pagememory.util.PageIdUtils;
+import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.PartitionTimestampCursor;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.storage.RowId;
 import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.TxIdMismatchException;
+import org.apache.ignite.internal.storage.pagememory.VolatilePageMemoryDataRegion;
 import org.apache.ignite.internal.storage.pagememory.VolatilePageMemoryTableStorage;
 import org.apache.ignite.internal.storage.pagememory.index.meta.IndexMetaTree;
+import org.apache.ignite.internal.util.Cursor;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Implementation of {@link MvPartitionStorage} based on a {@link BplusTree} for in-memory case.
+ *
+ * <p>If the page eviction is enabled for the data region, committed rows of the partition may be evicted from it, see
+ * {@link #evictRowVersion}.
  */
 public class VolatilePageMemoryMvPartitionStorage extends AbstractPageMemoryMvPartitionStorage {
+    /** Data region. */
+    private final VolatilePageMemoryDataRegion dataRegion;
+
     /** Last applied index value. */
     private volatile long lastAppliedIndex;
 
+    /**
+     * Lock that guards the version chains from the page eviction. Readers and writers hold it in the shared mode and don't contend on it
+     * with each other, the eviction takes it in the exclusive mode and skips the partition if it's busy. Cursors hold it in the shared
+     * mode until they are closed, since the tree cursors prefetch the version chains. Unlike a {@code ReentrantReadWriteLock}, the shared
+     * mode isn't bound to a thread, so a cursor may be closed by any thread.
+     */
+    private final StampedLock evictionLock = new StampedLock();
+
+    /** Whether the storage has been closed or destroyed, after which its rows are not evicted anymore. */
+    private volatile boolean closed;
+
+    /** Whether the rows are stored as {@link RowVersion#evictable evictable} row versions. */
+    private final boolean evictable;
+
     /**
      * Constructor.
      *
@@ -56,6 +90,181 @@ public class VolatilePageMemoryMvPartitionStorage extends AbstractPageMemoryMvPa
                 indexMetaTree,
                 tablesCfg
         );
+
+        dataRegion = tableStorage.dataRegion();
+
+        evictable = dataRegion.evictionEnabled();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+
+        if (evictable) {
+            dataRegion.registerPartitionStorage(groupId, partitionId, this);
+        }
+    }
+
+    @Override
+    public @Nullable BinaryRow addWrite(RowId rowId, @Nullable BinaryRow row, UUID txId, UUID commitTableId, int commitPartitionId)
+            throws TxIdMismatchException, StorageException {
+        dataRegion.ensureFreeSpace();
+
+        long stamp = evictionLock.readLock();
+
+        try {
+            return super.addWrite(rowId, row, txId, commitTableId, commitPartitionId);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable BinaryRow abortWrite(RowId rowId) throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return super.abortWrite(rowId);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void commitWrite(RowId rowId, HybridTimestamp timestamp) throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            super.commitWrite(rowId, timestamp);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void clear() throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            super.clear();
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void addWriteCommitted(RowId rowId, BinaryRow row, HybridTimestamp commitTimestamp) throws StorageException {
+        dataRegion.ensureFreeSpace();
+
+        long stamp = evictionLock.readLock();
+
+        try {
+            super.addWriteCommitted(rowId, row, commitTimestamp);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable BinaryRow read(RowId rowId, UUID txId) throws TxIdMismatchException, StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return super.read(rowId, txId);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ReadResult read(RowId rowId, HybridTimestamp timestamp) throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return super.read(rowId, timestamp);
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Cursor<ReadResult> scanVersions(RowId rowId) throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return new EvictionLockCursor<>(super.scanVersions(rowId), stamp);
+        } catch (RuntimeException e) {
+            evictionLock.unlockRead(stamp);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public Cursor<BinaryRow> scan(Predicate<BinaryRow> keyFilter, UUID txId) throws TxIdMismatchException, StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return new EvictionLockCursor<>(super.scan(keyFilter, txId), stamp);
+        } catch (RuntimeException e) {
+            evictionLock.unlockRead(stamp);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public PartitionTimestampCursor scan(HybridTimestamp timestamp) throws StorageException {
+        long stamp = evictionLock.readLock();
+
+        try {
+            return new EvictionLockTimestampCursor(super.scan(timestamp), stamp);
+        } catch (RuntimeException e) {
+            evictionLock.unlockRead(stamp);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts the row, if the version with the given link belongs to the row's version chain in this partition and the chain has no
+     * write intent.
+     *
+     * <p>The row is skipped if the partition is being read or modified at the moment, including the case when the eviction has been
+     * triggered by a modification of the partition itself.
+     *
+     * @param link Link of the row version.
+     * @param rowIdMsb Most significant bits of the row ID, read from the header of the evictable row version.
+     * @param rowIdLsb Least significant bits of the row ID, read from the header of the evictable row version.
+     * @return {@code True} if the row has been evicted.
+     * @throws StorageException If failed.
+     */
+    public boolean evictRowVersion(long link, long rowIdMsb, long rowIdLsb) throws StorageException {
+        long stamp = evictionLock.tryWriteLock();
+
+        if (stamp == 0) {
+            return false;
+        }
+
+        try {
+            return !closed && removeCommittedVersionChain(new RowId(partitionId, rowIdMsb, rowIdLsb), link);
+        } finally {
+            evictionLock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    protected RowVersion createRowVersion(RowId rowId, @Nullable HybridTimestamp timestamp, long nextPartitionlessLink, ByteBuffer value) {
+        if (evictable) {
+            return RowVersion.evictable(groupId, rowId, timestamp, nextPartitionlessLink, value);
+        }
+
+        return super.createRowVersion(rowId, timestamp, nextPartitionlessLink, value);
+    }
+
+    @Override
+    protected void onRowVersionRead(long link) {
+        dataRegion.touchDataPage(PageIdUtils.pageId(link));
     }
 
     @Override
@@ -82,4 +291,95 @@ public class VolatilePageMemoryMvPartitionStorage extends AbstractPageMemoryMvPa
     public long persistedIndex() {
         return lastAppliedIndex;
     }
+
+    @Override
+    public void close() {
+        stopEviction();
+
+        super.close();
+    }
+
+    @Override
+    public void destroy() {
+        stopEviction();
+
+        super.destroy();
+    }
+
+    /**
+     * Stops the eviction of the partition rows, waiting for the eviction in progress to complete.
+     */
+    private void stopEviction() {
+        if (evictable) {
+            dataRegion.unregisterPartitionStorage(groupId, partitionId, this);
+        }
+
+        closed = true;
+
+        // The eviction holds the lock in the exclusive mode, so taking it in the shared mode waits for the eviction in progress.
+        evictionLock.unlockRead(evictionLock.readLock());
+    }
+
+    /**
+     * Cursor that holds the {@link #evictionLock} in the shared mode until it's closed.
+     */
+    private class EvictionLockCursor<T> implements Cursor<T> {
+        private final Cursor<T> delegate;
+
+        private final long stamp;
+
+        private boolean released;
+
+        EvictionLockCursor(Cursor<T> delegate, long stamp) {
+            this.delegate = delegate;
+            this.stamp = stamp;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public T next() {
+            return delegate.next();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws Exception {
+            if (released) {
+                return;
+            }
+
+            released = true;
+
+            try {
+                delegate.close();
+            } finally {
+                evictionLock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * {@link PartitionTimestampCursor} that holds the {@link #evictionLock} in the shared mode until it's closed.
+     */
+    private class EvictionLockTimestampCursor extends EvictionLockCursor<ReadResult> implements PartitionTimestampCursor {
+        private final PartitionTimestampCursor delegate;
+
+        EvictionLockTimestampCursor(PartitionTimestampCursor delegate, long stamp) {
+            super(delegate, stamp);
+
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public @Nullable BinaryRow committed(HybridTimestamp timestamp) {
+            return delegate.committed(timestamp);
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.storage.pagememory.mv.io;
+
+import static org.apache.ignite.internal.pagememory.util.PageUtils.getInt;
+import static org.apache.ignite.internal.pagememory.util.PageUtils.getLong;
+import static org.apache.ignite.internal.pagememory.util.PageUtils.getShort;
+import static org.apache.ignite.internal.pagememory.util.PageUtils.putInt;
+import static org.apache.ignite.internal.pagememory.util.PageUtils.putLong;
+import static org.apache.ignite.internal.pagememory.util.PageUtils.putShort;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.pagememory.io.IoVersions;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.pagememory.mv.RowVersion;
+import org.apache.ignite.lang.IgniteStringBuilder;
+
+/**
+ * Data pages IO for the {@link RowVersion}s of the partitions the rows of which can be evicted from a volatile data region.
+ *
+ * <p>Data pages of a volatile data region are shared by all its partitions, so the header of the row version additionally stores the
+ * group ID, the partition ID and the row ID, right after the next link. This lets the page eviction find the version chain of a row
+ * stored in the evicted page. Row versions of the persistent data regions use {@link RowVersionDataIo} and don't have this overhead.
+ */
+public class EvictableRowVersionDataIo extends RowVersionDataIo {
+    /** Page IO type. */
+    public static final short T_EVICTABLE_ROW_VERSION_DATA_IO = 13;
+
+    /** Offset of the group ID, relative to the start of the row version. */
+    public static final int GROUP_ID_OFFSET = RowVersion.VALUE_SIZE_OFFSET;
+
+    /** Offset of the partition ID, relative to the start of the row version. */
+    public static final int PARTITION_ID_OFFSET = GROUP_ID_OFFSET + Integer.BYTES;
+
+    /** Offset of the row ID bits, relative to the start of the row version. */
+    public static final int ROW_ID_OFFSET = PARTITION_ID_OFFSET + Short.BYTES;
+
+    /** Size of the header part that is specific to the evictable row versions: group ID, partition ID and row ID. */
+    public static final int HEADER_EXTENSION_SIZE = Integer.BYTES + Short.BYTES + 2 * Long.BYTES;
+
+    /** I/O versions. */
+    public static final IoVersions<EvictableRowVersionDataIo> VERSIONS = new IoVersions<>(new EvictableRowVersionDataIo(1));
+
+    /**
+     * Constructor.
+     *
+     * @param ver Page format version.
+     */
+    protected EvictableRowVersionDataIo(int ver) {
+        super(T_EVICTABLE_ROW_VERSION_DATA_IO, ver);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int writeHeaderExtension(long addr, RowVersion row) {
+        RowId rowId = row.rowId();
+
+        assert rowId != null : row;
+
+        putInt(addr, 0, row.groupId());
+        putShort(addr, Integer.BYTES, (short) rowId.partitionId());
+        putLong(addr, Integer.BYTES + Short.BYTES, rowId.mostSignificantBits());
+        putLong(addr, Integer.BYTES + Short.BYTES + Long.BYTES, rowId.leastSignificantBits());
+
+        return HEADER_EXTENSION_SIZE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeHeaderExtension(ByteBuffer pageBuf, RowVersion row) {
+        RowId rowId = row.rowId();
+
+        assert rowId != null : row;
+
+        pageBuf.putInt(row.groupId());
+        pageBuf.putShort((short) rowId.partitionId());
+        pageBuf.putLong(rowId.mostSignificantBits());
+        pageBuf.putLong(rowId.leastSignificantBits());
+    }
+
+    /**
+     * Reads the group ID of the row version.
+     *
+     * @param pageAddr Page address.
+     * @param offset Offset of the row version.
+     */
+    public static int readGroupId(long pageAddr, int offset) {
+        return getInt(pageAddr, offset + GROUP_ID_OFFSET);
+    }
+
+    /**
+     * Reads the partition ID of the row version.
+     *
+     * @param pageAddr Page address.
+     * @param offset Offset of the row version.
+     */
+    public static int readPartitionId(long pageAddr, int offset) {
+        return getShort(pageAddr, offset + PARTITION_ID_OFFSET) & 0xFFFF;
+    }
+
+    /**
+     * Reads the most significant bits of the row ID of the row version.
+     *
+     * @param pageAddr Page address.
+     * @param offset Offset of the row version.
+     */
+    public static long readRowIdMsb(long pageAddr, int offset) {
+        return getLong(pageAddr, offset + ROW_ID_OFFSET);
+    }
+
+    /**
+     * Reads the least significant bits of the row ID of the row version.
+     *
+     * @param pageAddr Page address.
+     * @param offset Offset of the row version.
+     */
+    public static long readRowIdLsb(long pageAddr, int offset) {
+        return getLong(pageAddr, offset + ROW_ID_OFFSET + Long.BYTES);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void printPage(long addr, int pageSize, IgniteStringBuilder sb) {
+        sb.app("EvictableRowVersionDataIo [\n");
+        printPageLayout(addr, pageSize, sb);
+        sb.app("\n]");
+    }
+}
@@ -48,7 +48,17 @@ public class RowVersionDataIo extends AbstractDataPageIo<RowVersion> {
      * @param ver Page format version.
      */
     protected RowVersionDataIo(int ver) {
-        super(T_VALUE_VERSION_DATA_IO, ver);
+        this(T_VALUE_VERSION_DATA_IO, ver);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type Page type.
+     * @param ver Page format version.
+     */
+    protected RowVersionDataIo(int type, int ver) {
+        super(type, ver);
     }
 
     /** {@inheritDoc} */
@@ -65,6 +75,8 @@ public class RowVersionDataIo extends AbstractDataPageIo<RowVersion> {
 
         addr += writePartitionless(addr, row.nextLink());
 
+        addr += writeHeaderExtension(addr, row);
+
         putInt(addr, 0, row.valueSize());
         addr += 4;
 
@@ -85,6 +97,8 @@ public class RowVersionDataIo extends AbstractDataPageIo<RowVersion> {
 
             PartitionlessLinks.writeToBuffer(pageBuf, row.nextLink());
 
+            writeHeaderExtension(pageBuf, row);
+
             pageBuf.putInt(row.valueSize());
 
             putValueBufferIntoPage(pageBuf, row.value(), 0, payloadSize - row.headerSize());
@@ -96,6 +110,27 @@ public class RowVersionDataIo extends AbstractDataPageIo<RowVersion> {
         }
     }
 
+    /**
+     * Writes the part of the header that follows the next link. Row versions of this IO have no such part.
+     *
+     * @param addr Address to write to.
+     * @param row Row version.
+     * @return Number of bytes written.
+     */
+    protected int writeHeaderExtension(long addr, RowVersion row) {
+        return 0;
+    }
+
+    /**
+     * Writes the part of the header that follows the next link. Row versions of this IO have no such part.
+     *
+     * @param pageBuf Page buffer to write to.
+     * @param row Row version.
+     */
+    protected void writeHeaderExtension(ByteBuffer pageBuf, RowVersion row) {
+        // No-op.
+    }
+
     /**
      * Updates timestamp leaving the rest untouched.
      *
@@ -17,11 +17,25 @@
 
 package org.apache.ignite.internal.storage.pagememory;
 
+import static org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointState.FINISHED;
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.internal.configuration.testframework.ConfigurationExtension;
 import org.apache.ignite.internal.configuration.testframework.InjectConfiguration;
+import org.apache.ignite.internal.metrics.DoubleMetric;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
+import org.apache.ignite.internal.metrics.MetricSource;
 import org.apache.ignite.internal.pagememory.io.PageIoRegistry;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointManager;
+import org.apache.ignite.internal.pagememory.persistence.checkpoint.CheckpointMetricsTracker;
 import org.apache.ignite.internal.storage.AbstractMvTableStorageTest;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.storage.pagememory.configuration.schema.PersistentPageMemoryStorageEngineConfiguration;
@@ -31,6 +45,7 @@ import org.apache.ignite.internal.util.IgniteUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 /**
@@ -83,4 +98,57 @@ public class PersistentPageMemoryMvTableStorageTest extends AbstractMvTableStora
     public void testDestroyIndex() {
         super.testDestroyIndex();
     }
+
+    @Test
+    void testMetricSource() {
+        List<MetricSource> metricSources = List.copyOf(engine.metricSources());
+
+        assertEquals(1, metricSources.size());
+        assertEquals(PersistentPageMemoryMetricSource.SOURCE_NAME, metricSources.get(0).name());
+
+        MetricSet metrics = metricSources.get(0).enable();
+
+        assertNotNull(metrics);
+
+        // Nothing is throttled while there are no concurrent writes and checkpoints.
+        assertEquals(0, metrics.<LongMetric>get("WriteThrottleParkTime").value());
+        assertEquals(0, metrics.<LongMetric>get("WriteThrottledOperations").value());
+
+        double dirtyPagesRatio = metrics.<DoubleMetric>get("DirtyPagesRatio").value();
+
+        assertTrue(dirtyPagesRatio >= 0 && dirtyPagesRatio <= 1, "ratio=" + dirtyPagesRatio);
+    }
+
+    @Test
+    void testCheckpointMetrics() throws Exception {
+        MetricSet metrics = List.copyOf(engine.metricSources()).get(0).enable();
+
+        CheckpointManager checkpointManager = engine.checkpointManager();
+
+        assertNotNull(checkpointManager);
+
+        checkpointManager.forceCheckpoint("test").futureFor(FINISHED).get(1, TimeUnit.SECONDS);
+
+        // The metrics are published right after the checkpoint is marked as finished.
+        assertTrue(waitForCondition(() -> checkpointManager.lastCheckpointMetrics() != null, 1_000));
+
+        CheckpointMetricsTracker tracker = checkpointManager.lastCheckpointMetrics();
+
+        assertEquals(tracker.totalDuration(), metrics.<LongMetric>get("LastCheckpointTotalDuration").value());
+        assertEquals(tracker.beforeWriteLockDuration(), metrics.<LongMetric>get("LastCheckpointBeforeWriteLockDuration").value());
+        assertEquals(tracker.writeLockWaitDuration(), metrics.<LongMetric>get("LastCheckpointWriteLockWaitDuration").value());
+        assertEquals(tracker.onMarkCheckpointBeginDuration(), metrics.<LongMetric>get("LastCheckpointMarkBeginDuration").value());
+        assertEquals(tracker.writeLockHoldDuration(), metrics.<LongMetric>get("LastCheckpointWriteLockHoldDuration").value());
+        assertEquals(
+                tracker.splitAndSortCheckpointPagesDuration(),
+                metrics.<LongMetric>get("LastCheckpointSplitAndSortPagesDuration").value()
+        );
+        assertEquals(tracker.pagesWriteDuration(), metrics.<LongMetric>get("LastCheckpointPagesWriteDuration").value());
+        assertEquals(tracker.fsyncDuration(), metrics.<LongMetric>get("LastCheckpointFsyncDuration").value());
+        assertEquals(tracker.dataPagesWritten(), metrics.<LongMetric>get("LastCheckpointDataPagesWritten").value());
+        assertEquals(
+                tracker.copyOnWritePagesWritten(),
+                metrics.<LongMetric>get("LastCheckpointCopyOnWritePagesWritten").value()
+        );
+    }
 }
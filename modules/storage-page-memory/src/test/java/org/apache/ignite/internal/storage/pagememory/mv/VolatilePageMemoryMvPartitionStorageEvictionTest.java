@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.pagememory.mv;
+
+import static org.apache.ignite.hlc.HybridTimestamp.HYBRID_TIMESTAMP_SIZE;
+import static org.apache.ignite.internal.pagememory.util.PartitionlessLinks.PARTITIONLESS_LINK_SIZE_BYTES;
+import static org.apache.ignite.internal.util.Constants.MiB;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
+import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.configuration.testframework.ConfigurationExtension;
+import org.apache.ignite.internal.configuration.testframework.InjectConfiguration;
+import org.apache.ignite.internal.pagememory.io.PageIoRegistry;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.BaseMvStoragesTest;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.pagememory.VolatilePageMemoryStorageEngine;
+import org.apache.ignite.internal.storage.pagememory.VolatilePageMemoryTableStorage;
+import org.apache.ignite.internal.storage.pagememory.configuration.schema.VolatilePageMemoryStorageEngineConfiguration;
+import org.apache.ignite.internal.storage.pagememory.mv.io.EvictableRowVersionDataIo;
+import org.apache.ignite.internal.storage.pagememory.mv.io.RowVersionDataIo;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.lang.IgniteInternalCheckedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * For testing the page eviction of the {@link VolatilePageMemoryMvPartitionStorage}.
+ */
+@ExtendWith(ConfigurationExtension.class)
+class VolatilePageMemoryMvPartitionStorageEvictionTest extends BaseMvStoragesTest {
+    private static final int PARTITION_ID = 0;
+
+    private static final long REGION_SIZE = 4 * MiB;
+
+    private static final String VALUE = "x".repeat(200);
+
+    private final PageIoRegistry ioRegistry = new PageIoRegistry();
+
+    private final HybridClock clock = new HybridClock();
+
+    private VolatilePageMemoryStorageEngine engine;
+
+    private VolatilePageMemoryTableStorage table;
+
+    private VolatilePageMemoryMvPartitionStorage storage;
+
+    @BeforeEach
+    void setUp(
+            @InjectConfiguration("mock {pageSize = 1024, defaultRegion {initSize = 4194304, maxSize = 4194304, evictionMode = RANDOM_LRU}}")
+            VolatilePageMemoryStorageEngineConfiguration engineConfig,
+            @InjectConfiguration("mock.tables.foo.dataStorage.name = " + VolatilePageMemoryStorageEngine.ENGINE_NAME)
+            TablesConfiguration tablesConfig
+    ) {
+        ioRegistry.loadFromServiceLoader();
+
+        engine = new VolatilePageMemoryStorageEngine(engineConfig, ioRegistry);
+
+        engine.start();
+
+        table = engine.createMvTable(tablesConfig.tables().get("foo"), tablesConfig);
+
+        table.start();
+
+        storage = table.createMvPartitionStorage(PARTITION_ID);
+
+        storage.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        IgniteUtils.closeAll(
+                storage == null ? null : storage::close,
+                table == null ? null : table::stop,
+                engine == null ? null : engine::stop
+        );
+    }
+
+    @Test
+    void testWritesExceedingRegionSizeEvictCommittedRows() {
+        int rowsCount = (int) (4 * REGION_SIZE / VALUE.length());
+
+        List<RowId> rowIds = new ArrayList<>(rowsCount);
+
+        for (int i = 0; i < rowsCount; i++) {
+            RowId rowId = new RowId(PARTITION_ID);
+
+            // Without the eviction the region would run out of memory.
+            storage.addWriteCommitted(rowId, row(i), clock.now());
+
+            rowIds.add(rowId);
+        }
+
+        assertThat(storage.rowsCount(), lessThan((long) rowsCount));
+
+        // The latest row is the most recently used one.
+        assertNotNull(storage.read(rowIds.get(rowsCount - 1), HybridTimestamp.MAX_VALUE).binaryRow());
+
+        long evictedRows = rowIds.stream()
+                .filter(rowId -> storage.read(rowId, HybridTimestamp.MAX_VALUE).binaryRow() == null)
+                .count();
+
+        assertTrue(evictedRows > 0);
+    }
+
+    @Test
+    void testWritesEvictRowsOfOtherPartitions() throws Exception {
+        List<RowId> rowIds = new ArrayList<>();
+
+        for (int i = 0; i < REGION_SIZE / 4 / VALUE.length(); i++) {
+            RowId rowId = new RowId(PARTITION_ID);
+
+            storage.addWriteCommitted(rowId, row(i), clock.now());
+
+            rowIds.add(rowId);
+        }
+
+        VolatilePageMemoryMvPartitionStorage otherStorage = table.createMvPartitionStorage(PARTITION_ID + 1);
+
+        otherStorage.start();
+
+        try {
+            for (int i = 0; i < 2 * REGION_SIZE / VALUE.length(); i++) {
+                otherStorage.addWriteCommitted(new RowId(PARTITION_ID + 1), row(i), clock.now());
+            }
+
+            // Rows of the partition that hasn't been used since are evicted in favour of the written ones.
+            long evictedRows = rowIds.stream()
+                    .filter(rowId -> storage.read(rowId, HybridTimestamp.MAX_VALUE).binaryRow() == null)
+                    .count();
+
+            assertTrue(evictedRows > 0);
+        } finally {
+            otherStorage.close();
+        }
+    }
+
+    @Test
+    void testOnlyEvictableRowVersionsStoreRowId() {
+        RowId rowId = new RowId(PARTITION_ID);
+
+        ByteBuffer value = ByteBuffer.wrap(new byte[10]);
+
+        RowVersion rowVersion = new RowVersion(PARTITION_ID, 0, null, 0, value);
+
+        // Layout of the row versions of persistent regions is unchanged: timestamp, next link, value size.
+        assertEquals(HYBRID_TIMESTAMP_SIZE + PARTITIONLESS_LINK_SIZE_BYTES + Integer.BYTES, rowVersion.headerSize());
+        assertSame(RowVersionDataIo.VERSIONS, rowVersion.ioVersions());
+
+        RowVersion evictableRowVersion = RowVersion.evictable(1, rowId, null, 0, value);
+
+        assertEquals(rowVersion.headerSize() + EvictableRowVersionDataIo.HEADER_EXTENSION_SIZE, evictableRowVersion.headerSize());
+        assertSame(EvictableRowVersionDataIo.VERSIONS, evictableRowVersion.ioVersions());
+    }
+
+    @Test
+    void testWriteIntentsAreNotEvicted() {
+        UUID txId = UUID.randomUUID();
+
+        List<RowId> writeIntents = new ArrayList<>();
+
+        for (int i = 0; i < REGION_SIZE / 4 / VALUE.length(); i++) {
+            RowId rowId = new RowId(PARTITION_ID);
+
+            storage.addWrite(rowId, row(i), txId, UUID.randomUUID(), PARTITION_ID);
+
+            writeIntents.add(rowId);
+        }
+
+        for (int i = 0; i < 4 * REGION_SIZE / VALUE.length(); i++) {
+            storage.addWriteCommitted(new RowId(PARTITION_ID), row(i), clock.now());
+        }
+
+        for (RowId rowId : writeIntents) {
+            assertTrue(storage.read(rowId, HybridTimestamp.MAX_VALUE).isWriteIntent(), rowId.toString());
+        }
+    }
+
+    @Test
+    void testEvictRowVersion() throws Exception {
+        RowId rowId = new RowId(PARTITION_ID);
+
+        storage.addWriteCommitted(rowId, row(0), clock.now());
+        storage.addWriteCommitted(rowId, row(1), clock.now());
+
+        long link = headLink(rowId);
+
+        RowId otherRowId = new RowId(PARTITION_ID);
+
+        // The row ID read from the row version header doesn't match the link.
+        assertFalse(storage.evictRowVersion(link, otherRowId.mostSignificantBits(), otherRowId.leastSignificantBits()));
+
+        assertTrue(storage.evictRowVersion(link, rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+
+        assertNull(storage.read(rowId, HybridTimestamp.MAX_VALUE).binaryRow());
+        assertNull(versionChainTree().findOne(new VersionChainKey(rowId)));
+
+        // The row has already been evicted.
+        assertFalse(storage.evictRowVersion(link, rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+    }
+
+    @Test
+    void testEvictRowVersionSkipsWriteIntents() throws Exception {
+        RowId rowId = new RowId(PARTITION_ID);
+
+        storage.addWriteCommitted(rowId, row(0), clock.now());
+        storage.addWrite(rowId, row(1), UUID.randomUUID(), UUID.randomUUID(), PARTITION_ID);
+
+        assertFalse(storage.evictRowVersion(headLink(rowId), rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+
+        assertTrue(storage.read(rowId, HybridTimestamp.MAX_VALUE).isWriteIntent());
+    }
+
+    @Test
+    void testEvictRowVersionSkipsReadPartition() throws Exception {
+        RowId rowId = new RowId(PARTITION_ID);
+
+        storage.addWriteCommitted(rowId, row(0), clock.now());
+
+        long link = headLink(rowId);
+
+        // An open cursor prevents the eviction of the partition rows.
+        try (var cursor = storage.scan(HybridTimestamp.MAX_VALUE)) {
+            assertFalse(storage.evictRowVersion(link, rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+
+            assertTrue(cursor.hasNext());
+            assertNotNull(cursor.next().binaryRow());
+        }
+
+        assertTrue(storage.evictRowVersion(link, rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+    }
+
+    @Test
+    void testEvictRowVersionAfterClose() throws Exception {
+        RowId rowId = new RowId(PARTITION_ID);
+
+        storage.addWriteCommitted(rowId, row(0), clock.now());
+
+        long link = headLink(rowId);
+
+        storage.close();
+
+        assertFalse(storage.evictRowVersion(link, rowId.mostSignificantBits(), rowId.leastSignificantBits()));
+
+        storage = null;
+    }
+
+    private long headLink(RowId rowId) throws IgniteInternalCheckedException {
+        VersionChain versionChain = versionChainTree().findOne(new VersionChainKey(rowId));
+
+        assertNotNull(versionChain);
+
+        return versionChain.headLink();
+    }
+
+    private VersionChainTree versionChainTree() {
+        return storage.versionChainTree;
+    }
+
+    private static BinaryRow row(int i) {
+        return binaryRow(new TestKey(i, "key" + i), new TestValue(i, VALUE));
+    }
+}
@@ -20,8 +20,8 @@ package org.apache.ignite.internal.storage.rocksdb;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import org.apache.ignite.internal.rocksdb.ColumnFamily;
+import org.apache.ignite.internal.rocksdb.snapshot.ColumnFamilyRange;
 import org.apache.ignite.internal.storage.index.HashIndexDescriptor;
-import org.apache.ignite.internal.storage.index.HashIndexStorage;
 import org.apache.ignite.internal.storage.rocksdb.index.RocksDbHashIndexStorage;
 
 /**
@@ -32,7 +32,7 @@ class HashIndex {
 
     private final HashIndexDescriptor descriptor;
 
-    private final ConcurrentMap<Integer, HashIndexStorage> storages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, RocksDbHashIndexStorage> storages = new ConcurrentHashMap<>();
 
     HashIndex(ColumnFamily indexCf, HashIndexDescriptor descriptor) {
         this.indexCf = indexCf;
@@ -42,13 +42,20 @@ class HashIndex {
     /**
      * Creates a new Hash Index storage or returns an existing one.
      */
-    HashIndexStorage getOrCreateStorage(RocksDbMvPartitionStorage partitionStorage) {
+    RocksDbHashIndexStorage getOrCreateStorage(RocksDbMvPartitionStorage partitionStorage) {
         return storages.computeIfAbsent(
                 partitionStorage.partitionId(),
                 partId -> new RocksDbHashIndexStorage(descriptor, indexCf, partitionStorage)
         );
     }
 
+    /**
+     * Returns the range of keys of the given partition in the index Column Family.
+     */
+    ColumnFamilyRange partitionRange(RocksDbMvPartitionStorage partitionStorage) {
+        return getOrCreateStorage(partitionStorage).partitionRange();
+    }
+
     /**
      * Removes all data associated with the index.
      */
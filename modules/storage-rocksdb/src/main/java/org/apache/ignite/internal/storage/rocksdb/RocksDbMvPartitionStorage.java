@@ -239,6 +239,13 @@ public class RocksDbMvPartitionStorage implements MvPartitionStorage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsAtomicRollback() {
+        // The write batch of a failed closure, shared with the secondary indexes, is never written.
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public CompletableFuture<Void> flush() {
@@ -296,6 +303,24 @@ public class RocksDbMvPartitionStorage implements MvPartitionStorage {
         persistedIndex = readLastAppliedIndex(persistedTierReadOpts);
     }
 
+    /**
+     * Re-reads the last applied index from the storage after the partition data has been replaced by a snapshot.
+     *
+     * @throws StorageException If failed to read index from the storage.
+     */
+    void refreshLastAppliedIndex() throws StorageException {
+        lastAppliedIndex = readLastAppliedIndex(readOpts);
+
+        refreshPersistedIndex();
+    }
+
+    /**
+     * Returns the key of the last applied index in the meta Column Family.
+     */
+    byte[] lastAppliedIndexKey() {
+        return lastAppliedIndexKey;
+    }
+
     /**
      * Reads the value of {@link #lastAppliedIndex} from the storage.
      *
@@ -1021,6 +1046,31 @@ public class RocksDbMvPartitionStorage implements MvPartitionStorage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void clear() throws StorageException {
+        @SuppressWarnings("resource") WriteBatchWithIndex writeBatch = requireWriteBatch();
+
+        try (
+                var readOpts = new ReadOptions().setIterateUpperBound(upperBound);
+                RocksIterator baseIterator = db.newIterator(cf, readOpts);
+                // Pending updates of the current batch must be removed as well.
+                RocksIterator it = writeBatch.count() > 0 ? writeBatch.newIteratorWithBase(cf, baseIterator) : baseIterator
+        ) {
+            it.seek(partitionStartPrefix());
+
+            while (it.isValid()) {
+                writeBatch.delete(cf, it.key());
+
+                it.next();
+            }
+
+            RocksUtils.checkIterator(it);
+        } catch (RocksDBException e) {
+            throw new StorageException("Failed to clear the partition: " + partitionId, e);
+        }
+    }
+
     private void incrementRowId(ByteBuffer buf) {
         long lsb = 1 + buf.getLong(ROW_ID_OFFSET + Long.BYTES);
 
@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.storage.rocksdb;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.ignite.configuration.schemas.table.TableIndexConfigurationSchema.HASH_INDEX_TYPE;
+import static org.apache.ignite.configuration.schemas.table.TableIndexConfigurationSchema.SORTED_INDEX_TYPE;
 import static org.apache.ignite.internal.storage.rocksdb.ColumnFamilyUtils.HASH_INDEX_CF_NAME;
 import static org.apache.ignite.internal.storage.rocksdb.ColumnFamilyUtils.META_CF_NAME;
 import static org.apache.ignite.internal.storage.rocksdb.ColumnFamilyUtils.PARTITION_CF_NAME;
@@ -28,8 +30,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,13 +43,21 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
+import org.apache.ignite.configuration.NamedListView;
+import org.apache.ignite.configuration.schemas.table.HashIndexView;
+import org.apache.ignite.configuration.schemas.table.SortedIndexView;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
+import org.apache.ignite.configuration.schemas.table.TableIndexView;
 import org.apache.ignite.configuration.schemas.table.TableView;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
+import org.apache.ignite.configuration.schemas.table.TablesView;
+import org.apache.ignite.internal.configuration.util.ConfigurationUtil;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.rocksdb.ColumnFamily;
 import org.apache.ignite.internal.rocksdb.flush.RocksDbFlusher;
+import org.apache.ignite.internal.rocksdb.snapshot.ColumnFamilyRange;
+import org.apache.ignite.internal.rocksdb.snapshot.RocksSnapshotManager;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
@@ -52,11 +66,12 @@ import org.apache.ignite.internal.storage.index.HashIndexStorage;
 import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
 import org.apache.ignite.internal.storage.index.SortedIndexStorage;
 import org.apache.ignite.internal.storage.rocksdb.ColumnFamilyUtils.ColumnFamilyType;
-import org.apache.ignite.internal.storage.rocksdb.index.RocksDbBinaryTupleComparator;
 import org.apache.ignite.internal.storage.rocksdb.index.RocksDbHashIndexStorage;
+import org.apache.ignite.internal.storage.rocksdb.index.SortedIndexKeyEncoder;
 import org.apache.ignite.internal.tostring.S;
 import org.apache.ignite.internal.util.IgniteSpinBusyLock;
 import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.lang.IgniteInternalException;
 import org.jetbrains.annotations.Nullable;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -66,6 +81,7 @@ import org.rocksdb.FlushOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
 /**
@@ -75,6 +91,9 @@ public class RocksDbTableStorage implements MvTableStorage {
     /** Logger. */
     private static final IgniteLogger LOG = Loggers.forClass(RocksDbTableStorage.class);
 
+    /** Name of the partition snapshot file with the IDs and types of the indexes in the snapshot, one index per line. */
+    private static final String SNAPSHOT_INDEXES_FILE_NAME = "indexes";
+
     /** RocksDB storage engine instance. */
     private final RocksDbStorageEngine engine;
 
@@ -404,6 +423,186 @@ public class RocksDbTableStorage implements MvTableStorage {
                 });
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsPartitionSnapshots() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The snapshot consists of SST files with the partition key ranges of the partition data, index and meta Column Families, see
+     * {@link RocksSnapshotManager}, and of a file with the IDs and types of the indexes in the snapshot.
+     */
+    @Override
+    public CompletableFuture<Void> createPartitionSnapshot(int partitionId, Path snapshotDir) throws StorageException {
+        RocksDbMvPartitionStorage partitionStorage = getMvPartition(partitionId);
+
+        if (partitionStorage == null) {
+            throw new StorageException(String.format("Partition ID %d does not exist", partitionId));
+        }
+
+        // Indexes must be captured together with their ranges, the set of indexes may change while the snapshot is written.
+        Map<UUID, String> snapshotIndexes = new HashMap<>();
+
+        hashIndices.keySet().forEach(indexId -> snapshotIndexes.put(indexId, HASH_INDEX_TYPE));
+        sortedIndices.keySet().forEach(indexId -> snapshotIndexes.put(indexId, SORTED_INDEX_TYPE));
+
+        List<ColumnFamilyRange> ranges = partitionRanges(partitionStorage, snapshotIndexes.keySet());
+
+        return new RocksSnapshotManager(db, ranges, engine.threadPool())
+                .createSnapshot(snapshotDir)
+                .thenRun(() -> writeSnapshotIndexes(snapshotDir, snapshotIndexes));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The indexes of the snapshot must match the indexes configured for the table on this node, otherwise the index data would be
+     * either lost or written for the indexes this node doesn't know. The existing partition data is removed and the SST files of the
+     * snapshot are ingested into the Column Families, which is much cheaper than writing the same data row by row.
+     */
+    @Override
+    public void restorePartitionSnapshot(int partitionId, Path snapshotDir) throws StorageException {
+        Map<UUID, String> snapshotIndexes = readSnapshotIndexes(snapshotDir);
+
+        Map<UUID, String> configuredIndexes = configuredIndexes();
+
+        if (!snapshotIndexes.equals(configuredIndexes)) {
+            throw new StorageException(String.format(
+                    "Indexes of the partition snapshot don't match the configured indexes [table=%s, partitionId=%d, "
+                            + "snapshotIndexes=%s, configuredIndexes=%s]",
+                    tableCfg.value().name(), partitionId, snapshotIndexes, configuredIndexes
+            ));
+        }
+
+        getOrCreateMvPartition(partitionId);
+
+        // Index storages might not be created on this node yet, sorted indexes also have their own Column Families.
+        for (UUID indexId : snapshotIndexes.keySet()) {
+            getOrCreateIndex(partitionId, indexId);
+        }
+
+        RocksDbMvPartitionStorage partitionStorage = getMvPartition(partitionId);
+
+        List<ColumnFamilyRange> ranges = partitionRanges(partitionStorage, snapshotIndexes.keySet());
+
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            for (ColumnFamilyRange range : ranges) {
+                writeBatch.deleteRange(range.columnFamily().handle(), range.lowerBound(), range.upperBound());
+            }
+
+            db.write(writeOptions, writeBatch);
+        } catch (RocksDBException e) {
+            throw new StorageException("Failed to clear partition " + partitionId + " before restoring a snapshot", e);
+        }
+
+        try {
+            new RocksSnapshotManager(db, ranges, engine.threadPool()).restoreSnapshot(snapshotDir);
+        } catch (IgniteInternalException e) {
+            throw new StorageException("Failed to restore partition " + partitionId + " from a snapshot: " + snapshotDir, e);
+        }
+
+        partitionStorage.refreshLastAppliedIndex();
+    }
+
+    /**
+     * Returns key ranges of all data of the partition. The range of the last applied index goes last, so it's restored after the data.
+     *
+     * @param partitionStorage Partition storage.
+     * @param indexIds IDs of the indexes to include, their storages must exist.
+     */
+    private List<ColumnFamilyRange> partitionRanges(RocksDbMvPartitionStorage partitionStorage, Collection<UUID> indexIds) {
+        byte[] partitionStart = partitionStorage.partitionStartPrefix();
+        byte[] partitionEnd = partitionStorage.partitionEndPrefix();
+
+        List<ColumnFamilyRange> ranges = new ArrayList<>();
+
+        ranges.add(ColumnFamilyRange.range(partitionCf, partitionStart, partitionEnd));
+
+        for (UUID indexId : indexIds) {
+            HashIndex hashIndex = hashIndices.get(indexId);
+
+            if (hashIndex != null) {
+                ranges.add(hashIndex.partitionRange(partitionStorage));
+            } else {
+                SortedIndex sortedIndex = sortedIndices.get(indexId);
+
+                assert sortedIndex != null : indexId;
+
+                ranges.add(ColumnFamilyRange.range(sortedIndex.indexCf(), partitionStart, partitionEnd));
+            }
+        }
+
+        byte[] lastAppliedIndexKey = partitionStorage.lastAppliedIndexKey();
+
+        // Range that consists of the last applied index key only.
+        ranges.add(ColumnFamilyRange.range(meta.columnFamily(), lastAppliedIndexKey, Arrays.copyOf(lastAppliedIndexKey,
+                lastAppliedIndexKey.length + 1)));
+
+        return ranges;
+    }
+
+    /**
+     * Returns the types of the indexes configured for the table by their IDs.
+     */
+    private Map<UUID, String> configuredIndexes() {
+        TablesView tablesView = tablesCfg.value();
+
+        UUID tableId = ConfigurationUtil.internalId(tablesView.tables(), tableCfg.value().name());
+
+        NamedListView<TableIndexView> indexesView = tablesView.indexes();
+
+        Map<UUID, String> indexes = new HashMap<>();
+
+        for (String indexName : indexesView.namedListKeys()) {
+            TableIndexView indexView = indexesView.get(indexName);
+
+            if (!indexView.tableId().equals(tableId)) {
+                continue;
+            }
+
+            UUID indexId = ConfigurationUtil.internalId(indexesView, indexName);
+
+            if (indexView instanceof HashIndexView) {
+                indexes.put(indexId, HASH_INDEX_TYPE);
+            } else if (indexView instanceof SortedIndexView) {
+                indexes.put(indexId, SORTED_INDEX_TYPE);
+            }
+        }
+
+        return indexes;
+    }
+
+    private static void writeSnapshotIndexes(Path snapshotDir, Map<UUID, String> snapshotIndexes) {
+        List<String> lines = snapshotIndexes.entrySet().stream()
+                .map(e -> e.getKey() + " " + e.getValue())
+                .collect(Collectors.toList());
+
+        try {
+            Files.write(snapshotDir.resolve(SNAPSHOT_INDEXES_FILE_NAME), lines);
+        } catch (IOException e) {
+            throw new StorageException("Failed to write the indexes of a partition snapshot: " + snapshotDir, e);
+        }
+    }
+
+    private static Map<UUID, String> readSnapshotIndexes(Path snapshotDir) {
+        Map<UUID, String> snapshotIndexes = new HashMap<>();
+
+        try {
+            for (String line : Files.readAllLines(snapshotDir.resolve(SNAPSHOT_INDEXES_FILE_NAME))) {
+                String[] idAndType = line.split(" ");
+
+                snapshotIndexes.put(UUID.fromString(idAndType[0]), idAndType[1]);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new StorageException("Failed to read the indexes of a partition snapshot: " + snapshotDir, e);
+        }
+
+        return snapshotIndexes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public SortedIndexStorage getOrCreateSortedIndex(int partitionId, UUID indexId) {
@@ -421,7 +620,7 @@ public class RocksDbTableStorage implements MvTableStorage {
     private SortedIndex createSortedIndex(UUID indexId) {
         var indexDescriptor = new SortedIndexDescriptor(indexId, tablesCfg.value());
 
-        ColumnFamilyDescriptor cfDescriptor = sortedIndexCfDescriptor(sortedIndexCfName(indexId), indexDescriptor);
+        ColumnFamilyDescriptor cfDescriptor = sortedIndexCfDescriptor(sortedIndexCfName(indexId));
 
         ColumnFamily columnFamily;
         try {
@@ -556,9 +755,7 @@ public class RocksDbTableStorage implements MvTableStorage {
                 );
 
             case SORTED_INDEX:
-                var indexDescriptor = new SortedIndexDescriptor(sortedIndexId(cfName), tablesCfg.value());
-
-                return sortedIndexCfDescriptor(cfName, indexDescriptor);
+                return sortedIndexCfDescriptor(cfName);
 
             default:
                 throw new StorageException("Unidentified column family [name=" + cfName + ", table=" + tableCfg.value().name() + ']');
@@ -566,13 +763,10 @@ public class RocksDbTableStorage implements MvTableStorage {
     }
 
     /**
-     * Creates a Column Family descriptor for a Sorted Index.
+     * Creates a Column Family descriptor for a Sorted Index. Index keys are encoded by the {@link SortedIndexKeyEncoder} in an order
+     * preserving way, so the default bytewise comparator is used.
      */
-    private static ColumnFamilyDescriptor sortedIndexCfDescriptor(String cfName, SortedIndexDescriptor descriptor) {
-        var comparator = new RocksDbBinaryTupleComparator(descriptor);
-
-        ColumnFamilyOptions options = new ColumnFamilyOptions().setComparator(comparator);
-
-        return new ColumnFamilyDescriptor(cfName.getBytes(UTF_8), options);
+    private static ColumnFamilyDescriptor sortedIndexCfDescriptor(String cfName) {
+        return new ColumnFamilyDescriptor(cfName.getBytes(UTF_8), new ColumnFamilyOptions());
     }
 }
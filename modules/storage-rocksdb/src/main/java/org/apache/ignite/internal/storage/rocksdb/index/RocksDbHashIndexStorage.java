@@ -26,6 +26,7 @@ import java.nio.ByteOrder;
 import java.util.UUID;
 import org.apache.ignite.internal.rocksdb.ColumnFamily;
 import org.apache.ignite.internal.rocksdb.RocksIteratorAdapter;
+import org.apache.ignite.internal.rocksdb.snapshot.ColumnFamilyRange;
 import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.storage.RowId;
 import org.apache.ignite.internal.storage.StorageException;
@@ -160,6 +161,17 @@ public class RocksDbHashIndexStorage implements HashIndexStorage {
         }
     }
 
+    /**
+     * Returns the range of keys of this index partition in the index Column Family.
+     */
+    public ColumnFamilyRange partitionRange() {
+        byte[] rangeEnd = incrementArray(constantPrefix);
+
+        assert rangeEnd != null;
+
+        return ColumnFamilyRange.range(indexCf, constantPrefix, rangeEnd);
+    }
+
     @Override
     public void destroy() {
         byte[] rangeEnd = incrementArray(constantPrefix);
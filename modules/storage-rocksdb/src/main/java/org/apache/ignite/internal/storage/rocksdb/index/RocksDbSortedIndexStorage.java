@@ -17,12 +17,9 @@
 
 package org.apache.ignite.internal.storage.rocksdb.index;
 
-import static org.apache.ignite.internal.util.ArrayUtils.BYTE_EMPTY_ARRAY;
-import static org.apache.ignite.internal.util.CursorUtils.map;
-
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import org.apache.ignite.internal.binarytuple.BinaryTupleCommon;
+import java.util.function.BiFunction;
 import org.apache.ignite.internal.rocksdb.ColumnFamily;
 import org.apache.ignite.internal.rocksdb.RocksIteratorAdapter;
 import org.apache.ignite.internal.schema.BinaryTuple;
@@ -49,23 +46,22 @@ import org.rocksdb.WriteBatchWithIndex;
  * <p>This storage uses the following format for keys:
  * <pre>
  * Partition ID - 2 bytes
- * Tuple value - variable length
+ * Tuple value - variable length, encoded by the {@link SortedIndexKeyEncoder}
  * Row ID (UUID) - 16 bytes
  * </pre>
  *
- * <p>We use an empty array as values, because all required information can be extracted from the key.
+ * <p>Keys are compared by the native bytewise comparator of RocksDB, because their encoding preserves the order of the index. The
+ * encoding can't be decoded back, so the tuple itself is stored as the value.
  */
 public class RocksDbSortedIndexStorage implements SortedIndexStorage {
-    private static final int ROW_ID_SIZE = Long.BYTES * 2;
-
-    private static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;
-
     private final SortedIndexDescriptor descriptor;
 
     private final ColumnFamily indexCf;
 
     private final RocksDbMvPartitionStorage partitionStorage;
 
+    private final SortedIndexKeyEncoder keyEncoder;
+
     /**
      * Creates a storage.
      *
@@ -81,6 +77,7 @@ public class RocksDbSortedIndexStorage implements SortedIndexStorage {
         this.descriptor = descriptor;
         this.indexCf = indexCf;
         this.partitionStorage = partitionStorage;
+        this.keyEncoder = new SortedIndexKeyEncoder(descriptor);
     }
 
     @Override
@@ -92,7 +89,7 @@ public class RocksDbSortedIndexStorage implements SortedIndexStorage {
     public Cursor<RowId> get(BinaryTuple key) throws StorageException {
         BinaryTuplePrefix keyPrefix = BinaryTuplePrefix.fromBinaryTuple(key);
 
-        return map(scan(keyPrefix, keyPrefix, true, true), this::decodeRowId);
+        return scan(keyPrefix, keyPrefix, true, true, (rocksKey, value) -> decodeRowId(rocksKey));
     }
 
     @Override
@@ -100,7 +97,7 @@ public class RocksDbSortedIndexStorage implements SortedIndexStorage {
         WriteBatchWithIndex writeBatch = partitionStorage.currentWriteBatch();
 
         try {
-            writeBatch.put(indexCf.handle(), rocksKey(row), BYTE_EMPTY_ARRAY);
+            writeBatch.put(indexCf.handle(), rocksKey(row), tupleBytes(row.indexColumns()));
         } catch (RocksDBException e) {
             throw new StorageException("Unable to insert data into sorted index. Index ID: " + descriptor.id(), e);
         }
@@ -122,61 +119,58 @@ public class RocksDbSortedIndexStorage implements SortedIndexStorage {
         boolean includeLower = (flags & GREATER_OR_EQUAL) != 0;
         boolean includeUpper = (flags & LESS_OR_EQUAL) != 0;
 
-        return map(scan(lowerBound, upperBound, includeLower, includeUpper), this::decodeRow);
+        return scan(lowerBound, upperBound, includeLower, includeUpper, this::decodeRow);
     }
 
-    private Cursor<ByteBuffer> scan(
+    private <T> Cursor<T> scan(
             @Nullable BinaryTuplePrefix lowerBound,
             @Nullable BinaryTuplePrefix upperBound,
             boolean includeLower,
-            boolean includeUpper
+            boolean includeUpper,
+            BiFunction<byte[], byte[], T> decoder
     ) {
         byte[] lowerBoundBytes;
 
         if (lowerBound == null) {
-            lowerBoundBytes = null;
+            lowerBoundBytes = partitionStorage.partitionStartPrefix();
         } else {
             lowerBoundBytes = rocksPrefix(lowerBound);
 
-            // Skip the lower bound, if needed (RocksDB includes the lower bound by default).
+            // Skip all keys starting with the lower bound, if needed (RocksDB includes the lower bound by default).
             if (!includeLower) {
-                setEqualityFlag(lowerBoundBytes);
+                lowerBoundBytes = prefixUpperBound(lowerBoundBytes);
             }
         }
 
         byte[] upperBoundBytes;
 
         if (upperBound == null) {
-            upperBoundBytes = null;
+            upperBoundBytes = partitionStorage.partitionEndPrefix();
         } else {
             upperBoundBytes = rocksPrefix(upperBound);
 
-            // Include the upper bound, if needed (RocksDB excludes the upper bound by default).
+            // Include all keys starting with the upper bound, if needed (RocksDB excludes the upper bound by default).
             if (includeUpper) {
-                setEqualityFlag(upperBoundBytes);
+                upperBoundBytes = prefixUpperBound(upperBoundBytes);
             }
         }
 
-        return createScanCursor(lowerBoundBytes, upperBoundBytes);
+        return createScanCursor(lowerBoundBytes, upperBoundBytes, decoder);
     }
 
-    private Cursor<ByteBuffer> createScanCursor(byte @Nullable [] lowerBound, byte @Nullable [] upperBound) {
-        Slice upperBoundSlice = upperBound == null ? new Slice(partitionStorage.partitionEndPrefix()) : new Slice(upperBound);
+    private <T> Cursor<T> createScanCursor(byte[] lowerBound, byte[] upperBound, BiFunction<byte[], byte[], T> decoder) {
+        Slice upperBoundSlice = new Slice(upperBound);
 
         ReadOptions options = new ReadOptions().setIterateUpperBound(upperBoundSlice);
 
         RocksIterator it = indexCf.newIterator(options);
 
-        if (lowerBound == null) {
-            it.seek(partitionStorage.partitionStartPrefix());
-        } else {
-            it.seek(lowerBound);
-        }
+        it.seek(lowerBound);
 
         return new RocksIteratorAdapter<>(it) {
             @Override
-            protected ByteBuffer decodeEntry(byte[] key, byte[] value) {
-                return ByteBuffer.wrap(key).order(ORDER);
+            protected T decodeEntry(byte[] key, byte[] value) {
+                return decoder.apply(key, value);
             }
 
             @Override
@@ -188,58 +182,44 @@ public class RocksDbSortedIndexStorage implements SortedIndexStorage {
         };
     }
 
-    private static void setEqualityFlag(byte[] prefix) {
-        // Flags start after the partition ID.
-        byte flags = prefix[Short.BYTES];
+    /**
+     * Returns the upper bound of the keys starting with the given prefix, which never exceeds the end of the partition.
+     */
+    private byte[] prefixUpperBound(byte[] prefix) {
+        byte[] upperBound = SortedIndexKeyEncoder.prefixUpperBound(prefix);
 
-        prefix[Short.BYTES] = (byte) (flags | BinaryTupleCommon.EQUALITY_FLAG);
+        return upperBound == null ? partitionStorage.partitionEndPrefix() : upperBound;
     }
 
-    private IndexRow decodeRow(ByteBuffer bytes) {
-        assert bytes.getShort(0) == partitionStorage.partitionId();
+    private IndexRow decodeRow(byte[] key, byte[] value) {
+        var tuple = new BinaryTuple(descriptor.binaryTupleSchema(), ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN));
 
-        var tuple = new BinaryTuple(descriptor.binaryTupleSchema(), binaryTupleSlice(bytes));
-
-        return new IndexRowImpl(tuple, decodeRowId(bytes));
+        return new IndexRowImpl(tuple, decodeRowId(key));
     }
 
-    private RowId decodeRowId(ByteBuffer bytes) {
-        // RowId UUID is located at the last 16 bytes of the key
-        long mostSignificantBits = bytes.getLong(bytes.limit() - Long.BYTES * 2);
-        long leastSignificantBits = bytes.getLong(bytes.limit() - Long.BYTES);
-
-        return new RowId(partitionStorage.partitionId(), mostSignificantBits, leastSignificantBits);
+    private RowId decodeRowId(byte[] key) {
+        return SortedIndexKeyEncoder.decodeRowId(partitionStorage.partitionId(), key);
     }
 
     private byte[] rocksPrefix(BinaryTuplePrefix prefix) {
-        ByteBuffer bytes = prefix.byteBuffer();
-
-        return ByteBuffer.allocate(Short.BYTES + bytes.remaining())
-                .order(ORDER)
-                .putShort((short) partitionStorage.partitionId())
-                .put(bytes)
-                .array();
+        return keyEncoder.encodePrefix(partitionStorage.partitionId(), prefix);
     }
 
     private byte[] rocksKey(IndexRow row) {
-        ByteBuffer bytes = row.indexColumns().byteBuffer();
-
-        return ByteBuffer.allocate(Short.BYTES + bytes.remaining() + ROW_ID_SIZE)
-                .order(ORDER)
-                .putShort((short) partitionStorage.partitionId())
-                .put(bytes)
-                .putLong(row.rowId().mostSignificantBits())
-                .putLong(row.rowId().leastSignificantBits())
-                .array();
+        return keyEncoder.encodeKey(partitionStorage.partitionId(), row.indexColumns(), row.rowId());
     }
 
-    private static ByteBuffer binaryTupleSlice(ByteBuffer key) {
-        return key.duplicate()
-                // Discard partition ID.
-                .position(Short.BYTES)
-                // Discard row ID.
-                .limit(key.limit() - ROW_ID_SIZE)
-                .slice()
-                .order(ByteOrder.LITTLE_ENDIAN);
+    private static byte[] tupleBytes(BinaryTuple tuple) {
+        ByteBuffer bytes = tuple.byteBuffer();
+
+        if (bytes.hasArray() && bytes.arrayOffset() == 0 && bytes.position() == 0 && bytes.remaining() == bytes.array().length) {
+            return bytes.array();
+        }
+
+        byte[] array = new byte[bytes.remaining()];
+
+        bytes.duplicate().get(array);
+
+        return array;
     }
 }
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb.index;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.ignite.internal.schema.row.InternalTuple;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.index.BinaryTupleComparator;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor.SortedIndexColumnDescriptor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes Sorted Index keys into byte arrays, the unsigned lexicographical order of which matches the order defined by the
+ * {@link BinaryTupleComparator}. This allows RocksDB to compare index keys with its native bytewise comparator.
+ *
+ * <p>Key format:
+ * <pre>
+ * Partition ID - 2 bytes, big-endian
+ * Encoded columns - variable length
+ * Row ID (UUID) - 16 bytes, big-endian with flipped sign bits
+ * </pre>
+ *
+ * <p>Every column is encoded as a null flag byte ({@code 0} for {@code null}, so that nulls go first) followed by the encoded value:
+ * <ul>
+ *     <li>Integers, floating point numbers, UUIDs and temporal values are written in big-endian order with transformations that make
+ *     signed values comparable as unsigned;</li>
+ *     <li>Decimals and numbers are written as a sign, an exponent and the digits of the normalized value;</li>
+ *     <li>Strings and byte arrays are written with a terminator, zero bytes inside of them are escaped. Strings use the binary
+ *     (UTF-16 code unit) collation of {@link String#compareTo}, which is kept by encoding every code unit separately in the UTF-8
+ *     manner.</li>
+ * </ul>
+ * All bytes of a column sorted in descending order are inverted.
+ *
+ * <p>Encoding of every column is self-delimiting, so the encoding of a prefix is a prefix of the encoding of any tuple that starts
+ * with the same values.
+ */
+public class SortedIndexKeyEncoder {
+    /** Size of the partition ID in bytes. */
+    static final int PARTITION_ID_SIZE = Short.BYTES;
+
+    /** Size of the row ID in bytes. */
+    static final int ROW_ID_SIZE = Long.BYTES * 2;
+
+    private static final byte NULL_FLAG = 0;
+
+    private static final byte NOT_NULL_FLAG = 1;
+
+    /** Byte that follows an escaped zero byte of strings and byte arrays. */
+    private static final byte ESCAPED_ZERO = (byte) 0xFF;
+
+    /** Byte that follows a zero byte at the end of strings and byte arrays. */
+    private static final byte TERMINATOR = 1;
+
+    private static final byte NEGATIVE_NUMBER = 0;
+
+    private static final byte ZERO_NUMBER = 1;
+
+    private static final byte POSITIVE_NUMBER = 2;
+
+    /** Initial size of the buffer for an encoded key. */
+    private static final int INITIAL_SIZE = 64;
+
+    private final SortedIndexDescriptor descriptor;
+
+    /**
+     * Constructor.
+     *
+     * @param descriptor Sorted Index descriptor.
+     */
+    public SortedIndexKeyEncoder(SortedIndexDescriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Encodes a key of an index row.
+     *
+     * @param partitionId Partition ID.
+     * @param tuple Indexed columns.
+     * @param rowId Row ID.
+     * @return Encoded key.
+     */
+    public byte[] encodeKey(int partitionId, InternalTuple tuple, RowId rowId) {
+        KeyWriter writer = new KeyWriter(INITIAL_SIZE);
+
+        writer.writeShort((short) partitionId);
+
+        encodeColumns(tuple, writer);
+
+        writer.writeLong(rowId.mostSignificantBits() ^ Long.MIN_VALUE);
+        writer.writeLong(rowId.leastSignificantBits() ^ Long.MIN_VALUE);
+
+        return writer.toArray();
+    }
+
+    /**
+     * Encodes a prefix of index keys: all keys that have the same values in the first columns start with the encoded prefix.
+     *
+     * @param partitionId Partition ID.
+     * @param prefix Values of the first indexed columns.
+     * @return Encoded prefix.
+     */
+    public byte[] encodePrefix(int partitionId, InternalTuple prefix) {
+        KeyWriter writer = new KeyWriter(INITIAL_SIZE);
+
+        writer.writeShort((short) partitionId);
+
+        encodeColumns(prefix, writer);
+
+        return writer.toArray();
+    }
+
+    /**
+     * Decodes the row ID from an encoded key.
+     *
+     * @param partitionId Partition ID.
+     * @param key Encoded key.
+     */
+    public static RowId decodeRowId(int partitionId, byte[] key) {
+        long mostSignificantBits = readLong(key, key.length - ROW_ID_SIZE) ^ Long.MIN_VALUE;
+        long leastSignificantBits = readLong(key, key.length - Long.BYTES) ^ Long.MIN_VALUE;
+
+        return new RowId(partitionId, mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Returns the smallest byte array that is greater than all arrays starting with the given prefix, or {@code null} if there's no
+     * such array (the prefix consists of {@code 0xFF} bytes only).
+     *
+     * @param prefix Prefix.
+     */
+    public static byte @Nullable [] prefixUpperBound(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+
+                upperBound[i]++;
+
+                return upperBound;
+            }
+        }
+
+        return null;
+    }
+
+    private void encodeColumns(InternalTuple tuple, KeyWriter writer) {
+        assert tuple.count() <= descriptor.columns().size();
+
+        for (int i = 0; i < tuple.count(); i++) {
+            SortedIndexColumnDescriptor columnDescriptor = descriptor.columns().get(i);
+
+            int start = writer.position();
+
+            if (tuple.hasNullValue(i)) {
+                writer.writeByte(NULL_FLAG);
+            } else {
+                writer.writeByte(NOT_NULL_FLAG);
+
+                encodeValue(tuple, i, columnDescriptor, writer);
+            }
+
+            if (!columnDescriptor.asc()) {
+                writer.invert(start);
+            }
+        }
+    }
+
+    private static void encodeValue(InternalTuple tuple, int index, SortedIndexColumnDescriptor columnDescriptor, KeyWriter writer) {
+        switch (columnDescriptor.type().spec()) {
+            case INT8:
+                writer.writeByte((byte) (tuple.byteValue(index) ^ Byte.MIN_VALUE));
+
+                break;
+
+            case INT16:
+                writer.writeShort((short) (tuple.shortValue(index) ^ Short.MIN_VALUE));
+
+                break;
+
+            case INT32:
+                writer.writeInt(tuple.intValue(index) ^ Integer.MIN_VALUE);
+
+                break;
+
+            case INT64:
+                writer.writeLong(tuple.longValue(index) ^ Long.MIN_VALUE);
+
+                break;
+
+            case FLOAT: {
+                int bits = Float.floatToIntBits(tuple.floatValue(index));
+
+                writer.writeInt(bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE);
+
+                break;
+            }
+
+            case DOUBLE: {
+                long bits = Double.doubleToLongBits(tuple.doubleValue(index));
+
+                writer.writeLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+
+                break;
+            }
+
+            case DECIMAL:
+                encodeDecimal(tuple.decimalValue(index), writer);
+
+                break;
+
+            case NUMBER:
+                encodeDecimal(new BigDecimal(tuple.numberValue(index)), writer);
+
+                break;
+
+            case UUID: {
+                UUID uuid = tuple.uuidValue(index);
+
+                writer.writeLong(uuid.getMostSignificantBits() ^ Long.MIN_VALUE);
+                writer.writeLong(uuid.getLeastSignificantBits() ^ Long.MIN_VALUE);
+
+                break;
+            }
+
+            case STRING:
+                encodeString(tuple.stringValue(index), writer);
+
+                break;
+
+            case BYTES:
+                encodeBytes(tuple.bytesValue(index), writer);
+
+                break;
+
+            case BITMASK:
+                // Arrays are compared element by element, a shorter array goes first: every element is preceded by a non-zero byte.
+                for (long word : tuple.bitmaskValue(index).toLongArray()) {
+                    writer.writeByte(NOT_NULL_FLAG);
+                    writer.writeLong(word ^ Long.MIN_VALUE);
+                }
+
+                writer.writeByte(NULL_FLAG);
+
+                break;
+
+            case DATE:
+                writer.writeLong(tuple.dateValue(index).toEpochDay() ^ Long.MIN_VALUE);
+
+                break;
+
+            case TIME:
+                encodeTime(tuple.timeValue(index), writer);
+
+                break;
+
+            case DATETIME: {
+                LocalDateTime dateTime = tuple.dateTimeValue(index);
+
+                writer.writeLong(dateTime.toLocalDate().toEpochDay() ^ Long.MIN_VALUE);
+
+                encodeTime(dateTime.toLocalTime(), writer);
+
+                break;
+            }
+
+            case TIMESTAMP: {
+                Instant timestamp = tuple.timestampValue(index);
+
+                writer.writeLong(timestamp.getEpochSecond() ^ Long.MIN_VALUE);
+                writer.writeInt(timestamp.getNano());
+
+                break;
+            }
+
+            default:
+                throw new IllegalArgumentException(String.format(
+                        "Unsupported column type in sorted index key encoder. Column name: %s, column type: %s",
+                        columnDescriptor.name(), columnDescriptor.type()
+                ));
+        }
+    }
+
+    private static void encodeTime(LocalTime time, KeyWriter writer) {
+        // Nano of day is never negative.
+        writer.writeLong(time.toNanoOfDay());
+    }
+
+    /**
+     * Encodes a decimal as a sign byte followed, for non-zero values, by the exponent of the normalized value {@code 0.d1d2...dn * 10^e}
+     * and its digits {@code d1d2...dn} without trailing zeros. Both are inverted for negative values.
+     */
+    private static void encodeDecimal(BigDecimal value, KeyWriter writer) {
+        int signum = value.signum();
+
+        if (signum == 0) {
+            writer.writeByte(ZERO_NUMBER);
+
+            return;
+        }
+
+        writer.writeByte(signum < 0 ? NEGATIVE_NUMBER : POSITIVE_NUMBER);
+
+        int start = writer.position();
+
+        BigDecimal normalized = value.stripTrailingZeros();
+
+        String digits = normalized.unscaledValue().abs().toString();
+
+        long exponent = (long) digits.length() - normalized.scale();
+
+        writer.writeLong(exponent ^ Long.MIN_VALUE);
+
+        for (int i = 0; i < digits.length(); i++) {
+            writer.writeByte((byte) digits.charAt(i));
+        }
+
+        // Digits are never zero bytes, so a zero terminator is enough for the shorter digit string to go first.
+        writer.writeByte((byte) 0);
+
+        if (signum < 0) {
+            writer.invert(start);
+        }
+    }
+
+    /**
+     * Encodes every UTF-16 code unit of a string separately as a 1 to 3 byte UTF-8 sequence (like CESU-8 does), which preserves the
+     * order of the code units, as opposed to the standard UTF-8 encoding of supplementary characters.
+     */
+    private static void encodeString(String value, KeyWriter writer) {
+        writer.ensureCapacity(value.length() * 3 + 2);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == 0) {
+                writer.writeByte((byte) 0);
+                writer.writeByte(ESCAPED_ZERO);
+            } else if (c < 0x80) {
+                writer.writeByte((byte) c);
+            } else if (c < 0x800) {
+                writer.writeByte((byte) (0xC0 | (c >> 6)));
+                writer.writeByte((byte) (0x80 | (c & 0x3F)));
+            } else {
+                writer.writeByte((byte) (0xE0 | (c >> 12)));
+                writer.writeByte((byte) (0x80 | ((c >> 6) & 0x3F)));
+                writer.writeByte((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        writer.writeByte((byte) 0);
+        writer.writeByte(TERMINATOR);
+    }
+
+    /**
+     * Encodes a byte array, the bytes of which are compared as signed values by the {@link BinaryTupleComparator}.
+     */
+    private static void encodeBytes(byte[] value, KeyWriter writer) {
+        writer.ensureCapacity(value.length * 2 + 2);
+
+        for (byte b : value) {
+            byte unsigned = (byte) (b ^ Byte.MIN_VALUE);
+
+            writer.writeByte(unsigned);
+
+            if (unsigned == 0) {
+                writer.writeByte(ESCAPED_ZERO);
+            }
+        }
+
+        writer.writeByte((byte) 0);
+        writer.writeByte(TERMINATOR);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Growable big-endian byte array writer.
+     */
+    private static class KeyWriter {
+        private byte[] bytes;
+
+        private int position;
+
+        KeyWriter(int initialSize) {
+            bytes = new byte[initialSize];
+        }
+
+        int position() {
+            return position;
+        }
+
+        void ensureCapacity(int additionalBytes) {
+            if (position + additionalBytes > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additionalBytes));
+            }
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+
+            bytes[position++] = value;
+        }
+
+        void writeShort(short value) {
+            ensureCapacity(Short.BYTES);
+
+            bytes[position++] = (byte) (value >>> 8);
+            bytes[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+
+            for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        /** Inverts all bytes written since the given position. */
+        void invert(int start) {
+            for (int i = start; i < position; i++) {
+                bytes[i] = (byte) ~bytes[i];
+            }
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+    }
+}
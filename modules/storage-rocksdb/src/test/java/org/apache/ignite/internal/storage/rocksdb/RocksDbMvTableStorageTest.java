@@ -24,6 +24,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.nio.file.Path;
 import java.util.UUID;
@@ -32,9 +33,11 @@ import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.configuration.testframework.ConfigurationExtension;
 import org.apache.ignite.internal.configuration.testframework.InjectConfiguration;
+import org.apache.ignite.internal.configuration.util.ConfigurationUtil;
 import org.apache.ignite.internal.storage.AbstractMvTableStorageTest;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.storage.rocksdb.configuration.schema.RocksDbStorageEngineConfiguration;
 import org.apache.ignite.internal.testframework.WorkDirectory;
@@ -60,9 +63,11 @@ public class RocksDbMvTableStorageTest extends AbstractMvTableStorageTest {
 
     private MvTableStorage tableStorage;
 
+    @WorkDirectory
+    private Path workDir;
+
     @BeforeEach
     void setUp(
-            @WorkDirectory Path workDir,
             @InjectConfiguration("mock {flushDelayMillis = 0, defaultRegion {size = 16536, writeBufferSize = 16536}}")
             RocksDbStorageEngineConfiguration rocksDbEngineConfig
     ) {
@@ -150,6 +155,88 @@ public class RocksDbMvTableStorageTest extends AbstractMvTableStorageTest {
                 is(equalTo(unwrap(testData))));
     }
 
+    /**
+     * Tests that a partition is replaced by its snapshot and other partitions are not affected.
+     */
+    @Test
+    void testPartitionSnapshot() {
+        var testData = binaryRow(new TestKey(1, "1"), new TestValue(10, "10"));
+
+        UUID txId = UUID.randomUUID();
+
+        MvPartitionStorage partitionStorage0 = tableStorage.getOrCreateMvPartition(PARTITION_ID_0);
+
+        RowId rowId0 = new RowId(PARTITION_ID_0);
+
+        partitionStorage0.runConsistently(() -> {
+            partitionStorage0.lastAppliedIndex(10);
+
+            return partitionStorage0.addWrite(rowId0, testData, txId, UUID.randomUUID(), 0);
+        });
+
+        MvPartitionStorage partitionStorage1 = tableStorage.getOrCreateMvPartition(PARTITION_ID_1);
+
+        RowId rowId1 = new RowId(PARTITION_ID_1);
+
+        partitionStorage1.runConsistently(() -> partitionStorage1.addWrite(rowId1, testData, txId, UUID.randomUUID(), 0));
+
+        assertThat(tableStorage.supportsPartitionSnapshots(), is(true));
+
+        // Indexes of the snapshot must match the configured ones.
+        for (UUID indexId : ConfigurationUtil.internalIds(tablesConfig.indexes())) {
+            tableStorage.getOrCreateIndex(PARTITION_ID_0, indexId);
+        }
+
+        Path snapshotDir = workDir.resolve("snapshot");
+
+        assertThat(tableStorage.createPartitionSnapshot(PARTITION_ID_0, snapshotDir), willCompleteSuccessfully());
+
+        // Updates after the snapshot must be reverted by the restoration.
+        RowId newRowId0 = new RowId(PARTITION_ID_0);
+
+        partitionStorage0.runConsistently(() -> {
+            partitionStorage0.lastAppliedIndex(20);
+
+            return partitionStorage0.addWrite(newRowId0, testData, txId, UUID.randomUUID(), 0);
+        });
+
+        tableStorage.restorePartitionSnapshot(PARTITION_ID_0, snapshotDir);
+
+        assertThat(partitionStorage0.lastAppliedIndex(), is(10L));
+        assertThat(unwrap(partitionStorage0.read(rowId0, HybridTimestamp.MAX_VALUE).binaryRow()), is(equalTo(unwrap(testData))));
+        assertThat(partitionStorage0.read(newRowId0, HybridTimestamp.MAX_VALUE).binaryRow(), is(nullValue()));
+        assertThat(unwrap(partitionStorage1.read(rowId1, HybridTimestamp.MAX_VALUE).binaryRow()), is(equalTo(unwrap(testData))));
+    }
+
+    /**
+     * Tests that a partition snapshot is not restored if its indexes don't match the configured ones.
+     */
+    @Test
+    void testPartitionSnapshotWithMismatchedIndexes() {
+        var testData = binaryRow(new TestKey(1, "1"), new TestValue(10, "10"));
+
+        MvPartitionStorage partitionStorage = tableStorage.getOrCreateMvPartition(PARTITION_ID_0);
+
+        // No index storages are created, so the snapshot has no indexes.
+        Path snapshotDir = workDir.resolve("snapshot");
+
+        assertThat(tableStorage.createPartitionSnapshot(PARTITION_ID_0, snapshotDir), willCompleteSuccessfully());
+
+        RowId rowId = new RowId(PARTITION_ID_0);
+
+        partitionStorage.runConsistently(() -> {
+            partitionStorage.lastAppliedIndex(10);
+
+            return partitionStorage.addWrite(rowId, testData, UUID.randomUUID(), UUID.randomUUID(), 0);
+        });
+
+        assertThrows(StorageException.class, () -> tableStorage.restorePartitionSnapshot(PARTITION_ID_0, snapshotDir));
+
+        // The partition is not changed.
+        assertThat(partitionStorage.lastAppliedIndex(), is(10L));
+        assertThat(unwrap(partitionStorage.read(rowId, HybridTimestamp.MAX_VALUE).binaryRow()), is(equalTo(unwrap(testData))));
+    }
+
     @Test
     void storageAdvertisesItIsPersistent() {
         assertThat(tableStorage.isVolatile(), is(false));
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.apache.ignite.internal.schema.NativeType;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.index.BinaryTupleComparator;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor.SortedIndexColumnDescriptor;
+import org.apache.ignite.internal.storage.index.impl.BinaryTupleRowSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * For {@link SortedIndexKeyEncoder} testing.
+ */
+public class SortedIndexKeyEncoderTest {
+    private static final int PARTITION_ID = 1;
+
+    @ParameterizedTest
+    @MethodSource("testValues")
+    void testOrderMatchesComparator(NativeType type, List<Object> values) {
+        for (boolean asc : new boolean[] {true, false}) {
+            var descriptor = new SortedIndexDescriptor(
+                    UUID.randomUUID(),
+                    List.of(new SortedIndexColumnDescriptor("column", type, true, asc))
+            );
+
+            var encoder = new SortedIndexKeyEncoder(descriptor);
+            var comparator = new BinaryTupleComparator(descriptor);
+            var serializer = new BinaryTupleRowSerializer(descriptor);
+
+            List<IndexRow> rows = new ArrayList<>();
+
+            for (Object value : values) {
+                rows.add(serializer.serializeRow(new Object[] {value}, new RowId(PARTITION_ID)));
+            }
+
+            for (IndexRow row1 : rows) {
+                for (IndexRow row2 : rows) {
+                    int expected = Integer.signum(comparator.compare(
+                            row1.indexColumns().byteBuffer(),
+                            row2.indexColumns().byteBuffer()
+                    ));
+
+                    int actual = Integer.signum(Arrays.compareUnsigned(
+                            encoder.encodePrefix(PARTITION_ID, row1.indexColumns()),
+                            encoder.encodePrefix(PARTITION_ID, row2.indexColumns())
+                    ));
+
+                    assertEquals(expected, actual, () -> "asc=" + asc + ", " + row1.indexColumns() + ", " + row2.indexColumns());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPrefixAndRowId() {
+        var descriptor = new SortedIndexDescriptor(
+                UUID.randomUUID(),
+                List.of(
+                        new SortedIndexColumnDescriptor("a", NativeTypes.STRING, true, true),
+                        new SortedIndexColumnDescriptor("b", NativeTypes.INT32, true, false)
+                )
+        );
+
+        var encoder = new SortedIndexKeyEncoder(descriptor);
+        var serializer = new BinaryTupleRowSerializer(descriptor);
+
+        RowId rowId = new RowId(PARTITION_ID, -1L, Long.MIN_VALUE);
+
+        IndexRow row = serializer.serializeRow(new Object[] {"foo", 42}, rowId);
+
+        byte[] key = encoder.encodeKey(PARTITION_ID, row.indexColumns(), rowId);
+
+        byte[] prefix = encoder.encodePrefix(PARTITION_ID, serializer.serializeRowPrefix(new Object[] {"foo"}));
+
+        assertArrayEquals(prefix, Arrays.copyOf(key, prefix.length));
+
+        assertEquals(rowId, SortedIndexKeyEncoder.decodeRowId(PARTITION_ID, key));
+
+        // Keys are ordered by row IDs if the columns are equal.
+        RowId greaterRowId = new RowId(PARTITION_ID, 0L, 0L);
+
+        byte[] greaterKey = encoder.encodeKey(PARTITION_ID, row.indexColumns(), greaterRowId);
+
+        assertTrue(Arrays.compareUnsigned(key, greaterKey) < 0);
+    }
+
+    @Test
+    void testPrefixUpperBound() {
+        assertArrayEquals(new byte[] {1, 3}, SortedIndexKeyEncoder.prefixUpperBound(new byte[] {1, 2}));
+        assertArrayEquals(new byte[] {2}, SortedIndexKeyEncoder.prefixUpperBound(new byte[] {1, (byte) 0xFF, (byte) 0xFF}));
+        assertNull(SortedIndexKeyEncoder.prefixUpperBound(new byte[] {(byte) 0xFF}));
+    }
+
+    private static Stream<Arguments> testValues() {
+        return Stream.of(
+                arguments(NativeTypes.INT8, Byte.MIN_VALUE, (byte) -1, (byte) 0, (byte) 1, Byte.MAX_VALUE),
+                arguments(NativeTypes.INT16, Short.MIN_VALUE, (short) -1, (short) 0, (short) 1, Short.MAX_VALUE),
+                arguments(NativeTypes.INT32, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE),
+                arguments(NativeTypes.INT64, Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE),
+                arguments(NativeTypes.FLOAT, Float.NEGATIVE_INFINITY, -1.5f, -0.0f, 0.0f, Float.MIN_VALUE, 2.5f, Float.NaN),
+                arguments(NativeTypes.DOUBLE, Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.5, Double.NaN),
+                arguments(
+                        NativeTypes.decimalOf(20, 3),
+                        new BigDecimal("-100.5"), new BigDecimal("-100"), new BigDecimal("-99.999"), new BigDecimal("-0.001"),
+                        BigDecimal.ZERO, new BigDecimal("0.001"), new BigDecimal("0.01"), new BigDecimal("1.5"), new BigDecimal("10"),
+                        new BigDecimal("12.345")
+                ),
+                arguments(
+                        NativeTypes.numberOf(20),
+                        BigInteger.valueOf(-1000), BigInteger.valueOf(-999), BigInteger.ZERO, BigInteger.TEN,
+                        BigInteger.valueOf(11), BigInteger.valueOf(100)
+                ),
+                arguments(NativeTypes.UUID, new UUID(-1, 5), new UUID(0, -1), new UUID(0, 0), new UUID(1, Long.MIN_VALUE)),
+                arguments(NativeTypes.STRING, "", "\0", "\0a", "a", "a\0", "ab", "b", "\u00e9", "\uffff", "\ud83d\ude00"),
+                arguments(
+                        NativeTypes.BYTES,
+                        new byte[0], new byte[] {Byte.MIN_VALUE}, new byte[] {-1}, new byte[] {0}, new byte[] {0, 0},
+                        new byte[] {1}, new byte[] {Byte.MAX_VALUE, -128}
+                ),
+                arguments(NativeTypes.bitmaskOf(128), BitSet.valueOf(new long[] {1}), BitSet.valueOf(new long[] {1, 1}),
+                        BitSet.valueOf(new long[] {2}), BitSet.valueOf(new long[] {Long.MIN_VALUE})),
+                arguments(NativeTypes.DATE, LocalDate.MIN, LocalDate.of(1969, 12, 31), LocalDate.EPOCH, LocalDate.MAX),
+                arguments(NativeTypes.time(), LocalTime.MIN, LocalTime.NOON, LocalTime.MAX),
+                arguments(
+                        NativeTypes.datetime(),
+                        LocalDateTime.of(1969, 12, 31, 23, 59), LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(1970, 1, 1, 0, 1)
+                ),
+                arguments(NativeTypes.timestamp(), Instant.ofEpochSecond(-1, 5), Instant.EPOCH, Instant.ofEpochSecond(0, 1))
+        );
+    }
+
+    private static Arguments arguments(NativeType type, Object... values) {
+        List<Object> valuesWithNull = new ArrayList<>(Arrays.asList(values));
+
+        valuesWithNull.add(null);
+
+        return Arguments.of(type, valuesWithNull);
+    }
+}
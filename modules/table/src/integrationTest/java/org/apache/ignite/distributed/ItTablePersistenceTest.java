@@ -47,6 +47,7 @@ import org.apache.ignite.internal.storage.RowId;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.storage.impl.TestMvPartitionStorage;
 import org.apache.ignite.internal.table.distributed.raft.PartitionListener;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
 import org.apache.ignite.internal.table.distributed.storage.InternalTableImpl;
 import org.apache.ignite.internal.tx.TxManager;
 import org.apache.ignite.internal.tx.impl.HeapLockManager;
@@ -235,10 +236,13 @@ public class ItTablePersistenceTest extends ItAbstractListenerSnapshotTest<Parti
                     var testMpPartStorage = new TestMvPartitionStorage(0);
 
                     PartitionListener listener = new PartitionListener(
+                            0,
                             testMpPartStorage,
                             new TestConcurrentHashMapTxStateStorage(),
                             txManager,
-                            new ConcurrentHashMap<>());
+                            new ConcurrentHashMap<>(),
+                            List::of,
+                            new PartitionSnapshots());
 
                     paths.put(listener, workDir);
 
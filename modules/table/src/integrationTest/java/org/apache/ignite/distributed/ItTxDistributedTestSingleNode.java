@@ -59,6 +59,7 @@ import org.apache.ignite.internal.table.TableImpl;
 import org.apache.ignite.internal.table.TxAbstractTest;
 import org.apache.ignite.internal.table.distributed.TableMessageGroup;
 import org.apache.ignite.internal.table.distributed.raft.PartitionListener;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
 import org.apache.ignite.internal.table.distributed.replicator.PartitionReplicaListener;
 import org.apache.ignite.internal.table.distributed.storage.InternalTableImpl;
 import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
@@ -372,10 +373,13 @@ public class ItTxDistributedTestSingleNode extends TxAbstractTest {
                         partNodes,
                         () -> {
                             return new PartitionListener(
+                                    0,
                                     testMpPartStorage,
                                     new TestConcurrentHashMapTxStateStorage(),
                                     txManagers.get(node),
-                                    primaryIndex
+                                    primaryIndex,
+                                    List::of,
+                                    new PartitionSnapshots()
                             );
                         },
                         RaftGroupOptions.defaults()
@@ -393,6 +397,7 @@ public class ItTxDistributedTestSingleNode extends TxAbstractTest {
                                                 grpId,
                                                 tblId,
                                                 primaryIndex,
+                                                id -> null,
                                                 clocks.get(node)
                                         ));
                             } catch (NodeStoppingException e) {
@@ -24,7 +24,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow.Publisher;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.BinaryRowEx;
+import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
 import org.apache.ignite.internal.tx.InternalTransaction;
 import org.apache.ignite.internal.tx.LockException;
 import org.apache.ignite.internal.tx.storage.state.TxStateTableStorage;
@@ -213,6 +215,44 @@ public interface InternalTable extends AutoCloseable {
      */
     Publisher<BinaryRow> scan(int p, @Nullable InternalTransaction tx);
 
+    /**
+     * Scans given partition index, providing {@link Publisher} that reactively notifies about table rows in the index order.
+     *
+     * @param p The partition.
+     * @param tx The transaction.
+     * @param indexId Sorted index id.
+     * @param lowerBound Lower search bound, {@code null} means unbounded. Could be a prefix of the indexed columns.
+     * @param upperBound Upper search bound, {@code null} means unbounded. Could be a prefix of the indexed columns.
+     * @param flags Control flags. See {@link SortedIndexStorage#GREATER}, {@link SortedIndexStorage#GREATER_OR_EQUAL},
+     *      {@link SortedIndexStorage#LESS} and {@link SortedIndexStorage#LESS_OR_EQUAL}.
+     * @return {@link Publisher} that reactively notifies about table rows.
+     */
+    Publisher<BinaryRow> scan(
+            int p,
+            @Nullable InternalTransaction tx,
+            UUID indexId,
+            @Nullable BinaryTuple lowerBound,
+            @Nullable BinaryTuple upperBound,
+            int flags
+    );
+
+    /**
+     * Looks up the rows with the given key in the partition index, providing {@link Publisher} that reactively notifies about the
+     * table rows.
+     *
+     * @param p The partition.
+     * @param tx The transaction.
+     * @param indexId Index id.
+     * @param key Key to search, all indexed columns must be present.
+     * @return {@link Publisher} that reactively notifies about table rows.
+     */
+    Publisher<BinaryRow> lookup(
+            int p,
+            @Nullable InternalTransaction tx,
+            UUID indexId,
+            BinaryTuple key
+    );
+
     /**
      * Gets a count of partitions of the table.
      *
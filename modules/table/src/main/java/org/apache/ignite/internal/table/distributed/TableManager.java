@@ -23,6 +23,7 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.ignite.internal.configuration.util.ConfigurationUtil.getByInternalId;
 import static org.apache.ignite.internal.schema.SchemaManager.INITIAL_SCHEMA_VERSION;
+import static org.apache.ignite.internal.util.IgniteUtils.deleteIfExists;
 import static org.apache.ignite.internal.util.IgniteUtils.inBusyLock;
 import static org.apache.ignite.internal.util.IgniteUtils.shutdownAndAwaitTermination;
 import static org.apache.ignite.internal.utils.RebalanceUtil.ASSIGNMENTS_SWITCH_REDUCE_PREFIX;
@@ -73,12 +74,15 @@ import org.apache.ignite.configuration.ConfigurationChangeException;
 import org.apache.ignite.configuration.ConfigurationProperty;
 import org.apache.ignite.configuration.notifications.ConfigurationNamedListListener;
 import org.apache.ignite.configuration.notifications.ConfigurationNotificationEvent;
+import org.apache.ignite.configuration.schemas.table.SortedIndexView;
 import org.apache.ignite.configuration.schemas.table.TableChange;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
+import org.apache.ignite.configuration.schemas.table.TableIndexView;
 import org.apache.ignite.configuration.schemas.table.TableView;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.configuration.validation.ConfigurationValidationException;
 import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.affinity.AffinityUtils;
 import org.apache.ignite.internal.baseline.BaselineManager;
 import org.apache.ignite.internal.causality.VersionedValue;
@@ -112,29 +116,45 @@ import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.storage.RowId;
 import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
+import org.apache.ignite.internal.storage.index.HashIndexStorage;
+import org.apache.ignite.internal.storage.index.IndexDescriptor.ColumnDescriptor;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
 import org.apache.ignite.internal.table.IgniteTablesInternal;
 import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.table.TableImpl;
+import org.apache.ignite.internal.table.distributed.index.IndexBuilder;
+import org.apache.ignite.internal.table.distributed.index.IndexBuilderMetricSource;
+import org.apache.ignite.internal.table.distributed.index.IndexRowResolver;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
 import org.apache.ignite.internal.table.distributed.message.HasDataRequest;
 import org.apache.ignite.internal.table.distributed.message.HasDataRequestBuilder;
 import org.apache.ignite.internal.table.distributed.message.HasDataResponse;
 import org.apache.ignite.internal.table.distributed.raft.PartitionListener;
 import org.apache.ignite.internal.table.distributed.raft.RebalanceRaftGroupEventsListener;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccess;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccessImpl;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionSnapshotStorageFactory;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotsManager;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
 import org.apache.ignite.internal.table.distributed.replicator.PartitionReplicaListener;
 import org.apache.ignite.internal.table.distributed.storage.InternalTableImpl;
 import org.apache.ignite.internal.table.event.TableEvent;
 import org.apache.ignite.internal.table.event.TableEventParameters;
+import org.apache.ignite.internal.thread.LogUncaughtExceptionHandler;
 import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.internal.thread.StripedThreadPoolExecutor;
 import org.apache.ignite.internal.tx.LockManager;
 import org.apache.ignite.internal.tx.TxManager;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorageMetricSource;
 import org.apache.ignite.internal.tx.storage.state.TxStateTableStorage;
 import org.apache.ignite.internal.tx.storage.state.rocksdb.TxStateRocksDbTableStorage;
 import org.apache.ignite.internal.util.ByteUtils;
 import org.apache.ignite.internal.util.IgniteNameUtils;
 import org.apache.ignite.internal.util.IgniteSpinBusyLock;
 import org.apache.ignite.internal.utils.RebalanceUtil;
+import org.apache.ignite.internal.vault.VaultManager;
 import org.apache.ignite.lang.ByteArray;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgniteException;
@@ -181,6 +201,9 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
     /** Name of a transaction state directory. */
     private static final String TX_STATE_DIR = "tx-state-";
 
+    /** Name of a directory for the physical partition snapshots of a table. */
+    private static final String PARTITION_SNAPSHOTS_DIR = "partition-snapshots-";
+
     /** Transaction storage flush delay. */
     private static final int TX_STATE_STORAGE_FLUSH_DELAY = 1000;
     private static final IntSupplier TX_STATE_STORAGE_FLUSH_DELAY_SUPPLIER = () -> TX_STATE_STORAGE_FLUSH_DELAY;
@@ -271,6 +294,18 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
      */
     private final ExecutorService ioExecutor;
 
+    /** Pool the incoming partition snapshots are copied in, every copy is executed in a single stripe. */
+    private final StripedThreadPoolExecutor incomingSnapshotsExecutor;
+
+    /** Builds secondary indexes from the existing partition data. */
+    private final IndexBuilder indexBuilder;
+
+    /** Serves the rebalance snapshots of the local partitions to the other nodes. */
+    private final OutgoingSnapshotsManager outgoingSnapshotsManager;
+
+    /** Metric source of the transaction state storages. */
+    private final TxStateStorageMetricSource txStateStorageMetricSource = new TxStateStorageMetricSource(this::txStateStorageSize);
+
     private final HybridClock clock;
 
     /** Partitions storage path. */
@@ -300,6 +335,7 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
      * @param schemaManager Schema manager.
      * @param volatileLogStorageFactoryCreator Creator for {@link org.apache.ignite.internal.raft.storage.LogStorageFactory} for volatile
      *                                         tables.
+     * @param vaultMgr Vault manager, stores the progress of the index builds.
      */
     public TableManager(
             String nodeName,
@@ -317,7 +353,8 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
             MetaStorageManager metaStorageMgr,
             SchemaManager schemaManager,
             LogStorageFactoryCreator volatileLogStorageFactoryCreator,
-            HybridClock clock
+            HybridClock clock,
+            VaultManager vaultMgr
     ) {
         this.tablesCfg = tablesCfg;
         this.raftMgr = raftMgr;
@@ -402,11 +439,30 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                 TimeUnit.MILLISECONDS,
                 new LinkedBlockingQueue<>(),
                 NamedThreadFactory.create(nodeName, "tableManager-io", LOG));
+
+        incomingSnapshotsExecutor = new StripedThreadPoolExecutor(
+                Math.min(4, Utils.cpus()),
+                NamedThreadFactory.threadPrefix(nodeName, "incoming-snapshots"),
+                new LogUncaughtExceptionHandler(LOG),
+                false,
+                0
+        );
+
+        indexBuilder = new IndexBuilder(
+                nodeName,
+                Math.min(4, Math.max(1, Utils.cpus() / 4)),
+                vaultMgr,
+                () -> tablesCfg.indexBuildRowsPerSecond().value()
+        );
+
+        outgoingSnapshotsManager = new OutgoingSnapshotsManager(nodeName, raftMgr.messagingService());
     }
 
     /** {@inheritDoc} */
     @Override
     public void start() {
+        outgoingSnapshotsManager.start();
+
         tablesCfg.tables().any().replicas().listen(this::onUpdateReplicas);
 
         registerRebalanceListeners();
@@ -432,6 +488,20 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
             }
         });
 
+        tablesCfg.indexes().listenElements(new ConfigurationNamedListListener<>() {
+            @Override
+            public CompletableFuture<?> onCreate(ConfigurationNotificationEvent<TableIndexView> ctx) {
+                return onIndexCreate(ctx);
+            }
+
+            @Override
+            public CompletableFuture<?> onDelete(ConfigurationNotificationEvent<TableIndexView> ctx) {
+                indexBuilder.stopBuildIndex(ctx.oldValue().id());
+
+                return completedFuture(null);
+            }
+        });
+
         schemaManager.listen(SchemaEvent.CREATE, new EventListener<>() {
             /** {@inheritDoc} */
             @Override
@@ -683,6 +753,8 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
 
                 ConcurrentHashMap<ByteBuffer, RowId> primaryIndex = new ConcurrentHashMap<>();
 
+                Function<UUID, TableSchemaAwareIndexStorage> indexStorages = indexStorageResolver(tablesById.get(tblId), partId);
+
                 if (raftMgr.shouldHaveRaftGroupLocally(nodes)) {
                     startGroupFut = CompletableFuture
                             .supplyAsync(() -> internalTbl.storage().getOrCreateMvPartition(partId), ioExecutor)
@@ -725,18 +797,42 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                                         return CompletableFuture.completedFuture(null);
                                     }
 
-                                    RaftGroupOptions groupOptions = groupOptionsForPartition(internalTbl, tblCfg, partitionStorage,
-                                            newPartAssignment);
+                                    TxStateStorage txStateStorage = internalTbl.txStateStorage().getOrCreateTxStateStorage(partId);
+
+                                    Supplier<List<TableSchemaAwareIndexStorage>> indexes = partitionIndexes(tblId, indexStorages);
+
+                                    PartitionSnapshots partitionSnapshots = new PartitionSnapshots();
+
+                                    RaftGroupOptions groupOptions = groupOptionsForPartition(
+                                            internalTbl,
+                                            tblCfg,
+                                            new PartitionAccessImpl(
+                                                    partId,
+                                                    internalTbl.storage(),
+                                                    partitionStorage,
+                                                    txStateStorage,
+                                                    indexes,
+                                                    primaryIndex,
+                                                    partitionSnapshots,
+                                                    partitionSnapshotsPath(tblCfg, partId),
+                                                    indexBuilder,
+                                                    () -> startIndexBuilds(tablesById.get(tblId), partId, partitionStorage, indexStorages)
+                                            ),
+                                            newPartAssignment
+                                    );
 
                                     try {
                                         raftMgr.startRaftGroupNode(
                                                 grpId,
                                                 newPartAssignment,
                                                 new PartitionListener(
+                                                    partId,
                                                     partitionStorage,
-                                                    internalTbl.txStateStorage().getOrCreateTxStateStorage(partId),
+                                                    txStateStorage,
                                                     txManager,
-                                                    primaryIndex
+                                                    primaryIndex,
+                                                    indexes,
+                                                    partitionSnapshots
                                             ),
                                                 new RebalanceRaftGroupEventsListener(
                                                         metaStorageMgr,
@@ -775,6 +871,8 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                                     if (replicaMgr.shouldHaveReplicationGroupLocally(nodes)) {
                                         MvPartitionStorage partitionStorage = internalTbl.storage().getOrCreateMvPartition(partId);
 
+                                        TableImpl table = tablesById.get(tblId);
+
                                         try {
                                             replicaMgr.startReplica(grpId,
                                                     new PartitionReplicaListener(
@@ -786,12 +884,15 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                                                             grpId,
                                                             tblId,
                                                             primaryIndex,
+                                                            indexStorages,
                                                             clock
                                                     )
                                             );
                                         } catch (NodeStoppingException ex) {
                                             throw new AssertionError("Loza was stopped before Table manager", ex);
                                         }
+
+                                        startIndexBuilds(table, partId, partitionStorage, indexStorages);
                                     }
                                 }
                         ).exceptionally(th -> {
@@ -833,10 +934,206 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                 .thenApply(unused -> Arrays.stream(requestFutures).filter(CompletableFuture::join).count());
     }
 
+    /**
+     * Creates a function that resolves the secondary index storages of a table partition by index IDs. Storages are created lazily and
+     * cached, {@code null} is returned for IDs that don't belong to indexes of the table.
+     *
+     * @param table Table.
+     * @param partId Partition ID.
+     * @return Index storage resolver.
+     */
+    private Function<UUID, TableSchemaAwareIndexStorage> indexStorageResolver(TableImpl table, int partId) {
+        Map<UUID, TableSchemaAwareIndexStorage> indexStorages = new ConcurrentHashMap<>();
+
+        return indexId -> indexStorages.computeIfAbsent(indexId, id -> {
+            TableIndexView indexView = getByInternalId(tablesCfg.indexes().value(), id);
+
+            if (indexView == null || !table.tableId().equals(indexView.tableId())) {
+                return null;
+            }
+
+            return createIndexStorage(table, partId, indexView);
+        });
+    }
+
+    /**
+     * Creates a supplier of the secondary index storages of a table partition, that are maintained on the write path. The indexes are
+     * taken from the current configuration on every call, so the indexes created after the partition start are maintained as well.
+     *
+     * @param tableId Table ID.
+     * @param indexStorages Index storage resolver of the partition.
+     * @return Supplier of the index storages.
+     */
+    private Supplier<List<TableSchemaAwareIndexStorage>> partitionIndexes(
+            UUID tableId,
+            Function<UUID, TableSchemaAwareIndexStorage> indexStorages
+    ) {
+        return () -> {
+            List<TableSchemaAwareIndexStorage> indexes = new ArrayList<>();
+
+            for (TableIndexView indexView : tablesCfg.indexes().value()) {
+                if (tableId.equals(indexView.tableId())) {
+                    TableSchemaAwareIndexStorage indexStorage = indexStorages.apply(indexView.id());
+
+                    if (indexStorage != null) {
+                        indexes.add(indexStorage);
+                    }
+                }
+            }
+
+            return indexes;
+        };
+    }
+
+    /**
+     * Creates a secondary index storage of a table partition, or returns the existing one.
+     *
+     * @param table Table.
+     * @param partId Partition ID.
+     * @param indexView Index configuration.
+     * @return Index storage.
+     */
+    private static TableSchemaAwareIndexStorage createIndexStorage(TableImpl table, int partId, TableIndexView indexView) {
+        MvTableStorage tableStorage = table.internalTable().storage();
+
+        IndexStorage storage;
+        List<? extends ColumnDescriptor> columns;
+
+        if (indexView instanceof SortedIndexView) {
+            SortedIndexStorage sortedIndexStorage = tableStorage.getOrCreateSortedIndex(partId, indexView.id());
+
+            storage = sortedIndexStorage;
+            columns = sortedIndexStorage.indexDescriptor().columns();
+        } else {
+            HashIndexStorage hashIndexStorage = tableStorage.getOrCreateHashIndex(partId, indexView.id());
+
+            storage = hashIndexStorage;
+            columns = hashIndexStorage.indexDescriptor().columns();
+        }
+
+        return new TableSchemaAwareIndexStorage(indexView.id(), storage, new IndexRowResolver(table::schemaView, columns));
+    }
+
+    /**
+     * Starts building all the secondary indexes of a table partition from the existing partition data. The builds of the persistent
+     * partitions are resumed from the saved progress, the indexes that are already built are skipped.
+     *
+     * @param table Table.
+     * @param partId Partition ID.
+     * @param partitionStorage Partition storage.
+     * @param indexStorages Index storages of the partition.
+     */
+    private void startIndexBuilds(
+            TableImpl table,
+            int partId,
+            MvPartitionStorage partitionStorage,
+            Function<UUID, TableSchemaAwareIndexStorage> indexStorages
+    ) {
+        for (TableIndexView indexView : tablesCfg.indexes().value()) {
+            if (table.tableId().equals(indexView.tableId())) {
+                indexBuilder.startBuildIndex(
+                        table.tableId(),
+                        partId,
+                        partitionStorage,
+                        indexStorages.apply(indexView.id()),
+                        !table.internalTable().storage().isVolatile()
+                );
+            }
+        }
+    }
+
+    /**
+     * Listener of index create configuration change, starts building the index for the local partitions of the table.
+     *
+     * @param ctx Index configuration context.
+     * @return A future.
+     */
+    private CompletableFuture<?> onIndexCreate(ConfigurationNotificationEvent<TableIndexView> ctx) {
+        if (!busyLock.enterBusy()) {
+            return failedFuture(new NodeStoppingException());
+        }
+
+        try {
+            TableIndexView indexView = ctx.newValue();
+
+            TableImpl table = tablesByIdVv.latest().get(indexView.tableId());
+
+            // Partitions that are not started yet will build the index on start.
+            if (table == null) {
+                return completedFuture(null);
+            }
+
+            // Index storages creation may involve IO, so it's moved out of the notification thread.
+            ioExecutor.execute(() -> inBusyLock(busyLock, () -> {
+                MvTableStorage tableStorage = table.internalTable().storage();
+
+                for (int p = 0; p < table.internalTable().partitions(); p++) {
+                    MvPartitionStorage partitionStorage = tableStorage.getMvPartition(p);
+
+                    if (partitionStorage != null) {
+                        indexBuilder.startBuildIndex(
+                                table.tableId(),
+                                p,
+                                partitionStorage,
+                                createIndexStorage(table, p, indexView),
+                                !tableStorage.isVolatile()
+                        );
+                    }
+                }
+            }));
+
+            return completedFuture(null);
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * Returns the metric source of the secondary index builder.
+     */
+    public IndexBuilderMetricSource indexBuilderMetricSource() {
+        return indexBuilder.metricSource();
+    }
+
+    /**
+     * Returns the metric source of the transaction state storages.
+     */
+    public TxStateStorageMetricSource txStateStorageMetricSource() {
+        return txStateStorageMetricSource;
+    }
+
+    /**
+     * Returns an estimated number of transaction metas in the transaction state storages of all the tables.
+     */
+    private long txStateStorageSize() {
+        long size = 0;
+
+        for (TableImpl table : tablesByIdVv.latest().values()) {
+            size += table.internalTable().txStateStorage().estimatedSize();
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns a directory for the physical snapshots of the partition. The snapshots left by the previous runs of the node are never
+     * used, so the directory is cleared.
+     *
+     * @param tableCfg Table configuration.
+     * @param partId Partition id.
+     */
+    private Path partitionSnapshotsPath(TableConfiguration tableCfg, int partId) {
+        Path path = storagePath.resolve(PARTITION_SNAPSHOTS_DIR + tableCfg.value().tableId()).resolve(String.valueOf(partId));
+
+        deleteIfExists(path);
+
+        return path;
+    }
+
     private RaftGroupOptions groupOptionsForPartition(
             InternalTable internalTbl,
             ExtendedTableConfiguration tableConfig,
-            MvPartitionStorage partitionStorage,
+            PartitionAccess partitionAccess,
             Set<ClusterNode> peers
     ) {
         RaftGroupOptions raftGroupOptions;
@@ -852,9 +1149,9 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
         //TODO Revisit peers String representation: https://issues.apache.org/jira/browse/IGNITE-17814
         raftGroupOptions.snapshotStorageFactory(new PartitionSnapshotStorageFactory(
                 raftMgr.topologyService(),
-                //TODO IGNITE-17302 Use miniumum from mv storage and tx state storage.
-                new OutgoingSnapshotsManager(raftMgr.messagingService()),
-                partitionStorage::persistedIndex,
+                outgoingSnapshotsManager,
+                incomingSnapshotsExecutor,
+                partitionAccess,
                 peers.stream().map(n -> new Peer(n.address())).map(PeerId::fromPeer).map(Object::toString).collect(Collectors.toList()),
                 List.of()
         ));
@@ -871,6 +1168,14 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
 
         busyLock.block();
 
+        indexBuilder.stop();
+
+        try {
+            outgoingSnapshotsManager.stop();
+        } catch (Exception e) {
+            LOG.info("Unable to stop outgoing snapshots manager", e);
+        }
+
         Map<UUID, TableImpl> tables = tablesByIdVv.latest();
 
         cleanUpTablesResources(tables);
@@ -881,6 +1186,7 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
 
         shutdownAndAwaitTermination(rebalanceScheduler, 10, TimeUnit.SECONDS);
         shutdownAndAwaitTermination(ioExecutor, 10, TimeUnit.SECONDS);
+        shutdownAndAwaitTermination(incomingSnapshotsExecutor, 10, TimeUnit.SECONDS);
         shutdownAndAwaitTermination(txStateStoragePool, 10, TimeUnit.SECONDS);
         shutdownAndAwaitTermination(txStateStorageScheduledPool, 10, TimeUnit.SECONDS);
     }
@@ -1008,7 +1314,9 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                 path,
                 txStateStorageScheduledPool,
                 txStateStoragePool,
-                TX_STATE_STORAGE_FLUSH_DELAY_SUPPLIER
+                TX_STATE_STORAGE_FLUSH_DELAY_SUPPLIER,
+                () -> new HybridTimestamp(System.currentTimeMillis() - tablesCfg.txStateRetentionMillis().value(), 0),
+                () -> tablesCfg.txStateCompactionIntervalMillis().value()
         );
 
         txStateTableStorage.start();
@@ -1046,7 +1354,9 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
             int partitions = assignment.size();
 
             for (int p = 0; p < partitions; p++) {
-                raftMgr.stopRaftGroup(partitionRaftGroupName(tblId, p));
+                indexBuilder.stopBuildIndexes(tblId, p);
+
+                raftMgr.destroyRaftGroup(partitionRaftGroupName(tblId, p));
 
                 replicaMgr.stopReplica(partitionRaftGroupName(tblId, p));
             }
@@ -1707,6 +2017,8 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
 
                     ConcurrentHashMap<ByteBuffer, RowId> primaryIndex = new ConcurrentHashMap<>();
 
+                    Function<UUID, TableSchemaAwareIndexStorage> indexStorages = indexStorageResolver(tbl, partId);
+
                     try {
                         LOG.info("Received update on pending assignments. Check if new raft group should be started"
                                         + " [key={}, partition={}, table={}, localMemberAddress={}]",
@@ -1715,18 +2027,38 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                         if (raftMgr.shouldHaveRaftGroupLocally(deltaPeers)) {
                             MvPartitionStorage partitionStorage = tbl.internalTable().storage().getOrCreateMvPartition(partId);
 
+                            TxStateStorage txStateStorage = tbl.internalTable().txStateStorage().getOrCreateTxStateStorage(partId);
+
+                            Supplier<List<TableSchemaAwareIndexStorage>> indexes = partitionIndexes(tblId, indexStorages);
+
+                            PartitionSnapshots partitionSnapshots = new PartitionSnapshots();
+
                             RaftGroupOptions groupOptions = groupOptionsForPartition(
                                     tbl.internalTable(),
                                     tblCfg,
-                                    partitionStorage,
+                                    new PartitionAccessImpl(
+                                            partId,
+                                            tbl.internalTable().storage(),
+                                            partitionStorage,
+                                            txStateStorage,
+                                            indexes,
+                                            primaryIndex,
+                                            partitionSnapshots,
+                                            partitionSnapshotsPath(tblCfg, partId),
+                                            indexBuilder,
+                                            () -> startIndexBuilds(tbl, partId, partitionStorage, indexStorages)
+                                    ),
                                     assignments
                             );
 
                             RaftGroupListener raftGrpLsnr = new PartitionListener(
+                                    partId,
                                     partitionStorage,
-                                    tbl.internalTable().txStateStorage().getOrCreateTxStateStorage(partId),
+                                    txStateStorage,
                                     txManager,
-                                    primaryIndex
+                                    primaryIndex,
+                                    indexes,
+                                    partitionSnapshots
                             );
 
                             RaftGroupEventsListener raftGrpEvtsLsnr = new RebalanceRaftGroupEventsListener(
@@ -1762,9 +2094,12 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                                             grpId,
                                             tblId,
                                             primaryIndex,
+                                            indexStorages,
                                             clock
                                     )
                             );
+
+                            startIndexBuilds(tbl, partId, partitionStorage, indexStorages);
                         }
                     } catch (NodeStoppingException e) {
                         // no-op
@@ -1837,7 +2172,9 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                         ClusterNode localMember = raftMgr.topologyService().localMember();
 
                         if (!stableAssignments.contains(localMember) && !pendingAssignments.contains(localMember)) {
-                            raftMgr.stopRaftGroup(partId);
+                            indexBuilder.stopBuildIndexes(tblId, part);
+
+                            raftMgr.destroyRaftGroup(partId);
 
                             replicaMgr.stopReplica(partId);
                         }
@@ -19,6 +19,8 @@ package org.apache.ignite.internal.table.distributed;
 
 import org.apache.ignite.internal.table.distributed.message.HasDataRequest;
 import org.apache.ignite.internal.table.distributed.message.HasDataResponse;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileRequest;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileResponse;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaResponse;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataRequest;
@@ -125,4 +127,14 @@ public interface TableMessageGroup {
      * Message type for {@link SnapshotTxDataResponse}.
      */
     short SNAPSHOT_TX_DATA_RESPONSE = 16;
+
+    /**
+     * Message type for {@link SnapshotFileRequest}.
+     */
+    short SNAPSHOT_FILE_REQUEST = 17;
+
+    /**
+     * Message type for {@link SnapshotFileResponse}.
+     */
+    short SNAPSHOT_FILE_RESPONSE = 18;
 }
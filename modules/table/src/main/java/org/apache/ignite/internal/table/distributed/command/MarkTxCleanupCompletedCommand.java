@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command;
+
+import java.util.UUID;
+import org.apache.ignite.hlc.HybridTimestamp;
+
+/**
+ * State machine command to mark a finished transaction as cleaned up: the write intents of the transaction are resolved on all its
+ * enlisted partitions, so the state of the transaction is not needed anymore and can be removed by the transaction state storage
+ * compaction.
+ */
+public class MarkTxCleanupCompletedCommand extends PartitionCommand {
+    /**
+     * Time when the cleanup has been completed.
+     */
+    private final HybridTimestamp cleanupTimestamp;
+
+    /**
+     * The constructor.
+     *
+     * @param txId The txId.
+     * @param cleanupTimestamp Time when the cleanup has been completed.
+     */
+    public MarkTxCleanupCompletedCommand(UUID txId, HybridTimestamp cleanupTimestamp) {
+        super(txId);
+        this.cleanupTimestamp = cleanupTimestamp;
+    }
+
+    /**
+     * Returns a time when the cleanup has been completed.
+     *
+     * @return A time when the cleanup has been completed.
+     */
+    public HybridTimestamp cleanupTimestamp() {
+        return cleanupTimestamp;
+    }
+}
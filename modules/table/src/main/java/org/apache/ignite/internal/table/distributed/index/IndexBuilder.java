@@ -0,0 +1,647 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.ignite.internal.util.IgniteUtils.shutdownAndAwaitTermination;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.index.BinaryTupleComparator;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
+import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteSpinBusyLock;
+import org.apache.ignite.internal.vault.VaultEntry;
+import org.apache.ignite.internal.vault.VaultManager;
+import org.apache.ignite.lang.ByteArray;
+import org.apache.ignite.lang.IgniteSystemProperties;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Builds secondary indexes from the data that is already present in the partitions, e.g. when an index is created for a populated
+ * table.
+ *
+ * <p>Every partition index is built by its own task, tasks of different partitions are executed in parallel. A task scans the row
+ * versions of the partition in the {@link RowId} order and writes index entries in batches, every batch is written atomically by
+ * {@link MvPartitionStorage#runConsistently}. Entries of a batch are written in the index order, so that the sorted index storages
+ * are populated sequentially. The task remembers the last processed row ID, so a batch only holds the partition for a short time,
+ * and concurrent writes are not blocked for the whole build.
+ *
+ * <p>Entries are created for all row versions, the same way the write path (see {@code PartitionListener}) does, outdated entries
+ * are filtered out by readers. Index writes are idempotent, so a build can safely overlap with the write path maintenance or be
+ * restarted from any earlier row ID.
+ *
+ * <p>The progress of the builds of persistent partitions is saved to the vault: every {@link #PROGRESS_SAVE_BATCHES} batches the
+ * partition storage is flushed and the next row ID to process is saved, once the build is finished, the completion is saved. So a
+ * build started after a node restart resumes from the last saved row ID, and the indexes that are already built are not scanned again.
+ *
+ * <p>Every partition index build is throttled on its own, so the total build rate grows with the number of local partitions, the
+ * limit is taken from the {@code indexBuildRowsPerSecond} property of the tables configuration when the build starts.
+ *
+ * <p>The saved progress describes the partition data it has been saved for. When the data is replaced, e.g. by a snapshot, the
+ * progress is reset by {@link #resetBuildIndexes}.
+ */
+public class IndexBuilder {
+    /** The logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(IndexBuilder.class);
+
+    /** Maximum number of row versions written to an index in one batch. */
+    public static final String IGNITE_INDEX_BUILD_BATCH_SIZE = "IGNITE_INDEX_BUILD_BATCH_SIZE";
+
+    /** Default value of {@link #IGNITE_INDEX_BUILD_BATCH_SIZE}. */
+    private static final int DFLT_BATCH_SIZE = 1_000;
+
+    /** Number of batches between the saves of the build progress. */
+    static final int PROGRESS_SAVE_BATCHES = 100;
+
+    /** Prefix of the vault keys of the build progress. */
+    private static final String PROGRESS_KEY_PREFIX = "index.build.";
+
+    /** Build progress value of a completed build. */
+    private static final byte[] BUILD_COMPLETED = new byte[0];
+
+    /** Vault manager to save the build progress to. */
+    private final VaultManager vaultMgr;
+
+    /** Executor of the build tasks. */
+    private final ScheduledExecutorService executor;
+
+    /** Maximum number of row versions in a batch. */
+    private final int batchSize;
+
+    /** Supplier of the maximum number of row versions indexed per second by a partition index build, {@code 0} disables the throttling. */
+    private final LongSupplier rowsPerSecond;
+
+    /** Active build tasks. */
+    private final Map<BuildKey, BuildIndexTask> tasks = new ConcurrentHashMap<>();
+
+    /** Metric source. */
+    private final IndexBuilderMetricSource metricSource = new IndexBuilderMetricSource(tasks::size);
+
+    /** Busy lock to stop synchronously. */
+    private final IgniteSpinBusyLock busyLock = new IgniteSpinBusyLock();
+
+    /**
+     * Constructor with the batch size taken from the system properties.
+     *
+     * @param nodeName Node name.
+     * @param threads Number of build threads.
+     * @param vaultMgr Vault manager to save the build progress to.
+     * @param rowsPerSecond Supplier of the maximum number of row versions indexed per second by a partition index build, {@code 0}
+     *      disables the throttling. The value is read when a build starts.
+     */
+    public IndexBuilder(String nodeName, int threads, VaultManager vaultMgr, LongSupplier rowsPerSecond) {
+        this(
+                nodeName,
+                threads,
+                vaultMgr,
+                IgniteSystemProperties.getInteger(IGNITE_INDEX_BUILD_BATCH_SIZE, DFLT_BATCH_SIZE),
+                rowsPerSecond
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param nodeName Node name.
+     * @param threads Number of build threads.
+     * @param vaultMgr Vault manager to save the build progress to.
+     * @param batchSize Maximum number of row versions in a batch.
+     * @param rowsPerSecond Supplier of the maximum number of row versions indexed per second by a partition index build, {@code 0}
+     *      disables the throttling. The value is read when a build starts.
+     */
+    public IndexBuilder(String nodeName, int threads, VaultManager vaultMgr, int batchSize, LongSupplier rowsPerSecond) {
+        assert batchSize > 0 : batchSize;
+
+        this.vaultMgr = vaultMgr;
+        this.batchSize = batchSize;
+        this.rowsPerSecond = rowsPerSecond;
+
+        executor = new ScheduledThreadPoolExecutor(threads, NamedThreadFactory.create(nodeName, "index-builder", LOG));
+    }
+
+    /**
+     * Starts building an index for a partition, does nothing if the build is already in progress. If the progress is saved, the build
+     * is resumed from the saved row ID, or isn't started at all if it has been completed.
+     *
+     * @param tableId Table ID.
+     * @param partitionId Partition ID.
+     * @param partitionStorage Partition storage.
+     * @param indexStorage Partition index storage.
+     * @param saveProgress Whether to save the build progress, must be {@code false} for volatile storages, that lose the index data
+     *      on restart.
+     */
+    public void startBuildIndex(
+            UUID tableId,
+            int partitionId,
+            MvPartitionStorage partitionStorage,
+            TableSchemaAwareIndexStorage indexStorage,
+            boolean saveProgress
+    ) {
+        if (!busyLock.enterBusy()) {
+            return;
+        }
+
+        try {
+            BuildKey key = new BuildKey(indexStorage.id(), partitionId);
+
+            BuildIndexTask task = new BuildIndexTask(key, tableId, partitionStorage, indexStorage, saveProgress);
+
+            if (tasks.putIfAbsent(key, task) == null) {
+                LOG.info("Index build started [tableId={}, partitionId={}, indexId={}]", tableId, partitionId, key.indexId);
+
+                executor.execute(task);
+            }
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * Stops building an index for all partitions and removes its saved build progress, e.g. when the index is dropped.
+     *
+     * @param indexId Index ID.
+     */
+    public void stopBuildIndex(UUID indexId) {
+        tasks.values().removeIf(task -> {
+            boolean remove = task.key.indexId.equals(indexId);
+
+            if (remove) {
+                task.cancelled = true;
+            }
+
+            return remove;
+        });
+
+        if (!busyLock.enterBusy()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> removeProgress(indexId));
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * Stops building all indexes of a table partition, e.g. when the partition is stopped.
+     *
+     * @param tableId Table ID.
+     * @param partitionId Partition ID.
+     */
+    public void stopBuildIndexes(UUID tableId, int partitionId) {
+        tasks.values().removeIf(task -> {
+            boolean remove = task.tableId.equals(tableId) && task.key.partitionId == partitionId;
+
+            if (remove) {
+                task.cancelled = true;
+            }
+
+            return remove;
+        });
+    }
+
+    /**
+     * Stops building the given indexes of a partition and removes their saved build progress of the partition, e.g. when the partition
+     * data is replaced by a snapshot. Waits for the batches in progress and the progress saves, so nothing is written by the stopped
+     * builds once the method returns.
+     *
+     * @param indexIds Index IDs.
+     * @param partitionId Partition ID.
+     */
+    public void resetBuildIndexes(Collection<UUID> indexIds, int partitionId) {
+        List<BuildIndexTask> stopped = new ArrayList<>();
+
+        tasks.values().removeIf(task -> {
+            boolean remove = task.key.partitionId == partitionId && indexIds.contains(task.key.indexId);
+
+            if (remove) {
+                task.cancelled = true;
+
+                stopped.add(task);
+            }
+
+            return remove;
+        });
+
+        stopped.forEach(BuildIndexTask::awaitStopped);
+
+        CompletableFuture<?>[] removeFutures = indexIds.stream()
+                .map(indexId -> vaultMgr.remove(progressKey(indexId, partitionId)))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(removeFutures).join();
+    }
+
+    /**
+     * Checks whether an index of a partition is being built.
+     *
+     * @param indexId Index ID.
+     * @param partitionId Partition ID.
+     * @return {@code True} if the build is in progress.
+     */
+    public boolean isBuilding(UUID indexId, int partitionId) {
+        return tasks.containsKey(new BuildKey(indexId, partitionId));
+    }
+
+    /**
+     * Returns the metric source of the builder.
+     */
+    public IndexBuilderMetricSource metricSource() {
+        return metricSource;
+    }
+
+    /**
+     * Stops the builder, the builds in progress are interrupted.
+     */
+    public void stop() {
+        busyLock.block();
+
+        tasks.values().forEach(task -> task.cancelled = true);
+        tasks.clear();
+
+        shutdownAndAwaitTermination(executor, 10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes the saved build progress of an index for all partitions.
+     *
+     * @param indexId Index ID.
+     */
+    private void removeProgress(UUID indexId) {
+        // Keys of the index partitions share the prefix, the upper bound is the prefix with the last character incremented.
+        ByteArray fromKey = ByteArray.fromString(PROGRESS_KEY_PREFIX + indexId + '.');
+        ByteArray toKey = ByteArray.fromString(PROGRESS_KEY_PREFIX + indexId + '/');
+
+        List<ByteArray> keys = new ArrayList<>();
+
+        try (Cursor<VaultEntry> cursor = vaultMgr.range(fromKey, toKey)) {
+            cursor.forEachRemaining(entry -> keys.add(entry.key()));
+        } catch (Exception e) {
+            LOG.warn("Failed to remove the index build progress [indexId={}]", e, indexId);
+
+            return;
+        }
+
+        keys.forEach(vaultMgr::remove);
+    }
+
+    /**
+     * Returns the vault key of the build progress of a partition index.
+     *
+     * @param indexId Index ID.
+     * @param partitionId Partition ID.
+     * @return Vault key.
+     */
+    static ByteArray progressKey(UUID indexId, int partitionId) {
+        return ByteArray.fromString(PROGRESS_KEY_PREFIX + indexId + '.' + partitionId);
+    }
+
+    /**
+     * Key of a build task.
+     */
+    private static class BuildKey {
+        final UUID indexId;
+
+        final int partitionId;
+
+        BuildKey(UUID indexId, int partitionId) {
+            this.indexId = indexId;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            BuildKey buildKey = (BuildKey) o;
+
+            return partitionId == buildKey.partitionId && indexId.equals(buildKey.indexId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(indexId, partitionId);
+        }
+    }
+
+    /**
+     * Task that builds an index of a partition batch by batch. Every execution processes a single batch and reschedules the task, so
+     * the builds of different partitions share the threads fairly.
+     */
+    private class BuildIndexTask implements Runnable {
+        final BuildKey key;
+
+        final UUID tableId;
+
+        final MvPartitionStorage partitionStorage;
+
+        final TableSchemaAwareIndexStorage indexStorage;
+
+        /** Comparator of the index rows in the index order, {@code null} if the order doesn't matter. */
+        final @Nullable Comparator<IndexRow> comparator;
+
+        /** Whether the build progress is saved. */
+        final boolean saveProgress;
+
+        /** Next row ID to process, accessed by one task execution at a time. */
+        @Nullable RowId nextRowId;
+
+        /** Whether the saved progress has been loaded, accessed by one task execution at a time. */
+        boolean progressLoaded;
+
+        /** Number of batches processed since the last progress save, accessed by one task execution at a time. */
+        int batchesSinceProgressSave;
+
+        /** Time quota of a single row version in nanoseconds, {@code 0} if the throttling is disabled. */
+        final long nanosPerRow;
+
+        /** The earliest {@link System#nanoTime()} the next batch is allowed to start at, accessed by one task execution at a time. */
+        long nextBatchTime = System.nanoTime();
+
+        /** Lock held by the task execution. */
+        final Lock runLock = new ReentrantLock();
+
+        /** Future of the last progress save. */
+        volatile CompletableFuture<Void> progressSaveFuture = CompletableFuture.completedFuture(null);
+
+        volatile boolean cancelled;
+
+        BuildIndexTask(
+                BuildKey key,
+                UUID tableId,
+                MvPartitionStorage partitionStorage,
+                TableSchemaAwareIndexStorage indexStorage,
+                boolean saveProgress
+        ) {
+            this.key = key;
+            this.tableId = tableId;
+            this.partitionStorage = partitionStorage;
+            this.indexStorage = indexStorage;
+            this.saveProgress = saveProgress;
+
+            if (indexStorage.storage() instanceof SortedIndexStorage) {
+                var tupleComparator = new BinaryTupleComparator(((SortedIndexStorage) indexStorage.storage()).indexDescriptor());
+
+                comparator = Comparator.<IndexRow, ByteBuffer>comparing(row -> row.indexColumns().byteBuffer(), tupleComparator)
+                        .thenComparing(IndexRow::rowId);
+            } else {
+                comparator = null;
+            }
+
+            nextRowId = RowId.lowestRowId(key.partitionId);
+
+            long rows = rowsPerSecond.getAsLong();
+
+            nanosPerRow = rows <= 0 ? 0 : Math.max(1, TimeUnit.SECONDS.toNanos(1) / rows);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled || !busyLock.enterBusy()) {
+                return;
+            }
+
+            runLock.lock();
+
+            try {
+                // Re-checked under the lock, the task must not proceed once it has been stopped and waited for.
+                if (cancelled) {
+                    return;
+                }
+
+                if (saveProgress && !progressLoaded) {
+                    progressLoaded = true;
+
+                    nextRowId = loadProgress();
+
+                    if (nextRowId == null) {
+                        if (tasks.remove(key, this)) {
+                            LOG.info("Index is already built [tableId={}, partitionId={}, indexId={}]", tableId, key.partitionId,
+                                    key.indexId);
+                        }
+
+                        return;
+                    }
+                }
+
+                int indexedRows = partitionStorage.runConsistently(this::indexBatch);
+
+                metricSource.onBatchIndexed(indexedRows);
+
+                if (nextRowId == null) {
+                    metricSource.onBuildCompleted();
+
+                    if (saveProgress) {
+                        saveProgress(null);
+
+                        // The task is kept until the completion is saved, so a reset of the build waits for the save.
+                        progressSaveFuture.thenRun(() -> tasks.remove(key, this));
+                    } else {
+                        tasks.remove(key, this);
+                    }
+
+                    LOG.info("Index build finished [tableId={}, partitionId={}, indexId={}]", tableId, key.partitionId, key.indexId);
+                } else if (!cancelled) {
+                    if (saveProgress && ++batchesSinceProgressSave == PROGRESS_SAVE_BATCHES) {
+                        batchesSinceProgressSave = 0;
+
+                        saveProgress(nextRowId);
+                    }
+
+                    long delay = throttle(indexedRows);
+
+                    if (delay > 0) {
+                        metricSource.onThrottled(NANOSECONDS.toMillis(delay));
+                    }
+
+                    executor.schedule(this, delay, NANOSECONDS);
+                }
+            } catch (Throwable t) {
+                tasks.remove(key, this);
+
+                LOG.error("Index build failed [tableId={}, partitionId={}, indexId={}]", t, tableId, key.partitionId, key.indexId);
+            } finally {
+                runLock.unlock();
+
+                busyLock.leaveBusy();
+            }
+        }
+
+        /**
+         * Waits for the execution in progress and the progress save of the cancelled task.
+         */
+        void awaitStopped() {
+            assert cancelled;
+
+            runLock.lock();
+
+            try {
+                progressSaveFuture.join();
+            } finally {
+                runLock.unlock();
+            }
+        }
+
+        /**
+         * Reserves the throttling quota for the given number of indexed rows.
+         *
+         * @param rows Number of indexed row versions.
+         * @return Delay in nanoseconds before the next batch is allowed to start.
+         */
+        private long throttle(int rows) {
+            if (nanosPerRow == 0 || rows == 0) {
+                return 0;
+            }
+
+            long now = System.nanoTime();
+
+            nextBatchTime = (nextBatchTime - now > 0 ? nextBatchTime : now) + rows * nanosPerRow;
+
+            return Math.max(0, nextBatchTime - now);
+        }
+
+        /**
+         * Loads the saved build progress.
+         *
+         * @return Row ID to resume the build from, {@code null} if the build has been completed.
+         */
+        private @Nullable RowId loadProgress() {
+            VaultEntry entry = vaultMgr.get(progressKey(key.indexId, key.partitionId)).join();
+
+            if (entry == null) {
+                return RowId.lowestRowId(key.partitionId);
+            }
+
+            byte[] value = entry.value();
+
+            if (value.length == 0) {
+                return null;
+            }
+
+            ByteBuffer buf = ByteBuffer.wrap(value);
+
+            return new RowId(key.partitionId, buf.getLong(), buf.getLong());
+        }
+
+        /**
+         * Saves the build progress once the index entries written so far are persisted, so the saved progress never runs ahead of the
+         * index data.
+         *
+         * @param nextRowId Next row ID to process, {@code null} if the build is completed.
+         */
+        private void saveProgress(@Nullable RowId nextRowId) {
+            byte[] value = nextRowId == null
+                    ? BUILD_COMPLETED
+                    : ByteBuffer.allocate(2 * Long.BYTES)
+                            .putLong(nextRowId.mostSignificantBits())
+                            .putLong(nextRowId.leastSignificantBits())
+                            .array();
+
+            progressSaveFuture = partitionStorage.flush()
+                    .thenCompose(unused -> vaultMgr.put(progressKey(key.indexId, key.partitionId), value))
+                    .handle((unused, e) -> {
+                        if (e != null) {
+                            LOG.warn("Failed to save the index build progress [tableId={}, partitionId={}, indexId={}]", e, tableId,
+                                    key.partitionId, key.indexId);
+                        }
+
+                        return null;
+                    });
+        }
+
+        /**
+         * Indexes the next batch of row versions.
+         *
+         * @return Number of indexed row versions.
+         */
+        private int indexBatch() {
+            List<IndexRow> batch = new ArrayList<>(batchSize);
+
+            RowId rowId = nextRowId;
+
+            while (rowId != null && batch.size() < batchSize) {
+                rowId = partitionStorage.closestRowId(rowId);
+
+                if (rowId == null) {
+                    break;
+                }
+
+                try (Cursor<ReadResult> versions = partitionStorage.scanVersions(rowId)) {
+                    for (ReadResult version : versions) {
+                        BinaryRow row = version.binaryRow();
+
+                        // Tombstones are not indexed.
+                        if (row != null) {
+                            batch.add(new IndexRowImpl(indexStorage.resolveIndexRow(row), rowId));
+                        }
+                    }
+                } catch (StorageException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new StorageException("Failed to read row versions [rowId=" + rowId + ']', e);
+                }
+
+                rowId = rowId.increment();
+            }
+
+            if (comparator != null) {
+                batch.sort(comparator);
+            }
+
+            for (IndexRow indexRow : batch) {
+                indexStorage.storage().put(indexRow);
+            }
+
+            nextRowId = rowId;
+
+            return batch.size();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import java.util.function.IntSupplier;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link IndexBuilder}.
+ */
+public class IndexBuilderMetricSource extends AbstractMetricSource<IndexBuilderMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "index.builder";
+
+    /** Supplier of the number of partition indexes being built. */
+    private final IntSupplier activeBuilds;
+
+    /**
+     * Constructor.
+     *
+     * @param activeBuilds Supplier of the number of partition indexes being built.
+     */
+    IndexBuilderMetricSource(IntSupplier activeBuilds) {
+        super(SOURCE_NAME);
+
+        this.activeBuilds = activeBuilds;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.intGauge("ActiveBuilds", "Number of partition indexes that are being built.", activeBuilds);
+
+        bldr.register(holder.completedBuilds);
+        bldr.register(holder.indexedRows);
+        bldr.register(holder.indexedBatches);
+        bldr.register(holder.throttleTime);
+    }
+
+    /**
+     * Called when a partition index build is finished.
+     */
+    void onBuildCompleted() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.completedBuilds.increment();
+        }
+    }
+
+    /**
+     * Called when a batch of row versions is written to an index.
+     *
+     * @param rows Number of indexed row versions.
+     */
+    void onBatchIndexed(int rows) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.indexedRows.add(rows);
+            holder.indexedBatches.increment();
+        }
+    }
+
+    /**
+     * Called when a batch is postponed by the throttling.
+     *
+     * @param delayMillis Delay in milliseconds.
+     */
+    void onThrottled(long delayMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.throttleTime.add(delayMillis);
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric completedBuilds = new LongAdderMetric(
+                "CompletedBuilds",
+                "Number of partition indexes that have been built."
+        );
+
+        private final LongAdderMetric indexedRows = new LongAdderMetric(
+                "IndexedRows",
+                "Number of row versions written to the indexes by the builder."
+        );
+
+        private final LongAdderMetric indexedBatches = new LongAdderMetric(
+                "IndexedBatches",
+                "Number of batches written to the indexes by the builder."
+        );
+
+        private final LongAdderMetric throttleTime = new LongAdderMetric(
+                "ThrottleTime",
+                "Total time in milliseconds the index build batches have been postponed by the throttling."
+        );
+    }
+}
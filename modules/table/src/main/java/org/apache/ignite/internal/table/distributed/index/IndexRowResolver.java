@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.ignite.internal.schema.BinaryConverter;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryTuple;
+import org.apache.ignite.internal.schema.BinaryTupleSchema;
+import org.apache.ignite.internal.schema.BinaryTupleSchema.Element;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.SchemaRegistry;
+import org.apache.ignite.internal.storage.index.IndexDescriptor.ColumnDescriptor;
+import org.apache.ignite.lang.IgniteInternalException;
+
+/**
+ * Extracts the indexed columns from table rows of any schema version.
+ */
+public class IndexRowResolver implements Function<BinaryRow, BinaryTuple> {
+    /** Table schema registry supplier. */
+    private final Supplier<SchemaRegistry> schemaRegistry;
+
+    /** Indexed columns. */
+    private final List<? extends ColumnDescriptor> columns;
+
+    /** Schema of the index tuples. */
+    private final BinaryTupleSchema indexTupleSchema;
+
+    /** Converters by schema versions. */
+    private final Map<Integer, BinaryConverter> converters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param schemaRegistry Table schema registry supplier.
+     * @param columns Indexed columns.
+     */
+    public IndexRowResolver(Supplier<SchemaRegistry> schemaRegistry, List<? extends ColumnDescriptor> columns) {
+        this.schemaRegistry = schemaRegistry;
+        this.columns = columns;
+
+        Element[] elements = columns.stream()
+                .map(column -> new Element(column.type(), column.nullable()))
+                .toArray(Element[]::new);
+
+        indexTupleSchema = BinaryTupleSchema.create(elements);
+    }
+
+    @Override
+    public BinaryTuple apply(BinaryRow row) {
+        BinaryConverter converter = converters.computeIfAbsent(row.schemaVersion(), this::createConverter);
+
+        return new BinaryTuple(indexTupleSchema, converter.toTuple(row));
+    }
+
+    private BinaryConverter createConverter(int schemaVersion) {
+        SchemaDescriptor schema = schemaRegistry.get().schema(schemaVersion);
+
+        int[] columnIndexes = new int[columns.size()];
+
+        for (int i = 0; i < columnIndexes.length; i++) {
+            String columnName = columns.get(i).name();
+
+            Column column = schema.column(columnName);
+
+            if (column == null) {
+                throw new IgniteInternalException("Indexed column not found [column=" + columnName + ", schemaVersion=" + schemaVersion
+                        + ']');
+            }
+
+            columnIndexes[i] = column.schemaIndex();
+        }
+
+        return new BinaryConverter(schema, BinaryTupleSchema.createSchema(schema, columnIndexes));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryTuple;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+
+/**
+ * Index storage of a partition, that is aware of the table schema, i.e. is able to extract the indexed columns from a table row.
+ */
+public class TableSchemaAwareIndexStorage {
+    /** Index ID. */
+    private final UUID indexId;
+
+    /** Index storage. */
+    private final IndexStorage storage;
+
+    /** Extracts the indexed columns from a table row. */
+    private final Function<BinaryRow, BinaryTuple> indexRowResolver;
+
+    /**
+     * Constructor.
+     *
+     * @param indexId Index ID.
+     * @param storage Index storage.
+     * @param indexRowResolver Function that extracts the indexed columns from a table row.
+     */
+    public TableSchemaAwareIndexStorage(UUID indexId, IndexStorage storage, Function<BinaryRow, BinaryTuple> indexRowResolver) {
+        this.indexId = indexId;
+        this.storage = storage;
+        this.indexRowResolver = indexRowResolver;
+    }
+
+    /**
+     * Returns the index ID.
+     */
+    public UUID id() {
+        return indexId;
+    }
+
+    /**
+     * Returns the underlying index storage.
+     */
+    public IndexStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Extracts the indexed columns from a table row.
+     *
+     * @param tableRow Table row.
+     * @return Tuple with the indexed columns.
+     */
+    public BinaryTuple resolveIndexRow(BinaryRow tableRow) {
+        return indexRowResolver.apply(tableRow);
+    }
+
+    /**
+     * Checks whether the indexed columns of a table row are equal to the given index key. Index storages keep entries for all row
+     * versions, so this check is required to filter out entries of outdated versions.
+     *
+     * @param tableRow Table row.
+     * @param indexKey Index key, all indexed columns must be present.
+     * @return {@code True} if the indexed columns of the row are equal to the key.
+     */
+    public boolean matches(BinaryRow tableRow, BinaryTuple indexKey) {
+        BinaryTuple rowKey = resolveIndexRow(tableRow);
+
+        assert rowKey.count() == indexKey.count() : "rowKey=" + rowKey.count() + ", indexKey=" + indexKey.count();
+
+        for (int i = 0; i < indexKey.count(); i++) {
+            if (!Objects.deepEquals(rowKey.value(i), indexKey.value(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -25,6 +25,7 @@ import static org.apache.ignite.lang.IgniteStringFormatter.format;
 
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -36,31 +37,42 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.storage.DataRow;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.ReadResult;
 import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.basic.BinarySearchRow;
 import org.apache.ignite.internal.storage.basic.DelegatingDataRow;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
 import org.apache.ignite.internal.table.distributed.command.FinishTxCommand;
+import org.apache.ignite.internal.table.distributed.command.MarkTxCleanupCompletedCommand;
 import org.apache.ignite.internal.table.distributed.command.TxCleanupCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateCommand;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
 import org.apache.ignite.internal.tx.TxManager;
 import org.apache.ignite.internal.tx.TxMeta;
 import org.apache.ignite.internal.tx.TxState;
 import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
 import org.apache.ignite.internal.util.CollectionUtils;
+import org.apache.ignite.internal.util.Cursor;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.raft.client.Command;
 import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.service.CommandClosure;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
 import org.apache.ignite.raft.client.service.RaftGroupListener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 
 /**
@@ -70,6 +82,12 @@ public class PartitionListener implements RaftGroupListener {
     /** Logger. */
     private static final IgniteLogger LOG = Loggers.forClass(PartitionListener.class);
 
+    /** Maximum number of commands applied to the storage in a single batch, bounds the time a storage batch is held open. */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /** Partition id. */
+    private final int partitionId;
+
     /** Versioned partition storage. */
     private final MvPartitionStorage storage;
 
@@ -83,6 +101,12 @@ public class PartitionListener implements RaftGroupListener {
     /** Dummy primary index. */
     private final ConcurrentHashMap<ByteBuffer, RowId> primaryIndex;
 
+    /** Secondary index storages of the partition, maintained together with the partition storage. */
+    private final Supplier<List<TableSchemaAwareIndexStorage>> indexes;
+
+    /** Outgoing snapshots of the partition, they capture the rows before the rows are changed. */
+    private final PartitionSnapshots partitionSnapshots;
+
     /** Keys that were inserted by a transaction. */
     private HashMap<UUID, Set<ByteBuffer>> txsInsertedKeys = new HashMap<>();
 
@@ -92,24 +116,37 @@ public class PartitionListener implements RaftGroupListener {
     /** Rows that were inserted, updated or removed. */
     private HashMap<UUID, Set<RowId>> txsPendingRowIds = new HashMap<>();
 
+    /** Backup of the in-memory state changed by the storage batch being applied, {@code null} outside of a batch. */
+    @Nullable
+    private BatchBackup batchBackup;
+
     /**
      * The constructor.
      *
+     * @param partitionId Partition id.
      * @param store  The storage.
      * @param txStateStorage Transaction state storage.
      * @param txManager Transaction manager.
      * @param primaryIndex Primary index map.
+     * @param indexes Supplier of the secondary index storages of the partition.
+     * @param partitionSnapshots Outgoing snapshots of the partition.
      */
     public PartitionListener(
+            int partitionId,
             MvPartitionStorage store,
             TxStateStorage txStateStorage,
             TxManager txManager,
-            ConcurrentHashMap<ByteBuffer, RowId> primaryIndex
+            ConcurrentHashMap<ByteBuffer, RowId> primaryIndex,
+            Supplier<List<TableSchemaAwareIndexStorage>> indexes,
+            PartitionSnapshots partitionSnapshots
     ) {
+        this.partitionId = partitionId;
         this.storage = store;
         this.txStateStorage = txStateStorage;
         this.txManager = txManager;
         this.primaryIndex = primaryIndex;
+        this.indexes = indexes;
+        this.partitionSnapshots = partitionSnapshots;
     }
 
     /** {@inheritDoc} */
@@ -125,7 +162,15 @@ public class PartitionListener implements RaftGroupListener {
     /** {@inheritDoc} */
     @Override
     public void onWrite(Iterator<CommandClosure<WriteCommand>> iterator) {
-        iterator.forEachRemaining((CommandClosure<? extends WriteCommand> clo) -> {
+        // Consecutive storage commands are applied in a single storage batch, their results are sent once the batch is written. A batch
+        // must be discarded as a whole if it fails, so the commands are applied one by one if the storage can't roll a batch back.
+        int maxBatchSize = storage.supportsAtomicRollback() ? MAX_BATCH_SIZE : 1;
+
+        List<CommandClosure<? extends WriteCommand>> batch = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            CommandClosure<? extends WriteCommand> clo = iterator.next();
+
             Command command = clo.command();
 
             long commandIndex = clo.index();
@@ -136,15 +181,23 @@ public class PartitionListener implements RaftGroupListener {
                     : "Pending write command has a higher index than already processed commands [commandIndex=" + commandIndex
                     + ", storageAppliedIndex=" + storageAppliedIndex + ']';
 
+            if (command instanceof UpdateCommand || command instanceof UpdateAllCommand || command instanceof TxCleanupCommand) {
+                batch.add(clo);
+
+                if (batch.size() == maxBatchSize) {
+                    applyBatch(batch);
+                }
+
+                continue;
+            }
+
+            applyBatch(batch);
+
             try {
-                if (command instanceof UpdateCommand) {
-                    handleUpdateCommand((UpdateCommand) command, commandIndex);
-                } else if (command instanceof UpdateAllCommand) {
-                    handleUpdateAllCommand((UpdateAllCommand) command, commandIndex);
-                } else if (command instanceof FinishTxCommand) {
+                if (command instanceof FinishTxCommand) {
                     handleFinishTxCommand((FinishTxCommand) command, commandIndex);
-                } else if (command instanceof TxCleanupCommand) {
-                    handleTxCleanupCommand((TxCleanupCommand) command, commandIndex);
+                } else if (command instanceof MarkTxCleanupCompletedCommand) {
+                    handleMarkTxCleanupCompletedCommand((MarkTxCleanupCompletedCommand) command, commandIndex);
                 } else {
                     assert false : "Command was not found [cmd=" + command + ']';
                 }
@@ -152,101 +205,191 @@ public class PartitionListener implements RaftGroupListener {
             } catch (IgniteInternalException e) {
                 clo.result(e);
             }
-        });
+        }
+
+        applyBatch(batch);
     }
 
     /**
-     * Handler for the {@link UpdateCommand}.
+     * Applies the storage commands within a single {@link MvPartitionStorage#runConsistently} call, so the whole batch is written
+     * at once and the applied index is updated once per batch. Secondary indexes are updated within the same call, so they are
+     * consistent with the partition data. The batch is applied under the {@link PartitionSnapshots#lock() partition snapshots lock},
+     * so an outgoing snapshot is never taken in the middle of it. The batch is cleared afterwards.
      *
-     * @param cmd Command.
+     * <p>If any command of the batch fails, the in-memory state is restored and the error is rethrown. None of the closures of the
+     * batch is completed then, so the state machine considers all the commands of the batch as not applied, fails their closures and
+     * stops, as it does when a single command fails. The batch has several commands only if the storage
+     * {@link MvPartitionStorage#supportsAtomicRollback() discards} the writes of the whole failed batch, otherwise the commands are
+     * applied one by one, and the storage keeps the writes of the failed command made before the failure, the same way as without
+     * batching.
+     *
+     * @param batch Closures of the storage commands.
      */
-    private void handleUpdateCommand(UpdateCommand cmd, long commandIndex) {
-        storage.runConsistently(() -> {
-            BinaryRow row = cmd.getRow();
-            RowId rowId = cmd.getRowId();
-            UUID txId = cmd.txId();
+    private void applyBatch(List<CommandClosure<? extends WriteCommand>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
 
-            // TODO: IGNITE-17759 Need pass appropriate commitTableId and commitPartitionId.
-            storage.addWrite(rowId, row, txId, UUID.randomUUID(), 0);
+        List<TableSchemaAwareIndexStorage> indexes = this.indexes.get();
 
-            txsPendingRowIds.computeIfAbsent(txId, entry -> new HashSet<>()).add(rowId);
+        batchBackup = new BatchBackup();
 
-            if (row == null) {
-                // Remove entry.
-                List<ByteBuffer> keys = primaryIndex.entrySet().stream()
-                        .filter(e -> e.getValue().equals(rowId))
-                        .map(Entry::getKey)
-                        .collect(Collectors.toList());
+        partitionSnapshots.lock().lock();
 
-                assert keys.size() <= 1;
+        try {
+            applyBatchLocked(batch, indexes);
+        } catch (Throwable e) {
+            batchBackup.restore();
+
+            batch.clear();
+
+            throw e;
+        } finally {
+            partitionSnapshots.lock().unlock();
+
+            batchBackup = null;
+        }
+
+        for (CommandClosure<? extends WriteCommand> clo : batch) {
+            if (clo.command() instanceof TxCleanupCommand) {
+                TxCleanupCommand cmd = (TxCleanupCommand) clo.command();
+
+                // TODO: IGNITE-17638 TestOnly code, let's consider using Txn state map instead of states.
+                txManager.changeState(cmd.txId(), PENDING, cmd.commit() ? COMMITED : ABORTED);
+            }
+        }
+
+        batch.forEach(clo -> clo.result(null));
+
+        batch.clear();
+    }
 
-                if (keys.size() == 1) {
-                    txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).add(keys.get(0));
-                    txsInsertedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(keys.get(0));
+    private void applyBatchLocked(List<CommandClosure<? extends WriteCommand>> batch, List<TableSchemaAwareIndexStorage> indexes) {
+        storage.runConsistently(() -> {
+            for (CommandClosure<? extends WriteCommand> clo : batch) {
+                Command command = clo.command();
+
+                if (command instanceof UpdateCommand) {
+                    handleUpdateCommand((UpdateCommand) command, indexes);
+                } else if (command instanceof UpdateAllCommand) {
+                    handleUpdateAllCommand((UpdateAllCommand) command, indexes);
+                } else {
+                    handleTxCleanupCommand((TxCleanupCommand) command, indexes);
                 }
-            } else if (!primaryIndex.containsKey(row.keySlice())) {
-                // Insert entry.
-                txsInsertedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).add(row.keySlice());
-                txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(row.keySlice());
-
-                primaryIndex.put(row.keySlice(), rowId);
-            } else if (primaryIndex.containsKey(row.keySlice())) {
-                txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(row.keySlice());
             }
 
-            storage.lastAppliedIndex(commandIndex);
+            storage.lastAppliedIndex(batch.get(batch.size() - 1).index());
 
             return null;
         });
+
+        partitionSnapshots.lastAppliedTerm(batch.get(batch.size() - 1).term());
+    }
+
+    /**
+     * Handler for the {@link UpdateCommand}.
+     *
+     * @param cmd Command.
+     * @param indexes Secondary index storages.
+     */
+    private void handleUpdateCommand(UpdateCommand cmd, List<TableSchemaAwareIndexStorage> indexes) {
+        BinaryRow row = cmd.getRow();
+        RowId rowId = cmd.getRowId();
+        UUID txId = cmd.txId();
+
+        backupTx(txId);
+
+        partitionSnapshots.beforeRowUpdate(rowId);
+
+        // TODO: IGNITE-17759 Need pass appropriate commitTableId and commitPartitionId.
+        BinaryRow replacedRow = storage.addWrite(rowId, row, txId, UUID.randomUUID(), 0);
+
+        addToIndexes(rowId, row, indexes);
+
+        removeFromIndexes(rowId, replacedRow, indexes);
+
+        txsPendingRowIds.computeIfAbsent(txId, entry -> new HashSet<>()).add(rowId);
+
+        if (row == null) {
+            // Remove entry.
+            List<ByteBuffer> keys = primaryIndex.entrySet().stream()
+                    .filter(e -> e.getValue().equals(rowId))
+                    .map(Entry::getKey)
+                    .collect(Collectors.toList());
+
+            assert keys.size() <= 1;
+
+            if (keys.size() == 1) {
+                txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).add(keys.get(0));
+                txsInsertedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(keys.get(0));
+            }
+        } else if (!primaryIndex.containsKey(row.keySlice())) {
+            // Insert entry.
+            txsInsertedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).add(row.keySlice());
+            txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(row.keySlice());
+
+            backupPrimaryIndexKey(row.keySlice());
+
+            primaryIndex.put(row.keySlice(), rowId);
+        } else if (primaryIndex.containsKey(row.keySlice())) {
+            txsRemovedKeys.computeIfAbsent(txId, entry -> new HashSet<>()).remove(row.keySlice());
+        }
     }
 
     /**
      * Handler for the {@link UpdateAllCommand}.
      *
      * @param cmd Command.
+     * @param indexes Secondary index storages.
      */
-    private void handleUpdateAllCommand(UpdateAllCommand cmd, long commandIndex) {
-        storage.runConsistently(() -> {
-            UUID txId = cmd.txId();
-            Map<RowId, BinaryRow> rowsToUpdate = cmd.getRowsToUpdate();
-
-            if (!CollectionUtils.nullOrEmpty(rowsToUpdate)) {
-                for (Map.Entry<RowId, BinaryRow> entry : rowsToUpdate.entrySet()) {
-                    RowId rowId = entry.getKey();
-                    BinaryRow row = entry.getValue();
-                    // TODO: IGNITE-17759 Need pass appropriate commitTableId and commitPartitionId.
-                    storage.addWrite(rowId, row, txId, UUID.randomUUID(), 0);
-
-                    txsPendingRowIds.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(rowId);
-
-                    if (row == null) {
-                        // Remove entry.
-                        List<ByteBuffer> keys = primaryIndex.entrySet().stream()
-                                .filter(e -> e.getValue().equals(rowId))
-                                .map(Entry::getKey)
-                                .collect(Collectors.toList());
-
-                        assert keys.size() <= 1;
-
-                        if (keys.size() == 1) {
-                            txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(keys.get(0));
-                            txsInsertedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(keys.get(0));
-                        }
-                    } else if (!primaryIndex.containsKey(row.keySlice())) {
-                        // Insert entry.
-                        txsInsertedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(row.keySlice());
-                        txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(row.keySlice());
-
-                        primaryIndex.put(row.keySlice(), rowId);
-                    } else if (primaryIndex.containsKey(row.keySlice())) {
-                        txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(row.keySlice());
+    private void handleUpdateAllCommand(UpdateAllCommand cmd, List<TableSchemaAwareIndexStorage> indexes) {
+        UUID txId = cmd.txId();
+        Map<RowId, BinaryRow> rowsToUpdate = cmd.getRowsToUpdate();
+
+        backupTx(txId);
+
+        if (!CollectionUtils.nullOrEmpty(rowsToUpdate)) {
+            for (Map.Entry<RowId, BinaryRow> entry : rowsToUpdate.entrySet()) {
+                RowId rowId = entry.getKey();
+                BinaryRow row = entry.getValue();
+
+                partitionSnapshots.beforeRowUpdate(rowId);
+
+                // TODO: IGNITE-17759 Need pass appropriate commitTableId and commitPartitionId.
+                BinaryRow replacedRow = storage.addWrite(rowId, row, txId, UUID.randomUUID(), 0);
+
+                addToIndexes(rowId, row, indexes);
+
+                removeFromIndexes(rowId, replacedRow, indexes);
+
+                txsPendingRowIds.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(rowId);
+
+                if (row == null) {
+                    // Remove entry.
+                    List<ByteBuffer> keys = primaryIndex.entrySet().stream()
+                            .filter(e -> e.getValue().equals(rowId))
+                            .map(Entry::getKey)
+                            .collect(Collectors.toList());
+
+                    assert keys.size() <= 1;
+
+                    if (keys.size() == 1) {
+                        txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(keys.get(0));
+                        txsInsertedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(keys.get(0));
                     }
+                } else if (!primaryIndex.containsKey(row.keySlice())) {
+                    // Insert entry.
+                    txsInsertedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).add(row.keySlice());
+                    txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(row.keySlice());
+
+                    backupPrimaryIndexKey(row.keySlice());
+
+                    primaryIndex.put(row.keySlice(), rowId);
+                } else if (primaryIndex.containsKey(row.keySlice())) {
+                    txsRemovedKeys.computeIfAbsent(txId, entry0 -> new HashSet<>()).remove(row.keySlice());
                 }
             }
-            storage.lastAppliedIndex(commandIndex);
-
-            return null;
-        });
+        }
     }
 
     /**
@@ -297,49 +440,200 @@ public class PartitionListener implements RaftGroupListener {
         }
     }
 
+    /**
+     * Handler for the {@link MarkTxCleanupCompletedCommand}. Marks the finished transaction as cleaned up, so its state can be removed by
+     * the transaction state storage compaction.
+     *
+     * @param cmd Command.
+     * @param commandIndex Index of the RAFT command.
+     */
+    private void handleMarkTxCleanupCompletedCommand(MarkTxCleanupCompletedCommand cmd, long commandIndex) {
+        UUID txId = cmd.txId();
+
+        TxMeta txMeta = txStateStorage.get(txId);
+
+        if (txMeta == null || txMeta.txState() == TxState.PENDING || txMeta.cleanupCompleted()) {
+            return;
+        }
+
+        txStateStorage.compareAndSet(
+                txId,
+                txMeta.txState(),
+                new TxMeta(txMeta.txState(), txMeta.enlistedPartitions(), txMeta.commitTimestamp(), cmd.cleanupTimestamp()),
+                commandIndex
+        );
+    }
 
     /**
-     * Handler for the {@link TxCleanupCommand}.
+     * Handler for the {@link TxCleanupCommand}. The state of the transaction in the {@link TxManager} is changed once the batch of the
+     * command is written, see {@link #applyBatch}.
      *
      * @param cmd Command.
+     * @param indexes Secondary index storages.
      */
-    private void handleTxCleanupCommand(TxCleanupCommand cmd, long commandIndex) {
-        storage.runConsistently(() -> {
-            UUID txId = cmd.txId();
+    private void handleTxCleanupCommand(TxCleanupCommand cmd, List<TableSchemaAwareIndexStorage> indexes) {
+        UUID txId = cmd.txId();
 
-            Set<ByteBuffer> removedKeys = txsRemovedKeys.getOrDefault(txId, Collections.emptySet());
+        backupTx(txId);
 
-            Set<ByteBuffer> insertedKeys = txsInsertedKeys.getOrDefault(txId, Collections.emptySet());
+        Set<ByteBuffer> removedKeys = txsRemovedKeys.getOrDefault(txId, Collections.emptySet());
 
-            Set<RowId> pendingRowIds = txsPendingRowIds.getOrDefault(txId, Collections.emptySet());
+        Set<ByteBuffer> insertedKeys = txsInsertedKeys.getOrDefault(txId, Collections.emptySet());
 
-            if (cmd.commit()) {
-                pendingRowIds.forEach(rowId -> storage.commitWrite(rowId, cmd.commitTimestamp()));
-            } else {
-                pendingRowIds.forEach(rowId -> storage.abortWrite(rowId));
+        Set<RowId> pendingRowIds = txsPendingRowIds.getOrDefault(txId, Collections.emptySet());
+
+        if (cmd.commit()) {
+            for (RowId rowId : pendingRowIds) {
+                partitionSnapshots.beforeRowUpdate(rowId);
+
+                storage.commitWrite(rowId, cmd.commitTimestamp());
             }
+        } else {
+            for (RowId rowId : pendingRowIds) {
+                partitionSnapshots.beforeRowUpdate(rowId);
 
-            if (cmd.commit()) {
-                for (ByteBuffer key : removedKeys) {
-                    primaryIndex.remove(key);
-                }
+                BinaryRow abortedRow = storage.abortWrite(rowId);
+
+                removeFromIndexes(rowId, abortedRow, indexes);
+            }
+        }
+
+        for (ByteBuffer key : cmd.commit() ? removedKeys : insertedKeys) {
+            backupPrimaryIndexKey(key);
+
+            primaryIndex.remove(key);
+        }
+
+        txsRemovedKeys.remove(txId);
+        txsInsertedKeys.remove(txId);
+        txsPendingRowIds.remove(txId);
+    }
+
+    /**
+     * Backs up the in-memory state of a transaction before the first change of it within the current batch.
+     *
+     * @param txId Transaction ID.
+     */
+    private void backupTx(UUID txId) {
+        BatchBackup batchBackup = this.batchBackup;
+
+        assert batchBackup != null;
+
+        if (!batchBackup.txsPendingRowIds.containsKey(txId)) {
+            batchBackup.txsInsertedKeys.put(txId, copyOrNull(txsInsertedKeys.get(txId)));
+            batchBackup.txsRemovedKeys.put(txId, copyOrNull(txsRemovedKeys.get(txId)));
+            batchBackup.txsPendingRowIds.put(txId, copyOrNull(txsPendingRowIds.get(txId)));
+        }
+    }
+
+    /**
+     * Backs up the primary index mapping of a key before the first change of it within the current batch.
+     *
+     * @param key Primary key.
+     */
+    private void backupPrimaryIndexKey(ByteBuffer key) {
+        BatchBackup batchBackup = this.batchBackup;
+
+        assert batchBackup != null;
+
+        if (!batchBackup.primaryIndex.containsKey(key)) {
+            batchBackup.primaryIndex.put(key, primaryIndex.get(key));
+        }
+    }
+
+    private static <T> @Nullable Set<T> copyOrNull(@Nullable Set<T> set) {
+        return set == null ? null : new HashSet<>(set);
+    }
+
+    /**
+     * In-memory state of the partition as it was before the storage batch being applied, only the transactions and the primary keys
+     * changed by the batch are kept.
+     */
+    private class BatchBackup {
+        /** Keys that were inserted by the changed transactions, {@code null} values for absent entries. */
+        private final Map<UUID, Set<ByteBuffer>> txsInsertedKeys = new HashMap<>();
+
+        /** Keys that were removed by the changed transactions, {@code null} values for absent entries. */
+        private final Map<UUID, Set<ByteBuffer>> txsRemovedKeys = new HashMap<>();
+
+        /** Rows that were changed by the changed transactions, {@code null} values for absent entries. */
+        private final Map<UUID, Set<RowId>> txsPendingRowIds = new HashMap<>();
+
+        /** Primary index mappings of the changed keys, {@code null} values for absent mappings. */
+        private final Map<ByteBuffer, RowId> primaryIndex = new HashMap<>();
+
+        /** Restores the backed up state. */
+        void restore() {
+            for (UUID txId : txsPendingRowIds.keySet()) {
+                restore(PartitionListener.this.txsInsertedKeys, txId, txsInsertedKeys.get(txId));
+                restore(PartitionListener.this.txsRemovedKeys, txId, txsRemovedKeys.get(txId));
+                restore(PartitionListener.this.txsPendingRowIds, txId, txsPendingRowIds.get(txId));
+            }
+
+            primaryIndex.forEach((key, rowId) -> restore(PartitionListener.this.primaryIndex, key, rowId));
+        }
+
+        private <K, V> void restore(Map<K, V> map, K key, @Nullable V value) {
+            if (value == null) {
+                map.remove(key);
             } else {
-                for (ByteBuffer key : insertedKeys) {
-                    primaryIndex.remove(key);
-                }
+                map.put(key, value);
             }
+        }
+    }
 
-            txsRemovedKeys.remove(txId);
-            txsInsertedKeys.remove(txId);
-            txsPendingRowIds.remove(txId);
+    /**
+     * Adds the index entries of a new row version. Entries of the previous versions are kept, as they can still be read by the
+     * transactions that read at earlier timestamps, readers filter out the entries that don't match the row versions they read.
+     *
+     * @param rowId Row ID.
+     * @param row New row version, {@code null} for a tombstone, which is not indexed.
+     * @param indexes Secondary index storages.
+     */
+    private static void addToIndexes(RowId rowId, @Nullable BinaryRow row, List<TableSchemaAwareIndexStorage> indexes) {
+        if (row == null) {
+            return;
+        }
 
-            // TODO: IGNITE-17638 TestOnly code, let's consider using Txn state map instead of states.
-            txManager.changeState(txId, PENDING, cmd.commit() ? COMMITED : ABORTED);
+        for (TableSchemaAwareIndexStorage index : indexes) {
+            index.storage().put(new IndexRowImpl(index.resolveIndexRow(row), rowId));
+        }
+    }
 
-            storage.lastAppliedIndex(commandIndex);
+    /**
+     * Removes the index entries of a replaced or aborted write intent, unless they are still referenced by one of the remaining row
+     * versions. Must be called after the write intent is replaced or aborted in the partition storage.
+     *
+     * @param rowId Row ID.
+     * @param removedRow Removed write intent, {@code null} if it was a tombstone or there was no write intent.
+     * @param indexes Secondary index storages.
+     */
+    private void removeFromIndexes(RowId rowId, @Nullable BinaryRow removedRow, List<TableSchemaAwareIndexStorage> indexes) {
+        if (removedRow == null || indexes.isEmpty()) {
+            return;
+        }
 
-            return null;
-        });
+        List<BinaryRow> remainingRows = new ArrayList<>();
+
+        try (Cursor<ReadResult> versions = storage.scanVersions(rowId)) {
+            for (ReadResult version : versions) {
+                if (version.binaryRow() != null) {
+                    remainingRows.add(version.binaryRow());
+                }
+            }
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException("Failed to read row versions [rowId=" + rowId + ']', e);
+        }
+
+        for (TableSchemaAwareIndexStorage index : indexes) {
+            BinaryTuple removedKey = index.resolveIndexRow(removedRow);
+
+            if (remainingRows.stream().noneMatch(row -> index.matches(row, removedKey))) {
+                index.storage().remove(new IndexRowImpl(removedKey, rowId));
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -351,9 +645,65 @@ public class PartitionListener implements RaftGroupListener {
     /** {@inheritDoc} */
     @Override
     public boolean onSnapshotLoad(Path path) {
+        // The storage may have been filled by a rebalance snapshot, so the in-memory state is rebuilt from it.
+        primaryIndex.clear();
+
+        storage.forEach((rowId, row) -> primaryIndex.put(row.keySlice(), rowId));
+
+        txsInsertedKeys.clear();
+        txsRemovedKeys.clear();
+        txsPendingRowIds.clear();
+
+        RowId rowId = storage.closestRowId(RowId.lowestRowId(partitionId));
+
+        while (rowId != null) {
+            try (Cursor<ReadResult> versions = storage.scanVersions(rowId)) {
+                // The write intent is the newest version.
+                if (versions.hasNext()) {
+                    ReadResult newestVersion = versions.next();
+
+                    if (newestVersion.isWriteIntent()) {
+                        txsPendingRowIds.computeIfAbsent(newestVersion.transactionId(), entry -> new HashSet<>()).add(rowId);
+                    }
+                }
+            } catch (Exception e) {
+                LOG.error("Failed to read row versions [rowId={}]", e, rowId);
+
+                return false;
+            }
+
+            RowId nextRowId = rowId.increment();
+
+            rowId = nextRowId == null ? null : storage.closestRowId(nextRowId);
+        }
+
         return true;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void onConfigurationCommitted(CommittedConfiguration config) {
+        partitionSnapshots.lock().lock();
+
+        try {
+            // The configuration is committed in the log order, so all the preceding entries have been applied, and the applied index
+            // can be moved to the configuration entry, its term is known then.
+            if (config.index() >= storage.lastAppliedIndex()) {
+                storage.runConsistently(() -> {
+                    storage.lastAppliedIndex(config.index());
+
+                    return null;
+                });
+
+                partitionSnapshots.lastAppliedTerm(config.term());
+            }
+
+            partitionSnapshots.committedConfiguration(config);
+        } finally {
+            partitionSnapshots.lock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void onShutdown() {
@@ -17,10 +17,82 @@
 
 package org.apache.ignite.internal.table.distributed.raft.snapshot;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.engine.MvTableStorage;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+
 /**
  * Small abstractions for partition storages that includes only methods, mandatory for the snapshot storage.
  */
 public interface PartitionAccess {
+    /**
+     * Returns partition id.
+     */
+    int partitionId();
+
+    /**
+     * Returns multi-versioned partition storage, the rebalance snapshots are read from and written to it.
+     */
+    MvPartitionStorage mvPartitionStorage();
+
+    /**
+     * Returns transaction state storage of the partition, the rebalance snapshots are read from and written to it.
+     */
+    TxStateStorage txStatePartitionStorage();
+
+    /**
+     * Returns secondary index storages of the partition, they are filled together with the multi-versioned partition storage.
+     */
+    List<TableSchemaAwareIndexStorage> indexes();
+
+    /**
+     * Returns outgoing snapshots of the partition that are in progress.
+     */
+    PartitionSnapshots partitionSnapshots();
+
+    /**
+     * Removes all the data of the partition before a rebalance snapshot is written to it: row versions, their secondary index
+     * entries, the in-memory primary index and transaction states. Resets the applied index of the multi-versioned partition storage
+     * to {@code 0}, so a partially written snapshot is never taken for a consistent state of the partition.
+     */
+    void clear();
+
+    /**
+     * Returns {@code true} if the row versions of the partition and their secondary index entries are transferred as files of a physical
+     * snapshot instead of row by row, see {@link MvTableStorage#supportsPartitionSnapshots()}.
+     */
+    boolean supportsPhysicalSnapshots();
+
+    /**
+     * Returns a directory for the files of the outgoing and incoming physical snapshots of the partition.
+     */
+    Path physicalSnapshotsDir();
+
+    /**
+     * Creates a physical snapshot of the row versions of the partition and their secondary index entries, see
+     * {@link MvTableStorage#createPartitionSnapshot}. The state of the partition is captured when the method is called, the files are
+     * written asynchronously.
+     *
+     * @param snapshotDir Directory to put the snapshot files into.
+     * @return Future that completes when the snapshot files are written.
+     */
+    CompletableFuture<Void> createPhysicalSnapshot(Path snapshotDir);
+
+    /**
+     * Replaces the row versions of the partition and their secondary index entries with a physical snapshot, see
+     * {@link MvTableStorage#restorePartitionSnapshot}. Clears the in-memory primary index and transaction states. Resets the applied
+     * index of the multi-versioned partition storage to {@code 0}, like {@link #clear()} does, the applied index is set when the
+     * transaction states are written as well.
+     *
+     * @param snapshotDir Directory with the snapshot files.
+     */
+    void restorePhysicalSnapshot(Path snapshotDir);
+
     /**
      * Returns persisted RAFT index for the partition.
      */
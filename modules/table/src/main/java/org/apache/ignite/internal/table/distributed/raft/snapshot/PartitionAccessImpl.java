@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.raft.snapshot;
+
+import static java.util.stream.Collectors.toList;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.engine.MvTableStorage;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
+import org.apache.ignite.internal.table.distributed.index.IndexBuilder;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
+import org.apache.ignite.internal.tx.TxMeta;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.lang.IgniteBiTuple;
+
+/**
+ * {@link PartitionAccess} implementation.
+ */
+public class PartitionAccessImpl implements PartitionAccess {
+    /** Partition id. */
+    private final int partitionId;
+
+    /** Table storage the partition belongs to. */
+    private final MvTableStorage tableStorage;
+
+    /** Multi-versioned partition storage. */
+    private final MvPartitionStorage mvPartitionStorage;
+
+    /** Transaction state storage of the partition. */
+    private final TxStateStorage txStateStorage;
+
+    /** Secondary index storages of the partition. */
+    private final Supplier<List<TableSchemaAwareIndexStorage>> indexes;
+
+    /** In-memory primary index of the partition. */
+    private final Map<ByteBuffer, RowId> primaryIndex;
+
+    /** Outgoing snapshots of the partition. */
+    private final PartitionSnapshots partitionSnapshots;
+
+    /** Directory for the files of the physical snapshots of the partition. */
+    private final Path physicalSnapshotsDir;
+
+    /** Builder of the secondary indexes. */
+    private final IndexBuilder indexBuilder;
+
+    /** Starts the builds of the secondary indexes of the partition. */
+    private final Runnable indexBuildsStarter;
+
+    /**
+     * Constructor.
+     *
+     * @param partitionId Partition id.
+     * @param tableStorage Table storage the partition belongs to.
+     * @param mvPartitionStorage Multi-versioned partition storage.
+     * @param txStateStorage Transaction state storage of the partition.
+     * @param indexes Supplier of the secondary index storages of the partition.
+     * @param primaryIndex In-memory primary index of the partition.
+     * @param partitionSnapshots Outgoing snapshots of the partition, shared with the partition listener.
+     * @param physicalSnapshotsDir Directory for the files of the physical snapshots of the partition.
+     * @param indexBuilder Builder of the secondary indexes.
+     * @param indexBuildsStarter Starts the builds of the secondary indexes of the partition.
+     */
+    public PartitionAccessImpl(
+            int partitionId,
+            MvTableStorage tableStorage,
+            MvPartitionStorage mvPartitionStorage,
+            TxStateStorage txStateStorage,
+            Supplier<List<TableSchemaAwareIndexStorage>> indexes,
+            Map<ByteBuffer, RowId> primaryIndex,
+            PartitionSnapshots partitionSnapshots,
+            Path physicalSnapshotsDir,
+            IndexBuilder indexBuilder,
+            Runnable indexBuildsStarter
+    ) {
+        this.partitionId = partitionId;
+        this.tableStorage = tableStorage;
+        this.mvPartitionStorage = mvPartitionStorage;
+        this.txStateStorage = txStateStorage;
+        this.indexes = indexes;
+        this.primaryIndex = primaryIndex;
+        this.partitionSnapshots = partitionSnapshots;
+        this.physicalSnapshotsDir = physicalSnapshotsDir;
+        this.indexBuilder = indexBuilder;
+        this.indexBuildsStarter = indexBuildsStarter;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int partitionId() {
+        return partitionId;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public MvPartitionStorage mvPartitionStorage() {
+        return mvPartitionStorage;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TxStateStorage txStatePartitionStorage() {
+        return txStateStorage;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<TableSchemaAwareIndexStorage> indexes() {
+        return indexes.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PartitionSnapshots partitionSnapshots() {
+        return partitionSnapshots;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        List<TableSchemaAwareIndexStorage> indexes = this.indexes.get();
+
+        mvPartitionStorage.runConsistently(() -> {
+            mvPartitionStorage.lastAppliedIndex(0);
+
+            if (!indexes.isEmpty()) {
+                removeIndexEntries(indexes);
+            }
+
+            mvPartitionStorage.clear();
+
+            return null;
+        });
+
+        primaryIndex.clear();
+
+        clearTxStates();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsPhysicalSnapshots() {
+        return tableStorage.supportsPartitionSnapshots();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Path physicalSnapshotsDir() {
+        return physicalSnapshotsDir;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Void> createPhysicalSnapshot(Path snapshotDir) {
+        return tableStorage.createPartitionSnapshot(partitionId, snapshotDir);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void restorePhysicalSnapshot(Path snapshotDir) {
+        // The saved build progress describes the data being replaced, and the builds must not write into the restored storages.
+        List<UUID> indexIds = indexes.get().stream().map(TableSchemaAwareIndexStorage::id).collect(toList());
+
+        indexBuilder.resetBuildIndexes(indexIds, partitionId);
+
+        primaryIndex.clear();
+
+        clearTxStates();
+
+        tableStorage.restorePartitionSnapshot(partitionId, snapshotDir);
+
+        mvPartitionStorage.runConsistently(() -> {
+            mvPartitionStorage.lastAppliedIndex(0);
+
+            return null;
+        });
+
+        // The snapshot may have been taken in the middle of a build, so the builds start over on the restored data.
+        indexBuildsStarter.run();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long persistedIndex() {
+        //TODO IGNITE-17302 Use miniumum from mv storage and tx state storage.
+        return mvPartitionStorage.persistedIndex();
+    }
+
+    /**
+     * Removes the secondary index entries of all the row versions of the partition.
+     */
+    private void removeIndexEntries(List<TableSchemaAwareIndexStorage> indexes) {
+        RowId rowId = mvPartitionStorage.closestRowId(RowId.lowestRowId(partitionId));
+
+        while (rowId != null) {
+            try (Cursor<ReadResult> versions = mvPartitionStorage.scanVersions(rowId)) {
+                for (ReadResult version : versions) {
+                    BinaryRow row = version.binaryRow();
+
+                    if (row == null) {
+                        continue;
+                    }
+
+                    for (TableSchemaAwareIndexStorage index : indexes) {
+                        index.storage().remove(new IndexRowImpl(index.resolveIndexRow(row), rowId));
+                    }
+                }
+            } catch (StorageException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new StorageException("Failed to read row versions [rowId=" + rowId + ']', e);
+            }
+
+            RowId nextRowId = rowId.increment();
+
+            rowId = nextRowId == null ? null : mvPartitionStorage.closestRowId(nextRowId);
+        }
+    }
+
+    private void clearTxStates() {
+        List<UUID> txIds = new ArrayList<>();
+
+        try (Cursor<IgniteBiTuple<UUID, TxMeta>> txs = txStateStorage.scan()) {
+            for (IgniteBiTuple<UUID, TxMeta> tx : txs) {
+                txIds.add(tx.get1());
+            }
+        } catch (Exception e) {
+            throw new StorageException("Failed to read transaction states [partitionId=" + partitionId + ']', e);
+        }
+
+        txIds.forEach(txStateStorage::remove);
+    }
+}
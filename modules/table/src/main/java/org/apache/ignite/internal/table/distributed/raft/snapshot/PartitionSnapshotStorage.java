@@ -23,6 +23,7 @@ import org.apache.ignite.internal.table.distributed.raft.snapshot.incoming.Incom
 import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotReader;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotsManager;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.startup.StartupPartitionSnapshotReader;
+import org.apache.ignite.internal.thread.StripedThreadPoolExecutor;
 import org.apache.ignite.network.TopologyService;
 import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
 import org.apache.ignite.raft.jraft.option.RaftOptions;
@@ -46,6 +47,9 @@ public class PartitionSnapshotStorage implements SnapshotStorage {
     /** Snapshot manager. */
     private final OutgoingSnapshotsManager outgoingSnapshotsManager;
 
+    /** Pool the incoming snapshots are copied in. */
+    private final StripedThreadPoolExecutor incomingSnapshotsExecutor;
+
     /** Snapshot URI. Points to a snapshot folder. Never created on physical storage. */
     private final String snapshotUri;
 
@@ -70,6 +74,7 @@ public class PartitionSnapshotStorage implements SnapshotStorage {
      *
      * @param topologyService Topology service.
      * @param outgoingSnapshotsManager Outgoing snapshot manager.
+     * @param incomingSnapshotsExecutor Pool the incoming snapshots are copied in.
      * @param snapshotUri Snapshot URI.
      * @param raftOptions RAFT options.
      * @param partition Partition.
@@ -78,6 +83,7 @@ public class PartitionSnapshotStorage implements SnapshotStorage {
     public PartitionSnapshotStorage(
             TopologyService topologyService,
             OutgoingSnapshotsManager outgoingSnapshotsManager,
+            StripedThreadPoolExecutor incomingSnapshotsExecutor,
             String snapshotUri,
             RaftOptions raftOptions,
             PartitionAccess partition,
@@ -85,6 +91,7 @@ public class PartitionSnapshotStorage implements SnapshotStorage {
     ) {
         this.topologyService = topologyService;
         this.outgoingSnapshotsManager = outgoingSnapshotsManager;
+        this.incomingSnapshotsExecutor = incomingSnapshotsExecutor;
         this.snapshotUri = snapshotUri;
         this.raftOptions = raftOptions;
         this.partition = partition;
@@ -105,6 +112,13 @@ public class PartitionSnapshotStorage implements SnapshotStorage {
         return outgoingSnapshotsManager;
     }
 
+    /**
+     * Returns the pool the incoming snapshots are copied in.
+     */
+    public StripedThreadPoolExecutor incomingSnapshotsExecutor() {
+        return incomingSnapshotsExecutor;
+    }
+
     /**
      * Returns a snapshot URI. Points to a snapshot folder. Never created on physical storage.
      */
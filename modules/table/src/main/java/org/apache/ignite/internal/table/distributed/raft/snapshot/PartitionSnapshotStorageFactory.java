@@ -21,6 +21,7 @@ import java.util.List;
 import org.apache.ignite.internal.raft.storage.SnapshotStorageFactory;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotsManager;
+import org.apache.ignite.internal.thread.StripedThreadPoolExecutor;
 import org.apache.ignite.network.TopologyService;
 import org.apache.ignite.raft.jraft.RaftMessagesFactory;
 import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
@@ -46,6 +47,9 @@ public class PartitionSnapshotStorageFactory implements SnapshotStorageFactory {
     /** Snapshot manager. */
     private final OutgoingSnapshotsManager outgoingSnapshotsManager;
 
+    /** Pool the incoming snapshots are copied in. */
+    private final StripedThreadPoolExecutor incomingSnapshotsExecutor;
+
     /** Partition storage. */
     private final PartitionAccess partition;
 
@@ -63,6 +67,7 @@ public class PartitionSnapshotStorageFactory implements SnapshotStorageFactory {
      *
      * @param topologyService Topology service.
      * @param outgoingSnapshotsManager Snapshot manager.
+     * @param incomingSnapshotsExecutor Pool the incoming snapshots are copied in.
      * @param partition MV partition storage.
      * @param peers List of raft group peers to be used in snapshot meta.
      * @param learners List of raft group learners to be used in snapshot meta.
@@ -72,12 +77,14 @@ public class PartitionSnapshotStorageFactory implements SnapshotStorageFactory {
     public PartitionSnapshotStorageFactory(
             TopologyService topologyService,
             OutgoingSnapshotsManager outgoingSnapshotsManager,
+            StripedThreadPoolExecutor incomingSnapshotsExecutor,
             PartitionAccess partition,
             List<String> peers,
             List<String> learners
     ) {
         this.topologyService = topologyService;
         this.outgoingSnapshotsManager = outgoingSnapshotsManager;
+        this.incomingSnapshotsExecutor = incomingSnapshotsExecutor;
         this.partition = partition;
         this.peers = peers;
         this.learners = learners;
@@ -100,6 +107,7 @@ public class PartitionSnapshotStorageFactory implements SnapshotStorageFactory {
         return new PartitionSnapshotStorage(
                 topologyService,
                 outgoingSnapshotsManager,
+                incomingSnapshotsExecutor,
                 uri,
                 raftOptions,
                 partition,
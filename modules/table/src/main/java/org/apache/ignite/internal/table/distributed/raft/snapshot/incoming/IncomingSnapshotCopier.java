@@ -18,46 +18,137 @@
 package org.apache.ignite.internal.table.distributed.raft.snapshot.incoming;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
 import org.apache.ignite.internal.table.distributed.TableMessagesFactory;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccess;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionSnapshotStorage;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.SnapshotUri;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileResponse;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaResponse;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataResponse;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataResponse.ResponseEntry;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotTxDataResponse;
+import org.apache.ignite.internal.thread.StripedThreadPoolExecutor;
+import org.apache.ignite.internal.tx.TxMeta;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.MessagingService;
 import org.apache.ignite.network.NetworkMessage;
 import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
+import org.apache.ignite.raft.jraft.error.RaftError;
 import org.apache.ignite.raft.jraft.storage.SnapshotStorage;
+import org.apache.ignite.raft.jraft.storage.SnapshotThrottle;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotCopier;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotReader;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Snapshot copier implementation for partitions. Used to stream partition data from the leader to the local node.
+ *
+ * <p>The local partition is cleared before the data is written to it. The version chains are copied first, together with their
+ * secondary index entries, then the transaction states are copied. The applied index is set only when all the data is written.
+ *
+ * <p>Keeps up to {@link #MAX_MV_DATA_REQUESTS_IN_FLIGHT} data requests in flight, so the link stays busy while a received batch is
+ * written to the storage. A new request is sent only after a response is handled, which bounds the memory taken by the received
+ * batches. The size of the batches is limited by the snapshot throttles of both nodes.
+ *
+ * <p>If the leader sends a physical snapshot, its files are downloaded chunk by chunk, with up to {@link #MAX_FILE_REQUESTS_IN_FLIGHT}
+ * requests in flight, and then replace the version chains and their secondary index entries of the local partition at once. The
+ * transaction states are copied after that, as usual.
  */
 public class IncomingSnapshotCopier extends SnapshotCopier {
+    /** Logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(IncomingSnapshotCopier.class);
+
     /** Messages factory. */
     private static final TableMessagesFactory MSG_FACTORY = new TableMessagesFactory();
 
+    /** Network timeout of the snapshot requests in milliseconds. */
+    private static final long NETWORK_TIMEOUT = 10_000L;
+
+    /** Maximum number of data requests in flight. */
+    static final int MAX_MV_DATA_REQUESTS_IN_FLIGHT = 4;
+
+    /** Maximum number of file chunk requests in flight. */
+    static final int MAX_FILE_REQUESTS_IN_FLIGHT = 4;
+
+    /** Maximum number of transaction states in a single response. */
+    static final int MAX_TXS_IN_BATCH = 1000;
+
+    /** Delay in milliseconds before a data request is repeated if the throughput has been exhausted. */
+    private static final long THROTTLE_RETRY_DELAY = 100L;
+
     /** {@link SnapshotStorage} instance for the partition. */
     private final PartitionSnapshotStorage snapshotStorage;
 
     /** Snapshot URI. */
     private final SnapshotUri snapshotUri;
 
-    /** Rebalance thread-pool, used to write data into a storage. */
-    //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-    // Use external pool.
-    private final ExecutorService threadPool = Executors.newSingleThreadExecutor();
+    /**
+     * Executor of the copy, used to write data into a storage. Runs the tasks in a single stripe of the shared incoming snapshots
+     * pool, all the state of the copy is changed in it, so it's single threaded.
+     */
+    private final Executor threadPool;
+
+    /** Executor of the requests postponed by the snapshot throttle, hands them over to the {@link #threadPool}. */
+    private final Executor throttledThreadPool;
+
+    /** Latch that is released when the copy is finished, either successfully or not. */
+    private final CountDownLatch finishLatch = new CountDownLatch(1);
 
     /**
      * Snapshot meta read from the leader.
      *
      * @see SnapshotMetaRequest
      */
-    private SnapshotMeta snapshotMeta;
+    private volatile SnapshotMeta snapshotMeta;
+
+    /** Number of data requests in flight, including the postponed ones. Accessed from the {@link #threadPool} only. */
+    private int mvDataRequestsInFlight;
+
+    /** Flag indicating that the last data response has been received. Accessed from the {@link #threadPool} only. */
+    private boolean mvDataFinished;
+
+    /** Directory the files of the physical snapshot are downloaded into, {@code null} if the version chains are streamed. */
+    @Nullable
+    private volatile Path physicalSnapshotDir;
+
+    /** Names of the files of the physical snapshot. Accessed from the {@link #threadPool} only. */
+    private List<String> physicalSnapshotFiles;
+
+    /** Sizes of the files of the physical snapshot. Accessed from the {@link #threadPool} only. */
+    private long[] physicalSnapshotFileSizes;
+
+    /** Index of the file to request the next chunk of. Accessed from the {@link #threadPool} only. */
+    private int nextFileIndex;
+
+    /** Offset of the next chunk in the file to request it of. Accessed from the {@link #threadPool} only. */
+    private long nextFileOffset;
+
+    /** Number of file chunk requests in flight, including the postponed ones. Accessed from the {@link #threadPool} only. */
+    private int fileRequestsInFlight;
 
     /**
      * Constructor.
@@ -68,43 +159,69 @@ public class IncomingSnapshotCopier extends SnapshotCopier {
     public IncomingSnapshotCopier(PartitionSnapshotStorage snapshotStorage, SnapshotUri snapshotUri) {
         this.snapshotStorage = snapshotStorage;
         this.snapshotUri = snapshotUri;
+
+        StripedThreadPoolExecutor executor = snapshotStorage.incomingSnapshotsExecutor();
+        int stripe = snapshotStorage.partition().partitionId();
+
+        threadPool = task -> executor.execute(task, stripe);
+        throttledThreadPool = CompletableFuture.delayedExecutor(THROTTLE_RETRY_DELAY, TimeUnit.MILLISECONDS, threadPool);
     }
 
     @Override
     public void cancel() {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        // Implement.
+        finish(RaftError.ECANCELED, "Snapshot copy has been cancelled");
     }
 
     @Override
     public void join() throws InterruptedException {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        // Implement proper join.
+        finishLatch.await();
     }
 
     @Override
     public void start() {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        // What if node can't be resolved?
         ClusterNode sourceNode = snapshotStorage.topologyService().getByConsistentId(snapshotUri.nodeName);
 
-        MessagingService messagingService = snapshotStorage.outgoingSnapshotsManager().messagingService();
+        if (sourceNode == null) {
+            finish(RaftError.EHOSTDOWN, "Snapshot source node is not in the topology [node=%s]", snapshotUri.nodeName);
 
-        threadPool.submit(() -> {
-            //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-            // Following code is just an example of what I expect and shouldn't be considered a template.
-            CompletableFuture<NetworkMessage> metaRequestFuture = messagingService.invoke(
-                    sourceNode,
-                    MSG_FACTORY.snapshotMetaRequest().id(snapshotUri.snapshotId).build(),
-                    1000L
-            );
+            return;
+        }
 
-            metaRequestFuture.whenComplete((networkMessage, throwable) -> {
-                SnapshotMetaResponse metaResponse = (SnapshotMetaResponse) networkMessage;
+        messagingService().invoke(
+                sourceNode,
+                MSG_FACTORY.snapshotMetaRequest().id(snapshotUri.snapshotId).build(),
+                NETWORK_TIMEOUT
+        ).whenCompleteAsync((response, throwable) -> {
+            if (throwable != null) {
+                fail(throwable);
 
-                snapshotMeta = metaResponse.meta();
-            });
-        });
+                return;
+            }
+
+            SnapshotMetaResponse metaResponse = (SnapshotMetaResponse) response;
+
+            snapshotMeta = metaResponse.meta();
+
+            if (!metaResponse.physicalSnapshotFiles().isEmpty()) {
+                startPhysicalSnapshotCopy(sourceNode, metaResponse);
+
+                return;
+            }
+
+            try {
+                snapshotStorage.partition().clear();
+            } catch (Throwable t) {
+                fail(t);
+
+                return;
+            }
+
+            for (int i = 0; i < MAX_MV_DATA_REQUESTS_IN_FLIGHT; i++) {
+                mvDataRequestsInFlight++;
+
+                requestMvData(sourceNode);
+            }
+        }, threadPool);
     }
 
     @Override
@@ -114,7 +231,441 @@ public class IncomingSnapshotCopier extends SnapshotCopier {
     }
 
     @Override
-    public void close() throws IOException {
-        threadPool.shutdownNow();
+    public void close() {
+        cancel();
+
+        // The files are removed in the stripe of the copy, after the task that may still be writing them.
+        try {
+            CompletableFuture.runAsync(this::deletePhysicalSnapshotDir, threadPool).join();
+        } catch (RejectedExecutionException e) {
+            // The node is stopping.
+            deletePhysicalSnapshotDir();
+        }
+    }
+
+    private void deletePhysicalSnapshotDir() {
+        Path physicalSnapshotDir = this.physicalSnapshotDir;
+
+        if (physicalSnapshotDir != null) {
+            IgniteUtils.deleteIfExists(physicalSnapshotDir);
+        }
+    }
+
+    /**
+     * Sends a data request, the request must already be counted in {@link #mvDataRequestsInFlight}.
+     */
+    private void requestMvData(ClusterNode sourceNode) {
+        if (isFinished()) {
+            return;
+        }
+
+        long batchSizeHint = snapshotStorage.raftOptions().getMaxByteCountPerRpc();
+
+        SnapshotThrottle snapshotThrottle = snapshotStorage.snapshotThrottle();
+
+        if (snapshotThrottle != null) {
+            batchSizeHint = snapshotThrottle.throttledByThroughput(batchSizeHint);
+
+            if (batchSizeHint == 0) {
+                throttledThreadPool.execute(() -> requestMvData(sourceNode));
+
+                return;
+            }
+        }
+
+        messagingService().invoke(
+                sourceNode,
+                MSG_FACTORY.snapshotMvDataRequest().id(snapshotUri.snapshotId).batchSizeHint(batchSizeHint).build(),
+                NETWORK_TIMEOUT
+        ).whenCompleteAsync((response, throwable) -> onMvDataResponse(sourceNode, response, throwable), threadPool);
+    }
+
+    private void onMvDataResponse(ClusterNode sourceNode, NetworkMessage networkMessage, @Nullable Throwable throwable) {
+        if (isFinished()) {
+            return;
+        }
+
+        if (throwable != null) {
+            fail(throwable);
+
+            return;
+        }
+
+        SnapshotMvDataResponse response = (SnapshotMvDataResponse) networkMessage;
+
+        try {
+            writeVersionChains(response.rows());
+        } catch (Throwable t) {
+            fail(t);
+
+            return;
+        }
+
+        if (response.finish()) {
+            mvDataFinished = true;
+        }
+
+        if (!mvDataFinished) {
+            if (response.rows().isEmpty()) {
+                // The throughput of the source node is exhausted.
+                throttledThreadPool.execute(() -> requestMvData(sourceNode));
+            } else {
+                requestMvData(sourceNode);
+            }
+
+            return;
+        }
+
+        // Responses may arrive out of order, so the rows are copied when the rows of all the requests in flight are written.
+        if (--mvDataRequestsInFlight == 0) {
+            requestTxData(sourceNode);
+        }
+    }
+
+    private void startPhysicalSnapshotCopy(ClusterNode sourceNode, SnapshotMetaResponse metaResponse) {
+        PartitionAccess partition = snapshotStorage.partition();
+
+        if (!partition.supportsPhysicalSnapshots()) {
+            finish(RaftError.EINVAL, "Physical snapshots are not supported by the partition storage [uri=%s]", snapshotUri);
+
+            return;
+        }
+
+        physicalSnapshotFiles = metaResponse.physicalSnapshotFiles();
+        physicalSnapshotFileSizes = metaResponse.physicalSnapshotFileSizes();
+
+        Path dir = partition.physicalSnapshotsDir().resolve("incoming-" + snapshotUri.snapshotId);
+
+        physicalSnapshotDir = dir;
+
+        try {
+            IgniteUtils.deleteIfExists(dir);
+
+            Files.createDirectories(dir);
+
+            // Empty files are never requested, so all the files are created in advance.
+            for (String fileName : physicalSnapshotFiles) {
+                Files.createFile(physicalSnapshotFile(fileName));
+            }
+        } catch (Throwable t) {
+            fail(t);
+
+            return;
+        }
+
+        for (int i = 0; i < MAX_FILE_REQUESTS_IN_FLIGHT; i++) {
+            fileRequestsInFlight++;
+
+            requestNextFileChunk(sourceNode);
+        }
+    }
+
+    /**
+     * Sends a request of the next not requested chunk of the physical snapshot files, the request must already be counted in
+     * {@link #fileRequestsInFlight}. The partition is restored from the files when all the chunks are written.
+     */
+    private void requestNextFileChunk(ClusterNode sourceNode) {
+        if (isFinished()) {
+            return;
+        }
+
+        while (nextFileIndex < physicalSnapshotFiles.size() && nextFileOffset == physicalSnapshotFileSizes[nextFileIndex]) {
+            nextFileIndex++;
+
+            nextFileOffset = 0;
+        }
+
+        if (nextFileIndex == physicalSnapshotFiles.size()) {
+            // All the chunks have been requested, the partition is restored when the chunks of all the requests in flight are written.
+            if (--fileRequestsInFlight == 0) {
+                restorePhysicalSnapshot(sourceNode);
+            }
+
+            return;
+        }
+
+        long chunkSize = Math.min(snapshotStorage.raftOptions().getMaxByteCountPerRpc(), physicalSnapshotFileSizes[nextFileIndex]
+                - nextFileOffset);
+
+        SnapshotThrottle snapshotThrottle = snapshotStorage.snapshotThrottle();
+
+        if (snapshotThrottle != null) {
+            chunkSize = snapshotThrottle.throttledByThroughput(chunkSize);
+
+            if (chunkSize == 0) {
+                throttledThreadPool.execute(() -> requestNextFileChunk(sourceNode));
+
+                return;
+            }
+        }
+
+        requestFileChunk(sourceNode, nextFileIndex, nextFileOffset, (int) chunkSize);
+
+        nextFileOffset += chunkSize;
+    }
+
+    private void requestFileChunk(ClusterNode sourceNode, int fileIndex, long offset, int length) {
+        if (isFinished()) {
+            return;
+        }
+
+        messagingService().invoke(
+                sourceNode,
+                MSG_FACTORY.snapshotFileRequest()
+                        .id(snapshotUri.snapshotId)
+                        .fileName(physicalSnapshotFiles.get(fileIndex))
+                        .offset(offset)
+                        .length(length)
+                        .build(),
+                NETWORK_TIMEOUT
+        ).whenCompleteAsync(
+                (response, throwable) -> onFileResponse(sourceNode, fileIndex, offset, length, response, throwable),
+                threadPool
+        );
+    }
+
+    private void onFileResponse(
+            ClusterNode sourceNode,
+            int fileIndex,
+            long offset,
+            int length,
+            NetworkMessage networkMessage,
+            @Nullable Throwable throwable
+    ) {
+        if (isFinished()) {
+            return;
+        }
+
+        if (throwable != null) {
+            fail(throwable);
+
+            return;
+        }
+
+        ByteBuffer data = ((SnapshotFileResponse) networkMessage).data();
+
+        int received = data.remaining();
+
+        try {
+            if (received > length) {
+                throw new IOException("Snapshot file chunk is larger than requested [fileName=" + physicalSnapshotFiles.get(fileIndex)
+                        + ", length=" + length + ", received=" + received + ']');
+            }
+
+            writeFileChunk(physicalSnapshotFiles.get(fileIndex), offset, data);
+        } catch (Throwable t) {
+            fail(t);
+
+            return;
+        }
+
+        if (received == length) {
+            requestNextFileChunk(sourceNode);
+        } else if (received == 0) {
+            // The throughput of the source node is exhausted.
+            throttledThreadPool.execute(() -> requestFileChunk(sourceNode, fileIndex, offset, length));
+        } else {
+            requestFileChunk(sourceNode, fileIndex, offset + received, length - received);
+        }
+    }
+
+    private void writeFileChunk(String fileName, long offset, ByteBuffer data) throws IOException {
+        try (FileChannel channel = FileChannel.open(physicalSnapshotFile(fileName), StandardOpenOption.WRITE)) {
+            long position = offset;
+
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+        }
+    }
+
+    /**
+     * Resolves a file of the physical snapshot, the file names come from the leader, so they are not allowed to point outside of
+     * the snapshot directory.
+     */
+    private Path physicalSnapshotFile(String fileName) throws IOException {
+        Path dir = physicalSnapshotDir.normalize();
+
+        Path file = dir.resolve(fileName).normalize();
+
+        if (!dir.equals(file.getParent())) {
+            throw new IOException("Invalid snapshot file name: " + fileName);
+        }
+
+        return file;
+    }
+
+    private void restorePhysicalSnapshot(ClusterNode sourceNode) {
+        try {
+            snapshotStorage.partition().restorePhysicalSnapshot(physicalSnapshotDir);
+        } catch (Throwable t) {
+            fail(t);
+
+            return;
+        }
+
+        requestTxData(sourceNode);
+    }
+
+    private void requestTxData(ClusterNode sourceNode) {
+        if (isFinished()) {
+            return;
+        }
+
+        messagingService().invoke(
+                sourceNode,
+                MSG_FACTORY.snapshotTxDataRequest().id(snapshotUri.snapshotId).maxTxsInBatch(MAX_TXS_IN_BATCH).build(),
+                NETWORK_TIMEOUT
+        ).whenCompleteAsync((response, throwable) -> onTxDataResponse(sourceNode, response, throwable), threadPool);
+    }
+
+    private void onTxDataResponse(ClusterNode sourceNode, NetworkMessage networkMessage, @Nullable Throwable throwable) {
+        if (isFinished()) {
+            return;
+        }
+
+        if (throwable != null) {
+            fail(throwable);
+
+            return;
+        }
+
+        SnapshotTxDataResponse response = (SnapshotTxDataResponse) networkMessage;
+
+        try {
+            writeTxStates(response.txIds(), response.txMeta());
+
+            if (response.finish()) {
+                MvPartitionStorage storage = snapshotStorage.partition().mvPartitionStorage();
+
+                storage.runConsistently(() -> {
+                    storage.lastAppliedIndex(snapshotMeta.lastIncludedIndex());
+
+                    return null;
+                });
+            }
+        } catch (Throwable t) {
+            fail(t);
+
+            return;
+        }
+
+        if (response.finish()) {
+            finish(null, null);
+        } else {
+            requestTxData(sourceNode);
+        }
+    }
+
+    /**
+     * Writes a batch of the version chains and their secondary index entries to the partition storage in a single consistency closure.
+     */
+    private void writeVersionChains(List<ResponseEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        PartitionAccess partition = snapshotStorage.partition();
+
+        MvPartitionStorage storage = partition.mvPartitionStorage();
+
+        List<TableSchemaAwareIndexStorage> indexes = partition.indexes();
+
+        storage.runConsistently(() -> {
+            for (ResponseEntry entry : entries) {
+                writeVersionChain(storage, partition.partitionId(), indexes, entry);
+            }
+
+            return null;
+        });
+    }
+
+    private void writeTxStates(List<UUID> txIds, List<TxMeta> txMetas) {
+        assert txIds.size() == txMetas.size() : "txIds=" + txIds.size() + ", txMetas=" + txMetas.size();
+
+        TxStateStorage txStateStorage = snapshotStorage.partition().txStatePartitionStorage();
+
+        for (int i = 0; i < txIds.size(); i++) {
+            txStateStorage.put(txIds.get(i), txMetas.get(i));
+        }
+    }
+
+    private static void writeVersionChain(
+            MvPartitionStorage storage,
+            int partitionId,
+            List<TableSchemaAwareIndexStorage> indexes,
+            ResponseEntry entry
+    ) {
+        UUID uuid = entry.rowId();
+
+        RowId rowId = new RowId(partitionId, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        List<ByteBuffer> rowVersions = entry.rowVersions();
+        List<HybridTimestamp> timestamps = entry.timestamps();
+
+        boolean hasWriteIntent = entry.txId() != null;
+
+        // Versions are sent from the newest to the oldest one, the write-intent goes first and has no timestamp.
+        for (int i = rowVersions.size() - 1; i >= 0; i--) {
+            BinaryRow row = binaryRow(rowVersions.get(i));
+
+            if (i == 0 && hasWriteIntent) {
+                storage.addWrite(rowId, row, entry.txId(), entry.commitTableId(), entry.commitPartitionId());
+            } else {
+                storage.addWriteCommitted(rowId, row, timestamps.get(hasWriteIntent ? i - 1 : i));
+            }
+
+            if (row != null) {
+                for (TableSchemaAwareIndexStorage index : indexes) {
+                    index.storage().put(new IndexRowImpl(index.resolveIndexRow(row), rowId));
+                }
+            }
+        }
+    }
+
+    private static @Nullable BinaryRow binaryRow(ByteBuffer buf) {
+        if (!buf.hasRemaining()) {
+            // Tombstone.
+            return null;
+        }
+
+        byte[] bytes = new byte[buf.remaining()];
+
+        buf.duplicate().get(bytes);
+
+        return new ByteBufferRow(bytes);
+    }
+
+    private MessagingService messagingService() {
+        return snapshotStorage.outgoingSnapshotsManager().messagingService();
+    }
+
+    private boolean isFinished() {
+        return finishLatch.getCount() == 0;
+    }
+
+    private void fail(Throwable throwable) {
+        LOG.warn("Failed to copy the snapshot [uri={}]", throwable, snapshotUri);
+
+        finish(RaftError.EIO, "Failed to copy the snapshot: %s", throwable.getMessage());
+    }
+
+    /**
+     * Finishes the copy, only the first call has an effect.
+     *
+     * @param error Error or {@code null} if the copy has succeeded.
+     * @param fmt Error message format.
+     * @param args Error message arguments.
+     */
+    private synchronized void finish(@Nullable RaftError error, @Nullable String fmt, Object... args) {
+        if (isFinished()) {
+            return;
+        }
+
+        if (error != null) {
+            setError(error, fmt, args);
+        }
+
+        finishLatch.countDown();
     }
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.raft.snapshot.message;
+
+import org.apache.ignite.internal.table.distributed.TableMessageGroup;
+import org.apache.ignite.network.annotations.Transferable;
+
+/**
+ * Snapshot file chunk request message, used to transfer the files of a physical partition snapshot.
+ */
+@Transferable(TableMessageGroup.SNAPSHOT_FILE_REQUEST)
+public interface SnapshotFileRequest extends SnapshotRequestMessage {
+    /** Name of the file, one of {@link SnapshotMetaResponse#physicalSnapshotFiles()}. */
+    String fileName();
+
+    /** Offset of the chunk in the file. */
+    long offset();
+
+    /** How many bytes of the file the receiver is ready to accept in the response. */
+    int length();
+}
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.table.distributed.raft.snapshot.message;
 
+import java.util.List;
 import org.apache.ignite.internal.table.distributed.TableMessageGroup;
 import org.apache.ignite.network.NetworkMessage;
 import org.apache.ignite.network.annotations.Transferable;
@@ -29,4 +30,13 @@ import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
 public interface SnapshotMetaResponse extends NetworkMessage {
     /** Snapshot meta. */
     SnapshotMeta meta();
+
+    /**
+     * Names of the files of the physical partition snapshot, they are requested with {@link SnapshotFileRequest}. Empty if the partition
+     * data is streamed row by row with {@link SnapshotMvDataRequest}.
+     */
+    List<String> physicalSnapshotFiles();
+
+    /** Sizes of the {@link #physicalSnapshotFiles() files of the physical partition snapshot} in bytes. */
+    long[] physicalSnapshotFileSizes();
 }
@@ -25,4 +25,6 @@ import org.apache.ignite.network.annotations.Transferable;
  */
 @Transferable(TableMessageGroup.SNAPSHOT_MV_DATA_REQUEST)
 public interface SnapshotMvDataRequest extends SnapshotRequestMessage {
+    /** How many bytes of row versions the receiver is ready to accept in the response. */
+    long batchSizeHint();
 }
@@ -25,4 +25,6 @@ import org.apache.ignite.network.annotations.Transferable;
  */
 @Transferable(TableMessageGroup.SNAPSHOT_TX_DATA_REQUEST)
 public interface SnapshotTxDataRequest extends SnapshotRequestMessage {
+    /** How many transaction metas the receiver is ready to accept in the response. */
+    int maxTxsInBatch();
 }
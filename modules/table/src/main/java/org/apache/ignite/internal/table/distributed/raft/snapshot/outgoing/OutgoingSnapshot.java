@@ -17,45 +17,459 @@
 
 package org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.table.distributed.TableMessagesFactory;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccess;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileRequest;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileResponse;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaResponse;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataResponse;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataResponse.ResponseEntry;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotTxDataRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotTxDataResponse;
+import org.apache.ignite.internal.tx.TxMeta;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
+import org.apache.ignite.raft.jraft.storage.SnapshotThrottle;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Outgoing snapshot.
+ * Outgoing snapshot. Streams the version chains of the partition to the receiver in the {@link RowId} order, one batch per
+ * {@link SnapshotMvDataRequest}. The receiver may have several requests in flight, they are served one after another, so every
+ * request gets the next batch of the partition. The transaction states are streamed after the version chains, one batch per
+ * {@link SnapshotTxDataRequest}.
+ *
+ * <p>The partition is read while the updates are applied to it. The version chains are kept consistent with the snapshot meta by
+ * copy-on-write: the partition updates call {@link #beforeRowUpdate(RowId)}, which captures the version chain of a row that hasn't
+ * been sent yet before it's changed, see {@link PartitionSnapshots}. The captured chains are sent out of order, the rows changed
+ * after the snapshot has been taken are skipped by the scan.
+ *
+ * <p>The transaction states are read as they are at the moment of the request, so they may include the outcomes of the transactions
+ * finished after the snapshot has been taken. This is safe, as the receiver replays the log after the snapshot and a repeated
+ * finish of a transaction with the same outcome succeeds, see {@link TxStateStorage#compareAndSet}.
+ *
+ * <p>If the partition {@link PartitionAccess#supportsPhysicalSnapshots() supports physical snapshots}, the version chains are not
+ * streamed. A physical snapshot of the partition is created instead, and its files are transferred chunk by chunk, one chunk per
+ * {@link SnapshotFileRequest}. The storage captures the state of the partition when the snapshot is created, so no copy-on-write is
+ * needed.
  */
 public class OutgoingSnapshot {
+    /** Messages factory. */
+    private static final TableMessagesFactory MSG_FACTORY = new TableMessagesFactory();
+
+    /** Buffer that represents a tombstone in the row versions. */
+    private static final ByteBuffer TOMBSTONE = ByteBuffer.allocate(0);
+
+    /** Approximate size of the row id and the write-intent attributes of a version chain in a batch. */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    /** Approximate size of a commit timestamp in a batch. */
+    private static final int TIMESTAMP_SIZE = 12;
+
+    /** Partition to read the data from. */
+    private final PartitionAccess partition;
+
+    /** Snapshot meta. */
+    private final SnapshotMeta snapshotMeta;
+
+    /** Snapshot throttle, {@code null} if the throughput is not limited. */
+    @Nullable
+    private final SnapshotThrottle snapshotThrottle;
+
+    /** Lower bound of the row ids that haven't been scanned yet, {@code null} if the scan is finished. Guarded by {@code this}. */
+    @Nullable
+    private RowId nextRowId;
+
+    /** Version chains captured before their rows have been changed, they are sent before the scanned ones. Guarded by {@code this}. */
+    private final Deque<ResponseEntry> outOfOrderMvData = new ArrayDeque<>();
+
+    /** Not scanned yet rows, that have been changed after the snapshot has been taken, the scan skips them. Guarded by {@code this}. */
+    private final Set<RowId> rowIdsToSkip = new HashSet<>();
+
+    /** Cursor over the transaction states, {@code null} if the transaction states haven't been requested yet. Guarded by {@code this}. */
+    @Nullable
+    private Cursor<IgniteBiTuple<UUID, TxMeta>> txCursor;
+
+    /** Directory with the files of the physical snapshot, {@code null} if the version chains are streamed. */
+    @Nullable
+    private final Path physicalSnapshotDir;
+
+    /** Future that completes when the files of the physical snapshot are written, {@code null} if the version chains are streamed. */
+    @Nullable
+    private final CompletableFuture<Void> physicalSnapshotFuture;
+
+    /** Sizes of the files of the physical snapshot by their names, {@code null} if not listed yet. Guarded by {@code this}. */
+    @Nullable
+    private Map<String, Long> physicalSnapshotFiles;
+
+    /** Flag indicating that the snapshot has been closed. Guarded by {@code this}. */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param partition Partition to read the data from.
+     * @param snapshotMeta Snapshot meta.
+     * @param snapshotThrottle Snapshot throttle, {@code null} if the throughput is not limited.
+     * @param physicalSnapshotDir Directory to put the files of the physical snapshot into, {@code null} if the version chains are
+     *      streamed. The physical snapshot is created by the constructor.
+     */
+    public OutgoingSnapshot(
+            PartitionAccess partition,
+            SnapshotMeta snapshotMeta,
+            @Nullable SnapshotThrottle snapshotThrottle,
+            @Nullable Path physicalSnapshotDir
+    ) {
+        this.partition = partition;
+        this.snapshotMeta = snapshotMeta;
+        this.snapshotThrottle = snapshotThrottle;
+        this.physicalSnapshotDir = physicalSnapshotDir;
+
+        if (physicalSnapshotDir == null) {
+            physicalSnapshotFuture = null;
+
+            nextRowId = RowId.lowestRowId(partition.partitionId());
+        } else {
+            physicalSnapshotFuture = partition.createPhysicalSnapshot(physicalSnapshotDir);
+
+            nextRowId = null;
+        }
+    }
+
     /**
-     * Reads a snapshot meta and returns a future with the response.
+     * Reads a snapshot meta and returns a future with the response. The response to the snapshot with a physical snapshot is sent when
+     * its files are written.
      *
      * @param metaRequest Meta request.
      */
     CompletableFuture<SnapshotMetaResponse> handleSnapshotMetaRequest(SnapshotMetaRequest metaRequest) {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        return null;
+        if (physicalSnapshotFuture == null) {
+            return completedFuture(metaResponse(Map.of()));
+        }
+
+        return physicalSnapshotFuture.thenApply(unused -> {
+            try {
+                return metaResponse(listPhysicalSnapshotFiles());
+            } catch (IOException e) {
+                throw new IgniteInternalException("Failed to list the files of the physical snapshot: " + physicalSnapshotDir, e);
+            }
+        });
     }
 
     /**
-     * Reads chunk of partition data and returns a future with the response.
+     * Reads chunk of partition data and returns a future with the response. The chunk is bounded by the batch size hint of the request
+     * and by the snapshot throttle, but holds at least one version chain unless the throughput is exhausted. A response without
+     * rows that isn't the last one means the request has to be repeated later.
      *
      * @param mvDataRequest Data request.
      */
-    CompletableFuture<SnapshotMvDataResponse> handleSnapshotMvDataRequest(SnapshotMvDataRequest mvDataRequest) {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        return null;
+    synchronized CompletableFuture<SnapshotMvDataResponse> handleSnapshotMvDataRequest(SnapshotMvDataRequest mvDataRequest) {
+        if (closed) {
+            return failedFuture(new IllegalStateException("Snapshot has been closed"));
+        }
+
+        if (physicalSnapshotDir != null) {
+            return failedFuture(new IllegalStateException("Version chains are transferred as files of a physical snapshot"));
+        }
+
+        long batchSizeHint = mvDataRequest.batchSizeHint();
+
+        if (snapshotThrottle != null && !mvDataFinished()) {
+            batchSizeHint = snapshotThrottle.throttledByThroughput(batchSizeHint);
+        }
+
+        List<ResponseEntry> rows = new ArrayList<>();
+
+        long batchSize = 0;
+
+        while (!outOfOrderMvData.isEmpty() && batchSize < batchSizeHint) {
+            ResponseEntry entry = outOfOrderMvData.poll();
+
+            rows.add(entry);
+
+            batchSize += entrySize(entry);
+        }
+
+        try {
+            MvPartitionStorage storage = partition.mvPartitionStorage();
+
+            while (nextRowId != null && batchSize < batchSizeHint) {
+                RowId rowId = storage.closestRowId(nextRowId);
+
+                if (rowId == null) {
+                    nextRowId = null;
+
+                    break;
+                }
+
+                // Rows changed after the snapshot has been taken are either sent out of order or have been created after it.
+                if (!rowIdsToSkip.remove(rowId)) {
+                    ResponseEntry entry = readVersionChain(storage, rowId);
+
+                    if (entry != null) {
+                        rows.add(entry);
+
+                        batchSize += entrySize(entry);
+                    }
+                }
+
+                nextRowId = rowId.increment();
+            }
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+
+        if (nextRowId == null) {
+            rowIdsToSkip.clear();
+        }
+
+        return completedFuture(MSG_FACTORY.snapshotMvDataResponse().rows(rows).finish(mvDataFinished()).build());
     }
 
     /**
-     * Reads chunk of TX states from partition and returns a future with the response.
+     * Reads chunk of TX states from partition and returns a future with the response. The chunk holds at most
+     * {@link SnapshotTxDataRequest#maxTxsInBatch()} transaction states.
      *
      * @param txDataRequest Data request.
      */
-    CompletableFuture<SnapshotTxDataResponse> handleSnapshotTxDataRequest(SnapshotTxDataRequest txDataRequest) {
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        return null;
+    synchronized CompletableFuture<SnapshotTxDataResponse> handleSnapshotTxDataRequest(SnapshotTxDataRequest txDataRequest) {
+        if (closed) {
+            return failedFuture(new IllegalStateException("Snapshot has been closed"));
+        }
+
+        List<UUID> txIds = new ArrayList<>();
+        List<TxMeta> txMetas = new ArrayList<>();
+
+        try {
+            if (txCursor == null) {
+                txCursor = partition.txStatePartitionStorage().scan();
+            }
+
+            while (txIds.size() < txDataRequest.maxTxsInBatch() && txCursor.hasNext()) {
+                IgniteBiTuple<UUID, TxMeta> tx = txCursor.next();
+
+                txIds.add(tx.get1());
+                txMetas.add(tx.get2());
+            }
+
+            boolean finish = !txCursor.hasNext();
+
+            return completedFuture(MSG_FACTORY.snapshotTxDataResponse().txIds(txIds).txMeta(txMetas).finish(finish).build());
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Reads a chunk of a file of the physical snapshot and returns a future with the response. The chunk is bounded by the requested
+     * length, the end of the file and by the snapshot throttle. The chunks are read concurrently.
+     *
+     * @param fileRequest File chunk request.
+     */
+    CompletableFuture<SnapshotFileResponse> handleSnapshotFileRequest(SnapshotFileRequest fileRequest) {
+        Long fileSize;
+
+        synchronized (this) {
+            if (closed) {
+                return failedFuture(new IllegalStateException("Snapshot has been closed"));
+            }
+
+            // Only the listed files are served, the file name is never resolved as is.
+            fileSize = physicalSnapshotFiles == null ? null : physicalSnapshotFiles.get(fileRequest.fileName());
+        }
+
+        long offset = fileRequest.offset();
+
+        if (fileSize == null || offset < 0 || offset > fileSize || fileRequest.length() < 0) {
+            return failedFuture(new IllegalArgumentException("Invalid snapshot file request [fileName=" + fileRequest.fileName()
+                    + ", offset=" + offset + ", length=" + fileRequest.length() + ']'));
+        }
+
+        long length = Math.min(fileRequest.length(), fileSize - offset);
+
+        if (snapshotThrottle != null) {
+            length = snapshotThrottle.throttledByThroughput(length);
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) length);
+
+        try (FileChannel channel = FileChannel.open(physicalSnapshotDir.resolve(fileRequest.fileName()), StandardOpenOption.READ)) {
+            while (data.hasRemaining()) {
+                if (channel.read(data, offset + data.position()) < 0) {
+                    throw new EOFException("Unexpected end of the snapshot file: " + fileRequest.fileName());
+                }
+            }
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+
+        data.flip();
+
+        return completedFuture(MSG_FACTORY.snapshotFileResponse().data(data).build());
+    }
+
+    /**
+     * Captures the version chain of the row before it's changed, if the row hasn't been sent yet. Called by the partition updates
+     * under the {@link PartitionSnapshots#lock() partition snapshots lock}, so the row is captured in the state it had when the
+     * snapshot was taken.
+     *
+     * @param rowId Row id.
+     */
+    synchronized void beforeRowUpdate(RowId rowId) {
+        if (closed || nextRowId == null || rowId.compareTo(nextRowId) < 0 || !rowIdsToSkip.add(rowId)) {
+            // The row has already been sent or captured.
+            return;
+        }
+
+        try {
+            ResponseEntry entry = readVersionChain(partition.mvPartitionStorage(), rowId);
+
+            // The row that doesn't exist yet is created after the snapshot has been taken, so it's only skipped.
+            if (entry != null) {
+                outOfOrderMvData.add(entry);
+            }
+        } catch (Exception e) {
+            throw new IgniteInternalException("Failed to capture a row for the outgoing snapshot [rowId=" + rowId + ']', e);
+        }
+    }
+
+    /**
+     * Closes the snapshot, releasing the resources it holds.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        outOfOrderMvData.clear();
+        rowIdsToSkip.clear();
+
+        if (physicalSnapshotFuture != null) {
+            // The files might still be written.
+            physicalSnapshotFuture.whenComplete((unused, throwable) -> IgniteUtils.deleteIfExists(physicalSnapshotDir));
+        }
+
+        if (txCursor != null) {
+            try {
+                txCursor.close();
+            } catch (Exception e) {
+                throw new IgniteInternalException("Failed to close the transaction states cursor", e);
+            }
+        }
+    }
+
+    private SnapshotMetaResponse metaResponse(Map<String, Long> files) {
+        return MSG_FACTORY.snapshotMetaResponse()
+                .meta(snapshotMeta)
+                .physicalSnapshotFiles(List.copyOf(files.keySet()))
+                .physicalSnapshotFileSizes(files.values().stream().mapToLong(Long::longValue).toArray())
+                .build();
+    }
+
+    /**
+     * Lists the files of the physical snapshot once they are written.
+     *
+     * @return Sizes of the files by their names.
+     */
+    private synchronized Map<String, Long> listPhysicalSnapshotFiles() throws IOException {
+        if (physicalSnapshotFiles == null) {
+            Map<String, Long> files = new TreeMap<>();
+
+            try (Stream<Path> paths = Files.list(physicalSnapshotDir)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    files.put(path.getFileName().toString(), Files.size(path));
+                }
+            }
+
+            physicalSnapshotFiles = files;
+        }
+
+        return physicalSnapshotFiles;
+    }
+
+    private boolean mvDataFinished() {
+        return nextRowId == null && outOfOrderMvData.isEmpty();
+    }
+
+    /**
+     * Reads all the versions of the row, from the newest to the oldest one.
+     *
+     * @return Response entry or {@code null} if the row has been removed concurrently.
+     */
+    private static @Nullable ResponseEntry readVersionChain(MvPartitionStorage storage, RowId rowId) throws Exception {
+        List<ByteBuffer> rowVersions = new ArrayList<>();
+        List<HybridTimestamp> timestamps = new ArrayList<>();
+
+        ReadResult writeIntent = null;
+
+        try (Cursor<ReadResult> versions = storage.scanVersions(rowId)) {
+            for (ReadResult version : versions) {
+                BinaryRow row = version.binaryRow();
+
+                rowVersions.add(row == null ? TOMBSTONE : ByteBuffer.wrap(row.bytes()));
+
+                if (version.isWriteIntent()) {
+                    writeIntent = version;
+                } else {
+                    timestamps.add(version.commitTimestamp());
+                }
+            }
+        }
+
+        if (rowVersions.isEmpty()) {
+            return null;
+        }
+
+        return MSG_FACTORY.responseEntry()
+                .rowId(new UUID(rowId.mostSignificantBits(), rowId.leastSignificantBits()))
+                .rowVersions(rowVersions)
+                .timestamps(timestamps)
+                .txId(writeIntent == null ? null : writeIntent.transactionId())
+                .commitTableId(writeIntent == null ? null : writeIntent.commitTableId())
+                .commitPartitionId(writeIntent == null ? ReadResult.UNDEFINED_COMMIT_PARTITION_ID : writeIntent.commitPartitionId())
+                .build();
+    }
+
+    private static long entrySize(ResponseEntry entry) {
+        long size = ENTRY_OVERHEAD + (long) TIMESTAMP_SIZE * entry.timestamps().size();
+
+        for (ByteBuffer rowVersion : entry.rowVersions()) {
+            size += rowVersion.remaining();
+        }
+
+        return size;
     }
 }
@@ -18,10 +18,13 @@
 package org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Set;
 import java.util.UUID;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccess;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionSnapshotStorage;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.SnapshotUri;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
 import org.apache.ignite.raft.jraft.RaftMessagesFactory;
 import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
 import org.apache.ignite.raft.jraft.rpc.Message;
@@ -39,6 +42,9 @@ public class OutgoingSnapshotReader extends SnapshotReader {
 
     private final SnapshotMeta snapshotMeta;
 
+    /** Outgoing snapshot. */
+    private final OutgoingSnapshot outgoingSnapshot;
+
     /**
      * Constructor.
      *
@@ -47,16 +53,41 @@ public class OutgoingSnapshotReader extends SnapshotReader {
     public OutgoingSnapshotReader(PartitionSnapshotStorage snapshotStorage) {
         this.snapshotStorage = snapshotStorage;
 
-        //TODO https://issues.apache.org/jira/browse/IGNITE-17262
-        // This meta is wrong, we need a right one.
-        snapshotMeta = new RaftMessagesFactory().snapshotMeta()
-                .lastIncludedIndex(snapshotStorage.partition().persistedIndex())
-                .lastIncludedTerm(snapshotStorage.startupSnapshotMeta().lastIncludedTerm())
-                .peersList(snapshotStorage.startupSnapshotMeta().peersList())
-                .learnersList(snapshotStorage.startupSnapshotMeta().learnersList())
-                .build();
+        PartitionAccess partition = snapshotStorage.partition();
+
+        PartitionSnapshots partitionSnapshots = partition.partitionSnapshots();
+
+        Path physicalSnapshotDir = partition.supportsPhysicalSnapshots()
+                ? partition.physicalSnapshotsDir().resolve("outgoing-" + id)
+                : null;
+
+        // The applied index is read and the snapshot captures the partition state atomically with respect to the updates: either the
+        // physical snapshot is created or the snapshot starts capturing the changed rows.
+        partitionSnapshots.lock().lock();
+
+        try {
+            // The startup meta describes the partition until a log entry is applied to it after the start.
+            SnapshotMeta startupMeta = snapshotStorage.startupSnapshotMeta();
+
+            long lastAppliedTerm = partitionSnapshots.lastAppliedTerm();
 
-        OutgoingSnapshot outgoingSnapshot = new OutgoingSnapshot();
+            CommittedConfiguration config = partitionSnapshots.committedConfiguration();
+
+            snapshotMeta = new RaftMessagesFactory().snapshotMeta()
+                    .lastIncludedIndex(partition.mvPartitionStorage().lastAppliedIndex())
+                    .lastIncludedTerm(lastAppliedTerm == 0 ? startupMeta.lastIncludedTerm() : lastAppliedTerm)
+                    .peersList(config == null ? startupMeta.peersList() : config.peers())
+                    .learnersList(config == null ? startupMeta.learnersList() : config.learners())
+                    .build();
+
+            outgoingSnapshot = new OutgoingSnapshot(partition, snapshotMeta, snapshotStorage.snapshotThrottle(), physicalSnapshotDir);
+
+            if (physicalSnapshotDir == null) {
+                partitionSnapshots.addSnapshot(outgoingSnapshot);
+            }
+        } finally {
+            partitionSnapshots.lock().unlock();
+        }
 
         snapshotStorage.outgoingSnapshotsManager().registerOutgoingSnapshot(id, outgoingSnapshot);
     }
@@ -76,6 +107,10 @@ public class OutgoingSnapshotReader extends SnapshotReader {
     @Override
     public void close() throws IOException {
         snapshotStorage.outgoingSnapshotsManager().finishOutgoingSnapshot(id);
+
+        snapshotStorage.partition().partitionSnapshots().removeSnapshot(outgoingSnapshot);
+
+        outgoingSnapshot.close();
     }
 
     @Override
@@ -21,14 +21,21 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.manager.IgniteComponent;
 import org.apache.ignite.internal.table.distributed.TableMessageGroup;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotFileRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMetaRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotMvDataRequest;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotRequestMessage;
 import org.apache.ignite.internal.table.distributed.raft.snapshot.message.SnapshotTxDataRequest;
+import org.apache.ignite.internal.thread.NamedThreadFactory;
+import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.network.MessagingService;
 import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.network.NetworkMessage;
@@ -41,19 +48,35 @@ public class OutgoingSnapshotsManager implements IgniteComponent {
     /** Logger. */
     private static final IgniteLogger LOG = Loggers.forClass(OutgoingSnapshotsManager.class);
 
+    /** Number of threads that read the partitions for the outgoing snapshots. */
+    private static final int THREAD_POOL_SIZE = 4;
+
     /** Messaging service. */
     private final MessagingService messagingService;
 
     /** Map with outgoing snapshots. */
     private final ConcurrentMap<UUID, OutgoingSnapshot> outgoingSnapshots = new ConcurrentHashMap<>();
 
+    /** Thread pool that reads the partitions, so the network threads are not blocked by the storage. */
+    private final ExecutorService executor;
+
     /**
      * Constructor.
      *
+     * @param nodeName Node name.
      * @param messagingService Messaging service.
      */
-    public OutgoingSnapshotsManager(MessagingService messagingService) {
+    public OutgoingSnapshotsManager(String nodeName, MessagingService messagingService) {
         this.messagingService = messagingService;
+
+        executor = new ThreadPoolExecutor(
+                THREAD_POOL_SIZE,
+                THREAD_POOL_SIZE,
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                NamedThreadFactory.create(nodeName, "outgoing-snapshots", LOG)
+        );
     }
 
     /**
@@ -70,6 +93,9 @@ public class OutgoingSnapshotsManager implements IgniteComponent {
 
     @Override
     public void stop() throws Exception {
+        IgniteUtils.shutdownAndAwaitTermination(executor, 10, TimeUnit.SECONDS);
+
+        outgoingSnapshots.clear();
     }
 
     /**
@@ -109,11 +135,13 @@ public class OutgoingSnapshotsManager implements IgniteComponent {
             return;
         }
 
-        CompletableFuture<? extends NetworkMessage> responseFuture = handleSnapshotRequestMessage(networkMessage, outgoingSnapshot);
+        executor.execute(() -> {
+            CompletableFuture<? extends NetworkMessage> responseFuture = handleSnapshotRequestMessage(networkMessage, outgoingSnapshot);
 
-        if (responseFuture != null) {
-            responseFuture.whenComplete((response, throwable) -> respond(response, throwable, sender, correlationId));
-        }
+            if (responseFuture != null) {
+                responseFuture.whenComplete((response, throwable) -> respond(response, throwable, sender, correlationId));
+            }
+        });
     }
 
     private static @Nullable CompletableFuture<? extends NetworkMessage> handleSnapshotRequestMessage(
@@ -130,6 +158,9 @@ public class OutgoingSnapshotsManager implements IgniteComponent {
             case TableMessageGroup.SNAPSHOT_TX_DATA_REQUEST:
                 return outgoingSnapshot.handleSnapshotTxDataRequest((SnapshotTxDataRequest) networkMessage);
 
+            case TableMessageGroup.SNAPSHOT_FILE_REQUEST:
+                return outgoingSnapshot.handleSnapshotFileRequest((SnapshotFileRequest) networkMessage);
+
             default:
                 return null;
         }
@@ -141,6 +172,13 @@ public class OutgoingSnapshotsManager implements IgniteComponent {
             NetworkAddress sender,
             Long correlationId
     ) {
+        if (throwable != null) {
+            // The receiver fails the copy by timeout, so no response is sent.
+            LOG.warn("Failed to handle snapshot request [sender={}]", throwable, sender);
+
+            return CompletableFuture.completedFuture(null);
+        }
+
         //TODO https://issues.apache.org/jira/browse/IGNITE-17262
         // Handle offline sender and stopped manager.
         return messagingService.respond(sender, response, correlationId);
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Outgoing snapshots of a partition that are in progress.
+ *
+ * <p>An outgoing snapshot reads the partition while the updates are applied to it. To stay consistent with the last included index
+ * of its meta, a snapshot is taken under the {@link #lock() lock} that is also held by the partition updates together with the
+ * applied index change, and every update calls {@link #beforeRowUpdate(RowId)}, so the snapshots capture the version chains that
+ * haven't been sent yet before they are changed.
+ *
+ * <p>The partition updates also record the term and the configuration of the last applied log entry under the lock, a snapshot
+ * reports them in its meta.
+ */
+public class PartitionSnapshots {
+    /** Lock that makes taking a snapshot atomic with respect to the partition updates. */
+    private final Lock lock = new ReentrantLock();
+
+    /** Outgoing snapshots in progress. */
+    private final List<OutgoingSnapshot> snapshots = new CopyOnWriteArrayList<>();
+
+    /** Term of the log entry the partition storage has been applied up to, {@code 0} if unknown. Guarded by the {@link #lock}. */
+    private long lastAppliedTerm;
+
+    /** Last committed configuration of the group, {@code null} if unknown. Guarded by the {@link #lock}. */
+    @Nullable
+    private CommittedConfiguration committedConfiguration;
+
+    /**
+     * Returns the lock that must be held while the partition is updated together with its applied index, and while a snapshot is
+     * taken.
+     */
+    public Lock lock() {
+        return lock;
+    }
+
+    /**
+     * Must be called by the partition updates, under the {@link #lock() lock}, before the version chain of a row is changed.
+     *
+     * @param rowId Row id.
+     */
+    public void beforeRowUpdate(RowId rowId) {
+        for (OutgoingSnapshot snapshot : snapshots) {
+            snapshot.beforeRowUpdate(rowId);
+        }
+    }
+
+    /**
+     * Returns the term of the log entry the partition storage has been applied up to, {@code 0} if unknown. Must be called under the
+     * {@link #lock() lock}.
+     */
+    public long lastAppliedTerm() {
+        return lastAppliedTerm;
+    }
+
+    /**
+     * Sets the term of the log entry the partition storage has been applied up to, must be called under the {@link #lock() lock}
+     * together with the applied index change.
+     *
+     * @param lastAppliedTerm Term.
+     */
+    public void lastAppliedTerm(long lastAppliedTerm) {
+        this.lastAppliedTerm = lastAppliedTerm;
+    }
+
+    /**
+     * Returns the last committed configuration of the group, {@code null} if unknown. Must be called under the {@link #lock() lock}.
+     */
+    public @Nullable CommittedConfiguration committedConfiguration() {
+        return committedConfiguration;
+    }
+
+    /**
+     * Sets the last committed configuration of the group, must be called under the {@link #lock() lock}.
+     *
+     * @param committedConfiguration Committed configuration.
+     */
+    public void committedConfiguration(CommittedConfiguration committedConfiguration) {
+        this.committedConfiguration = committedConfiguration;
+    }
+
+    /**
+     * Adds an outgoing snapshot, must be called under the {@link #lock() lock}.
+     *
+     * @param snapshot Outgoing snapshot.
+     */
+    void addSnapshot(OutgoingSnapshot snapshot) {
+        snapshots.add(snapshot);
+    }
+
+    /**
+     * Removes an outgoing snapshot.
+     *
+     * @param snapshot Outgoing snapshot.
+     */
+    void removeSnapshot(OutgoingSnapshot snapshot) {
+        snapshots.remove(snapshot);
+    }
+}
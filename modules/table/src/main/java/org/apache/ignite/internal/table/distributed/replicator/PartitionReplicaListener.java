@@ -33,9 +33,14 @@ import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.ignite.hlc.HybridClock;
 import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.binarytuple.BinaryTupleCommon;
+import org.apache.ignite.internal.logger.IgniteLogger;
+import org.apache.ignite.internal.logger.Loggers;
 import org.apache.ignite.internal.replicator.exception.PrimaryReplicaMissException;
 import org.apache.ignite.internal.replicator.exception.ReplicationException;
 import org.apache.ignite.internal.replicator.exception.ReplicationTimeoutException;
@@ -43,14 +48,22 @@ import org.apache.ignite.internal.replicator.exception.UnsupportedReplicaRequest
 import org.apache.ignite.internal.replicator.listener.ReplicaListener;
 import org.apache.ignite.internal.replicator.message.ReplicaRequest;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.BinaryTuple;
+import org.apache.ignite.internal.schema.BinaryTuplePrefix;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.storage.PartitionTimestampCursor;
 import org.apache.ignite.internal.storage.ReadResult;
 import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
 import org.apache.ignite.internal.table.distributed.command.FinishTxCommand;
+import org.apache.ignite.internal.table.distributed.command.MarkTxCleanupCompletedCommand;
 import org.apache.ignite.internal.table.distributed.command.TxCleanupCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateCommand;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
 import org.apache.ignite.internal.table.distributed.replication.request.ReadOnlyMultiRowReplicaRequest;
 import org.apache.ignite.internal.table.distributed.replication.request.ReadOnlyScanRetrieveBatchReplicaRequest;
 import org.apache.ignite.internal.table.distributed.replication.request.ReadOnlySingleRowReplicaRequest;
@@ -60,6 +73,7 @@ import org.apache.ignite.internal.table.distributed.replication.request.ReadWrit
 import org.apache.ignite.internal.table.distributed.replication.request.ReadWriteScanRetrieveBatchReplicaRequest;
 import org.apache.ignite.internal.table.distributed.replication.request.ReadWriteSingleRowReplicaRequest;
 import org.apache.ignite.internal.table.distributed.replication.request.ReadWriteSwapRowReplicaRequest;
+import org.apache.ignite.internal.table.distributed.replication.request.ScanRetrieveBatchReplicaRequest;
 import org.apache.ignite.internal.table.distributed.replicator.action.RequestType;
 import org.apache.ignite.internal.tx.Lock;
 import org.apache.ignite.internal.tx.LockKey;
@@ -68,6 +82,8 @@ import org.apache.ignite.internal.tx.LockMode;
 import org.apache.ignite.internal.tx.TxManager;
 import org.apache.ignite.internal.tx.message.TxCleanupReplicaRequest;
 import org.apache.ignite.internal.tx.message.TxFinishReplicaRequest;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.CursorUtils;
 import org.apache.ignite.lang.ErrorGroups.Replicator;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgniteInternalException;
@@ -80,6 +96,9 @@ import org.jetbrains.annotations.Nullable;
 
 /** Partition replication listener. */
 public class PartitionReplicaListener implements ReplicaListener {
+    /** The logger. */
+    private static final IgniteLogger LOG = Loggers.forClass(PartitionReplicaListener.class);
+
     /** Replication group id. */
     private final String replicationGroupId;
 
@@ -111,11 +130,17 @@ public class PartitionReplicaListener implements ReplicaListener {
     /** Dummy primary index. */
     private final ConcurrentHashMap<ByteBuffer, RowId> primaryIndex;
 
+    /** Resolves secondary index storages of the partition by index IDs, returns {@code null} for unknown indexes. */
+    private final Function<UUID, TableSchemaAwareIndexStorage> indexStorages;
+
     /**
      * Cursors map. The key of the map is internal Ignite uuid which consists of a transaction id ({@link UUID}) and a cursor id ({@link
-     * Long}).
+     * Long}). The value is either a {@link PartitionTimestampCursor} of a table scan or an {@link IndexScanCursor} of an index scan.
      */
-    private final ConcurrentNavigableMap<IgniteUuid, PartitionTimestampCursor> cursors;
+    private final ConcurrentNavigableMap<IgniteUuid, Cursor<?>> cursors;
+
+    /** Hybrid clock. */
+    private final HybridClock hybridClock;
 
     /**
      * The constructor.
@@ -126,6 +151,7 @@ public class PartitionReplicaListener implements ReplicaListener {
      * @param lockManager Lock manager.
      * @param tableId Table id.
      * @param primaryIndex Primary index.
+     * @param indexStorages Resolves secondary index storages of the partition by index IDs.
      * @param hybridClock Hybrid clock.
      */
     public PartitionReplicaListener(
@@ -137,6 +163,7 @@ public class PartitionReplicaListener implements ReplicaListener {
             String replicationGroupId,
             UUID tableId,
             ConcurrentHashMap<ByteBuffer, RowId> primaryIndex,
+            Function<UUID, TableSchemaAwareIndexStorage> indexStorages,
             HybridClock hybridClock
     ) {
         this.mvDataStorage = mvDataStorage;
@@ -147,6 +174,8 @@ public class PartitionReplicaListener implements ReplicaListener {
         this.replicationGroupId = replicationGroupId;
         this.tableId = tableId;
         this.primaryIndex = primaryIndex;
+        this.indexStorages = indexStorages;
+        this.hybridClock = hybridClock;
 
         //TODO: IGNITE-17479 Integrate indexes into replicaListener command handlers
         this.indexScanId = new UUID(tableId.getMostSignificantBits(), tableId.getLeastSignificantBits() + 1);
@@ -212,10 +241,14 @@ public class PartitionReplicaListener implements ReplicaListener {
 
         IgniteUuid cursorId = new IgniteUuid(txId, request.scanId());
 
+        if (request.indexToUse() != null) {
+            return CompletableFuture.completedFuture(retrieveReadOnlyIndexScanBatch(request, cursorId));
+        }
+
         ArrayList<BinaryRow> batchRows = new ArrayList<>(batchCount);
 
-        @SuppressWarnings("resource") PartitionTimestampCursor cursor = cursors.computeIfAbsent(cursorId,
-                id -> mvDataStorage.scan(HybridTimestamp.MAX_VALUE));
+        @SuppressWarnings("resource") PartitionTimestampCursor cursor = cursor(cursorId, PartitionTimestampCursor.class,
+                () -> mvDataStorage.scan(HybridTimestamp.MAX_VALUE));
 
         while (batchRows.size() < batchCount && cursor.hasNext()) {
             BinaryRow resolvedReadResult = resolveReadResult(cursor.next(), null);
@@ -291,11 +324,11 @@ public class PartitionReplicaListener implements ReplicaListener {
         var lowCursorId = new IgniteUuid(txId, Long.MIN_VALUE);
         var upperCursorId = new IgniteUuid(txId, Long.MAX_VALUE);
 
-        Map<IgniteUuid, PartitionTimestampCursor> txCursors = cursors.subMap(lowCursorId, true, upperCursorId, true);
+        Map<IgniteUuid, Cursor<?>> txCursors = cursors.subMap(lowCursorId, true, upperCursorId, true);
 
         ReplicationException ex = null;
 
-        for (PartitionTimestampCursor cursor : txCursors.values()) {
+        for (Cursor<?> cursor : txCursors.values()) {
             try {
                 cursor.close();
             } catch (Exception e) {
@@ -327,7 +360,7 @@ public class PartitionReplicaListener implements ReplicaListener {
 
         IgniteUuid cursorId = new IgniteUuid(txId, request.scanId());
 
-        PartitionTimestampCursor cursor = cursors.remove(cursorId);
+        Cursor<?> cursor = cursors.remove(cursorId);
 
         if (cursor != null) {
             try {
@@ -352,11 +385,17 @@ public class PartitionReplicaListener implements ReplicaListener {
 
         IgniteUuid cursorId = new IgniteUuid(txId, request.scanId());
 
+        if (request.indexToUse() != null) {
+            // Rows found by an index scan are locked one by one, so the scan doesn't block writes to the rest of the table.
+            return lockManager.acquire(txId, new LockKey(tableId), LockMode.IS)
+                    .thenCompose(tblLock -> retrieveReadWriteIndexScanBatch(request, cursorId, txId));
+        }
+
         return lockManager.acquire(txId, new LockKey(tableId), LockMode.S).thenCompose(tblLock -> {
             ArrayList<BinaryRow> batchRows = new ArrayList<>(batchCount);
 
-            @SuppressWarnings("resource") PartitionTimestampCursor cursor = cursors.computeIfAbsent(cursorId,
-                    id -> mvDataStorage.scan(HybridTimestamp.MAX_VALUE));
+            @SuppressWarnings("resource") PartitionTimestampCursor cursor = cursor(cursorId, PartitionTimestampCursor.class,
+                    () -> mvDataStorage.scan(HybridTimestamp.MAX_VALUE));
 
             while (batchRows.size() < batchCount && cursor.hasNext()) {
                 BinaryRow resolvedReadResult = resolveReadResult(cursor.next(), txId);
@@ -370,12 +409,251 @@ public class PartitionReplicaListener implements ReplicaListener {
         });
     }
 
+    /**
+     * Retrieves a batch of rows found by an index scan or lookup of a read-only transaction. The row versions are read at the
+     * timestamp of the transaction, so no locks are required.
+     *
+     * @param request Scan retrieve batch request with the index to use.
+     * @param cursorId Cursor ID.
+     * @return Batch of rows, less than the requested batch size if the scan is over.
+     */
+    private ArrayList<BinaryRow> retrieveReadOnlyIndexScanBatch(ReadOnlyScanRetrieveBatchReplicaRequest request, IgniteUuid cursorId) {
+        TableSchemaAwareIndexStorage indexStorage = indexStorage(request.indexToUse());
+
+        int batchCount = request.batchSize();
+
+        ArrayList<BinaryRow> batchRows = new ArrayList<>(batchCount);
+
+        @SuppressWarnings("resource") IndexScanCursor cursor = indexScanCursor(cursorId, indexStorage, request);
+
+        while (batchRows.size() < batchCount && cursor.hasNext()) {
+            IndexRow indexRow = cursor.next();
+
+            BinaryRow row = resolveReadResult(mvDataStorage.read(indexRow.rowId(), request.timestamp()), null);
+
+            // Index entries of outdated row versions are skipped.
+            if (row != null && indexStorage.matches(row, indexRow.indexColumns())) {
+                batchRows.add(row);
+            }
+        }
+
+        return batchRows;
+    }
+
+    /**
+     * Retrieves a batch of rows found by an index scan or lookup of a read-write transaction. Every found row is locked in the shared
+     * mode before its latest version is read, so the returned rows can't be changed by other transactions until this one is finished.
+     * Index ranges are not locked, so rows inserted into the scanned range after the scan has passed them are not prevented.
+     *
+     * @param request Scan retrieve batch request with the index to use.
+     * @param cursorId Cursor ID.
+     * @param txId Transaction ID.
+     * @return Future that is completed with a batch of rows, less than the requested batch size if the scan is over.
+     */
+    private CompletableFuture<Object> retrieveReadWriteIndexScanBatch(
+            ReadWriteScanRetrieveBatchReplicaRequest request,
+            IgniteUuid cursorId,
+            UUID txId
+    ) {
+        TableSchemaAwareIndexStorage indexStorage = indexStorage(request.indexToUse());
+
+        @SuppressWarnings("resource") IndexScanCursor cursor = indexScanCursor(cursorId, indexStorage, request);
+
+        return continueReadWriteIndexScan(cursor, indexStorage, txId, request.batchSize(), new ArrayList<>(request.batchSize()));
+    }
+
+    /**
+     * Fills a batch of rows from an index cursor of a read-write transaction. Lock acquisitions that are completed immediately are
+     * processed in a loop, the method is only resumed asynchronously when a lock has to be waited for.
+     *
+     * @param cursor Index cursor.
+     * @param indexStorage Index storage.
+     * @param txId Transaction ID.
+     * @param batchCount Requested batch size.
+     * @param batchRows Rows found so far.
+     * @return Future that is completed with the batch of rows.
+     */
+    private CompletableFuture<Object> continueReadWriteIndexScan(
+            IndexScanCursor cursor,
+            TableSchemaAwareIndexStorage indexStorage,
+            UUID txId,
+            int batchCount,
+            ArrayList<BinaryRow> batchRows
+    ) {
+        while (batchRows.size() < batchCount && cursor.hasNext()) {
+            IndexRow indexRow = cursor.next();
+
+            CompletableFuture<Lock> rowLockFut = lockManager.acquire(txId, new LockKey(tableId, indexRow.rowId()), LockMode.S);
+
+            if (!rowLockFut.isDone() || rowLockFut.isCompletedExceptionally()) {
+                return rowLockFut.thenCompose(rowLock -> {
+                    addLockedIndexScanRow(indexRow, indexStorage, txId, batchRows);
+
+                    return continueReadWriteIndexScan(cursor, indexStorage, txId, batchCount, batchRows);
+                });
+            }
+
+            addLockedIndexScanRow(indexRow, indexStorage, txId, batchRows);
+        }
+
+        return CompletableFuture.completedFuture(batchRows);
+    }
+
+    /**
+     * Reads the latest version of a row found by an index scan, the row must be locked by the transaction.
+     *
+     * @param indexRow Index entry.
+     * @param indexStorage Index storage.
+     * @param txId Transaction ID.
+     * @param batchRows Batch to add the row to, if it still matches the index entry.
+     */
+    private void addLockedIndexScanRow(
+            IndexRow indexRow,
+            TableSchemaAwareIndexStorage indexStorage,
+            UUID txId,
+            List<BinaryRow> batchRows
+    ) {
+        BinaryRow row = resolveReadResult(mvDataStorage.read(indexRow.rowId(), HybridTimestamp.MAX_VALUE), txId);
+
+        // Index entries of outdated row versions are skipped.
+        if (row != null && indexStorage.matches(row, indexRow.indexColumns())) {
+            batchRows.add(row);
+        }
+    }
+
+    /**
+     * Returns the storage of a secondary index of the partition.
+     *
+     * @param indexId Index ID.
+     * @return Index storage.
+     * @throws IgniteInternalException If the index doesn't exist.
+     */
+    private TableSchemaAwareIndexStorage indexStorage(UUID indexId) {
+        TableSchemaAwareIndexStorage indexStorage = indexStorages.apply(indexId);
+
+        if (indexStorage == null) {
+            throw new IgniteInternalException(Replicator.REPLICA_COMMON_ERR,
+                    IgniteStringFormatter.format("Index not found [replicaGrpId={}, indexId={}]", replicationGroupId, indexId));
+        }
+
+        return indexStorage;
+    }
+
+    /**
+     * Returns the cursor of an index scan, the cursor is opened by the first request of the scan and is kept until the scan is closed
+     * or the transaction is finished, so the following requests resume the scan.
+     *
+     * @param cursorId Cursor ID.
+     * @param indexStorage Index storage.
+     * @param request Scan retrieve batch request.
+     * @return Index scan cursor.
+     * @throws IgniteInternalException If the scan has been started over another index or over the table.
+     */
+    private IndexScanCursor indexScanCursor(
+            IgniteUuid cursorId,
+            TableSchemaAwareIndexStorage indexStorage,
+            ScanRetrieveBatchReplicaRequest request
+    ) {
+        IndexScanCursor cursor = cursor(cursorId, IndexScanCursor.class,
+                () -> new IndexScanCursor(indexStorage.id(), openIndexCursor(indexStorage.storage(), request)));
+
+        if (!cursor.indexId.equals(indexStorage.id())) {
+            throw new IgniteInternalException(Replicator.REPLICA_COMMON_ERR,
+                    IgniteStringFormatter.format("Scan has been started over another index [replicaGrpId={}, cursorId={}, indexId={}, "
+                            + "requestedIndexId={}]", replicationGroupId, cursorId, cursor.indexId, indexStorage.id()));
+        }
+
+        return cursor;
+    }
+
+    /**
+     * Returns the cursor of a scan, opens the cursor if it is the first request of the scan. The cursor is opened outside of the cursors
+     * map operations, if the scan is started concurrently, all the cursors except the registered one are closed.
+     *
+     * @param cursorId Cursor ID.
+     * @param cursorClass Expected class of the cursor.
+     * @param cursorFactory Opens a new cursor.
+     * @param <T> Type of the cursor.
+     * @return Cursor.
+     * @throws IgniteInternalException If a cursor of another type is registered with the ID.
+     */
+    private <T extends Cursor<?>> T cursor(IgniteUuid cursorId, Class<T> cursorClass, Supplier<T> cursorFactory) {
+        Cursor<?> cursor = cursors.get(cursorId);
+
+        if (cursor == null) {
+            T newCursor = cursorFactory.get();
+
+            cursor = cursors.putIfAbsent(cursorId, newCursor);
+
+            if (cursor == null) {
+                return newCursor;
+            }
+
+            try {
+                newCursor.close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close a concurrently opened cursor [replicaGrpId={}, cursorId={}]", e, replicationGroupId, cursorId);
+            }
+        }
+
+        if (!cursorClass.isInstance(cursor)) {
+            throw new IgniteInternalException(Replicator.REPLICA_COMMON_ERR,
+                    IgniteStringFormatter.format("Unexpected scan cursor type [replicaGrpId={}, cursorId={}, expected={}, actual={}]",
+                            replicationGroupId, cursorId, cursorClass.getSimpleName(), cursor.getClass().getSimpleName()));
+        }
+
+        return cursorClass.cast(cursor);
+    }
+
+    /**
+     * Opens a cursor over the index entries: a lookup of the exact key if it is present in the request, or a range scan of a sorted
+     * index otherwise.
+     *
+     * @param storage Index storage.
+     * @param request Scan retrieve batch request.
+     * @return Cursor over the index entries.
+     */
+    private static Cursor<IndexRow> openIndexCursor(IndexStorage storage, ScanRetrieveBatchReplicaRequest request) {
+        BinaryTuple exactKey = request.exactKey();
+
+        if (exactKey != null) {
+            return CursorUtils.map(storage.get(exactKey), rowId -> new IndexRowImpl(exactKey, rowId));
+        }
+
+        if (!(storage instanceof SortedIndexStorage)) {
+            throw new IgniteInternalException(Replicator.REPLICA_COMMON_ERR,
+                    "Range scans are supported by sorted indexes only [storage=" + storage.getClass().getSimpleName() + ']');
+        }
+
+        SortedIndexStorage sortedStorage = (SortedIndexStorage) storage;
+
+        return sortedStorage.scan(
+                toPrefix(sortedStorage, request.lowerBound()),
+                toPrefix(sortedStorage, request.upperBound()),
+                request.flags()
+        );
+    }
+
+    private static @Nullable BinaryTuplePrefix toPrefix(SortedIndexStorage storage, @Nullable BinaryTuple bound) {
+        if (bound == null) {
+            return null;
+        }
+
+        if ((bound.byteBuffer().get(0) & BinaryTupleCommon.PREFIX_FLAG) != 0) {
+            return new BinaryTuplePrefix(storage.indexDescriptor().binaryTupleSchema(), bound.byteBuffer());
+        }
+
+        return BinaryTuplePrefix.fromBinaryTuple(bound);
+    }
+
     /**
      * Processes transaction finish request.
      * <ol>
      *     <li>Get commit timestamp from finish replica request.</li>
      *     <li>Run specific raft {@code FinishTxCommand} command, that will apply txn state to corresponding txStateStorage.</li>
      *     <li>Send cleanup requests to all enlisted primary replicas.</li>
+     *     <li>Run specific raft {@code MarkTxCleanupCompletedCommand} command, once all the cleanups are done, that will allow to remove
+     *     the txn state from the txStateStorage.</li>
      * </ol>
      *
      * @param request Transaction finish request.
@@ -416,7 +694,16 @@ public class PartitionReplicaListener implements ReplicaListener {
                         )
         );
 
-        return allOf(cleanupFutures).thenApply(ignored -> null);
+        return allOf(cleanupFutures).thenApply(ignored -> {
+            // The write intents of the transaction are resolved everywhere, its state may be removed from the storage.
+            raftClient.run(new MarkTxCleanupCompletedCommand(txId, hybridClock.now())).whenComplete((res, e) -> {
+                if (e != null) {
+                    LOG.warn("Failed to mark the transaction as cleaned up, its state is kept [txId={}]", e, txId);
+                }
+            });
+
+            return null;
+        });
     }
 
 
@@ -1192,4 +1479,38 @@ public class PartitionReplicaListener implements ReplicaListener {
             }
         }
     }
+
+    /**
+     * Cursor over the entries of a secondary index scan, remembers the index, so that the following requests of the scan can be checked.
+     */
+    private static class IndexScanCursor implements Cursor<IndexRow> {
+        /** Index ID. */
+        final UUID indexId;
+
+        /** Cursor over the index entries. */
+        final Cursor<IndexRow> delegate;
+
+        IndexScanCursor(UUID indexId, Cursor<IndexRow> delegate) {
+            this.indexId = indexId;
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public IndexRow next() {
+            return delegate.next();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws Exception {
+            delegate.close();
+        }
+    }
 }
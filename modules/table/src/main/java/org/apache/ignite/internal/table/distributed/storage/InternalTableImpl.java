@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow.Publisher;
@@ -43,6 +44,7 @@ import org.apache.ignite.internal.replicator.exception.PrimaryReplicaMissExcepti
 import org.apache.ignite.internal.replicator.message.ReplicaRequest;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.BinaryRowEx;
+import org.apache.ignite.internal.schema.BinaryTuple;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.table.distributed.TableMessagesFactory;
@@ -298,13 +300,23 @@ public class InternalTableImpl implements InternalTable {
      * @param partId Partition number.
      * @param scanId Scan id.
      * @param batchSize Size of batch.
+     * @param indexId Index to scan, {@code null} to scan the table rows.
+     * @param exactKey Key for the exact index lookup, {@code null} for a range scan.
+     * @param lowerBound Lower bound of the index range scan.
+     * @param upperBound Upper bound of the index range scan.
+     * @param flags Control flags of the index range scan.
      * @return Batch of retrieved rows.
      */
     private CompletableFuture<Collection<BinaryRow>> enlistCursorInTx(
             @NotNull InternalTransaction tx,
             int partId,
             long scanId,
-            int batchSize
+            int batchSize,
+            @Nullable UUID indexId,
+            @Nullable BinaryTuple exactKey,
+            @Nullable BinaryTuple lowerBound,
+            @Nullable BinaryTuple upperBound,
+            int flags
     ) {
         String partGroupId = partitionMap.get(partId).groupId();
 
@@ -317,6 +329,11 @@ public class InternalTableImpl implements InternalTable {
                 .transactionId(tx.id())
                 .scanId(scanId)
                 .batchSize(batchSize)
+                .indexToUse(indexId)
+                .exactKey(exactKey)
+                .lowerBound(lowerBound)
+                .upperBound(upperBound)
+                .flags(flags)
                 .timestamp(clock.now());
 
         if (primaryReplicaAndTerm != null) {
@@ -684,6 +701,42 @@ public class InternalTableImpl implements InternalTable {
     /** {@inheritDoc} */
     @Override
     public Publisher<BinaryRow> scan(int p, @Nullable InternalTransaction tx) {
+        return scan0(p, tx, null, null, null, null, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Publisher<BinaryRow> scan(
+            int p,
+            @Nullable InternalTransaction tx,
+            UUID indexId,
+            @Nullable BinaryTuple lowerBound,
+            @Nullable BinaryTuple upperBound,
+            int flags
+    ) {
+        Objects.requireNonNull(indexId, "indexId");
+
+        return scan0(p, tx, indexId, null, lowerBound, upperBound, flags);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Publisher<BinaryRow> lookup(int p, @Nullable InternalTransaction tx, UUID indexId, BinaryTuple key) {
+        Objects.requireNonNull(indexId, "indexId");
+        Objects.requireNonNull(key, "key");
+
+        return scan0(p, tx, indexId, key, null, null, 0);
+    }
+
+    private Publisher<BinaryRow> scan0(
+            int p,
+            @Nullable InternalTransaction tx,
+            @Nullable UUID indexId,
+            @Nullable BinaryTuple exactKey,
+            @Nullable BinaryTuple lowerBound,
+            @Nullable BinaryTuple upperBound,
+            int flags
+    ) {
         if (p < 0 || p >= partitions) {
             throw new IllegalArgumentException(
                     IgniteStringFormatter.format(
@@ -700,7 +753,7 @@ public class InternalTableImpl implements InternalTable {
         final InternalTransaction tx0 = implicit ? txManager.begin() : tx;
 
         return new PartitionScanPublisher(
-                (scanId, batchSize) -> enlistCursorInTx(tx0, p, scanId, batchSize),
+                (scanId, batchSize) -> enlistCursorInTx(tx0, p, scanId, batchSize, indexId, exactKey, lowerBound, upperBound, flags),
                 fut -> postEnlist(fut, implicit, tx0)
         );
     }
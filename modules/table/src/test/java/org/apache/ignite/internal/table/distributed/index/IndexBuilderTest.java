@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.row.RowAssembler;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.impl.TestMvPartitionStorage;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor.SortedIndexColumnDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
+import org.apache.ignite.internal.storage.index.impl.TestSortedIndexStorage;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.vault.VaultManager;
+import org.apache.ignite.internal.vault.inmemory.InMemoryVaultService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * For {@link IndexBuilder} testing.
+ */
+public class IndexBuilderTest {
+    private static final int PARTITION_ID = 0;
+
+    private static final SchemaDescriptor SCHEMA = new SchemaDescriptor(
+            1,
+            new Column[]{new Column("key", NativeTypes.INT32, false)},
+            new Column[]{new Column("val", NativeTypes.INT32, true)}
+    );
+
+    private final HybridClock clock = new HybridClock();
+
+    private final MvPartitionStorage partitionStorage = new TestMvPartitionStorage(PARTITION_ID);
+
+    private final SortedIndexStorage sortedIndexStorage = new TestSortedIndexStorage(new SortedIndexDescriptor(
+            UUID.randomUUID(),
+            List.of(new SortedIndexColumnDescriptor("val", NativeTypes.INT32, true, true))
+    ));
+
+    private final TableSchemaAwareIndexStorage indexStorage = new TableSchemaAwareIndexStorage(
+            sortedIndexStorage.indexDescriptor().id(),
+            sortedIndexStorage,
+            new IndexRowResolver(() -> new DummySchemaManagerImpl(SCHEMA), sortedIndexStorage.indexDescriptor().columns())
+    );
+
+    private final VaultManager vaultManager = new VaultManager(new InMemoryVaultService());
+
+    private IndexBuilder indexBuilder;
+
+    @AfterEach
+    void tearDown() {
+        if (indexBuilder != null) {
+            indexBuilder.stop();
+        }
+    }
+
+    @Test
+    void testBuildIndex() throws Exception {
+        indexBuilder = new IndexBuilder("test", 2, vaultManager, 3, () -> 0);
+
+        List<RowId> rowIds = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            RowId rowId = new RowId(PARTITION_ID);
+
+            addRow(rowId, i);
+
+            rowIds.add(rowId);
+        }
+
+        // Second version of the first row, both versions must be indexed.
+        RowId updatedRowId = rowIds.get(0);
+
+        addRow(updatedRowId, 1000);
+
+        // Removed row, only the previous version is indexed.
+        RowId removedRowId = rowIds.get(1);
+
+        partitionStorage.runConsistently(() -> {
+            partitionStorage.addWrite(removedRowId, null, UUID.randomUUID(), UUID.randomUUID(), PARTITION_ID);
+            partitionStorage.commitWrite(removedRowId, clock.now());
+
+            return null;
+        });
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, indexStorage, false);
+
+        assertTrue(waitForCondition(() -> !indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID), 10_000));
+
+        List<RowId> expectedRowIds = new ArrayList<>(rowIds);
+
+        expectedRowIds.add(updatedRowId);
+
+        List<RowId> indexedRowIds = indexedRowIds();
+
+        assertThat(indexedRowIds, containsInAnyOrder(expectedRowIds.toArray()));
+
+        // Entries are sorted by the indexed column, the latest version of the updated row has the greatest value.
+        assertEquals(updatedRowId, indexedRowIds.get(indexedRowIds.size() - 1));
+    }
+
+    @Test
+    void testStopBuildIndex() {
+        // Throttled to 1 row per second, so the build can't finish during the test.
+        indexBuilder = new IndexBuilder("test", 1, vaultManager, 1, () -> 1);
+
+        for (int i = 0; i < 10; i++) {
+            addRow(new RowId(PARTITION_ID), i);
+        }
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, indexStorage, false);
+
+        assertTrue(indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID));
+
+        indexBuilder.stopBuildIndex(indexStorage.id());
+
+        assertFalse(indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID));
+    }
+
+    @Test
+    void testBuiltIndexIsSkipped() throws Exception {
+        indexBuilder = new IndexBuilder("test", 1, vaultManager, 3, () -> 0);
+
+        for (int i = 0; i < 10; i++) {
+            addRow(new RowId(PARTITION_ID), i);
+        }
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, indexStorage, true);
+
+        assertTrue(waitForCondition(() -> !indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID), 10_000));
+
+        assertEquals(10, indexedRowIds(sortedIndexStorage).size());
+
+        assertTrue(waitForCondition(() -> vaultManager.get(IndexBuilder.progressKey(indexStorage.id(), PARTITION_ID)).join() != null,
+                10_000));
+
+        // Emulates a restart, the completed build must not scan the partition again.
+        SortedIndexStorage restartedStorage = new TestSortedIndexStorage(sortedIndexStorage.indexDescriptor());
+
+        TableSchemaAwareIndexStorage restartedIndexStorage = new TableSchemaAwareIndexStorage(
+                indexStorage.id(),
+                restartedStorage,
+                new IndexRowResolver(() -> new DummySchemaManagerImpl(SCHEMA), restartedStorage.indexDescriptor().columns())
+        );
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, restartedIndexStorage, true);
+
+        assertTrue(waitForCondition(() -> !indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID), 10_000));
+
+        assertTrue(indexedRowIds(restartedStorage).isEmpty());
+
+        // The progress is removed with the index, so the index is built again.
+        indexBuilder.stopBuildIndex(indexStorage.id());
+
+        assertTrue(waitForCondition(() -> vaultManager.get(IndexBuilder.progressKey(indexStorage.id(), PARTITION_ID)).join() == null,
+                10_000));
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, restartedIndexStorage, true);
+
+        assertTrue(waitForCondition(() -> !indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID), 10_000));
+
+        assertEquals(10, indexedRowIds(restartedStorage).size());
+    }
+
+    @Test
+    void testResetBuildIndexes() throws Exception {
+        // Throttled to 1 row per second, so the build can't finish during the test.
+        indexBuilder = new IndexBuilder("test", 1, vaultManager, 1, () -> 1);
+
+        for (int i = 0; i < 10; i++) {
+            addRow(new RowId(PARTITION_ID), i);
+        }
+
+        vaultManager.put(IndexBuilder.progressKey(indexStorage.id(), PARTITION_ID), new byte[0]).join();
+
+        indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, partitionStorage, indexStorage, false);
+
+        assertTrue(indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID));
+
+        indexBuilder.resetBuildIndexes(List.of(indexStorage.id()), PARTITION_ID);
+
+        assertFalse(indexBuilder.isBuilding(indexStorage.id(), PARTITION_ID));
+
+        // The progress is removed synchronously, the stopped build doesn't index anything after the reset.
+        assertNull(vaultManager.get(IndexBuilder.progressKey(indexStorage.id(), PARTITION_ID)).join());
+
+        int indexed = indexedRowIds().size();
+
+        Thread.sleep(1_500);
+
+        assertEquals(indexed, indexedRowIds().size());
+    }
+
+    private List<RowId> indexedRowIds() throws Exception {
+        return indexedRowIds(sortedIndexStorage);
+    }
+
+    private static List<RowId> indexedRowIds(SortedIndexStorage storage) throws Exception {
+        List<RowId> res = new ArrayList<>();
+
+        try (Cursor<IndexRow> cursor = storage.scan(null, null, 0)) {
+            cursor.forEachRemaining(indexRow -> res.add(indexRow.rowId()));
+        }
+
+        return res;
+    }
+
+    private void addRow(RowId rowId, int val) {
+        BinaryRow row = new RowAssembler(SCHEMA, 0, 0)
+                .appendInt(rowId.hashCode())
+                .appendInt(val)
+                .build();
+
+        partitionStorage.runConsistently(() -> {
+            partitionStorage.addWriteCommitted(rowId, row, clock.now());
+
+            return null;
+        });
+    }
+}
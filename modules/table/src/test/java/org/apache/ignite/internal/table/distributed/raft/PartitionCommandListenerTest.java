@@ -18,12 +18,24 @@
 package org.apache.ignite.internal.table.distributed.raft;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.ByteBuffer;
@@ -32,6 +44,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,18 +64,37 @@ import org.apache.ignite.internal.schema.row.RowAssembler;
 import org.apache.ignite.internal.storage.MvPartitionStorage;
 import org.apache.ignite.internal.storage.ReadResult;
 import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
 import org.apache.ignite.internal.storage.impl.TestMvPartitionStorage;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor.SortedIndexColumnDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
+import org.apache.ignite.internal.storage.index.impl.TestSortedIndexStorage;
+import org.apache.ignite.internal.table.distributed.command.FinishTxCommand;
+import org.apache.ignite.internal.table.distributed.command.MarkTxCleanupCompletedCommand;
+import org.apache.ignite.internal.table.distributed.command.TxCleanupCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpdateCommand;
+import org.apache.ignite.internal.table.distributed.index.IndexRowResolver;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
 import org.apache.ignite.internal.tx.Timestamp;
+import org.apache.ignite.internal.tx.TxMeta;
+import org.apache.ignite.internal.tx.TxState;
 import org.apache.ignite.internal.tx.impl.HeapLockManager;
 import org.apache.ignite.internal.tx.impl.TxManagerImpl;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
 import org.apache.ignite.internal.tx.storage.state.test.TestConcurrentHashMapTxStateStorage;
+import org.apache.ignite.internal.util.Cursor;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.network.ClusterService;
 import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.raft.client.Command;
+import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.service.CommandClosure;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -98,7 +130,26 @@ public class PartitionCommandListenerTest {
     private ConcurrentHashMap<ByteBuffer, RowId> primaryIndex = new ConcurrentHashMap<>();
 
     /** Partition storage. */
-    private MvPartitionStorage mvPartitionStorage = new TestMvPartitionStorage(PARTITION_ID);
+    private MvPartitionStorage mvPartitionStorage = spy(new TestMvPartitionStorage(PARTITION_ID));
+
+    /** Transaction state storage. */
+    private TxStateStorage txStateStorage = new TestConcurrentHashMapTxStateStorage();
+
+    /** Storage of a secondary index over the value column. */
+    private SortedIndexStorage valueIndexStorage = new TestSortedIndexStorage(new SortedIndexDescriptor(
+            UUID.randomUUID(),
+            List.of(new SortedIndexColumnDescriptor("value", NativeTypes.INT32, false, true))
+    ));
+
+    /** Secondary index over the value column. */
+    private TableSchemaAwareIndexStorage valueIndex = new TableSchemaAwareIndexStorage(
+            valueIndexStorage.indexDescriptor().id(),
+            valueIndexStorage,
+            new IndexRowResolver(() -> new DummySchemaManagerImpl(SCHEMA), valueIndexStorage.indexDescriptor().columns())
+    );
+
+    /** Outgoing snapshots of the partition. */
+    private final PartitionSnapshots partitionSnapshots = new PartitionSnapshots();
 
     /**
      * Initializes a table listener before tests.
@@ -111,11 +162,17 @@ public class PartitionCommandListenerTest {
 
         ReplicaService replicaService = Mockito.mock(ReplicaService.class, RETURNS_DEEP_STUBS);
 
+        // The test storage can't roll a failed batch back, it pretends to do so to check the batching.
+        doReturn(true).when(mvPartitionStorage).supportsAtomicRollback();
+
         commandListener = new PartitionListener(
+                PARTITION_ID,
                 mvPartitionStorage,
-                new TestConcurrentHashMapTxStateStorage(),
+                txStateStorage,
                 new TxManagerImpl(replicaService, new HeapLockManager(), new HybridClock()),
-                primaryIndex
+                primaryIndex,
+                () -> List.of(valueIndex),
+                partitionSnapshots
         );
     }
 
@@ -189,6 +246,227 @@ public class PartitionCommandListenerTest {
         readAndCheck(false);
     }
 
+    /**
+     * Checks that the commands of a single iteration are applied to the storage in one batch.
+     */
+    @Test
+    public void testCommandsAppliedInSingleStorageBatch() {
+        insert();
+
+        verify(mvPartitionStorage, times(1)).runConsistently(any());
+
+        assertEquals(raftIndex.get(), mvPartitionStorage.lastAppliedIndex());
+    }
+
+    /**
+     * Checks that a failed batch is not applied: the in-memory state is restored, the closures of the batch are left to the state
+     * machine, which fails them, and the error is propagated.
+     */
+    @Test
+    public void testFailedBatchIsNotApplied() {
+        insert();
+
+        Map<ByteBuffer, RowId> primaryIndexBefore = new HashMap<>(primaryIndex);
+
+        StorageException error = new StorageException("Test error");
+
+        // Fails the batch after all its commands are applied.
+        doThrow(error).when(mvPartitionStorage).lastAppliedIndex(anyLong());
+
+        UUID txId = Timestamp.nextVersion().toUuid();
+
+        List<CommandClosure<WriteCommand>> closures = new ArrayList<>();
+
+        for (int i = KEY_COUNT; i < 2 * KEY_COUNT; i++) {
+            CommandClosure<WriteCommand> clo = mock(CommandClosure.class);
+
+            when(clo.index()).thenReturn(raftIndex.incrementAndGet());
+            when(clo.command()).thenReturn(new UpdateCommand(new RowId(PARTITION_ID), getTestRow(i, i), txId));
+
+            closures.add(clo);
+        }
+
+        assertSame(error, assertThrows(StorageException.class, () -> commandListener.onWrite(closures.iterator())));
+
+        closures.forEach(clo -> verify(clo, never()).result(any()));
+
+        assertEquals(primaryIndexBefore, primaryIndex);
+
+        // The rows of the failed batch are not referenced by the transaction anymore, its cleanup doesn't touch them.
+        doCallRealMethod().when(mvPartitionStorage).lastAppliedIndex(anyLong());
+
+        applyCommand(new TxCleanupCommand(txId, true, CLOCK.now()));
+
+        assertEquals(primaryIndexBefore, primaryIndex);
+    }
+
+    /**
+     * Checks that the term and the configuration of the last applied log entry are recorded for the snapshot meta.
+     */
+    @Test
+    public void testLastAppliedTermAndConfiguration() {
+        commandListener.onWrite(batchIterator(clo -> {
+            when(clo.index()).thenReturn(raftIndex.incrementAndGet());
+            when(clo.term()).thenReturn(2L);
+            when(clo.command()).thenReturn(new UpdateCommand(new RowId(PARTITION_ID), getTestRow(1, 1), Timestamp.nextVersion().toUuid()));
+        }));
+
+        assertEquals(2, partitionSnapshots.lastAppliedTerm());
+
+        CommittedConfiguration config = new CommittedConfiguration(raftIndex.incrementAndGet(), 3, List.of("peer"), List.of("learner"));
+
+        commandListener.onConfigurationCommitted(config);
+
+        // The configuration entry is the last applied one now.
+        assertEquals(raftIndex.get(), mvPartitionStorage.lastAppliedIndex());
+        assertEquals(3, partitionSnapshots.lastAppliedTerm());
+        assertSame(config, partitionSnapshots.committedConfiguration());
+
+        // The configuration of an older entry, e.g. of a loaded snapshot, doesn't move the applied index back.
+        CommittedConfiguration oldConfig = new CommittedConfiguration(1, 1, List.of("peer"), List.of());
+
+        commandListener.onConfigurationCommitted(oldConfig);
+
+        assertEquals(raftIndex.get(), mvPartitionStorage.lastAppliedIndex());
+        assertEquals(3, partitionSnapshots.lastAppliedTerm());
+        assertSame(oldConfig, partitionSnapshots.committedConfiguration());
+    }
+
+    /**
+     * Checks that a finished transaction is marked as cleaned up, so its state can be compacted.
+     */
+    @Test
+    public void testMarkTxCleanupCompleted() {
+        UUID txId = Timestamp.nextVersion().toUuid();
+
+        HybridTimestamp commitTimestamp = CLOCK.now();
+
+        // A transaction that is not finished is not marked.
+        applyCommand(new MarkTxCleanupCompletedCommand(txId, CLOCK.now()));
+
+        assertNull(txStateStorage.get(txId));
+
+        applyCommand(new FinishTxCommand(txId, true, commitTimestamp, List.of("group")));
+
+        assertFalse(txStateStorage.get(txId).cleanupCompleted());
+
+        HybridTimestamp cleanupTimestamp = CLOCK.now();
+
+        applyCommand(new MarkTxCleanupCompletedCommand(txId, cleanupTimestamp));
+
+        assertEquals(new TxMeta(TxState.COMMITED, List.of("group"), commitTimestamp, cleanupTimestamp), txStateStorage.get(txId));
+
+        // The state is kept for the retention period after the cleanup.
+        assertEquals(0, txStateStorage.compact(cleanupTimestamp));
+
+        assertEquals(1, txStateStorage.compact(CLOCK.now()));
+
+        assertNull(txStateStorage.get(txId));
+    }
+
+    /**
+     * Checks that the secondary index entries are added with the row versions and removed when the write intents are replaced or
+     * aborted.
+     */
+    @Test
+    public void testSecondaryIndexMaintenance() throws Exception {
+        insert();
+
+        assertEquals(KEY_COUNT, indexedValues().size());
+
+        update(integer -> integer + KEY_COUNT);
+
+        // Entries of the previous versions are kept, readers filter them out.
+        assertEquals(2 * KEY_COUNT, indexedValues().size());
+
+        RowId rowId = primaryIndex.get(getTestKey(0).keySlice());
+        UUID txId = Timestamp.nextVersion().toUuid();
+
+        applyCommand(new UpdateCommand(rowId, getTestRow(0, -1), txId));
+        applyCommand(new UpdateCommand(rowId, getTestRow(0, -2), txId));
+
+        List<Integer> indexedValues = indexedValues();
+
+        // The replaced write intent is not referenced by the row versions anymore.
+        assertFalse(indexedValues.contains(-1));
+        assertTrue(indexedValues.contains(-2));
+
+        applyCommand(new TxCleanupCommand(txId, false, null));
+
+        indexedValues = indexedValues();
+
+        assertFalse(indexedValues.contains(-2));
+        assertTrue(indexedValues.contains(0));
+        assertTrue(indexedValues.contains(KEY_COUNT));
+        assertEquals(2 * KEY_COUNT, indexedValues.size());
+    }
+
+    /**
+     * Checks that the write intents of a pending transaction are resolved by its cleanup after the partition has been loaded from a
+     * snapshot, i.e. the pending rows of the transactions are restored from the storage.
+     */
+    @Test
+    public void testPendingRowsRestoredOnSnapshotLoad() {
+        RowId rowId = new RowId(PARTITION_ID);
+        UUID txId = Timestamp.nextVersion().toUuid();
+
+        applyCommand(new UpdateCommand(rowId, getTestRow(0, 1), txId));
+
+        // A listener of the partition that has been filled by a rebalance snapshot.
+        commandListener = new PartitionListener(
+                PARTITION_ID,
+                mvPartitionStorage,
+                new TestConcurrentHashMapTxStateStorage(),
+                new TxManagerImpl(mock(ReplicaService.class, RETURNS_DEEP_STUBS), new HeapLockManager(), new HybridClock()),
+                primaryIndex,
+                () -> List.of(valueIndex),
+                new PartitionSnapshots()
+        );
+
+        assertTrue(commandListener.onSnapshotLoad(null));
+
+        assertEquals(rowId, primaryIndex.get(getTestKey(0).keySlice()));
+
+        applyCommand(new TxCleanupCommand(txId, true, CLOCK.now()));
+
+        ReadResult readResult = mvPartitionStorage.read(rowId, HybridTimestamp.MAX_VALUE);
+
+        assertFalse(readResult.isWriteIntent());
+        assertNotNull(readResult.binaryRow());
+    }
+
+    /**
+     * Applies a single command and checks that it has succeeded.
+     *
+     * @param command Command.
+     */
+    private void applyCommand(Command command) {
+        commandListener.onWrite(batchIterator(clo -> {
+            when(clo.index()).thenReturn(raftIndex.incrementAndGet());
+
+            when(clo.command()).thenReturn(command);
+
+            doAnswer(invocation -> {
+                assertNull(invocation.getArgument(0));
+
+                return null;
+            }).when(clo).result(any());
+        }));
+    }
+
+    /**
+     * Returns the values of all entries of the value index.
+     */
+    private List<Integer> indexedValues() throws Exception {
+        List<Integer> res = new ArrayList<>();
+
+        try (Cursor<IndexRow> cursor = valueIndexStorage.scan(null, null, 0)) {
+            cursor.forEachRemaining(indexRow -> res.add((Integer) indexRow.indexColumns().value(0)));
+        }
+
+        return res;
+    }
+
     /**
      * Prepares a closure iterator for a specific batch operation.
      *
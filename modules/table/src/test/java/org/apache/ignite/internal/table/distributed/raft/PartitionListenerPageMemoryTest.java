@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.table.distributed.raft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
+import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.hlc.HybridTimestamp;
+import org.apache.ignite.internal.components.LongJvmPauseDetector;
+import org.apache.ignite.internal.configuration.testframework.ConfigurationExtension;
+import org.apache.ignite.internal.configuration.testframework.InjectConfiguration;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.pagememory.io.PageIoRegistry;
+import org.apache.ignite.internal.replicator.ReplicaService;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.row.Row;
+import org.apache.ignite.internal.schema.row.RowAssembler;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.pagememory.PersistentPageMemoryStorageEngine;
+import org.apache.ignite.internal.storage.pagememory.PersistentPageMemoryTableStorage;
+import org.apache.ignite.internal.storage.pagememory.configuration.schema.PersistentPageMemoryStorageEngineConfiguration;
+import org.apache.ignite.internal.table.distributed.command.UpdateCommand;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
+import org.apache.ignite.internal.testframework.WorkDirectory;
+import org.apache.ignite.internal.testframework.WorkDirectoryExtension;
+import org.apache.ignite.internal.tx.Timestamp;
+import org.apache.ignite.internal.tx.impl.HeapLockManager;
+import org.apache.ignite.internal.tx.impl.TxManagerImpl;
+import org.apache.ignite.internal.tx.storage.state.test.TestConcurrentHashMapTxStateStorage;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.service.CommandClosure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Tests for the table command listener over a persistent page memory partition, which can't roll back the writes of a failed
+ * {@link MvPartitionStorage#runConsistently} closure.
+ */
+@ExtendWith({ConfigurationExtension.class, WorkDirectoryExtension.class})
+public class PartitionListenerPageMemoryTest {
+    /** Partition id. */
+    private static final int PARTITION_ID = 0;
+
+    /** Schema. */
+    private static final SchemaDescriptor SCHEMA = new SchemaDescriptor(
+            1,
+            new Column[]{new Column("key", NativeTypes.INT32, false)},
+            new Column[]{new Column("value", NativeTypes.INT32, false)}
+    );
+
+    @WorkDirectory
+    private Path workDir;
+
+    @InjectConfiguration("mock.checkpoint.checkpointDelayMillis = 0")
+    private PersistentPageMemoryStorageEngineConfiguration engineConfig;
+
+    @InjectConfiguration("mock.tables.foo.dataStorage.name = " + PersistentPageMemoryStorageEngine.ENGINE_NAME)
+    private TablesConfiguration tablesConfig;
+
+    private LongJvmPauseDetector longJvmPauseDetector;
+
+    private PersistentPageMemoryStorageEngine engine;
+
+    private PersistentPageMemoryTableStorage table;
+
+    private MvPartitionStorage storage;
+
+    private PartitionListener commandListener;
+
+    @BeforeEach
+    void setUp() {
+        PageIoRegistry ioRegistry = new PageIoRegistry();
+
+        ioRegistry.loadFromServiceLoader();
+
+        longJvmPauseDetector = new LongJvmPauseDetector("test", Loggers.forClass(LongJvmPauseDetector.class));
+
+        longJvmPauseDetector.start();
+
+        engine = new PersistentPageMemoryStorageEngine("test", engineConfig, ioRegistry, workDir, longJvmPauseDetector);
+
+        engine.start();
+
+        table = engine.createMvTable(tablesConfig.tables().get("foo"), tablesConfig);
+
+        table.start();
+
+        storage = spy(table.createMvPartitionStorage(PARTITION_ID));
+
+        commandListener = new PartitionListener(
+                PARTITION_ID,
+                storage,
+                new TestConcurrentHashMapTxStateStorage(),
+                new TxManagerImpl(mock(ReplicaService.class, RETURNS_DEEP_STUBS), new HeapLockManager(), new HybridClock()),
+                new ConcurrentHashMap<>(),
+                List::of,
+                new PartitionSnapshots()
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        IgniteUtils.closeAll(
+                storage,
+                table == null ? null : table::stop,
+                engine == null ? null : engine::stop,
+                longJvmPauseDetector == null ? null : longJvmPauseDetector::stop
+        );
+    }
+
+    /**
+     * Checks that the commands are applied one by one, so the commands that precede the failed one are applied and completed, and the
+     * failed command and the following ones are left to the state machine, which fails their closures.
+     */
+    @Test
+    public void testCommandsAppliedOneByOneOnFailure() {
+        assertFalse(storage.supportsAtomicRollback());
+
+        StorageException error = new StorageException("Test error");
+
+        // Fails the second command after its row is written.
+        doCallRealMethod().doThrow(error).when(storage).lastAppliedIndex(anyLong());
+
+        UUID txId = Timestamp.nextVersion().toUuid();
+
+        List<RowId> rowIds = new ArrayList<>();
+        List<CommandClosure<WriteCommand>> closures = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            RowId rowId = new RowId(PARTITION_ID);
+
+            CommandClosure<WriteCommand> clo = mock(CommandClosure.class);
+
+            when(clo.index()).thenReturn((long) i + 1);
+            when(clo.command()).thenReturn(new UpdateCommand(rowId, getTestRow(i, i), txId));
+
+            rowIds.add(rowId);
+            closures.add(clo);
+        }
+
+        assertSame(error, assertThrows(StorageException.class, () -> commandListener.onWrite(closures.iterator())));
+
+        verify(storage, times(2)).runConsistently(any());
+
+        verify(closures.get(0)).result(any());
+        verify(closures.get(1), never()).result(any());
+        verify(closures.get(2), never()).result(any());
+
+        assertEquals(1, storage.lastAppliedIndex());
+
+        assertNotNull(storage.read(rowIds.get(0), HybridTimestamp.MAX_VALUE).binaryRow());
+    }
+
+    private static Row getTestRow(int key, int val) {
+        RowAssembler rowBuilder = new RowAssembler(SCHEMA, 0, 0);
+
+        rowBuilder.appendInt(key);
+        rowBuilder.appendInt(val);
+
+        return new Row(SCHEMA, rowBuilder.build());
+    }
+}
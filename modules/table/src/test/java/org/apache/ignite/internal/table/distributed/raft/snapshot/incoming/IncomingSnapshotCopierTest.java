@@ -0,0 +1,741 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.raft.snapshot.incoming;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apache.ignite.internal.testframework.IgniteTestUtils.waitForCondition;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.internal.logger.Loggers;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.row.Row;
+import org.apache.ignite.internal.schema.row.RowAssembler;
+import org.apache.ignite.internal.storage.MvPartitionStorage;
+import org.apache.ignite.internal.storage.ReadResult;
+import org.apache.ignite.internal.storage.RowId;
+import org.apache.ignite.internal.storage.engine.MvTableStorage;
+import org.apache.ignite.internal.storage.impl.TestMvPartitionStorage;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.IndexRowImpl;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexDescriptor.SortedIndexColumnDescriptor;
+import org.apache.ignite.internal.storage.index.SortedIndexStorage;
+import org.apache.ignite.internal.storage.index.impl.TestSortedIndexStorage;
+import org.apache.ignite.internal.table.distributed.TableMessageGroup;
+import org.apache.ignite.internal.table.distributed.index.IndexBuilder;
+import org.apache.ignite.internal.table.distributed.index.IndexRowResolver;
+import org.apache.ignite.internal.table.distributed.index.TableSchemaAwareIndexStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccess;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionAccessImpl;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.PartitionSnapshotStorage;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotReader;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.OutgoingSnapshotsManager;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
+import org.apache.ignite.internal.testframework.WorkDirectory;
+import org.apache.ignite.internal.testframework.WorkDirectoryExtension;
+import org.apache.ignite.internal.thread.LogUncaughtExceptionHandler;
+import org.apache.ignite.internal.thread.StripedThreadPoolExecutor;
+import org.apache.ignite.internal.tx.TxMeta;
+import org.apache.ignite.internal.tx.TxState;
+import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
+import org.apache.ignite.internal.tx.storage.state.test.TestConcurrentHashMapTxStateStorage;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.internal.vault.VaultManager;
+import org.apache.ignite.internal.vault.inmemory.InMemoryVaultService;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.network.ClusterNode;
+import org.apache.ignite.network.MessagingService;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.network.NetworkMessage;
+import org.apache.ignite.network.NetworkMessageHandler;
+import org.apache.ignite.network.TopologyService;
+import org.apache.ignite.raft.client.service.CommittedConfiguration;
+import org.apache.ignite.raft.jraft.RaftMessagesFactory;
+import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.option.SnapshotCopierOptions;
+import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotCopier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * For {@link IncomingSnapshotCopier} testing. The snapshot is streamed from the source partition through a real
+ * {@link OutgoingSnapshotsManager}, the network is emulated by the mocked {@link MessagingService}.
+ */
+@ExtendWith(WorkDirectoryExtension.class)
+public class IncomingSnapshotCopierTest {
+    private static final int PARTITION_ID = 0;
+
+    private static final long LAST_APPLIED_INDEX = 100;
+
+    private static final SchemaDescriptor SCHEMA = new SchemaDescriptor(
+            1,
+            new Column[]{new Column("key", NativeTypes.INT32, false)},
+            new Column[]{new Column("val", NativeTypes.INT32, true)}
+    );
+
+    private static final ClusterNode SOURCE_NODE = new ClusterNode("source-id", "source", new NetworkAddress("localhost", 10000));
+
+    private final HybridClock clock = new HybridClock();
+
+    private final MvPartitionStorage sourceStorage = new TestMvPartitionStorage(PARTITION_ID);
+
+    private final MvPartitionStorage targetStorage = new TestMvPartitionStorage(PARTITION_ID);
+
+    private final TxStateStorage sourceTxStateStorage = new TestConcurrentHashMapTxStateStorage();
+
+    private final TxStateStorage targetTxStateStorage = new TestConcurrentHashMapTxStateStorage();
+
+    private final SortedIndexStorage targetIndexStorage = new TestSortedIndexStorage(new SortedIndexDescriptor(
+            UUID.randomUUID(),
+            List.of(new SortedIndexColumnDescriptor("val", NativeTypes.INT32, true, true))
+    ));
+
+    private final TableSchemaAwareIndexStorage targetIndex = new TableSchemaAwareIndexStorage(
+            targetIndexStorage.indexDescriptor().id(),
+            targetIndexStorage,
+            new IndexRowResolver(() -> new DummySchemaManagerImpl(SCHEMA), targetIndexStorage.indexDescriptor().columns())
+    );
+
+    private final Map<ByteBuffer, RowId> targetPrimaryIndex = new ConcurrentHashMap<>();
+
+    private final PartitionSnapshots sourcePartitionSnapshots = new PartitionSnapshots();
+
+    private final MvTableStorage sourceTableStorage = mock(MvTableStorage.class);
+
+    private final MvTableStorage targetTableStorage = mock(MvTableStorage.class);
+
+    @WorkDirectory
+    private Path workDir;
+
+    private PartitionAccess sourcePartition;
+
+    private PartitionAccess targetPartition;
+
+    private final MessagingService messagingService = mock(MessagingService.class);
+
+    private final TopologyService topologyService = mock(TopologyService.class);
+
+    private final OutgoingSnapshotsManager outgoingSnapshotsManager = new OutgoingSnapshotsManager("test", messagingService);
+
+    private final StripedThreadPoolExecutor incomingSnapshotsExecutor = new StripedThreadPoolExecutor(
+            2,
+            "incoming-snapshots",
+            new LogUncaughtExceptionHandler(Loggers.forClass(IncomingSnapshotCopierTest.class)),
+            false,
+            0
+    );
+
+    private final Map<Long, CompletableFuture<NetworkMessage>> responseFutures = new ConcurrentHashMap<>();
+
+    private final AtomicLong correlationIds = new AtomicLong();
+
+    private final List<SnapshotCopier> copiers = new ArrayList<>();
+
+    private final VaultManager vaultManager = new VaultManager(new InMemoryVaultService());
+
+    private final IndexBuilder indexBuilder = new IndexBuilder("test", 1, vaultManager, 3, () -> 0);
+
+    @BeforeEach
+    void setUp() {
+        sourcePartition = new PartitionAccessImpl(
+                PARTITION_ID,
+                sourceTableStorage,
+                sourceStorage,
+                sourceTxStateStorage,
+                List::of,
+                new ConcurrentHashMap<>(),
+                sourcePartitionSnapshots,
+                workDir.resolve("source"),
+                indexBuilder,
+                () -> {}
+        );
+
+        targetPartition = new PartitionAccessImpl(
+                PARTITION_ID,
+                targetTableStorage,
+                targetStorage,
+                targetTxStateStorage,
+                () -> List.of(targetIndex),
+                targetPrimaryIndex,
+                new PartitionSnapshots(),
+                workDir.resolve("target"),
+                indexBuilder,
+                () -> indexBuilder.startBuildIndex(UUID.randomUUID(), PARTITION_ID, targetStorage, targetIndex, true)
+        );
+
+        outgoingSnapshotsManager.start();
+
+        ArgumentCaptor<NetworkMessageHandler> handlerCaptor = ArgumentCaptor.forClass(NetworkMessageHandler.class);
+
+        verify(messagingService).addMessageHandler(eq(TableMessageGroup.class), handlerCaptor.capture());
+
+        NetworkMessageHandler handler = handlerCaptor.getValue();
+
+        when(messagingService.invoke(any(ClusterNode.class), any(NetworkMessage.class), anyLong())).thenAnswer(invocation -> {
+            long correlationId = correlationIds.incrementAndGet();
+
+            CompletableFuture<NetworkMessage> responseFuture = new CompletableFuture<>();
+
+            responseFutures.put(correlationId, responseFuture);
+
+            handler.onReceived(invocation.getArgument(1), SOURCE_NODE.address(), correlationId);
+
+            return responseFuture;
+        });
+
+        when(messagingService.respond(any(NetworkAddress.class), any(NetworkMessage.class), anyLong())).thenAnswer(invocation -> {
+            responseFutures.remove(invocation.<Long>getArgument(2)).complete(invocation.getArgument(1));
+
+            return completedFuture(null);
+        });
+
+        when(topologyService.localMember()).thenReturn(SOURCE_NODE);
+        when(topologyService.getByConsistentId(SOURCE_NODE.name())).thenReturn(SOURCE_NODE);
+
+        fillSourceStorage();
+
+        fillSourceTxStateStorage();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (SnapshotCopier copier : copiers) {
+            copier.close();
+        }
+
+        outgoingSnapshotsManager.stop();
+
+        indexBuilder.stop();
+
+        IgniteUtils.shutdownAndAwaitTermination(incomingSnapshotsExecutor, 10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCopy() throws Exception {
+        SnapshotCopier copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertEquals(LAST_APPLIED_INDEX, copier.getReader().load().lastIncludedIndex());
+        assertEquals(LAST_APPLIED_INDEX, targetStorage.lastAppliedIndex());
+
+        assertStoragesEqual();
+
+        assertTxStatesEqual();
+
+        assertEquals(indexedValues(sourceStorage), indexedValues(targetIndexStorage));
+    }
+
+    @Test
+    void testMetaOfLastAppliedEntry() throws Exception {
+        // Until an entry is applied after the start, the meta is the startup one.
+        SnapshotCopier copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertEquals(0, copier.getReader().load().lastIncludedTerm());
+        assertEquals(List.of(), copier.getReader().load().peersList());
+
+        sourcePartitionSnapshots.lock().lock();
+
+        try {
+            sourcePartitionSnapshots.lastAppliedTerm(5);
+            sourcePartitionSnapshots.committedConfiguration(new CommittedConfiguration(1, 2, List.of("peer"), List.of("learner")));
+        } finally {
+            sourcePartitionSnapshots.lock().unlock();
+        }
+
+        copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        SnapshotMeta meta = copier.getReader().load();
+
+        assertEquals(LAST_APPLIED_INDEX, meta.lastIncludedIndex());
+        assertEquals(5, meta.lastIncludedTerm());
+        assertEquals(List.of("peer"), meta.peersList());
+        assertEquals(List.of("learner"), meta.learnersList());
+    }
+
+    @Test
+    void testPhysicalSnapshotCopy() throws Exception {
+        // Several chunks of 256 bytes.
+        byte[] fileContent = new byte[1000];
+
+        ThreadLocalRandom.current().nextBytes(fileContent);
+
+        when(sourceTableStorage.supportsPartitionSnapshots()).thenReturn(true);
+        when(targetTableStorage.supportsPartitionSnapshots()).thenReturn(true);
+
+        when(sourceTableStorage.createPartitionSnapshot(eq(PARTITION_ID), any(Path.class))).thenAnswer(invocation -> {
+            Path snapshotDir = invocation.getArgument(1);
+
+            Files.createDirectories(snapshotDir);
+
+            Files.write(snapshotDir.resolve("data"), fileContent);
+            Files.write(snapshotDir.resolve("empty"), new byte[0]);
+
+            return completedFuture(null);
+        });
+
+        Map<String, byte[]> restoredFiles = new ConcurrentHashMap<>();
+
+        doAnswer(invocation -> {
+            Path snapshotDir = invocation.getArgument(1);
+
+            try (Stream<Path> files = Files.list(snapshotDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    restoredFiles.put(file.getFileName().toString(), Files.readAllBytes(file));
+                }
+            }
+
+            return null;
+        }).when(targetTableStorage).restorePartitionSnapshot(eq(PARTITION_ID), any(Path.class));
+
+        SnapshotCopier copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertEquals(Set.of("data", "empty"), restoredFiles.keySet());
+        assertArrayEquals(fileContent, restoredFiles.get("data"));
+        assertEquals(0, restoredFiles.get("empty").length);
+
+        // The version chains are not streamed, the transaction states are.
+        assertNull(targetStorage.closestRowId(RowId.lowestRowId(PARTITION_ID)));
+
+        assertTxStatesEqual();
+
+        assertEquals(LAST_APPLIED_INDEX, targetStorage.lastAppliedIndex());
+
+        copier.close();
+
+        // The received files are removed along with the copier.
+        try (Stream<Path> files = Files.list(workDir.resolve("target"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testPhysicalSnapshotWithHalfBuiltIndex() throws Exception {
+        when(sourceTableStorage.supportsPartitionSnapshots()).thenReturn(true);
+        when(targetTableStorage.supportsPartitionSnapshots()).thenReturn(true);
+
+        when(sourceTableStorage.createPartitionSnapshot(eq(PARTITION_ID), any(Path.class))).thenAnswer(invocation -> {
+            Path snapshotDir = invocation.getArgument(1);
+
+            Files.createDirectories(snapshotDir);
+
+            Files.write(snapshotDir.resolve("data"), new byte[10]);
+
+            return completedFuture(null);
+        });
+
+        // The snapshot has been taken in the middle of the index build, only the first half of the rows is indexed.
+        List<Integer> restoredValues = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            targetStorage.runConsistently(() -> {
+                for (int i = 0; i < 10; i++) {
+                    RowId rowId = new RowId(PARTITION_ID);
+                    BinaryRow row = row(i, i);
+
+                    targetStorage.addWriteCommitted(rowId, row, clock.now());
+
+                    if (i < 5) {
+                        targetIndex.storage().put(new IndexRowImpl(targetIndex.resolveIndexRow(row), rowId));
+                    }
+
+                    restoredValues.add(i);
+                }
+
+                return null;
+            });
+
+            return null;
+        }).when(targetTableStorage).restorePartitionSnapshot(eq(PARTITION_ID), any(Path.class));
+
+        // The build of the replaced data has been completed, the saved progress must not be applied to the restored data.
+        vaultManager.put(IndexBuilder.progressKey(targetIndex.id(), PARTITION_ID), new byte[0]).join();
+
+        SnapshotCopier copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertTrue(waitForCondition(() -> !indexBuilder.isBuilding(targetIndex.id(), PARTITION_ID), 10_000));
+
+        assertEquals(restoredValues, indexedValues(targetIndexStorage));
+    }
+
+    @Test
+    void testTargetPartitionIsClearedBeforeCopy() throws Exception {
+        RowId staleRowId = new RowId(PARTITION_ID);
+        BinaryRow staleRow = row(-100, -100);
+        UUID staleTxId = UUID.randomUUID();
+
+        targetStorage.runConsistently(() -> {
+            targetStorage.addWriteCommitted(staleRowId, staleRow, clock.now());
+
+            targetIndex.storage().put(new IndexRowImpl(targetIndex.resolveIndexRow(staleRow), staleRowId));
+
+            targetStorage.lastAppliedIndex(LAST_APPLIED_INDEX * 2);
+
+            return null;
+        });
+
+        targetPrimaryIndex.put(staleRow.keySlice(), staleRowId);
+
+        targetTxStateStorage.put(staleTxId, new TxMeta(TxState.ABORTED, List.of(), null));
+
+        SnapshotCopier copier = startCopy(createSnapshotStorage(targetPartition, 256));
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertEquals(LAST_APPLIED_INDEX, targetStorage.lastAppliedIndex());
+
+        assertStoragesEqual();
+
+        assertTxStatesEqual();
+
+        assertEquals(indexedValues(sourceStorage), indexedValues(targetIndexStorage));
+
+        assertFalse(targetPrimaryIndex.containsKey(staleRow.keySlice()));
+        assertNull(targetTxStateStorage.get(staleTxId));
+    }
+
+    @Test
+    void testSnapshotIsConsistentWithMeta() throws Exception {
+        String uri = new OutgoingSnapshotReader(createSnapshotStorage(sourcePartition, 256)).generateURIForCopy();
+
+        NavigableMap<RowId, List<ReadResult>> expectedRows = readPartition(sourceStorage);
+
+        // The updates applied after the snapshot has been taken, the same way the partition listener applies them. The second row
+        // has no write intent, so a committed version can be added on top of it.
+        RowId updatedRowId = expectedRows.higherKey(expectedRows.firstKey());
+        RowId insertedRowId = new RowId(PARTITION_ID);
+
+        sourcePartitionSnapshots.lock().lock();
+
+        try {
+            sourceStorage.runConsistently(() -> {
+                sourcePartitionSnapshots.beforeRowUpdate(updatedRowId);
+
+                sourceStorage.addWriteCommitted(updatedRowId, row(1000, 1000), clock.now());
+
+                sourcePartitionSnapshots.beforeRowUpdate(insertedRowId);
+
+                sourceStorage.addWriteCommitted(insertedRowId, row(1001, 1001), clock.now());
+
+                sourceStorage.lastAppliedIndex(LAST_APPLIED_INDEX + 1);
+
+                return null;
+            });
+        } finally {
+            sourcePartitionSnapshots.lock().unlock();
+        }
+
+        SnapshotCopier copier = createSnapshotStorage(targetPartition, 256).startToCopyFrom(uri, new SnapshotCopierOptions());
+
+        copiers.add(copier);
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+
+        assertEquals(LAST_APPLIED_INDEX, targetStorage.lastAppliedIndex());
+
+        assertPartitionsEqual(expectedRows, readPartition(targetStorage));
+    }
+
+    @Test
+    void testThrottledCopy() throws Exception {
+        PartitionSnapshotStorage targetSnapshotStorage = createSnapshotStorage(targetPartition, 256);
+
+        AtomicInteger throttleCalls = new AtomicInteger();
+
+        // Every second request is postponed.
+        targetSnapshotStorage.setSnapshotThrottle(bytes -> throttleCalls.incrementAndGet() % 2 == 0 ? 0 : bytes);
+
+        SnapshotCopier copier = startCopy(targetSnapshotStorage);
+
+        copier.join();
+
+        assertTrue(copier.isOk(), copier.toString());
+        assertTrue(throttleCalls.get() > 2);
+
+        assertStoragesEqual();
+    }
+
+    @Test
+    void testSourceNodeLeft() throws Exception {
+        PartitionSnapshotStorage targetSnapshotStorage = createSnapshotStorage(targetPartition, 256);
+
+        String uri = new OutgoingSnapshotReader(createSnapshotStorage(sourcePartition, 256)).generateURIForCopy();
+
+        when(topologyService.getByConsistentId(SOURCE_NODE.name())).thenReturn(null);
+
+        SnapshotCopier copier = targetSnapshotStorage.startToCopyFrom(uri, new SnapshotCopierOptions());
+
+        copiers.add(copier);
+
+        copier.join();
+
+        assertFalse(copier.isOk());
+        assertEquals(RaftError.EHOSTDOWN.getNumber(), copier.getCode());
+
+        assertNull(targetStorage.closestRowId(RowId.lowestRowId(PARTITION_ID)));
+    }
+
+    private SnapshotCopier startCopy(PartitionSnapshotStorage targetSnapshotStorage) {
+        String uri = new OutgoingSnapshotReader(createSnapshotStorage(sourcePartition, 256)).generateURIForCopy();
+
+        SnapshotCopier copier = targetSnapshotStorage.startToCopyFrom(uri, new SnapshotCopierOptions());
+
+        copiers.add(copier);
+
+        return copier;
+    }
+
+    private PartitionSnapshotStorage createSnapshotStorage(PartitionAccess partition, int maxByteCountPerRpc) {
+        RaftOptions raftOptions = new RaftOptions();
+
+        raftOptions.setMaxByteCountPerRpc(maxByteCountPerRpc);
+
+        SnapshotMeta startupMeta = new RaftMessagesFactory().snapshotMeta()
+                .lastIncludedIndex(0)
+                .lastIncludedTerm(0)
+                .peersList(List.of())
+                .learnersList(List.of())
+                .build();
+
+        return new PartitionSnapshotStorage(
+                topologyService,
+                outgoingSnapshotsManager,
+                incomingSnapshotsExecutor,
+                "snapshot",
+                raftOptions,
+                partition,
+                startupMeta
+        );
+    }
+
+    private void fillSourceStorage() {
+        sourceStorage.runConsistently(() -> {
+            for (int i = 0; i < 50; i++) {
+                RowId rowId = new RowId(PARTITION_ID);
+
+                sourceStorage.addWriteCommitted(rowId, row(i, i), clock.now());
+
+                // Several committed versions.
+                if (i % 5 == 0) {
+                    sourceStorage.addWriteCommitted(rowId, row(i, i + 1000), clock.now());
+                }
+
+                // Removed row.
+                if (i % 7 == 0) {
+                    sourceStorage.addWrite(rowId, null, UUID.randomUUID(), UUID.randomUUID(), PARTITION_ID);
+                    sourceStorage.commitWrite(rowId, clock.now());
+                }
+
+                // Write-intent on top of the committed versions.
+                if (i % 11 == 0) {
+                    sourceStorage.addWrite(rowId, row(i, i + 2000), UUID.randomUUID(), UUID.randomUUID(), PARTITION_ID);
+                }
+            }
+
+            // Write-intent only.
+            sourceStorage.addWrite(new RowId(PARTITION_ID), row(-1, -1), UUID.randomUUID(), UUID.randomUUID(), PARTITION_ID);
+
+            sourceStorage.lastAppliedIndex(LAST_APPLIED_INDEX);
+
+            return null;
+        });
+    }
+
+    private void fillSourceTxStateStorage() {
+        for (int i = 0; i < 25; i++) {
+            TxState txState = i % 2 == 0 ? TxState.COMMITED : TxState.ABORTED;
+
+            sourceTxStateStorage.put(UUID.randomUUID(), new TxMeta(txState, List.of(), txState == TxState.COMMITED ? clock.now() : null));
+        }
+    }
+
+    private void assertStoragesEqual() throws Exception {
+        NavigableMap<RowId, List<ReadResult>> sourceRows = readPartition(sourceStorage);
+
+        assertEquals(51, sourceRows.size());
+
+        assertPartitionsEqual(sourceRows, readPartition(targetStorage));
+    }
+
+    private static void assertPartitionsEqual(
+            NavigableMap<RowId, List<ReadResult>> expectedRows,
+            NavigableMap<RowId, List<ReadResult>> actualRows
+    ) {
+        assertEquals(expectedRows.keySet(), actualRows.keySet());
+
+        for (RowId rowId : expectedRows.keySet()) {
+            List<ReadResult> sourceVersions = expectedRows.get(rowId);
+            List<ReadResult> targetVersions = actualRows.get(rowId);
+
+            assertEquals(sourceVersions.size(), targetVersions.size());
+
+            for (int i = 0; i < sourceVersions.size(); i++) {
+                ReadResult expected = sourceVersions.get(i);
+                ReadResult actual = targetVersions.get(i);
+
+                assertEquals(expected.commitTimestamp(), actual.commitTimestamp());
+                assertEquals(expected.transactionId(), actual.transactionId());
+                assertEquals(expected.commitTableId(), actual.commitTableId());
+                assertEquals(expected.commitPartitionId(), actual.commitPartitionId());
+
+                if (expected.binaryRow() == null) {
+                    assertNull(actual.binaryRow());
+                } else {
+                    assertArrayEquals(expected.binaryRow().bytes(), actual.binaryRow().bytes());
+                }
+            }
+        }
+    }
+
+    private void assertTxStatesEqual() throws Exception {
+        assertEquals(txStates(sourceTxStateStorage), txStates(targetTxStateStorage));
+    }
+
+    private static Map<UUID, TxMeta> txStates(TxStateStorage txStateStorage) throws Exception {
+        Map<UUID, TxMeta> txStates = new TreeMap<>();
+
+        try (Cursor<IgniteBiTuple<UUID, TxMeta>> cursor = txStateStorage.scan()) {
+            cursor.forEachRemaining(tx -> txStates.put(tx.get1(), tx.get2()));
+        }
+
+        return txStates;
+    }
+
+    private static NavigableMap<RowId, List<ReadResult>> readPartition(MvPartitionStorage storage) throws Exception {
+        NavigableMap<RowId, List<ReadResult>> rows = new TreeMap<>();
+
+        RowId rowId = storage.closestRowId(RowId.lowestRowId(PARTITION_ID));
+
+        while (rowId != null) {
+            rows.put(rowId, versions(storage, rowId));
+
+            rowId = storage.closestRowId(rowId.increment());
+        }
+
+        return rows;
+    }
+
+    /**
+     * Returns the sorted values of the non-tombstone row versions of the partition, i.e. the expected content of an index over them.
+     */
+    private static List<Integer> indexedValues(MvPartitionStorage storage) throws Exception {
+        List<Integer> values = new ArrayList<>();
+
+        for (List<ReadResult> versions : readPartition(storage).values()) {
+            for (ReadResult version : versions) {
+                if (version.binaryRow() != null) {
+                    values.add(new Row(SCHEMA, version.binaryRow()).intValue(1));
+                }
+            }
+        }
+
+        values.sort(null);
+
+        return values;
+    }
+
+    private static List<Integer> indexedValues(SortedIndexStorage indexStorage) throws Exception {
+        List<Integer> values = new ArrayList<>();
+
+        try (Cursor<IndexRow> cursor = indexStorage.scan(null, null, 0)) {
+            cursor.forEachRemaining(indexRow -> values.add((Integer) indexRow.indexColumns().value(0)));
+        }
+
+        values.sort(null);
+
+        return values;
+    }
+
+    private static List<ReadResult> versions(MvPartitionStorage storage, RowId rowId) throws Exception {
+        List<ReadResult> versions = new ArrayList<>();
+
+        try (Cursor<ReadResult> cursor = storage.scanVersions(rowId)) {
+            cursor.forEachRemaining(versions::add);
+        }
+
+        return versions;
+    }
+
+    private static BinaryRow row(int key, int val) {
+        return new RowAssembler(SCHEMA, 0, 0)
+                .appendInt(key)
+                .appendInt(val)
+                .build();
+    }
+}
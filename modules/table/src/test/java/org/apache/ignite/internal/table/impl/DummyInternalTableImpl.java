@@ -40,6 +40,7 @@ import org.apache.ignite.internal.storage.RowId;
 import org.apache.ignite.internal.storage.engine.MvTableStorage;
 import org.apache.ignite.internal.storage.impl.TestMvPartitionStorage;
 import org.apache.ignite.internal.table.distributed.raft.PartitionListener;
+import org.apache.ignite.internal.table.distributed.raft.snapshot.outgoing.PartitionSnapshots;
 import org.apache.ignite.internal.table.distributed.replicator.PartitionReplicaListener;
 import org.apache.ignite.internal.table.distributed.storage.InternalTableImpl;
 import org.apache.ignite.internal.tx.InternalTransaction;
@@ -209,14 +210,18 @@ public class DummyInternalTableImpl extends InternalTableImpl {
                 groupId,
                 tableId(),
                 primaryIndex,
+                id -> null,
                 new HybridClock()
         );
 
         partitionListener = new PartitionListener(
+                0,
                 mvPartStorage,
                 new TestConcurrentHashMapTxStateStorage(),
                 this.txManager,
-                primaryIndex
+                primaryIndex,
+                List::of,
+                new PartitionSnapshots()
         );
     }
 
@@ -161,6 +161,17 @@ public class Timestamp implements Comparable<Timestamp>, Serializable {
         return new Timestamp(newTime << 16 | cntr, localNodeId);
     }
 
+    /**
+     * Returns the least timestamp that can be generated at the given wall clock time, so every timestamp generated earlier is less than
+     * the returned one.
+     *
+     * @param epochMillis Wall clock time in milliseconds since the Unix epoch.
+     * @return Timestamp.
+     */
+    public static Timestamp ofPhysicalTime(long epochMillis) {
+        return new Timestamp((epochMillis - EPOCH) << 16, Long.MIN_VALUE);
+    }
+
     /**
      * Converts to {@link UUID}.
      *
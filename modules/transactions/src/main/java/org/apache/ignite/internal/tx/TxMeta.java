@@ -23,6 +23,7 @@ import java.io.Serializable;
 import java.util.List;
 import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.tostring.S;
+import org.jetbrains.annotations.Nullable;
 
 /** Transaction meta. */
 public class TxMeta implements Serializable {
@@ -38,6 +39,9 @@ public class TxMeta implements Serializable {
     /** Commit timestamp. */
     private final HybridTimestamp commitTimestamp;
 
+    /** Time when the write intents of the transaction have been resolved on all the enlisted partitions. */
+    private final HybridTimestamp cleanupTimestamp;
+
     /**
      * The constructor.
      *
@@ -46,9 +50,28 @@ public class TxMeta implements Serializable {
      * @param commitTimestamp Commit timestamp.
      */
     public TxMeta(TxState txState, List<String> enlistedPartitions, HybridTimestamp commitTimestamp) {
+        this(txState, enlistedPartitions, commitTimestamp, null);
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param txState Tx state.
+     * @param enlistedPartitions The list of enlisted partitions.
+     * @param commitTimestamp Commit timestamp.
+     * @param cleanupTimestamp Time when the write intents of the transaction have been resolved on all the enlisted partitions,
+     *     {@code null} if the cleanup is not completed yet.
+     */
+    public TxMeta(
+            TxState txState,
+            List<String> enlistedPartitions,
+            HybridTimestamp commitTimestamp,
+            @Nullable HybridTimestamp cleanupTimestamp
+    ) {
         this.txState = txState;
         this.enlistedPartitions = enlistedPartitions;
         this.commitTimestamp = commitTimestamp;
+        this.cleanupTimestamp = cleanupTimestamp;
     }
 
     public TxState txState() {
@@ -63,6 +86,22 @@ public class TxMeta implements Serializable {
         return commitTimestamp;
     }
 
+    /**
+     * Returns {@code true} if the write intents of the finished transaction are resolved on all the enlisted partitions, so its state
+     * is not requested anymore.
+     */
+    public boolean cleanupCompleted() {
+        return cleanupTimestamp != null;
+    }
+
+    /**
+     * Returns the time when the write intents of the finished transaction have been resolved on all the enlisted partitions,
+     * {@code null} if the cleanup is not completed yet.
+     */
+    public @Nullable HybridTimestamp cleanupTimestamp() {
+        return cleanupTimestamp;
+    }
+
     @Override
     public String toString() {
         return S.toString(TxMeta.class, this);
@@ -82,6 +121,9 @@ public class TxMeta implements Serializable {
         if (txState != txMeta.txState) {
             return false;
         }
+        if (cleanupTimestamp != null ? !cleanupTimestamp.equals(txMeta.cleanupTimestamp) : txMeta.cleanupTimestamp != null) {
+            return false;
+        }
         if (enlistedPartitions != null ? !enlistedPartitions.equals(txMeta.enlistedPartitions) : txMeta.enlistedPartitions != null) {
             return false;
         }
@@ -93,6 +135,7 @@ public class TxMeta implements Serializable {
         int result = txState != null ? txState.hashCode() : 0;
         result = 31 * result + (enlistedPartitions != null ? enlistedPartitions.hashCode() : 0);
         result = 31 * result + (commitTimestamp != null ? commitTimestamp.hashCode() : 0);
+        result = 31 * result + (cleanupTimestamp != null ? cleanupTimestamp.hashCode() : 0);
         return result;
     }
 }
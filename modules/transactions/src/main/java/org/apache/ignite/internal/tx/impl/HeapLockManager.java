@@ -34,6 +34,7 @@ import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.ignite.internal.tostring.IgniteToStringExclude;
 import org.apache.ignite.internal.tostring.S;
 import org.apache.ignite.internal.tx.Lock;
@@ -77,6 +78,17 @@ public class HeapLockManager implements LockManager {
      */
     private final boolean allLockTypesAreUsed = IgniteSystemProperties.getBoolean("IGNITE_ALL_LOCK_TYPES_ARE_USED");
 
+    private final LockManagerMetricSource metricSource = new LockManagerMetricSource();
+
+    /**
+     * Returns the metric source of the lock manager.
+     *
+     * @return Metric source.
+     */
+    public LockManagerMetricSource metricSource() {
+        return metricSource;
+    }
+
     @Override
     public CompletableFuture<Lock> acquire(UUID txId, LockKey lockKey, LockMode lockMode) {
         //TODO: IGNITE-17733 Resume honest index lock
@@ -95,6 +107,10 @@ public class HeapLockManager implements LockManager {
 
             LockMode newLockMode = futureTuple.get2();
 
+            if (metricSource.enabled()) {
+                trackLockRequest(futureTuple.get1());
+            }
+
             return futureTuple.get1().thenApply(res -> new Lock(lockKey, newLockMode, txId));
         }
     }
@@ -137,6 +153,21 @@ public class HeapLockManager implements LockManager {
         return result.iterator();
     }
 
+    private void trackLockRequest(CompletableFuture<Void> lockFuture) {
+        if (!lockFuture.isDone()) {
+            long startNanos = System.nanoTime();
+
+            lockFuture.whenComplete((res, ex) -> metricSource.onLockWaitFinished(
+                    ex == null,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+            ));
+        } else if (lockFuture.isCompletedExceptionally()) {
+            metricSource.onLockConflict();
+        } else {
+            metricSource.onLockAcquired();
+        }
+    }
+
     /**
      * Returns the lock state for the key.
      *
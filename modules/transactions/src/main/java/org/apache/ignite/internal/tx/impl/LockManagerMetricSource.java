@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.tx.impl;
+
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link HeapLockManager}.
+ */
+public class LockManagerMetricSource extends AbstractMetricSource<LockManagerMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "tx.locks";
+
+    /**
+     * Constructor.
+     */
+    LockManagerMetricSource() {
+        super(SOURCE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.register(holder.acquiredLocks);
+        bldr.register(holder.lockWaits);
+        bldr.register(holder.lockConflicts);
+        bldr.register(holder.lockWaitTime);
+    }
+
+    /**
+     * Called when a lock is granted without waiting.
+     */
+    void onLockAcquired() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.acquiredLocks.increment();
+        }
+    }
+
+    /**
+     * Called when a lock request is denied because of a conflict.
+     */
+    void onLockConflict() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.lockConflicts.increment();
+        }
+    }
+
+    /**
+     * Called when a lock request, which had to wait, is completed.
+     *
+     * @param acquired Whether the lock has been granted.
+     * @param waitTimeMillis Wait time in milliseconds.
+     */
+    void onLockWaitFinished(boolean acquired, long waitTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.lockWaits.increment();
+            holder.lockWaitTime.add(waitTimeMillis);
+
+            if (acquired) {
+                holder.acquiredLocks.increment();
+            } else {
+                holder.lockConflicts.increment();
+            }
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric acquiredLocks = new LongAdderMetric(
+                "AcquiredLocks",
+                "Number of granted lock requests."
+        );
+
+        private final LongAdderMetric lockWaits = new LongAdderMetric(
+                "LockWaits",
+                "Number of lock requests that had to wait for other transactions."
+        );
+
+        private final LongAdderMetric lockConflicts = new LongAdderMetric(
+                "LockConflicts",
+                "Number of lock requests denied because of a conflict with another transaction."
+        );
+
+        private final DistributionMetric lockWaitTime = new DistributionMetric(
+                "LockWaitTime",
+                "Distribution of the lock wait time in milliseconds.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000}
+        );
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.ignite.hlc.HybridClock;
 import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.replicator.ReplicaService;
@@ -66,6 +67,8 @@ public class TxManagerImpl implements TxManager {
     @TestOnly
     private final ConcurrentHashMap<UUID, TxState> states = new ConcurrentHashMap<>();
 
+    private final TxMetricSource metricSource = new TxMetricSource();
+
     /**
      * The constructor.
      *
@@ -79,6 +82,15 @@ public class TxManagerImpl implements TxManager {
         this.clock = clock;
     }
 
+    /**
+     * Returns the metric source of the transaction manager.
+     *
+     * @return Metric source.
+     */
+    public TxMetricSource metricSource() {
+        return metricSource;
+    }
+
     /** {@inheritDoc} */
     @Override
     public InternalTransaction begin() {
@@ -86,6 +98,8 @@ public class TxManagerImpl implements TxManager {
 
         states.put(txId, TxState.PENDING);
 
+        metricSource.onTransactionStarted();
+
         return new TransactionImpl(this, txId);
     }
 
@@ -161,9 +175,15 @@ public class TxManagerImpl implements TxManager {
                 .term(term)
                 .build();
 
+        long startNanos = System.nanoTime();
+
         return replicaService.invoke(recipientNode, req)
                 // TODO: IGNITE-17638 TestOnly code, let's consider using Txn state map instead of states.
-                .thenRun(() -> changeState(txId, TxState.PENDING, commit ? TxState.COMMITED : TxState.ABORTED));
+                .thenRun(() -> changeState(txId, TxState.PENDING, commit ? TxState.COMMITED : TxState.ABORTED))
+                .whenComplete((res, ex) -> metricSource.onTransactionFinished(
+                        commit && ex == null,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+                ));
     }
 
     /** {@inheritDoc} */
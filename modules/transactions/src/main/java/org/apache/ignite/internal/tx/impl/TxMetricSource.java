@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.tx.impl;
+
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongAdderMetric;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the {@link TxManagerImpl}.
+ */
+public class TxMetricSource extends AbstractMetricSource<TxMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "tx";
+
+    /**
+     * Constructor.
+     */
+    TxMetricSource() {
+        super(SOURCE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.register(holder.startedTransactions);
+        bldr.register(holder.committedTransactions);
+        bldr.register(holder.rolledBackTransactions);
+        bldr.register(holder.finishTime);
+    }
+
+    /**
+     * Called when a transaction is started.
+     */
+    void onTransactionStarted() {
+        Holder holder = holder();
+
+        if (holder != null) {
+            holder.startedTransactions.increment();
+        }
+    }
+
+    /**
+     * Called when a transaction is finished.
+     *
+     * @param committed Whether the transaction has been committed.
+     * @param finishTimeMillis Duration of the finish request in milliseconds.
+     */
+    void onTransactionFinished(boolean committed, long finishTimeMillis) {
+        Holder holder = holder();
+
+        if (holder != null) {
+            if (committed) {
+                holder.committedTransactions.increment();
+            } else {
+                holder.rolledBackTransactions.increment();
+            }
+
+            holder.finishTime.add(finishTimeMillis);
+        }
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+        private final LongAdderMetric startedTransactions = new LongAdderMetric(
+                "StartedTransactions",
+                "Number of transactions started on the node."
+        );
+
+        private final LongAdderMetric committedTransactions = new LongAdderMetric(
+                "CommittedTransactions",
+                "Number of transactions committed by the node."
+        );
+
+        private final LongAdderMetric rolledBackTransactions = new LongAdderMetric(
+                "RolledBackTransactions",
+                "Number of transactions rolled back by the node, including the failed commits."
+        );
+
+        private final DistributionMetric finishTime = new DistributionMetric(
+                "FinishTime",
+                "Distribution of the transaction commit and rollback time in milliseconds.",
+                new long[] {1, 5, 10, 50, 100, 500, 1_000}
+        );
+    }
+}
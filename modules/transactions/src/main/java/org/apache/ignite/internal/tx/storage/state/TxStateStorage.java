@@ -19,7 +19,9 @@ package org.apache.ignite.internal.tx.storage.state;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.configuration.storage.StorageException;
+import org.apache.ignite.internal.tx.Timestamp;
 import org.apache.ignite.internal.tx.TxMeta;
 import org.apache.ignite.internal.tx.TxState;
 import org.apache.ignite.internal.util.Cursor;
@@ -74,6 +76,19 @@ public interface TxStateStorage extends AutoCloseable {
      */
     void remove(UUID txId);
 
+    /**
+     * Removes the metas of the finished transactions whose write intents have been resolved on all the enlisted partitions before the
+     * low watermark, see {@link TxMeta#cleanupTimestamp()}. The time between the cleanup and the low watermark gives the readers, that
+     * have seen a write intent of a transaction before its cleanup, time to resolve the state of the transaction. Transaction ids are
+     * expected to be generated by {@link Timestamp#nextVersion()}. Doesn't change {@link #lastAppliedIndex()}.
+     *
+     * @param lowWatermark Low watermark, the metas of the transactions cleaned up earlier are removed.
+     * @return Number of removed transaction metas.
+     * @throws IgniteInternalException with {@link Transactions#TX_STATE_STORAGE_ERR} error code in case when
+     *                                 the operation has failed.
+     */
+    int compact(HybridTimestamp lowWatermark);
+
     /**
      * Create a cursor to scan all data in the storage.
      *
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.tx.storage.state;
+
+import java.util.function.LongSupplier;
+import org.apache.ignite.internal.metrics.AbstractMetricSource;
+import org.apache.ignite.internal.metrics.MetricSetBuilder;
+
+/**
+ * Metric source of the transaction state storages of a node.
+ */
+public class TxStateStorageMetricSource extends AbstractMetricSource<TxStateStorageMetricSource.Holder> {
+    /** Source name. */
+    public static final String SOURCE_NAME = "tx.state.storage";
+
+    /** Supplier of the estimated number of transaction metas in the storages. */
+    private final LongSupplier sizeSupplier;
+
+    /**
+     * Constructor.
+     *
+     * @param sizeSupplier Supplier of the estimated number of transaction metas in the storages.
+     */
+    public TxStateStorageMetricSource(LongSupplier sizeSupplier) {
+        super(SOURCE_NAME);
+
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Holder createHolder() {
+        return new Holder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void init(MetricSetBuilder bldr, Holder holder) {
+        bldr.longGauge("Size", "Estimated number of transaction metas in the transaction state storages.", sizeSupplier);
+    }
+
+    /**
+     * Holder class.
+     */
+    protected static class Holder implements AbstractMetricSource.Holder<Holder> {
+    }
+}
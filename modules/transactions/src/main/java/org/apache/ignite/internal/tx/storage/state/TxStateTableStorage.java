@@ -60,6 +60,13 @@ public interface TxStateTableStorage extends AutoCloseable {
      */
     TableConfiguration configuration();
 
+    /**
+     * Returns an estimated number of transaction metas in the storage.
+     *
+     * @return Estimated number of transaction metas.
+     */
+    long estimatedSize();
+
     /**
      * Start the storage.
      *
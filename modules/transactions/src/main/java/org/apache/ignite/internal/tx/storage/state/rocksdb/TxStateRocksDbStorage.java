@@ -34,8 +34,11 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.configuration.storage.StorageException;
 import org.apache.ignite.internal.rocksdb.BusyRocksIteratorAdapter;
+import org.apache.ignite.internal.rocksdb.RocksUtils;
+import org.apache.ignite.internal.tx.Timestamp;
 import org.apache.ignite.internal.tx.TxMeta;
 import org.apache.ignite.internal.tx.TxState;
 import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
@@ -56,6 +59,9 @@ import org.rocksdb.WriteOptions;
  * Tx state storage implementation based on RocksDB.
  */
 public class TxStateRocksDbStorage implements TxStateStorage {
+    /** Maximum number of removals written to the database in a single write batch by the compaction. */
+    private static final int COMPACTION_BATCH_SIZE = 1000;
+
     /** RocksDB database. */
     private volatile RocksDB db;
 
@@ -178,7 +184,7 @@ public class TxStateRocksDbStorage implements TxStateStorage {
         byte[] txIdBytes = txIdToKey(txId);
 
         try (WriteBatch writeBatch = new WriteBatch()) {
-            byte[] txMetaExistingBytes = db.get(readOptions, txIdToKey(txId));
+            byte[] txMetaExistingBytes = db.get(readOptions, txIdBytes);
 
             boolean result;
 
@@ -208,6 +214,8 @@ public class TxStateRocksDbStorage implements TxStateStorage {
 
             db.write(writeOptions, writeBatch);
 
+            lastAppliedIndex = commandIndex;
+
             return result;
         } catch (RocksDBException e) {
             throw new IgniteInternalException(
@@ -242,6 +250,63 @@ public class TxStateRocksDbStorage implements TxStateStorage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int compact(HybridTimestamp lowWatermark) {
+        if (!busyLock.enterBusy()) {
+            throwStorageStoppedException();
+        }
+
+        // Transaction ids are generated from the begin time, which precedes the cleanup time, so only the keys preceding the low watermark
+        // key need to be checked. A transaction started on a node with a clock running ahead may be skipped, it is removed later.
+        byte[] lowerBound = ByteBuffer.allocate(Short.BYTES + 1).putShort((short) partitionId).put((byte) 0).array();
+        byte[] upperBound = txIdToKey(Timestamp.ofPhysicalTime(lowWatermark.getPhysical()).toUuid());
+
+        try (
+                Slice upperBoundSlice = new Slice(upperBound);
+                ReadOptions compactionReadOptions = new ReadOptions().setIterateUpperBound(upperBoundSlice);
+                RocksIterator it = db.newIterator(compactionReadOptions);
+                WriteBatch writeBatch = new WriteBatch()
+        ) {
+            int removed = 0;
+
+            for (it.seek(lowerBound); it.isValid(); it.next()) {
+                TxMeta txMeta = fromBytes(it.value());
+
+                if (!txMeta.cleanupCompleted() || txMeta.cleanupTimestamp().compareTo(lowWatermark) >= 0) {
+                    continue;
+                }
+
+                writeBatch.delete(it.key());
+
+                removed++;
+
+                if (writeBatch.count() == COMPACTION_BATCH_SIZE) {
+                    db.write(writeOptions, writeBatch);
+
+                    writeBatch.clear();
+                }
+            }
+
+            RocksUtils.checkIterator(it);
+
+            if (writeBatch.count() > 0) {
+                db.write(writeOptions, writeBatch);
+            }
+
+            return removed;
+        } catch (RocksDBException e) {
+            throw new IgniteInternalException(
+                TX_STATE_STORAGE_ERR,
+                "Failed to compact the transaction state storage, partition " + partitionId
+                    + " of table " + tableStorage.configuration().value().name(),
+                e
+            );
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Cursor<IgniteBiTuple<UUID, TxMeta>> scan() {
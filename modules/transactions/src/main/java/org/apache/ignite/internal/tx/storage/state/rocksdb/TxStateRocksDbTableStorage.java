@@ -20,6 +20,7 @@ package org.apache.ignite.internal.tx.storage.state.rocksdb;
 import static java.util.Collections.reverse;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
+import static org.apache.ignite.lang.ErrorGroups.Transactions.TX_STATE_STORAGE_ERR;
 import static org.rocksdb.ReadTier.PERSISTED_TIER;
 
 import java.nio.charset.StandardCharsets;
@@ -28,11 +29,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.configuration.storage.StorageException;
 import org.apache.ignite.internal.logger.IgniteLogger;
 import org.apache.ignite.internal.logger.Loggers;
@@ -42,6 +49,7 @@ import org.apache.ignite.internal.tx.storage.state.TxStateStorage;
 import org.apache.ignite.internal.tx.storage.state.TxStateTableStorage;
 import org.apache.ignite.internal.util.IgniteSpinBusyLock;
 import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.lang.IgniteInternalException;
 import org.jetbrains.annotations.Nullable;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -50,6 +58,7 @@ import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
 import org.rocksdb.WriteOptions;
 
 /**
@@ -101,31 +110,48 @@ public class TxStateRocksDbTableStorage implements TxStateTableStorage {
 
     private final ScheduledExecutorService scheduledExecutor;
 
-    /** Thread pool to execute after-flush actions. */
+    /** Thread pool to execute after-flush actions and compactions. */
     private final ExecutorService threadPool;
 
     /** Supplier for the value of delay for scheduled database flush. */
     private final IntSupplier flushDelaySupplier;
 
+    /** Supplier of the low watermark, the transactions cleaned up before it are removed by the compaction. */
+    private final Supplier<HybridTimestamp> lowWatermarkSupplier;
+
+    /** Supplier of the interval between the compactions in milliseconds. */
+    private final LongSupplier compactionIntervalSupplier;
+
+    /** Scheduled compaction task. */
+    private volatile ScheduledFuture<?> compactionTask;
+
     /**
      * Constructor.
      *
      * @param tableCfg Table configuration.
      * @param dbPath Database path.
      * @param scheduledExecutor Scheduled executor.
+     * @param threadPool Thread pool to execute after-flush actions and compactions.
+     * @param flushDelaySupplier Supplier for the value of delay for scheduled database flush.
+     * @param lowWatermarkSupplier Supplier of the low watermark for the compaction of cleaned up transactions.
+     * @param compactionIntervalSupplier Supplier of the interval between the compactions in milliseconds.
      */
     public TxStateRocksDbTableStorage(
             TableConfiguration tableCfg,
             Path dbPath,
             ScheduledExecutorService scheduledExecutor,
             ExecutorService threadPool,
-            IntSupplier flushDelaySupplier
+            IntSupplier flushDelaySupplier,
+            Supplier<HybridTimestamp> lowWatermarkSupplier,
+            LongSupplier compactionIntervalSupplier
     ) {
         this.tableCfg = tableCfg;
         this.dbPath = dbPath;
         this.scheduledExecutor = scheduledExecutor;
         this.threadPool = threadPool;
         this.flushDelaySupplier = flushDelaySupplier;
+        this.lowWatermarkSupplier = lowWatermarkSupplier;
+        this.compactionIntervalSupplier = compactionIntervalSupplier;
     }
 
     /**
@@ -198,6 +224,25 @@ public class TxStateRocksDbTableStorage implements TxStateTableStorage {
         return tableCfg;
     }
 
+    /** {@inheritDoc} */
+    @Override public long estimatedSize() {
+        if (!busyLock.enterBusy()) {
+            return 0;
+        }
+
+        try {
+            return db.getLongProperty("rocksdb.estimate-num-keys");
+        } catch (RocksDBException e) {
+            throw new IgniteInternalException(
+                TX_STATE_STORAGE_ERR,
+                "Failed to estimate the size of the transaction state storage of the table " + tableCfg.value().name(),
+                e
+            );
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void start() throws StorageException {
         try {
@@ -234,6 +279,8 @@ public class TxStateRocksDbTableStorage implements TxStateTableStorage {
             this.db = RocksDB.open(dbOptions, dbPath.toString(), cfDescriptors, cfHandles);
 
             flusher.init(db, cfHandles);
+
+            scheduleCompaction();
         } catch (Exception e) {
             throw new StorageException("Could not create transaction state storage for the table " + tableCfg.value().name(), e);
         }
@@ -245,6 +292,10 @@ public class TxStateRocksDbTableStorage implements TxStateTableStorage {
             return;
         }
 
+        if (compactionTask != null) {
+            compactionTask.cancel(false);
+        }
+
         busyLock.block();
 
         try {
@@ -305,6 +356,62 @@ public class TxStateRocksDbTableStorage implements TxStateTableStorage {
         }
     }
 
+    /**
+     * Schedules the next compaction. The compaction itself runs in the thread pool, so it doesn't delay the scheduled flushes, and the
+     * next one is scheduled after it completes, so the compactions never overlap.
+     */
+    private void scheduleCompaction() {
+        if (stopGuard.get()) {
+            return;
+        }
+
+        try {
+            compactionTask = scheduledExecutor.schedule(
+                    () -> threadPool.execute(() -> {
+                        compact();
+
+                        scheduleCompaction();
+                    }),
+                    compactionIntervalSupplier.getAsLong(),
+                    TimeUnit.MILLISECONDS
+            );
+        } catch (RejectedExecutionException ignored) {
+            // The executor is shut down, the node is stopping.
+        }
+    }
+
+    /**
+     * Removes the metas of the transactions cleaned up before the low watermark from all the partitions.
+     */
+    void compact() {
+        if (!busyLock.enterBusy()) {
+            return;
+        }
+
+        try {
+            HybridTimestamp lowWatermark = lowWatermarkSupplier.get();
+
+            int removed = 0;
+
+            for (int i = 0; i < storages.length(); i++) {
+                TxStateRocksDbStorage storage = storages.get(i);
+
+                if (storage != null) {
+                    removed += storage.compact(lowWatermark);
+                }
+            }
+
+            if (removed > 0) {
+                LOG.debug("Transaction state storage is compacted [table={}, removed={}]", tableCfg.value().name(), removed);
+            }
+        } catch (Exception e) {
+            // The exception is not rethrown, otherwise the subsequent compactions would be cancelled.
+            LOG.error("Failed to compact the transaction state storage of the table " + tableCfg.value().name(), e);
+        } finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws Exception {
         stop();
@@ -17,8 +17,18 @@
 
 package org.apache.ignite.internal.tx;
 
+import static org.apache.ignite.internal.tx.LockMode.X;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
 import org.apache.ignite.internal.testframework.WithSystemProperty;
 import org.apache.ignite.internal.tx.impl.HeapLockManager;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test class for {@link HeapLockManager}.
@@ -29,4 +39,37 @@ public class HeapLockManagerTest extends AbstractLockManagerTest {
     protected LockManager newInstance() {
         return new HeapLockManager();
     }
+
+    @Test
+    public void testLockMetrics() {
+        HeapLockManager lockManager = new HeapLockManager();
+
+        MetricSet metrics = lockManager.metricSource().enable();
+
+        UUID txId1 = Timestamp.nextVersion().toUuid();
+        UUID txId2 = Timestamp.nextVersion().toUuid();
+        UUID txId3 = Timestamp.nextVersion().toUuid();
+
+        LockKey key = new LockKey("test");
+
+        CompletableFuture<Lock> fut2 = lockManager.acquire(txId2, key, X);
+
+        assertTrue(fut2.isDone());
+
+        // Older transaction conflicts with the younger lock owner.
+        assertTrue(lockManager.acquire(txId1, key, X).isCompletedExceptionally());
+
+        // Younger transaction waits for the lock.
+        CompletableFuture<Lock> fut3 = lockManager.acquire(txId3, key, X);
+
+        assertFalse(fut3.isDone());
+
+        lockManager.release(fut2.join());
+
+        assertTrue(fut3.isDone());
+
+        assertEquals(2, metrics.<LongMetric>get("AcquiredLocks").value());
+        assertEquals(1, metrics.<LongMetric>get("LockWaits").value());
+        assertEquals(1, metrics.<LongMetric>get("LockConflicts").value());
+    }
 }
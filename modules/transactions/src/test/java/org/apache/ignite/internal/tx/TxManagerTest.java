@@ -18,14 +18,24 @@
 package org.apache.ignite.internal.tx;
 
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.LongStream;
 import org.apache.ignite.hlc.HybridClock;
+import org.apache.ignite.internal.metrics.DistributionMetric;
+import org.apache.ignite.internal.metrics.LongMetric;
+import org.apache.ignite.internal.metrics.MetricSet;
 import org.apache.ignite.internal.replicator.ReplicaService;
+import org.apache.ignite.internal.replicator.message.ReplicaRequest;
 import org.apache.ignite.internal.testframework.IgniteAbstractTest;
 import org.apache.ignite.internal.tx.impl.HeapLockManager;
 import org.apache.ignite.internal.tx.impl.TxManagerImpl;
@@ -93,6 +103,28 @@ public class TxManagerTest extends IgniteAbstractTest {
         assertEquals(new IgniteBiTuple<>(node, 1L), tx.enlistedNodeAndTerm(replicationGroupName));
     }
 
+    @Test
+    public void testTxMetrics() {
+        MetricSet metrics = ((TxManagerImpl) txManager).metricSource().enable();
+
+        ClusterNode node = Mockito.mock(ClusterNode.class);
+
+        Map<ClusterNode, List<IgniteBiTuple<String, Long>>> groups = Map.of(node, List.of(new IgniteBiTuple<>("group", 1L)));
+
+        Mockito.when(replicaService.invoke(any(ClusterNode.class), any(ReplicaRequest.class)))
+                .thenReturn(completedFuture(null), completedFuture(null), failedFuture(new Exception("Test")));
+
+        txManager.finish(node, 1L, true, groups, txManager.begin().id()).join();
+        txManager.finish(node, 1L, false, groups, txManager.begin().id()).join();
+
+        assertTrue(txManager.finish(node, 1L, true, groups, txManager.begin().id()).isCompletedExceptionally());
+
+        assertEquals(3, metrics.<LongMetric>get("StartedTransactions").value());
+        assertEquals(1, metrics.<LongMetric>get("CommittedTransactions").value());
+        assertEquals(2, metrics.<LongMetric>get("RolledBackTransactions").value());
+        assertEquals(3, LongStream.of(metrics.<DistributionMetric>get("FinishTime").value()).sum());
+    }
+
     @Test
     public void testId() throws InterruptedException {
         UUID txId1 = Timestamp.nextVersion().toUuid();
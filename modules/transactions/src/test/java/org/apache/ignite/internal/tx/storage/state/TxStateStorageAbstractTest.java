@@ -34,6 +34,7 @@ import java.util.stream.IntStream;
 import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.testframework.WorkDirectory;
 import org.apache.ignite.internal.testframework.WorkDirectoryExtension;
+import org.apache.ignite.internal.tx.Timestamp;
 import org.apache.ignite.internal.tx.TxMeta;
 import org.apache.ignite.internal.tx.TxState;
 import org.apache.ignite.internal.util.Cursor;
@@ -199,6 +200,56 @@ public abstract class TxStateStorageAbstractTest {
         }
     }
 
+    @Test
+    public void testCompact() throws Exception {
+        try (TxStateTableStorage tableStorage = createStorage()) {
+            TxStateStorage storage0 = tableStorage.getOrCreateTxStateStorage(0);
+            TxStateStorage storage1 = tableStorage.getOrCreateTxStateStorage(1);
+
+            UUID pendingTxId = Timestamp.nextVersion().toUuid();
+            UUID committedTxId = Timestamp.nextVersion().toUuid();
+            UUID abortedTxId = Timestamp.nextVersion().toUuid();
+            UUID notCleanedUpTxId = Timestamp.nextVersion().toUuid();
+            UUID lateCleanedUpTxId = Timestamp.nextVersion().toUuid();
+            UUID otherPartitionTxId = Timestamp.nextVersion().toUuid();
+
+            long now = System.currentTimeMillis();
+
+            HybridTimestamp cleanupTimestamp = new HybridTimestamp(now, 0);
+            HybridTimestamp lowWatermark = new HybridTimestamp(now + 60_000, 0);
+            HybridTimestamp lateCleanupTimestamp = new HybridTimestamp(now + 120_000, 0);
+
+            storage0.compareAndSet(pendingTxId, null, new TxMeta(TxState.PENDING, new ArrayList<>(), null), 1);
+            storage0.compareAndSet(committedTxId, null, new TxMeta(TxState.COMMITED, new ArrayList<>(), generateTimestamp(committedTxId)),
+                    2);
+            storage0.compareAndSet(abortedTxId, null, new TxMeta(TxState.ABORTED, new ArrayList<>(), null), 3);
+            storage0.compareAndSet(notCleanedUpTxId, null, new TxMeta(TxState.COMMITED, new ArrayList<>(), null), 4);
+            storage1.compareAndSet(otherPartitionTxId, null, new TxMeta(TxState.COMMITED, new ArrayList<>(), null, cleanupTimestamp), 1);
+
+            // The cleanup of a finished transaction is marked by a separate command.
+            storage0.compareAndSet(committedTxId, TxState.COMMITED,
+                    new TxMeta(TxState.COMMITED, new ArrayList<>(), generateTimestamp(committedTxId), cleanupTimestamp), 5);
+            storage0.compareAndSet(abortedTxId, TxState.ABORTED, new TxMeta(TxState.ABORTED, new ArrayList<>(), null, cleanupTimestamp), 6);
+
+            // The retention is counted from the cleanup, not from the transaction start.
+            storage0.compareAndSet(lateCleanedUpTxId, null,
+                    new TxMeta(TxState.COMMITED, new ArrayList<>(), generateTimestamp(lateCleanedUpTxId), lateCleanupTimestamp), 7);
+
+            assertEquals(2, storage0.compact(lowWatermark));
+
+            assertNotNull(storage0.get(pendingTxId));
+            assertNull(storage0.get(committedTxId));
+            assertNull(storage0.get(abortedTxId));
+            assertNotNull(storage0.get(notCleanedUpTxId));
+            assertNotNull(storage0.get(lateCleanedUpTxId));
+
+            assertNotNull(storage1.get(otherPartitionTxId));
+
+            // Nothing is left to compact.
+            assertEquals(0, storage0.compact(lowWatermark));
+        }
+    }
+
     private IgniteBiTuple<UUID, TxMeta> putRandomTxMetaWithCommandIndex(TxStateStorage storage, int enlistedPartsCount, long commandIndex) {
         UUID txId = UUID.randomUUID();
         TxMeta txMeta = new TxMeta(TxState.PENDING, generateEnlistedPartitions(enlistedPartsCount), generateTimestamp(txId));
@@ -22,8 +22,10 @@ import static org.mockito.Mockito.when;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.ignite.configuration.schemas.table.TableConfiguration;
 import org.apache.ignite.configuration.schemas.table.TableView;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.tx.storage.state.TxStateStorageAbstractTest;
 import org.apache.ignite.internal.tx.storage.state.TxStateTableStorage;
 import org.junit.jupiter.api.AfterEach;
@@ -52,7 +54,9 @@ public class TxStateRocksDbStorageTest extends TxStateStorageAbstractTest {
                 workDir,
                 new ScheduledThreadPoolExecutor(1),
                 Executors.newFixedThreadPool(1),
-                () -> 1000
+                () -> 1000,
+                () -> new HybridTimestamp(0, 0),
+                () -> TimeUnit.MINUTES.toMillis(1)
         );
 
         txStateTableStorage.start();
@@ -19,9 +19,12 @@ package org.apache.ignite.internal.tx.storage.state.test;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.hlc.HybridTimestamp;
 import org.apache.ignite.internal.configuration.storage.StorageException;
 import org.apache.ignite.internal.tx.TxMeta;
 import org.apache.ignite.internal.tx.TxState;
@@ -82,6 +85,33 @@ public class TestConcurrentHashMapTxStateStorage implements TxStateStorage {
         storage.remove(txId);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int compact(HybridTimestamp lowWatermark) {
+        int removed = 0;
+
+        for (Iterator<Map.Entry<UUID, TxMeta>> it = storage.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<UUID, TxMeta> e = it.next();
+
+            TxMeta txMeta = e.getValue();
+
+            if (txMeta.cleanupCompleted() && txMeta.cleanupTimestamp().compareTo(lowWatermark) < 0) {
+                it.remove();
+
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the number of transaction metas in the storage.
+     */
+    int size() {
+        return storage.size();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Cursor<IgniteBiTuple<UUID, TxMeta>> scan() {
@@ -32,7 +32,7 @@ import org.jetbrains.annotations.Nullable;
  * Table tx state storage for {@link TestConcurrentHashMapTxStateStorage}.
  */
 public class TestConcurrentHashMapTxStateTableStorage implements TxStateTableStorage {
-    private final Map<Integer, TxStateStorage> storages = new ConcurrentHashMap<>();
+    private final Map<Integer, TestConcurrentHashMapTxStateStorage> storages = new ConcurrentHashMap<>();
 
     /** {@inheritDoc} */
     @Override public TxStateStorage getOrCreateTxStateStorage(int partitionId) throws StorageException {
@@ -60,6 +60,11 @@ public class TestConcurrentHashMapTxStateTableStorage implements TxStateTableSto
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public long estimatedSize() {
+        return storages.values().stream().mapToLong(TestConcurrentHashMapTxStateStorage::size).sum();
+    }
+
     /** {@inheritDoc} */
     @Override public void start() throws StorageException {
         // No-op.